@@ -0,0 +1,196 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.benchmarks.jmh.file;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.internal.benchmarks.jmh.runner.JmhIdeBenchmarkRunner;
+import org.apache.ignite.internal.processors.cache.persistence.file.AlignedBuffersDirectFileIOFactory;
+import org.apache.ignite.internal.processors.cache.persistence.file.FileIO;
+import org.apache.ignite.internal.processors.cache.persistence.file.FileIOFactory;
+import org.apache.ignite.internal.processors.cache.persistence.file.IoUringFileIOFactory;
+import org.apache.ignite.internal.processors.cache.persistence.file.RandomAccessFileIOFactory;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.logger.NullLogger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares file IO implementations on random 4K page writes to one partition file, as done by checkpoint threads.
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Threads(8)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+public class JmhPageStoreFileIOBenchmark {
+    /** Page size. */
+    private static final int PAGE_SIZE = 4096;
+
+    /** Pages count, 256 MB file. */
+    private static final int PAGES_CNT = 64 * 1024;
+
+    /** File IO implementation. */
+    @Param({"RANDOM_ACCESS", "DIRECT_IO", "IO_URING"})
+    private IoType ioType;
+
+    /** Work directory. */
+    private File dir;
+
+    /** File IO factory. */
+    private FileIOFactory factory;
+
+    /** File IO. */
+    private FileIO io;
+
+    /**
+     * Setup.
+     */
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        dir = Files.createTempDirectory("jmh-page-store").toFile();
+
+        factory = ioType.factory(dir, new NullLogger());
+
+        io = factory.create(new File(dir, "part-0.bin"));
+
+        // Preallocate file, so file extension is not measured.
+        ByteBuffer buf = ByteBuffer.allocateDirect(PAGE_SIZE * 256);
+
+        for (long off = 0; off < (long)PAGES_CNT * PAGE_SIZE; off += buf.capacity()) {
+            buf.clear();
+
+            io.writeFully(buf, off);
+        }
+
+        io.force();
+    }
+
+    /**
+     * Tear down.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        io.close();
+
+        if (factory instanceof AutoCloseable)
+            ((AutoCloseable)factory).close();
+
+        U.delete(dir);
+    }
+
+    /**
+     * Writes page to a random position of the file.
+     *
+     * @param page Page buffer.
+     * @return Number of written bytes.
+     */
+    @Benchmark
+    public int randomPageWrite(PageBuffer page) throws Exception {
+        long pageIdx = ThreadLocalRandom.current().nextInt(PAGES_CNT);
+
+        page.buf.rewind();
+
+        return io.writeFully(page.buf, pageIdx * PAGE_SIZE);
+    }
+
+    /**
+     * Thread local page buffer.
+     */
+    @State(Scope.Thread)
+    public static class PageBuffer {
+        /** Buffer. */
+        private final ByteBuffer buf = ByteBuffer.allocateDirect(PAGE_SIZE);
+
+        /**
+         * Fills buffer with random data.
+         */
+        @Setup(Level.Trial)
+        public void setup() {
+            while (buf.hasRemaining())
+                buf.putLong(ThreadLocalRandom.current().nextLong());
+        }
+    }
+
+    /**
+     * File IO implementation.
+     */
+    public enum IoType {
+        /** {@link RandomAccessFileIOFactory}. */
+        RANDOM_ACCESS {
+            /** {@inheritDoc} */
+            @Override FileIOFactory factory(File dir, IgniteLogger log) {
+                return new RandomAccessFileIOFactory();
+            }
+        },
+
+        /** {@link AlignedBuffersDirectFileIOFactory}. */
+        DIRECT_IO {
+            /** {@inheritDoc} */
+            @Override FileIOFactory factory(File dir, IgniteLogger log) {
+                return new AlignedBuffersDirectFileIOFactory(log, dir, PAGE_SIZE, new RandomAccessFileIOFactory());
+            }
+        },
+
+        /** {@link IoUringFileIOFactory}. */
+        IO_URING {
+            /** {@inheritDoc} */
+            @Override FileIOFactory factory(File dir, IgniteLogger log) {
+                return new IoUringFileIOFactory("jmh", log, IoUringFileIOFactory.DFLT_QUEUE_DEPTH,
+                    new RandomAccessFileIOFactory());
+            }
+        };
+
+        /**
+         * @param dir Work directory.
+         * @param log Logger.
+         * @return File IO factory.
+         */
+        abstract FileIOFactory factory(File dir, IgniteLogger log);
+    }
+
+    /**
+     * Run benchmarks.
+     *
+     * @param args Arguments.
+     * @throws Exception If failed.
+     */
+    public static void main(String[] args) throws Exception {
+        JmhIdeBenchmarkRunner.create()
+            .benchmarks(JmhPageStoreFileIOBenchmark.class.getSimpleName())
+            .run();
+    }
+}
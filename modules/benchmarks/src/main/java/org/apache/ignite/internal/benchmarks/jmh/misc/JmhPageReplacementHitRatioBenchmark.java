@@ -0,0 +1,226 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.benchmarks.jmh.misc;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.apache.ignite.configuration.PageReplacementMode;
+import org.apache.ignite.internal.benchmarks.jmh.runner.JmhIdeBenchmarkRunner;
+import org.apache.ignite.internal.mem.DirectMemoryProvider;
+import org.apache.ignite.internal.mem.DirectMemoryRegion;
+import org.apache.ignite.internal.mem.unsafe.UnsafeMemoryProvider;
+import org.apache.ignite.internal.processors.cache.persistence.pagemem.ArcPageList;
+import org.apache.ignite.internal.processors.cache.persistence.pagemem.SegmentedLruPageList;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares hit ratio of {@link SegmentedLruPageList} and {@link ArcPageList} under the mixed workload: random point
+ * accesses to the hot set of pages, which fits into the memory, interleaved with sequential scans of the range of
+ * pages much larger than the memory. Page hits and misses are reported as auxiliary counters.
+ */
+@State(Scope.Thread)
+@Fork(1)
+@Threads(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 3)
+public class JmhPageReplacementHitRatioBenchmark {
+    /** Pages count (memory capacity). */
+    private static final int PAGES_CNT = 10_000;
+
+    /** Hot set size. */
+    private static final int HOT_PAGES_CNT = PAGES_CNT * 3 / 4;
+
+    /** Scanned range size. */
+    private static final int SCAN_PAGES_CNT = PAGES_CNT * 10;
+
+    /** Cache group ID. */
+    private static final int GRP_ID = 1;
+
+    /** Page replacement mode. */
+    @Param({"SEGMENTED_LRU", "ARC"})
+    private PageReplacementMode mode;
+
+    /** Percent of scan accesses in the workload. */
+    @Param({"0", "20", "50"})
+    private int scanPercent;
+
+    /** Random numbers generator. */
+    private Random rnd;
+
+    /** Direct memory provider. */
+    private DirectMemoryProvider provider;
+
+    /** Segmented-LRU list. */
+    private SegmentedLruPageList lruList;
+
+    /** ARC lists. */
+    private ArcPageList arcList;
+
+    /** Resident page ID -> page index. */
+    private Map<Long, Integer> resident;
+
+    /** Page index -> resident page ID. */
+    private long[] slots;
+
+    /** Count of used page slots. */
+    private int usedSlots;
+
+    /** Next page of the scan. */
+    private long scanPos;
+
+    /**
+     * Hit and miss counters.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Counters {
+        /** Page hits. */
+        public long hits;
+
+        /** Page misses. */
+        public long misses;
+
+        /**
+         * Reset counters.
+         */
+        @Setup(Level.Iteration)
+        public void reset() {
+            hits = 0;
+            misses = 0;
+        }
+    }
+
+    /**
+     * Setup.
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        if (mode != PageReplacementMode.SEGMENTED_LRU && mode != PageReplacementMode.ARC)
+            throw new IllegalArgumentException("Unsupported page replacement mode: " + mode);
+
+        rnd = new Random(0);
+
+        long mem = mode == PageReplacementMode.ARC ? ArcPageList.requiredMemory(PAGES_CNT) :
+            SegmentedLruPageList.requiredMemory(PAGES_CNT);
+
+        provider = new UnsafeMemoryProvider(null);
+        provider.initialize(new long[] {mem});
+
+        DirectMemoryRegion region = provider.nextRegion();
+
+        if (mode == PageReplacementMode.ARC)
+            arcList = new ArcPageList(PAGES_CNT, region.address());
+        else
+            lruList = new SegmentedLruPageList(PAGES_CNT, region.address());
+
+        resident = new HashMap<>(PAGES_CNT * 2);
+        slots = new long[PAGES_CNT];
+    }
+
+    /**
+     * Tear down.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        provider.shutdown(true);
+    }
+
+    /**
+     * Access one page of the mixed workload.
+     *
+     * @param cntrs Counters.
+     */
+    @Benchmark
+    public void access(Counters cntrs) {
+        long pageId;
+
+        if (rnd.nextInt(100) < scanPercent) {
+            pageId = HOT_PAGES_CNT + scanPos;
+
+            scanPos = (scanPos + 1) % SCAN_PAGES_CNT;
+        }
+        else
+            pageId = rnd.nextInt(HOT_PAGES_CNT);
+
+        Integer pageIdx = resident.get(pageId);
+
+        if (pageIdx != null) {
+            cntrs.hits++;
+
+            if (arcList != null)
+                arcList.moveToTail(pageIdx);
+            else
+                lruList.moveToTail(pageIdx);
+
+            return;
+        }
+
+        cntrs.misses++;
+
+        int idx;
+
+        if (usedSlots < PAGES_CNT)
+            idx = usedSlots++;
+        else {
+            idx = arcList != null ? arcList.peek() : lruList.poll();
+
+            resident.remove(slots[idx]);
+
+            if (arcList != null)
+                arcList.evict(idx, GRP_ID, slots[idx]);
+        }
+
+        if (arcList != null)
+            arcList.add(idx, GRP_ID, pageId);
+        else
+            lruList.addToTail(idx, false);
+
+        resident.put(pageId, idx);
+
+        slots[idx] = pageId;
+    }
+
+    /**
+     *
+     * @param args Args.
+     * @throws Exception Exception.
+     */
+    public static void main(String[] args) throws Exception {
+        JmhIdeBenchmarkRunner.create()
+            .benchmarks(JmhPageReplacementHitRatioBenchmark.class.getSimpleName())
+            .run();
+    }
+}
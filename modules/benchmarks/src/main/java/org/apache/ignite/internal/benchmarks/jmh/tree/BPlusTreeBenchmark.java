@@ -44,11 +44,15 @@ import org.apache.ignite.internal.processors.cache.persistence.tree.reuse.ReuseL
 import org.apache.ignite.internal.processors.metric.impl.LongAdderMetric;
 import org.apache.ignite.logger.java.JavaLogger;
 import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.TearDown;
 
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_BPLUS_TREE_OPTIMISTIC_READS;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
@@ -80,6 +84,10 @@ public class BPlusTreeBenchmark extends JmhAbstractBenchmark {
     /** */
     private static final int KEYS = 1_000_000;
 
+    /** Whether lookups read inner pages without taking read locks. */
+    @Param({"false", "true"})
+    private boolean optimisticReads;
+
     /** */
     private TestTree tree;
 
@@ -132,6 +140,8 @@ public class BPlusTreeBenchmark extends JmhAbstractBenchmark {
      */
     @Setup
     public void setup() throws Exception {
+        System.setProperty(IGNITE_BPLUS_TREE_OPTIMISTIC_READS, String.valueOf(optimisticReads));
+
         pageMem = createPageMemory();
 
         tree = new TestTree(new FakeReuseList(), CACHE_ID, pageMem, allocateMetaPage().pageId());
@@ -148,6 +158,8 @@ public class BPlusTreeBenchmark extends JmhAbstractBenchmark {
         tree.destroy();
 
         pageMem.stop(true);
+
+        System.clearProperty(IGNITE_BPLUS_TREE_OPTIMISTIC_READS);
     }
 
     /**
@@ -172,6 +184,36 @@ public class BPlusTreeBenchmark extends JmhAbstractBenchmark {
         return tree.put(key);
     }
 
+    /**
+     * Lookups made concurrently with a writer, see {@link #readWritePut()}.
+     *
+     * @throws Exception If failed.
+     * @return Value.
+     */
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(7)
+    public Long readWriteGet() throws Exception {
+        Long key = ThreadLocalRandom.current().nextLong(KEYS);
+
+        return tree.findOne(key);
+    }
+
+    /**
+     * Writer replacing random rows while {@link #readWriteGet()} lookups are made.
+     *
+     * @throws Exception If failed.
+     * @return Value.
+     */
+    @Benchmark
+    @Group("readWrite")
+    @GroupThreads(1)
+    public Long readWritePut() throws Exception {
+        Long key = ThreadLocalRandom.current().nextLong(KEYS);
+
+        return tree.put(key);
+    }
+
     /**
      * Test tree.
      */
@@ -268,7 +310,9 @@ public class BPlusTreeBenchmark extends JmhAbstractBenchmark {
      * @throws Exception If failed.
      */
     public static void main(String[] args) throws Exception {
-        run(8);
+        // Lookups scalability by the number of threads.
+        for (int threads : new int[] {1, 2, 4, 8})
+            run(threads);
     }
 
     /**
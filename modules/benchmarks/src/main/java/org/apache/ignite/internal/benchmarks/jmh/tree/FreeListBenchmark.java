@@ -0,0 +1,207 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.benchmarks.jmh.tree;
+
+import java.util.concurrent.ThreadLocalRandom;
+import org.apache.ignite.configuration.DataRegionConfiguration;
+import org.apache.ignite.internal.GridKernalContext;
+import org.apache.ignite.internal.benchmarks.jmh.JmhAbstractBenchmark;
+import org.apache.ignite.internal.benchmarks.jmh.runner.JmhIdeBenchmarkRunner;
+import org.apache.ignite.internal.mem.unsafe.UnsafeMemoryProvider;
+import org.apache.ignite.internal.metric.IoStatisticsHolderNoOp;
+import org.apache.ignite.internal.pagemem.PageIdAllocator;
+import org.apache.ignite.internal.pagemem.PageMemory;
+import org.apache.ignite.internal.pagemem.impl.PageMemoryNoStoreImpl;
+import org.apache.ignite.internal.processors.cache.persistence.DataRegion;
+import org.apache.ignite.internal.processors.cache.persistence.DataRegionMetricsImpl;
+import org.apache.ignite.internal.processors.cache.persistence.diagnostic.pagelocktracker.PageLockTrackerManager;
+import org.apache.ignite.internal.processors.cache.persistence.evict.NoOpPageEvictionTracker;
+import org.apache.ignite.internal.processors.cache.persistence.freelist.SimpleDataRow;
+import org.apache.ignite.internal.processors.cache.persistence.pagemem.PageMetrics;
+import org.apache.ignite.internal.processors.cache.persistence.partstorage.PartitionMetaStorageImpl;
+import org.apache.ignite.internal.processors.metric.impl.LongAdderMetric;
+import org.apache.ignite.logger.java.JavaLogger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_FREE_LIST_SIZE_CLASS_MAP;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Concurrent inserts of rows of variable size to a free list which keeps a steady share of partially filled pages.
+ */
+@State(Scope.Benchmark)
+public class FreeListBenchmark extends JmhAbstractBenchmark {
+    /** */
+    private static final int PAGE_SIZE = 4096;
+
+    /** */
+    private static final long MB = 1024 * 1024;
+
+    /** */
+    private static final int GRP_ID = 100500;
+
+    /** Number of rows kept by each thread, the oldest row is removed on each insert. */
+    private static final int ROWS_PER_THREAD = 10_000;
+
+    /** Maximum row size. */
+    private static final int MAX_ROW_SIZE = 2048;
+
+    /** Whether the map of size classes of free space is used to take pages. */
+    @Param({"false", "true"})
+    private boolean sizeClassMap;
+
+    /** */
+    private PageMemory pageMem;
+
+    /** */
+    private PartitionMetaStorageImpl<SimpleDataRow> freeList;
+
+    /**
+     * Links of rows inserted by a thread.
+     */
+    @State(Scope.Thread)
+    public static class Rows {
+        /** */
+        private final long[] links = new long[ROWS_PER_THREAD];
+
+        /** */
+        private int idx;
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Setup
+    public void setup() throws Exception {
+        System.setProperty(IGNITE_FREE_LIST_SIZE_CLASS_MAP, String.valueOf(sizeClassMap));
+
+        DataRegionConfiguration cfg = new DataRegionConfiguration().setMaxSize(1024 * MB);
+
+        DataRegionMetricsImpl metrics = mock(DataRegionMetricsImpl.class);
+        PageMetrics pageMetrics = mock(PageMetrics.class);
+        LongAdderMetric noOpMetric = new LongAdderMetric("foobar", null);
+
+        when(metrics.cacheGrpPageMetrics(anyInt())).thenReturn(pageMetrics);
+
+        when(pageMetrics.totalPages()).thenReturn(noOpMetric);
+        when(pageMetrics.indexPages()).thenReturn(noOpMetric);
+
+        pageMem = new PageMemoryNoStoreImpl(
+            new JavaLogger(),
+            new UnsafeMemoryProvider(new JavaLogger()),
+            null,
+            PAGE_SIZE,
+            cfg,
+            metrics,
+            false);
+
+        pageMem.start();
+
+        PageLockTrackerManager lockTrackerMgr = mock(PageLockTrackerManager.class);
+
+        when(lockTrackerMgr.createPageLockTracker(anyString())).thenReturn(PageLockTrackerManager.NOOP_LSNR);
+
+        GridKernalContext ctx = mock(GridKernalContext.class);
+
+        when(ctx.log(any(Class.class))).thenReturn(new JavaLogger());
+
+        freeList = new PartitionMetaStorageImpl<>(
+            GRP_ID,
+            "freelist",
+            new DataRegion(pageMem, cfg, metrics, new NoOpPageEvictionTracker()),
+            null,
+            null,
+            pageMem.allocatePage(GRP_ID, 0, PageIdAllocator.FLAG_DATA),
+            true,
+            lockTrackerMgr,
+            ctx,
+            null,
+            PageIdAllocator.FLAG_DATA
+        );
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @TearDown
+    public void tearDown() throws Exception {
+        pageMem.stop(true);
+
+        System.clearProperty(IGNITE_FREE_LIST_SIZE_CLASS_MAP);
+    }
+
+    /**
+     * @param rows Rows of the thread.
+     * @throws Exception If failed.
+     * @return Link of the inserted row.
+     */
+    @Benchmark
+    public long insertDataRow(Rows rows) throws Exception {
+        SimpleDataRow row = new SimpleDataRow(0, new byte[ThreadLocalRandom.current().nextInt(MAX_ROW_SIZE)]);
+
+        long link = rows.links[rows.idx];
+
+        if (link != 0L)
+            freeList.removeDataRowByLink(link, IoStatisticsHolderNoOp.INSTANCE);
+
+        freeList.insertDataRow(row, IoStatisticsHolderNoOp.INSTANCE);
+
+        rows.links[rows.idx] = row.link();
+
+        rows.idx = (rows.idx + 1) % ROWS_PER_THREAD;
+
+        return row.link();
+    }
+
+    /**
+     * Run benchmarks.
+     *
+     * @param args Arguments.
+     * @throws Exception If failed.
+     */
+    public static void main(String[] args) throws Exception {
+        for (int threads : new int[] {1, 4, 8})
+            run(threads);
+    }
+
+    /**
+     * Run benchmark.
+     *
+     * @param threads Amount of threads.
+     * @throws Exception If failed.
+     */
+    private static void run(int threads) throws Exception {
+        JmhIdeBenchmarkRunner.create()
+            .forks(1)
+            .threads(threads)
+            .warmupIterations(10)
+            .measurementIterations(10)
+            .benchmarks(FreeListBenchmark.class.getSimpleName())
+            .jvmArguments("-Xms4g", "-Xmx4g")
+            .run();
+    }
+}
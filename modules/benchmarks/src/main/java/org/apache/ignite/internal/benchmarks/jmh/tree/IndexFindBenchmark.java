@@ -22,6 +22,7 @@ import java.util.concurrent.TimeUnit;
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.IgniteDataStreamer;
 import org.apache.ignite.Ignition;
+import org.apache.ignite.cache.query.annotations.QueryGroupIndex;
 import org.apache.ignite.cache.query.annotations.QuerySqlField;
 import org.apache.ignite.configuration.CacheConfiguration;
 import org.apache.ignite.configuration.IgniteConfiguration;
@@ -31,6 +32,7 @@ import org.apache.ignite.internal.cache.query.index.sorted.IndexKeyType;
 import org.apache.ignite.internal.cache.query.index.sorted.IndexPlainRowImpl;
 import org.apache.ignite.internal.cache.query.index.sorted.IndexRow;
 import org.apache.ignite.internal.cache.query.index.sorted.inline.InlineIndex;
+import org.apache.ignite.internal.cache.query.index.sorted.inline.InlineIndexTree;
 import org.apache.ignite.internal.cache.query.index.sorted.keys.IndexKey;
 import org.apache.ignite.internal.cache.query.index.sorted.keys.IndexKeyFactory;
 import org.apache.ignite.internal.util.lang.GridCursor;
@@ -41,12 +43,15 @@ import org.openjdk.jmh.annotations.Level;
 import org.openjdk.jmh.annotations.Measurement;
 import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.TearDown;
 import org.openjdk.jmh.annotations.Warmup;
 
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_INDEX_INLINE_PREFIX_COMPRESSION;
+
 /**
  * Index find benchmark.
  */
@@ -63,9 +68,19 @@ public class IndexFindBenchmark {
     /** Items in each range. */
     private static final int RANGE = 1;
 
+    /** Tenants count. */
+    private static final int TENANTS = 10;
+
+    /** Inline size of the composite index, too small to inline both tenant and code without prefix compression. */
+    private static final int TENANT_CODE_INLINE_SIZE = 18;
+
     /** Cache name. */
     private static final String CACHE_NAME = "cache";
 
+    /** Store keys equal for all the rows of an index leaf page once per page. */
+    @Param({"false", "true"})
+    private boolean prefixCompression;
+
     /** Ignite. */
     private IgniteEx ignite;
 
@@ -78,6 +93,9 @@ public class IndexFindBenchmark {
     /** */
     InlineIndex idxSalary;
 
+    /** */
+    InlineIndex idxTenantCode;
+
     /** */
     @Benchmark
     public void findOneIndex() {
@@ -96,6 +114,14 @@ public class IndexFindBenchmark {
         find(idxSalary, searchRowSalary(key), searchRowSalary(key + RANGE));
     }
 
+    /** */
+    @Benchmark
+    public void findCompositeIndex() {
+        int key = ThreadLocalRandom.current().nextInt(CNT - RANGE);
+
+        find(idxTenantCode, searchRowTenantCode(key), searchRowTenantCode(key));
+    }
+
     /** */
     private static void find(InlineIndex idx, IndexRow lower, IndexRow upper) {
         try {
@@ -134,11 +160,29 @@ public class IndexFindBenchmark {
         return searchRow(key * 1_000d, IndexKeyType.DOUBLE);
     }
 
+    /** */
+    private static IndexRow searchRowTenantCode(int key) {
+        IndexKey[] keys = new IndexKey[] {
+            IndexKeyFactory.wrap(key % TENANTS, IndexKeyType.INT, null, null),
+            IndexKeyFactory.wrap(code(key), IndexKeyType.STRING, null, null),
+            null
+        };
+
+        return new IndexPlainRowImpl(keys, null);
+    }
+
+    /** */
+    private static String code(int key) {
+        return "code" + String.format("%08d", key);
+    }
+
     /**
      * Initiate Ignite and caches.
      */
     @Setup(Level.Trial)
     public void setup() {
+        System.setProperty(IGNITE_INDEX_INLINE_PREFIX_COMPRESSION, Boolean.toString(prefixCompression));
+
         ignite = (IgniteEx)Ignition.start(new IgniteConfiguration().setIgniteInstanceName("test"));
 
         CacheConfiguration<Integer, Person> cfg = new CacheConfiguration<>(CACHE_NAME);
@@ -148,7 +192,7 @@ public class IndexFindBenchmark {
 
         try (IgniteDataStreamer<Integer, Person> dataLdr = ignite.dataStreamer(CACHE_NAME)) {
             for (int i = 0; i < CNT; i++)
-                dataLdr.addData(i, new Person(i, "name" + String.format("%07d", i), i * 1_000d));
+                dataLdr.addData(i, new Person(i, "name" + String.format("%07d", i), i * 1_000d, i % TENANTS, code(i)));
         }
 
         for (InlineIndex idx : ignite.context().indexProcessor().treeIndexes(CACHE_NAME, true)) {
@@ -158,6 +202,46 @@ public class IndexFindBenchmark {
                 idxName = idx;
             else if (idx.name().contains("_SALARY_"))
                 idxSalary = idx;
+            else if (idx.name().contains("TENANT_CODE"))
+                idxTenantCode = idx;
+        }
+
+        logLeafPagesFill(idxTenantCode);
+    }
+
+    /**
+     * Logs the average number of rows in leaf pages of the index.
+     *
+     * @param idx Index.
+     */
+    private void logLeafPagesFill(InlineIndex idx) {
+        try {
+            InlineIndexTree tree = idx.segment(0);
+
+            long[] cnts = new long[2];
+            long[] lastPageAddr = new long[1];
+
+            GridCursor<IndexRow> cur = tree.find(null, null, (t, io, pageAddr, i) -> {
+                if (pageAddr != lastPageAddr[0]) {
+                    lastPageAddr[0] = pageAddr;
+
+                    cnts[0]++;
+                }
+
+                cnts[1]++;
+
+                return false;
+            }, null);
+
+            while (cur.next()) {
+                // No-op.
+            }
+
+            ignite.log().info("Index leaf pages [idx=" + idx.name() + ", inlineSize=" + tree.inlineSize() +
+                ", pages=" + cnts[0] + ", rowsPerPage=" + (cnts[1] / Math.max(cnts[0], 1)) + ']');
+        }
+        catch (IgniteCheckedException e) {
+            throw new AssertionError(e);
         }
     }
 
@@ -167,6 +251,8 @@ public class IndexFindBenchmark {
     @TearDown
     public void tearDown() {
         ignite.close();
+
+        System.clearProperty(IGNITE_INDEX_INLINE_PREFIX_COMPRESSION);
     }
 
     /**
@@ -182,6 +268,7 @@ public class IndexFindBenchmark {
     }
 
     /** */
+    @QueryGroupIndex(name = "TENANT_CODE", inlineSize = TENANT_CODE_INLINE_SIZE)
     private static class Person {
         /** */
         @QuerySqlField(index = true)
@@ -196,10 +283,20 @@ public class IndexFindBenchmark {
         private final double salary;
 
         /** */
-        private Person(int id, String name, double salary) {
+        @QuerySqlField(orderedGroups = @QuerySqlField.Group(name = "TENANT_CODE", order = 0))
+        private final int tenant;
+
+        /** */
+        @QuerySqlField(orderedGroups = @QuerySqlField.Group(name = "TENANT_CODE", order = 1))
+        private final String code;
+
+        /** */
+        private Person(int id, String name, double salary, int tenant, String code) {
             this.id = id;
             this.name = name;
             this.salary = salary;
+            this.tenant = tenant;
+            this.code = code;
         }
     }
 }
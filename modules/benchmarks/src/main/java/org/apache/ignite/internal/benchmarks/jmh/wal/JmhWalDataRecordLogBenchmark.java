@@ -0,0 +1,192 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.benchmarks.jmh.wal;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.apache.ignite.Ignition;
+import org.apache.ignite.cluster.ClusterState;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.DataRegionConfiguration;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.configuration.WALMode;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.benchmarks.jmh.runner.JmhIdeBenchmarkRunner;
+import org.apache.ignite.internal.pagemem.wal.IgniteWriteAheadLogManager;
+import org.apache.ignite.internal.pagemem.wal.record.DataEntry;
+import org.apache.ignite.internal.pagemem.wal.record.DataRecord;
+import org.apache.ignite.internal.processors.cache.CacheObject;
+import org.apache.ignite.internal.processors.cache.GridCacheContext;
+import org.apache.ignite.internal.processors.cache.GridCacheOperation;
+import org.apache.ignite.internal.processors.cache.KeyCacheObject;
+import org.apache.ignite.internal.processors.cache.persistence.wal.WALPointer;
+import org.apache.ignite.internal.processors.cache.version.GridCacheVersion;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.spi.encryption.keystore.KeystoreEncryptionSpi;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+
+import static org.apache.ignite.internal.util.IgniteUtils.resolveIgnitePath;
+
+/**
+ * Measures serialization of typical {@link DataRecord}s into the WAL buffer by {@link IgniteWriteAheadLogManager#log}.
+ * Run with {@link GCProfiler} to get allocated bytes per operation ({@code gc.alloc.rate.norm}).
+ */
+@State(Scope.Benchmark)
+@Fork(1)
+@Threads(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+public class JmhWalDataRecordLogBenchmark {
+    /** Count of pre-built records. */
+    private static final int RECORDS_CNT = 1024;
+
+    /** Size of the value of an entry. */
+    @Param({"32", "512", "4096"})
+    private int valSize;
+
+    /** Count of entries in a record. */
+    @Param({"1", "8"})
+    private int entriesCnt;
+
+    /** Cache encryption flag. */
+    @Param({"false", "true"})
+    private boolean encrypted;
+
+    /** Work directory. */
+    private File dir;
+
+    /** Ignite. */
+    private IgniteEx ignite;
+
+    /** Write-ahead log manager. */
+    private IgniteWriteAheadLogManager wal;
+
+    /** Pre-built records. */
+    private DataRecord[] recs;
+
+    /**
+     * Starts the node and builds records.
+     */
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        dir = Files.createTempDirectory("jmh-wal-log").toFile();
+
+        KeystoreEncryptionSpi encSpi = new KeystoreEncryptionSpi();
+
+        encSpi.setKeyStorePath(resolveIgnitePath("modules/core/src/test/resources/tde.jks").getAbsolutePath());
+        encSpi.setKeyStorePassword("love_sex_god".toCharArray());
+
+        ignite = (IgniteEx)Ignition.start(new IgniteConfiguration()
+            .setIgniteInstanceName("jmh-wal-log")
+            .setWorkDirectory(dir.getAbsolutePath())
+            .setEncryptionSpi(encSpi)
+            .setDataStorageConfiguration(new DataStorageConfiguration()
+                .setWalMode(WALMode.BACKGROUND)
+                .setWalSegmentSize(256 * 1024 * 1024)
+                .setDefaultDataRegionConfiguration(new DataRegionConfiguration().setPersistenceEnabled(true))));
+
+        ignite.cluster().state(ClusterState.ACTIVE);
+
+        ignite.createCache(new CacheConfiguration<>("cache").setEncryptionEnabled(encrypted));
+
+        GridCacheContext<?, ?> cctx = ignite.cachex("cache").context();
+
+        wal = cctx.shared().wal();
+
+        GridCacheVersion ver = cctx.shared().versions().next(cctx.topology().readyTopologyVersion().topologyVersion());
+
+        recs = new DataRecord[RECORDS_CNT];
+
+        for (int i = 0; i < RECORDS_CNT; i++) {
+            List<DataEntry> entries = new ArrayList<>(entriesCnt);
+
+            for (int j = 0; j < entriesCnt; j++) {
+                int k = i * entriesCnt + j;
+
+                byte[] val = new byte[valSize];
+
+                ThreadLocalRandom.current().nextBytes(val);
+
+                KeyCacheObject key = cctx.toCacheKeyObject(k);
+                CacheObject cacheVal = cctx.toCacheObject(val);
+
+                key.valueBytes(cctx.cacheObjectContext());
+                cacheVal.valueBytes(cctx.cacheObjectContext());
+
+                entries.add(new DataEntry(cctx.cacheId(), key, cacheVal, GridCacheOperation.UPDATE, ver, ver, 0L,
+                    cctx.affinity().partition(key), k, (byte)0));
+            }
+
+            recs[i] = new DataRecord(entries);
+        }
+    }
+
+    /**
+     * Stops the node.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        Ignition.stop(ignite.name(), true);
+
+        U.delete(dir);
+    }
+
+    /**
+     * Logs a pre-built data record.
+     *
+     * @return WAL pointer.
+     */
+    @Benchmark
+    public WALPointer log() throws Exception {
+        return wal.log(recs[ThreadLocalRandom.current().nextInt(RECORDS_CNT)]);
+    }
+
+    /**
+     * Run benchmarks.
+     *
+     * @param args Arguments.
+     * @throws Exception If failed.
+     */
+    public static void main(String[] args) throws Exception {
+        JmhIdeBenchmarkRunner.create()
+            .benchmarks(JmhWalDataRecordLogBenchmark.class.getSimpleName())
+            .profilers(GCProfiler.class)
+            .run();
+    }
+}
@@ -34,6 +34,9 @@ public class CalciteQueryEngineConfiguration implements QueryEngineConfiguration
     /** */
     private static final long DFLT_QUERY_MEMORY_QUOTA = 0L;
 
+    /** */
+    private static final boolean DFLT_DISK_SPILLING_ENABLED = false;
+
     /** */
     private boolean isDflt;
 
@@ -43,6 +46,9 @@ public class CalciteQueryEngineConfiguration implements QueryEngineConfiguration
     /** */
     private long qryMemoryQuota = DFLT_QUERY_MEMORY_QUOTA;
 
+    /** */
+    private boolean diskSpillingEnabled = DFLT_DISK_SPILLING_ENABLED;
+
     /** {@inheritDoc} */
     @Override public String engineName() {
         return ENGINE_NAME;
@@ -106,4 +112,29 @@ public class CalciteQueryEngineConfiguration implements QueryEngineConfiguration
 
         return this;
     }
+
+    /**
+     * Gets whether rows of queries are spilled to disk instead of failing on the memory quota.
+     *
+     * @return {@code True} if rows of queries are spilled to disk.
+     */
+    public boolean isDiskSpillingEnabled() {
+        return diskSpillingEnabled;
+    }
+
+    /**
+     * Sets whether rows of queries are spilled to disk instead of failing on the memory quota.
+     * <p>
+     * Sort, hash aggregate and hash join nodes spill rows to temporary files in the work directory once memory for
+     * their rows can't be reserved within the per-query or the global memory quota. Rows are never spilled if no
+     * quota is set.
+     *
+     * @param diskSpillingEnabled {@code True} to spill rows of queries to disk.
+     * @return {@code this} for chaining.
+     */
+    public CalciteQueryEngineConfiguration setDiskSpillingEnabled(boolean diskSpillingEnabled) {
+        this.diskSpillingEnabled = diskSpillingEnabled;
+
+        return this;
+    }
 }
@@ -42,18 +42,27 @@ public class DistributedCalciteConfiguration extends DistributedSqlConfiguration
     /** Plan cache size property name. */
     public static final String PLAN_CACHE_SIZE_PROPERTY_NAME = "sql.calcite.planCacheSize";
 
+    /** Scan parallelism property name. */
+    public static final String SCAN_PARALLELISM_PROPERTY_NAME = "sql.calcite.scanParallelism";
+
     /** Default value of the disabled rules. */
     public static final String[] DFLT_DISABLED_RULES = new String[0];
 
     /** Default value of plan cache size. */
     public static final int DFLT_PLAN_CACHE_SIZE = 1024;
 
+    /** Default value of scan parallelism. */
+    public static final int DFLT_SCAN_PARALLELISM = 1;
+
     /** Globally disabled rules. */
     private volatile DistributedChangeableProperty<String[]> disabledRules;
 
     /** Plan cache size. */
     private volatile DistributedChangeableProperty<Integer> planCacheSize;
 
+    /** Number of workers scanning local partitions of a table. */
+    private volatile DistributedChangeableProperty<Integer> scanParallelism;
+
     /** */
     private QueryPlanCache qryPlanCache;
 
@@ -91,6 +100,14 @@ public class DistributedCalciteConfiguration extends DistributedSqlConfiguration
         return getProperty(planCacheSize, DFLT_PLAN_CACHE_SIZE);
     }
 
+    /**
+     * @return Number of workers scanning local partitions of a table if it isn't set by a hint.
+     * @see #SCAN_PARALLELISM_PROPERTY_NAME
+     */
+    public int scanParallelism() {
+        return getProperty(scanParallelism, DFLT_SCAN_PARALLELISM);
+    }
+
     /** */
     private <T extends Serializable> T getProperty(DistributedChangeableProperty<T> prop, T dflt) {
         T res = prop == null ? dflt : prop.get();
@@ -140,6 +157,19 @@ public class DistributedCalciteConfiguration extends DistributedSqlConfiguration
         );
 
         planCacheSize.addListener(planCacheCleaner);
+
+        registerProperty(
+            dispatcher,
+            SCAN_PARALLELISM_PROPERTY_NAME,
+            prop -> scanParallelism = prop,
+            () -> new SimpleDistributedProperty<>(
+                SCAN_PARALLELISM_PROPERTY_NAME,
+                Integer::parseInt,
+                "Number of workers scanning local partitions of a table by a query, unless it's set by the " +
+                    "SCAN_PARALLELISM hint. 1 disables parallel scans."
+            ),
+            log
+        );
     }
 
     /** {@inheritDoc} */
@@ -148,5 +178,6 @@ public class DistributedCalciteConfiguration extends DistributedSqlConfiguration
 
         setDefaultValue(disabledRules, DFLT_DISABLED_RULES, log);
         setDefaultValue(planCacheSize, DFLT_PLAN_CACHE_SIZE, log);
+        setDefaultValue(scanParallelism, DFLT_SCAN_PARALLELISM, log);
     }
 }
@@ -36,9 +36,10 @@ public interface ExchangeService extends Service {
      * @param batchId Batch ID.
      * @param last Last batch flag.
      * @param rows Data rows.
+     * @param hnd Row handler.
      */
     <Row> void sendBatch(UUID nodeId, UUID qryId, long fragmentId, long exchangeId, int batchId, boolean last,
-        List<Row> rows) throws IgniteCheckedException;
+        List<Row> rows, RowHandler<Row> hnd) throws IgniteCheckedException;
 
     /**
      * Acknowledges a batch with given ID is processed.
@@ -50,6 +51,17 @@ public interface ExchangeService extends Service {
      */
     void acknowledge(UUID nodeId, UUID qryId, long fragmentId, long exchangeId, int batchId) throws IgniteCheckedException;
 
+    /**
+     * Sends a runtime filter of join keys to a source node of an exchange.
+     * @param nodeId Source node ID.
+     * @param qryId Query ID.
+     * @param fragmentId Source fragment ID.
+     * @param exchangeId Exchange ID.
+     * @param filter Filter.
+     */
+    void sendJoinFilter(UUID nodeId, UUID qryId, long fragmentId, long exchangeId, RuntimeJoinFilter filter)
+        throws IgniteCheckedException;
+
     /**
      * Sends cancel request.
      * @param nodeId Target node ID.
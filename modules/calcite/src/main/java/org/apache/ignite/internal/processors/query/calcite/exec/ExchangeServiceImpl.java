@@ -37,6 +37,7 @@ import org.apache.ignite.internal.processors.query.calcite.message.QueryBatchAck
 import org.apache.ignite.internal.processors.query.calcite.message.QueryBatchMessage;
 import org.apache.ignite.internal.processors.query.calcite.message.QueryCloseMessage;
 import org.apache.ignite.internal.processors.query.calcite.message.QueryInboxCloseMessage;
+import org.apache.ignite.internal.processors.query.calcite.message.QueryJoinFilterMessage;
 import org.apache.ignite.internal.processors.query.calcite.metadata.FragmentDescription;
 import org.apache.ignite.internal.processors.query.calcite.prepare.BaseQueryContext;
 import org.apache.ignite.internal.processors.query.calcite.util.AbstractService;
@@ -140,9 +141,13 @@ public class ExchangeServiceImpl extends AbstractService implements ExchangeServ
 
     /** {@inheritDoc} */
     @Override public <Row> void sendBatch(UUID nodeId, UUID qryId, long fragmentId, long exchangeId, int batchId,
-        boolean last, List<Row> rows) throws IgniteCheckedException {
-        messageService().send(nodeId, new QueryBatchMessage(qryId, fragmentId, exchangeId, batchId, last,
-            Commons.cast(rows)));
+        boolean last, List<Row> rows, RowHandler<Row> hnd) throws IgniteCheckedException {
+        // Rows of local batches aren't marshalled at all.
+        byte[] encoded = localNodeId().equals(nodeId) ? null : RowBatchCodec.encode(rows, hnd);
+
+        messageService().send(nodeId, encoded != null
+            ? new QueryBatchMessage(qryId, fragmentId, exchangeId, batchId, last, encoded)
+            : new QueryBatchMessage(qryId, fragmentId, exchangeId, batchId, last, Commons.cast(rows)));
 
         if (batchId == 0) {
             Query<?> qry = qryRegistry.query(qryId);
@@ -158,6 +163,13 @@ public class ExchangeServiceImpl extends AbstractService implements ExchangeServ
         messageService().send(nodeId, new QueryBatchAcknowledgeMessage(qryId, fragmentId, exchangeId, batchId));
     }
 
+    /** {@inheritDoc} */
+    @Override public void sendJoinFilter(UUID nodeId, UUID qryId, long fragmentId, long exchangeId,
+        RuntimeJoinFilter filter) throws IgniteCheckedException {
+        messageService().send(nodeId, new QueryJoinFilterMessage(qryId, fragmentId, exchangeId, filter.keys(),
+            filter.bits()));
+    }
+
     /** {@inheritDoc} */
     @Override public void closeQuery(UUID nodeId, UUID qryId) throws IgniteCheckedException {
         messageService().send(nodeId, new QueryCloseMessage(qryId));
@@ -192,6 +204,7 @@ public class ExchangeServiceImpl extends AbstractService implements ExchangeServ
         messageService().register((n, m) -> onMessage(n, (QueryBatchAcknowledgeMessage)m), QueryBatchAcknowledgeMessage.class);
         messageService().register((n, m) -> onMessage(n, (QueryBatchMessage)m), QueryBatchMessage.class);
         messageService().register((n, m) -> onMessage(n, (QueryCloseMessage)m), QueryCloseMessage.class);
+        messageService().register((n, m) -> onMessage(n, (QueryJoinFilterMessage)m), QueryJoinFilterMessage.class);
     }
 
     /** {@inheritDoc} */
@@ -279,6 +292,29 @@ public class ExchangeServiceImpl extends AbstractService implements ExchangeServ
         }
     }
 
+    /** */
+    protected void onMessage(UUID nodeId, QueryJoinFilterMessage msg) {
+        Outbox<?> outbox = mailboxRegistry().outbox(msg.queryId(), msg.exchangeId());
+
+        if (outbox != null) {
+            try {
+                outbox.onJoinFilter(nodeId, new RuntimeJoinFilter(msg.keys(), msg.bits()));
+            }
+            catch (Throwable e) {
+                outbox.onError(e);
+
+                throw new IgniteException("Unexpected exception", e);
+            }
+        }
+        else if (log.isDebugEnabled()) {
+            log.debug("Stale join filter message received: [" +
+                "nodeId=" + nodeId + ", " +
+                "queryId=" + msg.queryId() + ", " +
+                "fragmentId=" + msg.fragmentId() + ", " +
+                "exchangeId=" + msg.exchangeId() + "]");
+        }
+    }
+
     /** */
     protected void onMessage(UUID nodeId, QueryBatchMessage msg) {
         Inbox<?> inbox = mailboxRegistry().inbox(msg.queryId(), msg.exchangeId());
@@ -319,7 +355,7 @@ public class ExchangeServiceImpl extends AbstractService implements ExchangeServ
                         qry.onInboundExchangeStarted(nodeId, msg.exchangeId());
                 }
 
-                inbox.onBatchReceived(nodeId, msg.batchId(), msg.last(), Commons.cast(msg.rows()));
+                onBatchReceived(nodeId, inbox, msg);
             }
             catch (Throwable e) {
                 inbox.onError(e);
@@ -337,6 +373,11 @@ public class ExchangeServiceImpl extends AbstractService implements ExchangeServ
         }
     }
 
+    /** */
+    private <Row> void onBatchReceived(UUID nodeId, Inbox<Row> inbox, QueryBatchMessage msg) throws Exception {
+        inbox.onBatchReceived(nodeId, msg.batchId(), msg.last(), msg.rows(inbox.context().rowHandler()));
+    }
+
     /**
      * @return Minimal execution context to meet Inbox needs.
      */
@@ -124,6 +124,9 @@ public class ExecutionContext<Row> extends AbstractQueryContext implements DataC
     /** */
     private final IoTracker ioTracker;
 
+    /** Manager of files to spill rows to, {@code null} if rows are never spilled. */
+    private final @Nullable SpillManager spillMgr;
+
     /** */
     private final long timeout;
 
@@ -154,6 +157,33 @@ public class ExecutionContext<Row> extends AbstractQueryContext implements DataC
      * @param fragmentDesc Partitions information.
      * @param params Parameters.
      */
+    public ExecutionContext(
+        BaseQueryContext qctx,
+        QueryTaskExecutor executor,
+        InjectResourcesService injectSvc,
+        UUID qryId,
+        UUID locNodeId,
+        UUID originatingNodeId,
+        AffinityTopologyVersion topVer,
+        FragmentDescription fragmentDesc,
+        RowHandler<Row> handler,
+        MemoryTracker qryMemoryTracker,
+        IoTracker ioTracker,
+        long timeout,
+        Map<String, Object> params,
+        @Nullable Collection<QueryTxEntry> qryTxEntries
+    ) {
+        this(qctx, executor, injectSvc, qryId, locNodeId, originatingNodeId, topVer, fragmentDesc, handler,
+            qryMemoryTracker, ioTracker, null, timeout, params, qryTxEntries);
+    }
+
+    /**
+     * @param qctx Parent base query context.
+     * @param qryId Query ID.
+     * @param fragmentDesc Partitions information.
+     * @param spillMgr Manager of files to spill rows to, {@code null} if rows are never spilled.
+     * @param params Parameters.
+     */
     @SuppressWarnings("AssignmentOrReturnOfFieldWithMutableType")
     public ExecutionContext(
         BaseQueryContext qctx,
@@ -167,6 +197,7 @@ public class ExecutionContext<Row> extends AbstractQueryContext implements DataC
         RowHandler<Row> handler,
         MemoryTracker qryMemoryTracker,
         IoTracker ioTracker,
+        @Nullable SpillManager spillMgr,
         long timeout,
         Map<String, Object> params,
         @Nullable Collection<QueryTxEntry> qryTxEntries
@@ -183,6 +214,7 @@ public class ExecutionContext<Row> extends AbstractQueryContext implements DataC
         this.handler = handler;
         this.qryMemoryTracker = qryMemoryTracker;
         this.ioTracker = ioTracker;
+        this.spillMgr = spillMgr;
         this.params = params;
         this.timeout = timeout;
         this.qryTxEntries = qryTxEntries == null ? txEntriesHolder.get() : qryTxEntries;
@@ -438,6 +470,21 @@ public class ExecutionContext<Row> extends AbstractQueryContext implements DataC
         });
     }
 
+    /**
+     * Executes a task of a worker of the fragment. Tasks of different workers are executed concurrently with each other
+     * and with tasks of the fragment, tasks of the same worker are executed one by one. The task is executed even if
+     * the query is cancelled, so the worker may release its resources.
+     *
+     * @param worker Worker index.
+     * @param task Task.
+     */
+    public void executeWorker(int worker, Runnable task) {
+        assert worker >= 0 && worker < 1 << 16 : worker;
+
+        // Negative keys never clash with IDs of fragments.
+        executor.execute(qryId, -((fragmentId() << 16) + worker + 1), task);
+    }
+
     /**
      * Sets cancel flag, returns {@code true} if flag was changed by this call.
      *
@@ -469,7 +516,16 @@ public class ExecutionContext<Row> extends AbstractQueryContext implements DataC
 
     /** */
     public <R> RowTracker<R> createNodeMemoryTracker(long rowOverhead) {
-        return ExecutionNodeMemoryTracker.create(qryMemoryTracker, rowOverhead);
+        return createNodeMemoryTracker(rowOverhead, false);
+    }
+
+    /**
+     * @param rowOverhead Row overhead in bytes for each row.
+     * @param spillable Whether the node is able to spill rows to disk instead of failing on the memory quota.
+     * @return Memory tracker of an execution node.
+     */
+    public <R> RowTracker<R> createNodeMemoryTracker(long rowOverhead, boolean spillable) {
+        return ExecutionNodeMemoryTracker.create(qryMemoryTracker, rowOverhead, spillable && spillMgr != null);
     }
 
     /** */
@@ -477,6 +533,13 @@ public class ExecutionContext<Row> extends AbstractQueryContext implements DataC
         return ioTracker;
     }
 
+    /**
+     * @return Manager of files to spill rows to, {@code null} if rows are never spilled.
+     */
+    public @Nullable SpillManager spillManager() {
+        return spillMgr;
+    }
+
     /**
      * Return an instance of class that contained a user defined function. If not exist yet, then instantiate the object
      * and inject resources into it. Used by {@link ReflectiveCallNotNullImplementor} while it is preparing user function call.
@@ -71,6 +71,7 @@ import org.apache.ignite.internal.processors.query.GridQueryFieldMetadata;
 import org.apache.ignite.internal.processors.query.IgniteSQLException;
 import org.apache.ignite.internal.processors.query.QueryProperties;
 import org.apache.ignite.internal.processors.query.calcite.CalciteQueryProcessor;
+import org.apache.ignite.internal.processors.query.calcite.DistributedCalciteConfiguration;
 import org.apache.ignite.internal.processors.query.calcite.Query;
 import org.apache.ignite.internal.processors.query.calcite.QueryRegistry;
 import org.apache.ignite.internal.processors.query.calcite.QueryState;
@@ -218,9 +219,15 @@ public class ExecutionServiceImpl<Row> extends AbstractService implements Execut
     /** */
     private FrameworkConfig frameworkCfg;
 
+    /** */
+    private DistributedCalciteConfiguration distrCfg;
+
     /** */
     private MemoryTracker memoryTracker;
 
+    /** Manager of files to spill rows to, {@code null} if rows are never spilled. */
+    private @Nullable SpillManager spillMgr;
+
     /** */
     private InjectResourcesService injectSvc;
 
@@ -486,10 +493,13 @@ public class ExecutionServiceImpl<Row> extends AbstractService implements Execut
 
         cfg = proc.config();
         frameworkCfg = proc.frameworkConfig();
+        distrCfg = proc.distributedConfiguration();
 
         memoryTracker = cfg.getGlobalMemoryQuota() > 0 ? new GlobalMemoryTracker(cfg.getGlobalMemoryQuota()) :
             NoOpMemoryTracker.INSTANCE;
 
+        spillMgr = cfg.isDiskSpillingEnabled() ? new SpillManager(ctx) : null;
+
         udfQryLimit.set(ctx.config().getQueryThreadPoolSize() - 1);
 
         init();
@@ -511,6 +521,9 @@ public class ExecutionServiceImpl<Row> extends AbstractService implements Execut
         eventManager().removeDiscoveryEventListener(discoLsnr, EventType.EVT_NODE_FAILED, EventType.EVT_NODE_LEFT);
 
         iteratorsHolder().tearDown();
+
+        if (spillMgr != null)
+            spillMgr.stop();
     }
 
     /** */
@@ -1126,12 +1139,13 @@ public class ExecutionServiceImpl<Row> extends AbstractService implements Execut
                 handler,
                 qryMemoryTracker,
                 createIoTracker(locNodeId, qry.localQueryId()),
+                spillMgr,
                 timeout,
                 qryParams,
                 userTx == null ? null : ExecutionContext.transactionChanges(userTx.writeEntries()));
 
             Node<Row> node = new LogicalRelImplementor<>(ectx, partitionService(), mailboxRegistry(),
-                exchangeService(), failureProcessor()).go(fragment.root());
+                exchangeService(), failureProcessor(), distrCfg.scanParallelism()).go(fragment.root());
 
             qry.run(ectx, execPlan, plan.fieldsMetadata(), node);
 
@@ -1343,7 +1357,8 @@ public class ExecutionServiceImpl<Row> extends AbstractService implements Execut
             partitionService(),
             mailboxRegistry(),
             exchangeService(),
-            failureProcessor()
+            failureProcessor(),
+            distrCfg.scanParallelism()
         )
             .go(plan.root());
 
@@ -1403,6 +1418,7 @@ public class ExecutionServiceImpl<Row> extends AbstractService implements Execut
                 handler,
                 qry.createMemoryTracker(memoryTracker, cfg.getQueryMemoryQuota()),
                 createIoTracker(nodeId, msg.originatingQueryId()),
+                spillMgr,
                 msg.timeout(),
                 Commons.parametersMap(msg.parameters()),
                 msg.queryTransactionEntries()
@@ -307,8 +307,11 @@ public class IndexScan<Row> extends AbstractCacheColumnsScan<IndexRow, Row> {
             if (useCacheRow)
                 return io.getLookupRow(tree, pageAddr, idx);
 
-            int inlineSize = ((InlineIO)io).inlineSize();
-            int rowOffset = io.offset(idx);
+            InlineIO inlineIo = (InlineIO)io;
+
+            // Keys of a prefix compressed row are copied to a buffer.
+            long keysAddr = inlineIo.inlineAddress(pageAddr, idx);
+            int inlineSize = inlineIo.inlineSize(pageAddr, idx);
             int keyOffset = 0;
 
             IndexKey[] keys = new IndexKey[keyTypes.length];
@@ -317,7 +320,7 @@ public class IndexScan<Row> extends AbstractCacheColumnsScan<IndexRow, Row> {
             for (int keyIdx = 0; keyIdx < keyTypes.length; keyIdx++) {
                 InlineIndexKeyType keyType = keyTypes[keyIdx];
 
-                if (!keyType.inlinedFullValue(pageAddr, rowOffset + keyOffset, inlineSize - keyOffset)) {
+                if (!keyType.inlinedFullValue(keysAddr, keyOffset, inlineSize - keyOffset)) {
                     // Since we are checking only fixed-length keys, this condition means that for all rows current
                     // key type is not fully inlined, so fallback to cache index row.
                     useCacheRow = true;
@@ -325,9 +328,9 @@ public class IndexScan<Row> extends AbstractCacheColumnsScan<IndexRow, Row> {
                     return io.getLookupRow(tree, pageAddr, idx);
                 }
 
-                keys[keyIdx] = keyType.get(pageAddr, rowOffset + keyOffset, inlineSize - keyOffset);
+                keys[keyIdx] = keyType.get(keysAddr, keyOffset, inlineSize - keyOffset);
 
-                keyOffset += keyType.inlineSize(pageAddr, rowOffset + keyOffset);
+                keyOffset += keyType.inlineSize(keysAddr, keyOffset);
             }
 
             return new IndexPlainRowImpl(keys, idxRowHnd);
@@ -356,7 +359,9 @@ public class IndexScan<Row> extends AbstractCacheColumnsScan<IndexRow, Row> {
                 int idx
             ) throws IgniteCheckedException {
                 if (!checkExpired && keyType != null && io instanceof InlineIO) {
-                    Boolean keyIsNull = keyType.isNull(pageAddr, io.offset(idx), ((InlineIO)io).inlineSize());
+                    InlineIO inlineIo = (InlineIO)io;
+
+                    Boolean keyIsNull = keyType.isNull(inlineIo.inlineAddress(pageAddr, idx), 0, inlineIo.inlineSize(pageAddr, idx));
 
                     if (keyIsNull == Boolean.TRUE) {
                         idxRow = null;
@@ -73,6 +73,7 @@ import org.apache.ignite.internal.processors.query.calcite.exec.rel.ModifyNode;
 import org.apache.ignite.internal.processors.query.calcite.exec.rel.NestedLoopJoinNode;
 import org.apache.ignite.internal.processors.query.calcite.exec.rel.Node;
 import org.apache.ignite.internal.processors.query.calcite.exec.rel.Outbox;
+import org.apache.ignite.internal.processors.query.calcite.exec.rel.ParallelScanNode;
 import org.apache.ignite.internal.processors.query.calcite.exec.rel.ProjectNode;
 import org.apache.ignite.internal.processors.query.calcite.exec.rel.ScanNode;
 import org.apache.ignite.internal.processors.query.calcite.exec.rel.ScanStorageNode;
@@ -163,6 +164,9 @@ public class LogicalRelImplementor<Row> implements IgniteRelVisitor<Node<Row>> {
     /** */
     private final ExpressionFactory<Row> expressionFactory;
 
+    /** Number of workers scanning local partitions of a table if it isn't set by a hint. */
+    private final int scanParallelism;
+
     /**
      * @param ctx Root context.
      * @param affSrvc Affinity service.
@@ -176,11 +180,31 @@ public class LogicalRelImplementor<Row> implements IgniteRelVisitor<Node<Row>> {
         MailboxRegistry mailboxRegistry,
         ExchangeService exchangeSvc,
         FailureProcessor failure
+    ) {
+        this(ctx, affSrvc, mailboxRegistry, exchangeSvc, failure, 1);
+    }
+
+    /**
+     * @param ctx Root context.
+     * @param affSrvc Affinity service.
+     * @param mailboxRegistry Mailbox registry.
+     * @param exchangeSvc Exchange service.
+     * @param failure Failure processor.
+     * @param scanParallelism Number of workers scanning local partitions of a table if it isn't set by a hint.
+     */
+    public LogicalRelImplementor(
+        ExecutionContext<Row> ctx,
+        AffinityService affSrvc,
+        MailboxRegistry mailboxRegistry,
+        ExchangeService exchangeSvc,
+        FailureProcessor failure,
+        int scanParallelism
     ) {
         this.affSrvc = affSrvc;
         this.mailboxRegistry = mailboxRegistry;
         this.exchangeSvc = exchangeSvc;
         this.ctx = ctx;
+        this.scanParallelism = scanParallelism;
 
         expressionFactory = ctx.expressionFactory();
     }
@@ -306,10 +330,18 @@ public class LogicalRelImplementor<Row> implements IgniteRelVisitor<Node<Row>> {
             nonEquiCondition = expressionFactory.biPredicate(rel.getCondition(), rowType);
         }
 
-        Node<Row> node = HashJoinNode.create(ctx, outType, leftType, rightType, joinType, rel.analyzeCondition(),
-            nonEquiCondition);
+        HashJoinNode<Row> node = HashJoinNode.create(ctx, outType, leftType, rightType, joinType,
+            rel.analyzeCondition(), nonEquiCondition);
+
+        Node<Row> leftInput = visit(rel.getLeft());
+
+        // Left rows of other nodes are filtered by keys of right rows unless unmatched left rows are emitted.
+        if (leftInput instanceof Inbox && (joinType == JoinRelType.INNER || joinType == JoinRelType.SEMI
+            || joinType == JoinRelType.RIGHT)) {
+            node.joinFilterInbox((Inbox<Row>)leftInput);
+        }
 
-        node.register(Arrays.asList(visit(rel.getLeft()), visit(rel.getRight())));
+        node.register(Arrays.asList(leftInput, visit(rel.getRight())));
 
         return node;
     }
@@ -599,6 +631,19 @@ public class LogicalRelImplementor<Row> implements IgniteRelVisitor<Node<Row>> {
 
         ColocationGroup grp = ctx.group(rel.sourceId());
 
+        int parallelism = rel.parallelism() > 0 ? rel.parallelism() : scanParallelism;
+
+        if (parallelism > 1) {
+            List<Iterable<Row>> scans = tbl.parallelScan(ctx, grp, requiredColumns, parallelism);
+
+            // Every worker evaluates expressions of its own.
+            if (scans.size() > 1) {
+                return new ParallelScanNode<>(tbl.name(), ctx, rel.getRowType(), scans,
+                    condition == null ? null : () -> expressionFactory.predicate(condition, inputRowType),
+                    projects == null ? null : () -> expressionFactory.project(projects, inputRowType));
+            }
+        }
+
         IgniteIndex idx = tbl.getIndex(QueryUtils.PRIMARY_KEY_INDEX);
 
         if (idx != null && !tbl.isIndexRebuildInProgress()) {
@@ -0,0 +1,620 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.calcite.exec;
+
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.UUID;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Compact binary format of batches of rows sent to remote nodes.
+ * <p>
+ * A batch starts with a header holding the number of rows and columns, the kind of every column and offsets of
+ * column sections. A column section starts with a null bitmap if the column has nulls. Values of fixed width
+ * columns follow as a plain array, so a value is found by its row index. Values of variable length columns are
+ * written to a data area after an array of their end offsets. Kinds of columns are resolved from the values of
+ * the batch, a batch with a value of an unsupported type or of a type not matching other values of its column
+ * isn't encoded.
+ * <p>
+ * Decoded batches are lists which build a row only when it is accessed.
+ */
+public final class RowBatchCodec {
+    /** Column of nulls only. */
+    private static final byte NULL = 0;
+
+    /** */
+    private static final byte BOOLEAN = 1;
+
+    /** */
+    private static final byte BYTE = 2;
+
+    /** */
+    private static final byte SHORT = 3;
+
+    /** */
+    private static final byte INT = 4;
+
+    /** */
+    private static final byte LONG = 5;
+
+    /** */
+    private static final byte FLOAT = 6;
+
+    /** */
+    private static final byte DOUBLE = 7;
+
+    /** */
+    private static final byte UUID_KIND = 8;
+
+    /** Chars encoded one by one as in UTF-8, surrogates included, so any string is restored as is. */
+    private static final byte STRING = 9;
+
+    /** */
+    private static final byte BYTES = 10;
+
+    /** Scale followed by bytes of unscaled value. */
+    private static final byte DECIMAL = 11;
+
+    /** Flag of a column with a null bitmap. */
+    private static final byte HAS_NULLS = (byte)0x80;
+
+    /** Widths of values of fixed width kinds, {@code 0} for variable length kinds. */
+    private static final int[] WIDTHS = {0, 1, 1, 2, 4, 8, 4, 8, 16, 0, 0, 0};
+
+    /** Java types of values of kinds. */
+    private static final Type[] TYPES = {
+        Object.class, Boolean.class, Byte.class, Short.class, Integer.class, Long.class, Float.class, Double.class,
+        UUID.class, String.class, byte[].class, BigDecimal.class
+    };
+
+    /** */
+    private RowBatchCodec() {
+        // No-op.
+    }
+
+    /**
+     * @param rows Rows.
+     * @param hnd Row handler.
+     * @return Encoded rows or {@code null} if the rows have values which can't be encoded.
+     */
+    @Nullable public static <Row> byte[] encode(List<Row> rows, RowHandler<Row> hnd) {
+        int rowsCnt = rows.size();
+        int colsCnt = 0;
+
+        for (int r = 0; r < rowsCnt; r++) {
+            Row row = rows.get(r);
+
+            if (row == null)
+                return null;
+
+            if (r == 0)
+                colsCnt = hnd.columnCount(row);
+            else if (hnd.columnCount(row) != colsCnt)
+                return null;
+        }
+
+        byte[] kinds = new byte[colsCnt];
+        int[] sizes = new int[colsCnt];
+        byte[][][] varVals = new byte[colsCnt][][];
+
+        for (int c = 0; c < colsCnt; c++) {
+            byte kind = NULL;
+            boolean hasNulls = false;
+
+            for (int r = 0; r < rowsCnt; r++) {
+                Object val = hnd.get(c, rows.get(r));
+
+                if (val == null) {
+                    hasNulls = true;
+
+                    continue;
+                }
+
+                byte valKind = kind(val);
+
+                if (valKind == NULL || (kind != NULL && kind != valKind))
+                    return null;
+
+                kind = valKind;
+            }
+
+            if (kind == NULL)
+                hasNulls = false;
+
+            int size = hasNulls ? bitmapSize(rowsCnt) : 0;
+
+            if (WIDTHS[kind] > 0 || kind == NULL)
+                size += WIDTHS[kind] * rowsCnt;
+            else {
+                byte[][] vals = new byte[rowsCnt][];
+
+                size += 4 * rowsCnt;
+
+                for (int r = 0; r < rowsCnt; r++) {
+                    Object val = hnd.get(c, rows.get(r));
+
+                    if (val != null) {
+                        vals[r] = bytes(kind, val);
+
+                        size += vals[r].length;
+                    }
+                }
+
+                varVals[c] = vals;
+            }
+
+            kinds[c] = hasNulls ? (byte)(kind | HAS_NULLS) : kind;
+            sizes[c] = size;
+        }
+
+        int hdrSize = 8 + colsCnt * 5;
+        long total = hdrSize;
+
+        for (int size : sizes)
+            total += size;
+
+        if (total > Integer.MAX_VALUE)
+            return null;
+
+        ByteBuffer buf = ByteBuffer.allocate((int)total).order(ByteOrder.LITTLE_ENDIAN);
+
+        buf.putInt(rowsCnt);
+        buf.putInt(colsCnt);
+        buf.put(kinds);
+
+        int off = hdrSize;
+
+        for (int c = 0; c < colsCnt; c++) {
+            buf.putInt(off);
+
+            off += sizes[c];
+        }
+
+        for (int c = 0; c < colsCnt; c++) {
+            byte kind = (byte)(kinds[c] & ~HAS_NULLS);
+
+            if ((kinds[c] & HAS_NULLS) != 0) {
+                byte[] bitmap = new byte[bitmapSize(rowsCnt)];
+
+                for (int r = 0; r < rowsCnt; r++) {
+                    if (hnd.get(c, rows.get(r)) == null)
+                        bitmap[r >>> 3] |= 1 << (r & 7);
+                }
+
+                buf.put(bitmap);
+            }
+
+            if (WIDTHS[kind] > 0) {
+                for (int r = 0; r < rowsCnt; r++)
+                    writeFixed(buf, kind, hnd.get(c, rows.get(r)));
+            }
+            else if (kind != NULL) {
+                byte[][] vals = varVals[c];
+                int end = 0;
+
+                for (int r = 0; r < rowsCnt; r++) {
+                    if (vals[r] != null)
+                        end += vals[r].length;
+
+                    buf.putInt(end);
+                }
+
+                for (int r = 0; r < rowsCnt; r++) {
+                    if (vals[r] != null)
+                        buf.put(vals[r]);
+                }
+            }
+        }
+
+        assert !buf.hasRemaining();
+
+        return buf.array();
+    }
+
+    /**
+     * @param data Encoded rows.
+     * @param hnd Row handler.
+     * @return Rows, a row is decoded on the first access.
+     */
+    public static <Row> List<Row> decode(byte[] data, RowHandler<Row> hnd) {
+        return new DecodedRows<>(data, hnd);
+    }
+
+    /**
+     * @param val Value.
+     * @return Kind of the value or {@link #NULL} if the value can't be encoded.
+     */
+    private static byte kind(Object val) {
+        Class<?> cls = val.getClass();
+
+        if (cls == Integer.class)
+            return INT;
+        else if (cls == Long.class)
+            return LONG;
+        else if (cls == String.class)
+            return STRING;
+        else if (cls == Double.class)
+            return DOUBLE;
+        else if (cls == Boolean.class)
+            return BOOLEAN;
+        else if (cls == BigDecimal.class)
+            return DECIMAL;
+        else if (cls == Float.class)
+            return FLOAT;
+        else if (cls == Short.class)
+            return SHORT;
+        else if (cls == Byte.class)
+            return BYTE;
+        else if (cls == UUID.class)
+            return UUID_KIND;
+        else if (cls == byte[].class)
+            return BYTES;
+
+        return NULL;
+    }
+
+    /**
+     * @param rowsCnt Number of rows.
+     * @return Size of a null bitmap.
+     */
+    private static int bitmapSize(int rowsCnt) {
+        return (rowsCnt + 7) >>> 3;
+    }
+
+    /**
+     * @param kind Variable length kind.
+     * @param val Value.
+     * @return Bytes of the value.
+     */
+    private static byte[] bytes(byte kind, Object val) {
+        switch (kind) {
+            case STRING:
+                return encodeString((String)val);
+
+            case BYTES:
+                return (byte[])val;
+
+            case DECIMAL:
+                BigDecimal dec = (BigDecimal)val;
+                byte[] unscaled = dec.unscaledValue().toByteArray();
+                byte[] res = new byte[4 + unscaled.length];
+
+                ByteBuffer.wrap(res).order(ByteOrder.LITTLE_ENDIAN).putInt(dec.scale());
+
+                System.arraycopy(unscaled, 0, res, 4, unscaled.length);
+
+                return res;
+
+            default:
+                throw new AssertionError("Unexpected kind: " + kind);
+        }
+    }
+
+    /**
+     * Encodes chars of the string one by one. Unlike {@link java.nio.charset.StandardCharsets#UTF_8}, unpaired
+     * surrogates aren't replaced.
+     *
+     * @param str String.
+     * @return Bytes of the string.
+     */
+    private static byte[] encodeString(String str) {
+        int len = str.length();
+        int size = len;
+
+        for (int i = 0; i < len; i++) {
+            char c = str.charAt(i);
+
+            if (c >= 0x800)
+                size += 2;
+            else if (c >= 0x80)
+                size++;
+        }
+
+        byte[] res = new byte[size];
+        int pos = 0;
+
+        for (int i = 0; i < len; i++) {
+            char c = str.charAt(i);
+
+            if (c < 0x80)
+                res[pos++] = (byte)c;
+            else if (c < 0x800) {
+                res[pos++] = (byte)(0xC0 | (c >> 6));
+                res[pos++] = (byte)(0x80 | (c & 0x3F));
+            }
+            else {
+                res[pos++] = (byte)(0xE0 | (c >> 12));
+                res[pos++] = (byte)(0x80 | ((c >> 6) & 0x3F));
+                res[pos++] = (byte)(0x80 | (c & 0x3F));
+            }
+        }
+
+        return res;
+    }
+
+    /**
+     * @param data Data.
+     * @param off Offset of the string.
+     * @param len Length of the string in bytes.
+     * @return String.
+     * @see #encodeString(String)
+     */
+    private static String decodeString(byte[] data, int off, int len) {
+        char[] chars = new char[len];
+        int end = off + len;
+        int cnt = 0;
+
+        while (off < end) {
+            int b = data[off++] & 0xFF;
+
+            if (b < 0x80)
+                chars[cnt++] = (char)b;
+            else if (b < 0xE0)
+                chars[cnt++] = (char)(((b & 0x1F) << 6) | (data[off++] & 0x3F));
+            else {
+                chars[cnt++] = (char)(((b & 0x0F) << 12) | ((data[off] & 0x3F) << 6) | (data[off + 1] & 0x3F));
+
+                off += 2;
+            }
+        }
+
+        return new String(chars, 0, cnt);
+    }
+
+    /**
+     * Writes a value of a fixed width kind, zero bytes are written for {@code null}.
+     *
+     * @param buf Buffer.
+     * @param kind Kind.
+     * @param val Value.
+     */
+    private static void writeFixed(ByteBuffer buf, byte kind, @Nullable Object val) {
+        if (val == null) {
+            buf.position(buf.position() + WIDTHS[kind]);
+
+            return;
+        }
+
+        switch (kind) {
+            case BOOLEAN:
+                buf.put((byte)((Boolean)val ? 1 : 0));
+
+                break;
+
+            case BYTE:
+                buf.put((Byte)val);
+
+                break;
+
+            case SHORT:
+                buf.putShort((Short)val);
+
+                break;
+
+            case INT:
+                buf.putInt((Integer)val);
+
+                break;
+
+            case LONG:
+                buf.putLong((Long)val);
+
+                break;
+
+            case FLOAT:
+                buf.putFloat((Float)val);
+
+                break;
+
+            case DOUBLE:
+                buf.putDouble((Double)val);
+
+                break;
+
+            case UUID_KIND:
+                buf.putLong(((UUID)val).getMostSignificantBits());
+                buf.putLong(((UUID)val).getLeastSignificantBits());
+
+                break;
+
+            default:
+                throw new AssertionError("Unexpected kind: " + kind);
+        }
+    }
+
+    /**
+     * Rows of an encoded batch.
+     */
+    private static final class DecodedRows<Row> extends AbstractList<Row> implements RandomAccess {
+        /** */
+        private final ByteBuffer buf;
+
+        /** */
+        private final int size;
+
+        /** Kinds of columns with the null flags. */
+        private final byte[] kinds;
+
+        /** Offsets of column sections. */
+        private final int[] offs;
+
+        /** */
+        private final RowHandler.RowFactory<Row> factory;
+
+        /** Decoded or replaced rows. */
+        private final Object[] rows;
+
+        /** Flags of decoded or replaced rows. */
+        private final boolean[] done;
+
+        /**
+         * @param data Encoded rows.
+         * @param hnd Row handler.
+         */
+        private DecodedRows(byte[] data, RowHandler<Row> hnd) {
+            buf = ByteBuffer.wrap(data).order(ByteOrder.LITTLE_ENDIAN);
+
+            size = buf.getInt(0);
+
+            int colsCnt = buf.getInt(4);
+
+            kinds = Arrays.copyOfRange(data, 8, 8 + colsCnt);
+            offs = new int[colsCnt];
+
+            Type[] types = new Type[colsCnt];
+
+            for (int c = 0; c < colsCnt; c++) {
+                offs[c] = buf.getInt(8 + colsCnt + 4 * c);
+                types[c] = TYPES[kinds[c] & ~HAS_NULLS];
+            }
+
+            factory = hnd.factory(types);
+
+            rows = new Object[size];
+            done = new boolean[size];
+        }
+
+        /** {@inheritDoc} */
+        @Override public int size() {
+            return size;
+        }
+
+        /** {@inheritDoc} */
+        @SuppressWarnings("unchecked")
+        @Override public Row get(int idx) {
+            if (!done[idx]) {
+                rows[idx] = decode(idx);
+                done[idx] = true;
+            }
+
+            return (Row)rows[idx];
+        }
+
+        /** {@inheritDoc} */
+        @Override public Row set(int idx, Row row) {
+            Row old = get(idx);
+
+            rows[idx] = row;
+
+            return old;
+        }
+
+        /**
+         * @param idx Row index.
+         * @return Row.
+         */
+        private Row decode(int idx) {
+            Object[] fields = new Object[kinds.length];
+
+            for (int c = 0; c < kinds.length; c++)
+                fields[c] = value(c, idx);
+
+            return factory.create(fields);
+        }
+
+        /**
+         * @param col Column index.
+         * @param idx Row index.
+         * @return Value.
+         */
+        private @Nullable Object value(int col, int idx) {
+            int off = offs[col];
+            byte kind = kinds[col];
+
+            if ((kind & HAS_NULLS) != 0) {
+                if ((buf.get(off + (idx >>> 3)) & (1 << (idx & 7))) != 0)
+                    return null;
+
+                off += bitmapSize(size);
+                kind &= ~HAS_NULLS;
+            }
+
+            int pos = off + WIDTHS[kind] * idx;
+
+            switch (kind) {
+                case NULL:
+                    return null;
+
+                case BOOLEAN:
+                    return buf.get(pos) != 0;
+
+                case BYTE:
+                    return buf.get(pos);
+
+                case SHORT:
+                    return buf.getShort(pos);
+
+                case INT:
+                    return buf.getInt(pos);
+
+                case LONG:
+                    return buf.getLong(pos);
+
+                case FLOAT:
+                    return buf.getFloat(pos);
+
+                case DOUBLE:
+                    return buf.getDouble(pos);
+
+                case UUID_KIND:
+                    return new UUID(buf.getLong(pos), buf.getLong(pos + 8));
+
+                default:
+                    int start = idx == 0 ? 0 : buf.getInt(off + 4 * (idx - 1));
+                    int end = buf.getInt(off + 4 * idx);
+                    int dataOff = off + 4 * size + start;
+
+                    return varValue(kind, dataOff, end - start);
+            }
+        }
+
+        /**
+         * @param kind Variable length kind.
+         * @param off Offset of the value.
+         * @param len Length of the value.
+         * @return Value.
+         */
+        private Object varValue(byte kind, int off, int len) {
+            byte[] data = buf.array();
+
+            switch (kind) {
+                case STRING:
+                    return decodeString(data, off, len);
+
+                case BYTES:
+                    return Arrays.copyOfRange(data, off, off + len);
+
+                case DECIMAL:
+                    int scale = buf.getInt(off);
+
+                    return new BigDecimal(new BigInteger(Arrays.copyOfRange(data, off + 4, off + len)), scale);
+
+                default:
+                    throw new AssertionError("Unexpected kind: " + kind);
+            }
+        }
+    }
+}
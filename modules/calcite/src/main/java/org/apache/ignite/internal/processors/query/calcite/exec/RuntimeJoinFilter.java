@@ -0,0 +1,162 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.calcite.exec;
+
+import java.util.Arrays;
+import java.util.Objects;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Bloom filter of join keys of rows of the build side of a hash join.
+ * <p>
+ * The filter is sent to nodes of the probe side, where rows are dropped before they are sent if their keys are
+ * surely absent on the build side. Hashes of keys are computed from values of keys, so a filter built on a node is
+ * valid for rows of other nodes.
+ */
+public class RuntimeJoinFilter {
+    /** Maximum number of keys a filter is built for. */
+    public static final int MAX_KEYS = 1 << 18;
+
+    /** Number of bits per key. */
+    private static final int BITS_PER_KEY = 10;
+
+    /** Number of hash functions, gives about 1% of false positives for 10 bits per key. */
+    private static final int HASHES = 7;
+
+    /** Minimal number of words of bits. */
+    private static final int MIN_WORDS = 8;
+
+    /** Indexes of key columns of rows of the probe side. */
+    private final int[] keys;
+
+    /** Bits, the number of bits is a power of 2. */
+    private final long[] bits;
+
+    /**
+     * @param keys Indexes of key columns of rows of the probe side.
+     * @param keysCnt Expected number of keys.
+     */
+    public RuntimeJoinFilter(int[] keys, int keysCnt) {
+        assert keysCnt <= MAX_KEYS : keysCnt;
+
+        this.keys = keys;
+
+        int words = Math.max(MIN_WORDS, (keysCnt * BITS_PER_KEY + 63) / 64);
+
+        bits = new long[Integer.highestOneBit(words - 1) << 1];
+    }
+
+    /**
+     * @param keys Indexes of key columns of rows of the probe side.
+     * @param bits Bits.
+     */
+    public RuntimeJoinFilter(int[] keys, long[] bits) {
+        assert Integer.bitCount(bits.length) == 1 : bits.length;
+
+        this.keys = keys;
+        this.bits = bits;
+    }
+
+    /**
+     * @return Indexes of key columns of rows of the probe side.
+     */
+    public int[] keys() {
+        return keys;
+    }
+
+    /**
+     * @return Bits.
+     */
+    public long[] bits() {
+        return bits;
+    }
+
+    /**
+     * Adds a key.
+     *
+     * @param key Key.
+     * @param hnd Handler of key columns.
+     */
+    public <Row> void add(Row key, RowHandler<Row> hnd) {
+        long hash = hash(key, hnd, null);
+
+        int h1 = (int)hash, h2 = (int)(hash >>> 32);
+        int mask = bits.length * 64 - 1;
+
+        for (int i = 0; i < HASHES; i++) {
+            int bit = (h1 + i * h2) & mask;
+
+            bits[bit >>> 6] |= 1L << bit;
+        }
+    }
+
+    /**
+     * @param row Row of the probe side.
+     * @param hnd Row handler.
+     * @return {@code False} if the row surely doesn't match any row of the build side.
+     */
+    public <Row> boolean mightMatch(Row row, RowHandler<Row> hnd) {
+        for (int key : keys) {
+            // NULL keys may match if the condition is IS NOT DISTINCT FROM, such rows are checked by the join itself.
+            if (hnd.get(key, row) == null)
+                return true;
+        }
+
+        long hash = hash(row, hnd, keys);
+
+        int h1 = (int)hash, h2 = (int)(hash >>> 32);
+        int mask = bits.length * 64 - 1;
+
+        for (int i = 0; i < HASHES; i++) {
+            int bit = (h1 + i * h2) & mask;
+
+            if ((bits[bit >>> 6] & (1L << bit)) == 0)
+                return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * @param row Row.
+     * @param hnd Row handler.
+     * @param keys Indexes of key columns or {@code null} if all columns are keys.
+     * @return Hash of the key.
+     */
+    private static <Row> long hash(Row row, RowHandler<Row> hnd, @Nullable int[] keys) {
+        int cnt = keys == null ? hnd.columnCount(row) : keys.length;
+
+        long h = 0;
+
+        for (int i = 0; i < cnt; i++) {
+            Object val = hnd.get(keys == null ? i : keys[i], row);
+
+            // Hashes of arrays should be the same on all nodes.
+            h = h * 31 + (val instanceof byte[] ? Arrays.hashCode((byte[])val) : Objects.hashCode(val));
+        }
+
+        // Finalizer of MurmurHash3.
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+
+        return h;
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.calcite.exec;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.internal.processors.metric.impl.LongAdderMetric;
+import org.apache.ignite.internal.processors.query.calcite.exec.tracker.IoTracker;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.marshaller.Marshaller;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Temporary file of rows spilled to disk by an execution node.
+ * <p>
+ * Rows are marshalled by blocks the same way as rows sent to remote nodes, and are read back once in the order they
+ * were added. The file is deleted on close.
+ */
+public class SpillFile<Row> implements AutoCloseable {
+    /** Number of rows marshalled at once. */
+    private static final int BLOCK_SIZE = 256;
+
+    /** Size of buffers of file streams. */
+    private static final int BUF_SIZE = 64 * 1024;
+
+    /** */
+    private final File file;
+
+    /** */
+    private final Marshaller marsh;
+
+    /** */
+    private final ClassLoader clsLdr;
+
+    /** Counter of spilled bytes. */
+    private final LongAdderMetric bytesCntr;
+
+    /** I/O tracker of the query. */
+    private final IoTracker ioTracker;
+
+    /** Rows which are not written yet. */
+    private final List<Row> block = new ArrayList<>(BLOCK_SIZE);
+
+    /** */
+    private @Nullable DataOutputStream out;
+
+    /** */
+    private @Nullable DataInputStream in;
+
+    /** Rows of the last read block. */
+    private @Nullable Iterator<Row> blockIt;
+
+    /** Number of added rows. */
+    private long size;
+
+    /** Number of read rows. */
+    private long read;
+
+    /** */
+    private boolean finished;
+
+    /**
+     * @param file File.
+     * @param marsh Marshaller.
+     * @param clsLdr Class loader.
+     * @param bytesCntr Counter of spilled bytes.
+     * @param ioTracker I/O tracker of the query.
+     */
+    SpillFile(File file, Marshaller marsh, ClassLoader clsLdr, LongAdderMetric bytesCntr, IoTracker ioTracker) {
+        this.file = file;
+        this.marsh = marsh;
+        this.clsLdr = clsLdr;
+        this.bytesCntr = bytesCntr;
+        this.ioTracker = ioTracker;
+    }
+
+    /**
+     * Adds row to the file.
+     *
+     * @param row Row.
+     * @throws IgniteCheckedException If failed.
+     */
+    public void add(Row row) throws IgniteCheckedException {
+        assert !finished;
+
+        block.add(row);
+
+        size++;
+
+        if (block.size() == BLOCK_SIZE)
+            writeBlock();
+    }
+
+    /**
+     * @return Number of added rows.
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Writes rows which are not written yet, no rows can be added after that.
+     *
+     * @throws IgniteCheckedException If failed.
+     */
+    public void finish() throws IgniteCheckedException {
+        if (finished)
+            return;
+
+        if (!block.isEmpty())
+            writeBlock();
+
+        finished = true;
+
+        if (out != null) {
+            try {
+                out.close();
+            }
+            catch (IOException e) {
+                throw new IgniteCheckedException("Failed to write spill file: " + file, e);
+            }
+            finally {
+                out = null;
+            }
+        }
+    }
+
+    /**
+     * Reads the next row, finishes the file if it isn't finished yet.
+     *
+     * @return Next row or {@code null} if all rows are read.
+     * @throws IgniteCheckedException If failed.
+     */
+    public @Nullable Row poll() throws IgniteCheckedException {
+        finish();
+
+        if (read == size)
+            return null;
+
+        if (blockIt == null || !blockIt.hasNext())
+            readBlock();
+
+        read++;
+
+        return blockIt.next();
+    }
+
+    /** {@inheritDoc} */
+    @Override public void close() {
+        U.closeQuiet(out);
+        U.closeQuiet(in);
+
+        out = null;
+        in = null;
+        blockIt = null;
+
+        block.clear();
+
+        U.delete(file);
+    }
+
+    /** */
+    private void writeBlock() throws IgniteCheckedException {
+        byte[] bytes = U.marshal(marsh, block);
+
+        block.clear();
+
+        try {
+            if (out == null)
+                out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), BUF_SIZE));
+
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+        catch (IOException e) {
+            throw new IgniteCheckedException("Failed to write spill file: " + file, e);
+        }
+
+        bytesCntr.add(Integer.BYTES + bytes.length);
+        ioTracker.onSpilled(Integer.BYTES + bytes.length);
+    }
+
+    /** */
+    private void readBlock() throws IgniteCheckedException {
+        try {
+            if (in == null)
+                in = new DataInputStream(new BufferedInputStream(new FileInputStream(file), BUF_SIZE));
+
+            byte[] bytes = new byte[in.readInt()];
+
+            in.readFully(bytes);
+
+            List<Row> rows = U.unmarshal(marsh, bytes, clsLdr);
+
+            blockIt = rows.iterator();
+        }
+        catch (IOException e) {
+            throw new IgniteCheckedException("Failed to read spill file: " + file, e);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.calcite.exec;
+
+import java.io.File;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.internal.GridKernalContext;
+import org.apache.ignite.internal.processors.metric.MetricRegistryImpl;
+import org.apache.ignite.internal.processors.metric.impl.LongAdderMetric;
+import org.apache.ignite.internal.processors.query.calcite.exec.tracker.IoTracker;
+import org.apache.ignite.internal.util.typedef.internal.U;
+
+import static org.apache.ignite.internal.processors.metric.impl.MetricUtils.metricName;
+
+/**
+ * Manager of temporary files execution nodes spill their rows to, once memory for the rows can't be reserved within
+ * the memory quota. Files are kept in a directory of the local node in the work directory, which is removed when the
+ * node stops.
+ */
+public class SpillManager {
+    /** Number of partitions rows of hash based execution nodes are spilled to. Should be power of 2. */
+    public static final int PARTITIONS = 16;
+
+    /** Name of the directory of spill files in the work directory. */
+    private static final String DIR_NAME = "calcite_spill";
+
+    /** Name of the metric registry of spilled rows. */
+    public static final String SPILL_METRICS = metricName("sql", "spill");
+
+    /** */
+    private final GridKernalContext ctx;
+
+    /** Number of bytes written to spill files. */
+    private final LongAdderMetric spilledBytes;
+
+    /** Number of created spill files. */
+    private final LongAdderMetric spillFiles;
+
+    /** */
+    private final AtomicLong fileIdx = new AtomicLong();
+
+    /** Directory of spill files, created on the first spill. */
+    private volatile File dir;
+
+    /**
+     * @param ctx Kernal context.
+     */
+    public SpillManager(GridKernalContext ctx) {
+        this.ctx = ctx;
+
+        MetricRegistryImpl mreg = ctx.metric().registry(SPILL_METRICS);
+
+        spilledBytes = mreg.longAdderMetric("SpilledBytes", "Number of bytes of rows spilled to disk by queries.");
+        spillFiles = mreg.longAdderMetric("SpillFiles", "Number of files rows are spilled to by queries.");
+    }
+
+    /**
+     * Creates a new spill file.
+     *
+     * @param ioTracker I/O tracker of the query spilling rows.
+     * @return Spill file.
+     * @throws IgniteCheckedException If failed.
+     */
+    public <Row> SpillFile<Row> createFile(IoTracker ioTracker) throws IgniteCheckedException {
+        File file = new File(directory(), "spill-" + fileIdx.incrementAndGet() + ".bin");
+
+        spillFiles.increment();
+        ioTracker.onSpillFileCreated();
+
+        return new SpillFile<>(file, ctx.marshaller(), U.resolveClassLoader(ctx.config()), spilledBytes, ioTracker);
+    }
+
+    /**
+     * Removes the directory of spill files.
+     */
+    public void stop() {
+        ctx.metric().remove(SPILL_METRICS);
+
+        File dir0 = dir;
+
+        if (dir0 != null)
+            U.delete(dir0);
+    }
+
+    /**
+     * @param key Key of a row.
+     * @return Spill partition of the row.
+     */
+    public static int partition(Object key) {
+        // Hashes are mixed, since rows are often distributed between nodes by the same hashes of the same keys.
+        int h = key.hashCode() * 0x9E3779B9;
+
+        return (h ^ (h >>> 16)) & (PARTITIONS - 1);
+    }
+
+    /** */
+    private File directory() throws IgniteCheckedException {
+        File dir0 = dir;
+
+        if (dir0 == null) {
+            synchronized (this) {
+                dir0 = dir;
+
+                if (dir0 == null) {
+                    dir = dir0 = U.resolveWorkDirectory(ctx.config().getWorkDirectory(),
+                        DIR_NAME + File.separator + ctx.localNodeId(), true);
+                }
+            }
+        }
+
+        return dir0;
+    }
+}
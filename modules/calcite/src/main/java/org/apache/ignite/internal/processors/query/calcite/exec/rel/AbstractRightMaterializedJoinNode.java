@@ -52,7 +52,16 @@ public abstract class AbstractRightMaterializedJoinNode<Row> extends MemoryTrack
 
     /** */
     protected AbstractRightMaterializedJoinNode(ExecutionContext<Row> ctx, RelDataType rowType) {
-        super(ctx, rowType);
+        this(ctx, rowType, false);
+    }
+
+    /**
+     * @param ctx Execution context.
+     * @param rowType Row type.
+     * @param spillable Whether the node spills right rows to disk once memory for them can't be reserved.
+     */
+    protected AbstractRightMaterializedJoinNode(ExecutionContext<Row> ctx, RelDataType rowType, boolean spillable) {
+        super(ctx, rowType, DFLT_ROW_OVERHEAD, spillable);
     }
 
     /** */
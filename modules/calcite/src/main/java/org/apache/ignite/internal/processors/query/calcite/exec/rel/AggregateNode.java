@@ -49,9 +49,10 @@ public abstract class AggregateNode<Row> extends MemoryTrackingNode<Row> impleme
         AggregateType type,
         Supplier<List<AccumulatorWrapper<Row>>> accFactory,
         RowHandler.RowFactory<Row> rowFactory,
-        long rowOverhead
+        long rowOverhead,
+        boolean spillable
     ) {
-        super(ctx, rowType, rowOverhead);
+        super(ctx, rowType, rowOverhead, spillable);
         this.type = type;
         this.accFactory = accFactory;
         this.rowFactory = rowFactory;
@@ -28,22 +28,30 @@ import java.util.function.Function;
 import java.util.function.Supplier;
 import org.apache.calcite.rel.type.RelDataType;
 import org.apache.calcite.util.ImmutableBitSet;
+import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.IgniteException;
 import org.apache.ignite.internal.processors.query.calcite.exec.ExecutionContext;
 import org.apache.ignite.internal.processors.query.calcite.exec.MappingRowHandler;
 import org.apache.ignite.internal.processors.query.calcite.exec.RowHandler;
 import org.apache.ignite.internal.processors.query.calcite.exec.RowHandler.RowFactory;
+import org.apache.ignite.internal.processors.query.calcite.exec.SpillFile;
+import org.apache.ignite.internal.processors.query.calcite.exec.SpillManager;
 import org.apache.ignite.internal.processors.query.calcite.exec.exp.agg.Accumulator;
 import org.apache.ignite.internal.processors.query.calcite.exec.exp.agg.AccumulatorWrapper;
 import org.apache.ignite.internal.processors.query.calcite.exec.exp.agg.AggregateType;
 import org.apache.ignite.internal.processors.query.calcite.exec.exp.agg.GroupKey;
 import org.apache.ignite.internal.util.typedef.F;
+import org.jetbrains.annotations.Nullable;
 
 import static java.util.stream.Collectors.toCollection;
 import static org.apache.ignite.internal.processors.query.calcite.util.Commons.negate;
 
 /**
- *
+ * Hash aggregate node.
+ * <p>
+ * If groups take more memory than the node is allowed to keep, no new groups are created in memory: rows of new groups
+ * are spilled to disk by partitions of group keys. Once the groups kept in memory are emitted, the spilled partitions
+ * are aggregated one by one.
  */
 public class HashAggregateNode<Row> extends AggregateNode<Row> {
     /** */
@@ -61,6 +69,9 @@ public class HashAggregateNode<Row> extends AggregateNode<Row> {
     /** */
     private boolean inLoop;
 
+    /** Whether rows of new groups are spilled to disk. */
+    private boolean spilling;
+
     /**
      * @param ctx Execution context.
      */
@@ -72,7 +83,7 @@ public class HashAggregateNode<Row> extends AggregateNode<Row> {
         Supplier<List<AccumulatorWrapper<Row>>> accFactory,
         RowFactory<Row> rowFactory
     ) {
-        super(ctx, rowType, type, accFactory, rowFactory, rowOverhead(type, grpSets));
+        super(ctx, rowType, type, accFactory, rowFactory, rowOverhead(type, grpSets), true);
 
         ImmutableBitSet.Builder b = ImmutableBitSet.builder();
 
@@ -152,6 +163,9 @@ public class HashAggregateNode<Row> extends AggregateNode<Row> {
         if (hasAggAccum || groupingsChanged)
             nodeMemoryTracker.onRowAdded(row);
 
+        if (!spilling && nodeMemoryTracker.spillRequired())
+            spilling = true;
+
         if (waiting == 0)
             source().request(waiting = IN_BUFFER_SIZE);
     }
@@ -172,10 +186,18 @@ public class HashAggregateNode<Row> extends AggregateNode<Row> {
     @Override protected void rewindInternal() {
         requested = 0;
         waiting = 0;
+        spilling = false;
         groupings.forEach(Grouping::reset);
         nodeMemoryTracker.reset();
     }
 
+    /** {@inheritDoc} */
+    @Override protected void closeInternal() {
+        groupings.forEach(Grouping::closeSpilled);
+
+        super.closeInternal();
+    }
+
     /** */
     private void flush() throws Exception {
         if (isClosed())
@@ -190,7 +212,16 @@ public class HashAggregateNode<Row> extends AggregateNode<Row> {
 
         inLoop = true;
         try {
-            while (requested > 0 && !groupingsQueue.isEmpty()) {
+            while (requested > 0) {
+                if (groupingsQueue.isEmpty()) {
+                    if (!loadSpilled())
+                        break;
+
+                    groupingsQueue = groupingsQueue();
+
+                    continue;
+                }
+
                 Grouping grouping = groupingsQueue.peek();
 
                 int toSnd = Math.min(requested, IN_BUFFER_SIZE - processed);
@@ -225,6 +256,24 @@ public class HashAggregateNode<Row> extends AggregateNode<Row> {
         }
     }
 
+    /**
+     * Loads groups of the next spilled partition, all groups kept in memory should be emitted before.
+     *
+     * @return {@code False} if there are no spilled groups left.
+     */
+    private boolean loadSpilled() throws IgniteCheckedException {
+        spilling = false;
+
+        nodeMemoryTracker.reset();
+
+        for (Grouping grouping : groupings) {
+            if (grouping.loadSpilled())
+                return true;
+        }
+
+        return false;
+    }
+
     /** */
     private ArrayDeque<Grouping> groupingsQueue() {
         return groupings.stream()
@@ -252,6 +301,12 @@ public class HashAggregateNode<Row> extends AggregateNode<Row> {
         /** */
         private final Function<GroupKey<Row>, List<AccumulatorWrapper<Row>>> createGrp;
 
+        /** Rows of groups spilled to disk by partitions of group keys. */
+        private final SpillFile<Row>[] spilled = new SpillFile[SpillManager.PARTITIONS];
+
+        /** Next spilled partition to load. */
+        private int nextSpilled;
+
         /** */
         private Grouping(byte grpId, ImmutableBitSet grpFields) {
             this.grpId = grpId;
@@ -277,11 +332,26 @@ public class HashAggregateNode<Row> extends AggregateNode<Row> {
         private void reset() {
             groups.clear();
 
+            closeSpilled();
+
             init();
         }
 
         /** */
-        private void add(Row row) {
+        private void closeSpilled() {
+            for (int i = 0; i < spilled.length; i++) {
+                if (spilled[i] != null) {
+                    spilled[i].close();
+
+                    spilled[i] = null;
+                }
+            }
+
+            nextSpilled = 0;
+        }
+
+        /** */
+        private void add(Row row) throws IgniteCheckedException {
             if (type == AggregateType.REDUCE)
                 addOnReducer(row);
             else
@@ -307,16 +377,76 @@ public class HashAggregateNode<Row> extends AggregateNode<Row> {
             return GroupKey.of(row, keyGrpRowHnd);
         }
 
+        /**
+         * @param grpKey Group key.
+         * @return Accumulators of the group or {@code null} if the group isn't kept in memory.
+         */
+        private @Nullable List<AccumulatorWrapper<Row>> group(GroupKey<Row> grpKey) {
+            return spilling ? groups.get(grpKey) : groups.computeIfAbsent(grpKey, createGrp);
+        }
+
+        /** */
+        private void spill(GroupKey<Row> grpKey, Row row) throws IgniteCheckedException {
+            int part = SpillManager.partition(grpKey);
+
+            if (spilled[part] == null)
+                spilled[part] = createSpillFile();
+
+            spilled[part].add(row);
+        }
+
+        /**
+         * Loads groups of the next spilled partition of the grouping.
+         *
+         * @return {@code False} if there are no spilled partitions left.
+         */
+        private boolean loadSpilled() throws IgniteCheckedException {
+            while (nextSpilled < spilled.length) {
+                SpillFile<Row> file = spilled[nextSpilled];
+
+                spilled[nextSpilled++] = null;
+
+                if (file == null)
+                    continue;
+
+                try {
+                    for (Row row = file.poll(); row != null; row = file.poll()) {
+                        int size = groups.size();
+
+                        add(row);
+
+                        if (hasAggAccum || groups.size() > size)
+                            nodeMemoryTracker.onRowAdded(row);
+                    }
+                }
+                finally {
+                    file.close();
+                }
+
+                return true;
+            }
+
+            return false;
+        }
+
         /** */
-        private void addOnMapper(Row row) {
-            List<AccumulatorWrapper<Row>> wrappers = groups.computeIfAbsent(key(row), createGrp);
+        private void addOnMapper(Row row) throws IgniteCheckedException {
+            GroupKey<Row> grpKey = key(row);
+
+            List<AccumulatorWrapper<Row>> wrappers = group(grpKey);
+
+            if (wrappers == null) {
+                spill(grpKey, row);
+
+                return;
+            }
 
             for (AccumulatorWrapper<Row> wrapper : wrappers)
                 wrapper.add(row);
         }
 
         /** */
-        private void addOnReducer(Row row) {
+        private void addOnReducer(Row row) throws IgniteCheckedException {
             byte targetGrpId = (byte)hnd.get(0, row);
 
             if (targetGrpId != grpId)
@@ -324,7 +454,13 @@ public class HashAggregateNode<Row> extends AggregateNode<Row> {
 
             GroupKey<Row> grpKey = (GroupKey<Row>)hnd.get(1, row);
 
-            List<AccumulatorWrapper<Row>> wrappers = groups.computeIfAbsent(grpKey, createGrp);
+            List<AccumulatorWrapper<Row>> wrappers = group(grpKey);
+
+            if (wrappers == null) {
+                spill(grpKey, row);
+
+                return;
+            }
             Accumulator<Row>[] accums = hasAccumulators() ? (Accumulator<Row>[])hnd.get(2, row) : null;
 
             for (int i = 0; i < wrappers.size(); i++) {
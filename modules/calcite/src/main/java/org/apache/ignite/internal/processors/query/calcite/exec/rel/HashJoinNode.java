@@ -29,15 +29,27 @@ import com.google.common.collect.ImmutableList;
 import org.apache.calcite.rel.core.JoinInfo;
 import org.apache.calcite.rel.core.JoinRelType;
 import org.apache.calcite.rel.type.RelDataType;
+import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.internal.processors.query.calcite.exec.ExecutionContext;
 import org.apache.ignite.internal.processors.query.calcite.exec.MappingRowHandler;
 import org.apache.ignite.internal.processors.query.calcite.exec.RowHandler;
+import org.apache.ignite.internal.processors.query.calcite.exec.RuntimeJoinFilter;
+import org.apache.ignite.internal.processors.query.calcite.exec.SpillFile;
+import org.apache.ignite.internal.processors.query.calcite.exec.SpillManager;
 import org.apache.ignite.internal.processors.query.calcite.exec.exp.agg.GroupKey;
 import org.apache.ignite.internal.processors.query.calcite.type.IgniteTypeFactory;
 import org.jetbrains.annotations.Nullable;
 
-/** Hash join implementor. */
+/**
+ * Hash join implementor.
+ * <p>
+ * If right rows take more memory than the node is allowed to keep, rows of both inputs are spilled to disk by
+ * partitions of join keys, and the partitions are joined one by one (grace hash join).
+ */
 public abstract class HashJoinNode<Row> extends AbstractRightMaterializedJoinNode<Row> {
+    /** Inbox of left rows a filter of join keys is sent to, {@code null} if the filter isn't sent. */
+    protected @Nullable Inbox<Row> joinFilterInbox;
+
     /**
      * Creates hash join node.
      *
@@ -48,7 +60,18 @@ public abstract class HashJoinNode<Row> extends AbstractRightMaterializedJoinNod
         ExecutionContext<Row> ctx,
         RelDataType rowType
     ) {
-        super(ctx, rowType);
+        super(ctx, rowType, true);
+    }
+
+    /**
+     * Sets inbox of left rows. Once right rows are read, a Bloom filter of their join keys is sent to source nodes
+     * of the inbox, which stop sending left rows which surely don't match. Applicable only to joins which don't emit
+     * unmatched left rows.
+     *
+     * @param inbox Inbox of left rows.
+     */
+    public void joinFilterInbox(Inbox<Row> inbox) {
+        joinFilterInbox = inbox;
     }
 
     /** Creates certain join node. */
@@ -110,6 +133,9 @@ public abstract class HashJoinNode<Row> extends AbstractRightMaterializedJoinNod
         /** */
         private static final int INITIAL_CAPACITY = 128;
 
+        /** Indexes of join keys of left rows. */
+        private final int[] leftKeys;
+
         /** */
         private final RowHandler<Row> leftRowHnd;
 
@@ -134,6 +160,21 @@ public abstract class HashJoinNode<Row> extends AbstractRightMaterializedJoinNod
         /** Right rows storage. */
         protected Map<GroupKey<Row>, RowList> hashStore = new HashMap<>(INITIAL_CAPACITY);
 
+        /** Right rows spilled to disk by partitions of join keys, {@code null} if right rows are kept in memory. */
+        private @Nullable SpillFile<Row>[] rightSpilled;
+
+        /** Left rows spilled to disk by partitions of join keys. */
+        private @Nullable SpillFile<Row>[] leftSpilled;
+
+        /** Whether all left rows are spilled. */
+        private boolean leftSpilledAll;
+
+        /** Next spilled partition to join. */
+        private int nextSpilledPart;
+
+        /** Left rows of the joined spilled partition which are not read yet. */
+        private @Nullable SpillFile<Row> spilledLeft;
+
         /**
          * Constructor.
          *
@@ -157,7 +198,9 @@ public abstract class HashJoinNode<Row> extends AbstractRightMaterializedJoinNod
             nullExclusions = info.nullExclusionFlags;
             this.keepRowsWithNull = keepRowsWithNull;
 
-            leftRowHnd = new MappingRowHandler<>(ctx.rowHandler(), info.leftKeys.toIntArray());
+            leftKeys = info.leftKeys.toIntArray();
+
+            leftRowHnd = new MappingRowHandler<>(ctx.rowHandler(), leftKeys);
             rightRowHnd = new MappingRowHandler<>(ctx.rowHandler(), info.rightKeys.toIntArray());
 
             this.nonEqCond = nonEqCond;
@@ -171,8 +214,48 @@ public abstract class HashJoinNode<Row> extends AbstractRightMaterializedJoinNod
             rightIdx = 0;
 
             hashStore.clear();
+
+            closeSpilled();
+        }
+
+        /** {@inheritDoc} */
+        @Override protected void closeInternal() {
+            closeSpilled();
+
+            super.closeInternal();
+        }
+
+        /** {@inheritDoc} */
+        @Override protected void join() throws Exception {
+            if (joinFilterInbox != null && waitingRight == NOT_WAITING)
+                sendJoinFilter();
+
+            if (rightSpilled == null || waitingRight != NOT_WAITING)
+                joinRows();
+            else
+                joinSpilled();
+        }
+
+        /** Sends a filter of join keys of right rows to sources of left rows. */
+        private void sendJoinFilter() throws IgniteCheckedException {
+            Inbox<Row> inbox = joinFilterInbox;
+
+            joinFilterInbox = null;
+
+            if (rightSpilled != null || hashStore.size() > RuntimeJoinFilter.MAX_KEYS)
+                return;
+
+            RuntimeJoinFilter filter = new RuntimeJoinFilter(leftKeys, hashStore.size());
+
+            for (GroupKey<Row> key : hashStore.keySet())
+                filter.add(key.row(), key.rowHandler());
+
+            inbox.sendJoinFilter(filter);
         }
 
+        /** Joins left rows with right rows kept in memory. */
+        protected abstract void joinRows() throws Exception;
+
         /** */
         protected @Nullable RowList lookup(Row row) {
             GroupKey<Row> key = GroupKey.of(row, leftRowHnd, nullExclusions);
@@ -190,12 +273,19 @@ public abstract class HashJoinNode<Row> extends AbstractRightMaterializedJoinNod
 
             waitingRight--;
 
-            GroupKey<Row> key = keepRowsWithNull ? GroupKey.of(row, rightRowHnd) : GroupKey.of(row, rightRowHnd, nullExclusions);
+            GroupKey<Row> key = rightKey(row);
 
             if (key != null) {
-                nodeMemoryTracker.onRowAdded(row);
+                if (rightSpilled != null)
+                    spill(rightSpilled, SpillManager.partition(key), row);
+                else {
+                    nodeMemoryTracker.onRowAdded(row);
+
+                    hashStore.computeIfAbsent(key, k -> createRowList()).add(row);
 
-                hashStore.computeIfAbsent(key, k -> createRowList()).add(row);
+                    if (nodeMemoryTracker.spillRequired())
+                        spillRight();
+                }
             }
 
             if (waitingRight == 0) {
@@ -205,6 +295,169 @@ public abstract class HashJoinNode<Row> extends AbstractRightMaterializedJoinNod
             }
         }
 
+        /** */
+        private @Nullable GroupKey<Row> rightKey(Row row) {
+            return keepRowsWithNull ? GroupKey.of(row, rightRowHnd) : GroupKey.of(row, rightRowHnd, nullExclusions);
+        }
+
+        /** Spills right rows kept in memory, all the next right rows are spilled as well. */
+        private void spillRight() throws IgniteCheckedException {
+            rightSpilled = new SpillFile[SpillManager.PARTITIONS];
+            leftSpilled = new SpillFile[SpillManager.PARTITIONS];
+
+            for (Map.Entry<GroupKey<Row>, RowList> e : hashStore.entrySet()) {
+                int part = SpillManager.partition(e.getKey());
+
+                for (Row row : e.getValue())
+                    spill(rightSpilled, part, row);
+            }
+
+            hashStore.clear();
+
+            nodeMemoryTracker.reset();
+        }
+
+        /** */
+        private void spill(SpillFile<Row>[] files, int part, Row row) throws IgniteCheckedException {
+            if (files[part] == null)
+                files[part] = createSpillFile();
+
+            files[part].add(row);
+        }
+
+        /**
+         * Joins spilled partitions one by one, rows of a partition are joined the same way as rows kept in memory.
+         */
+        private void joinSpilled() throws Exception {
+            if (!leftSpilledAll) {
+                while (!leftInBuf.isEmpty()) {
+                    Row row = leftInBuf.remove();
+
+                    GroupKey<Row> key = GroupKey.of(row, leftRowHnd, nullExclusions);
+
+                    // Rows with NULL keys don't match any right row, so they may be joined within any partition.
+                    spill(leftSpilled, key == null ? 0 : SpillManager.partition(key), row);
+                }
+
+                if (waitingLeft != NOT_WAITING) {
+                    tryToRequestInputs();
+
+                    return;
+                }
+
+                leftSpilledAll = true;
+            }
+
+            while (requested > 0) {
+                if (left == null && leftInBuf.isEmpty()) {
+                    pollSpilledLeft();
+
+                    if (leftInBuf.isEmpty() && (nextSpilledPart == 0 || spilledPartitionJoined()) &&
+                        loadSpilledPartition())
+                        pollSpilledLeft();
+                }
+
+                joinRows();
+
+                // Stop if the join is rescheduled, otherwise more rows of the partition or the next partition are needed.
+                if (left != null || !leftInBuf.isEmpty() || spilledLeft == null && !spilledPartitionJoined())
+                    return;
+            }
+        }
+
+        /** Reads next left rows of the joined spilled partition to the buffer. */
+        private void pollSpilledLeft() throws IgniteCheckedException {
+            while (spilledLeft != null && leftInBuf.size() < IN_BUFFER_SIZE) {
+                Row row = spilledLeft.poll();
+
+                if (row != null)
+                    leftInBuf.add(row);
+                else {
+                    spilledLeft.close();
+
+                    spilledLeft = null;
+                }
+            }
+        }
+
+        /**
+         * Loads right rows of the next spilled partition.
+         *
+         * @return {@code False} if all spilled partitions are joined.
+         */
+        private boolean loadSpilledPartition() throws IgniteCheckedException {
+            clearMaterialized();
+
+            nodeMemoryTracker.reset();
+
+            while (nextSpilledPart < SpillManager.PARTITIONS) {
+                int part = nextSpilledPart++;
+
+                SpillFile<Row> right = rightSpilled[part];
+
+                rightSpilled[part] = null;
+
+                spilledLeft = leftSpilled[part];
+
+                leftSpilled[part] = null;
+
+                if (right != null) {
+                    try {
+                        for (Row row = right.poll(); row != null; row = right.poll()) {
+                            nodeMemoryTracker.onRowAdded(row);
+
+                            hashStore.computeIfAbsent(rightKey(row), k -> createRowList()).add(row);
+                        }
+                    }
+                    finally {
+                        right.close();
+                    }
+                }
+
+                if (right != null || spilledLeft != null)
+                    return true;
+            }
+
+            return false;
+        }
+
+        /**
+         * @return {@code True} if all rows of the loaded spilled partition are joined.
+         */
+        protected boolean spilledPartitionJoined() {
+            return leftFinished();
+        }
+
+        /** Clears materialized right rows. */
+        protected void clearMaterialized() {
+            rightRows = null;
+            rightIdx = 0;
+
+            hashStore.clear();
+        }
+
+        /** */
+        private void closeSpilled() {
+            if (rightSpilled != null) {
+                for (int i = 0; i < SpillManager.PARTITIONS; i++) {
+                    if (rightSpilled[i] != null)
+                        rightSpilled[i].close();
+
+                    if (leftSpilled[i] != null)
+                        leftSpilled[i].close();
+                }
+            }
+
+            if (spilledLeft != null)
+                spilledLeft.close();
+
+            rightSpilled = null;
+            leftSpilled = null;
+            leftSpilledAll = false;
+            nextSpilledPart = 0;
+            spilledLeft = null;
+        }
+
         /** */
         protected abstract RowList createRowList();
 
@@ -220,7 +473,7 @@ public abstract class HashJoinNode<Row> extends AbstractRightMaterializedJoinNod
 
         /** */
         protected boolean leftFinished() {
-            return waitingLeft == NOT_WAITING && left == null && leftInBuf.isEmpty();
+            return waitingLeft == NOT_WAITING && left == null && leftInBuf.isEmpty() && spilledLeft == null;
         }
 
         /** */
@@ -245,7 +498,8 @@ public abstract class HashJoinNode<Row> extends AbstractRightMaterializedJoinNod
 
         /** */
         protected boolean checkJoinFinished() throws Exception {
-            if (requested > 0 && leftFinished() && rightFinished()) {
+            if (requested > 0 && leftFinished() && rightFinished() &&
+                (rightSpilled == null || nextSpilledPart == SpillManager.PARTITIONS)) {
                 requested = 0;
 
                 hashStore.clear();
@@ -316,7 +570,21 @@ public abstract class HashJoinNode<Row> extends AbstractRightMaterializedJoinNod
         }
 
         /** {@inheritDoc} */
-        @Override protected void join() throws Exception {
+        @Override protected boolean spilledPartitionJoined() {
+            // Unmatched right rows of the partition should be emitted as well.
+            return super.spilledPartitionJoined() && (emptyLeftRow == null || drainMaterialization && !hasNextRight());
+        }
+
+        /** {@inheritDoc} */
+        @Override protected void clearMaterialized() {
+            super.clearMaterialized();
+
+            drainMaterialization = false;
+            materializedIt = null;
+        }
+
+        /** {@inheritDoc} */
+        @Override protected void joinRows() throws Exception {
             if (waitingRight == NOT_WAITING) {
                 inLoop = true;
 
@@ -736,7 +1004,7 @@ public abstract class HashJoinNode<Row> extends AbstractRightMaterializedJoinNod
         }
 
         /** {@inheritDoc} */
-        @Override protected void join() throws Exception {
+        @Override protected void joinRows() throws Exception {
             if (waitingRight == NOT_WAITING) {
                 inLoop = true;
 
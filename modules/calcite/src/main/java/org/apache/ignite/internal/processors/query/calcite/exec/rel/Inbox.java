@@ -34,6 +34,7 @@ import org.apache.ignite.internal.cluster.ClusterTopologyCheckedException;
 import org.apache.ignite.internal.processors.query.calcite.exec.ExchangeService;
 import org.apache.ignite.internal.processors.query.calcite.exec.ExecutionContext;
 import org.apache.ignite.internal.processors.query.calcite.exec.MailboxRegistry;
+import org.apache.ignite.internal.processors.query.calcite.exec.RuntimeJoinFilter;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -177,6 +178,18 @@ public class Inbox<Row> extends AbstractNode<Row> implements Mailbox<Row>, Singl
             push();
     }
 
+    /**
+     * Sends a runtime filter of join keys to source nodes, rows which don't pass the filter aren't sent anymore.
+     *
+     * @param filter Filter.
+     */
+    public void sendJoinFilter(RuntimeJoinFilter filter) throws IgniteCheckedException {
+        assert srcNodeIds != null;
+
+        for (UUID nodeId : srcNodeIds)
+            exchange.sendJoinFilter(nodeId, queryId(), srcFragmentId, exchangeId, filter);
+    }
+
     /** */
     private void doPush() throws Exception {
         checkState();
@@ -18,7 +18,10 @@
 package org.apache.ignite.internal.processors.query.calcite.exec.rel;
 
 import org.apache.calcite.rel.type.RelDataType;
+import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.internal.processors.query.calcite.exec.ExecutionContext;
+import org.apache.ignite.internal.processors.query.calcite.exec.SpillFile;
+import org.apache.ignite.internal.processors.query.calcite.exec.SpillManager;
 import org.apache.ignite.internal.processors.query.calcite.exec.tracker.ObjectSizeCalculator;
 import org.apache.ignite.internal.processors.query.calcite.exec.tracker.RowTracker;
 import org.apache.ignite.internal.util.GridUnsafe;
@@ -40,15 +43,28 @@ public abstract class MemoryTrackingNode<Row> extends AbstractNode<Row> {
     /** Memory tracker for the current execution node. */
     protected final RowTracker<Row> nodeMemoryTracker;
 
+    /** Whether the node spilled rows to disk. */
+    private boolean spilled;
+
     /**
      * @param ctx Execution context.
      * @param rowType Row type.
      * @param rowOverhead Row overhead in bytes for each row.
      */
     protected MemoryTrackingNode(ExecutionContext<Row> ctx, RelDataType rowType, long rowOverhead) {
+        this(ctx, rowType, rowOverhead, false);
+    }
+
+    /**
+     * @param ctx Execution context.
+     * @param rowType Row type.
+     * @param rowOverhead Row overhead in bytes for each row.
+     * @param spillable Whether the node spills rows to disk once memory for them can't be reserved within the quota.
+     */
+    protected MemoryTrackingNode(ExecutionContext<Row> ctx, RelDataType rowType, long rowOverhead, boolean spillable) {
         super(ctx, rowType);
 
-        nodeMemoryTracker = ctx.createNodeMemoryTracker(rowOverhead);
+        nodeMemoryTracker = ctx.createNodeMemoryTracker(rowOverhead, spillable);
     }
 
     /** */
@@ -56,10 +72,31 @@ public abstract class MemoryTrackingNode<Row> extends AbstractNode<Row> {
         this(ctx, rowType, DFLT_ROW_OVERHEAD);
     }
 
+    /**
+     * Creates a file to spill rows of the node to. Should be called only if {@link RowTracker#spillRequired()} of
+     * the node memory tracker returned {@code true}.
+     *
+     * @return Spill file.
+     * @throws IgniteCheckedException If failed.
+     */
+    protected SpillFile<Row> createSpillFile() throws IgniteCheckedException {
+        SpillManager spillMgr = context().spillManager();
+
+        assert spillMgr != null;
+
+        spilled = true;
+
+        return spillMgr.createFile(context().ioTracker());
+    }
+
     /** {@inheritDoc} */
     @Override protected void closeInternal() {
         nodeMemoryTracker.reset();
 
+        // Fragments reading rows from remote nodes have no scan nodes to flush the spill statistics.
+        if (spilled)
+            context().ioTracker().flush();
+
         super.closeInternal();
     }
 }
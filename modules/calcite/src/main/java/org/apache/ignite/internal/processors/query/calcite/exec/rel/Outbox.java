@@ -30,6 +30,7 @@ import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.internal.processors.query.calcite.exec.ExchangeService;
 import org.apache.ignite.internal.processors.query.calcite.exec.ExecutionContext;
 import org.apache.ignite.internal.processors.query.calcite.exec.MailboxRegistry;
+import org.apache.ignite.internal.processors.query.calcite.exec.RuntimeJoinFilter;
 import org.apache.ignite.internal.processors.query.calcite.trait.Destination;
 import org.apache.ignite.internal.util.typedef.F;
 import org.apache.ignite.internal.util.typedef.X;
@@ -66,6 +67,9 @@ public class Outbox<Row> extends AbstractNode<Row> implements Mailbox<Row>, Sing
     /** */
     private boolean exchangeFinished;
 
+    /** Runtime filters of join keys by target nodes. */
+    private final Map<UUID, RuntimeJoinFilter> joinFilters = new HashMap<>();
+
     /**
      * @param ctx Execution context.
      * @param exchange Exchange service.
@@ -110,6 +114,18 @@ public class Outbox<Row> extends AbstractNode<Row> implements Mailbox<Row>, Sing
         nodeBuffers.get(nodeId).acknowledge(batchId);
     }
 
+    /**
+     * Callback method.
+     *
+     * @param nodeId Target ID.
+     * @param filter Filter of rows sent to the target.
+     */
+    public void onJoinFilter(UUID nodeId, RuntimeJoinFilter filter) throws Exception {
+        checkState();
+
+        joinFilters.put(nodeId, filter);
+    }
+
     /** */
     public void init() {
         try {
@@ -196,7 +212,8 @@ public class Outbox<Row> extends AbstractNode<Row> implements Mailbox<Row>, Sing
 
     /** */
     private void sendBatch(UUID nodeId, int batchId, boolean last, List<Row> rows) throws IgniteCheckedException {
-        exchange.sendBatch(nodeId, queryId(), targetFragmentId, exchangeId, batchId, last, rows);
+        exchange.sendBatch(nodeId, queryId(), targetFragmentId, exchangeId, batchId, last, rows,
+            context().rowHandler());
     }
 
     /** */
@@ -236,6 +253,15 @@ public class Outbox<Row> extends AbstractNode<Row> implements Mailbox<Row>, Sing
             // flush() method is invoked for every row, and in most cases the destination is a single node.
             // Therefore, we use this optimization for the case to avoid excess memory allocations.
             if (nodes.size() == 1) {
+                RuntimeJoinFilter filter = joinFilters.isEmpty() ? null : joinFilters.get(nodes.get(0));
+
+                // Rows which surely don't match rows of the target's join are dropped.
+                if (filter != null && !filter.mightMatch(inBuf.peek(), context().rowHandler())) {
+                    inBuf.remove();
+
+                    continue;
+                }
+
                 Buffer buf = getOrCreateBuffer(nodes.get(0));
 
                 if (!buf.ready())
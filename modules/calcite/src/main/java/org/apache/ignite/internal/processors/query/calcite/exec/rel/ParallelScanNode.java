@@ -0,0 +1,451 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.calcite.exec.rel;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import org.apache.calcite.rel.type.RelDataType;
+import org.apache.ignite.internal.processors.query.calcite.exec.ExecutionContext;
+import org.apache.ignite.internal.processors.query.calcite.util.Commons;
+import org.apache.ignite.internal.util.typedef.F;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Scan node reading several sources in parallel.
+ * <p>
+ * Every source is read by a worker in tasks of its own, so sources are read concurrently with each other and with
+ * the other nodes of the fragment. Workers filter and project rows and put them by blocks to bounded queues, the node
+ * takes the blocks in tasks of the fragment and pushes rows downstream. Rows of different sources are interleaved,
+ * so the node keeps no collation.
+ */
+public class ParallelScanNode<Row> extends AbstractNode<Row> implements SingleNode<Row> {
+    /** Maximum number of blocks of rows a worker reads ahead. */
+    private static final int MAX_READY_BLOCKS = 4;
+
+    /** Sources. */
+    private final List<Iterable<Row>> srcs;
+
+    /** Factory of row filters, every worker uses a filter of its own. */
+    @Nullable private final Supplier<Predicate<Row>> filterFactory;
+
+    /** Factory of row transformers, every worker uses a transformer of its own. */
+    @Nullable private final Supplier<Function<Row, Row>> rowTransformerFactory;
+
+    /** */
+    @Nullable private final AtomicLong processedRowsCntr;
+
+    /** Guards states of workers. */
+    private final Object mux = new Object();
+
+    /** Workers, guarded by {@link #mux}. */
+    private List<Worker> workers;
+
+    /** Number of submitted tasks of workers, guarded by {@link #mux}. */
+    private int activeTasks;
+
+    /** Whether the node is closed, guarded by {@link #mux}. */
+    private boolean stopped;
+
+    /** Index of a worker whose block is taken next. */
+    private int nextWorker;
+
+    /** Block of rows which are pushed downstream. */
+    @Nullable private List<Row> block;
+
+    /** Index of a row of the block which is pushed next. */
+    private int blockIdx;
+
+    /** */
+    private int requested;
+
+    /** */
+    private boolean inLoop;
+
+    /** */
+    private boolean started;
+
+    /**
+     * @param storageName Storage (table) name.
+     * @param ctx Execution context.
+     * @param rowType Row type.
+     * @param srcs Sources.
+     * @param filterFactory Factory of row filters.
+     * @param rowTransformerFactory Factory of row transformers (projections).
+     */
+    public ParallelScanNode(
+        String storageName,
+        ExecutionContext<Row> ctx,
+        RelDataType rowType,
+        List<Iterable<Row>> srcs,
+        @Nullable Supplier<Predicate<Row>> filterFactory,
+        @Nullable Supplier<Function<Row, Row>> rowTransformerFactory
+    ) {
+        super(ctx, rowType);
+
+        assert !srcs.isEmpty();
+
+        this.srcs = srcs;
+        this.filterFactory = filterFactory;
+        this.rowTransformerFactory = rowTransformerFactory;
+
+        processedRowsCntr = context().ioTracker().processedRowsCounter("Scanned " + storageName);
+
+        workers = createWorkers();
+    }
+
+    /** {@inheritDoc} */
+    @Override public void request(int rowsCnt) throws Exception {
+        assert rowsCnt > 0 && requested == 0 : "rowsCnt=" + rowsCnt + ", requested=" + requested;
+
+        checkState();
+
+        requested = rowsCnt;
+
+        if (!started) {
+            started = true;
+
+            List<Worker> workers;
+
+            synchronized (mux) {
+                workers = this.workers;
+
+                for (Worker w : workers)
+                    w.running = true;
+
+                activeTasks += workers.size();
+            }
+
+            for (Worker w : workers)
+                submit(w);
+        }
+
+        if (!inLoop)
+            context().execute(this::push, this::onError);
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void closeInternal() {
+        super.closeInternal();
+
+        boolean closeSrcs;
+
+        synchronized (mux) {
+            stopped = true;
+
+            for (Worker w : workers) {
+                if (!w.running)
+                    w.closeIterator();
+            }
+
+            closeSrcs = activeTasks == 0;
+        }
+
+        // Sources are closed by the last worker otherwise.
+        if (closeSrcs)
+            srcs.forEach(Commons::closeQuiet);
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void rewindInternal() {
+        synchronized (mux) {
+            for (Worker w : workers) {
+                w.cancelled = true;
+
+                if (!w.running)
+                    w.closeIterator();
+            }
+
+            // Cancelled workers may still be reading, so new workers get filters of their own.
+            workers = createWorkers();
+        }
+
+        requested = 0;
+        started = false;
+        nextWorker = 0;
+        block = null;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void register(List<Node<Row>> sources) {
+        throw new UnsupportedOperationException();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected Downstream<Row> requestDownstream(int idx) {
+        throw new UnsupportedOperationException();
+    }
+
+    /** */
+    private List<Worker> createWorkers() {
+        List<Worker> res = new ArrayList<>(srcs.size());
+
+        for (int i = 0; i < srcs.size(); i++) {
+            res.add(new Worker(
+                i,
+                srcs.get(i),
+                filterFactory == null ? null : filterFactory.get(),
+                rowTransformerFactory == null ? null : rowTransformerFactory.get()
+            ));
+        }
+
+        return res;
+    }
+
+    /** */
+    private void submit(Worker w) {
+        context().executeWorker(w.idx, () -> readBlock(w));
+    }
+
+    /**
+     * Reads a block of rows of the worker's source, executed by the worker.
+     *
+     * @param w Worker.
+     */
+    private void readBlock(Worker w) {
+        List<Row> rows = null;
+        Throwable err = null;
+        boolean end = false;
+
+        boolean stop;
+
+        synchronized (mux) {
+            stop = stopped || w.cancelled;
+        }
+
+        if (!stop) {
+            try {
+                checkState();
+
+                if (w.it == null)
+                    w.it = w.src.iterator();
+
+                rows = new ArrayList<>(IN_BUFFER_SIZE);
+
+                int processed = 0;
+
+                while (processed < IN_BUFFER_SIZE && w.it.hasNext()) {
+                    Row r = w.it.next();
+
+                    processed++;
+
+                    if (w.filter == null || w.filter.test(r))
+                        rows.add(w.rowTransformer == null ? r : w.rowTransformer.apply(r));
+                }
+
+                end = !w.it.hasNext();
+
+                if (processedRowsCntr != null)
+                    processedRowsCntr.addAndGet(processed);
+            }
+            catch (Throwable e) {
+                err = e;
+            }
+        }
+
+        boolean resubmit = false;
+        boolean closeSrcs = false;
+
+        synchronized (mux) {
+            if (stopped || w.cancelled) {
+                w.closeIterator();
+
+                w.running = false;
+                w.done = true;
+            }
+            else {
+                if (!F.isEmpty(rows))
+                    w.ready.add(rows);
+
+                w.done = end || err != null;
+
+                if (w.done || w.ready.size() >= MAX_READY_BLOCKS) {
+                    // Reading is resumed when the node takes a block.
+                    w.running = false;
+                }
+                else
+                    resubmit = true;
+            }
+
+            if (!resubmit) {
+                activeTasks--;
+
+                closeSrcs = stopped && activeTasks == 0;
+            }
+        }
+
+        if (closeSrcs)
+            srcs.forEach(Commons::closeQuiet);
+
+        if (err != null) {
+            Throwable err0 = err;
+
+            context().execute(() -> onError(err0), this::onError);
+        }
+        else if (!stop && (!F.isEmpty(rows) || end))
+            context().execute(this::push, this::onError);
+
+        if (resubmit)
+            submit(w);
+    }
+
+    /**
+     * Takes a block of rows read by workers.
+     *
+     * @return Block or {@code null} if there are no blocks read yet.
+     */
+    private @Nullable List<Row> takeBlock() {
+        List<Row> res = null;
+        Worker resumed = null;
+
+        synchronized (mux) {
+            for (int i = 0; i < workers.size() && res == null; i++) {
+                Worker w = workers.get(nextWorker);
+
+                nextWorker = (nextWorker + 1) % workers.size();
+
+                res = w.ready.poll();
+
+                if (res != null && !w.running && !w.done) {
+                    w.running = true;
+
+                    activeTasks++;
+
+                    resumed = w;
+                }
+            }
+        }
+
+        if (resumed != null)
+            submit(resumed);
+
+        return res;
+    }
+
+    /**
+     * @return {@code True} if all rows are read and taken.
+     */
+    private boolean finished() {
+        synchronized (mux) {
+            for (Worker w : workers) {
+                if (!w.done || !w.ready.isEmpty())
+                    return false;
+            }
+
+            return true;
+        }
+    }
+
+    /** */
+    private void push() throws Exception {
+        if (isClosed() || requested == 0)
+            return;
+
+        checkState();
+
+        inLoop = true;
+        try {
+            while (requested > 0) {
+                if (block == null) {
+                    block = takeBlock();
+                    blockIdx = 0;
+
+                    if (block == null)
+                        break;
+                }
+
+                while (requested > 0 && blockIdx < block.size()) {
+                    requested--;
+
+                    downstream().push(block.get(blockIdx++));
+                }
+
+                if (isClosed())
+                    return;
+
+                if (blockIdx == block.size())
+                    block = null;
+            }
+        }
+        finally {
+            inLoop = false;
+        }
+
+        if (requested > 0 && finished()) {
+            requested = 0;
+
+            downstream().end();
+        }
+    }
+
+    /** Reader of a source. */
+    private class Worker {
+        /** */
+        private final int idx;
+
+        /** */
+        private final Iterable<Row> src;
+
+        /** */
+        @Nullable private final Predicate<Row> filter;
+
+        /** */
+        @Nullable private final Function<Row, Row> rowTransformer;
+
+        /** Blocks of rows which are read but not taken yet, guarded by {@link #mux}. */
+        private final Deque<List<Row>> ready = new ArrayDeque<>();
+
+        /** Source iterator, used by tasks of the worker or when the worker is not running. */
+        @Nullable private Iterator<Row> it;
+
+        /** Whether a task of the worker is submitted, guarded by {@link #mux}. */
+        private boolean running;
+
+        /** Whether the source is read, guarded by {@link #mux}. */
+        private boolean done;
+
+        /** Whether the worker is replaced on rewind, guarded by {@link #mux}. */
+        private boolean cancelled;
+
+        /** */
+        private Worker(
+            int idx,
+            Iterable<Row> src,
+            @Nullable Predicate<Row> filter,
+            @Nullable Function<Row, Row> rowTransformer
+        ) {
+            this.idx = idx;
+            this.src = src;
+            this.filter = filter;
+            this.rowTransformer = rowTransformer;
+        }
+
+        /** */
+        private void closeIterator() {
+            Commons.closeQuiet(it);
+
+            it = null;
+        }
+    }
+}
@@ -77,7 +77,7 @@ public class SortAggregateNode<Row> extends AggregateNode<Row> {
         RowFactory<Row> rowFactory,
         Comparator<Row> comp
     ) {
-        super(ctx, rowType, type, accFactory, rowFactory, ARRAY_ROW_OVERHEAD);
+        super(ctx, rowType, type, accFactory, rowFactory, ARRAY_ROW_OVERHEAD, false);
         assert Objects.nonNull(comp);
 
         this.grpSet = grpSet;
@@ -21,13 +21,19 @@ import java.util.Comparator;
 import java.util.List;
 import java.util.PriorityQueue;
 import org.apache.calcite.rel.type.RelDataType;
+import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.internal.processors.query.calcite.exec.ExecutionContext;
+import org.apache.ignite.internal.processors.query.calcite.exec.SpillFile;
 import org.apache.ignite.internal.processors.query.calcite.util.IgniteMath;
 import org.apache.ignite.internal.util.GridBoundedPriorityQueue;
 import org.apache.ignite.internal.util.typedef.F;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Sort node.
+ * <p>
+ * If rows of an unlimited sort take more memory than the node is allowed to keep, the rows are sorted and spilled to
+ * disk as a sorted run, and all the runs are merged when the input ends (external merge sort).
  */
 public class SortNode<Row> extends MemoryTrackingNode<Row> implements SingleNode<Row>, Downstream<Row> {
     /** */
@@ -54,6 +60,15 @@ public class SortNode<Row> extends MemoryTrackingNode<Row> implements SingleNode
     /** Reverse-ordered rows in case of limited sort. */
     private List<Row> reversed;
 
+    /** Comparator of rows of sorted runs. */
+    private final Comparator<Row> mergeComp;
+
+    /** Sorted runs of rows spilled to disk. */
+    private final List<SpillFile<Row>> spilled = new ArrayList<>();
+
+    /** Sorted runs ordered by their current rows, {@code null} until merge of spilled runs is started. */
+    private @Nullable PriorityQueue<SortedRun> merge;
+
     /**
      * @param ctx Execution context.
      * @param comp Rows comparator.
@@ -66,7 +81,8 @@ public class SortNode<Row> extends MemoryTrackingNode<Row> implements SingleNode
         long offset,
         long fetch
     ) {
-        super(ctx, rowType);
+        // Limited sort keeps no more rows than the limit and isn't spilled.
+        super(ctx, rowType, DFLT_ROW_OVERHEAD, fetch == FETCH_DEFAULT || fetch > Long.MAX_VALUE - offset);
 
         assert fetch == FETCH_DEFAULT || fetch > 0 : "Unexpected fetch = " + fetch;
         assert offset >= 0 : "Unexpected offset = " + offset;
@@ -79,6 +95,8 @@ public class SortNode<Row> extends MemoryTrackingNode<Row> implements SingleNode
             rows = new GridBoundedPriorityQueue<>(IgniteMath.convertToIntExact(limit), comp == null ?
                 (Comparator<Row>)Comparator.reverseOrder() : comp.reversed());
         }
+
+        mergeComp = comp == null ? (Comparator<Row>)Comparator.naturalOrder() : comp;
     }
 
     /**
@@ -97,9 +115,18 @@ public class SortNode<Row> extends MemoryTrackingNode<Row> implements SingleNode
         if (reversed != null)
             reversed.clear();
 
+        closeSpilled();
+
         nodeMemoryTracker.reset();
     }
 
+    /** {@inheritDoc} */
+    @Override protected void closeInternal() {
+        closeSpilled();
+
+        super.closeInternal();
+    }
+
     /** {@inheritDoc} */
     @Override protected Downstream<Row> requestDownstream(int idx) {
         if (idx != 0)
@@ -144,6 +171,9 @@ public class SortNode<Row> extends MemoryTrackingNode<Row> implements SingleNode
                 nodeMemoryTracker.onRowRemoved(top);
         }
 
+        if (nodeMemoryTracker.spillRequired())
+            spill();
+
         if (waiting == 0)
             source().request(waiting = IN_BUFFER_SIZE);
     }
@@ -167,6 +197,12 @@ public class SortNode<Row> extends MemoryTrackingNode<Row> implements SingleNode
 
         assert waiting == NOT_WAITING;
 
+        if (!spilled.isEmpty()) {
+            flushMerged();
+
+            return;
+        }
+
         int processed = 0;
 
         inLoop = true;
@@ -221,4 +257,110 @@ public class SortNode<Row> extends MemoryTrackingNode<Row> implements SingleNode
             inLoop = false;
         }
     }
+
+    /** Writes rows of the buffer to disk as a new sorted run. */
+    private void spill() throws IgniteCheckedException {
+        SpillFile<Row> run = createSpillFile();
+
+        spilled.add(run);
+
+        for (Row row = rows.poll(); row != null; row = rows.poll())
+            run.add(row);
+
+        run.finish();
+
+        nodeMemoryTracker.reset();
+    }
+
+    /** Pushes rows of merged sorted runs. */
+    private void flushMerged() throws Exception {
+        if (merge == null) {
+            merge = new PriorityQueue<>(spilled.size() + 1, (r1, r2) -> mergeComp.compare(r1.row, r2.row));
+
+            for (SpillFile<Row> run : spilled)
+                addToMerge(new SortedRun(run));
+
+            // Rows of the buffer are the last run.
+            addToMerge(new SortedRun(null));
+        }
+
+        int processed = 0;
+
+        inLoop = true;
+        try {
+            while (requested > 0 && !merge.isEmpty()) {
+                checkState();
+
+                requested--;
+
+                SortedRun run = merge.poll();
+
+                Row row = run.row;
+
+                addToMerge(run);
+
+                downstream().push(row);
+
+                if (++processed >= IN_BUFFER_SIZE && requested > 0) {
+                    // allow others to do their job
+                    context().execute(this::flush, this::onError);
+
+                    return;
+                }
+            }
+
+            if (merge.isEmpty() && requested > 0) {
+                requested = 0;
+
+                downstream().end();
+            }
+        }
+        finally {
+            inLoop = false;
+        }
+    }
+
+    /** Moves the run to its next row and adds it to the merge, unless all rows of the run are merged. */
+    private void addToMerge(SortedRun run) throws IgniteCheckedException {
+        if (run.next())
+            merge.add(run);
+    }
+
+    /** */
+    private void closeSpilled() {
+        spilled.forEach(SpillFile::close);
+        spilled.clear();
+
+        merge = null;
+    }
+
+    /** Sorted run of rows, either spilled to disk or kept in the buffer. */
+    private class SortedRun {
+        /** Spilled rows, {@code null} for rows of the buffer. */
+        private final @Nullable SpillFile<Row> file;
+
+        /** Current row. */
+        private Row row;
+
+        /** */
+        private SortedRun(@Nullable SpillFile<Row> file) {
+            this.file = file;
+        }
+
+        /**
+         * @return {@code False} if there are no more rows.
+         */
+        private boolean next() throws IgniteCheckedException {
+            if (file != null)
+                row = file.poll();
+            else {
+                row = rows.poll();
+
+                if (row != null)
+                    nodeMemoryTracker.onRowRemoved(row);
+            }
+
+            return row != null;
+        }
+    }
 }
@@ -39,18 +39,35 @@ public class ExecutionNodeMemoryTracker<Row> implements RowTracker<Row> {
     /** */
     private final long rowOverhead;
 
+    /** Whether rows can be spilled to disk instead of failing on the memory quota. */
+    private final boolean spillable;
+
+    /** Whether memory for the tracked rows couldn't be reserved and the rows should be spilled to disk. */
+    private boolean spillRequired;
+
     /** Factory method. */
     public static <T> RowTracker<T> create(MemoryTracker qryMemoryTracker, long rowOverhead) {
+        return create(qryMemoryTracker, rowOverhead, false);
+    }
+
+    /** Factory method. */
+    public static <T> RowTracker<T> create(MemoryTracker qryMemoryTracker, long rowOverhead, boolean spillable) {
         if (qryMemoryTracker == NoOpMemoryTracker.INSTANCE)
             return NoOpRowTracker.instance();
         else
-            return new ExecutionNodeMemoryTracker<>(qryMemoryTracker, rowOverhead);
+            return new ExecutionNodeMemoryTracker<>(qryMemoryTracker, rowOverhead, spillable);
     }
 
     /** */
     ExecutionNodeMemoryTracker(MemoryTracker qryMemoryTracker, long rowOverhead) {
+        this(qryMemoryTracker, rowOverhead, false);
+    }
+
+    /** */
+    ExecutionNodeMemoryTracker(MemoryTracker qryMemoryTracker, long rowOverhead, boolean spillable) {
         this.qryMemoryTracker = qryMemoryTracker;
         this.rowOverhead = rowOverhead;
+        this.spillable = spillable;
     }
 
     /** {@inheritDoc} */
@@ -64,6 +81,17 @@ public class ExecutionNodeMemoryTracker<Row> implements RowTracker<Row> {
         if (allocated > prevReported) {
             long newReported = (allocated + (BATCH_SIZE - 1)) & -BATCH_SIZE; // Align to batch size.
             long diff = newReported - prevReported;
+
+            if (spillable && !spillRequired) {
+                // Rows which memory isn't reserved for stay tracked until they are spilled.
+                if (qryMemoryTracker.tryAllocate(diff))
+                    prevReported = newReported;
+                else
+                    spillRequired = true;
+
+                return;
+            }
+
             prevReported = newReported;
             qryMemoryTracker.onMemoryAllocated(diff);
         }
@@ -97,5 +125,11 @@ public class ExecutionNodeMemoryTracker<Row> implements RowTracker<Row> {
         }
 
         allocated = 0;
+        spillRequired = false;
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean spillRequired() {
+        return spillRequired;
     }
 }
@@ -43,6 +43,21 @@ public class GlobalMemoryTracker implements MemoryTracker {
             throw new IgniteException("Global memory quota for SQL queries exceeded [quota=" + quota + ']');
     }
 
+    /** {@inheritDoc} */
+    @Override public boolean tryAllocate(long size) {
+        long wasAllocated;
+
+        do {
+            wasAllocated = allocated.get();
+
+            if (wasAllocated + size > quota)
+                return false;
+        }
+        while (!allocated.compareAndSet(wasAllocated, wasAllocated + size));
+
+        return true;
+    }
+
     /** {@inheritDoc} */
     @Override public void onMemoryReleased(long size) {
         allocated.addAndGet(-size);
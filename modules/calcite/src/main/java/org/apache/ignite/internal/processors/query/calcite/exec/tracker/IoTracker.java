@@ -41,6 +41,18 @@ public interface IoTracker {
      */
     @Nullable public AtomicLong processedRowsCounter(String action);
 
+    /**
+     * Register rows spilled to disk.
+     *
+     * @param bytes Number of bytes written to a spill file.
+     */
+    public void onSpilled(long bytes);
+
+    /**
+     * Register a new spill file.
+     */
+    public void onSpillFileCreated();
+
     /**
      * Flush tracked data.
      */
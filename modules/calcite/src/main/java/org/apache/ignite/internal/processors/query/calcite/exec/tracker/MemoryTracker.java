@@ -24,6 +24,14 @@ public interface MemoryTracker {
     /** */
     public void onMemoryAllocated(long size);
 
+    /**
+     * Allocates memory only if the allocation doesn't exceed the quota.
+     *
+     * @param size Size.
+     * @return {@code False} if the memory isn't allocated, since the quota would be exceeded.
+     */
+    public boolean tryAllocate(long size);
+
     /** */
     public void onMemoryReleased(long size);
 
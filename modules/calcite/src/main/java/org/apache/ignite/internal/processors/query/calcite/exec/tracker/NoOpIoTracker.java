@@ -42,6 +42,16 @@ public class NoOpIoTracker implements IoTracker {
         return null;
     }
 
+    /** {@inheritDoc} */
+    @Override public void onSpilled(long bytes) {
+        // No-op.
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onSpillFileCreated() {
+        // No-op.
+    }
+
     /** {@inheritDoc} */
     @Override public void flush() {
         // No-op.
@@ -34,6 +34,11 @@ public class NoOpMemoryTracker implements MemoryTracker {
         // No-op.
     }
 
+    /** {@inheritDoc} */
+    @Override public boolean tryAllocate(long size) {
+        return true;
+    }
+
     /** {@inheritDoc} */
     @Override public void onMemoryReleased(long size) {
         // No-op.
@@ -47,6 +47,12 @@ public class PerformanceStatisticsIoTracker implements IoTracker {
     /** */
     private final AtomicLong physicalReads = new AtomicLong();
 
+    /** */
+    private final AtomicLong spilledBytes = new AtomicLong();
+
+    /** */
+    private final AtomicLong spillFiles = new AtomicLong();
+
     /** */
     private final AtomicBoolean started = new AtomicBoolean();
 
@@ -93,6 +99,16 @@ public class PerformanceStatisticsIoTracker implements IoTracker {
         return cntr;
     }
 
+    /** {@inheritDoc} */
+    @Override public void onSpilled(long bytes) {
+        spilledBytes.addAndGet(bytes);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onSpillFileCreated() {
+        spillFiles.incrementAndGet();
+    }
+
     /** {@inheritDoc} */
     @Override public void flush() {
         long logicalReads = this.logicalReads.getAndSet(0);
@@ -107,6 +123,18 @@ public class PerformanceStatisticsIoTracker implements IoTracker {
                 physicalReads);
         }
 
+        long spilledBytes = this.spilledBytes.getAndSet(0);
+        long spillFiles = this.spillFiles.getAndSet(0);
+
+        if (spilledBytes > 0 || spillFiles > 0) {
+            perfStatProc.querySpill(
+                GridCacheQueryType.SQL_FIELDS,
+                originatingNodeId,
+                originatingQryId,
+                spilledBytes,
+                spillFiles);
+        }
+
         for (T2<String, AtomicLong> cntr : cntrs) {
             long rowsCnt = cntr.get2().getAndSet(0);
 
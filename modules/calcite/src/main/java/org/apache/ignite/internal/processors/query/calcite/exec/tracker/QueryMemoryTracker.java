@@ -57,6 +57,27 @@ public class QueryMemoryTracker implements MemoryTracker {
         }
     }
 
+    /** {@inheritDoc} */
+    @Override public boolean tryAllocate(long size) {
+        long wasAllocated;
+
+        do {
+            wasAllocated = allocated.get();
+
+            if (wasAllocated + size > quota && quota > 0)
+                return false;
+        }
+        while (!allocated.compareAndSet(wasAllocated, wasAllocated + size));
+
+        if (!parent.tryAllocate(size)) {
+            release(size);
+
+            return false;
+        }
+
+        return true;
+    }
+
     /** {@inheritDoc} */
     @Override public void onMemoryReleased(long size) {
         long released = release(size);
@@ -35,4 +35,15 @@ public interface RowTracker<Row> {
      * Clear information about tracked rows.
      */
     public void reset();
+
+    /**
+     * Trackers of nodes able to spill rows to disk don't fail once memory for the rows can't be reserved within the
+     * memory quota, but require the rows to be spilled. The next reservations fail on the quota as usual until the
+     * tracker is reset, so the node should spill its rows and reset the tracker once this method returns {@code true}.
+     *
+     * @return {@code True} if tracked rows take more memory than allowed to keep and should be spilled to disk.
+     */
+    public default boolean spillRequired() {
+        return false;
+    }
 }
@@ -103,6 +103,19 @@ public enum HintDefinition {
         }
     },
 
+    /** Sets number of workers scanning local partitions of a table. */
+    SCAN_PARALLELISM {
+        /** {@inheritDoc} */
+        @Override public HintPredicate predicate() {
+            return HintPredicates.TABLE_SCAN;
+        }
+
+        /** {@inheritDoc} */
+        @Override public HintOptionsChecker optionsChecker() {
+            return HintsConfig.OPTS_CHECK_POSITIVE_INT;
+        }
+    },
+
     /** Forces merge join. */
     MERGE_JOIN {
         /** {@inheritDoc} */
@@ -75,6 +75,28 @@ public final class HintsConfig {
         }
     };
 
+    /** Allows a single plain option which is a positive integer. */
+    static final HintOptionsChecker OPTS_CHECK_POSITIVE_INT = new HintOptionsChecker() {
+        @Override public @Nullable String apply(RelHint hint) {
+            String noKv = OPTS_CHECK_NO_KV.apply(hint);
+
+            if (noKv != null)
+                return noKv;
+
+            if (hint.listOptions.size() == 1) {
+                try {
+                    if (Integer.parseInt(hint.listOptions.get(0)) > 0)
+                        return null;
+                }
+                catch (NumberFormatException ignored) {
+                    // No-op.
+                }
+            }
+
+            return String.format("Hint '%s' must have a single positive integer option.", hint.hintName);
+        }
+    };
+
     /**
      * @return Configuration of all the supported hints.
      */
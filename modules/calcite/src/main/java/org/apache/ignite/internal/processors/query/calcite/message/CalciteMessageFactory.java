@@ -32,7 +32,7 @@ public class CalciteMessageFactory extends AbstractMessageFactoryProvider {
     public static final short MIN_MESSAGE_TYPE = 300;
 
     /** */
-    public static final short MAX_MESSAGE_TYPE = 311;
+    public static final short MAX_MESSAGE_TYPE = 312;
 
     /** {@inheritDoc} */
     @Override public void registerAll(IgniteMessageFactory factory) {
@@ -48,6 +48,7 @@ public class CalciteMessageFactory extends AbstractMessageFactoryProvider {
         register(factory, ColocationGroup.class, (short)309);
         register(factory, FragmentDescription.class, (short)310);
         register(factory, QueryTxEntry.class, (short)311);
+        register(factory, QueryJoinFilterMessage.class, (short)312);
     }
 
     /** */
@@ -22,6 +22,10 @@ import java.util.List;
 import java.util.UUID;
 import org.apache.ignite.internal.DeferredUnmarshalMessage;
 import org.apache.ignite.internal.Order;
+import org.apache.ignite.internal.processors.query.calcite.exec.RowBatchCodec;
+import org.apache.ignite.internal.processors.query.calcite.exec.RowHandler;
+import org.apache.ignite.internal.processors.query.calcite.util.Commons;
+import org.jetbrains.annotations.Nullable;
 
 /** */
 public class QueryBatchMessage implements DeferredUnmarshalMessage, ExecutionContextAware {
@@ -49,6 +53,10 @@ public class QueryBatchMessage implements DeferredUnmarshalMessage, ExecutionCon
     @Order(5)
     List<GenericValueMessage> mRows;
 
+    /** Rows encoded by {@link RowBatchCodec}, {@code null} if rows are sent as generic values. */
+    @Order(6)
+    @Nullable byte[] encodedRows;
+
     /** */
     public QueryBatchMessage() {
         // No-op.
@@ -68,6 +76,16 @@ public class QueryBatchMessage implements DeferredUnmarshalMessage, ExecutionCon
             mRows.add(row == null ? null : new GenericValueMessage(row));
     }
 
+    /** */
+    public QueryBatchMessage(UUID qryId, long fragmentId, long exchangeId, int batchId, boolean last, byte[] encodedRows) {
+        this.qryId = qryId;
+        this.fragmentId = fragmentId;
+        this.exchangeId = exchangeId;
+        this.batchId = batchId;
+        this.last = last;
+        this.encodedRows = encodedRows;
+    }
+
     /** {@inheritDoc} */
     @Override public UUID queryId() {
         return qryId;
@@ -99,10 +117,23 @@ public class QueryBatchMessage implements DeferredUnmarshalMessage, ExecutionCon
         return last;
     }
 
+    /**
+     * @param hnd Row handler.
+     * @return Rows, encoded rows are decoded on access.
+     */
+    public <Row> List<Row> rows(RowHandler<Row> hnd) {
+        if (encodedRows != null)
+            return RowBatchCodec.decode(encodedRows, hnd);
+
+        return Commons.cast(rows());
+    }
+
     /**
      * @return Rows.
      */
     public List<Object> rows() {
+        assert mRows != null;
+
         List<Object> rows = new ArrayList<>(mRows.size());
 
         for (GenericValueMessage mRow : mRows)
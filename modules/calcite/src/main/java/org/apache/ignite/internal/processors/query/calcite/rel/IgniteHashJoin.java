@@ -17,8 +17,10 @@
 
 package org.apache.ignite.internal.processors.query.calcite.rel;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import com.google.common.collect.ImmutableList;
 import org.apache.calcite.plan.RelOptCluster;
 import org.apache.calcite.plan.RelOptCost;
 import org.apache.calcite.plan.RelOptPlanner;
@@ -31,11 +33,18 @@ import org.apache.calcite.rel.core.JoinRelType;
 import org.apache.calcite.rel.metadata.RelMetadataQuery;
 import org.apache.calcite.rex.RexNode;
 import org.apache.calcite.util.ImmutableBitSet;
+import org.apache.calcite.util.Pair;
 import org.apache.calcite.util.Util;
 import org.apache.ignite.internal.processors.query.calcite.metadata.cost.IgniteCost;
 import org.apache.ignite.internal.processors.query.calcite.metadata.cost.IgniteCostFactory;
+import org.apache.ignite.internal.processors.query.calcite.trait.IgniteDistribution;
+import org.apache.ignite.internal.processors.query.calcite.trait.TraitUtils;
 import org.apache.ignite.internal.processors.query.calcite.util.Commons;
 
+import static org.apache.calcite.rel.RelDistribution.Type.HASH_DISTRIBUTED;
+import static org.apache.calcite.rel.RelDistribution.Type.RANDOM_DISTRIBUTED;
+import static org.apache.ignite.internal.processors.query.calcite.trait.IgniteDistributions.broadcast;
+
 /** */
 public class IgniteHashJoin extends AbstractIgniteJoin {
     /** */
@@ -67,6 +76,29 @@ public class IgniteHashJoin extends AbstractIgniteJoin {
         );
     }
 
+    /** {@inheritDoc} */
+    @Override public List<Pair<RelTraitSet, List<RelTraitSet>>> deriveDistribution(RelTraitSet nodeTraits,
+        List<RelTraitSet> inputTraits) {
+        List<Pair<RelTraitSet, List<RelTraitSet>>> res = new ArrayList<>(super.deriveDistribution(nodeTraits, inputTraits));
+
+        // Right rows are hashed by the node, so a small right input may be broadcast to nodes of a distributed left
+        // input, which is joined in place whatever its distribution keys are. Every node joins all right rows, so the
+        // join is possible only if unmatched right rows aren't emitted.
+        if (joinType == JoinRelType.RIGHT || joinType == JoinRelType.FULL)
+            return res;
+
+        RelTraitSet left = inputTraits.get(0), right = inputTraits.get(1);
+
+        IgniteDistribution leftDistr = TraitUtils.distribution(left);
+
+        if (leftDistr.getType() == HASH_DISTRIBUTED || leftDistr.getType() == RANDOM_DISTRIBUTED) {
+            res.add(Pair.of(nodeTraits.replace(leftDistr),
+                ImmutableList.of(left.replace(leftDistr), right.replace(broadcast()))));
+        }
+
+        return ImmutableList.copyOf(res);
+    }
+
     /** {@inheritDoc} */
     @Override public RelOptCost computeSelfCost(RelOptPlanner planner, RelMetadataQuery mq) {
         IgniteCostFactory costFactory = (IgniteCostFactory)planner.getCostFactory();
@@ -38,6 +38,9 @@ public class IgniteTableScan extends ProjectableFilterableTableScan implements S
     /** */
     private final long sourceId;
 
+    /** Number of workers scanning local partitions, {@code 0} if it's set by the cluster-wide configuration. */
+    private final int parallelism;
+
     /**
      * Constructor used for deserialization.
      *
@@ -51,6 +54,9 @@ public class IgniteTableScan extends ProjectableFilterableTableScan implements S
             sourceId = ((Number)srcIdObj).longValue();
         else
             sourceId = -1;
+
+        Object parallelismObj = input.get("parallelism");
+        parallelism = parallelismObj != null ? ((Number)parallelismObj).intValue() : 0;
     }
 
     /**
@@ -86,7 +92,7 @@ public class IgniteTableScan extends ProjectableFilterableTableScan implements S
         @Nullable RexNode cond,
         @Nullable ImmutableBitSet requiredColunms
     ) {
-        this(-1L, cluster, traits, tbl, rowType, proj, cond, requiredColunms);
+        this(cluster, traits, tbl, rowType, proj, cond, requiredColunms, 0);
     }
 
     /**
@@ -98,6 +104,31 @@ public class IgniteTableScan extends ProjectableFilterableTableScan implements S
      * @param proj Projects.
      * @param cond Filters.
      * @param requiredColunms Participating colunms.
+     * @param parallelism Number of workers scanning local partitions, {@code 0} to use the cluster-wide value.
+     */
+    public IgniteTableScan(
+        RelOptCluster cluster,
+        RelTraitSet traits,
+        RelOptTable tbl,
+        @Nullable RelDataType rowType,
+        @Nullable List<RexNode> proj,
+        @Nullable RexNode cond,
+        @Nullable ImmutableBitSet requiredColunms,
+        int parallelism
+    ) {
+        this(-1L, cluster, traits, tbl, rowType, proj, cond, requiredColunms, parallelism);
+    }
+
+    /**
+     * Creates a TableScan.
+     * @param cluster Cluster that this relational expression belongs to
+     * @param traits Traits of this relational expression
+     * @param tbl Table definition.
+     * @param rowType Row type.
+     * @param proj Projects.
+     * @param cond Filters.
+     * @param requiredColunms Participating colunms.
+     * @param parallelism Number of workers scanning local partitions.
      */
     private IgniteTableScan(
         long sourceId,
@@ -107,10 +138,12 @@ public class IgniteTableScan extends ProjectableFilterableTableScan implements S
         @Nullable RelDataType rowType,
         @Nullable List<RexNode> proj,
         @Nullable RexNode cond,
-        @Nullable ImmutableBitSet requiredColunms
+        @Nullable ImmutableBitSet requiredColunms,
+        int parallelism
     ) {
         super(cluster, traits, ImmutableList.of(), tbl, rowType, proj, cond, requiredColunms);
         this.sourceId = sourceId;
+        this.parallelism = parallelism;
     }
 
     /** */
@@ -118,10 +151,18 @@ public class IgniteTableScan extends ProjectableFilterableTableScan implements S
         return sourceId;
     }
 
+    /**
+     * @return Number of workers scanning local partitions, {@code 0} if it's set by the cluster-wide configuration.
+     */
+    public int parallelism() {
+        return parallelism;
+    }
+
     /** */
     @Override protected RelWriter explainTerms0(RelWriter pw) {
         return super.explainTerms0(pw)
-            .itemIf("sourceId", sourceId, sourceId != -1);
+            .itemIf("sourceId", sourceId, sourceId != -1)
+            .itemIf("parallelism", parallelism, parallelism > 0);
     }
 
     /** {@inheritDoc} */
@@ -132,12 +173,12 @@ public class IgniteTableScan extends ProjectableFilterableTableScan implements S
     /** {@inheritDoc} */
     @Override public IgniteRel clone(long sourceId) {
         return new IgniteTableScan(sourceId, getCluster(), getTraitSet(), getTable(), rowType, projects, condition,
-            requiredColumns);
+            requiredColumns, parallelism);
     }
 
     /** {@inheritDoc} */
     @Override public IgniteRel clone(RelOptCluster cluster, List<IgniteRel> inputs) {
         return new IgniteTableScan(sourceId, cluster, getTraitSet(), getTable(), rowType, projects, condition,
-            requiredColumns);
+            requiredColumns, parallelism);
     }
 }
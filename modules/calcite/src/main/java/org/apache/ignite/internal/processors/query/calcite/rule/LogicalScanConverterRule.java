@@ -29,12 +29,15 @@ import org.apache.calcite.rel.PhysicalNode;
 import org.apache.calcite.rel.RelCollation;
 import org.apache.calcite.rel.RelDistribution;
 import org.apache.calcite.rel.core.CorrelationId;
+import org.apache.calcite.rel.hint.RelHint;
 import org.apache.calcite.rel.metadata.RelMetadataQuery;
 import org.apache.calcite.rex.RexLocalRef;
 import org.apache.calcite.rex.RexNode;
 import org.apache.calcite.util.ImmutableBitSet;
 import org.apache.calcite.util.mapping.Mapping;
 import org.apache.calcite.util.mapping.Mappings;
+import org.apache.ignite.internal.processors.query.calcite.hint.HintDefinition;
+import org.apache.ignite.internal.processors.query.calcite.hint.HintUtils;
 import org.apache.ignite.internal.processors.query.calcite.prepare.BaseQueryContext;
 import org.apache.ignite.internal.processors.query.calcite.rel.IgniteConvention;
 import org.apache.ignite.internal.processors.query.calcite.rel.IgniteIndexScan;
@@ -164,8 +167,13 @@ public abstract class LogicalScanConverterRule<T extends ProjectableFilterableTa
                 if (!corrIds.isEmpty())
                     traits = traits.replace(CorrelationTrait.correlations(corrIds));
 
+                int parallelism = 0;
+
+                for (RelHint hint : HintUtils.hints(rel, HintDefinition.SCAN_PARALLELISM))
+                    parallelism = Integer.parseInt(hint.listOptions.get(0));
+
                 return new IgniteTableScan(rel.getCluster(), traits, rel.getTable(),
-                    rel.getRowType(), rel.projects(), rel.condition(), rel.requiredColumns());
+                    rel.getRowType(), rel.projects(), rel.condition(), rel.requiredColumns(), parallelism);
             }
         };
 
@@ -17,7 +17,9 @@
 
 package org.apache.ignite.internal.processors.query.calcite.schema;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
@@ -103,6 +105,37 @@ public class CacheTableImpl extends AbstractTable implements IgniteCacheTable {
         return Collections.emptyList();
     }
 
+    /** {@inheritDoc} */
+    @Override public <Row> List<Iterable<Row>> parallelScan(
+        ExecutionContext<Row> execCtx,
+        ColocationGroup grp,
+        @Nullable ImmutableBitSet usedColumns,
+        int parallelism
+    ) {
+        UUID locNodeId = execCtx.localNodeId();
+
+        int[] parts = grp.nodeIds().contains(locNodeId) ? grp.partitions(locNodeId) : null;
+
+        // All partitions of replicated caches are scanned whatever partitions are requested.
+        if (parallelism < 2 || parts == null || parts.length < 2 || desc.cacheContext().isReplicated())
+            return Collections.singletonList(scan(execCtx, grp, usedColumns));
+
+        int cnt = Math.min(parallelism, parts.length);
+
+        List<Iterable<Row>> res = new ArrayList<>(cnt);
+
+        for (int i = 0; i < cnt; i++) {
+            int[] scanParts = new int[(parts.length - i + cnt - 1) / cnt];
+
+            for (int j = 0; j < scanParts.length; j++)
+                scanParts[j] = parts[i + j * cnt];
+
+            res.add(new TableScan<>(execCtx, desc, scanParts, usedColumns));
+        }
+
+        return res;
+    }
+
     /** {@inheritDoc} */
     @Override public IgniteDistribution distribution() {
         return desc.distribution();
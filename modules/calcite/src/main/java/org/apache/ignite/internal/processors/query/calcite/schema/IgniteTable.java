@@ -16,6 +16,8 @@
  */
 package org.apache.ignite.internal.processors.query.calcite.schema;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 import org.apache.calcite.plan.RelOptTable;
 import org.apache.calcite.rel.core.TableScan;
@@ -71,6 +73,25 @@ public interface IgniteTable extends TranslatableTable {
         ColocationGroup grp,
         @Nullable ImmutableBitSet usedColumns);
 
+    /**
+     * Creates rows iterators over the table, each of the iterators reads a part of local partitions, so the iterators
+     * may be read in parallel.
+     *
+     * @param execCtx Execution context.
+     * @param grp Colocation group.
+     * @param usedColumns Used columns enumeration.
+     * @param parallelism Maximum number of iterators.
+     * @return Rows iterators, a single iterator if the table can't be read in parallel.
+     */
+    public default <Row> List<Iterable<Row>> parallelScan(
+        ExecutionContext<Row> execCtx,
+        ColocationGroup grp,
+        @Nullable ImmutableBitSet usedColumns,
+        int parallelism
+    ) {
+        return Collections.singletonList(scan(execCtx, grp, usedColumns));
+    }
+
     /**
      * Returns nodes mapping.
      *
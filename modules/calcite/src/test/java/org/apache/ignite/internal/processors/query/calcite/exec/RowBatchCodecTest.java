@@ -0,0 +1,124 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.calcite.exec;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+/**
+ * Checks encoding of batches of rows sent to remote nodes.
+ */
+public class RowBatchCodecTest extends GridCommonAbstractTest {
+    /** */
+    private static final RowHandler<Object[]> HND = ArrayRowHandler.INSTANCE;
+
+    /** */
+    @Test
+    public void testEncodeDecode() {
+        Random rnd = new Random();
+
+        for (int rowsCnt : new int[] {0, 1, 7, 8, 9, 512}) {
+            List<Object[]> rows = new ArrayList<>(rowsCnt);
+
+            for (int i = 0; i < rowsCnt; i++) {
+                boolean nulls = i % 3 == 0;
+
+                rows.add(new Object[] {
+                    i,
+                    nulls ? null : rnd.nextLong(),
+                    nulls ? null : rnd.nextDouble(),
+                    nulls ? null : rnd.nextFloat(),
+                    nulls ? null : (short)rnd.nextInt(),
+                    nulls ? null : (byte)rnd.nextInt(),
+                    nulls ? null : rnd.nextBoolean(),
+                    nulls ? null : new UUID(rnd.nextLong(), rnd.nextLong()),
+                    nulls ? null : "name" + i + "é中",
+                    nulls ? null : new byte[i % 10],
+                    nulls ? null : BigDecimal.valueOf(rnd.nextLong(), i % 20 - 5),
+                    null,
+                    ""
+                });
+            }
+
+            byte[] data = RowBatchCodec.encode(rows, HND);
+
+            assertNotNull(data);
+
+            List<Object[]> decoded = RowBatchCodec.decode(data, HND);
+
+            assertEquals(rowsCnt, decoded.size());
+
+            for (int i = rowsCnt - 1; i >= 0; i--) {
+                assertEqualsArraysAware(rows.get(i), decoded.get(i));
+
+                Object[] row = decoded.get(i);
+
+                assertSame(row, decoded.set(i, null));
+                assertNull(decoded.get(i));
+            }
+        }
+    }
+
+    /** */
+    @Test
+    public void testStrings() {
+        String[] strs = {
+            "", "a", "\u0000", "\u007F\u0080\u07FF\u0800\uFFFF", "é中", "\uD83D\uDE00",
+            "a\uD83D", "\uDE00b", "\uDE00\uD83D", "\uD800\uD800x\uDFFF"
+        };
+
+        List<Object[]> rows = new ArrayList<>();
+
+        for (String str : strs)
+            rows.add(new Object[] {str});
+
+        List<Object[]> decoded = RowBatchCodec.decode(RowBatchCodec.encode(rows, HND), HND);
+
+        for (int i = 0; i < strs.length; i++)
+            assertEquals(strs[i], decoded.get(i)[0]);
+    }
+
+    /** */
+    @Test
+    public void testUnsupportedValues() {
+        List<Object[]> rows = new ArrayList<>();
+
+        rows.add(new Object[] {1, "a"});
+        rows.add(new Object[] {2L, "b"});
+
+        assertNull("Values of different types", RowBatchCodec.encode(rows, HND));
+
+        rows.clear();
+
+        rows.add(new Object[] {1, new Object()});
+
+        assertNull("Value of unsupported type", RowBatchCodec.encode(rows, HND));
+
+        rows.clear();
+
+        rows.add(new Object[] {1, "a"});
+        rows.add(new Object[] {2});
+
+        assertNull("Rows of different length", RowBatchCodec.encode(rows, HND));
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.apache.ignite.internal.processors.query.calcite.exec;
+
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+/**
+ * Checks filters of join keys sent to nodes of the probe side of hash joins.
+ */
+public class RuntimeJoinFilterTest extends GridCommonAbstractTest {
+    /** */
+    private static final RowHandler<Object[]> HND = ArrayRowHandler.INSTANCE;
+
+    /** */
+    private static final int KEYS = 10_000;
+
+    /** */
+    @Test
+    public void testMightMatch() {
+        // Build rows have keys in columns 1 and 2, probe rows have keys in columns 0 and 2.
+        RowHandler<Object[]> keyHnd = new MappingRowHandler<>(HND, new int[] {1, 2});
+
+        RuntimeJoinFilter filter = new RuntimeJoinFilter(new int[] {0, 2}, KEYS);
+
+        for (int i = 0; i < KEYS; i++)
+            filter.add(new Object[] {"build" + i, i, "key" + i}, keyHnd);
+
+        // Filter is checked by a remote node.
+        filter = new RuntimeJoinFilter(filter.keys(), filter.bits().clone());
+
+        for (int i = 0; i < KEYS; i++)
+            assertTrue(filter.mightMatch(new Object[] {i, "probe" + i, "key" + i}, HND));
+
+        int falsePositives = 0;
+
+        for (int i = KEYS; i < 2 * KEYS; i++) {
+            if (filter.mightMatch(new Object[] {i, "probe" + i, "key" + i}, HND))
+                falsePositives++;
+        }
+
+        assertTrue("Too many false positives: " + falsePositives, falsePositives < KEYS / 20);
+
+        // Mismatched keys.
+        assertFalse(filter.mightMatch(new Object[] {1, "probe", "key2"}, HND) &&
+            filter.mightMatch(new Object[] {3, "probe", "key4"}, HND) &&
+            filter.mightMatch(new Object[] {5, "probe", "key6"}, HND));
+
+        // Rows with NULL keys are checked by the join itself.
+        assertTrue(filter.mightMatch(new Object[] {null, "probe", "key"}, HND));
+    }
+
+    /** */
+    @Test
+    public void testEmpty() {
+        RuntimeJoinFilter filter = new RuntimeJoinFilter(new int[] {0}, 0);
+
+        for (int i = 0; i < 100; i++)
+            assertFalse(filter.mightMatch(new Object[] {i}, HND));
+    }
+}
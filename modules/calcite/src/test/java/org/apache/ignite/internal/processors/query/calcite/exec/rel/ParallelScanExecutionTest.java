@@ -0,0 +1,175 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.calcite.exec.rel;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.calcite.rel.type.RelDataType;
+import org.apache.calcite.rex.RexBuilder;
+import org.apache.calcite.rex.RexInputRef;
+import org.apache.calcite.rex.RexNode;
+import org.apache.calcite.sql.fun.SqlStdOperatorTable;
+import org.apache.ignite.internal.processors.query.calcite.exec.ExecutionContext;
+import org.apache.ignite.internal.processors.query.calcite.type.IgniteTypeFactory;
+import org.apache.ignite.internal.processors.query.calcite.util.TypeUtils;
+import org.apache.ignite.internal.util.typedef.F;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.junit.Test;
+
+/**
+ * Execution test for the scan node reading several sources in parallel.
+ */
+public class ParallelScanExecutionTest extends AbstractExecutionTest {
+    /** Number of rows. */
+    private static final int ROWS = IN_BUFFER_SIZE * 20 + 7;
+
+    /**
+     * Checks that all rows of all sources are filtered, projected and pushed once.
+     */
+    @Test
+    public void testParallelScan() throws Exception {
+        ExecutionContext<Object[]> ctx = executionContext(F.first(nodes()), UUID.randomUUID(), 0);
+        IgniteTypeFactory tf = ctx.getTypeFactory();
+        RelDataType rowType = TypeUtils.createRowType(tf, int.class, String.class);
+        RelDataType prjType = TypeUtils.createRowType(tf, String.class);
+
+        RexBuilder rexBuilder = new RexBuilder(tf);
+
+        // id > 100
+        RexNode cond = rexBuilder.makeCall(SqlStdOperatorTable.GREATER_THAN, RexInputRef.of(0, rowType),
+            rexBuilder.makeExactLiteral(BigDecimal.valueOf(100)));
+
+        for (int srcsCnt : new int[] {1, 2, 7}) {
+            AtomicInteger closed = new AtomicInteger();
+
+            ParallelScanNode<Object[]> scan = new ParallelScanNode<>("TEST", ctx, prjType, sources(srcsCnt, closed),
+                () -> ctx.expressionFactory().predicate(cond, rowType), () -> r -> row(r[1]));
+
+            RootNode<Object[]> root = new RootNode<>(ctx, prjType);
+            root.register(scan);
+
+            for (int i = 0; i < 2; i++) {
+                Set<Object> res = new HashSet<>();
+
+                while (root.hasNext())
+                    assertTrue(res.add(root.next()[0]));
+
+                assertEquals(ROWS - 101, res.size());
+
+                for (int id = 101; id < ROWS; id++)
+                    assertTrue(res.contains("name" + id));
+
+                // Sources are read again after rewind.
+                root.rewind();
+            }
+
+            root.close();
+
+            assertTrue(GridTestUtils.waitForCondition(() -> closed.get() == srcsCnt, 10_000));
+        }
+    }
+
+    /**
+     * Checks that sources are closed once workers stop if the node is closed before all rows are read.
+     */
+    @Test
+    public void testCloseBeforeEnd() throws Exception {
+        ExecutionContext<Object[]> ctx = executionContext(F.first(nodes()), UUID.randomUUID(), 0);
+        RelDataType rowType = TypeUtils.createRowType(ctx.getTypeFactory(), int.class, String.class);
+
+        AtomicInteger closed = new AtomicInteger();
+
+        ParallelScanNode<Object[]> scan = new ParallelScanNode<>("TEST", ctx, rowType, sources(4, closed), null, null);
+
+        RootNode<Object[]> root = new RootNode<>(ctx, rowType);
+        root.register(scan);
+
+        for (int i = 0; i < 10; i++)
+            assertTrue(root.hasNext() && root.next() != null);
+
+        root.close();
+
+        assertTrue(GridTestUtils.waitForCondition(() -> closed.get() == 4, 10_000));
+    }
+
+    /**
+     * @param cnt Number of sources.
+     * @param closed Counter of closed sources.
+     * @return Sources dealing rows round-robin.
+     */
+    private List<Iterable<Object[]>> sources(int cnt, AtomicInteger closed) {
+        List<Iterable<Object[]>> res = new ArrayList<>(cnt);
+
+        for (int i = 0; i < cnt; i++)
+            res.add(new TestSource(i, cnt, closed));
+
+        return res;
+    }
+
+    /** */
+    private static class TestSource implements Iterable<Object[]>, AutoCloseable {
+        /** */
+        private final int first;
+
+        /** */
+        private final int step;
+
+        /** */
+        private final AtomicInteger closed;
+
+        /** */
+        private TestSource(int first, int step, AtomicInteger closed) {
+            this.first = first;
+            this.step = step;
+            this.closed = closed;
+        }
+
+        /** {@inheritDoc} */
+        @Override public Iterator<Object[]> iterator() {
+            return new Iterator<Object[]>() {
+                /** */
+                private int id = first;
+
+                /** {@inheritDoc} */
+                @Override public boolean hasNext() {
+                    return id < ROWS;
+                }
+
+                /** {@inheritDoc} */
+                @Override public Object[] next() {
+                    Object[] row = {id, "name" + id};
+
+                    id += step;
+
+                    return row;
+                }
+            };
+        }
+
+        /** {@inheritDoc} */
+        @Override public void close() {
+            closed.incrementAndGet();
+        }
+    }
+}
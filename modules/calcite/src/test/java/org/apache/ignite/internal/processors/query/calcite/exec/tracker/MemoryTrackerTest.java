@@ -224,6 +224,70 @@ public class MemoryTrackerTest extends GridCommonAbstractTest {
         assertEquals(899_000L + ExecutionNodeMemoryTracker.BATCH_SIZE * 2, globalTracker.allocated());
     }
 
+    /** */
+    @Test
+    public void testTryAllocate() {
+        MemoryTracker globalTracker = new GlobalMemoryTracker(1_000_000L);
+        MemoryTracker qryTracker1 = new QueryMemoryTracker(globalTracker, 900_000L);
+        MemoryTracker qryTracker2 = new QueryMemoryTracker(globalTracker, 0L);
+
+        assertTrue(qryTracker1.tryAllocate(800_000L));
+        assertFalse(qryTracker1.tryAllocate(200_000L));
+
+        assertEquals(800_000L, qryTracker1.allocated());
+        assertEquals(800_000L, globalTracker.allocated());
+
+        // Global quota.
+        assertFalse(qryTracker2.tryAllocate(300_000L));
+        assertTrue(qryTracker2.tryAllocate(200_000L));
+
+        assertEquals(200_000L, qryTracker2.allocated());
+        assertEquals(1_000_000L, globalTracker.allocated());
+
+        qryTracker1.reset();
+        qryTracker2.reset();
+
+        assertEquals(0L, globalTracker.allocated());
+    }
+
+    /** */
+    @Test
+    public void testSpillRequired() {
+        MemoryTracker globalTracker = new GlobalMemoryTracker(10_000_000L);
+        MemoryTracker qryTracker = new QueryMemoryTracker(globalTracker, ExecutionNodeMemoryTracker.BATCH_SIZE * 2);
+        RowTracker<Object[]> rowTracker = new ExecutionNodeMemoryTracker<>(qryTracker, 1_000L, true);
+
+        Object[] row = new Object[1];
+
+        while (!rowTracker.spillRequired())
+            rowTracker.onRowAdded(row);
+
+        // Rows which memory can't be reserved for don't fail on the quota.
+        assertEquals(ExecutionNodeMemoryTracker.BATCH_SIZE * 2, qryTracker.allocated());
+
+        // Rows which are not spilled fail on the quota.
+        GridTestUtils.assertThrows(log, () -> {
+            for (int i = 0; i < ExecutionNodeMemoryTracker.BATCH_SIZE / 1_000L + 1; i++)
+                rowTracker.onRowAdded(row);
+        }, IgniteException.class, "Query quota");
+
+        rowTracker.reset();
+
+        assertFalse(rowTracker.spillRequired());
+        assertEquals(0L, qryTracker.allocated());
+        assertEquals(0L, globalTracker.allocated());
+
+        // Trackers of nodes which are unable to spill rows fail on the quota.
+        RowTracker<Object[]> rowTracker2 = new ExecutionNodeMemoryTracker<>(qryTracker, 1_000L);
+
+        GridTestUtils.assertThrows(log, () -> {
+            for (int i = 0; i < ExecutionNodeMemoryTracker.BATCH_SIZE * 3 / 1_000L; i++)
+                rowTracker2.onRowAdded(row);
+        }, IgniteException.class, "Query quota");
+
+        assertFalse(rowTracker2.spillRequired());
+    }
+
     /** */
     @Test
     public void testObjectSizeCalculator() {
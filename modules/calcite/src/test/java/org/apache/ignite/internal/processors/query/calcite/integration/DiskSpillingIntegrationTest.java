@@ -0,0 +1,277 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.calcite.integration;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.cache.query.FieldsQueryCursor;
+import org.apache.ignite.calcite.CalciteQueryEngineConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.configuration.SqlConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.processors.cache.query.GridCacheQueryType;
+import org.apache.ignite.internal.processors.performancestatistics.AbstractPerformanceStatisticsTest;
+import org.apache.ignite.internal.processors.query.calcite.QueryChecker;
+import org.apache.ignite.internal.processors.query.calcite.exec.SpillManager;
+import org.apache.ignite.internal.util.typedef.F;
+import org.apache.ignite.internal.util.typedef.G;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.spi.metric.LongMetric;
+import org.junit.Test;
+
+import static org.apache.ignite.internal.processors.cache.query.GridCacheQueryType.SQL_FIELDS;
+import static org.apache.ignite.internal.processors.performancestatistics.AbstractPerformanceStatisticsTest.cleanPerformanceStatisticsDir;
+import static org.apache.ignite.internal.processors.performancestatistics.AbstractPerformanceStatisticsTest.startCollectStatistics;
+import static org.apache.ignite.internal.processors.performancestatistics.AbstractPerformanceStatisticsTest.stopCollectStatisticsAndRead;
+import static org.apache.ignite.testframework.GridTestUtils.waitForCondition;
+
+/**
+ * Checks spilling of rows of execution nodes to disk.
+ */
+public class DiskSpillingIntegrationTest extends AbstractBasicIntegrationTest {
+    /** Quota less than the memory taken by rows of each checked operator. */
+    private static final long QRY_MEMORY_QUOTA = 300_000L;
+
+    /** Number of bytes spilled before the test. */
+    private long spilledBytesBefore;
+
+    /** {@inheritDoc} */
+    @Override protected int nodeCount() {
+        return 2;
+    }
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        return super.getConfiguration(igniteInstanceName)
+            .setSqlConfiguration(new SqlConfiguration().setQueryEnginesConfiguration(
+                new CalciteQueryEngineConfiguration()
+                    .setQueryMemoryQuota(QRY_MEMORY_QUOTA)
+                    .setDiskSpillingEnabled(true)));
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        sql("CREATE TABLE tbl (id INT, b VARBINARY) WITH TEMPLATE=REPLICATED");
+
+        for (int i = 0; i < 1000; i++)
+            sql("INSERT INTO tbl VALUES (?, ?)", i, new byte[1000]);
+
+        sql("CREATE TABLE tbl2 (id INT, b VARBINARY) WITH TEMPLATE=PARTITIONED");
+
+        for (int i = 500; i < 1500; i++)
+            sql("INSERT INTO tbl2 VALUES (?, ?)", i, new byte[1000]);
+
+        spilledBytesBefore = spilledBytes();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        super.afterTest();
+
+        // Spill files are deleted once nodes are closed.
+        for (Ignite ign : G.allGrids()) {
+            File dir = spillDirectory(ign);
+
+            assertTrue("Spill files aren't deleted [ignite=" + ign.name() + ']',
+                waitForCondition(() -> F.isEmpty(dir.listFiles()), 1_000L));
+        }
+
+        cleanPerformanceStatisticsDir();
+    }
+
+    /** */
+    @Test
+    public void testSortNode() throws Exception {
+        assertQuery("SELECT id, b FROM tbl ORDER BY id")
+            .matches(QueryChecker.containsSubPlan("IgniteSort"))
+            .withRowsIterator(true)
+            .resultSize(1000)
+            .check();
+
+        List<List<?>> res = query("SELECT id, b FROM tbl2 ORDER BY id DESC");
+
+        assertEquals(1000, res.size());
+
+        for (int i = 0; i < res.size(); i++)
+            assertEquals(1499 - i, res.get(i).get(0));
+
+        checkSpilled();
+    }
+
+    /** */
+    @Test
+    public void testHashAggregateNode() throws Exception {
+        // Colocated.
+        assertQuery("SELECT id, ANY_VALUE(b) FROM tbl GROUP BY id")
+            .matches(QueryChecker.containsSubPlan("IgniteColocatedHashAggregate"))
+            .withRowsIterator(true)
+            .resultSize(1000)
+            .check();
+
+        // Map-reduce.
+        Map<Integer, Long> exp = new HashMap<>();
+
+        for (int i = 500; i < 1500; i++)
+            exp.merge(i % 700, 1L, Long::sum);
+
+        List<List<?>> res = query("SELECT id % 700, COUNT(*), ANY_VALUE(b) FROM tbl2 GROUP BY id % 700");
+
+        assertEquals(exp.size(), res.size());
+
+        for (List<?> row : res)
+            assertEquals(exp.get((Integer)row.get(0)), row.get(1));
+
+        checkSpilled();
+    }
+
+    /** */
+    @Test
+    public void testHashJoinNode() throws Exception {
+        String qry = "SELECT /*+ HASH_JOIN */ tbl.id, tbl.b, tbl2.id, tbl2.b FROM tbl %s JOIN tbl2 ON tbl.id = tbl2.id";
+
+        assertQuery(String.format(qry, "INNER"))
+            .matches(QueryChecker.containsSubPlan("IgniteHashJoin"))
+            .withRowsIterator(true)
+            .resultSize(500)
+            .check();
+
+        assertQuery(String.format(qry, "LEFT")).withRowsIterator(true).resultSize(1000).check();
+        assertQuery(String.format(qry, "RIGHT")).withRowsIterator(true).resultSize(1000).check();
+        assertQuery(String.format(qry, "FULL")).withRowsIterator(true).resultSize(1500).check();
+
+        // Non-equi conditions.
+        qry += " AND tbl.id < 700";
+
+        assertQuery(String.format(qry, "INNER")).withRowsIterator(true).resultSize(200).check();
+        assertQuery(String.format(qry, "LEFT")).withRowsIterator(true).resultSize(1000).check();
+        assertQuery(String.format(qry, "RIGHT")).withRowsIterator(true).resultSize(1000).check();
+        assertQuery(String.format(qry, "FULL")).withRowsIterator(true).resultSize(1800).check();
+
+        checkSpilled();
+    }
+
+    /** */
+    @Test
+    public void testPerformanceStatistics() throws Exception {
+        cleanPerformanceStatisticsDir();
+        startCollectStatistics();
+
+        assertEquals(1000, query("SELECT id, b FROM tbl2 ORDER BY id").size());
+
+        checkSpilled();
+
+        // Statistics of spilled rows are written once fragments are closed.
+        for (Ignite ign : G.allGrids()) {
+            assertTrue(waitForCondition(
+                () -> queryProcessor(ign).queryRegistry().runningQueries().isEmpty(), 1_000L));
+        }
+
+        Set<Long> qryIds = ConcurrentHashMap.newKeySet();
+        Set<Long> spillQryIds = ConcurrentHashMap.newKeySet();
+        AtomicLong bytes = new AtomicLong();
+        AtomicLong files = new AtomicLong();
+
+        stopCollectStatisticsAndRead(new AbstractPerformanceStatisticsTest.TestHandler() {
+            @Override public void query(
+                UUID nodeId,
+                GridCacheQueryType type,
+                String text,
+                long id,
+                long qryStartTime,
+                long duration,
+                boolean success
+            ) {
+                if (text.startsWith("SELECT id, b FROM tbl2"))
+                    qryIds.add(id);
+            }
+
+            @Override public void querySpill(
+                UUID nodeId,
+                GridCacheQueryType type,
+                UUID qryNodeId,
+                long id,
+                long spilledBytes,
+                long spillFiles
+            ) {
+                assertEquals(client.localNode().id(), qryNodeId);
+                assertEquals(SQL_FIELDS, type);
+
+                spillQryIds.add(id);
+                bytes.addAndGet(spilledBytes);
+                files.addAndGet(spillFiles);
+            }
+        });
+
+        assertEquals(qryIds, spillQryIds);
+        assertTrue(bytes.get() > 0);
+        assertTrue(files.get() > 0);
+    }
+
+    /** Checks that rows were spilled on some node. */
+    private void checkSpilled() {
+        assertTrue(spilledBytes() > spilledBytesBefore);
+    }
+
+    /** @return Number of bytes spilled on all nodes. */
+    private static long spilledBytes() {
+        long bytes = 0;
+
+        for (Ignite ign : G.allGrids()) {
+            LongMetric metric = ((IgniteEx)ign).context().metric().registry(SpillManager.SPILL_METRICS)
+                .findMetric("SpilledBytes");
+
+            bytes += metric.value();
+        }
+
+        return bytes;
+    }
+
+    /**
+     * Reads rows of the query by the iterator of the cursor, since rows fetched by {@code getAll()} are limited by
+     * the memory quota.
+     *
+     * @param sql Query.
+     * @return Rows.
+     */
+    private List<List<?>> query(String sql) {
+        List<List<?>> res = new ArrayList<>();
+
+        try (FieldsQueryCursor<List<?>> cur = queryProcessor(client).query(queryContext(), "PUBLIC", sql).get(0)) {
+            for (List<?> row : cur)
+                res.add(row);
+        }
+
+        return res;
+    }
+
+    /** */
+    private static File spillDirectory(Ignite ign) throws Exception {
+        return new File(U.resolveWorkDirectory(ign.configuration().getWorkDirectory(), "calcite_spill", false),
+            ign.cluster().localNode().id().toString());
+    }
+}
@@ -22,6 +22,7 @@ import org.apache.calcite.plan.RelOptPlanner.CannotPlanException;
 import org.apache.calcite.rel.RelCollations;
 import org.apache.calcite.rel.RelFieldCollation;
 import org.apache.calcite.util.ImmutableIntList;
+import org.apache.ignite.internal.processors.query.calcite.rel.IgniteExchange;
 import org.apache.ignite.internal.processors.query.calcite.rel.IgniteHashJoin;
 import org.apache.ignite.internal.processors.query.calcite.rel.IgniteSort;
 import org.apache.ignite.internal.processors.query.calcite.schema.IgniteSchema;
@@ -107,6 +108,27 @@ public class HashJoinPlannerTest extends AbstractPlannerTest {
         );
     }
 
+    /**
+     * Checks that a small build side is broadcast instead of redistribution of a large probe side by join keys.
+     */
+    @Test
+    public void testHashJoinBroadcastsRightInput() throws Exception {
+        TestTable smallTbl = createSimpleTable("SMALL_TBL", 1000);
+        TestTable largeTbl = createSimpleTable("LARGE_TBL", 500_000);
+
+        IgniteSchema schema = createSchema(smallTbl, largeTbl);
+
+        assertPlan(
+            "select t1.ID, t1.INT_VAL, t2.ID, t2.INT_VAL from LARGE_TBL t1 join SMALL_TBL t2 on t1.INT_VAL = t2.INT_VAL",
+            schema,
+            nodeOrAnyChild(isInstanceOf(IgniteHashJoin.class)
+                .and(input(0, nodeOrAnyChild(isInstanceOf(IgniteExchange.class)).negate()))
+                .and(input(1, isInstanceOf(IgniteExchange.class)
+                    .and(hasDistribution(IgniteDistributions.broadcast()))))),
+            DISABLED_RULES
+        );
+    }
+
     /** */
     @Test
     public void testHashJoinApplied() throws Exception {
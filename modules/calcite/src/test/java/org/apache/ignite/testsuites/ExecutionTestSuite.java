@@ -30,6 +30,7 @@ import org.apache.ignite.internal.processors.query.calcite.exec.rel.LimitExecuti
 import org.apache.ignite.internal.processors.query.calcite.exec.rel.MergeJoinExecutionTest;
 import org.apache.ignite.internal.processors.query.calcite.exec.rel.MinusExecutionTest;
 import org.apache.ignite.internal.processors.query.calcite.exec.rel.NestedLoopJoinExecutionTest;
+import org.apache.ignite.internal.processors.query.calcite.exec.rel.ParallelScanExecutionTest;
 import org.apache.ignite.internal.processors.query.calcite.exec.rel.ScanTableRowExecutionTest;
 import org.apache.ignite.internal.processors.query.calcite.exec.rel.SortAggregateExecutionTest;
 import org.apache.ignite.internal.processors.query.calcite.exec.rel.SortedIndexSpoolExecutionTest;
@@ -65,6 +66,7 @@ import org.junit.runners.Suite;
     UncollectExecutionTest.class,
     ScanTableRowExecutionTest.class,
     WindowExecutionTest.class,
+    ParallelScanExecutionTest.class,
 })
 public class ExecutionTestSuite {
 }
@@ -20,6 +20,8 @@ package org.apache.ignite.testsuites;
 import org.apache.ignite.internal.processors.query.calcite.QueryCheckerTest;
 import org.apache.ignite.internal.processors.query.calcite.exec.ClosableIteratorsHolderTest;
 import org.apache.ignite.internal.processors.query.calcite.exec.KeyFilteringCursorTest;
+import org.apache.ignite.internal.processors.query.calcite.exec.RowBatchCodecTest;
+import org.apache.ignite.internal.processors.query.calcite.exec.RuntimeJoinFilterTest;
 import org.apache.ignite.internal.processors.query.calcite.exec.exp.IgniteSqlFunctionsTest;
 import org.apache.ignite.internal.processors.query.calcite.exec.task.QueryBlockingTaskExecutorTest;
 import org.apache.ignite.internal.processors.query.calcite.exec.task.QueryTasksQueueTest;
@@ -37,6 +39,8 @@ import org.junit.runners.Suite;
     QueryCheckerTest.class,
     IgniteSqlFunctionsTest.class,
     KeyFilteringCursorTest.class,
+    RowBatchCodecTest.class,
+    RuntimeJoinFilterTest.class,
     QueryBlockingTaskExecutorTest.class,
     QueryTasksQueueTest.class,
 })
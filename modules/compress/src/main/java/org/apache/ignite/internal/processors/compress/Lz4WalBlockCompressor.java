@@ -0,0 +1,51 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.compress;
+
+import java.nio.ByteBuffer;
+import net.jpountz.lz4.LZ4Compressor;
+
+/**
+ * LZ4 compressor of WAL archive segment blocks.
+ */
+public class Lz4WalBlockCompressor implements WalBlockCompressor {
+    /** */
+    private final LZ4Compressor compressor = CompressionProcessorImpl.Lz4.fastCompressor;
+
+    /**
+     * @param level Compression level, ignored: the fast compressor is always used to keep up with WAL archiving.
+     */
+    public Lz4WalBlockCompressor(int level) {
+        // No-op.
+    }
+
+    /** {@inheritDoc} */
+    @Override public int maxCompressedLength(int len) {
+        return compressor.maxCompressedLength(len);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void compress(ByteBuffer src, ByteBuffer dst) {
+        compressor.compress(src, dst);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void decompress(ByteBuffer src, ByteBuffer dst) {
+        CompressionProcessorImpl.Lz4.decompress(src, dst);
+    }
+}
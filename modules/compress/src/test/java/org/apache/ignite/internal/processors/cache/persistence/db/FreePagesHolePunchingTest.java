@@ -0,0 +1,222 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.db;
+
+import java.util.Arrays;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cache.affinity.rendezvous.RendezvousAffinityFunction;
+import org.apache.ignite.cluster.ClusterState;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.DataRegionConfiguration;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.processors.cache.CacheGroupMetricsImpl;
+import org.apache.ignite.internal.processors.cache.persistence.GridCacheDatabaseSharedManager;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.spi.metric.LongMetric;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.WithSystemProperty;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_HOLE_PUNCHING_RATE;
+import static org.apache.ignite.internal.processors.metric.impl.MetricUtils.metricName;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Checks punching of holes in place of free pages of partition files of persistent caches.
+ */
+@WithSystemProperty(key = IGNITE_HOLE_PUNCHING_RATE, value = "100000")
+public class FreePagesHolePunchingTest extends GridCommonAbstractTest {
+    /** Number of keys. */
+    private static final int KEYS = 50_000;
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        return super.getConfiguration(igniteInstanceName)
+            .setDataStorageConfiguration(new DataStorageConfiguration()
+                .setDefaultDataRegionConfiguration(new DataRegionConfiguration()
+                    .setPersistenceEnabled(true)))
+            .setCacheConfiguration(new CacheConfiguration<>(DEFAULT_CACHE_NAME)
+                .setAffinity(new RendezvousAffinityFunction(false, 2)));
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        stopAllGrids();
+
+        cleanPersistenceDir();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        cleanPersistenceDir();
+
+        super.afterTest();
+    }
+
+    /**
+     * Checks that disk space of removed rows is freed and the data survives a restart.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testHolePunching() throws Exception {
+        assumeTrue(U.isLinux());
+
+        IgniteEx ig = startGrid(0);
+
+        ig.cluster().state(ClusterState.ACTIVE);
+
+        IgniteCache<Integer, byte[]> cache = ig.cache(DEFAULT_CACHE_NAME);
+
+        for (int i = 0; i < KEYS; i++)
+            cache.put(i, value(i));
+
+        forceCheckpoint();
+
+        // Emptied data pages are recycled to reuse lists.
+        for (int i = KEYS / 10; i < KEYS; i++)
+            cache.remove(i);
+
+        // Recycled pages are punched only after they are written by a checkpoint.
+        forceCheckpoint();
+
+        waitForPunchedPages(ig);
+
+        CacheGroupMetricsImpl metrics = ig.cachex(DEFAULT_CACHE_NAME).context().group().metrics();
+
+        assertTrue(metrics.getSparseStorageSize() < metrics.getStorageSize());
+
+        checkData(cache, KEYS / 10);
+
+        // Punched pages are taken from reuse lists and written again.
+        for (int i = KEYS / 10; i < KEYS / 5; i++)
+            cache.put(i, value(i));
+
+        forceCheckpoint();
+
+        stopGrid(0);
+
+        ig = startGrid(0);
+
+        ig.cluster().state(ClusterState.ACTIVE);
+
+        checkData(ig.cache(DEFAULT_CACHE_NAME), KEYS / 5);
+    }
+
+    /**
+     * Checks that punched pages reused after the last checkpoint are restored by crash recovery.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testRecoveryOfReusedPunchedPages() throws Exception {
+        assumeTrue(U.isLinux());
+
+        IgniteEx ig = startGrid(0);
+
+        ig.cluster().state(ClusterState.ACTIVE);
+
+        IgniteCache<Integer, byte[]> cache = ig.cache(DEFAULT_CACHE_NAME);
+
+        for (int i = 0; i < KEYS; i++)
+            cache.put(i, value(i));
+
+        forceCheckpoint();
+
+        for (int i = KEYS / 10; i < KEYS; i++)
+            cache.remove(i);
+
+        forceCheckpoint();
+
+        waitForPunchedPages(ig);
+
+        GridCacheDatabaseSharedManager db = (GridCacheDatabaseSharedManager)ig.context().cache().context().database();
+
+        db.enableCheckpoints(false).get(getTestTimeout());
+
+        // All removed keys are inserted again, so punched pages are taken from reuse lists and changed after the last
+        // checkpoint. Only the WAL has their new content.
+        for (int i = KEYS / 10; i < KEYS; i++)
+            cache.put(i, value(i));
+
+        for (int i = 0; i < KEYS / 10; i++)
+            cache.remove(i);
+
+        stopGrid(0, true);
+
+        ig = startGrid(0);
+
+        ig.cluster().state(ClusterState.ACTIVE);
+
+        cache = ig.cache(DEFAULT_CACHE_NAME);
+
+        for (int i = 0; i < KEYS; i++) {
+            byte[] val = cache.get(i);
+
+            if (i < KEYS / 10)
+                assertNull(val);
+            else
+                assertTrue("Unexpected value of key " + i, Arrays.equals(value(i), val));
+        }
+    }
+
+    /**
+     * @param ig Node.
+     * @throws Exception If failed.
+     */
+    private void waitForPunchedPages(IgniteEx ig) throws Exception {
+        LongMetric punched = ig.context().metric().registry(
+            metricName(CacheGroupMetricsImpl.CACHE_GROUP_METRICS_PREFIX, DEFAULT_CACHE_NAME)).findMetric("PunchedPages");
+
+        assertTrue(GridTestUtils.waitForCondition(() -> punched.value() > 100, getTestTimeout()));
+    }
+
+    /**
+     * @param cache Cache.
+     * @param keys Number of keys which are expected to be present, other keys are expected to be removed.
+     */
+    private void checkData(IgniteCache<Integer, byte[]> cache, int keys) {
+        for (int i = 0; i < KEYS; i++) {
+            byte[] val = cache.get(i);
+
+            if (i >= keys)
+                assertNull(val);
+            else
+                assertTrue("Unexpected value of key " + i, Arrays.equals(value(i), val));
+        }
+    }
+
+    /**
+     * @param key Key.
+     * @return Value of variable size.
+     */
+    private static byte[] value(int key) {
+        byte[] res = new byte[100 + key % 200];
+
+        Arrays.fill(res, (byte)key);
+
+        return res;
+    }
+}
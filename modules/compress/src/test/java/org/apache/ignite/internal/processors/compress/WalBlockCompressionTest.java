@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.compress;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import org.apache.ignite.internal.processors.cache.persistence.file.BlockCompressedFileIO;
+import org.apache.ignite.internal.processors.cache.persistence.file.BlockCompressedFileWriter;
+import org.apache.ignite.internal.processors.cache.persistence.file.FileIO;
+import org.apache.ignite.internal.processors.cache.persistence.file.RandomAccessFileIOFactory;
+import org.apache.ignite.internal.util.GridLongList;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+/**
+ * Tests block compressed WAL segments format.
+ */
+@RunWith(Parameterized.class)
+public class WalBlockCompressionTest extends GridCommonAbstractTest {
+    /** Block size. */
+    private static final int BLOCK_SIZE = 4096;
+
+    /** Compression level. */
+    private static final int LEVEL = 1;
+
+    /** */
+    @Parameterized.Parameters(name = "codec = {0}")
+    public static List<WalSegmentCodec> codecs() {
+        return Arrays.asList(WalSegmentCodec.LZ4, WalSegmentCodec.ZSTD);
+    }
+
+    /** */
+    @Parameterized.Parameter
+    public WalSegmentCodec codec;
+
+    /** Test file. */
+    private File file;
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        file = File.createTempFile("wal-block", ".zip");
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        file.delete();
+
+        super.afterTest();
+    }
+
+    /**
+     * Checks data is read sequentially and randomly and records are found by original offsets.
+     */
+    @Test
+    public void testReadAndSeek() throws Exception {
+        RandomAccessFileIOFactory factory = new RandomAccessFileIOFactory();
+
+        byte[] data = new byte[BLOCK_SIZE * 10 + 123];
+
+        // Compressible data: repeated random runs.
+        for (int i = 0; i < data.length; i += 16)
+            Arrays.fill(data, i, Math.min(i + 16, data.length), (byte)ThreadLocalRandom.current().nextInt());
+
+        // Records of 100 bytes, the original offset is twice as large as the compacted one.
+        GridLongList recOffs = new GridLongList();
+
+        try (BlockCompressedFileWriter out = new BlockCompressedFileWriter(factory.create(file), codec,
+            codec.createBlockCompressor(LEVEL), BLOCK_SIZE)) {
+            for (int off = 0; off < data.length; off += 100) {
+                out.onRecord(off * 2L);
+
+                recOffs.add(off);
+
+                out.write(data, off, Math.min(100, data.length - off));
+            }
+        }
+
+        assertTrue(file.length() < data.length);
+
+        try (FileIO io = factory.create(file)) {
+            assertTrue(BlockCompressedFileIO.isBlockCompressed(io));
+        }
+
+        try (BlockCompressedFileIO io = new BlockCompressedFileIO(factory.create(file))) {
+            assertEquals(data.length, io.size());
+
+            ByteBuffer buf = ByteBuffer.allocate(data.length + 1);
+
+            while (io.read(buf) > 0) {
+                // No-op.
+            }
+
+            assertEquals(data.length, buf.position());
+            assertEquals(-1, io.read(buf));
+            assertEqualsArraysAware(data, Arrays.copyOf(buf.array(), data.length));
+
+            for (int i = 0; i < 100; i++) {
+                int pos = ThreadLocalRandom.current().nextInt(data.length);
+
+                io.position(pos);
+
+                ByteBuffer b = ByteBuffer.allocate(1);
+
+                assertEquals(1, io.read(b));
+                assertEquals(data[pos], b.get(0));
+                assertEquals(pos + 1, io.position());
+            }
+
+            assertEquals(-1, io.recordOffset(-1));
+
+            for (int i = 0; i < recOffs.size(); i++) {
+                long recOff = recOffs.get(i);
+
+                long found = io.recordOffset(recOff * 2);
+
+                // The first record of the block is found.
+                assertTrue(found <= recOff);
+                assertTrue(found >= recOff / BLOCK_SIZE * BLOCK_SIZE);
+            }
+        }
+    }
+}
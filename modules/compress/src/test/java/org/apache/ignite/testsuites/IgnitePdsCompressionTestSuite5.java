@@ -19,6 +19,7 @@ package org.apache.ignite.testsuites;
 
 import java.util.ArrayList;
 import java.util.List;
+import org.apache.ignite.internal.processors.cache.persistence.db.FreePagesHolePunchingTest;
 import org.apache.ignite.internal.processors.cache.persistence.db.IgnitePdsCheckpointRecoveryWithCompressionTest;
 import org.apache.ignite.internal.processors.compress.CompressionConfigurationTest;
 import org.apache.ignite.internal.processors.compress.CompressionProcessorTest;
@@ -42,6 +43,7 @@ public class IgnitePdsCompressionTestSuite5 extends AbstractIgnitePdsCompression
         suite.add(DiskPageCompressionIntegrationAsyncTest.class);
 
         suite.add(IgnitePdsCheckpointRecoveryWithCompressionTest.class);
+        suite.add(FreePagesHolePunchingTest.class);
 
         enableCompressionByDefault();
         IgniteSnapshotTestSuite2.addSnapshotTests1(suite, null);
@@ -21,11 +21,13 @@ import java.util.ArrayList;
 import java.util.List;
 import org.apache.ignite.internal.processors.cache.persistence.db.wal.IgnitePdsCheckpointSimulationWithRealCpDisabledAndWalCompressionTest;
 import org.apache.ignite.internal.processors.cache.persistence.db.wal.WalCompactionAndPageCompressionTest;
+import org.apache.ignite.internal.processors.cache.persistence.db.wal.WalCompactionWithLz4CodecTest;
 import org.apache.ignite.internal.processors.cache.persistence.db.wal.WalRecoveryWithPageCompressionAndTdeTest;
 import org.apache.ignite.internal.processors.cache.persistence.db.wal.WalRecoveryWithPageCompressionTest;
 import org.apache.ignite.internal.processors.cache.persistence.snapshot.SnapshotCompressionBasicTest;
 import org.apache.ignite.internal.processors.compress.DiskPageCompressionConfigValidationTest;
 import org.apache.ignite.internal.processors.compress.DiskPageCompressionIntegrationTest;
+import org.apache.ignite.internal.processors.compress.WalBlockCompressionTest;
 import org.apache.ignite.internal.processors.compress.WalPageCompressionIntegrationTest;
 import org.apache.ignite.testframework.junits.DynamicSuite;
 import org.junit.runner.RunWith;
@@ -47,6 +49,8 @@ public class IgnitePdsCompressionTestSuite6 extends AbstractIgnitePdsCompression
         suite.add(WalRecoveryWithPageCompressionAndTdeTest.class);
         suite.add(IgnitePdsCheckpointSimulationWithRealCpDisabledAndWalCompressionTest.class);
         suite.add(WalCompactionAndPageCompressionTest.class);
+        suite.add(WalCompactionWithLz4CodecTest.class);
+        suite.add(WalBlockCompressionTest.class);
 
         suite.add(SnapshotCompressionBasicTest.class);
 
@@ -1368,12 +1368,14 @@ public class IgniteIndexReader implements AutoCloseable {
             IndexKeyTypeSettings settings = new IndexKeyTypeSettings();
 
             for (int i = 0; i < io.getCount(addr); i++) {
-                int itemOff = io.offset(i);
+                // Keys of a prefix compressed item are copied to a buffer.
+                long itemAddr = io.inlineAddress(addr, i);
+                int itemInlineSz = io.inlineSize(addr, i);
                 int realInlineSz = 0;
                 int fldCnt = 0;
 
-                while (realInlineSz < inlineSz && fldCnt < ctx.inlineFldCnt) {
-                    int type0 = PageUtils.getByte(addr, itemOff + realInlineSz);
+                while (realInlineSz < itemInlineSz && fldCnt < ctx.inlineFldCnt) {
+                    int type0 = PageUtils.getByte(itemAddr, realInlineSz);
 
                     IndexKeyType idxKeyType;
 
@@ -1405,7 +1407,7 @@ public class IgniteIndexReader implements AutoCloseable {
                     if (type.keySize() == UNKNOWN_CACHE) {
                         try {
                             // Assuming all variable length keys written using `writeBytes` method.
-                            byte[] bytes = NullableInlineIndexKeyType.readBytes(addr, itemOff + realInlineSz);
+                            byte[] bytes = NullableInlineIndexKeyType.readBytes(itemAddr, realInlineSz);
 
                             realInlineSz += Short.BYTES; /* size of the array is short number. */
                             realInlineSz += bytes.length;
@@ -1423,7 +1425,7 @@ public class IgniteIndexReader implements AutoCloseable {
                     fldCnt++;
                 }
 
-                ctx.inline[realInlineSz - 1]++;
+                ctx.inline[Math.min(realInlineSz, inlineSz) - 1]++;
             }
         }
 
@@ -32,10 +32,12 @@ import org.apache.ignite.configuration.DataStorageConfiguration;
 import org.apache.ignite.configuration.DeploymentMode;
 import org.apache.ignite.configuration.DiskPageCompression;
 import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.cache.query.index.sorted.inline.InlineIndexBulkLoader;
 import org.apache.ignite.internal.cache.query.index.sorted.inline.InlineRecommender;
 import org.apache.ignite.internal.processors.cache.persistence.checkpoint.CheckpointEntry;
 import org.apache.ignite.internal.processors.cache.persistence.checkpoint.CheckpointMarkersStorage;
 import org.apache.ignite.internal.processors.cache.persistence.snapshot.IgniteSnapshotManager;
+import org.apache.ignite.internal.processors.compress.WalSegmentCodec;
 import org.apache.ignite.internal.processors.metastorage.DistributedMetaStorage;
 import org.apache.ignite.internal.processors.performancestatistics.FilePerformanceStatisticsWriter;
 import org.apache.ignite.internal.processors.query.schema.SchemaIndexCachePartitionWorker;
@@ -53,6 +55,8 @@ import static org.apache.ignite.internal.IgniteKernal.DFLT_LONG_OPERATIONS_DUMP_
 import static org.apache.ignite.internal.LongJVMPauseDetector.DEFAULT_JVM_PAUSE_DETECTOR_THRESHOLD;
 import static org.apache.ignite.internal.LongJVMPauseDetector.DFLT_JVM_PAUSE_DETECTOR_LAST_EVENTS_COUNT;
 import static org.apache.ignite.internal.LongJVMPauseDetector.DFLT_JVM_PAUSE_DETECTOR_PRECISION;
+import static org.apache.ignite.internal.cache.query.index.sorted.inline.InlineIndexBulkLoader.DFLT_INDEX_BULK_LOAD_FILL_FACTOR;
+import static org.apache.ignite.internal.cache.query.index.sorted.inline.InlineIndexBulkLoader.DFLT_INDEX_BULK_LOAD_SORT_BUFFER_SIZE;
 import static org.apache.ignite.internal.cache.query.index.sorted.inline.InlineRecommender.DFLT_THROTTLE_INLINE_SIZE_CALCULATION;
 import static org.apache.ignite.internal.managers.discovery.GridDiscoveryManager.DFLT_DISCOVERY_HISTORY_SIZE;
 import static org.apache.ignite.internal.processors.affinity.AffinityAssignment.DFLT_AFFINITY_BACKUPS_THRESHOLD;
@@ -80,10 +84,15 @@ import static org.apache.ignite.internal.processors.cache.distributed.dht.preloa
 import static org.apache.ignite.internal.processors.cache.distributed.dht.preloader.GridDhtPreloader.DFLT_PRELOAD_RESEND_TIMEOUT;
 import static org.apache.ignite.internal.processors.cache.distributed.dht.topology.GridDhtLocalPartition.DFLT_ATOMIC_CACHE_DELETE_HISTORY_SIZE;
 import static org.apache.ignite.internal.processors.cache.distributed.dht.topology.GridDhtLocalPartition.DFLT_CACHE_REMOVE_ENTRIES_TTL;
+import static org.apache.ignite.internal.processors.cache.persistence.FreeListCompactor.DFLT_FREE_LIST_COMPACTION_RATE;
+import static org.apache.ignite.internal.processors.cache.persistence.FreePagesHolePuncher.DFLT_HOLE_PUNCHING_RATE;
 import static org.apache.ignite.internal.processors.cache.persistence.GridCacheDatabaseSharedManager.DFLT_DEFRAGMENTATION_REGION_SIZE_PERCENTAGE;
 import static org.apache.ignite.internal.processors.cache.persistence.GridCacheDatabaseSharedManager.DFLT_PDS_WAL_REBALANCE_THRESHOLD;
+import static org.apache.ignite.internal.processors.cache.persistence.GridCacheDatabaseSharedManager.DFLT_WAL_RECOVERY_DECODER_THREADS;
+import static org.apache.ignite.internal.processors.cache.persistence.LargeValueStore.DFLT_LARGE_VALUE_THRESHOLD;
 import static org.apache.ignite.internal.processors.cache.persistence.checkpoint.CheckpointHistory.DFLT_PDS_MAX_CHECKPOINT_MEMORY_HISTORY_SIZE;
 import static org.apache.ignite.internal.processors.cache.persistence.checkpoint.CheckpointMarkersStorage.DFLT_IGNITE_CHECKPOINT_MAP_SNAPSHOT_THRESHOLD;
+import static org.apache.ignite.internal.processors.cache.persistence.checkpoint.CheckpointPagesWriterFactory.DFLT_CHECKPOINT_WRITE_COALESCE_PAGES;
 import static org.apache.ignite.internal.processors.cache.persistence.checkpoint.CheckpointWorkflow.DFLT_CHECKPOINT_PARALLEL_SORT_THRESHOLD;
 import static org.apache.ignite.internal.processors.cache.persistence.diagnostic.pagelocktracker.PageLockTrackerFactory.DFLT_PAGE_LOCK_TRACKER_CAPACITY;
 import static org.apache.ignite.internal.processors.cache.persistence.diagnostic.pagelocktracker.PageLockTrackerFactory.HEAP_LOG;
@@ -91,6 +100,7 @@ import static org.apache.ignite.internal.processors.cache.persistence.diagnostic
 import static org.apache.ignite.internal.processors.cache.persistence.pagemem.FullPageIdTable.DFLT_LONG_LONG_HASH_MAP_LOAD_FACTOR;
 import static org.apache.ignite.internal.processors.cache.persistence.pagemem.PageMemoryImpl.DFLT_DELAYED_REPLACED_PAGE_WRITE;
 import static org.apache.ignite.internal.processors.cache.persistence.pagemem.PageMemoryImpl.DFLT_LOADED_PAGES_BACKWARD_SHIFT_MAP;
+import static org.apache.ignite.internal.processors.cache.persistence.pagemem.PageMemoryImpl.DFLT_PAGE_READ_AHEAD_WINDOW;
 import static org.apache.ignite.internal.processors.cache.persistence.pagemem.PagesWriteThrottlePolicy.DFLT_THROTTLE_LOG_THRESHOLD;
 import static org.apache.ignite.internal.processors.cache.persistence.snapshot.IgniteSnapshotManager.DFLT_IGNITE_SNAPSHOT_SEQUENTIAL_WRITE;
 import static org.apache.ignite.internal.processors.cache.persistence.tree.BPlusTree.IGNITE_BPLUS_TREE_LOCK_RETRIES_DEFAULT;
@@ -109,6 +119,7 @@ import static org.apache.ignite.internal.processors.cache.transactions.IgniteTxM
 import static org.apache.ignite.internal.processors.cache.transactions.IgniteTxManager.DFLT_TX_DEADLOCK_DETECTION_MAX_ITERS;
 import static org.apache.ignite.internal.processors.cache.transactions.IgniteTxManager.DFLT_TX_OWNER_DUMP_REQUESTS_ALLOWED;
 import static org.apache.ignite.internal.processors.cache.transactions.TxDeadlockDetection.DFLT_TX_DEADLOCK_DETECTION_TIMEOUT;
+import static org.apache.ignite.internal.processors.cache.tree.CacheDataKeyFilter.DFLT_CACHE_KEY_FILTER_BITS_PER_KEY;
 import static org.apache.ignite.internal.processors.cluster.ClusterProcessor.DFLT_DIAGNOSTIC_ENABLED;
 import static org.apache.ignite.internal.processors.cluster.ClusterProcessor.DFLT_UPDATE_NOTIFIER;
 import static org.apache.ignite.internal.processors.cluster.baseline.autoadjust.BaselineTopologyUpdater.DFLT_BASELINE_AUTO_ADJUST_LOG_INTERVAL;
@@ -1163,6 +1174,21 @@ public final class IgniteSystemProperties extends IgniteCommonsSystemProperties
         "this mode", defaults = "true")
     public static final String IGNITE_DIRECT_IO_ENABLED = "IGNITE_DIRECT_IO_ENABLED";
 
+    /**
+     * When set to {@code true}, page store files and WAL files in {@code FSYNC} mode are accessed through Linux io_uring.
+     * Enabled only if JAR file with direct IO feature is available in classpath and kernel supports io_uring, takes
+     * precedence over direct IO. Default is {@code false}.
+     */
+    @SystemProperty(value = "Enables io_uring based file IO for page store and WAL in FSYNC mode. Enabled only if " +
+        "JAR file with direct IO feature is available in classpath and kernel supports io_uring, takes precedence " +
+        "over direct IO", defaults = "false")
+    public static final String IGNITE_IO_URING_ENABLED = "IGNITE_IO_URING_ENABLED";
+
+    /** Submission queue depth of io_uring used for page store and WAL files. */
+    @SystemProperty(value = "Submission queue depth of io_uring used for page store and WAL files",
+        type = Integer.class, defaults = "256")
+    public static final String IGNITE_IO_URING_QUEUE_DEPTH = "IGNITE_IO_URING_QUEUE_DEPTH";
+
     /**
      * When set to {@code true} (default), pages are written to page store without holding segment lock (with delay).
      * Because other thread may require exactly the same page to be loaded from store, reads are protected by locking.
@@ -1234,6 +1260,18 @@ public final class IgniteSystemProperties extends IgniteCommonsSystemProperties
         defaults = "" + DFLT_WAL_COMPRESSOR_WORKER_THREAD_CNT)
     public static final String IGNITE_WAL_COMPRESSOR_WORKER_THREAD_CNT = "IGNITE_WAL_COMPRESSOR_WORKER_THREAD_CNT";
 
+    /**
+     * Codec of WAL archive segments compaction. {@code LZ4} and {@code ZSTD} codecs compress segments by independent
+     * blocks, which is faster than ZIP and allows to seek in a compacted segment without decompressing it from the
+     * beginning. Block codecs require ignite-compress module. Default is {@code ZIP}.
+     *
+     * @see DataStorageConfiguration#setWalCompactionEnabled(boolean)
+     * @see DataStorageConfiguration#setWalCompactionLevel(int)
+     */
+    @SystemProperty(value = "Codec of WAL archive segments compaction: ZIP, LZ4 or ZSTD. LZ4 and ZSTD " +
+        "require ignite-compress module", type = WalSegmentCodec.class, defaults = "ZIP")
+    public static final String IGNITE_WAL_COMPACTION_CODEC = "IGNITE_WAL_COMPACTION_CODEC";
+
     /**
      * Whenever read load balancing is enabled, that means 'get' requests will be distributed between primary and backup
      * nodes if it is possible and {@link CacheConfiguration#isReadFromBackup()} is {@code true}.
@@ -1260,6 +1298,25 @@ public final class IgniteSystemProperties extends IgniteCommonsSystemProperties
     @SystemProperty(value = "Disables secondary indexes B+Tree metrics", defaults = "false")
     public static final String IGNITE_BPLUS_TREE_DISABLE_METRICS = "IGNITE_BPLUS_TREE_DISABLE_METRICS";
 
+    /**
+     * Enables optimistic reads of inner pages by B+Tree lookups. Inner pages are copied without taking the page read
+     * lock and the copy is validated against the page write version, the page is read under the lock if a concurrent
+     * modification is detected. Keeping the write version takes additional 8 bytes of memory per page. Search rows
+     * are compared with the copy only if the tree can do it with the page data, otherwise the page is read under
+     * the lock.
+     */
+    @SystemProperty(value = "Enables lock-free optimistic reads of inner pages by B+Tree lookups", defaults = "false")
+    public static final String IGNITE_BPLUS_TREE_OPTIMISTIC_READS = "IGNITE_BPLUS_TREE_OPTIMISTIC_READS";
+
+    /**
+     * Enables the map of size classes of free space of free lists. A bit is kept per bucket of the free list which
+     * tells whether the bucket contains pages, so a page with enough free space for a row is taken from the smallest
+     * non-empty bucket without probing the empty ones.
+     */
+    @SystemProperty(value = "Enables the map of size classes of free space of free lists used to take a page for " +
+        "a row from the smallest non-empty bucket", defaults = "false")
+    public static final String IGNITE_FREE_LIST_SIZE_CLASS_MAP = "IGNITE_FREE_LIST_SIZE_CLASS_MAP";
+
     /**
      * Amount of memory reserved in the heap at node start, which can be dropped to increase the chances of success when
      * handling OutOfMemoryError.
@@ -1528,6 +1585,16 @@ public final class IgniteSystemProperties extends IgniteCommonsSystemProperties
         type = Integer.class)
     public static final String IGNITE_RECOVERY_SEMAPHORE_PERMITS = "IGNITE_RECOVERY_SEMAPHORE_PERMITS";
 
+    /**
+     * Number of threads reading and deserializing WAL records during binary and logical recovery on node start.
+     * Each thread reads its own subset of WAL segments ahead of the records applying. If {@code 0} (default), records
+     * are read by the applying thread.
+     */
+    @SystemProperty(value = "Number of threads reading and deserializing WAL records during binary and logical " +
+        "recovery on node start. If 0, records are read by the applying thread", type = Integer.class,
+        defaults = "" + DFLT_WAL_RECOVERY_DECODER_THREADS)
+    public static final String IGNITE_WAL_RECOVERY_DECODER_THREADS = "IGNITE_WAL_RECOVERY_DECODER_THREADS";
+
     /**
      * Maximum size of history of server nodes (server node IDs) that ever joined to current topology.
      */
@@ -1580,6 +1647,86 @@ public final class IgniteSystemProperties extends IgniteCommonsSystemProperties
         type = Integer.class, defaults = "" + DFLT_CHECKPOINT_PARALLEL_SORT_THRESHOLD)
     public static final String CHECKPOINT_PARALLEL_SORT_THRESHOLD = "CHECKPOINT_PARALLEL_SORT_THRESHOLD";
 
+    /**
+     * Maximum number of adjacent dirty pages of a partition which are written to disk by one IO operation during
+     * checkpoint. Value {@code 1} disables coalescing of checkpoint page writes.
+     */
+    @SystemProperty(value = "Maximum number of adjacent dirty pages of a partition which are written to disk by one " +
+        "IO operation during checkpoint. Value 1 disables coalescing of checkpoint page writes",
+        type = Integer.class, defaults = "" + DFLT_CHECKPOINT_WRITE_COALESCE_PAGES)
+    public static final String IGNITE_CHECKPOINT_WRITE_COALESCE_PAGES = "IGNITE_CHECKPOINT_WRITE_COALESCE_PAGES";
+
+    /**
+     * Enables adaptive checkpoint scheduling: a checkpoint is started before the checkpoint frequency timeout if
+     * dirty pages or WAL growth speed is predicted to make writer threads throttled or to force a checkpoint.
+     */
+    @SystemProperty("Enables adaptive checkpoint scheduling: a checkpoint is started before the checkpoint " +
+        "frequency timeout if dirty pages or WAL growth speed is predicted to make writer threads throttled or to " +
+        "force a checkpoint")
+    public static final String IGNITE_CHECKPOINT_ADAPTIVE_SCHEDULING = "IGNITE_CHECKPOINT_ADAPTIVE_SCHEDULING";
+
+    /**
+     * Enables delta checkpoint writes: if only a few parts of a dirty page were changed since the page was read or
+     * written, checkpoint appends the changed parts to a side file of the partition instead of rewriting the whole
+     * page. Delta records are merged into the partition file by the next full write of the page.
+     */
+    @SystemProperty("Enables delta checkpoint writes: if only a few parts of a dirty page were changed, checkpoint " +
+        "appends the changed parts to a side file of the partition instead of rewriting the whole page")
+    public static final String IGNITE_CHECKPOINT_DELTA_WRITES = "IGNITE_CHECKPOINT_DELTA_WRITES";
+
+    /**
+     * Number of pages of a partition loaded to the page memory asynchronously ahead of sequential reads of the
+     * partition from disk, for example, by scan queries or rebalancing. Value {@code 0} disables read-ahead.
+     */
+    @SystemProperty(value = "Number of pages of a partition loaded to the page memory asynchronously ahead of " +
+        "sequential reads of the partition from disk. Value 0 disables read-ahead", type = Integer.class,
+        defaults = "" + DFLT_PAGE_READ_AHEAD_WINDOW)
+    public static final String IGNITE_PAGE_READ_AHEAD_WINDOW = "IGNITE_PAGE_READ_AHEAD_WINDOW";
+
+    /**
+     * Number of bits per key of Bloom filters of keys kept for partitions of persistent caches. The filters let
+     * lookups of absent keys skip the descent of the partition data tree, which may require reading pages from disk.
+     * About 10 bits per key give 1% of false positives. Value {@code 0} disables the filters.
+     */
+    @SystemProperty(value = "Number of bits per key of Bloom filters of keys kept for partitions of persistent " +
+        "caches to answer lookups of absent keys without reading the partition data tree. Value 0 disables " +
+        "the filters", type = Integer.class, defaults = "" + DFLT_CACHE_KEY_FILTER_BITS_PER_KEY)
+    public static final String IGNITE_CACHE_KEY_FILTER_BITS_PER_KEY = "IGNITE_CACHE_KEY_FILTER_BITS_PER_KEY";
+
+    /**
+     * Maximum number of bytes of rows per second moved by online compaction of free lists of partitions of persistent
+     * caches. Compaction moves rows out of data pages which are less than half full to denser pages and recycles
+     * the emptied pages. Value {@code 0} disables compaction.
+     */
+    @SystemProperty(value = "Maximum number of bytes of rows per second moved out of sparse data pages by online " +
+        "compaction of free lists of partitions of persistent caches. Value 0 disables compaction", type = Long.class,
+        defaults = "" + DFLT_FREE_LIST_COMPACTION_RATE)
+    public static final String IGNITE_FREE_LIST_COMPACTION_RATE = "IGNITE_FREE_LIST_COMPACTION_RATE";
+
+    /**
+     * Maximum number of pages per second in place of which holes are punched in partition files of persistent caches
+     * to free disk space. Holes are punched in place of pages which stay in reuse lists for a long time, it requires
+     * native file system API which is available with {@code ignite-compress} module on Linux. Value {@code 0}
+     * disables hole punching.
+     */
+    @SystemProperty(value = "Maximum number of free pages per second in place of which holes are punched in " +
+        "partition files of persistent caches. Requires ignite-compress module on Linux. Value 0 disables hole " +
+        "punching", type = Long.class, defaults = "" + DFLT_HOLE_PUNCHING_RATE)
+    public static final String IGNITE_HOLE_PUNCHING_RATE = "IGNITE_HOLE_PUNCHING_RATE";
+
+    /**
+     * Size of a value of a persistent cache in bytes above which the value is written to a file of large values of
+     * the partition instead of a chain of data page fragments. The data row keeps a reference to the value and the
+     * value is read from the file without loading pages to page memory. Values smaller than a page are always written
+     * to data pages. Space of removed large values is reused after the next checkpoint. Caches with encryption enabled
+     * keep large values in data pages. Files of large values are not included to snapshots, so snapshots of such
+     * caches are rejected, dumps are supported. Value {@code 0} disables the store of large values.
+     */
+    @SystemProperty(value = "Size of a value of a persistent cache in bytes above which the value is written to an " +
+        "append-only file of large values of the partition instead of data pages. Value 0 disables the store of " +
+        "large values", type = Integer.class, defaults = "" + DFLT_LARGE_VALUE_THRESHOLD)
+    public static final String IGNITE_LARGE_VALUE_THRESHOLD = "IGNITE_LARGE_VALUE_THRESHOLD";
+
     /**
      * Keep static cache configuration even if stored cache data differs from the static config. When this property
      * is set, static cache configuration will override persisted configuration. DDL operations are not allowed
@@ -1885,6 +2032,50 @@ public final class IgniteSystemProperties extends IgniteCommonsSystemProperties
         type = Integer.class, defaults = "" + DFLT_IGNITE_INDEX_REBUILD_BATCH_SIZE)
     public static final String IGNITE_INDEX_REBUILD_BATCH_SIZE = "IGNITE_INDEX_REBUILD_BATCH_SIZE";
 
+    /**
+     * Enables building of indexes in bulk when they are rebuilt in maintenance mode: rows are sorted by index keys,
+     * spilling to disk if needed, and index trees are built bottom-up instead of inserting rows one by one.
+     */
+    @SystemProperty("Enables building of indexes in bulk when they are rebuilt in maintenance mode: rows are sorted " +
+        "by index keys, spilling to disk if needed, and index trees are built bottom-up instead of inserting rows one by one")
+    public static final String IGNITE_INDEX_REBUILD_BULK_LOAD = "IGNITE_INDEX_REBUILD_BULK_LOAD";
+
+    /**
+     * Fill factor of index pages built in bulk, see {@link #IGNITE_INDEX_REBUILD_BULK_LOAD}.
+     * The default value is {@link InlineIndexBulkLoader#DFLT_INDEX_BULK_LOAD_FILL_FACTOR}.
+     */
+    @SystemProperty(value = "Fill factor of index pages built in bulk", type = Double.class,
+        defaults = "" + DFLT_INDEX_BULK_LOAD_FILL_FACTOR)
+    public static final String IGNITE_INDEX_BULK_LOAD_FILL_FACTOR = "IGNITE_INDEX_BULK_LOAD_FILL_FACTOR";
+
+    /**
+     * Number of rows of an index segment sorted in memory before they are spilled to disk when the index is built
+     * in bulk, see {@link #IGNITE_INDEX_REBUILD_BULK_LOAD}.
+     * The default value is {@link InlineIndexBulkLoader#DFLT_INDEX_BULK_LOAD_SORT_BUFFER_SIZE}.
+     */
+    @SystemProperty(value = "Number of rows of an index segment sorted in memory before they are spilled to disk " +
+        "when the index is built in bulk", type = Integer.class, defaults = "" + DFLT_INDEX_BULK_LOAD_SORT_BUFFER_SIZE)
+    public static final String IGNITE_INDEX_BULK_LOAD_SORT_BUFFER_SIZE = "IGNITE_INDEX_BULK_LOAD_SORT_BUFFER_SIZE";
+
+    /**
+     * Number of threads which build indexes in bulk in the maintenance mode, see {@link #IGNITE_INDEX_REBUILD_BULK_LOAD}.
+     * Partitions are scanned and key ranges of index segments are loaded by these threads.
+     * The default value is the number of available processors.
+     */
+    @SystemProperty(value = "Number of threads which build indexes in bulk in the maintenance mode. The default value " +
+        "is the number of available processors", type = Integer.class)
+    public static final String IGNITE_INDEX_BULK_LOAD_PARALLELISM = "IGNITE_INDEX_BULK_LOAD_PARALLELISM";
+
+    /**
+     * Enables prefix compression of inlined index keys: new leaf pages of index trees store leading key columns which
+     * are equal for all rows of the page only once, so more bytes of the inline size are available for the rest of
+     * the keys. Pages written in this format can't be read by nodes of previous versions.
+     */
+    @SystemProperty("Enables prefix compression of inlined index keys: new leaf pages of index trees store leading " +
+        "key columns which are equal for all rows of the page only once. Pages written in this format can't be read " +
+        "by nodes of previous versions")
+    public static final String IGNITE_INDEX_INLINE_PREFIX_COMPRESSION = "IGNITE_INDEX_INLINE_PREFIX_COMPRESSION";
+
     /**
      * Throttle frequency for an index row inline size calculation and logging index inline size recommendation.
      * The default value is {@link InlineRecommender#DFLT_THROTTLE_INLINE_SIZE_CALCULATION}.
@@ -70,7 +70,24 @@ public enum PageReplacementMode {
      * This algorithm has near to zero maintenance cost and replacement policy efficiency between random-LRU and
      * segmented-LRU.
      */
-    CLOCK;
+    CLOCK,
+
+    /**
+     * Adaptive Replacement Cache (ARC) algorithm.
+     *
+     * ARC is a scan-resistant algorithm which keeps pages in two LRU lists: pages accessed once since they were
+     * loaded (recency list) and pages accessed at least twice (frequency list). Identifiers of pages recently replaced
+     * from each list are kept in the corresponding ghost list (without page data). A page fault on a page from a ghost
+     * list shows that the corresponding list was too small, so the target size of the recency list is adapted on the
+     * fly. Page to replace is taken from the least recently accessed end of the recency list if it exceeds the target
+     * size, and from the least recently accessed end of the frequency list otherwise. One-time scans only pass through
+     * the recency list and do not flush frequently used pages.
+     *
+     * This algorithm requires more memory than segmented-LRU to store pages lists and ghost lists (about 1% of the
+     * data region size for 4 KB pages) and need to update lists on each page access, but adapts to the workload and
+     * can outperform segmented-LRU for workloads where both frequently used pages and large scans are present.
+     */
+    ARC;
 
     /** Enumerated values. */
     private static final PageReplacementMode[] VALS = values();
@@ -25,6 +25,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.IgniteLogger;
@@ -37,6 +38,7 @@ import org.apache.ignite.internal.cache.query.index.sorted.IndexRowCacheRegistry
 import org.apache.ignite.internal.cache.query.index.sorted.MetaPageInfo;
 import org.apache.ignite.internal.cache.query.index.sorted.defragmentation.IndexingDefragmentation;
 import org.apache.ignite.internal.cache.query.index.sorted.inline.InlineIndex;
+import org.apache.ignite.internal.cache.query.index.sorted.inline.InlineIndexBulkLoader;
 import org.apache.ignite.internal.cache.query.index.sorted.inline.JavaObjectKeySerializer;
 import org.apache.ignite.internal.cache.query.index.sorted.inline.io.AbstractInlineInnerIO;
 import org.apache.ignite.internal.cache.query.index.sorted.inline.io.AbstractInlineLeafIO;
@@ -64,6 +66,7 @@ import org.apache.ignite.internal.processors.query.IgniteSQLException;
 import org.apache.ignite.internal.processors.query.QueryUtils;
 import org.apache.ignite.internal.processors.query.schema.IndexRebuildCancelToken;
 import org.apache.ignite.internal.processors.query.schema.SchemaIndexCacheVisitor;
+import org.apache.ignite.internal.systemview.IndexBulkLoadViewWalker;
 import org.apache.ignite.internal.thread.pool.IgniteThreadPoolExecutor;
 import org.apache.ignite.internal.util.GridAtomicLong;
 import org.apache.ignite.internal.util.collection.IntMap;
@@ -71,8 +74,12 @@ import org.apache.ignite.internal.util.typedef.F;
 import org.apache.ignite.internal.util.typedef.X;
 import org.apache.ignite.internal.util.typedef.internal.U;
 import org.apache.ignite.spi.IgniteSpiException;
+import org.apache.ignite.spi.systemview.view.IndexBulkLoadView;
 import org.jetbrains.annotations.Nullable;
 
+import static org.apache.ignite.spi.systemview.view.IndexBulkLoadView.INDEX_BULK_LOAD_VIEW;
+import static org.apache.ignite.spi.systemview.view.IndexBulkLoadView.INDEX_BULK_LOAD_VIEW_DESC;
+
 /**
  * Implementation of IndexingSpi that tracks all cache indexes.
  */
@@ -120,6 +127,9 @@ public class IndexProcessor extends GridProcessorAdapter {
     /** Set of index names currently in initial population (null if none). */
     private @Nullable Set<IndexName> fillingIdxs;
 
+    /** Indexes built in bulk. */
+    private final Map<IndexName, InlineIndexBulkLoader> bulkLoads = new ConcurrentHashMap<>();
+
     /**
      * @param ctx Kernal context.
      */
@@ -137,6 +147,16 @@ public class IndexProcessor extends GridProcessorAdapter {
         serializer = new JavaObjectKeySerializer(U.resolveClassLoader(ctx.config()), ctx.marshaller());
     }
 
+    /** {@inheritDoc} */
+    @Override public void start() throws IgniteCheckedException {
+        super.start();
+
+        ctx.systemView().registerView(INDEX_BULK_LOAD_VIEW, INDEX_BULK_LOAD_VIEW_DESC,
+            new IndexBulkLoadViewWalker(),
+            bulkLoads.values(),
+            IndexBulkLoadView::new);
+    }
+
     /**
      * Updates index with new row. Note that key is unique for cache, so if cache contains multiple indexes
      * the key should be removed from indexes other than one being updated.
@@ -409,6 +429,16 @@ public class IndexProcessor extends GridProcessorAdapter {
         return idxRebuild;
     }
 
+    /**
+     * Registers a loader of an index built in bulk, its progress is reported by {@link IndexBulkLoadView}.
+     * A loader of the same index registered before is replaced.
+     *
+     * @param ldr Bulk loader.
+     */
+    public void registerBulkLoad(InlineIndexBulkLoader ldr) {
+        bulkLoads.put(ldr.index().indexDefinition().idxName(), ldr);
+    }
+
     /**
      * Returns collection of indexes for specified cache.
      *
@@ -25,6 +25,7 @@ import org.apache.ignite.internal.cache.query.index.sorted.IndexRow;
 import org.apache.ignite.internal.cache.query.index.sorted.IndexRowComparator;
 import org.apache.ignite.internal.cache.query.index.sorted.inline.InlineIndexKeyType;
 import org.apache.ignite.internal.cache.query.index.sorted.inline.InlineIndexTree;
+import org.apache.ignite.internal.cache.query.index.sorted.inline.io.InlineIO;
 import org.apache.ignite.internal.cache.query.index.sorted.keys.IndexKey;
 import org.apache.ignite.internal.processors.cache.persistence.tree.BPlusTree;
 import org.apache.ignite.internal.processors.cache.persistence.tree.io.BPlusIO;
@@ -73,11 +74,15 @@ class IndexQueryCriteriaClosure implements BPlusTree.TreeRowClosure<IndexRow, In
         IndexRow low,
         IndexRow high
     ) throws IgniteCheckedException {
-        int off = io.offset(idx);
+        InlineIO inlineIo = (InlineIO)io;
+
+        // Keys of a prefix compressed row are copied to a buffer.
+        long keysAddr = inlineIo.inlineAddress(pageAddr, idx);
+        int keysSize = inlineIo.inlineSize(pageAddr, idx);
 
         int fieldOff = 0;
 
-        InlineIndexRow currRow = new InlineIndexRow(tree, io, pageAddr, idx);
+        InlineIndexRow currRow = new InlineIndexRow(tree, io, pageAddr, idx, keysAddr);
 
         List<InlineIndexKeyType> keyTypes = tree.rowHandler().inlineIndexKeyTypes();
 
@@ -94,14 +99,14 @@ class IndexQueryCriteriaClosure implements BPlusTree.TreeRowClosure<IndexRow, In
 
             boolean descOrder = keyCond.desc();
 
-            int maxSize = tree.inlineSize() - fieldOff;
+            int maxSize = keysSize - fieldOff;
 
             if (inVals != null) {
                 IndexKey key = null;
 
                 if (keyType != null && keyType.type() != JAVA_OBJECT
-                    && keyType.inlinedFullValue(pageAddr, off + fieldOff, maxSize))
-                    key = keyType.get(pageAddr, off + fieldOff, maxSize);
+                    && keyType.inlinedFullValue(keysAddr, fieldOff, maxSize))
+                    key = keyType.get(keysAddr, fieldOff, maxSize);
 
                 if (key == null) {
                     IndexRow row = io.getLookupRow(tree, pageAddr, idx);
@@ -114,7 +119,7 @@ class IndexQueryCriteriaClosure implements BPlusTree.TreeRowClosure<IndexRow, In
             }
 
             if (low != null && low.key(keyIdx) != null) {
-                int cmp = currRow.compare(rowCmp, low, keyIdx, off + fieldOff, maxSize, keyType);
+                int cmp = currRow.compare(rowCmp, low, keyIdx, fieldOff, maxSize, keyType);
 
                 if (cmp == 0) {
                     if (!c.lowerIncl())
@@ -125,7 +130,7 @@ class IndexQueryCriteriaClosure implements BPlusTree.TreeRowClosure<IndexRow, In
             }
 
             if (high != null && high.key(keyIdx) != null) {
-                int cmp = currRow.compare(rowCmp, high, keyIdx, off + fieldOff, maxSize, keyType);
+                int cmp = currRow.compare(rowCmp, high, keyIdx, fieldOff, maxSize, keyType);
 
                 if (cmp == 0) {
                     if (!c.upperIncl())
@@ -136,7 +141,7 @@ class IndexQueryCriteriaClosure implements BPlusTree.TreeRowClosure<IndexRow, In
             }
 
             if (keyType != null)
-                fieldOff += keyType.inlineSize(pageAddr, off + fieldOff);
+                fieldOff += keyType.inlineSize(keysAddr, fieldOff);
         }
 
         return true;
@@ -153,6 +158,9 @@ class IndexQueryCriteriaClosure implements BPlusTree.TreeRowClosure<IndexRow, In
         /** */
         private final int idx;
 
+        /** Address of inlined keys. */
+        private final long keysAddr;
+
         /** */
         private final InlineIndexTree tree;
 
@@ -163,9 +171,10 @@ class IndexQueryCriteriaClosure implements BPlusTree.TreeRowClosure<IndexRow, In
         private IndexRow currRow;
 
         /** */
-        private InlineIndexRow(InlineIndexTree tree, BPlusIO<IndexRow> io, long addr, int idx) {
+        private InlineIndexRow(InlineIndexTree tree, BPlusIO<IndexRow> io, long addr, int idx, long keysAddr) {
             pageAddr = addr;
             this.idx = idx;
+            this.keysAddr = keysAddr;
             this.tree = tree;
             this.io = io;
         }
@@ -183,7 +192,7 @@ class IndexQueryCriteriaClosure implements BPlusTree.TreeRowClosure<IndexRow, In
                 int cmp = COMPARE_UNSUPPORTED;
 
                 if (keyType != null)
-                    cmp = rowCmp.compareKey(pageAddr, off, maxSize, o.key(keyIdx), keyType);
+                    cmp = rowCmp.compareKey(keysAddr, off, maxSize, o.key(keyIdx), keyType);
 
                 if (cmp == COMPARE_UNSUPPORTED || cmp == CANT_BE_COMPARE)
                     currRow = tree.getRow(io, pageAddr, idx);
@@ -34,6 +34,7 @@ import org.apache.ignite.internal.cache.query.index.sorted.inline.io.IORowHandle
 import org.apache.ignite.internal.cache.query.index.sorted.inline.io.InlineIO;
 import org.apache.ignite.internal.cache.query.index.sorted.inline.io.InnerIO;
 import org.apache.ignite.internal.cache.query.index.sorted.inline.io.LeafIO;
+import org.apache.ignite.internal.cache.query.index.sorted.inline.io.PrefixInlineLeafIO;
 import org.apache.ignite.internal.metric.IoStatisticsHolder;
 import org.apache.ignite.internal.pagemem.PageMemory;
 import org.apache.ignite.internal.pagemem.PageUtils;
@@ -108,7 +109,9 @@ public class DefragIndexFactory extends InlineIndexFactory {
 
         // Set IO wrappers for the new tree.
         BPlusInnerIO<IndexRow> innerIO = (BPlusInnerIO<IndexRow>)wrap(tree.latestInnerIO(), tree.rowHandler());
-        BPlusLeafIO<IndexRow> leafIo = (BPlusLeafIO<IndexRow>)wrap(tree.latestLeafIO(), tree.rowHandler());
+        // Rows are copied with the inlined keys as is, so the new tree doesn't use prefix compression.
+        BPlusLeafIO<IndexRow> leafIo = (BPlusLeafIO<IndexRow>)wrap(
+            AbstractInlineLeafIO.versions(tree.inlineSize()).latest(), tree.rowHandler());
         tree.setIos(new IOVersions<>(innerIO), new IOVersions<>(leafIo));
 
         tree.copyMetaInfo(oldInfo);
@@ -188,16 +191,21 @@ public class DefragIndexFactory extends InlineIndexFactory {
     ) {
         long link = io.link(pageAddr, idx);
 
-        int off = io.offset(idx);
-
         int inlineSize = io.inlineSize();
 
         byte[] values;
 
         if (rowHnd.inlineIndexKeyTypes().isEmpty())
             values = EMPTY_BYTES;
-        else
-            values = PageUtils.getBytes(pageAddr, off, inlineSize);
+        else {
+            long keysAddr = io.inlineAddress(pageAddr, idx);
+            int keysSize = io.inlineSize(pageAddr, idx);
+
+            if (keysSize == inlineSize)
+                values = PageUtils.getBytes(keysAddr, 0, inlineSize);
+            else
+                values = PrefixInlineLeafIO.keys(rowHnd.inlineIndexKeyTypes(), keysAddr, keysSize, inlineSize);
+        }
 
         return new DefragIndexRowImpl(rowHnd, new CacheDataRowAdapter(link), values);
     }
@@ -246,6 +254,16 @@ public class DefragIndexFactory extends InlineIndexFactory {
         @Override public int inlineSize() {
             return io.inlineSize();
         }
+
+        /** {@inheritDoc} */
+        @Override public long inlineAddress(long pageAddr, int idx) {
+            return io.inlineAddress(pageAddr, idx);
+        }
+
+        /** {@inheritDoc} */
+        @Override public int inlineSize(long pageAddr, int idx) {
+            return io.inlineSize(pageAddr, idx);
+        }
     }
 
     /** */
@@ -292,6 +310,16 @@ public class DefragIndexFactory extends InlineIndexFactory {
         @Override public int inlineSize() {
             return io.inlineSize();
         }
+
+        /** {@inheritDoc} */
+        @Override public long inlineAddress(long pageAddr, int idx) {
+            return io.inlineAddress(pageAddr, idx);
+        }
+
+        /** {@inheritDoc} */
+        @Override public int inlineSize(long pageAddr, int idx) {
+            return io.inlineSize(pageAddr, idx);
+        }
     }
 
     /**
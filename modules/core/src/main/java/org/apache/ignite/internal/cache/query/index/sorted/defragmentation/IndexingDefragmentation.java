@@ -33,6 +33,7 @@ import org.apache.ignite.internal.cache.query.index.sorted.SortedIndexDefinition
 import org.apache.ignite.internal.cache.query.index.sorted.defragmentation.DefragIndexFactory.DefragIndexRowImpl;
 import org.apache.ignite.internal.cache.query.index.sorted.inline.InlineIndex;
 import org.apache.ignite.internal.cache.query.index.sorted.inline.InlineIndexImpl;
+import org.apache.ignite.internal.cache.query.index.sorted.inline.io.PrefixInlineLeafIO;
 import org.apache.ignite.internal.pagemem.PageMemory;
 import org.apache.ignite.internal.processors.cache.CacheGroupContext;
 import org.apache.ignite.internal.processors.cache.GridCacheContext;
@@ -165,7 +166,7 @@ public class IndexingDefragmentation {
                             lastCpLockTs.set(System.currentTimeMillis());
                         }
 
-                        assert 1 == io.getVersion()
+                        assert 1 == io.getVersion() || io instanceof PrefixInlineLeafIO
                             : "IO version " + io.getVersion() + " is not supported by current defragmentation algorithm." +
                             " Please implement copying of tree in a new format.";
 
@@ -0,0 +1,991 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.cache.query.index.sorted.inline;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteException;
+import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.internal.cache.query.index.sorted.IndexKeyDefinition;
+import org.apache.ignite.internal.cache.query.index.sorted.IndexKeyType;
+import org.apache.ignite.internal.cache.query.index.sorted.IndexRow;
+import org.apache.ignite.internal.cache.query.index.sorted.IndexRowComparator;
+import org.apache.ignite.internal.cache.query.index.sorted.IndexRowImpl;
+import org.apache.ignite.internal.cache.query.index.sorted.InlineIndexRowHandler;
+import org.apache.ignite.internal.cache.query.index.sorted.ThreadLocalRowHandlerHolder;
+import org.apache.ignite.internal.cache.query.index.sorted.keys.IndexKey;
+import org.apache.ignite.internal.processors.cache.GridCacheContext;
+import org.apache.ignite.internal.processors.cache.persistence.CacheDataRow;
+import org.apache.ignite.internal.processors.cache.persistence.CacheDataRowAdapter;
+import org.apache.ignite.internal.processors.cache.persistence.IgniteCacheDatabaseSharedManager;
+import org.apache.ignite.internal.processors.cache.persistence.tree.BPlusTree;
+import org.apache.ignite.internal.util.lang.IgniteThrowableConsumer;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.spi.systemview.view.IndexBulkLoadView;
+
+/**
+ * Builds an empty inline index from cache rows in bulk.
+ * <p>
+ * Added rows are sorted by the index keys with an external merge sort: when the sort buffer of a segment is full,
+ * the buffer is sorted and spilled to disk as a run of row links. When all rows are added, every segment is split
+ * into key ranges by rows sampled from the sorted runs. Ranges are loaded in parallel: the runs of a range are merged
+ * and leaf pages are filled by {@link BPlusTree.BulkLoad} and its leaf writers, instead of descending the tree and
+ * splitting half-filled pages for every row. Finally, the leaf pages of the ranges are linked and the inner levels of
+ * the segment tree are built.
+ * <p>
+ * Rows can be added concurrently. The index must not be modified by anyone else until the rows are loaded.
+ * Progress of the load is reported by {@link IndexBulkLoadView}.
+ */
+public class InlineIndexBulkLoader implements AutoCloseable {
+    /** Default fill factor of index pages built in bulk. */
+    public static final double DFLT_INDEX_BULK_LOAD_FILL_FACTOR = 0.9;
+
+    /** Default number of rows sorted in memory before they are spilled to disk, for every index segment. */
+    public static final int DFLT_INDEX_BULK_LOAD_SORT_BUFFER_SIZE = 500_000;
+
+    /** Min number of rows in a key range loaded in parallel with other ranges of a segment. */
+    private static final int MIN_RANGE_ROWS = 1024;
+
+    /** Number of rows sampled from every sorted run per key range to find the bounds of ranges. */
+    private static final int RANGE_SAMPLES = 2;
+
+    /** Buffer size of spill file streams. */
+    private static final int IO_BUF_SIZE = 64 * 1024;
+
+    /** Index. */
+    private final InlineIndexImpl idx;
+
+    /** Cache context. */
+    private final GridCacheContext<?, ?> cctx;
+
+    /** Directory of spill files. */
+    private final File spillDir;
+
+    /** Number of rows sorted in memory. */
+    private final int sortBufSize;
+
+    /** Fill factor of index pages. */
+    private final double fillFactor;
+
+    /** Number of rows loaded within a single checkpoint read lock. */
+    private final int batchSize;
+
+    /** Executor of parallel load. */
+    private final ExecutorService exec;
+
+    /** Number of threads loading the rows. */
+    private final int parallelism;
+
+    /** Row handler. */
+    private final InlineIndexRowHandler rowHnd;
+
+    /** Comparator of rows by index keys. */
+    private final Comparator<IndexRow> cmp;
+
+    /** Segments. */
+    private final Segment[] segments;
+
+    /** Logger. */
+    private final IgniteLogger log;
+
+    /** Stage. */
+    private volatile Stage stage = Stage.COLLECTING;
+
+    /** Number of added rows. */
+    private final LongAdder rowsCollected = new LongAdder();
+
+    /** Number of spilled runs. */
+    private final AtomicInteger spilledRuns = new AtomicInteger();
+
+    /** Number of key ranges. */
+    private volatile int ranges;
+
+    /** Number of loaded key ranges. */
+    private final AtomicInteger rangesLoaded = new AtomicInteger();
+
+    /** Number of loaded rows. */
+    private final LongAdder rowsLoaded = new LongAdder();
+
+    /**
+     * @param idx Empty index.
+     * @param cctx Cache context.
+     * @param spillDir Directory of spill files.
+     * @param sortBufSize Number of rows sorted in memory before they are spilled to disk, for every index segment.
+     * @param fillFactor Fill factor of index pages.
+     * @param batchSize Number of rows loaded within a single checkpoint read lock.
+     * @param exec Executor of parallel load.
+     * @param parallelism Number of threads loading the rows.
+     */
+    public InlineIndexBulkLoader(
+        InlineIndexImpl idx,
+        GridCacheContext<?, ?> cctx,
+        File spillDir,
+        int sortBufSize,
+        double fillFactor,
+        int batchSize,
+        ExecutorService exec,
+        int parallelism
+    ) {
+        assert supported(idx) : idx.name();
+
+        this.idx = idx;
+        this.cctx = cctx;
+        this.spillDir = spillDir;
+        this.sortBufSize = Math.max(1, sortBufSize);
+        this.fillFactor = fillFactor;
+        this.batchSize = Math.max(1, batchSize);
+        this.exec = exec;
+        this.parallelism = Math.max(1, parallelism);
+
+        rowHnd = idx.segment(0).rowHandler();
+
+        IndexRowComparator rowCmp = idx.indexDefinition().rowComparator();
+
+        cmp = (r1, r2) -> {
+            try {
+                return InlineIndexTree.compareFullRows(r1, r2, 0, rowHnd, rowCmp);
+            }
+            catch (IgniteCheckedException e) {
+                throw new IgniteException(e);
+            }
+        };
+
+        segments = new Segment[idx.segmentsCount()];
+
+        for (int i = 0; i < segments.length; i++)
+            segments[i] = new Segment(idx.segment(i));
+
+        log = cctx.logger(InlineIndexBulkLoader.class);
+    }
+
+    /**
+     * Checks whether the index can be built in bulk. Inlined java objects are compared by hash codes in index pages,
+     * so rows sorted by the index keys do not follow the order of such index trees.
+     *
+     * @param idx Index.
+     * @return {@code True} if the index can be built in bulk.
+     */
+    public static boolean supported(InlineIndexImpl idx) {
+        for (IndexKeyDefinition keyDef : idx.segment(0).rowHandler().indexKeyDefinitions()) {
+            if (keyDef.indexKeyType() == IndexKeyType.JAVA_OBJECT)
+                return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Adds a cache row to the index if the row can be handled by the index.
+     *
+     * @param row Cache row.
+     * @throws IgniteCheckedException If failed.
+     */
+    public void add(CacheDataRow row) throws IgniteCheckedException {
+        if (!idx.canHandle(row))
+            return;
+
+        Segment seg = segments[idx.segmentForRow(row)];
+
+        IndexKey[] keys = new IndexKey[rowHnd.indexKeyDefinitions().size()];
+
+        for (int i = 0; i < keys.length; i++)
+            keys[i] = rowHnd.indexKey(i, row);
+
+        // Only keys and link of the row are kept in memory.
+        IndexRowImpl idxRow = new IndexRowImpl(rowHnd, new CacheDataRowAdapter(row.link()), keys);
+
+        List<IndexRow> full = null;
+
+        synchronized (seg) {
+            seg.buf.add(idxRow);
+
+            if (seg.buf.size() >= sortBufSize) {
+                full = seg.buf;
+
+                seg.buf = new ArrayList<>();
+            }
+        }
+
+        rowsCollected.increment();
+
+        if (full != null) {
+            File run = spill(full);
+
+            synchronized (seg) {
+                seg.runs.add(run);
+            }
+
+            spilledRuns.incrementAndGet();
+        }
+    }
+
+    /**
+     * Loads all added rows to the index.
+     *
+     * @throws IgniteCheckedException If failed.
+     */
+    public void load() throws IgniteCheckedException {
+        stage = Stage.LOADING;
+
+        try {
+            doInParallel(Arrays.asList(segments), seg -> seg.buf.sort(cmp));
+
+            // Segments loaded in parallel share the threads.
+            int maxRanges = Math.max(1, parallelism / segments.length);
+
+            List<Range> all = new ArrayList<>();
+
+            ThreadLocalRowHandlerHolder.rowHandler(rowHnd);
+
+            try {
+                for (Segment seg : segments)
+                    all.addAll(split(seg, maxRanges));
+            }
+            finally {
+                ThreadLocalRowHandlerHolder.clearRowHandler();
+            }
+
+            ranges = all.size();
+
+            doInParallel(all, this::load);
+
+            stage = Stage.LINKING;
+
+            doInParallel(Arrays.asList(segments), this::link);
+
+            stage = Stage.FINISHED;
+        }
+        catch (IgniteCheckedException | RuntimeException | Error e) {
+            stage = Stage.FAILED;
+
+            throw e;
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public void close() {
+        if (stage != Stage.FINISHED)
+            stage = Stage.FAILED;
+
+        for (Segment seg : segments) {
+            synchronized (seg) {
+                seg.buf.clear();
+
+                for (SortedRows rows : seg.srcs)
+                    rows.close();
+
+                seg.srcs.clear();
+                seg.ranges.clear();
+
+                for (File run : seg.runs)
+                    U.delete(run);
+
+                seg.runs.clear();
+            }
+        }
+    }
+
+    /** @return Index. */
+    public InlineIndexImpl index() {
+        return idx;
+    }
+
+    /** @return Stage. */
+    public Stage stage() {
+        return stage;
+    }
+
+    /** @return Number of added rows. */
+    public long rowsCollected() {
+        return rowsCollected.sum();
+    }
+
+    /** @return Number of sorted runs spilled to disk. */
+    public int spilledRuns() {
+        return spilledRuns.get();
+    }
+
+    /** @return Number of key ranges, {@code 0} if the rows are not loaded yet. */
+    public int ranges() {
+        return ranges;
+    }
+
+    /** @return Number of loaded key ranges. */
+    public int rangesLoaded() {
+        return rangesLoaded.get();
+    }
+
+    /** @return Number of loaded rows. */
+    public long rowsLoaded() {
+        return rowsLoaded.sum();
+    }
+
+    /**
+     * Applies the operation to the items in parallel with the row handler of the index set for the threads.
+     *
+     * @param items Items.
+     * @param op Operation.
+     * @throws IgniteCheckedException If failed.
+     */
+    private <T> void doInParallel(Collection<T> items, IgniteThrowableConsumer<T> op) throws IgniteCheckedException {
+        U.doInParallel(parallelism, exec, items, item -> {
+            ThreadLocalRowHandlerHolder.rowHandler(rowHnd);
+
+            try {
+                op.accept(item);
+
+                return null;
+            }
+            finally {
+                ThreadLocalRowHandlerHolder.clearRowHandler();
+            }
+        });
+    }
+
+    /**
+     * Sorts rows and writes their links to a spill file.
+     *
+     * @param rows Rows.
+     * @return Spill file.
+     * @throws IgniteCheckedException If failed.
+     */
+    private File spill(List<IndexRow> rows) throws IgniteCheckedException {
+        rows.sort(cmp);
+
+        File file = null;
+
+        try {
+            file = File.createTempFile("run-", ".bin", spillDir);
+
+            try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(file), IO_BUF_SIZE))) {
+                for (IndexRow row : rows)
+                    out.writeLong(row.link());
+            }
+
+            return file;
+        }
+        catch (IOException e) {
+            if (file != null)
+                U.delete(file);
+
+            throw new IgniteCheckedException("Failed to spill sorted index rows [idx=" + idx.name() +
+                ", dir=" + spillDir + ']', e);
+        }
+    }
+
+    /**
+     * Creates the loader of the segment tree and splits the sorted rows of the segment into key ranges.
+     *
+     * @param seg Segment.
+     * @param maxRanges Max number of ranges.
+     * @return Key ranges in ascending order.
+     * @throws IgniteCheckedException If failed.
+     */
+    private List<Range> split(Segment seg, int maxRanges) throws IgniteCheckedException {
+        long total = 0;
+
+        seg.srcs.add(new MemoryRows(seg.buf));
+
+        for (File file : seg.runs)
+            seg.srcs.add(new FileRows(seg.tree, file));
+
+        for (SortedRows rows : seg.srcs)
+            total += rows.size();
+
+        IgniteCacheDatabaseSharedManager db = cctx.shared().database();
+
+        db.checkpointReadLock();
+
+        try {
+            seg.ldr = seg.tree.bulkLoad(fillFactor);
+        }
+        finally {
+            db.checkpointReadUnlock();
+        }
+
+        if (seg.ldr == null && log.isInfoEnabled()) {
+            log.info("Index pages are too small to be built in bulk, sorted rows will be inserted one by one " +
+                "[idx=" + idx.name() + ", tree=" + seg.tree.name() + ']');
+        }
+
+        // Rows inserted one by one can't be split.
+        int cnt = seg.ldr == null ? 1 : (int)Math.max(1, Math.min(maxRanges, total / MIN_RANGE_ROWS));
+
+        List<IndexRow> bounds = cnt > 1 ? bounds(seg.srcs, cnt) : Collections.emptyList();
+
+        long[] from = new long[seg.srcs.size()];
+
+        for (int i = 0; i <= bounds.size(); i++) {
+            long[] to = new long[from.length];
+
+            for (int j = 0; j < to.length; j++) {
+                SortedRows rows = seg.srcs.get(j);
+
+                to[j] = i == bounds.size() ? rows.size() : lowerBound(rows, bounds.get(i));
+            }
+
+            // The first range is loaded to the segment tree, the others are filled by writers and appended then.
+            seg.ranges.add(new Range(seg, from, to, i == 0 || seg.ldr == null ? null : seg.ldr.leafWriter()));
+
+            from = to;
+        }
+
+        // Spilled runs are read sequentially from now on.
+        for (SortedRows rows : seg.srcs)
+            rows.close();
+
+        return seg.ranges;
+    }
+
+    /**
+     * Finds the lower bounds of key ranges by rows sampled from the sorted runs. The first row of a run is never
+     * sampled, so every range contains at least one row: the first range contains the first row of the run of the
+     * first bound and other ranges contain their lower bounds.
+     *
+     * @param srcs Sorted runs.
+     * @param cnt Number of ranges.
+     * @return Lower bounds of all ranges but the first one in ascending order, maybe less than requested.
+     * @throws IgniteCheckedException If failed.
+     */
+    private List<IndexRow> bounds(List<SortedRows> srcs, int cnt) throws IgniteCheckedException {
+        int samplesPerRun = cnt * RANGE_SAMPLES;
+
+        List<IndexRow> samples = new ArrayList<>();
+
+        for (SortedRows rows : srcs) {
+            long size = rows.size();
+
+            if (size < 2)
+                continue;
+
+            for (int i = 1; i <= samplesPerRun; i++)
+                samples.add(rows.row(Math.max(1, size * i / (samplesPerRun + 1))));
+        }
+
+        if (samples.isEmpty())
+            return Collections.emptyList();
+
+        samples.sort(cmp);
+
+        List<IndexRow> res = new ArrayList<>(cnt - 1);
+
+        for (int i = 1; i < cnt; i++) {
+            IndexRow row = samples.get(i * samples.size() / cnt);
+
+            // Skip duplicate bounds, which would give empty ranges.
+            if (res.isEmpty() || cmp.compare(res.get(res.size() - 1), row) < 0)
+                res.add(row);
+        }
+
+        return res;
+    }
+
+    /**
+     * @param rows Sorted rows.
+     * @param row Row.
+     * @return Position of the first row which is not less than the given one.
+     * @throws IgniteCheckedException If failed.
+     */
+    private long lowerBound(SortedRows rows, IndexRow row) throws IgniteCheckedException {
+        long lo = 0;
+        long hi = rows.size();
+
+        while (lo < hi) {
+            long mid = (lo + hi) >>> 1;
+
+            if (cmp.compare(rows.row(mid), row) < 0)
+                lo = mid + 1;
+            else
+                hi = mid;
+        }
+
+        return lo;
+    }
+
+    /**
+     * Merges sorted runs of the key range and loads the rows to the segment tree or to the leaf writer of the range.
+     *
+     * @param range Key range.
+     * @throws IgniteCheckedException If failed.
+     */
+    private void load(Range range) throws IgniteCheckedException {
+        Segment seg = range.seg;
+
+        List<Run> runs = range.open();
+
+        PriorityQueue<Run> queue = new PriorityQueue<>(Math.max(1, runs.size()), (r1, r2) -> cmp.compare(r1.row, r2.row));
+
+        IgniteCacheDatabaseSharedManager db = cctx.shared().database();
+
+        long cnt = 0;
+
+        db.checkpointReadLock();
+
+        try {
+            for (Run run : runs) {
+                if (run.next())
+                    queue.add(run);
+            }
+
+            while (!queue.isEmpty()) {
+                Run run = queue.poll();
+
+                if (seg.ldr == null)
+                    seg.tree.putx(run.row);
+                else if (range.writer != null)
+                    range.writer.add(run.row);
+                else
+                    seg.ldr.add(run.row);
+
+                if (run.next())
+                    queue.add(run);
+
+                if (++cnt % batchSize == 0) {
+                    rowsLoaded.add(batchSize);
+
+                    db.checkpointReadUnlock();
+                    db.checkpointReadLock();
+                }
+            }
+
+            rowsLoaded.add(cnt % batchSize);
+        }
+        finally {
+            db.checkpointReadUnlock();
+
+            for (Run run : runs)
+                run.close();
+        }
+
+        rangesLoaded.incrementAndGet();
+
+        if (log.isDebugEnabled())
+            log.debug("Index key range is loaded [idx=" + idx.name() + ", tree=" + seg.tree.name() + ", rows=" + cnt + ']');
+    }
+
+    /**
+     * Appends the leaf pages of key ranges to the segment tree and finishes the tree.
+     *
+     * @param seg Segment.
+     * @throws IgniteCheckedException If failed.
+     */
+    private void link(Segment seg) throws IgniteCheckedException {
+        if (seg.ldr == null)
+            return;
+
+        IgniteCacheDatabaseSharedManager db = cctx.shared().database();
+
+        db.checkpointReadLock();
+
+        try {
+            for (Range range : seg.ranges) {
+                if (range.writer == null)
+                    continue;
+
+                while (!seg.ldr.append(range.writer, batchSize)) {
+                    db.checkpointReadUnlock();
+                    db.checkpointReadLock();
+                }
+            }
+
+            seg.ldr.finish();
+        }
+        finally {
+            db.checkpointReadUnlock();
+        }
+
+        if (log.isDebugEnabled()) {
+            log.debug("Index segment is built in bulk [idx=" + idx.name() + ", tree=" + seg.tree.name() +
+                ", ranges=" + seg.ranges.size() + ']');
+        }
+    }
+
+    /**
+     * @param tree Tree.
+     * @param link Link of the cache row.
+     * @return Index row with cached keys.
+     * @throws IgniteCheckedException If failed.
+     */
+    private static IndexRow indexRow(InlineIndexTree tree, long link) throws IgniteCheckedException {
+        IndexRowImpl idxRow = tree.createIndexRow(link);
+
+        idxRow.prepareCache();
+
+        return idxRow;
+    }
+
+    /**
+     * Stage of the bulk load.
+     */
+    public enum Stage {
+        /** Rows are collected while the cache partitions are scanned. */
+        COLLECTING,
+
+        /** Key ranges are loaded in parallel. */
+        LOADING,
+
+        /** Leaf pages of the key ranges are linked and inner pages are built. */
+        LINKING,
+
+        /** Index is built. */
+        FINISHED,
+
+        /** Load failed or was cancelled. */
+        FAILED
+    }
+
+    /**
+     * Index segment.
+     */
+    private static class Segment {
+        /** Tree. */
+        private final InlineIndexTree tree;
+
+        /** Sort buffer. */
+        private List<IndexRow> buf = new ArrayList<>();
+
+        /** Spilled runs. */
+        private final List<File> runs = new ArrayList<>();
+
+        /** Sorted runs, including the sort buffer. */
+        private final List<SortedRows> srcs = new ArrayList<>();
+
+        /** Key ranges. */
+        private final List<Range> ranges = new ArrayList<>();
+
+        /** Tree loader, {@code null} if rows are inserted one by one. */
+        private BPlusTree<IndexRow, IndexRow>.BulkLoad ldr;
+
+        /**
+         * @param tree Tree.
+         */
+        private Segment(InlineIndexTree tree) {
+            this.tree = tree;
+        }
+    }
+
+    /**
+     * Key range of a segment.
+     */
+    private static class Range {
+        /** Segment. */
+        private final Segment seg;
+
+        /** First positions of the range in the sorted runs of the segment. */
+        private final long[] from;
+
+        /** Positions next to the last ones of the range in the sorted runs of the segment. */
+        private final long[] to;
+
+        /** Leaf writer, {@code null} if the rows are loaded to the segment tree directly. */
+        private final BPlusTree<IndexRow, IndexRow>.BulkLoad.LeafWriter writer;
+
+        /**
+         * @param seg Segment.
+         * @param from First positions of the range in the sorted runs.
+         * @param to Positions next to the last ones of the range in the sorted runs.
+         * @param writer Leaf writer.
+         */
+        private Range(Segment seg, long[] from, long[] to, BPlusTree<IndexRow, IndexRow>.BulkLoad.LeafWriter writer) {
+            this.seg = seg;
+            this.from = from;
+            this.to = to;
+            this.writer = writer;
+        }
+
+        /**
+         * @return Sorted runs of the range.
+         * @throws IgniteCheckedException If failed.
+         */
+        private List<Run> open() throws IgniteCheckedException {
+            List<Run> res = new ArrayList<>(from.length);
+
+            try {
+                for (int i = 0; i < from.length; i++) {
+                    if (from[i] < to[i])
+                        res.add(seg.srcs.get(i).open(from[i], to[i]));
+                }
+            }
+            catch (IgniteCheckedException e) {
+                for (Run run : res)
+                    run.close();
+
+                throw e;
+            }
+
+            return res;
+        }
+    }
+
+    /**
+     * Sorted rows of a segment with random access.
+     */
+    private abstract static class SortedRows implements AutoCloseable {
+        /**
+         * @return Number of rows.
+         */
+        abstract long size();
+
+        /**
+         * @param pos Position.
+         * @return Row at the position.
+         * @throws IgniteCheckedException If failed.
+         */
+        abstract IndexRow row(long pos) throws IgniteCheckedException;
+
+        /**
+         * @param from First position.
+         * @param to Position next to the last one.
+         * @return Sorted run of the rows between the positions.
+         * @throws IgniteCheckedException If failed.
+         */
+        abstract Run open(long from, long to) throws IgniteCheckedException;
+
+        /** {@inheritDoc} */
+        @Override public void close() {
+            // No-op.
+        }
+    }
+
+    /**
+     * Sorted rows in memory.
+     */
+    private static class MemoryRows extends SortedRows {
+        /** Rows. */
+        private final List<IndexRow> rows;
+
+        /**
+         * @param rows Rows.
+         */
+        private MemoryRows(List<IndexRow> rows) {
+            this.rows = rows;
+        }
+
+        /** {@inheritDoc} */
+        @Override long size() {
+            return rows.size();
+        }
+
+        /** {@inheritDoc} */
+        @Override IndexRow row(long pos) {
+            return rows.get((int)pos);
+        }
+
+        /** {@inheritDoc} */
+        @Override Run open(long from, long to) {
+            return new MemoryRun(rows.subList((int)from, (int)to).iterator());
+        }
+    }
+
+    /**
+     * Sorted rows spilled to disk.
+     */
+    private static class FileRows extends SortedRows {
+        /** Tree. */
+        private final InlineIndexTree tree;
+
+        /** File. */
+        private final File file;
+
+        /** File for random access, {@code null} if not opened. */
+        private RandomAccessFile raf;
+
+        /**
+         * @param tree Tree.
+         * @param file File.
+         */
+        private FileRows(InlineIndexTree tree, File file) {
+            this.tree = tree;
+            this.file = file;
+        }
+
+        /** {@inheritDoc} */
+        @Override long size() {
+            return file.length() / Long.BYTES;
+        }
+
+        /** {@inheritDoc} */
+        @Override IndexRow row(long pos) throws IgniteCheckedException {
+            long link;
+
+            try {
+                if (raf == null)
+                    raf = new RandomAccessFile(file, "r");
+
+                raf.seek(pos * Long.BYTES);
+
+                link = raf.readLong();
+            }
+            catch (IOException e) {
+                throw new IgniteCheckedException("Failed to read spilled index rows: " + file, e);
+            }
+
+            return indexRow(tree, link);
+        }
+
+        /** {@inheritDoc} */
+        @Override Run open(long from, long to) throws IgniteCheckedException {
+            return new FileRun(tree, file, from, to);
+        }
+
+        /** {@inheritDoc} */
+        @Override public void close() {
+            U.closeQuiet(raf);
+
+            raf = null;
+        }
+    }
+
+    /**
+     * Sorted run of rows.
+     */
+    private abstract static class Run implements AutoCloseable {
+        /** Current row. */
+        IndexRow row;
+
+        /**
+         * Moves to the next row.
+         *
+         * @return {@code False} if there are no more rows.
+         * @throws IgniteCheckedException If failed.
+         */
+        abstract boolean next() throws IgniteCheckedException;
+
+        /** {@inheritDoc} */
+        @Override public void close() {
+            // No-op.
+        }
+    }
+
+    /**
+     * Sorted rows in memory.
+     */
+    private static class MemoryRun extends Run {
+        /** Rows. */
+        private final Iterator<IndexRow> it;
+
+        /**
+         * @param it Rows.
+         */
+        private MemoryRun(Iterator<IndexRow> it) {
+            this.it = it;
+        }
+
+        /** {@inheritDoc} */
+        @Override boolean next() {
+            row = it.hasNext() ? it.next() : null;
+
+            return row != null;
+        }
+    }
+
+    /**
+     * Sorted rows spilled to disk.
+     */
+    private static class FileRun extends Run {
+        /** Tree. */
+        private final InlineIndexTree tree;
+
+        /** File. */
+        private final File file;
+
+        /** Input stream. */
+        private final DataInputStream in;
+
+        /** Number of rows left. */
+        private long left;
+
+        /**
+         * @param tree Tree.
+         * @param file File.
+         * @param from First position.
+         * @param to Position next to the last one.
+         * @throws IgniteCheckedException If failed.
+         */
+        private FileRun(InlineIndexTree tree, File file, long from, long to) throws IgniteCheckedException {
+            this.tree = tree;
+            this.file = file;
+
+            left = to - from;
+
+            FileInputStream fin = null;
+
+            try {
+                fin = new FileInputStream(file);
+
+                fin.getChannel().position(from * Long.BYTES);
+
+                in = new DataInputStream(new BufferedInputStream(fin, IO_BUF_SIZE));
+            }
+            catch (IOException e) {
+                U.closeQuiet(fin);
+
+                throw new IgniteCheckedException("Failed to open spilled index rows: " + file, e);
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override boolean next() throws IgniteCheckedException {
+            if (left == 0) {
+                row = null;
+
+                return false;
+            }
+
+            long link;
+
+            try {
+                link = in.readLong();
+            }
+            catch (IOException e) {
+                throw new IgniteCheckedException("Failed to read spilled index rows: " + file, e);
+            }
+
+            left--;
+
+            row = indexRow(tree, link);
+
+            return true;
+        }
+
+        /** {@inheritDoc} */
+        @Override public void close() {
+            U.closeQuiet(in);
+        }
+    }
+}
@@ -37,6 +37,7 @@ import org.apache.ignite.internal.cache.query.index.sorted.SortedIndexDefinition
 import org.apache.ignite.internal.cache.query.index.sorted.ThreadLocalRowHandlerHolder;
 import org.apache.ignite.internal.cache.query.index.sorted.inline.io.AbstractInlineInnerIO;
 import org.apache.ignite.internal.cache.query.index.sorted.inline.io.AbstractInlineLeafIO;
+import org.apache.ignite.internal.cache.query.index.sorted.inline.io.InlineIO;
 import org.apache.ignite.internal.metric.IoStatisticsHolder;
 import org.apache.ignite.internal.pagemem.PageIdAllocator;
 import org.apache.ignite.internal.pagemem.PageMemory;
@@ -63,6 +64,7 @@ import org.apache.ignite.maintenance.MaintenanceTask;
 import org.jetbrains.annotations.Nullable;
 
 import static org.apache.ignite.IgniteSystemProperties.IGNITE_BPLUS_TREE_DISABLE_METRICS;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_INDEX_INLINE_PREFIX_COMPRESSION;
 import static org.apache.ignite.internal.cache.query.index.sorted.inline.InlineIndexImpl.INDEX_METRIC_PREFIX;
 import static org.apache.ignite.internal.cache.query.index.sorted.inline.types.NullableInlineIndexKeyType.CANT_BE_COMPARE;
 import static org.apache.ignite.internal.cache.query.index.sorted.inline.types.NullableInlineIndexKeyType.COMPARE_UNSUPPORTED;
@@ -199,7 +201,7 @@ public class InlineIndexTree extends BPlusTree<IndexRow, IndexRow> {
     private void setIos(int inlineSize) {
         setIos(
             AbstractInlineInnerIO.versions(inlineSize),
-            AbstractInlineLeafIO.versions(inlineSize)
+            AbstractInlineLeafIO.versions(inlineSize, IgniteSystemProperties.getBoolean(IGNITE_INDEX_INLINE_PREFIX_COMPRESSION))
         );
     }
 
@@ -266,7 +268,11 @@ public class InlineIndexTree extends BPlusTree<IndexRow, IndexRow> {
 
         IndexRow currRow = null;
 
-        int off = io.offset(idx);
+        InlineIO inlineIo = (InlineIO)io;
+
+        // Keys of a prefix compressed row are copied to a buffer.
+        long keysAddr = inlineIo.inlineAddress(pageAddr, idx);
+        int keysSize = inlineIo.inlineSize(pageAddr, idx);
 
         List<IndexKeyDefinition> keyDefs = rowHnd.indexKeyDefinitions();
         List<InlineIndexKeyType> keyTypes = rowHnd.inlineIndexKeyTypes();
@@ -278,16 +284,16 @@ public class InlineIndexTree extends BPlusTree<IndexRow, IndexRow> {
                 if (row.key(keyIdx) == null)
                     return 0;
 
-                int maxSize = inlineSize - fieldOff;
+                int maxSize = keysSize - fieldOff;
 
                 InlineIndexKeyType keyType = keyTypes.get(keyIdx);
 
-                int cmp = def.rowComparator().compareKey(pageAddr, off + fieldOff, maxSize, row.key(keyIdx), keyType);
+                int cmp = def.rowComparator().compareKey(keysAddr, fieldOff, maxSize, row.key(keyIdx), keyType);
 
                 if (cmp == CANT_BE_COMPARE || cmp == COMPARE_UNSUPPORTED)
                     break;
                 else
-                    fieldOff += keyType.inlineSize(pageAddr, off + fieldOff);
+                    fieldOff += keyType.inlineSize(keysAddr, fieldOff);
 
                 if (cmp != 0) {
                     IndexKeyDefinition keyDef = keyDefs.get(keyIdx);
@@ -312,6 +318,47 @@ public class InlineIndexTree extends BPlusTree<IndexRow, IndexRow> {
         return 0;
     }
 
+    /** {@inheritDoc} */
+    @Override protected int compareInPage(BPlusIO<IndexRow> io, long pageAddr, int idx, IndexRow row)
+        throws IgniteCheckedException {
+        if (inlineSize == 0)
+            return NEED_ROW;
+
+        InlineIO inlineIo = (InlineIO)io;
+
+        long keysAddr = inlineIo.inlineAddress(pageAddr, idx);
+        int keysSize = inlineIo.inlineSize(pageAddr, idx);
+
+        List<IndexKeyDefinition> keyDefs = rowHnd.indexKeyDefinitions();
+        List<InlineIndexKeyType> keyTypes = rowHnd.inlineIndexKeyTypes();
+
+        int fieldOff = 0;
+
+        for (int keyIdx = 0; keyIdx < keyDefs.size(); keyIdx++) {
+            // See compare(BPlusIO, long, int, IndexRow) for null search keys.
+            if (row.key(keyIdx) == null)
+                return 0;
+
+            // Keys which are not inlined are compared by the stored row.
+            if (keyIdx == keyTypes.size())
+                return NEED_ROW;
+
+            InlineIndexKeyType keyType = keyTypes.get(keyIdx);
+
+            int cmp = def.rowComparator().compareKey(keysAddr, fieldOff, keysSize - fieldOff, row.key(keyIdx), keyType);
+
+            if (cmp == CANT_BE_COMPARE || cmp == COMPARE_UNSUPPORTED)
+                return NEED_ROW;
+
+            if (cmp != 0)
+                return applySortOrder(cmp, keyDefs.get(keyIdx).ascending());
+
+            fieldOff += keyType.inlineSize(keysAddr, fieldOff);
+        }
+
+        return 0;
+    }
+
     /** */
     public static int compareFullRows(
         IndexRow currRow,
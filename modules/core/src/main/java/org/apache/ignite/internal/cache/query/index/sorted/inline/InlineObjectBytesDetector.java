@@ -27,6 +27,7 @@ import org.apache.ignite.internal.cache.query.index.sorted.IndexKeyDefinition;
 import org.apache.ignite.internal.cache.query.index.sorted.IndexKeyType;
 import org.apache.ignite.internal.cache.query.index.sorted.IndexKeyTypeSettings;
 import org.apache.ignite.internal.cache.query.index.sorted.IndexRow;
+import org.apache.ignite.internal.cache.query.index.sorted.inline.io.InlineIO;
 import org.apache.ignite.internal.cache.query.index.sorted.keys.IndexKey;
 import org.apache.ignite.internal.cache.query.index.sorted.keys.JavaObjectIndexKey;
 import org.apache.ignite.internal.cache.query.index.sorted.keys.NullIndexKey;
@@ -78,7 +79,11 @@ public class InlineObjectBytesDetector implements BPlusTree.TreeRowClosure<Index
         int idx) throws IgniteCheckedException {
         IndexRow r = tree.getRow(io, pageAddr, idx);
 
-        int off = io.offset(idx);
+        InlineIO inlineIo = (InlineIO)io;
+
+        // Keys of a prefix compressed row are copied to a buffer.
+        long keysAddr = inlineIo.inlineAddress(pageAddr, idx);
+        int keysSize = inlineIo.inlineSize(pageAddr, idx);
 
         int fieldOff = 0;
 
@@ -91,7 +96,7 @@ public class InlineObjectBytesDetector implements BPlusTree.TreeRowClosure<Index
         for (int i = 0; i < keyDefs.size(); ++i) {
             IndexKeyDefinition keyDef = it.next();
 
-            if (fieldOff >= inlineSize)
+            if (fieldOff >= keysSize)
                 return false;
 
             if (keyDef.indexKeyType() != IndexKeyType.JAVA_OBJECT) {
@@ -100,7 +105,7 @@ public class InlineObjectBytesDetector implements BPlusTree.TreeRowClosure<Index
                 if (keyType.inlineSize() < 0)
                     varLenPresents = true;
 
-                fieldOff += keyType.inlineSize(pageAddr, off + fieldOff);
+                fieldOff += keyType.inlineSize(keysAddr, fieldOff);
 
                 continue;
             }
@@ -110,25 +115,25 @@ public class InlineObjectBytesDetector implements BPlusTree.TreeRowClosure<Index
             if (key == NullIndexKey.INSTANCE)
                 return false;
 
-            int typeCode = PageUtils.getByte(pageAddr, off + fieldOff);
+            int typeCode = PageUtils.getByte(keysAddr, fieldOff);
 
             // We can have garbage in memory and need to compare data.
             if (typeCode == IndexKeyType.JAVA_OBJECT.code()) {
-                int len = PageUtils.getShort(pageAddr, off + fieldOff + 1);
+                int len = PageUtils.getShort(keysAddr, fieldOff + 1);
 
                 len &= 0x7FFF;
 
                 byte[] originalObjBytes = ((JavaObjectIndexKey)key).bytesNoCopy();
 
                 // Read size more then available space or more then origin length.
-                if (len > inlineSize - fieldOff - 3 || len > originalObjBytes.length) {
+                if (len > keysSize - fieldOff - 3 || len > originalObjBytes.length) {
                     inlineObjectSupportedDecision(false, "length is big " + len);
 
                     return true;
                 }
 
                 // Try compare byte by byte for fully or partial inlined object.
-                byte[] inlineBytes = PageUtils.getBytes(pageAddr, off + fieldOff + 3, len);
+                byte[] inlineBytes = PageUtils.getBytes(keysAddr, fieldOff + 3, len);
 
                 if (!Arrays.equals(inlineBytes, originalObjBytes)) {
                     inlineObjectSupportedDecision(false, "byte compare");
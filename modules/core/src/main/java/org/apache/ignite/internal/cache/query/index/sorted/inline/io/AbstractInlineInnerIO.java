@@ -115,15 +115,27 @@ public abstract class AbstractInlineInnerIO extends BPlusInnerIO<IndexRow> imple
     @Override public final void store(long dstPageAddr, int dstIdx, BPlusIO<IndexRow> srcIo, long srcPageAddr, int srcIdx) {
         assertPageType(dstPageAddr);
 
-        int srcOff = srcIo.offset(srcIdx);
+        InlineIO srcInlineIo = (InlineIO)srcIo;
 
-        byte[] payload = PageUtils.getBytes(srcPageAddr, srcOff, inlineSize);
+        long srcAddr = srcInlineIo.inlineAddress(srcPageAddr, srcIdx);
+        int srcSize = srcInlineIo.inlineSize(srcPageAddr, srcIdx);
 
         int dstOff = offset(dstIdx);
 
-        PageUtils.putBytes(dstPageAddr, dstOff, payload);
+        if (srcSize == inlineSize) {
+            byte[] payload = PageUtils.getBytes(srcAddr, 0, inlineSize);
 
-        IORowHandler.store(dstPageAddr, dstOff + inlineSize, (InlineIO)srcIo, srcPageAddr, srcIdx);
+            PageUtils.putBytes(dstPageAddr, dstOff, payload);
+        }
+        else {
+            // Source is a prefix compressed leaf, copy keys which fit the inline size of this page.
+            InlineIndexRowHandler rowHnd = ThreadLocalRowHandlerHolder.rowHandler();
+
+            PrefixInlineLeafIO.copyKeys(rowHnd == null ? null : rowHnd.inlineIndexKeyTypes(), srcAddr, srcSize,
+                dstPageAddr + dstOff, inlineSize);
+        }
+
+        IORowHandler.store(dstPageAddr, dstOff + inlineSize, srcInlineIo, srcPageAddr, srcIdx);
     }
 
     /** {@inheritDoc} */
@@ -136,6 +148,16 @@ public abstract class AbstractInlineInnerIO extends BPlusInnerIO<IndexRow> imple
         return inlineSize;
     }
 
+    /** {@inheritDoc} */
+    @Override public long inlineAddress(long pageAddr, int idx) {
+        return pageAddr + offset(idx);
+    }
+
+    /** {@inheritDoc} */
+    @Override public int inlineSize(long pageAddr, int idx) {
+        return inlineSize;
+    }
+
     /**
      * @param payload Payload size.
      * @return IOVersions for given payload.
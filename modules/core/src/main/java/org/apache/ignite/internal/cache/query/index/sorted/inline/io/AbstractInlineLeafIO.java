@@ -63,7 +63,10 @@ public abstract class AbstractInlineLeafIO extends BPlusLeafIO<IndexRow> impleme
         for (short payload = 1; payload <= PageIO.MAX_PAYLOAD_SIZE; payload++) {
             short ioType = (short)(PageIO.T_H2_EX_REF_LEAF_START + payload - 1);
 
-            IOVersions<? extends AbstractInlineLeafIO> versions = new IOVersions<>(new InlineLeafIO(ioType, payload));
+            IOVersions<? extends AbstractInlineLeafIO> versions = new IOVersions<AbstractInlineLeafIO>(
+                new InlineLeafIO(ioType, payload),
+                new PrefixInlineLeafIO(ioType, payload)
+            );
 
             PageIO.registerH2ExtraLeaf(versions);
         }
@@ -71,7 +74,7 @@ public abstract class AbstractInlineLeafIO extends BPlusLeafIO<IndexRow> impleme
 
     /** {@inheritDoc} */
     @SuppressWarnings("ForLoopReplaceableByForEach")
-    @Override public final void storeByOffset(long pageAddr, int off, IndexRow row) {
+    @Override public void storeByOffset(long pageAddr, int off, IndexRow row) {
         assert row.link() != 0 : row;
         assertPageType(pageAddr);
 
@@ -112,7 +115,7 @@ public abstract class AbstractInlineLeafIO extends BPlusLeafIO<IndexRow> impleme
     }
 
     /** {@inheritDoc} */
-    @Override public final void store(long dstPageAddr, int dstIdx, BPlusIO<IndexRow> srcIo, long srcPageAddr, int srcIdx) {
+    @Override public void store(long dstPageAddr, int dstIdx, BPlusIO<IndexRow> srcIo, long srcPageAddr, int srcIdx) {
         assertPageType(dstPageAddr);
 
         int srcOff = srcIo.offset(srcIdx);
@@ -136,14 +139,38 @@ public abstract class AbstractInlineLeafIO extends BPlusLeafIO<IndexRow> impleme
         return inlineSize;
     }
 
+    /** {@inheritDoc} */
+    @Override public long inlineAddress(long pageAddr, int idx) {
+        return pageAddr + offset(idx);
+    }
+
+    /** {@inheritDoc} */
+    @Override public int inlineSize(long pageAddr, int idx) {
+        return inlineSize;
+    }
+
     /**
      * @param payload Payload size.
      * @return IOVersions for given payload.
      */
     public static IOVersions<? extends BPlusLeafIO<IndexRow>> versions(int payload) {
+        return versions(payload, false);
+    }
+
+    /**
+     * @param payload Payload size.
+     * @param prefixCompression If {@code true}, new pages are created with {@link PrefixInlineLeafIO}.
+     * @return IOVersions for given payload.
+     */
+    public static IOVersions<? extends BPlusLeafIO<IndexRow>> versions(int payload, boolean prefixCompression) {
         assert payload >= 0 && payload <= PageIO.MAX_PAYLOAD_SIZE;
 
-        return payload == 0 ? LeafIO.VERSIONS :
+        if (payload == 0)
+            return LeafIO.VERSIONS;
+
+        IOVersions<BPlusLeafIO<IndexRow>> vers =
             (IOVersions<BPlusLeafIO<IndexRow>>)PageIO.getLeafVersions((short)(payload - 1));
+
+        return vers.withLatest(prefixCompression ? PrefixInlineLeafIO.VERSION : 1);
     }
 }
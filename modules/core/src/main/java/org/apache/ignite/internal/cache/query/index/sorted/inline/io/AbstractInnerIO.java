@@ -73,4 +73,14 @@ public abstract class AbstractInnerIO extends BPlusInnerIO<IndexRow> implements
     @Override public int inlineSize() {
         return 0;
     }
+
+    /** {@inheritDoc} */
+    @Override public long inlineAddress(long pageAddr, int idx) {
+        return pageAddr + offset(idx);
+    }
+
+    /** {@inheritDoc} */
+    @Override public int inlineSize(long pageAddr, int idx) {
+        return 0;
+    }
 }
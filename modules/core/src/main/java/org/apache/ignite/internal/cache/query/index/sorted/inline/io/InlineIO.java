@@ -32,4 +32,22 @@ public interface InlineIO {
      * @return Number of bytes stored in the inline payload.
      */
     public int inlineSize();
+
+    /**
+     * Gets address of inlined index keys of an item. Keys of an item are not always stored contiguously in the page
+     * (see {@link PrefixInlineLeafIO}), in this case they are copied to a thread local buffer, which is valid until
+     * the next call of this method in the same thread.
+     *
+     * @param pageAddr Page address.
+     * @param idx Index.
+     * @return Address of inlined index keys.
+     */
+    public long inlineAddress(long pageAddr, int idx);
+
+    /**
+     * @param pageAddr Page address.
+     * @param idx Index.
+     * @return Number of bytes available for inlined index keys of the item.
+     */
+    public int inlineSize(long pageAddr, int idx);
 }
@@ -0,0 +1,526 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.cache.query.index.sorted.inline.io;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteException;
+import org.apache.ignite.internal.cache.query.index.sorted.IndexKeyType;
+import org.apache.ignite.internal.cache.query.index.sorted.IndexRow;
+import org.apache.ignite.internal.cache.query.index.sorted.InlineIndexRowHandler;
+import org.apache.ignite.internal.cache.query.index.sorted.ThreadLocalRowHandlerHolder;
+import org.apache.ignite.internal.cache.query.index.sorted.inline.InlineIndexKeyType;
+import org.apache.ignite.internal.pagemem.PageUtils;
+import org.apache.ignite.internal.processors.cache.persistence.pagemem.PageMetrics;
+import org.apache.ignite.internal.processors.cache.persistence.tree.io.BPlusIO;
+import org.apache.ignite.internal.processors.cache.persistence.tree.io.PageIO;
+import org.apache.ignite.internal.util.GridUnsafe;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Leaf page to store index rows with inlined keys, which stores leading keys equal for all the rows of the page
+ * (the prefix) only once.
+ * <p>
+ * The prefix is stored after the page header in the place of one item: size of the prefix in bytes (2 bytes), number
+ * of keys in the prefix (1 byte), inlined prefix keys. Every item starts with a flag byte followed by
+ * {@code inlineSize - 1} bytes of inlined keys and a link. If the flag is set, the item stores only the keys following
+ * the prefix, so {@code prefixSize + inlineSize - 1} bytes of inlined keys are available for the row. Otherwise the item
+ * stores all the keys.
+ * <p>
+ * The prefix consists of whole keys, so inlined keys of an item read with {@link #inlineAddress(long, int)} have the
+ * same format as keys stored by {@link InlineLeafIO}. The prefix of a page is extended when rows are moved to a new page
+ * on split, since a split narrows the range of keys of the page. A row which doesn't match the prefix can only be
+ * inserted to the bound of the page, it is stored without the prefix.
+ */
+public final class PrefixInlineLeafIO extends AbstractInlineLeafIO {
+    /** Page format version. */
+    public static final int VERSION = 2;
+
+    /** */
+    private static final int PREFIX_SIZE_OFF = ITEMS_OFF;
+
+    /** */
+    private static final int PREFIX_KEYS_OFF = PREFIX_SIZE_OFF + 2;
+
+    /** */
+    private static final int PREFIX_OFF = PREFIX_KEYS_OFF + 1;
+
+    /** Flag of an item which stores keys following the prefix. */
+    private static final byte PREFIXED = 1;
+
+    /** Maximum number of bytes of inlined keys of an item. */
+    private static final int BUF_SIZE = 2 * PageIO.MAX_PAYLOAD_SIZE + 8;
+
+    /** Buffer to read keys of an item. */
+    private static final int KEYS_BUF = 0;
+
+    /** Buffer to write keys of an item. */
+    private static final int ROW_BUF = 1;
+
+    /** Buffer to hold keys of a reference item when the prefix is computed. */
+    private static final int REF_BUF = 2;
+
+    /** Thread local buffers for inlined keys. */
+    private static final ThreadLocal<ByteBuffer> BUF = ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(3 * BUF_SIZE));
+
+    /** Maximum size of the prefix. */
+    private final int maxPrefixSize;
+
+    /**
+     * @param type Page type.
+     * @param inlineSize Size of calculated inlined index keys.
+     */
+    public PrefixInlineLeafIO(short type, int inlineSize) {
+        // Meta stores link to a cache row.
+        super(type, VERSION, 8, inlineSize);
+
+        maxPrefixSize = getItemSize() - (PREFIX_OFF - PREFIX_SIZE_OFF);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void initNewPage(long pageAddr, long pageId, int pageSize, PageMetrics metrics) {
+        super.initNewPage(pageAddr, pageId, pageSize, metrics);
+
+        setPrefix(pageAddr, 0, 0);
+    }
+
+    /** {@inheritDoc} */
+    @Override public int getMaxCount(long pageAddr, int pageSize) {
+        // One item is occupied by the prefix.
+        return (pageSize - ITEMS_OFF) / getItemSize() - 1;
+    }
+
+    /** {@inheritDoc} */
+    @Override public int offset(int idx) {
+        assert idx >= 0 : idx;
+
+        return ITEMS_OFF + (idx + 1) * getItemSize();
+    }
+
+    /** {@inheritDoc} */
+    @Override public void storeByOffset(long pageAddr, int off, IndexRow row) {
+        assert row.link() != 0 : row;
+        assertPageType(pageAddr);
+
+        InlineIndexRowHandler rowHnd = ThreadLocalRowHandlerHolder.rowHandler();
+
+        int prefixSize = prefixSize(pageAddr);
+
+        if (prefixSize > 0) {
+            long buf = buffer(ROW_BUF);
+
+            putKeys(rowHnd, row, buf, prefixSize + inlineSize() - 1);
+
+            if (equal(buf, pageAddr + PREFIX_OFF, prefixSize)) {
+                PageUtils.putByte(pageAddr, off, PREFIXED);
+
+                GridUnsafe.copyMemory(buf + prefixSize, pageAddr + off + 1, inlineSize() - 1);
+
+                IORowHandler.store(pageAddr, off + inlineSize(), row);
+
+                return;
+            }
+        }
+
+        PageUtils.putByte(pageAddr, off, (byte)0);
+
+        putKeys(rowHnd, row, pageAddr + off + 1, inlineSize() - 1);
+
+        IORowHandler.store(pageAddr, off + inlineSize(), row);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void store(long dstPageAddr, int dstIdx, BPlusIO<IndexRow> srcIo, long srcPageAddr, int srcIdx) {
+        assertPageType(dstPageAddr);
+
+        InlineIO srcInlineIo = (InlineIO)srcIo;
+
+        InlineIndexRowHandler rowHnd = ThreadLocalRowHandlerHolder.rowHandler();
+
+        List<InlineIndexKeyType> keyTypes = rowHnd == null ? null : rowHnd.inlineIndexKeyTypes();
+
+        int prefixSize = prefixSize(dstPageAddr);
+
+        long buf = buffer(ROW_BUF);
+
+        int bufSize = prefixSize + inlineSize() - 1;
+
+        copyKeys(keyTypes, srcInlineIo.inlineAddress(srcPageAddr, srcIdx), srcInlineIo.inlineSize(srcPageAddr, srcIdx),
+            buf, bufSize);
+
+        int dstOff = offset(dstIdx);
+
+        if (prefixSize > 0 && equal(buf, dstPageAddr + PREFIX_OFF, prefixSize)) {
+            PageUtils.putByte(dstPageAddr, dstOff, PREFIXED);
+
+            GridUnsafe.copyMemory(buf + prefixSize, dstPageAddr + dstOff + 1, inlineSize() - 1);
+        }
+        else {
+            PageUtils.putByte(dstPageAddr, dstOff, (byte)0);
+
+            copyKeys(keyTypes, buf, bufSize, dstPageAddr + dstOff + 1, inlineSize() - 1);
+        }
+
+        IORowHandler.store(dstPageAddr, dstOff + inlineSize(), srcInlineIo, srcPageAddr, srcIdx);
+    }
+
+    /** {@inheritDoc} */
+    @Override public long inlineAddress(long pageAddr, int idx) {
+        int off = offset(idx);
+
+        if (PageUtils.getByte(pageAddr, off) != PREFIXED)
+            return pageAddr + off + 1;
+
+        int prefixSize = prefixSize(pageAddr);
+
+        long buf = buffer(KEYS_BUF);
+
+        GridUnsafe.copyMemory(pageAddr + PREFIX_OFF, buf, prefixSize);
+        GridUnsafe.copyMemory(pageAddr + off + 1, buf + prefixSize, inlineSize() - 1);
+
+        return buf;
+    }
+
+    /** {@inheritDoc} */
+    @Override public int inlineSize(long pageAddr, int idx) {
+        if (PageUtils.getByte(pageAddr, offset(idx)) != PREFIXED)
+            return inlineSize() - 1;
+
+        return prefixSize(pageAddr) + inlineSize() - 1;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void splitForwardPage(
+        long pageAddr,
+        long fwdId,
+        long fwdPageAddr,
+        int mid,
+        int cnt,
+        int pageSize,
+        PageMetrics metrics
+    ) throws IgniteCheckedException {
+        super.splitForwardPage(pageAddr, fwdId, fwdPageAddr, mid, cnt, pageSize, metrics);
+
+        copyPrefix(pageAddr, fwdPageAddr);
+
+        // Forward page is logged as a whole, so the prefix can be computed with the index schema.
+        InlineIndexRowHandler rowHnd = ThreadLocalRowHandlerHolder.rowHandler();
+
+        if (rowHnd != null)
+            extendPrefix(fwdPageAddr, rowHnd.inlineIndexKeyTypes());
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean merge(
+        BPlusIO<IndexRow> prntIo,
+        long prntPageAddr,
+        int prntIdx,
+        long leftPageAddr,
+        long rightPageAddr,
+        boolean emptyBranch,
+        int pageSize
+    ) throws IgniteCheckedException {
+        if (getCount(rightPageAddr) > 0 && !samePrefix(leftPageAddr, rightPageAddr)) {
+            // Leaf pages are merged only if one of them is empty.
+            if (getCount(leftPageAddr) > 0)
+                return false;
+
+            copyPrefix(rightPageAddr, leftPageAddr);
+        }
+
+        return super.merge(prntIo, prntPageAddr, prntIdx, leftPageAddr, rightPageAddr, emptyBranch, pageSize);
+    }
+
+    /**
+     * @param pageAddr Page address.
+     * @return Size of the prefix in bytes.
+     */
+    public int prefixSize(long pageAddr) {
+        return PageUtils.getShort(pageAddr, PREFIX_SIZE_OFF);
+    }
+
+    /**
+     * @param pageAddr Page address.
+     * @return Number of keys in the prefix.
+     */
+    public int prefixKeys(long pageAddr) {
+        return PageUtils.getByte(pageAddr, PREFIX_KEYS_OFF) & 0xFF;
+    }
+
+    /**
+     * @param pageAddr Page address.
+     * @param size Size of the prefix in bytes.
+     * @param keys Number of keys in the prefix.
+     */
+    private void setPrefix(long pageAddr, int size, int keys) {
+        assert size >= 0 && size <= maxPrefixSize : size;
+
+        PageUtils.putShort(pageAddr, PREFIX_SIZE_OFF, (short)size);
+        PageUtils.putByte(pageAddr, PREFIX_KEYS_OFF, (byte)keys);
+    }
+
+    /**
+     * @param srcPageAddr Source page address.
+     * @param dstPageAddr Destination page address.
+     */
+    private void copyPrefix(long srcPageAddr, long dstPageAddr) {
+        int size = prefixSize(srcPageAddr);
+
+        setPrefix(dstPageAddr, size, prefixKeys(srcPageAddr));
+
+        GridUnsafe.copyMemory(srcPageAddr + PREFIX_OFF, dstPageAddr + PREFIX_OFF, size);
+    }
+
+    /**
+     * @param pageAddr1 First page address.
+     * @param pageAddr2 Second page address.
+     * @return {@code True} if pages have the same prefix.
+     */
+    private boolean samePrefix(long pageAddr1, long pageAddr2) {
+        int size = prefixSize(pageAddr1);
+
+        return size == prefixSize(pageAddr2) && equal(pageAddr1 + PREFIX_OFF, pageAddr2 + PREFIX_OFF, size);
+    }
+
+    /**
+     * Extends the prefix of the page with the keys equal for all the rows of the page.
+     *
+     * @param pageAddr Page address.
+     * @param keyTypes Key types.
+     */
+    private void extendPrefix(long pageAddr, List<InlineIndexKeyType> keyTypes) {
+        int cnt = getCount(pageAddr);
+
+        int prefixSize = prefixSize(pageAddr);
+        int prefixKeys = prefixKeys(pageAddr);
+
+        if (cnt == 0 || prefixKeys >= keyTypes.size())
+            return;
+
+        // Rows stored without the prefix differ from other rows by prefix keys.
+        if (prefixSize > 0) {
+            for (int i = 0; i < cnt; i++) {
+                if (PageUtils.getByte(pageAddr, offset(i)) != PREFIXED)
+                    return;
+            }
+        }
+
+        long ref = buffer(REF_BUF);
+        int refSize = inlineSize(pageAddr, 0);
+
+        GridUnsafe.copyMemory(inlineAddress(pageAddr, 0), ref, refSize);
+
+        // Ends of the candidate prefixes, every next candidate has one more key.
+        int[] ends = new int[keyTypes.size() - prefixKeys];
+        int n = 0;
+
+        for (int off = prefixSize; n < ends.length; n++) {
+            InlineIndexKeyType keyType = keyTypes.get(prefixKeys + n);
+
+            int size = inlinedKeySize(keyType, ref, off, refSize - off);
+
+            if (size == 0 || off + size > maxPrefixSize || !keyType.inlinedFullValue(ref, off, refSize - off))
+                break;
+
+            off += size;
+
+            ends[n] = off;
+        }
+
+        for (int i = 1; i < cnt && n > 0; i++) {
+            long addr = inlineAddress(pageAddr, i);
+            int size = inlineSize(pageAddr, i);
+
+            int matched = 0;
+
+            for (int off = prefixSize; matched < n; matched++) {
+                int keySize = ends[matched] - off;
+
+                if (inlinedKeySize(keyTypes.get(prefixKeys + matched), addr, off, size - off) != keySize ||
+                    !equal(addr + off, ref + off, keySize))
+                    break;
+
+                off = ends[matched];
+            }
+
+            n = matched;
+        }
+
+        if (n == 0)
+            return;
+
+        int newPrefixSize = ends[n - 1];
+
+        long buf = buffer(ROW_BUF);
+
+        for (int i = 0; i < cnt; i++) {
+            int off = offset(i);
+
+            // Rows have more space for keys now, keys are copied to mark the end of the stored keys.
+            copyKeys(keyTypes, inlineAddress(pageAddr, i), inlineSize(pageAddr, i), buf,
+                newPrefixSize + inlineSize() - 1);
+
+            PageUtils.putByte(pageAddr, off, PREFIXED);
+
+            GridUnsafe.copyMemory(buf + newPrefixSize, pageAddr + off + 1, inlineSize() - 1);
+        }
+
+        setPrefix(pageAddr, newPrefixSize, prefixKeys + n);
+
+        GridUnsafe.copyMemory(ref, pageAddr + PREFIX_OFF, newPrefixSize);
+    }
+
+    /**
+     * Copies inlined keys to a place of a different size. Keys which don't entirely fit the destination are not
+     * copied, the place after the last copied key is marked with the {@link IndexKeyType#UNKNOWN} type, so the rest
+     * of keys are compared with the data row.
+     *
+     * @param keyTypes Key types, if {@code null}, no keys are copied.
+     * @param srcAddr Source address.
+     * @param srcSize Number of bytes of inlined keys at the source.
+     * @param dstAddr Destination address.
+     * @param dstSize Number of bytes available for inlined keys at the destination.
+     */
+    static void copyKeys(@Nullable List<InlineIndexKeyType> keyTypes, long srcAddr, int srcSize, long dstAddr, int dstSize) {
+        int off = 0;
+
+        if (keyTypes != null) {
+            for (int i = 0; i < keyTypes.size(); i++) {
+                InlineIndexKeyType keyType = keyTypes.get(i);
+
+                int size = inlinedKeySize(keyType, srcAddr, off, srcSize - off);
+
+                if (size == 0 || off + size > dstSize)
+                    break;
+
+                boolean full = keyType.inlinedFullValue(srcAddr, off, srcSize - off);
+
+                off += size;
+
+                // Nothing is compared after a partially inlined key.
+                if (!full)
+                    break;
+            }
+        }
+
+        GridUnsafe.copyMemory(srcAddr, dstAddr, off);
+
+        if (off < dstSize)
+            PageUtils.putByte(dstAddr, off, (byte)IndexKeyType.UNKNOWN.code());
+    }
+
+    /**
+     * @param keyTypes Key types.
+     * @param addr Address of inlined keys.
+     * @param size Number of bytes of inlined keys.
+     * @param dstSize Number of bytes available for inlined keys at the destination.
+     * @return Inlined keys which fit the destination, see {@link #copyKeys(List, long, int, long, int)}.
+     */
+    public static byte[] keys(List<InlineIndexKeyType> keyTypes, long addr, int size, int dstSize) {
+        long buf = buffer(ROW_BUF);
+
+        copyKeys(keyTypes, addr, size, buf, dstSize);
+
+        return PageUtils.getBytes(buf, 0, dstSize);
+    }
+
+    /**
+     * @param keyType Key type.
+     * @param addr Address.
+     * @param off Offset of the key.
+     * @param maxSize Number of bytes available for the key.
+     * @return Size of the inlined key or {@code 0} if the key is not inlined.
+     */
+    private static int inlinedKeySize(InlineIndexKeyType keyType, long addr, int off, int maxSize) {
+        short keySize = keyType.keySize();
+
+        // Same checks as on the key comparison.
+        if (maxSize < 1 || (keySize > 0 && keySize + 1 > maxSize) || (keySize < 0 && maxSize < 4))
+            return 0;
+
+        int typeCode = PageUtils.getByte(addr, off);
+
+        if (typeCode == IndexKeyType.NULL.code())
+            return 1;
+
+        if (typeCode != keyType.type().code())
+            return 0;
+
+        int size = keyType.inlineSize(addr, off);
+
+        return size <= maxSize ? size : 0;
+    }
+
+    /**
+     * @param rowHnd Row handler.
+     * @param row Row.
+     * @param addr Address.
+     * @param size Number of bytes available for inlined keys.
+     */
+    private static void putKeys(InlineIndexRowHandler rowHnd, IndexRow row, long addr, int size) {
+        int fieldOff = 0;
+
+        for (int i = 0; i < rowHnd.inlineIndexKeyTypes().size(); i++) {
+            try {
+                InlineIndexKeyType keyType = rowHnd.inlineIndexKeyTypes().get(i);
+
+                int keySize = keyType.put(addr, fieldOff, row.key(i), size - fieldOff);
+
+                // Inline size has exceeded.
+                if (keySize == 0)
+                    break;
+
+                fieldOff += keySize;
+            }
+            catch (Exception e) {
+                throw new IgniteException("Failed to store new index row.", e);
+            }
+        }
+    }
+
+    /**
+     * @param addr1 First address.
+     * @param addr2 Second address.
+     * @param len Number of bytes to compare.
+     * @return {@code True} if memory regions are equal.
+     */
+    private static boolean equal(long addr1, long addr2, int len) {
+        int i = 0;
+
+        for (; i + 8 <= len; i += 8) {
+            if (GridUnsafe.getLong(addr1 + i) != GridUnsafe.getLong(addr2 + i))
+                return false;
+        }
+
+        for (; i < len; i++) {
+            if (GridUnsafe.getByte(addr1 + i) != GridUnsafe.getByte(addr2 + i))
+                return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * @param idx Index of the buffer.
+     * @return Address of the thread local buffer.
+     */
+    private static long buffer(int idx) {
+        return GridUnsafe.bufferAddress(BUF.get()) + (long)idx * BUF_SIZE;
+    }
+}
@@ -17,15 +17,21 @@
 
 package org.apache.ignite.internal.cache.query.index.sorted.maintenance;
 
+import java.io.File;
 import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.IgniteException;
 import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.IgniteSystemProperties;
 import org.apache.ignite.cache.QueryIndexType;
 import org.apache.ignite.internal.GridKernalContext;
 import org.apache.ignite.internal.cache.query.index.Index;
 import org.apache.ignite.internal.cache.query.index.IndexDefinition;
+import org.apache.ignite.internal.cache.query.index.IndexName;
 import org.apache.ignite.internal.cache.query.index.IndexProcessor;
+import org.apache.ignite.internal.cache.query.index.sorted.inline.InlineIndexBulkLoader;
 import org.apache.ignite.internal.cache.query.index.sorted.inline.InlineIndexFactory;
 import org.apache.ignite.internal.cache.query.index.sorted.inline.InlineIndexImpl;
 import org.apache.ignite.internal.processors.cache.GridCacheContext;
@@ -38,18 +44,34 @@ import org.apache.ignite.internal.processors.query.schema.SchemaIndexCacheVisito
 import org.apache.ignite.internal.processors.query.schema.management.IndexDescriptor;
 import org.apache.ignite.internal.processors.query.schema.management.SchemaManager;
 import org.apache.ignite.internal.processors.query.schema.management.TableDescriptor;
+import org.apache.ignite.internal.thread.pool.IgniteThreadPoolExecutor;
 import org.apache.ignite.internal.util.future.GridFutureAdapter;
 import org.apache.ignite.internal.util.typedef.F;
+import org.apache.ignite.internal.util.typedef.internal.U;
 import org.apache.ignite.maintenance.MaintenanceAction;
 import org.jetbrains.annotations.Nullable;
 
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_INDEX_BULK_LOAD_FILL_FACTOR;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_INDEX_BULK_LOAD_PARALLELISM;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_INDEX_BULK_LOAD_SORT_BUFFER_SIZE;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_INDEX_REBUILD_BATCH_SIZE;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_INDEX_REBUILD_BULK_LOAD;
+import static org.apache.ignite.IgniteSystemProperties.getBoolean;
+import static org.apache.ignite.IgniteSystemProperties.getDouble;
+import static org.apache.ignite.IgniteSystemProperties.getInteger;
+import static org.apache.ignite.internal.cache.query.index.sorted.inline.InlineIndexBulkLoader.DFLT_INDEX_BULK_LOAD_FILL_FACTOR;
+import static org.apache.ignite.internal.cache.query.index.sorted.inline.InlineIndexBulkLoader.DFLT_INDEX_BULK_LOAD_SORT_BUFFER_SIZE;
 import static org.apache.ignite.internal.cache.query.index.sorted.maintenance.MaintenanceRebuildIndexUtils.INDEX_REBUILD_MNTC_TASK_NAME;
 import static org.apache.ignite.internal.processors.cache.persistence.CheckpointState.FINISHED;
+import static org.apache.ignite.internal.processors.query.schema.SchemaIndexCachePartitionWorker.DFLT_IGNITE_INDEX_REBUILD_BATCH_SIZE;
 
 /**
  * Maintenance action that handles index rebuilding.
  */
 public class RebuildIndexAction implements MaintenanceAction<Boolean> {
+    /** Name of the work directory subfolder for rows spilled to disk when an index is built in bulk. */
+    private static final String BULK_LOAD_SPILL_DIR = "index_bulk_load";
+
     /** Indexes to rebuild. */
     private final List<MaintenanceRebuildIndexTarget> indexesToRebuild;
 
@@ -59,6 +81,12 @@ public class RebuildIndexAction implements MaintenanceAction<Boolean> {
     /** Logger. */
     private final IgniteLogger log;
 
+    /** Number of threads which build indexes in bulk. */
+    private final int bulkLoadParallelism;
+
+    /** Executor of indexes built in bulk, {@code null} if indexes are not built in bulk. */
+    private @Nullable IgniteThreadPoolExecutor bulkLoadExec;
+
     /**
      * Constructor.
      *
@@ -70,6 +98,8 @@ public class RebuildIndexAction implements MaintenanceAction<Boolean> {
         this.ctx = ctx;
 
         log = ctx.log(RebuildIndexAction.class);
+
+        bulkLoadParallelism = Math.max(1, getInteger(IGNITE_INDEX_BULK_LOAD_PARALLELISM, Runtime.getRuntime().availableProcessors()));
     }
 
     /** {@inheritDoc} */
@@ -83,6 +113,19 @@ public class RebuildIndexAction implements MaintenanceAction<Boolean> {
         try {
             prepareForRebuild(db, cpMgr, storage);
 
+            // Indexes built in bulk are not updated concurrently, so partitions are scanned by more threads
+            // than the index build pool has.
+            if (getBoolean(IGNITE_INDEX_REBUILD_BULK_LOAD)) {
+                bulkLoadExec = new IgniteThreadPoolExecutor(
+                    "index-bulk-load",
+                    ctx.igniteInstanceName(),
+                    bulkLoadParallelism,
+                    bulkLoadParallelism,
+                    0,
+                    new LinkedBlockingQueue<>()
+                );
+            }
+
             for (MaintenanceRebuildIndexTarget params : indexesToRebuild) {
                 int cacheId = params.cacheId();
                 String idxName = params.idxName();
@@ -103,6 +146,10 @@ public class RebuildIndexAction implements MaintenanceAction<Boolean> {
         }
         finally {
             cleanUpAfterRebuild(cpMgr, storage);
+
+            U.shutdownNow(RebuildIndexAction.class, bulkLoadExec, log);
+
+            bulkLoadExec = null;
         }
 
         unregisterMaintenanceTask();
@@ -168,16 +215,44 @@ public class RebuildIndexAction implements MaintenanceAction<Boolean> {
 
         IndexRebuildCancelToken token = new IndexRebuildCancelToken();
 
+        IndexProcessor idxProc = ctx.indexProcessor();
+
+        assert oldIdxDesc.type() == QueryIndexType.SORTED : oldIdxDesc.type();
+
+        TableDescriptor tblDesc = oldIdxDesc.table();
+        IndexDefinition definition = oldIdxDesc.index().unwrap(InlineIndexImpl.class).indexDefinition();
+
         SchemaIndexCacheVisitorImpl visitor = new SchemaIndexCacheVisitorImpl(cctx, token, createIdxFut) {
+            /** {@inheritDoc} */
+            @Override protected Executor executor() {
+                return bulkLoadExec != null ? bulkLoadExec : super.executor();
+            }
+
             /** {@inheritDoc} */
             @Override public void visit(SchemaIndexCacheVisitorClosure clo) {
                 // Rebuild index after it is created.
                 storage.onStartRebuildIndexes(cctx, false);
 
                 try {
-                    super.visit(clo);
+                    InlineIndexBulkLoader ldr = bulkLoader(cctx, definition.idxName());
 
-                    buildIdxFut.get();
+                    if (ldr == null) {
+                        super.visit(clo);
+
+                        buildIdxFut.get();
+                    }
+                    else {
+                        try {
+                            super.visit(ldr::add);
+
+                            buildIdxFut.get();
+
+                            ldr.load();
+                        }
+                        finally {
+                            ldr.close();
+                        }
+                    }
                 }
                 catch (Exception e) {
                     throw new IgniteException(e);
@@ -188,13 +263,6 @@ public class RebuildIndexAction implements MaintenanceAction<Boolean> {
             }
         };
 
-        IndexProcessor idxProc = ctx.indexProcessor();
-
-        assert oldIdxDesc.type() == QueryIndexType.SORTED : oldIdxDesc.type();
-
-        TableDescriptor tblDesc = oldIdxDesc.table();
-        IndexDefinition definition = oldIdxDesc.index().unwrap(InlineIndexImpl.class).indexDefinition();
-
         Index newIdx = idxProc.createIndexDynamically(tblDesc.cacheInfo().cacheContext(),
             InlineIndexFactory.INSTANCE, definition, visitor);
 
@@ -212,6 +280,51 @@ public class RebuildIndexAction implements MaintenanceAction<Boolean> {
         assert createIdxFut.isDone();
     }
 
+    /**
+     * Creates a bulk loader if indexes are configured to be built in bulk,
+     * see {@link IgniteSystemProperties#IGNITE_INDEX_REBUILD_BULK_LOAD}.
+     *
+     * @param cctx Cache context.
+     * @param idxName Name of the created index.
+     * @return Bulk loader or {@code null} if rows must be inserted into the index one by one.
+     * @throws IgniteCheckedException If failed.
+     */
+    private @Nullable InlineIndexBulkLoader bulkLoader(
+        GridCacheContext<?, ?> cctx,
+        IndexName idxName
+    ) throws IgniteCheckedException {
+        if (bulkLoadExec == null)
+            return null;
+
+        Index idx = ctx.indexProcessor().index(idxName);
+
+        InlineIndexImpl inlineIdx = idx == null ? null : idx.unwrap(InlineIndexImpl.class);
+
+        if (inlineIdx == null || !InlineIndexBulkLoader.supported(inlineIdx)) {
+            if (log.isInfoEnabled())
+                log.info("Index can't be built in bulk, rows will be inserted one by one [idx=" + idxName.fullName() + ']');
+
+            return null;
+        }
+
+        File spillDir = U.resolveWorkDirectory(ctx.config().getWorkDirectory(), BULK_LOAD_SPILL_DIR, true);
+
+        InlineIndexBulkLoader ldr = new InlineIndexBulkLoader(
+            inlineIdx,
+            cctx,
+            spillDir,
+            getInteger(IGNITE_INDEX_BULK_LOAD_SORT_BUFFER_SIZE, DFLT_INDEX_BULK_LOAD_SORT_BUFFER_SIZE),
+            getDouble(IGNITE_INDEX_BULK_LOAD_FILL_FACTOR, DFLT_INDEX_BULK_LOAD_FILL_FACTOR),
+            getInteger(IGNITE_INDEX_REBUILD_BATCH_SIZE, DFLT_IGNITE_INDEX_REBUILD_BATCH_SIZE),
+            bulkLoadExec,
+            bulkLoadParallelism
+        );
+
+        ctx.indexProcessor().registerBulkLoad(ldr);
+
+        return ldr;
+    }
+
     /**
      * Prepares system for the rebuild.
      *
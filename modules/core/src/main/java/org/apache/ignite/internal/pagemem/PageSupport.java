@@ -85,6 +85,22 @@ public interface PageSupport {
      */
     public void readUnlock(int grpId, long pageId, long page);
 
+    /**
+     * Copies the page contents to the given buffer without taking the read lock. The copy is validated against
+     * the write version of the page lock, so it is a consistent snapshot of the page, but it may become stale
+     * because of concurrent writes.
+     *
+     * @param grpId Cache group ID.
+     * @param pageId Page ID.
+     * @param page Page pointer.
+     * @param dstAddr Address of a buffer of the page size to copy the page to.
+     * @return {@code True} if the page was copied, {@code false} if the page was modified concurrently, its tag
+     *      does not match or lock-free reads are not supported.
+     */
+    public default boolean tryCopyPage(int grpId, long pageId, long page, long dstAddr) {
+        return false;
+    }
+
     /**
      *
      * @param grpId Cache group ID.
@@ -47,6 +47,7 @@ import org.apache.ignite.internal.util.offheap.GridOffHeapOutOfMemoryException;
 import org.apache.ignite.internal.util.typedef.internal.U;
 import org.jetbrains.annotations.TestOnly;
 
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_BPLUS_TREE_OPTIMISTIC_READS;
 import static org.apache.ignite.IgniteSystemProperties.IGNITE_OFFHEAP_LOCK_CONCURRENCY_LEVEL;
 import static org.apache.ignite.internal.util.GridUnsafe.wrapPointer;
 
@@ -73,6 +74,9 @@ import static org.apache.ignite.internal.util.GridUnsafe.wrapPointer;
  *
  * Note that first 8 bytes of page header are used either for page marker or for next relative pointer depending
  * on whether the page is in use or not.
+ * <p/>
+ * If {@link IgniteSystemProperties#IGNITE_BPLUS_TREE_OPTIMISTIC_READS} is enabled, the page data is followed by
+ * an 8 byte write version of the page lock, see {@link #tryCopyPage(int, long, long, long)}.
  */
 public class PageMemoryNoStoreImpl implements PageMemory {
     /** */
@@ -123,6 +127,9 @@ public class PageMemoryNoStoreImpl implements PageMemory {
     /** Page size. */
     private final int sysPageSize;
 
+    /** Page size without the page header and the write version. */
+    private final int pageSize;
+
     /** */
     private final IgniteLogger log;
 
@@ -226,13 +233,20 @@ public class PageMemoryNoStoreImpl implements PageMemory {
         this.ctx = sharedCtx;
         this.dataRegionMetrics = dataRegionMetrics;
 
-        sysPageSize = pageSize + PAGE_OVERHEAD;
+        this.pageSize = pageSize;
+
+        boolean optimisticReads = IgniteSystemProperties.getBoolean(IGNITE_BPLUS_TREE_OPTIMISTIC_READS);
+
+        sysPageSize = pageSize + PAGE_OVERHEAD + (optimisticReads ? OffheapReadWriteLock.VERSION_SIZE : 0);
 
         assert sysPageSize % 8 == 0 : sysPageSize;
 
         totalPages = (int)(dataRegionCfg.getMaxSize() / sysPageSize);
 
-        rwLock = new OffheapReadWriteLock(lockConcLvl);
+        // The write version follows the page data.
+        rwLock = optimisticReads ?
+            new OffheapReadWriteLock(lockConcLvl, PAGE_OVERHEAD - LOCK_OFFSET + pageSize) :
+            new OffheapReadWriteLock(lockConcLvl);
     }
 
     /** {@inheritDoc} */
@@ -368,7 +382,7 @@ public class PageMemoryNoStoreImpl implements PageMemory {
         writePageId(absPtr, pageId);
 
         // TODO pass an argument to decide whether the page should be cleaned.
-        GridUnsafe.zeroMemory(absPtr + PAGE_OVERHEAD, sysPageSize - PAGE_OVERHEAD);
+        GridUnsafe.zeroMemory(absPtr + PAGE_OVERHEAD, pageSize);
 
         return pageId;
     }
@@ -384,7 +398,7 @@ public class PageMemoryNoStoreImpl implements PageMemory {
 
     /** {@inheritDoc} */
     @Override public int pageSize() {
-        return sysPageSize - PAGE_OVERHEAD;
+        return pageSize;
     }
 
     /** {@inheritDoc} */
@@ -552,6 +566,22 @@ public class PageMemoryNoStoreImpl implements PageMemory {
         rwLock.readUnlock(page + LOCK_OFFSET);
     }
 
+    /** {@inheritDoc} */
+    @Override public boolean tryCopyPage(int cacheId, long pageId, long page, long dstAddr) {
+        assert started;
+
+        int tag = PageIdUtils.tag(pageId);
+
+        long stamp = rwLock.tryOptimisticRead(page + LOCK_OFFSET, tag);
+
+        if (stamp == 0)
+            return false;
+
+        GridUnsafe.copyMemory(page + PAGE_OVERHEAD, dstAddr, pageSize());
+
+        return rwLock.validate(page + LOCK_OFFSET, tag, stamp);
+    }
+
     /** {@inheritDoc} */
     @Override public long writeLock(int cacheId, long pageId, long page) {
         assert started;
@@ -21,6 +21,7 @@ import java.io.Closeable;
 import java.nio.ByteBuffer;
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.internal.processors.cache.persistence.StorageException;
+import org.apache.ignite.internal.util.lang.IgniteThrowableConsumer;
 
 /**
  * Persistent store of pages.
@@ -32,6 +33,9 @@ public interface PageStore extends Closeable {
     /** Type for index partition. */
     public static byte TYPE_IDX = 2;
 
+    /** Number of equal chunks a page is divided into to track changed parts of the page for delta writes. */
+    public static final int DELTA_CHUNKS = 16;
+
     /**
      * @param lsnr Page write listener to set.
      */
@@ -95,6 +99,57 @@ public interface PageStore extends Closeable {
      */
     public void write(long pageId, ByteBuffer pageBuf, int tag, boolean calculateCrc) throws IgniteCheckedException;
 
+    /**
+     * Writes pages with adjacent indexes, the store may write them with one IO operation.
+     *
+     * @param pageIds Page IDs, index of each page must be greater by one than index of previous page.
+     * @param pageBufs Page buffers to write.
+     * @param cnt Number of pages to write.
+     * @param tag Partition file version, 1-based incrementing counter. For outdated pages {@code tag} has lower value,
+     * and write does nothing.
+     * @param calculateCrc if {@code False} crc calculation will be forcibly skipped.
+     * @throws IgniteCheckedException If page writing failed (IO error occurred).
+     */
+    public default void write(
+        long[] pageIds,
+        ByteBuffer[] pageBufs,
+        int cnt,
+        int tag,
+        boolean calculateCrc
+    ) throws IgniteCheckedException {
+        for (int i = 0; i < cnt; i++)
+            write(pageIds[i], pageBufs[i], tag, calculateCrc);
+    }
+
+    /**
+     * Writes changed chunks of a page instead of the whole page. The store may refuse the write, then the page must
+     * be written with {@link #write(long, ByteBuffer, int, boolean)}.
+     *
+     * @param pageId Page ID.
+     * @param pageBuf Page buffer with the whole page content.
+     * @param changedChunks Bit mask of the page chunks changed since the page was read or written, see
+     *      {@link #DELTA_CHUNKS}.
+     * @param tag Partition file version, 1-based incrementing counter. For outdated pages {@code tag} has lower value,
+     * and write does nothing.
+     * @return {@code False} if the store doesn't support delta writes or refused the write.
+     * @throws IgniteCheckedException If page writing failed (IO error occurred).
+     */
+    public default boolean writeDelta(long pageId, ByteBuffer pageBuf, int changedChunks, int tag)
+        throws IgniteCheckedException {
+        return false;
+    }
+
+    /**
+     * Iterates over pages which are not written to the store file entirely and have the changed chunks written by
+     * {@link #writeDelta(long, ByteBuffer, int, int)}. Pages can't be written until the iteration is finished.
+     *
+     * @param c Closure accepting page index.
+     * @throws IgniteCheckedException If failed.
+     */
+    public default void forEachDeltaPage(IgniteThrowableConsumer<Integer> c) throws IgniteCheckedException {
+        // No-op.
+    }
+
     /**
      * Gets page offset within the store file.
      *
@@ -176,4 +231,17 @@ public interface PageStore extends Closeable {
      * @param usefulBytes Number of meaningful bytes from the beginning of the page.
      */
     void punchHole(long pageId, int usefulBytes);
+
+    /**
+     * Frees the storage space of a page which content is not needed anymore by punching a hole in its place. The page
+     * is read as never written until it is written again.
+     *
+     * @param pageId Page ID.
+     * @return {@code True} if the storage space was freed, {@code false} if it was freed before or the store doesn't
+     *      support it.
+     * @throws IgniteCheckedException If failed.
+     */
+    public default boolean punchPage(long pageId) throws IgniteCheckedException {
+        return false;
+    }
 }
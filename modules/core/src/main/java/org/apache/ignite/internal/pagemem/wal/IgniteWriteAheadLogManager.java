@@ -132,6 +132,26 @@ public interface IgniteWriteAheadLogManager extends GridCacheSharedManager, Igni
         @Nullable IgniteBiPredicate<WALRecord.RecordType, WALPointer> recordDeserializeFilter
     ) throws IgniteCheckedException, StorageException;
 
+    /**
+     * Invoke this method to iterate over the written log entries, which are read and deserialized by several threads
+     * ahead of the caller. Records are returned in the log order.
+     *
+     * @param start WAL pointer from which to start iteration.
+     * @param recordDeserializeFilter Specify a filter to skip WAL records. Those records will not be explicitly deserialized.
+     * @param decoders Number of threads reading and deserializing records, if not positive records are read by the
+     *      caller thread.
+     * @return Records iterator.
+     * @throws IgniteException If failed to start iteration.
+     * @throws StorageException If IO error occurred while reading WAL entries.
+     */
+    public default WALIterator replay(
+        WALPointer start,
+        @Nullable IgniteBiPredicate<WALRecord.RecordType, WALPointer> recordDeserializeFilter,
+        int decoders
+    ) throws IgniteCheckedException, StorageException {
+        return replay(start, recordDeserializeFilter);
+    }
+
     /**
      * Invoke this method to reserve WAL history since provided pointer and prevent it's deletion.
      *
@@ -24,7 +24,11 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.function.ToLongFunction;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteException;
 import org.apache.ignite.cache.CacheMode;
 import org.apache.ignite.cluster.ClusterNode;
 import org.apache.ignite.configuration.CacheConfiguration;
@@ -41,10 +45,12 @@ import org.apache.ignite.internal.processors.cache.persistence.GridCacheDatabase
 import org.apache.ignite.internal.processors.cache.persistence.pagemem.PageMetrics;
 import org.apache.ignite.internal.processors.metric.MetricRegistryImpl;
 import org.apache.ignite.internal.processors.metric.impl.AtomicLongMetric;
+import org.apache.ignite.internal.processors.metric.impl.LongAdderMetric;
 import org.apache.ignite.internal.util.typedef.internal.CU;
 import org.apache.ignite.metric.MetricRegistry;
 import org.jetbrains.annotations.Nullable;
 
+import static org.apache.ignite.internal.pagemem.PageIdAllocator.INDEX_PARTITION;
 import static org.apache.ignite.internal.processors.metric.impl.MetricUtils.cacheMetricsRegistryName;
 import static org.apache.ignite.internal.processors.metric.impl.MetricUtils.metricName;
 
@@ -61,6 +67,15 @@ public class CacheGroupMetricsImpl {
     /** Number of local partitions initialized on current node. */
     private final AtomicLongMetric initLocPartitionsNum;
 
+    /** Number of lookups of absent keys answered by filters of keys of partitions. */
+    private final LongAdderMetric keyFilterNegatives;
+
+    /** Number of lookups of absent keys passed by filters of keys of partitions. */
+    private final LongAdderMetric keyFilterFalsePositives;
+
+    /** Number of free pages of partition files in place of which holes were punched. */
+    private final LongAdderMetric punchedPages;
+
     /** Memory page metrics. Will be {@code null} on client nodes. */
     @Nullable
     private final PageMetrics pageMetrics;
@@ -109,6 +124,18 @@ public class CacheGroupMetricsImpl {
         initLocPartitionsNum = mreg.longMetric("InitializedLocalPartitionsNumber",
             "Number of local partitions initialized on current node.");
 
+        keyFilterNegatives = mreg.longAdderMetric("KeyFilterNegatives",
+            "Number of lookups of absent keys answered by filters of keys of partitions without reading the data tree.");
+
+        keyFilterFalsePositives = mreg.longAdderMetric("KeyFilterFalsePositives",
+            "Number of lookups of absent keys which passed filters of keys of partitions.");
+
+        mreg.register("KeyFilterFalsePositiveRate", this::getKeyFilterFalsePositiveRate,
+            "Share of lookups of absent keys which passed filters of keys of partitions.");
+
+        punchedPages = mreg.longAdderMetric("PunchedPages",
+            "Number of free pages of partition files in place of which holes were punched to free disk space.");
+
         // disable memory page metrics for client nodes (dataRegion is null on client nodes)
         pageMetrics = ctx.dataRegion() == null ?
             null :
@@ -175,6 +202,18 @@ public class CacheGroupMetricsImpl {
             this::getClusterMovingPartitionsCount,
             "Count of partitions for this cache group in the entire cluster with state MOVING.");
 
+        if (persistenceEnabled) {
+            mreg.register("PartitionsAllocatedPages",
+                () -> partitionStoresMap(PageStore::pages),
+                Map.class,
+                "Number of allocated pages of local partition files by partition id, index partition included.");
+
+            mreg.register("PartitionsSparseStorageSize",
+                () -> partitionStoresMap(PageStore::getSparseSize),
+                Map.class,
+                "Disk space used by local partition files adjusted for sparsity by partition id, in bytes.");
+        }
+
         if (ctx.config().isEncryptionEnabled()) {
             mreg.register("ReencryptionFinished",
                 () -> !ctx.shared().kernalContext().encryption().reencryptionInProgress(ctx.groupId()),
@@ -205,6 +244,35 @@ public class CacheGroupMetricsImpl {
         initLocPartitionsNum.decrement();
     }
 
+    /**
+     * Callback on a lookup of an absent key answered by a filter of keys.
+     */
+    public void onKeyFilterNegative() {
+        keyFilterNegatives.increment();
+    }
+
+    /**
+     * Callback on a lookup of an absent key passed by a filter of keys.
+     */
+    public void onKeyFilterFalsePositive() {
+        keyFilterFalsePositives.increment();
+    }
+
+    /**
+     * Callback on a hole punched in place of a free page of a partition file.
+     */
+    public void onPagePunched() {
+        punchedPages.increment();
+    }
+
+    /** */
+    public double getKeyFilterFalsePositiveRate() {
+        long fp = keyFilterFalsePositives.value();
+        long total = fp + keyFilterNegatives.value();
+
+        return total == 0 ? 0 : (double)fp / total;
+    }
+
     /** */
     public int getGroupId() {
         return ctx.groupId();
@@ -484,6 +552,33 @@ public class CacheGroupMetricsImpl {
         return persistenceEnabled ? database().forGroupPageStores(ctx, PageStore::getSparseSize) : 0;
     }
 
+    /**
+     * @param f Value of a page store.
+     * @return Values of page stores of local partitions and the index partition by partition id.
+     */
+    private Map<Integer, Long> partitionStoresMap(ToLongFunction<PageStore> f) {
+        Map<Integer, Long> res = new TreeMap<>();
+
+        try {
+            for (GridDhtLocalPartition part : ctx.topology().localPartitions()) {
+                PageStore store = database().getPageStore(ctx.groupId(), part.id());
+
+                if (store.exists())
+                    res.put(part.id(), f.applyAsLong(store));
+            }
+
+            PageStore store = database().getPageStore(ctx.groupId(), INDEX_PARTITION);
+
+            if (store.exists())
+                res.put(INDEX_PARTITION, f.applyAsLong(store));
+        }
+        catch (IgniteCheckedException e) {
+            throw new IgniteException(e);
+        }
+
+        return res;
+    }
+
     /**
      * Removes all metric for cache group.
      *
@@ -577,6 +577,16 @@ public interface IgniteCacheOffheapManager {
             long expireTime,
             @Nullable CacheDataRow oldRow) throws IgniteCheckedException;
 
+        /**
+         * Moves the row to another data page. The data tree, pending entries and query indexes are updated
+         * with the new link. Must be called under the lock of the cache entry.
+         *
+         * @param cctx Cache context.
+         * @param row Row found by the key of the entry.
+         * @throws IgniteCheckedException If failed.
+         */
+        public void moveRow(GridCacheContext cctx, CacheDataRow row) throws IgniteCheckedException;
+
         /**
          * @param cctx Cache context.
          * @param key Key.
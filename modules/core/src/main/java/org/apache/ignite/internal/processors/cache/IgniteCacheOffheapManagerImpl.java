@@ -27,6 +27,7 @@ import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.TreeMap;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
@@ -62,6 +63,7 @@ import org.apache.ignite.internal.processors.cache.persistence.partstorage.Parti
 import org.apache.ignite.internal.processors.cache.persistence.tree.BPlusTree;
 import org.apache.ignite.internal.processors.cache.persistence.tree.reuse.ReuseList;
 import org.apache.ignite.internal.processors.cache.query.GridCacheQueryManager;
+import org.apache.ignite.internal.processors.cache.tree.CacheDataKeyFilter;
 import org.apache.ignite.internal.processors.cache.tree.CacheDataRowStore;
 import org.apache.ignite.internal.processors.cache.tree.CacheDataTree;
 import org.apache.ignite.internal.processors.cache.tree.DataRow;
@@ -92,10 +94,12 @@ import org.apache.ignite.lang.IgnitePredicate;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_CACHE_KEY_FILTER_BITS_PER_KEY;
 import static org.apache.ignite.internal.pagemem.PageIdAllocator.FLAG_IDX;
 import static org.apache.ignite.internal.pagemem.PageIdAllocator.INDEX_PARTITION;
 import static org.apache.ignite.internal.processors.cache.GridCacheUtils.TTL_ETERNAL;
 import static org.apache.ignite.internal.processors.cache.distributed.dht.topology.GridDhtPartitionState.OWNING;
+import static org.apache.ignite.internal.processors.cache.tree.CacheDataKeyFilter.DFLT_CACHE_KEY_FILTER_BITS_PER_KEY;
 
 /**
  *
@@ -1242,6 +1246,9 @@ public class IgniteCacheOffheapManagerImpl implements IgniteCacheOffheapManager
         /** */
         private volatile GridQueryRowCacheCleaner rowCacheCleaner;
 
+        /** Filter of keys of the data tree, {@code null} if disabled. */
+        @Nullable private final CacheDataKeyFilter keyFilter;
+
         /**
          * @param partId Partition number.
          * @param rowStore Row store.
@@ -1278,6 +1285,12 @@ public class IgniteCacheOffheapManagerImpl implements IgniteCacheOffheapManager
                 rowStore.setRowCacheCleaner(() -> rowCacheCleaner);
             else
                 rowStore.setRowCacheCleaner(cleaner);
+
+            int keyFilterBitsPerKey = IgniteSystemProperties.getInteger(IGNITE_CACHE_KEY_FILTER_BITS_PER_KEY,
+                DFLT_CACHE_KEY_FILTER_BITS_PER_KEY);
+
+            keyFilter = keyFilterBitsPerKey > 0 && grp.persistenceEnabled() ?
+                new CacheDataKeyFilter(keyFilterBitsPerKey) : null;
         }
 
         /** {@inheritDoc} */
@@ -1501,7 +1514,16 @@ public class IgniteCacheOffheapManagerImpl implements IgniteCacheOffheapManager
             throws IgniteCheckedException {
             assert cctx.shared().database().checkpointLockIsHeldByThread();
 
-            dataTree.invoke(row, CacheDataRowAdapter.RowData.NO_KEY, c);
+            if (keyFilter != null)
+                keyFilter.beforeUpdate(row.cacheId(), row.hash());
+
+            try {
+                dataTree.invoke(row, CacheDataRowAdapter.RowData.NO_KEY, c);
+            }
+            finally {
+                if (keyFilter != null)
+                    keyFilter.afterUpdate();
+            }
 
             switch (c.operationType()) {
                 case PUT: {
@@ -1644,13 +1666,22 @@ public class IgniteCacheOffheapManagerImpl implements IgniteCacheOffheapManager
                     if (grp.sharedGroup() && dataRow.cacheId() == CU.UNDEFINED_CACHE_ID)
                         dataRow.cacheId(cctx.cacheId());
 
-                    if (oldRow != null) {
-                        old = oldRow;
+                    if (keyFilter != null)
+                        keyFilter.beforeUpdate(grp.sharedGroup() ? cctx.cacheId() : CU.UNDEFINED_CACHE_ID, dataRow.hash());
+
+                    try {
+                        if (oldRow != null) {
+                            old = oldRow;
 
-                        dataTree.putx(dataRow);
+                            dataTree.putx(dataRow);
+                        }
+                        else
+                            old = dataTree.put(dataRow);
+                    }
+                    finally {
+                        if (keyFilter != null)
+                            keyFilter.afterUpdate();
                     }
-                    else
-                        old = dataTree.put(dataRow);
                 }
 
                 finishUpdate(cctx, dataRow, old);
@@ -1660,6 +1691,44 @@ public class IgniteCacheOffheapManagerImpl implements IgniteCacheOffheapManager
             }
         }
 
+        /** {@inheritDoc} */
+        @Override public void moveRow(GridCacheContext cctx, CacheDataRow row) throws IgniteCheckedException {
+            assert row.link() != 0L : row;
+
+            if (!busyLock.enterBusy())
+                throw operationCancelledException();
+
+            try {
+                int cacheId = grp.storeCacheIdInDataPage() ? cctx.cacheId() : CU.UNDEFINED_CACHE_ID;
+
+                DataRow dataRow = makeDataRow(row.key(), row.value(), row.version(), row.expireTime(), cacheId);
+
+                CacheObjectContext coCtx = cctx.cacheObjectContext();
+
+                // Make sure value bytes initialized.
+                dataRow.key().valueBytes(coCtx);
+                dataRow.value().valueBytes(coCtx);
+
+                assert cctx.shared().database().checkpointLockIsHeldByThread();
+
+                // The row is never updated in place, so it is written to a page taken from the free list.
+                rowStore.addRow(dataRow, grp.statisticsHolderData());
+
+                assert dataRow.link() != 0 : dataRow;
+
+                if (grp.sharedGroup() && dataRow.cacheId() == CU.UNDEFINED_CACHE_ID)
+                    dataRow.cacheId(cctx.cacheId());
+
+                // The key is already in the tree, so the filter of keys does not need to be updated.
+                dataTree.putx(dataRow);
+
+                finishUpdate(cctx, dataRow, row);
+            }
+            finally {
+                busyLock.leaveBusy();
+            }
+        }
+
         /**
          * @param cctx Cache context.
          * @param newRow New row.
@@ -1680,9 +1749,13 @@ public class IgniteCacheOffheapManagerImpl implements IgniteCacheOffheapManager
          */
         private void finishUpdate(GridCacheContext cctx, CacheDataRow newRow, @Nullable CacheDataRow oldRow, boolean oldRowExpired)
             throws IgniteCheckedException {
-            if (oldRow == null && !oldRowExpired)
+            if (oldRow == null && !oldRowExpired) {
                 incrementSize(cctx.cacheId());
 
+                if (keyFilter != null)
+                    keyFilter.onInsert();
+            }
+
             GridCacheQueryManager qryMgr = cctx.queries();
 
             if (qryMgr.enabled())
@@ -1762,6 +1835,9 @@ public class IgniteCacheOffheapManagerImpl implements IgniteCacheOffheapManager
                     clearPendingEntries(cctx, oldRow);
 
                 decrementSize(cctx.cacheId());
+
+                if (keyFilter != null)
+                    keyFilter.onRemove();
             }
 
             GridCacheQueryManager qryMgr = cctx.queries();
@@ -1792,10 +1868,25 @@ public class IgniteCacheOffheapManagerImpl implements IgniteCacheOffheapManager
 
         /** {@inheritDoc} */
         @Override public CacheDataRow find(GridCacheContext cctx, KeyCacheObject key) throws IgniteCheckedException {
-            key.valueBytes(cctx.cacheObjectContext());
-
             int cacheId = grp.sharedGroup() ? cctx.cacheId() : CU.UNDEFINED_CACHE_ID;
 
+            boolean filtered = false;
+
+            if (keyFilter != null) {
+                if (keyFilter.startBuild())
+                    buildKeyFilter();
+
+                if (!keyFilter.mightContain(cacheId, key.hashCode())) {
+                    grp.metrics().onKeyFilterNegative();
+
+                    return null;
+                }
+
+                filtered = keyFilter.ready();
+            }
+
+            key.valueBytes(cctx.cacheObjectContext());
+
             CacheDataRow row = dataTree.findOne(new SearchRow(cacheId, key), CacheDataRowAdapter.RowData.NO_KEY);
 
             if (row != null) {
@@ -1803,10 +1894,44 @@ public class IgniteCacheOffheapManagerImpl implements IgniteCacheOffheapManager
 
                 grp.dataRegion().evictionTracker().touchPage(row.link());
             }
+            else if (filtered)
+                grp.metrics().onKeyFilterFalsePositive();
 
             return row;
         }
 
+        /**
+         * Builds the filter of keys in background, the filter is not used for lookups until it is built for the first
+         * time, for example, after the partition was restored from disk.
+         */
+        private void buildKeyFilter() {
+            try {
+                grp.shared().kernalContext().pools().getRebalanceExecutorService().execute(() -> {
+                    if (!busyLock.enterBusy()) {
+                        keyFilter.cancelBuild();
+
+                        return;
+                    }
+
+                    try {
+                        keyFilter.build(dataTree, grp.sharedGroup(), fullSize());
+                    }
+                    catch (Throwable e) {
+                        if (!dataTree.destroyed()) {
+                            U.error(log, "Failed to build filter of keys [grp=" + grp.cacheOrGroupName() +
+                                ", part=" + partId + ']', e);
+                        }
+                    }
+                    finally {
+                        busyLock.leaveBusy();
+                    }
+                });
+            }
+            catch (RejectedExecutionException ignored) {
+                keyFilter.cancelBuild();
+            }
+        }
+
         /** {@inheritDoc} */
         @Override public GridCursor<? extends CacheDataRow> cursor() throws IgniteCheckedException {
             return dataTree.find(null, null);
@@ -1917,6 +2042,9 @@ public class IgniteCacheOffheapManagerImpl implements IgniteCacheOffheapManager
                     rowStore.removeRow(row.link(), grp.statisticsHolderData());
 
                     decrementSize(cacheId);
+
+                    if (keyFilter != null)
+                        keyFilter.onRemove();
                 }
                 catch (IgniteCheckedException e) {
                     U.error(log, "Fail remove row [link=" + row.link() + "]");
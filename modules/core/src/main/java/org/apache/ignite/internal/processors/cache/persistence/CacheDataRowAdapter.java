@@ -472,7 +472,7 @@ public class CacheDataRowAdapter implements CacheDataRow {
 
         // Read value.
         if (val == null) {
-            incomplete = readIncompleteValue(sharedCtx.kernalContext().cacheObjects(), coctx, buf, (IncompleteCacheObject)incomplete);
+            incomplete = readIncompleteValue(sharedCtx, coctx, buf, (IncompleteCacheObject)incomplete);
 
             if (val == null) {
                 assert incomplete != null;
@@ -547,7 +547,7 @@ public class CacheDataRowAdapter implements CacheDataRow {
         byte[] bytes = PageUtils.getBytes(addr, off, len);
         off += len;
 
-        val = sharedCtx.kernalContext().cacheObjects().toCacheObject(coctx, type, bytes);
+        val = value(sharedCtx, coctx, type, bytes);
 
         int verLen;
 
@@ -638,7 +638,7 @@ public class CacheDataRowAdapter implements CacheDataRow {
     }
 
     /**
-     * @param coProc Cache object processor.
+     * @param sharedCtx Cache shared context.
      * @param coctx Cache object context.
      * @param buf Buffer.
      * @param incomplete Incomplete object.
@@ -646,12 +646,20 @@ public class CacheDataRowAdapter implements CacheDataRow {
      * @throws IgniteCheckedException If failed.
      */
     protected IncompleteCacheObject readIncompleteValue(
-        IgniteCacheObjectProcessor coProc,
+        GridCacheSharedContext<?, ?> sharedCtx,
         CacheObjectContext coctx,
         ByteBuffer buf,
         IncompleteCacheObject incomplete
     ) throws IgniteCheckedException {
-        incomplete = coProc.toCacheObject(coctx, buf, incomplete);
+        if (incomplete == null)
+            incomplete = new IncompleteCacheObject(buf);
+
+        if (!incomplete.isReady()) {
+            incomplete.readData(buf);
+
+            if (incomplete.isReady())
+                incomplete.object(value(sharedCtx, coctx, incomplete.type(), incomplete.data()));
+        }
 
         if (incomplete.isReady()) {
             val = incomplete.object();
@@ -664,6 +672,26 @@ public class CacheDataRowAdapter implements CacheDataRow {
         return incomplete;
     }
 
+    /**
+     * @param sharedCtx Cache shared context.
+     * @param coctx Cache object context.
+     * @param type Value type.
+     * @param bytes Value bytes.
+     * @return Value, it is read from the store of large values if the row refers to it.
+     * @throws IgniteCheckedException If failed.
+     */
+    protected CacheObject value(
+        GridCacheSharedContext<?, ?> sharedCtx,
+        CacheObjectContext coctx,
+        byte type,
+        byte[] bytes
+    ) throws IgniteCheckedException {
+        if (type == LargeValueStore.TYPE_LARGE_VALUE_REF)
+            return LargeValueStore.read(sharedCtx, coctx, bytes);
+
+        return sharedCtx.kernalContext().cacheObjects().toCacheObject(coctx, type, bytes);
+    }
+
     /**
      * @param buf Buffer.
      * @param incomplete Incomplete object.
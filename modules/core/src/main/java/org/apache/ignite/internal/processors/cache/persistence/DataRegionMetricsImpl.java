@@ -117,21 +117,30 @@ public class DataRegionMetricsImpl implements DataRegionMetrics {
     /** Counter for number of dirty pages. */
     private final LongAdderMetric dirtyPages;
 
-    /** */
-    private final LongAdderMetric readPages;
-
     /** */
     private final LongAdderMetric readPagesTime;
 
     /** */
     private final LongAdderMetric writtenPages;
 
-    /** */
-    private final LongAdderMetric replacedPages;
-
     /** */
     private final LongAdderMetric pageReplaceTime;
 
+    /** Number of pages loaded by read-ahead. */
+    private final LongAdderMetric readAheadPages;
+
+    /** Number of pages loaded by read-ahead and accessed afterwards. */
+    private final LongAdderMetric readAheadHitPages;
+
+    /** Number of pages loaded by read-ahead and replaced without being accessed. */
+    private final LongAdderMetric readAheadUnusedPages;
+
+    /** Number of rows moved by free list compaction. */
+    private final LongAdderMetric compactionMovedRows;
+
+    /** Number of data pages emptied and recycled by free list compaction. */
+    private final LongAdderMetric compactionReclaimedPages;
+
     /** */
     private final AtomicLongMetric offHeapSize;
 
@@ -249,21 +258,35 @@ public class DataRegionMetricsImpl implements DataRegionMetrics {
         dirtyPages = mreg.longAdderMetric("DirtyPages",
             "Number of pages in memory not yet synchronized with persistent storage.");
 
-        readPages = mreg.longAdderMetric("PagesRead",
-            "Number of pages read from last restart.");
-
         readPagesTime = mreg.longAdderMetric("PagesReadTime",
             "Total pages read time in nanoseconds since last restart.");
 
+        mreg.register("PagesHitRatio",
+            this::getPagesHitRatio,
+            "Ratio of page acquisitions served from memory to all page acquisitions served from memory or by reading " +
+                "the page from the disk since last restart.");
+
         writtenPages = mreg.longAdderMetric("PagesWritten",
             "Number of pages written from last restart.");
 
-        replacedPages = mreg.longAdderMetric("PagesReplaced",
-            "Number of pages replaced from last restart.");
-
         pageReplaceTime = mreg.longAdderMetric("PagesReplaceTime",
             "Total pages replace time in nanoseconds since last restart.");
 
+        readAheadPages = mreg.longAdderMetric("ReadAheadPages",
+            "Number of pages loaded from the disk ahead of sequential reads since last restart.");
+
+        readAheadHitPages = mreg.longAdderMetric("ReadAheadPagesHit",
+            "Number of pages loaded ahead of sequential reads and accessed afterwards since last restart.");
+
+        readAheadUnusedPages = mreg.longAdderMetric("ReadAheadPagesUnused",
+            "Number of pages loaded ahead of sequential reads and replaced without being accessed since last restart.");
+
+        compactionMovedRows = mreg.longAdderMetric("FreeListCompactionMovedRows",
+            "Number of rows moved out of sparse data pages by free list compaction since last restart.");
+
+        compactionReclaimedPages = mreg.longAdderMetric("FreeListCompactionReclaimedPages",
+            "Number of data pages emptied and recycled by free list compaction since last restart.");
+
         offHeapSize = mreg.longMetric("OffHeapSize",
             "Offheap size in bytes.");
 
@@ -485,7 +508,7 @@ public class DataRegionMetricsImpl implements DataRegionMetrics {
         if (!metricsEnabled)
             return 0;
 
-        return readPages.value();
+        return dataRegionPageMetrics.readPages().value();
     }
 
     /** {@inheritDoc} */
@@ -501,7 +524,7 @@ public class DataRegionMetricsImpl implements DataRegionMetrics {
         if (!metricsEnabled)
             return 0;
 
-        return replacedPages.value();
+        return dataRegionPageMetrics.replacedPages().value();
     }
 
     /** {@inheritDoc} */
@@ -540,14 +563,18 @@ public class DataRegionMetricsImpl implements DataRegionMetrics {
 
     /**
      * Updates page replacement metrics.
+     *
+     * @param grpId Cache group ID of the replaced page.
+     * @param pageAge Age of the replaced page.
+     * @param nanos Time consumed by page replacement.
      */
-    public void onPageReplaced(long pageAge, long nanos) {
+    public void onPageReplaced(int grpId, long pageAge, long nanos) {
         if (metricsEnabled) {
             pageReplaceRate.increment();
 
             pageReplaceAge.add(pageAge);
 
-            replacedPages.increment();
+            cacheGrpPageMetrics(grpId).replacedPages().increment();
 
             pageReplaceTime.add(nanos);
         }
@@ -556,15 +583,80 @@ public class DataRegionMetricsImpl implements DataRegionMetrics {
     /**
      * Updates page read.
      *
+     * @param grpId Cache group ID of the read page.
      * @param nanos Time consumed by page reading.
      */
-    public void onPageRead(long nanos) {
+    public void onPageRead(int grpId, long nanos) {
         if (metricsEnabled) {
-            readPages.increment();
+            cacheGrpPageMetrics(grpId).readPages().increment();
             readPagesTime.add(nanos);
         }
     }
 
+    /**
+     * Updates page hit.
+     *
+     * @param grpId Cache group ID of the acquired page.
+     */
+    public void onPageHit(int grpId) {
+        if (metricsEnabled)
+            cacheGrpPageMetrics(grpId).hitPages().increment();
+    }
+
+    /**
+     * @return Ratio of page acquisitions served from memory to all page acquisitions served from memory or by reading
+     * the page from the disk.
+     */
+    public double getPagesHitRatio() {
+        if (!metricsEnabled)
+            return 0;
+
+        long hits = dataRegionPageMetrics.hitPages().value();
+        long total = hits + dataRegionPageMetrics.readPages().value();
+
+        return total == 0 ? 0 : (double)hits / total;
+    }
+
+    /**
+     * Updates number of pages loaded by read-ahead.
+     */
+    public void onReadAheadPage() {
+        if (metricsEnabled)
+            readAheadPages.increment();
+    }
+
+    /**
+     * Updates number of pages loaded by read-ahead and accessed afterwards.
+     */
+    public void onReadAheadPageHit() {
+        if (metricsEnabled)
+            readAheadHitPages.increment();
+    }
+
+    /**
+     * Updates number of pages loaded by read-ahead and replaced without being accessed.
+     */
+    public void onReadAheadPageUnused() {
+        if (metricsEnabled)
+            readAheadUnusedPages.increment();
+    }
+
+    /**
+     * Updates number of rows moved by free list compaction.
+     */
+    public void onFreeListCompactionMovedRow() {
+        if (metricsEnabled)
+            compactionMovedRows.increment();
+    }
+
+    /**
+     * Updates number of data pages recycled by free list compaction.
+     */
+    public void onFreeListCompactionReclaimedPage() {
+        if (metricsEnabled)
+            compactionReclaimedPages.increment();
+    }
+
     /**
      * Updates page written.
      */
@@ -643,6 +735,9 @@ public class DataRegionMetricsImpl implements DataRegionMetrics {
         return PageMetricsImpl.builder(registry)
             .totalPagesCallback(delegate(dataRegionPageMetrics.totalPages()))
             .indexPagesCallback(delegate(dataRegionPageMetrics.indexPages()))
+            .hitPagesCallback(delegate(dataRegionPageMetrics.hitPages()))
+            .readPagesCallback(delegate(dataRegionPageMetrics.readPages()))
+            .replacedPagesCallback(delegate(dataRegionPageMetrics.replacedPages()))
             .build();
     }
 
@@ -808,11 +903,14 @@ public class DataRegionMetricsImpl implements DataRegionMetrics {
     public void clear() {
         largeEntriesPages.reset();
         dirtyPages.reset();
-        readPages.reset();
         readPagesTime.reset();
         writtenPages.reset();
-        replacedPages.reset();
         pageReplaceTime.reset();
+        readAheadPages.reset();
+        readAheadHitPages.reset();
+        readAheadUnusedPages.reset();
+        compactionMovedRows.reset();
+        compactionReclaimedPages.reset();
         offHeapSize.reset();
         checkpointBufSize.reset();
         allocRate.reset();
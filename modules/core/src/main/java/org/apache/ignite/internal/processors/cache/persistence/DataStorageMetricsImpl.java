@@ -104,6 +104,18 @@ public class DataStorageMetricsImpl {
     /** */
     private final AtomicLongMetric lastCpCowPages;
 
+    /** */
+    private final AtomicLongMetric lastCpPageWrites;
+
+    /** */
+    private volatile double lastCpAvgPagesPerWrite;
+
+    /** */
+    private final AtomicLongMetric lastCpDeltaPages;
+
+    /** */
+    private final AtomicLongMetric lastCpUnchangedPages;
+
     /**
      * @deprecated Will be removed in upcoming releases.
      */
@@ -122,6 +134,15 @@ public class DataStorageMetricsImpl {
     /** */
     private final AtomicLongMetric totalCheckpointTime;
 
+    /** */
+    private final AtomicLongMetric walReplayReadDuration;
+
+    /** */
+    private final AtomicLongMetric walReplayReadWaitDuration;
+
+    /** */
+    private final AtomicLongMetric walReplayApplyDuration;
+
     /** */
     private volatile Collection<DataRegionMetrics> regionMetrics;
 
@@ -173,6 +194,27 @@ public class DataStorageMetricsImpl {
     /** Total size of the compressed segments in bytes. */
     private final LongAdderMetric walCompressedBytes;
 
+    /** Number of checkpoints started early by the adaptive checkpoint scheduler. */
+    private final LongAdderMetric adaptiveCpCnt;
+
+    /** Speed of pages becoming dirty predicted before the last checkpoint, pages per second. */
+    private final AtomicLongMetric cpDirtyPagesPredictedFillRate;
+
+    /** Actual speed of pages becoming dirty between the last two checkpoints, pages per second. */
+    private final AtomicLongMetric cpDirtyPagesActualFillRate;
+
+    /** Speed of checkpoint buffer filling predicted before the last checkpoint, pages per second. */
+    private final AtomicLongMetric cpBufPredictedFillRate;
+
+    /** Actual speed of checkpoint buffer filling during the last checkpoint, pages per second. */
+    private final AtomicLongMetric cpBufActualFillRate;
+
+    /** Speed of WAL growth predicted before the last checkpoint, bytes per second. */
+    private final AtomicLongMetric cpWalPredictedFillRate;
+
+    /** Actual speed of WAL growth between the last two checkpoints, bytes per second. */
+    private final AtomicLongMetric cpWalActualFillRate;
+
     /**
      * @param mmgr Metrics manager.
      * @param metricsEnabled Metrics enabled flag.
@@ -270,12 +312,37 @@ public class DataStorageMetricsImpl {
         lastCpCowPages = mreg.longMetric("LastCheckpointCopiedOnWritePagesNumber",
             "Number of pages copied to a temporary checkpoint buffer during the last checkpoint.");
 
+        lastCpPageWrites = mreg.longMetric("LastCheckpointPageWriteOperations",
+            "Number of IO operations used to write pages during the last checkpoint, adjacent pages of a partition " +
+                "are written by one operation.");
+
+        mreg.register("LastCheckpointAveragePagesPerWrite", () -> lastCpAvgPagesPerWrite,
+            "Average number of adjacent pages written by one IO operation during the last checkpoint.");
+
+        lastCpDeltaPages = mreg.longMetric("LastCheckpointDeltaPagesNumber",
+            "Number of pages which changed parts were written to the partition delta files instead of the whole " +
+                "pages during the last checkpoint.");
+
+        lastCpUnchangedPages = mreg.longMetric("LastCheckpointUnchangedPagesNumber",
+            "Number of dirty pages which were not written during the last checkpoint since their content was not " +
+                "changed.");
+
         lastWalSegmentRollOverTime = mreg.longMetric("WalLastRollOverTime",
             "Time of the last WAL segment rollover.");
 
         totalCheckpointTime = mreg.longMetric("CheckpointTotalTime",
             "Total duration of checkpoint");
 
+        walReplayReadDuration = mreg.longMetric("WalReplayReadDuration",
+            "Total duration of reading and deserializing WAL records during recovery on node start in milliseconds, " +
+                "summed over all reading threads.");
+
+        walReplayReadWaitDuration = mreg.longMetric("WalReplayReadWaitDuration",
+            "Duration of waiting for WAL records to be read during recovery on node start in milliseconds.");
+
+        walReplayApplyDuration = mreg.longMetric("WalReplayApplyDuration",
+            "Duration of applying WAL records during recovery on node start in milliseconds.");
+
         storageSize = mreg.longMetric("StorageSize",
             "Storage space allocated, in bytes.");
 
@@ -343,6 +410,30 @@ public class DataStorageMetricsImpl {
             "Total size of the compressed segments in bytes."
         );
 
+        adaptiveCpCnt = mreg.longAdderMetric("CheckpointAdaptiveStartsNumber",
+            "Number of checkpoints started early by the adaptive checkpoint scheduler.");
+
+        cpDirtyPagesPredictedFillRate = mreg.longMetric("CheckpointDirtyPagesPredictedFillRate",
+            "Speed of pages becoming dirty predicted by the adaptive checkpoint scheduler before the last checkpoint, " +
+                "pages per second.");
+
+        cpDirtyPagesActualFillRate = mreg.longMetric("CheckpointDirtyPagesActualFillRate",
+            "Actual speed of pages becoming dirty between the last two checkpoints, pages per second.");
+
+        cpBufPredictedFillRate = mreg.longMetric("CheckpointBufferPredictedFillRate",
+            "Speed of checkpoint buffer filling predicted by the adaptive checkpoint scheduler before the last " +
+                "checkpoint, pages per second.");
+
+        cpBufActualFillRate = mreg.longMetric("CheckpointBufferActualFillRate",
+            "Actual speed of checkpoint buffer filling during the last checkpoint, pages per second.");
+
+        cpWalPredictedFillRate = mreg.longMetric("CheckpointWalPredictedFillRate",
+            "Speed of WAL growth predicted by the adaptive checkpoint scheduler before the last checkpoint, " +
+                "bytes per second.");
+
+        cpWalActualFillRate = mreg.longMetric("CheckpointWalActualFillRate",
+            "Actual speed of WAL growth between the last two checkpoints, bytes per second.");
+
         mreg.register(
             "walFsyncTimeAverage",
             this::walFsyncTimeAverage,
@@ -663,6 +754,22 @@ public class DataStorageMetricsImpl {
         lastWalSegmentRollOverTime.value(U.currentTimeMillis());
     }
 
+    /**
+     * Callback on WAL replay finished during binary or logical recovery.
+     *
+     * @param readDuration Duration of reading and deserializing records, summed over all reading threads.
+     * @param readWaitDuration Duration of waiting for records to be read.
+     * @param applyDuration Duration of applying records.
+     */
+    public void onWalReplay(long readDuration, long readWaitDuration, long applyDuration) {
+        if (!metricsEnabled)
+            return;
+
+        walReplayReadDuration.add(readDuration);
+        walReplayReadWaitDuration.add(readWaitDuration);
+        walReplayApplyDuration.add(applyDuration);
+    }
+
     /**
      *
      */
@@ -696,6 +803,10 @@ public class DataStorageMetricsImpl {
      * @param totalPages Total number of all pages in checkpoint.
      * @param dataPages Total number of data pages in checkpoint.
      * @param cowPages Total number of COW-ed pages in checkpoint.
+     * @param pageWrites Number of IO operations used to write checkpoint pages.
+     * @param avgPagesPerWrite Average number of adjacent pages written by one IO operation.
+     * @param deltaPages Number of pages which changed chunks were written instead of the whole pages.
+     * @param unchangedPages Number of pages which were not written since their content wasn't changed.
      * @param recoveryDataSize Recovery data size, in bytes.
      * @param storageSize Storage space allocated, in bytes.
      * @param sparseStorageSize Storage space allocated adjusted for possible sparsity, in bytes.
@@ -717,6 +828,10 @@ public class DataStorageMetricsImpl {
         long totalPages,
         long dataPages,
         long cowPages,
+        long pageWrites,
+        double avgPagesPerWrite,
+        long deltaPages,
+        long unchangedPages,
         long recoveryDataSize,
         long storageSize,
         long sparseStorageSize
@@ -740,6 +855,10 @@ public class DataStorageMetricsImpl {
         lastCpTotalPages.value(totalPages);
         lastCpDataPages.value(dataPages);
         lastCpCowPages.value(cowPages);
+        lastCpPageWrites.value(pageWrites);
+        lastCpAvgPagesPerWrite = avgPagesPerWrite;
+        lastCpDeltaPages.value(deltaPages);
+        lastCpUnchangedPages.value(unchangedPages);
         lastCpRecoveryDataSize.value(recoveryDataSize);
         this.storageSize.value(storageSize);
         this.sparseStorageSize.value(sparseStorageSize);
@@ -760,6 +879,40 @@ public class DataStorageMetricsImpl {
         cpHistogram.value(duration);
     }
 
+    /**
+     * Callback on a checkpoint started early by the adaptive checkpoint scheduler.
+     */
+    public void onAdaptiveCheckpointScheduled() {
+        adaptiveCpCnt.increment();
+    }
+
+    /**
+     * @param predicted Speed of pages becoming dirty predicted before the checkpoint, pages per second.
+     * @param actual Actual speed of pages becoming dirty since the previous checkpoint, pages per second.
+     */
+    public void onCheckpointDirtyPagesFillRate(long predicted, long actual) {
+        cpDirtyPagesPredictedFillRate.value(predicted);
+        cpDirtyPagesActualFillRate.value(actual);
+    }
+
+    /**
+     * @param predicted Speed of checkpoint buffer filling predicted before the checkpoint, pages per second.
+     * @param actual Actual speed of checkpoint buffer filling during the checkpoint, pages per second.
+     */
+    public void onCheckpointBufferFillRate(long predicted, long actual) {
+        cpBufPredictedFillRate.value(predicted);
+        cpBufActualFillRate.value(actual);
+    }
+
+    /**
+     * @param predicted Speed of WAL growth predicted before the checkpoint, bytes per second.
+     * @param actual Actual speed of WAL growth since the previous checkpoint, bytes per second.
+     */
+    public void onCheckpointWalFillRate(long predicted, long actual) {
+        cpWalPredictedFillRate.value(predicted);
+        cpWalActualFillRate.value(actual);
+    }
+
     /**
      * Callback on logging a record to a WAL.
      *
@@ -0,0 +1,267 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteSystemProperties;
+import org.apache.ignite.internal.IgniteInterruptedCheckedException;
+import org.apache.ignite.internal.NodeStoppingException;
+import org.apache.ignite.internal.pagemem.PageIdUtils;
+import org.apache.ignite.internal.pagemem.PageMemory;
+import org.apache.ignite.internal.processors.cache.CacheGroupContext;
+import org.apache.ignite.internal.processors.cache.GridCacheContext;
+import org.apache.ignite.internal.processors.cache.GridCacheEntryEx;
+import org.apache.ignite.internal.processors.cache.GridCacheSharedContext;
+import org.apache.ignite.internal.processors.cache.IgniteCacheOffheapManager.CacheDataStore;
+import org.apache.ignite.internal.processors.cache.KeyCacheObject;
+import org.apache.ignite.internal.processors.cache.distributed.dht.topology.GridDhtLocalPartition;
+import org.apache.ignite.internal.processors.cache.persistence.GridCacheOffheapManager.GridCacheDataStore;
+import org.apache.ignite.internal.processors.cache.persistence.freelist.AbstractFreeList;
+import org.apache.ignite.internal.processors.cache.persistence.tree.io.DataPageIO;
+import org.apache.ignite.internal.util.BasicRateLimiter;
+import org.apache.ignite.internal.util.typedef.X;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.internal.util.worker.GridWorker;
+
+import static org.apache.ignite.internal.processors.cache.distributed.dht.topology.GridDhtPartitionState.OWNING;
+
+/**
+ * Online compaction of free lists of partitions of persistent caches.
+ * <p>
+ * Rows are moved out of sparse data pages, the sparsest first, to denser pages taken from the free list, and
+ * the emptied pages are recycled to the reuse list, so they are used by partition structures instead of newly
+ * allocated pages. A sparse page is taken out of the free list under a checkpoint read lock, so no rows are
+ * inserted to it meanwhile, and each row of the page is moved under the lock of its cache entry, the same way an
+ * update which keeps the value would do. Compaction is throttled by the number of bytes of moved rows per second.
+ */
+public class FreeListCompactor extends GridWorker {
+    /** @see IgniteSystemProperties#IGNITE_FREE_LIST_COMPACTION_RATE */
+    public static final long DFLT_FREE_LIST_COMPACTION_RATE = 0;
+
+    /** Timeout between passes over partitions if there was nothing to compact, in milliseconds. */
+    private static final long IDLE_TIMEOUT = 10_000L;
+
+    /** Cache shared context. */
+    private final GridCacheSharedContext<?, ?> cctx;
+
+    /** Limiter of bytes of moved rows per second. */
+    private final BasicRateLimiter limiter;
+
+    /**
+     * @param cctx Cache shared context.
+     * @param rate Maximum number of bytes of moved rows per second.
+     */
+    public FreeListCompactor(GridCacheSharedContext<?, ?> cctx, long rate) {
+        super(cctx.igniteInstanceName(), "free-list-compactor", cctx.logger(FreeListCompactor.class));
+
+        assert rate > 0 : rate;
+
+        this.cctx = cctx;
+
+        limiter = new BasicRateLimiter(rate);
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void body() throws InterruptedException, IgniteInterruptedCheckedException {
+        while (!isCancelled()) {
+            boolean reclaimed = false;
+
+            for (CacheGroupContext grp : cctx.cache().cacheGroups()) {
+                if (!grp.persistenceEnabled() || !grp.affinityNode())
+                    continue;
+
+                for (GridDhtLocalPartition part : grp.topology().localPartitions()) {
+                    if (isCancelled())
+                        return;
+
+                    if (part.state() != OWNING || !part.reserve())
+                        continue;
+
+                    try {
+                        reclaimed |= compact(grp, part.dataStore());
+                    }
+                    catch (IgniteCheckedException e) {
+                        if (isCancelled() || X.hasCause(e, NodeStoppingException.class))
+                            return;
+
+                        U.error(log, "Failed to compact free list of partition [grp=" + grp.cacheOrGroupName() +
+                            ", part=" + part.id() + ']', e);
+                    }
+                    finally {
+                        part.release();
+                    }
+                }
+            }
+
+            if (!reclaimed)
+                U.sleep(IDLE_TIMEOUT);
+        }
+    }
+
+    /**
+     * Moves rows out of data pages of the partition which are less than half full.
+     *
+     * @param grp Cache group.
+     * @param store Partition data store.
+     * @return {@code True} if any page was reclaimed.
+     * @throws IgniteCheckedException If failed.
+     */
+    private boolean compact(CacheGroupContext grp, CacheDataStore store) throws IgniteCheckedException {
+        AbstractFreeList<CacheDataRow> freeList = ((GridCacheDataStore)store).getCacheStoreFreeList();
+
+        if (freeList == null)
+            return false;
+
+        DataRegionMetricsImpl metrics = grp.dataRegion().metrics();
+
+        int minFreeSpace = grp.dataRegion().pageMemory().pageSize() / 2;
+
+        // Pages which were not emptied are returned to the free list and may be taken again, so the pass is bounded.
+        long pages = freeList.sparsePages(minFreeSpace);
+
+        boolean reclaimed = false;
+
+        for (long i = 0; i < pages && !isCancelled(); i++) {
+            long bytes = 0;
+
+            cctx.database().checkpointReadLock();
+
+            try {
+                long pageId = freeList.takeSparsePage(minFreeSpace, grp.statisticsHolderData());
+
+                if (pageId == 0L)
+                    break;
+
+                try {
+                    bytes = compactPage(grp, store, pageId);
+                }
+                finally {
+                    if (freeList.releaseSparsePage(pageId, grp.statisticsHolderData())) {
+                        metrics.onFreeListCompactionReclaimedPage();
+
+                        reclaimed = true;
+                    }
+                }
+            }
+            finally {
+                cctx.database().checkpointReadUnlock();
+            }
+
+            // Permits are acquired out of the checkpoint read lock to not delay checkpoints.
+            if (bytes > 0)
+                limiter.acquire(bytes);
+        }
+
+        return reclaimed;
+    }
+
+    /**
+     * Moves rows out of the data page taken from the free list.
+     *
+     * @param grp Cache group.
+     * @param store Partition data store.
+     * @param pageId Data page ID.
+     * @return Number of bytes of moved rows.
+     * @throws IgniteCheckedException If failed.
+     */
+    private long compactPage(CacheGroupContext grp, CacheDataStore store, long pageId) throws IgniteCheckedException {
+        PageMemory pageMem = grp.dataRegion().pageMemory();
+
+        int grpId = grp.groupId();
+
+        List<CacheDataRowAdapter> rows = new ArrayList<>();
+
+        long page = pageMem.acquirePage(grpId, pageId, grp.statisticsHolderData());
+
+        try {
+            long pageAddr = pageMem.readLock(grpId, pageId, page);
+
+            assert pageAddr != 0L : U.hexLong(pageId);
+
+            try {
+                DataPageIO io = DataPageIO.VERSIONS.forPage(pageAddr);
+
+                int cnt = io.getDirectCount(pageAddr);
+
+                for (int itemId = 0; itemId < cnt; itemId++) {
+                    // Fragments of large rows are left in place.
+                    if (io.isFragmented(pageAddr, itemId, pageMem.realPageSize(grpId)))
+                        continue;
+
+                    CacheDataRowAdapter row = new CacheDataRowAdapter(PageIdUtils.link(pageId, itemId));
+
+                    row.initFromDataPage(io, pageAddr, itemId, grp, cctx, pageMem,
+                        CacheDataRowAdapter.RowData.KEY_ONLY, true);
+
+                    rows.add(row);
+                }
+            }
+            finally {
+                pageMem.readUnlock(grpId, pageId, page);
+            }
+        }
+        finally {
+            pageMem.releasePage(grpId, pageId, page);
+        }
+
+        long bytes = 0;
+
+        for (CacheDataRowAdapter row : rows) {
+            GridCacheContext<?, ?> cacheCtx = grp.sharedGroup() ? cctx.cacheContext(row.cacheId()) :
+                grp.singleCacheContext();
+
+            if (cacheCtx == null)
+                continue;
+
+            KeyCacheObject key = row.key();
+
+            key.partition(store.partId());
+
+            GridCacheEntryEx entry = cacheCtx.isNear() ? cacheCtx.near().dht().entryEx(key) :
+                cacheCtx.cache().entryEx(key);
+
+            entry.lockEntry();
+
+            try {
+                if (entry.obsolete())
+                    continue;
+
+                // The row is moved only if it has not been updated or removed since the page was read.
+                CacheDataRow cur = store.find(cacheCtx, key);
+
+                if (cur == null || cur.link() != row.link())
+                    continue;
+
+                bytes += cur.size();
+
+                store.moveRow(cacheCtx, cur);
+
+                grp.dataRegion().metrics().onFreeListCompactionMovedRow();
+            }
+            finally {
+                entry.unlockEntry();
+
+                entry.touch();
+            }
+        }
+
+        return bytes;
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence;
+
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteSystemProperties;
+import org.apache.ignite.internal.IgniteInterruptedCheckedException;
+import org.apache.ignite.internal.NodeStoppingException;
+import org.apache.ignite.internal.processors.cache.CacheGroupContext;
+import org.apache.ignite.internal.processors.cache.GridCacheSharedContext;
+import org.apache.ignite.internal.processors.cache.distributed.dht.topology.GridDhtLocalPartition;
+import org.apache.ignite.internal.processors.cache.persistence.GridCacheOffheapManager.GridCacheDataStore;
+import org.apache.ignite.internal.processors.cache.persistence.checkpoint.CheckpointProgress;
+import org.apache.ignite.internal.processors.cache.persistence.freelist.PagesList;
+import org.apache.ignite.internal.processors.cache.persistence.pagemem.PageMemoryEx;
+import org.apache.ignite.internal.processors.cache.persistence.tree.reuse.ReuseList;
+import org.apache.ignite.internal.util.BasicRateLimiter;
+import org.apache.ignite.internal.util.typedef.X;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.internal.util.worker.GridWorker;
+
+import static org.apache.ignite.internal.processors.cache.distributed.dht.topology.GridDhtPartitionState.OWNING;
+
+/**
+ * Frees disk space of partition files of persistent caches taken by free pages.
+ * <p>
+ * Holes are punched in place of recycled pages kept by nodes of reuse lists behind the list tails, such pages were
+ * released a while ago and are taken after the pages of the tails. Nodes of the reuse list are read locked while their
+ * pages are punched, so a page can't be taken meanwhile. Punching is throttled by the number of punched pages per
+ * second.
+ * <p>
+ * A page is punched only if it is not acquired and not changed since the last checkpoint, its clean copy is unloaded
+ * from memory. Pages are punched under the checkpoint read lock while no checkpoint is running, so all changes of
+ * a punched page were written by a finished checkpoint and crash recovery doesn't replay delta records of the page.
+ * <p>
+ * A punched page is read as a page of zeroes. It's taken from the reuse list only by
+ * {@link PagesList#initReusedPage}, which initializes it under the write lock. The page is clean at that moment,
+ * so its write unlock logs a full page snapshot to the WAL, and recovery restores the page from the snapshot rather
+ * than from the punched content of the file.
+ */
+public class FreePagesHolePuncher extends GridWorker {
+    /** @see IgniteSystemProperties#IGNITE_HOLE_PUNCHING_RATE */
+    public static final long DFLT_HOLE_PUNCHING_RATE = 0;
+
+    /** Timeout between passes over partitions if there was nothing to punch, in milliseconds. */
+    private static final long IDLE_TIMEOUT = 10_000L;
+
+    /** Cache shared context. */
+    private final GridCacheSharedContext<?, ?> cctx;
+
+    /** Limiter of punched pages per second. */
+    private final BasicRateLimiter limiter;
+
+    /** Maximum number of pages punched while reuse list nodes are locked. */
+    private final int batchSize;
+
+    /**
+     * @param cctx Cache shared context.
+     * @param rate Maximum number of punched pages per second.
+     */
+    public FreePagesHolePuncher(GridCacheSharedContext<?, ?> cctx, long rate) {
+        super(cctx.igniteInstanceName(), "free-pages-hole-puncher", cctx.logger(FreePagesHolePuncher.class));
+
+        assert rate > 0 : rate;
+
+        this.cctx = cctx;
+
+        limiter = new BasicRateLimiter(rate);
+
+        batchSize = (int)Math.min(rate, 1024);
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void body() throws InterruptedException, IgniteInterruptedCheckedException {
+        while (!isCancelled()) {
+            boolean punched = false;
+
+            for (CacheGroupContext grp : cctx.cache().cacheGroups()) {
+                if (!grp.persistenceEnabled() || !grp.affinityNode())
+                    continue;
+
+                for (GridDhtLocalPartition part : grp.topology().localPartitions()) {
+                    if (isCancelled())
+                        return;
+
+                    if (part.state() != OWNING || !part.reserve())
+                        continue;
+
+                    try {
+                        punched |= punch(grp, ((GridCacheDataStore)part.dataStore()).getCacheStoreFreeList());
+                    }
+                    catch (IgniteCheckedException e) {
+                        if (isCancelled() || X.hasCause(e, NodeStoppingException.class))
+                            return;
+
+                        // Errors of concurrently stopped groups are ignored.
+                        if (cctx.cache().cacheGroup(grp.groupId()) == grp) {
+                            U.error(log, "Failed to punch free pages of partition [grp=" + grp.cacheOrGroupName() +
+                                ", part=" + part.id() + ']', e);
+                        }
+                    }
+                    finally {
+                        part.release();
+                    }
+                }
+
+                try {
+                    punched |= punch(grp, grp.offheap().reuseListForIndex(null));
+                }
+                catch (IgniteCheckedException e) {
+                    if (isCancelled() || X.hasCause(e, NodeStoppingException.class))
+                        return;
+
+                    // Errors of concurrently stopped groups are ignored.
+                    if (cctx.cache().cacheGroup(grp.groupId()) == grp)
+                        U.error(log, "Failed to punch free index pages [grp=" + grp.cacheOrGroupName() + ']', e);
+                }
+            }
+
+            if (!punched)
+                U.sleep(IDLE_TIMEOUT);
+        }
+    }
+
+    /**
+     * Punches holes in place of stale pages of the reuse list.
+     *
+     * @param grp Cache group.
+     * @param reuseList Reuse list.
+     * @return {@code True} if any page was punched.
+     * @throws IgniteCheckedException If failed.
+     */
+    private boolean punch(CacheGroupContext grp, ReuseList reuseList) throws IgniteCheckedException {
+        if (reuseList == null)
+            return false;
+
+        GridCacheDatabaseSharedManager db = (GridCacheDatabaseSharedManager)cctx.database();
+
+        PageMemoryEx pageMem = (PageMemoryEx)grp.dataRegion().pageMemory();
+
+        int grpId = grp.groupId();
+
+        boolean res = false;
+
+        // Pages which were punched before are skipped cheaply, so the list is visited again from the tails
+        // until a visit ends before the batch is full.
+        while (!isCancelled()) {
+            int[] punched = new int[1];
+
+            boolean finished;
+
+            // A checkpoint can't begin while the read lock is held.
+            db.checkpointReadLock();
+
+            try {
+                CheckpointProgress cp = db.getCheckpointer().currentProgress();
+
+                // Pages written by a running checkpoint are clean, but recovery may still replay their delta
+                // records if the node fails before the checkpoint is finished.
+                if (cp != null && cp.inProgress())
+                    return res;
+
+                finished = reuseList.visitStaleRecycledPages(pageId -> {
+                    if (pageMem.punchPage(grpId, pageId)) {
+                        grp.metrics().onPagePunched();
+
+                        punched[0]++;
+                    }
+
+                    return punched[0] < batchSize && !isCancelled();
+                });
+            }
+            finally {
+                db.checkpointReadUnlock();
+            }
+
+            // Permits are acquired out of the list node locks to not delay taking of recycled pages.
+            if (punched[0] > 0) {
+                limiter.acquire(punched[0]);
+
+                res = true;
+            }
+
+            if (finished)
+                break;
+        }
+
+        return res;
+    }
+}
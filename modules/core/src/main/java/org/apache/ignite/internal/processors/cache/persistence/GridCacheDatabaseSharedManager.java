@@ -61,6 +61,7 @@ import org.apache.ignite.failure.FailureContext;
 import org.apache.ignite.failure.FailureType;
 import org.apache.ignite.internal.GridKernalContext;
 import org.apache.ignite.internal.IgniteInternalFuture;
+import org.apache.ignite.internal.IgniteInterruptedCheckedException;
 import org.apache.ignite.internal.managers.discovery.GridDiscoveryManager;
 import org.apache.ignite.internal.mem.DirectMemoryProvider;
 import org.apache.ignite.internal.mem.DirectMemoryRegion;
@@ -128,10 +129,12 @@ import org.apache.ignite.internal.processors.cache.persistence.partstate.GroupPa
 import org.apache.ignite.internal.processors.cache.persistence.tree.io.PageIO;
 import org.apache.ignite.internal.processors.cache.persistence.tree.io.PagePartitionMetaIO;
 import org.apache.ignite.internal.processors.cache.persistence.tree.util.PageHandler;
+import org.apache.ignite.internal.processors.cache.persistence.wal.ParallelWalRecordsIterator;
 import org.apache.ignite.internal.processors.cache.persistence.wal.WALPointer;
 import org.apache.ignite.internal.processors.cache.persistence.wal.crc.IgniteDataIntegrityViolationException;
 import org.apache.ignite.internal.processors.cache.transactions.IgniteTxManager;
 import org.apache.ignite.internal.processors.compress.CompressionProcessor;
+import org.apache.ignite.internal.processors.compress.FileSystemUtils;
 import org.apache.ignite.internal.processors.configuration.distributed.DistributedConfigurationLifecycleListener;
 import org.apache.ignite.internal.processors.configuration.distributed.DistributedPropertyDispatcher;
 import org.apache.ignite.internal.processors.configuration.distributed.SimpleDistributedProperty;
@@ -169,10 +172,14 @@ import static java.util.function.Function.identity;
 import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toSet;
 import static org.apache.ignite.IgniteSystemProperties.IGNITE_DEFRAGMENTATION_REGION_SIZE_PERCENTAGE;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_FREE_LIST_COMPACTION_RATE;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_HOLE_PUNCHING_RATE;
 import static org.apache.ignite.IgniteSystemProperties.IGNITE_PDS_WAL_REBALANCE_THRESHOLD;
 import static org.apache.ignite.IgniteSystemProperties.IGNITE_PREFER_WAL_REBALANCE;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_WAL_RECOVERY_DECODER_THREADS;
 import static org.apache.ignite.IgniteSystemProperties.getBoolean;
 import static org.apache.ignite.IgniteSystemProperties.getInteger;
+import static org.apache.ignite.IgniteSystemProperties.getLong;
 import static org.apache.ignite.internal.cluster.DistributedConfigurationUtils.makeUpdateListener;
 import static org.apache.ignite.internal.cluster.DistributedConfigurationUtils.setDefaultValue;
 import static org.apache.ignite.internal.pagemem.PageIdUtils.partId;
@@ -185,6 +192,8 @@ import static org.apache.ignite.internal.processors.cache.distributed.dht.topolo
 import static org.apache.ignite.internal.processors.cache.distributed.dht.topology.GridDhtPartitionState.fromOrdinal;
 import static org.apache.ignite.internal.processors.cache.persistence.CheckpointState.FINISHED;
 import static org.apache.ignite.internal.processors.cache.persistence.CheckpointState.LOCK_RELEASED;
+import static org.apache.ignite.internal.processors.cache.persistence.FreeListCompactor.DFLT_FREE_LIST_COMPACTION_RATE;
+import static org.apache.ignite.internal.processors.cache.persistence.FreePagesHolePuncher.DFLT_HOLE_PUNCHING_RATE;
 import static org.apache.ignite.internal.processors.cache.persistence.checkpoint.CheckpointReadWriteLock.CHECKPOINT_LOCK_HOLD_COUNT;
 import static org.apache.ignite.internal.processors.cache.persistence.defragmentation.CachePartitionDefragmentationManager.DEFRAGMENTATION_MNTC_TASK_NAME;
 import static org.apache.ignite.internal.processors.cache.persistence.defragmentation.maintenance.DefragmentationParameters.fromStore;
@@ -247,6 +256,9 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
     /** @see IgniteSystemProperties#IGNITE_DEFRAGMENTATION_REGION_SIZE_PERCENTAGE */
     public static final int DFLT_DEFRAGMENTATION_REGION_SIZE_PERCENTAGE = 60;
 
+    /** @see IgniteSystemProperties#IGNITE_WAL_RECOVERY_DECODER_THREADS */
+    public static final int DFLT_WAL_RECOVERY_DECODER_THREADS = 0;
+
     /**
      * Threshold value to use history or full rebalance for local partition.
      * Master value contained in {@link #historicalRebalanceThreshold}.
@@ -268,6 +280,15 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
     private final int defragmentationRegionSizePercentageOfConfiguredSize =
         getInteger(IGNITE_DEFRAGMENTATION_REGION_SIZE_PERCENTAGE, DFLT_DEFRAGMENTATION_REGION_SIZE_PERCENTAGE);
 
+    /** Number of threads reading and deserializing WAL records during recovery. */
+    private final int walRecoveryDecoders = getInteger(IGNITE_WAL_RECOVERY_DECODER_THREADS, DFLT_WAL_RECOVERY_DECODER_THREADS);
+
+    /** Maximum number of bytes of rows per second moved by compaction of free lists. */
+    private final long freeListCompactionRate = getLong(IGNITE_FREE_LIST_COMPACTION_RATE, DFLT_FREE_LIST_COMPACTION_RATE);
+
+    /** Maximum number of free pages per second in place of which holes are punched. */
+    private final long holePunchingRate = getLong(IGNITE_HOLE_PUNCHING_RATE, DFLT_HOLE_PUNCHING_RATE);
+
     /** WAL marker prefix for meta store. */
     private static final String WAL_KEY_PREFIX = "grp-wal-";
 
@@ -289,6 +310,12 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
     /** */
     CheckpointManager checkpointManager;
 
+    /** Compactor of free lists, {@code null} if compaction is disabled or the node is not active. */
+    @Nullable private volatile FreeListCompactor freeListCompactor;
+
+    /** Puncher of free pages, {@code null} if hole punching is disabled or the node is not active. */
+    @Nullable private volatile FreePagesHolePuncher holePuncher;
+
     /** Database configuration. */
     private final DataStorageConfiguration persistenceCfg;
 
@@ -1127,6 +1154,36 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
         if (defrgMgr != null)
             defrgMgr.cancel();
 
+        FreeListCompactor compactor = freeListCompactor;
+
+        if (compactor != null) {
+            freeListCompactor = null;
+
+            U.cancel(compactor);
+
+            try {
+                U.join(compactor);
+            }
+            catch (IgniteInterruptedCheckedException e) {
+                U.warn(log, "Interrupted while waiting for free list compactor to stop.");
+            }
+        }
+
+        FreePagesHolePuncher puncher = holePuncher;
+
+        if (puncher != null) {
+            holePuncher = null;
+
+            U.cancel(puncher);
+
+            try {
+                U.join(puncher);
+            }
+            catch (IgniteInterruptedCheckedException e) {
+                U.warn(log, "Interrupted while waiting for free pages hole puncher to stop.");
+            }
+        }
+
         if (checkpointManager != null)
             checkpointManager.stop(cancel);
 
@@ -2062,6 +2119,29 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
 
         if (chp != null)
             chp.futureFor(LOCK_RELEASED).get();
+
+        if (freeListCompactionRate > 0 && freeListCompactor == null) {
+            FreeListCompactor compactor = new FreeListCompactor(cctx, freeListCompactionRate);
+
+            freeListCompactor = compactor;
+
+            U.newThread(compactor).start();
+        }
+
+        if (holePunchingRate > 0 && holePuncher == null) {
+            try {
+                FileSystemUtils.checkSupported();
+
+                FreePagesHolePuncher puncher = new FreePagesHolePuncher(cctx, holePunchingRate);
+
+                holePuncher = puncher;
+
+                U.newThread(puncher).start();
+            }
+            catch (IgniteException e) {
+                U.warn(log, "Hole punching in place of free pages is disabled: " + e.getMessage());
+            }
+        }
     }
 
     /**
@@ -2230,7 +2310,9 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
 
         long lastArchivedSegment = cctx.wal().lastArchivedSegment();
 
-        WALIterator it = cctx.wal().replay(recPtr, recordTypePredicate);
+        long replayStart = System.nanoTime();
+
+        WALIterator it = cctx.wal().replay(recPtr, recordTypePredicate, walRecoveryDecoders);
 
         RestoreBinaryState restoreBinaryState = new RestoreBinaryState(status, it, lastArchivedSegment, cacheGroupsPredicate);
 
@@ -2362,6 +2444,8 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
             exec.awaitApplyComplete();
         }
 
+        String replayStages = onWalReplayFinished(restoreBinaryState, it, replayStart);
+
         if (!finalizeState)
             return null;
 
@@ -2375,7 +2459,7 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
 
             if (log.isInfoEnabled())
                 log.info("Finished applying memory changes [changesApplied=" + applied +
-                    ", time=" + (U.currentTimeMillis() - start) + " ms]");
+                    ", time=" + (U.currentTimeMillis() - start) + " ms, " + replayStages + ']');
 
             finalizeCheckpointOnRecovery(status.cpStartTs, status.cpStartId, status.startPtr, exec.executor());
         }
@@ -2383,6 +2467,32 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
         return restoreBinaryState;
     }
 
+    /**
+     * Updates WAL replay metrics with durations of the replay stages.
+     *
+     * @param state Restore state.
+     * @param it WAL iterator.
+     * @param replayStart WAL replay start time, in nanoseconds.
+     * @return Durations of the replay stages for the recovery log.
+     */
+    private String onWalReplayFinished(RestoreStateContext state, WALIterator it, long replayStart) {
+        long replayTime = U.nanosToMillis(System.nanoTime() - replayStart);
+        long readWaitTime = U.nanosToMillis(state.readTime());
+
+        // Without decoders records are read by the applying thread, so read and wait times are the same.
+        long readTime = it instanceof ParallelWalRecordsIterator ?
+            U.nanosToMillis(((ParallelWalRecordsIterator)it).decodeTime()) : readWaitTime;
+
+        int decoders = it instanceof ParallelWalRecordsIterator ? ((ParallelWalRecordsIterator)it).decoders() : 0;
+
+        long applyTime = Math.max(0, replayTime - readWaitTime);
+
+        dsMetrics.onWalReplay(readTime, readWaitTime, applyTime);
+
+        return "walReadTime=" + readTime + " ms, walReadWaitTime=" + readWaitTime + " ms, applyTime=" + applyTime +
+            " ms, walDecoders=" + decoders;
+    }
+
     /**
      * @param consumer Runnable task.
      * @param grpId Group Id.
@@ -2614,7 +2724,9 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
 
         Map<GroupPartitionId, Integer> partitionRecoveryStates = new HashMap<>();
 
-        WALIterator it = cctx.wal().replay(status.startPtr, recordTypePredicate);
+        long replayStart = System.nanoTime();
+
+        WALIterator it = cctx.wal().replay(status.startPtr, recordTypePredicate, walRecoveryDecoders);
 
         RestoreLogicalState restoreLogicalState =
             new RestoreLogicalState(status, it, lastArchivedSegment, cacheGroupsPredicate, partitionRecoveryStates);
@@ -2832,9 +2944,11 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
 
         exec.awaitApplyComplete();
 
+        String replayStages = onWalReplayFinished(restoreLogicalState, it, replayStart);
+
         if (log.isInfoEnabled())
             log.info("Finished applying WAL changes [updatesApplied=" + applied +
-                ", time=" + (U.currentTimeMillis() - start) + " ms]");
+                ", time=" + (U.currentTimeMillis() - start) + " ms, " + replayStages + ']');
 
         for (DatabaseLifecycleListener lsnr : getDatabaseListeners(cctx.kernalContext()))
             lsnr.afterLogicalUpdatesApplied(this, restoreLogicalState);
@@ -3388,6 +3502,9 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
         /** Only {@link WalRecordCacheGroupAware} records satisfied this predicate will be applied. */
         private final IgnitePredicate<Integer> cacheGroupPredicate;
 
+        /** Time spent waiting for the iterator to read records, in nanoseconds. */
+        private long readTime;
+
         /**
          * @param status Checkpoint status.
          * @param iterator WAL iterator.
@@ -3415,10 +3532,11 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
         @Nullable public WALRecord next() throws IgniteCheckedException {
             try {
                 for (; ; ) {
-                    if (!iterator.hasNextX())
-                        return null;
+                    long startTime = System.nanoTime();
+
+                    IgniteBiTuple<WALPointer, WALRecord> tup = iterator.hasNextX() ? iterator.nextX() : null;
 
-                    IgniteBiTuple<WALPointer, WALRecord> tup = iterator.nextX();
+                    readTime += System.nanoTime() - startTime;
 
                     if (tup == null)
                         return null;
@@ -3498,6 +3616,8 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
          * @throws IgniteCheckedException If CRC check fail during binary recovery state or another exception occurring.
          */
         public boolean hasNext() throws IgniteCheckedException {
+            long startTime = System.nanoTime();
+
             try {
                 return iterator.hasNextX();
             }
@@ -3509,6 +3629,16 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
                 else
                     return false;
             }
+            finally {
+                readTime += System.nanoTime() - startTime;
+            }
+        }
+
+        /**
+         * @return Time spent waiting for the iterator to read records, in nanoseconds.
+         */
+        public long readTime() {
+            return readTime;
         }
 
         /**
@@ -167,6 +167,9 @@ public class GridCacheOffheapManager extends IgniteCacheOffheapManagerImpl imple
     /** Flag indicates that all group partitions have restored their state from page memory / disk. */
     private volatile boolean partitionStatesRestored;
 
+    /** Store of large values or {@code null} if large values are kept in data pages. */
+    @Nullable private LargeValueStore largeValStore;
+
     /** {@inheritDoc} */
     @Override protected void initPendingTree(GridCacheContext cctx) throws IgniteCheckedException {
         // No-op. Per-partition PendingTree should be used.
@@ -218,9 +221,18 @@ public class GridCacheOffheapManager extends IgniteCacheOffheapManagerImpl imple
             ctx.diagnostic().pageLockTracker()
         );
 
+        largeValStore = LargeValueStore.create(grp);
+
         dbSharedMgr.addCheckpointListener(this, grp.dataRegion());
     }
 
+    /**
+     * @return Store of large values or {@code null} if large values are kept in data pages.
+     */
+    @Nullable public LargeValueStore largeValueStore() {
+        return largeValStore;
+    }
+
     /**
      * Get internal IndexStorage.
      * See {@link UpgradePendingTreeToPerPartitionTask} for details.
@@ -246,7 +258,9 @@ public class GridCacheOffheapManager extends IgniteCacheOffheapManagerImpl imple
 
     /** {@inheritDoc} */
     @Override public void onCheckpointBegin(Context ctx) throws IgniteCheckedException {
-        /* No-op. */
+        // Data rows written to the checkpoint must not refer to large values lost on a crash.
+        if (largeValStore != null)
+            largeValStore.sync();
     }
 
     /** {@inheritDoc} */
@@ -254,6 +268,16 @@ public class GridCacheOffheapManager extends IgniteCacheOffheapManagerImpl imple
         assert grp.dataRegion().pageMemory() instanceof PageMemoryEx;
 
         syncMetadata(ctx.executor());
+
+        // Extents released before the mark are reused when the checkpoint containing their removal is finished.
+        if (largeValStore != null)
+            largeValStore.onMarkCheckpointBegin();
+    }
+
+    /** {@inheritDoc} */
+    @Override public void afterCheckpointEnd(Context ctx) throws IgniteCheckedException {
+        if (largeValStore != null)
+            largeValStore.onCheckpointEnd();
     }
 
     /** {@inheritDoc} */
@@ -528,6 +552,10 @@ public class GridCacheOffheapManager extends IgniteCacheOffheapManagerImpl imple
             // Triggers initialization of existing(having datafile) partition before acquiring cp read lock.
             part.dataStore().init();
 
+            // Extents released before a restart are found by data rows, the partition is not updated yet.
+            if (largeValStore != null)
+                largeValStore.restore(p, part.dataStore());
+
             ctx.database().checkpointReadLock();
 
             try {
@@ -899,6 +927,9 @@ public class GridCacheOffheapManager extends IgniteCacheOffheapManagerImpl imple
 
         ctx.pageStore().truncate(grp.groupId(), partId, tag);
 
+        if (largeValStore != null)
+            largeValStore.onPartitionDestroyed(partId);
+
         if (grp.config().isEncryptionEnabled())
             ctx.kernalContext().encryption().onDestroyPartitionStore(grp, partId);
     }
@@ -944,6 +975,9 @@ public class GridCacheOffheapManager extends IgniteCacheOffheapManagerImpl imple
 
         if (grp.affinityNode())
             ((GridCacheDatabaseSharedManager)ctx.database()).removeCheckpointListener(this);
+
+        if (largeValStore != null)
+            largeValStore.stop();
     }
 
     /**
@@ -2480,6 +2514,15 @@ public class GridCacheOffheapManager extends IgniteCacheOffheapManagerImpl imple
             delegate.update(cctx, key, val, ver, expireTime, oldRow);
         }
 
+        /** {@inheritDoc} */
+        @Override public void moveRow(GridCacheContext cctx, CacheDataRow row) throws IgniteCheckedException {
+            assert grp.shared().database().checkpointLockIsHeldByThread();
+
+            CacheDataStore delegate = init0(false);
+
+            delegate.moveRow(cctx, row);
+        }
+
         /** {@inheritDoc} */
         @Override public CacheDataRow createRow(
             GridCacheContext cctx,
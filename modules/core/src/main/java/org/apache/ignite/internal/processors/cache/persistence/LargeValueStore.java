@@ -0,0 +1,679 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ClosedChannelException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.IgniteSystemProperties;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.configuration.WALMode;
+import org.apache.ignite.internal.processors.cache.CacheGroupContext;
+import org.apache.ignite.internal.processors.cache.CacheObject;
+import org.apache.ignite.internal.processors.cache.CacheObjectByteArrayImpl;
+import org.apache.ignite.internal.processors.cache.CacheObjectContext;
+import org.apache.ignite.internal.processors.cache.GridCacheSharedContext;
+import org.apache.ignite.internal.processors.cache.IgniteCacheOffheapManager.CacheDataStore;
+import org.apache.ignite.internal.processors.cache.persistence.CacheDataRowAdapter.RowData;
+import org.apache.ignite.internal.processors.cache.persistence.file.FileIO;
+import org.apache.ignite.internal.processors.cache.persistence.file.FileIOFactory;
+import org.apache.ignite.internal.processors.cache.persistence.wal.crc.FastCrc;
+import org.apache.ignite.internal.processors.cache.tree.RowLinkIO;
+import org.apache.ignite.internal.util.lang.GridCursor;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.jetbrains.annotations.Nullable;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_LARGE_VALUE_THRESHOLD;
+
+/**
+ * Store of large values of a persistent cache group.
+ * <p>
+ * A value larger than the threshold is appended to the file of large values of its partition as an extent and the
+ * data row keeps a reference to the extent in place of the value, so the value is neither split to fragments of data
+ * pages nor logged as page deltas. The value is read from the file with one positional read which doesn't load pages
+ * to page memory.
+ * <p>
+ * Files are synced on each checkpoint before pages are written, so a data row of a checkpoint never refers to an extent
+ * lost on a crash, and on each write if WAL mode is {@link WALMode#FSYNC}.
+ * <p>
+ * An extent is released when its data row is removed. It is reused for new values only after the checkpoint which
+ * contains the removal is finished, so the extent is never overwritten while a data row recovered after a crash may
+ * still refer to it. Free extents are kept in memory only, they are found again after a restart as gaps between
+ * extents referred by data rows of the partition, see {@link #restore(int, CacheDataStore)}.
+ */
+public class LargeValueStore {
+    /** @see IgniteSystemProperties#IGNITE_LARGE_VALUE_THRESHOLD */
+    public static final int DFLT_LARGE_VALUE_THRESHOLD = 0;
+
+    /** Type of the value of a data row referring to an extent, it differs from types of {@link CacheObject}. */
+    public static final byte TYPE_LARGE_VALUE_REF = 64;
+
+    /** Size of a reference: group ID, partition, extent offset and extent length. */
+    private static final int REF_SIZE = 4 + 4 + 8 + 4;
+
+    /** Cache group. */
+    private final CacheGroupContext grp;
+
+    /** Minimum size of a stored value. */
+    private final int threshold;
+
+    /** File IO factory. */
+    private final FileIOFactory ioFactory;
+
+    /** Whether each write is synced. */
+    private final boolean syncWrites;
+
+    /** Files of partitions. */
+    private final ConcurrentMap<Integer, ExtentsFile> files = new ConcurrentHashMap<>();
+
+    /** Logger. */
+    private final IgniteLogger log;
+
+    /**
+     * @param grp Cache group.
+     * @param threshold Size of a value above which the value is stored.
+     */
+    private LargeValueStore(CacheGroupContext grp, int threshold) {
+        this.grp = grp;
+        this.threshold = threshold;
+
+        DataStorageConfiguration dsCfg = grp.shared().gridConfig().getDataStorageConfiguration();
+
+        ioFactory = dsCfg.getFileIOFactory();
+        syncWrites = dsCfg.getWalMode() == WALMode.FSYNC;
+
+        log = grp.shared().logger(LargeValueStore.class);
+    }
+
+    /**
+     * @param grp Persistent cache group.
+     * @return Store of large values of the group or {@code null} if large values are kept in data pages.
+     */
+    @Nullable public static LargeValueStore create(CacheGroupContext grp) {
+        assert grp.persistenceEnabled();
+
+        int threshold = IgniteSystemProperties.getInteger(IGNITE_LARGE_VALUE_THRESHOLD, DFLT_LARGE_VALUE_THRESHOLD);
+
+        if (threshold <= 0 || grp.config().isEncryptionEnabled())
+            return null;
+
+        // Values which fit a data page are never stored, so rows of large values are never updated in place.
+        return new LargeValueStore(grp, Math.max(threshold, grp.dataRegion().pageMemory().pageSize()));
+    }
+
+    /**
+     * @param val Value.
+     * @return {@code True} if the value must be written to the store.
+     * @throws IgniteCheckedException If failed.
+     */
+    public boolean large(@Nullable CacheObject val) throws IgniteCheckedException {
+        return val != null && val.valueBytesLength(grp.cacheObjectContext()) > threshold;
+    }
+
+    /**
+     * Appends the value to the file of the partition.
+     *
+     * @param part Partition.
+     * @param val Value.
+     * @return Reference to write to a data row in place of the value.
+     * @throws IgniteCheckedException If failed.
+     */
+    public CacheObject write(int part, CacheObject val) throws IgniteCheckedException {
+        // Extent: CRC and the value as it is written to data pages.
+        int len = 4 + val.valueBytesLength(grp.cacheObjectContext());
+
+        ByteBuffer buf = ByteBuffer.allocate(len).order(ByteOrder.nativeOrder());
+
+        buf.position(4);
+
+        boolean written = val.putValue(buf);
+
+        assert written && !buf.hasRemaining() : val;
+
+        buf.position(4);
+
+        buf.putInt(0, FastCrc.calcCrc(buf, len - 4));
+
+        buf.rewind();
+
+        ExtentsFile file = file(part);
+
+        long off = file.append(buf, syncWrites);
+
+        ByteBuffer ref = ByteBuffer.allocate(REF_SIZE).order(ByteOrder.nativeOrder());
+
+        ref.putInt(grp.groupId());
+        ref.putInt(part);
+        ref.putLong(off);
+        ref.putInt(len);
+
+        return new LargeValueRef(ref.array());
+    }
+
+    /**
+     * Reads the value referred by a data row.
+     *
+     * @param sharedCtx Cache shared context.
+     * @param coctx Cache object context.
+     * @param ref Reference to the extent of the value.
+     * @return Value.
+     * @throws IgniteCheckedException If failed.
+     */
+    public static CacheObject read(
+        GridCacheSharedContext<?, ?> sharedCtx,
+        CacheObjectContext coctx,
+        byte[] ref
+    ) throws IgniteCheckedException {
+        assert ref.length == REF_SIZE : ref.length;
+
+        ByteBuffer buf = ByteBuffer.wrap(ref).order(ByteOrder.nativeOrder());
+
+        int grpId = buf.getInt();
+        int part = buf.getInt();
+        long off = buf.getLong();
+        int len = buf.getInt();
+
+        CacheGroupContext grp = sharedCtx.cache().cacheGroup(grpId);
+
+        LargeValueStore store = grp != null && grp.offheap() instanceof GridCacheOffheapManager
+            ? ((GridCacheOffheapManager)grp.offheap()).largeValueStore()
+            : null;
+
+        if (store == null) {
+            throw new IgniteCheckedException("Failed to read a large value, the store of large values of the cache " +
+                "group is not found [grpId=" + grpId + ", part=" + part + ']');
+        }
+
+        return store.read(coctx, part, off, len);
+    }
+
+    /**
+     * @param coctx Cache object context.
+     * @param part Partition.
+     * @param off Offset of the extent.
+     * @param len Length of the extent.
+     * @return Value.
+     * @throws IgniteCheckedException If failed.
+     */
+    private CacheObject read(CacheObjectContext coctx, int part, long off, int len) throws IgniteCheckedException {
+        ByteBuffer buf = ByteBuffer.allocate(len).order(ByteOrder.nativeOrder());
+
+        file(part).read(buf, off);
+
+        buf.position(4);
+
+        if (FastCrc.calcCrc(buf, len - 4) != buf.getInt(0)) {
+            throw new IgniteCheckedException("Large value is corrupted [grp=" + grp.cacheOrGroupName() +
+                ", part=" + part + ", off=" + off + ", len=" + len + ']');
+        }
+
+        buf.position(4);
+
+        return grp.shared().kernalContext().cacheObjects().toCacheObject(coctx, buf);
+    }
+
+    /**
+     * Releases the extent referred by a data row which is being removed.
+     *
+     * @param link Link of the data row.
+     * @throws IgniteCheckedException If failed.
+     */
+    public void release(long link) throws IgniteCheckedException {
+        ByteBuffer ref = ref(link);
+
+        if (ref == null)
+            return;
+
+        int part = ref.getInt(4);
+
+        file(part).release(ref.getLong(8), ref.getInt(16));
+    }
+
+    /**
+     * Finds free extents of a partition restored after a node start as gaps between extents referred by its data rows.
+     * Called before the partition is updated.
+     *
+     * @param part Partition.
+     * @param store Data store of the partition.
+     * @throws IgniteCheckedException If failed.
+     */
+    public void restore(int part, CacheDataStore store) throws IgniteCheckedException {
+        File f = grp.shared().kernalContext().pdsFolderResolver().fileTree().largeValuesFile(grp.config(), part);
+
+        if (!f.exists())
+            return;
+
+        // Offsets and lengths of referred extents.
+        TreeMap<Long, Integer> used = new TreeMap<>();
+
+        GridCursor<?> cur = store.tree().find(null, null, (tree, io, pageAddr, idx) -> {
+            ByteBuffer ref = ref(((RowLinkIO)io).getLink(pageAddr, idx));
+
+            if (ref != null)
+                used.put(ref.getLong(8), ref.getInt(16));
+
+            // Rows are not needed.
+            return false;
+        }, null);
+
+        while (cur.next()) {
+            // No-op.
+        }
+
+        file(part).restore(used);
+    }
+
+    /**
+     * Called on the mark of a checkpoint begin, under the checkpoint write lock.
+     */
+    public void onMarkCheckpointBegin() {
+        for (ExtentsFile file : files.values())
+            file.onMarkCheckpointBegin();
+    }
+
+    /**
+     * Called when a checkpoint is finished.
+     */
+    public void onCheckpointEnd() {
+        for (ExtentsFile file : files.values())
+            file.onCheckpointEnd();
+    }
+
+    /**
+     * @param link Link of a data row.
+     * @return Reference to the extent of the value of the data row or {@code null} if the value is kept in data pages.
+     * @throws IgniteCheckedException If failed.
+     */
+    @Nullable private ByteBuffer ref(long link) throws IgniteCheckedException {
+        RefReader row = new RefReader(link);
+
+        row.initFromLink(grp, RowData.NO_KEY, true);
+
+        if (!(row.value() instanceof LargeValueRef))
+            return null;
+
+        return ByteBuffer.wrap(((LargeValueRef)row.value()).valueBytes(null)).order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * Syncs files written since the previous sync. Called on a checkpoint before pages are written.
+     *
+     * @throws IgniteCheckedException If failed.
+     */
+    public void sync() throws IgniteCheckedException {
+        for (ExtentsFile file : files.values())
+            file.sync();
+    }
+
+    /**
+     * Deletes the file of a destroyed partition.
+     *
+     * @param part Partition.
+     * @throws IgniteCheckedException If failed.
+     */
+    public void onPartitionDestroyed(int part) throws IgniteCheckedException {
+        ExtentsFile file = files.remove(part);
+
+        if (file != null)
+            file.close();
+
+        File f = grp.shared().kernalContext().pdsFolderResolver().fileTree().largeValuesFile(grp.config(), part);
+
+        if (f.exists() && !f.delete())
+            throw new IgniteCheckedException("Failed to delete file of large values: " + f.getAbsolutePath());
+    }
+
+    /**
+     * Closes files.
+     */
+    public void stop() {
+        for (ExtentsFile file : files.values()) {
+            try {
+                file.close();
+            }
+            catch (IgniteCheckedException e) {
+                U.error(log, "Failed to close file of large values [grp=" + grp.cacheOrGroupName() + ']', e);
+            }
+        }
+
+        files.clear();
+    }
+
+    /**
+     * @param part Partition.
+     * @return File of the partition.
+     * @throws IgniteCheckedException If failed.
+     */
+    private ExtentsFile file(int part) throws IgniteCheckedException {
+        ExtentsFile file = files.get(part);
+
+        if (file != null)
+            return file;
+
+        synchronized (files) {
+            file = files.get(part);
+
+            if (file == null) {
+                file = new ExtentsFile(
+                    grp.shared().kernalContext().pdsFolderResolver().fileTree().largeValuesFile(grp.config(), part));
+
+                files.put(part, file);
+            }
+        }
+
+        return file;
+    }
+
+    /**
+     * File of extents of a partition.
+     */
+    private class ExtentsFile {
+        /** File. */
+        private final File file;
+
+        /** File IO. */
+        private final FileIO io;
+
+        /** Size of the file including extents being written. */
+        private long size;
+
+        /** Free extents which can be reused, offsets mapped to lengths. Adjacent extents are merged. */
+        private final TreeMap<Long, Long> free = new TreeMap<>();
+
+        /** Extents released since the mark of the last checkpoint begin, offsets and lengths. */
+        private List<long[]> released = new ArrayList<>();
+
+        /** Extents released before the mark of the checkpoint in progress. */
+        private List<long[]> checkpointing = new ArrayList<>();
+
+        /** Whether the file was written since the last sync. */
+        private volatile boolean dirty;
+
+        /**
+         * @param file File.
+         * @throws IgniteCheckedException If failed.
+         */
+        ExtentsFile(File file) throws IgniteCheckedException {
+            this.file = file;
+
+            try {
+                io = ioFactory.create(file, CREATE, READ, WRITE);
+
+                // A tail of an extent which was being written on a crash is skipped.
+                size = io.size();
+            }
+            catch (IOException e) {
+                throw new StorageException("Failed to open file of large values: " + file.getAbsolutePath(), e);
+            }
+        }
+
+        /**
+         * @param buf Extent.
+         * @param sync Whether to sync the file.
+         * @return Offset of the extent.
+         * @throws IgniteCheckedException If failed.
+         */
+        long append(ByteBuffer buf, boolean sync) throws IgniteCheckedException {
+            long off;
+
+            // Extents are written concurrently to reserved ranges of the file.
+            synchronized (this) {
+                off = allocate(buf.remaining());
+
+                if (off < 0) {
+                    off = size;
+
+                    size += buf.remaining();
+                }
+            }
+
+            try {
+                io.writeFully(buf, off);
+
+                dirty = true;
+
+                if (sync)
+                    io.force();
+            }
+            catch (IOException e) {
+                throw new StorageException("Failed to write file of large values: " + file.getAbsolutePath(), e);
+            }
+
+            return off;
+        }
+
+        /**
+         * @param buf Buffer to read the extent to.
+         * @param off Offset of the extent.
+         * @throws IgniteCheckedException If failed.
+         */
+        void read(ByteBuffer buf, long off) throws IgniteCheckedException {
+            try {
+                int len = buf.remaining();
+
+                if (io.readFully(buf, off) != len) {
+                    throw new IgniteCheckedException("Large value is not found in file [file=" + file.getAbsolutePath() +
+                        ", off=" + off + ", len=" + len + ']');
+                }
+            }
+            catch (IOException e) {
+                throw new StorageException("Failed to read file of large values: " + file.getAbsolutePath(), e);
+            }
+        }
+
+        /**
+         * @param len Length of an extent.
+         * @return Offset of a free extent of the given length or {@code -1} if there is no such extent.
+         */
+        private long allocate(int len) {
+            assert Thread.holdsLock(this);
+
+            for (Map.Entry<Long, Long> e : free.entrySet()) {
+                if (e.getValue() < len)
+                    continue;
+
+                long off = e.getKey();
+
+                free.remove(off);
+
+                if (e.getValue() > len)
+                    free.put(off + len, e.getValue() - len);
+
+                return off;
+            }
+
+            return -1;
+        }
+
+        /**
+         * @param off Offset of a free extent.
+         * @param len Length of the extent.
+         */
+        private void free(long off, long len) {
+            assert Thread.holdsLock(this);
+
+            Map.Entry<Long, Long> prev = free.floorEntry(off);
+
+            assert prev == null || prev.getKey() + prev.getValue() <= off : "Extent is released twice [file=" +
+                file.getAbsolutePath() + ", off=" + off + ", len=" + len + ']';
+
+            if (prev != null && prev.getKey() + prev.getValue() == off) {
+                free.remove(prev.getKey());
+
+                off = prev.getKey();
+                len += prev.getValue();
+            }
+
+            Long nextLen = free.remove(off + len);
+
+            if (nextLen != null)
+                len += nextLen;
+
+            free.put(off, len);
+        }
+
+        /**
+         * @param off Offset of the extent.
+         * @param len Length of the extent.
+         */
+        synchronized void release(long off, int len) {
+            released.add(new long[] {off, len});
+        }
+
+        /**
+         * Replaces free extents with gaps between the referred extents.
+         *
+         * @param used Offsets and lengths of the referred extents.
+         */
+        synchronized void restore(TreeMap<Long, Integer> used) {
+            free.clear();
+            checkpointing.clear();
+
+            released = new ArrayList<>();
+
+            long pos = 0;
+
+            for (Map.Entry<Long, Integer> e : used.entrySet()) {
+                if (e.getKey() > pos)
+                    released.add(new long[] {pos, e.getKey() - pos});
+
+                pos = Math.max(pos, e.getKey() + e.getValue());
+            }
+
+            // A tail of an extent which was being written on a crash is released too.
+            if (size > pos)
+                released.add(new long[] {pos, size - pos});
+        }
+
+        /**
+         * Removals made before the mark are contained in the checkpoint.
+         */
+        synchronized void onMarkCheckpointBegin() {
+            if (checkpointing.isEmpty()) {
+                List<long[]> tmp = checkpointing;
+
+                checkpointing = released;
+                released = tmp;
+            }
+            else {
+                checkpointing.addAll(released);
+
+                released.clear();
+            }
+        }
+
+        /**
+         * Extents released before the mark of the finished checkpoint are not referred by data rows recovered after
+         * a crash, so they can be reused.
+         */
+        synchronized void onCheckpointEnd() {
+            for (long[] ext : checkpointing)
+                free(ext[0], ext[1]);
+
+            checkpointing.clear();
+        }
+
+        /**
+         * @throws IgniteCheckedException If failed.
+         */
+        void sync() throws IgniteCheckedException {
+            if (!dirty)
+                return;
+
+            // Extents written concurrently with the sync will be synced on the next one.
+            dirty = false;
+
+            try {
+                io.force();
+            }
+            catch (ClosedChannelException ignored) {
+                // The file of a destroyed partition or a stopped group.
+            }
+            catch (IOException e) {
+                throw new StorageException("Failed to sync file of large values: " + file.getAbsolutePath(), e);
+            }
+        }
+
+        /**
+         * @throws IgniteCheckedException If failed.
+         */
+        void close() throws IgniteCheckedException {
+            try {
+                io.close();
+            }
+            catch (IOException e) {
+                throw new StorageException("Failed to close file of large values: " + file.getAbsolutePath(), e);
+            }
+        }
+    }
+
+    /**
+     * Reads the reference to an extent from a data row without reading the extent.
+     */
+    private static class RefReader extends CacheDataRowAdapter {
+        /**
+         * @param link Link.
+         */
+        RefReader(long link) {
+            super(link);
+        }
+
+        /** {@inheritDoc} */
+        @Override protected CacheObject value(
+            GridCacheSharedContext<?, ?> sharedCtx,
+            CacheObjectContext coctx,
+            byte type,
+            byte[] bytes
+        ) throws IgniteCheckedException {
+            return type == TYPE_LARGE_VALUE_REF ? new LargeValueRef(bytes) : super.value(sharedCtx, coctx, type, bytes);
+        }
+    }
+
+    /**
+     * Reference to an extent written to a data row in place of a large value.
+     */
+    private static class LargeValueRef extends CacheObjectByteArrayImpl {
+        /** */
+        private static final long serialVersionUID = 0L;
+
+        /**
+         * @param ref Reference.
+         */
+        LargeValueRef(byte[] ref) {
+            super(ref);
+        }
+
+        /** {@inheritDoc} */
+        @Override public byte cacheObjectType() {
+            return TYPE_LARGE_VALUE_REF;
+        }
+    }
+}
@@ -38,4 +38,18 @@ public interface PageStoreWriter {
      * @throws IgniteCheckedException If write page failed.
      */
     void writePage(FullPageId fullPageId, ByteBuffer buf, int tag) throws IgniteCheckedException;
+
+    /**
+     * Callback for write page which chunks changed since the page was read or written are known.
+     *
+     * @param fullPageId Page ID.
+     * @param buf Temporary buffer to write changes into.
+     * @param tag {@code Partition generation} if data was read, {@code null} otherwise (data already saved to storage).
+     * @param changedChunks Bit mask of the changed page chunks, see {@link PageStore#DELTA_CHUNKS}, or {@code -1}
+     *      if unknown.
+     * @throws IgniteCheckedException If write page failed.
+     */
+    default void writePage(FullPageId fullPageId, ByteBuffer buf, int tag, int changedChunks) throws IgniteCheckedException {
+        writePage(fullPageId, buf, tag);
+    }
 }
@@ -17,7 +17,9 @@
 
 package org.apache.ignite.internal.processors.cache.persistence;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.function.Supplier;
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.internal.metric.IoStatisticsHolder;
@@ -27,8 +29,10 @@ import org.apache.ignite.internal.processors.cache.CacheGroupContext;
 import org.apache.ignite.internal.processors.cache.CacheObjectContext;
 import org.apache.ignite.internal.processors.cache.GridCacheSharedContext;
 import org.apache.ignite.internal.processors.cache.persistence.freelist.FreeList;
+import org.apache.ignite.internal.processors.cache.tree.DataRow;
 import org.apache.ignite.internal.processors.query.GridQueryRowCacheCleaner;
 import org.apache.ignite.internal.util.typedef.internal.U;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Data store for H2 rows.
@@ -55,6 +59,9 @@ public class RowStore {
     /** */
     protected final CacheGroupContext grp;
 
+    /** Store of large values or {@code null} if large values are kept in data pages. */
+    @Nullable private final LargeValueStore largeValStore;
+
     /**
      * @param grp Cache group.
      * @param freeList Free list.
@@ -71,6 +78,10 @@ public class RowStore {
         pageMem = grp.dataRegion().pageMemory();
 
         persistenceEnabled = grp.dataRegion().config().isPersistenceEnabled();
+
+        largeValStore = grp.offheap() instanceof GridCacheOffheapManager
+            ? ((GridCacheOffheapManager)grp.offheap()).largeValueStore()
+            : null;
     }
 
     /**
@@ -91,6 +102,9 @@ public class RowStore {
             ctx.database().checkpointReadLock();
 
             try {
+                if (largeValStore != null)
+                    largeValStore.release(link);
+
                 freeList.removeDataRowByLink(link, statHolder);
             }
             finally {
@@ -113,7 +127,10 @@ public class RowStore {
             ctx.database().checkpointReadLock();
 
             try {
-                freeList.insertDataRow(row, statHolder);
+                if (largeValStore != null && largeValStore.large(row.value()))
+                    row.link(insertRefRow(row, statHolder));
+                else
+                    freeList.insertDataRow(row, statHolder);
 
                 assert row.link() != 0L;
             }
@@ -136,7 +153,45 @@ public class RowStore {
         IoStatisticsHolder statHolder) throws IgniteCheckedException {
         assert ctx.database().checkpointLockIsHeldByThread();
 
-        freeList.insertDataRows(rows, statHolder);
+        if (largeValStore == null) {
+            freeList.insertDataRows(rows, statHolder);
+
+            return;
+        }
+
+        List<CacheDataRow> rows0 = new ArrayList<>(rows.size());
+
+        for (CacheDataRow row : rows) {
+            if (largeValStore.large(row.value()))
+                row.link(insertRefRow(row, statHolder));
+            else
+                rows0.add(row);
+        }
+
+        freeList.insertDataRows(rows0, statHolder);
+    }
+
+    /**
+     * Writes the value of the row to the store of large values and inserts the row with a reference to the value
+     * instead.
+     *
+     * @param row Row with a large value.
+     * @param statHolder Statistics holder to track IO operations.
+     * @return Link of the inserted row.
+     * @throws IgniteCheckedException If failed.
+     */
+    private long insertRefRow(CacheDataRow row, IoStatisticsHolder statHolder) throws IgniteCheckedException {
+        DataRow refRow = new DataRow(
+            row.key(),
+            largeValStore.write(row.partition(), row.value()),
+            row.version(),
+            row.partition(),
+            row.expireTime(),
+            row.cacheId());
+
+        freeList.insertDataRow(refRow, statHolder);
+
+        return refRow.link();
     }
 
     /**
@@ -148,6 +203,9 @@ public class RowStore {
     public boolean updateRow(long link, CacheDataRow row, IoStatisticsHolder statHolder) throws IgniteCheckedException {
         assert !persistenceEnabled || ctx.database().checkpointLockIsHeldByThread();
 
+        // Rows of large values are larger than the threshold of updates in place.
+        assert largeValStore == null || !largeValStore.large(row.value()) : row;
+
         GridQueryRowCacheCleaner rowCacheCleaner0 = rowCacheCleaner.get();
 
         if (rowCacheCleaner0 != null)
@@ -0,0 +1,334 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.checkpoint;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.apache.ignite.IgniteSystemProperties;
+import org.apache.ignite.internal.processors.cache.persistence.DataRegion;
+import org.apache.ignite.internal.processors.cache.persistence.DataStorageMetricsImpl;
+import org.apache.ignite.internal.processors.cache.persistence.pagemem.CheckpointMetricsTracker;
+import org.apache.ignite.internal.processors.cache.persistence.pagemem.PageMemoryImpl;
+import org.apache.ignite.internal.processors.cache.persistence.pagemem.PagesWriteThrottlePolicy;
+import org.apache.ignite.internal.processors.cache.persistence.pagemem.ProgressSpeedCalculation;
+import org.apache.ignite.internal.processors.cache.persistence.wal.FileWriteAheadLogManager;
+import org.apache.ignite.internal.processors.cache.persistence.wal.WALPointer;
+import org.jetbrains.annotations.Nullable;
+
+import static org.apache.ignite.internal.processors.cache.persistence.pagemem.PageMemoryImpl.ThrottlingPolicy.SPEED_BASED;
+import static org.apache.ignite.internal.processors.cache.persistence.pagemem.PageMemoryImpl.ThrottlingPolicy.TARGET_RATIO_BASED;
+
+/**
+ * Starts checkpoints before the scheduled time if the current load is predicted to make writer threads throttled
+ * or to force a checkpoint by the WAL size.
+ * <p>
+ * The scheduler is polled by the checkpointer thread while it waits for the next checkpoint. It tracks the speed at
+ * which pages become dirty in every data region and the speed of WAL growth since the last checkpoint begin. Speeds of
+ * pages write and of the checkpoint buffer filling by copy-on-write are taken from the previous checkpoints. These
+ * speeds give the number of dirty pages a checkpoint can take without the dirty pages ratio or the checkpoint buffer
+ * usage reaching throttling thresholds while the checkpoint pages are written. A checkpoint is started when dirty pages
+ * or the WAL written since the last checkpoint are predicted to reach their limits before the next check.
+ *
+ * @see IgniteSystemProperties#IGNITE_CHECKPOINT_ADAPTIVE_SCHEDULING
+ */
+class AdaptiveCheckpointScheduler {
+    /** Interval between checks of the load in milliseconds. */
+    static final long CHECK_INTERVAL_MS = 100;
+
+    /** Fraction of a limit allowed to use, the rest is a reserve for prediction errors. */
+    private static final double SAFETY_FACTOR = 0.9;
+
+    /**
+     * Dirty pages ratio which can be reached at the end of a checkpoint without throttling by the checkpoint progress
+     * based policies, which allow the ratio to grow up to {@code 7/12} proportionally to the checkpoint progress.
+     */
+    private static final double DIRTY_RATIO_PER_CHECKPOINT = 0.95 * 7 / 12;
+
+    /** Data regions. */
+    private final Supplier<Collection<DataRegion>> dataRegions;
+
+    /** WAL manager, {@code null} if the WAL size is not tracked. */
+    @Nullable private final FileWriteAheadLogManager wal;
+
+    /** Data storage metrics. */
+    private final DataStorageMetricsImpl metrics;
+
+    /** Speeds of pages becoming dirty since the checkpoint begin, per data region name. */
+    private final Map<String, ProgressSpeedCalculation> dirtySpeeds = new HashMap<>();
+
+    /** Speed of WAL growth since the checkpoint begin, bytes per second. */
+    private final ProgressSpeedCalculation walSpeed = new ProgressSpeedCalculation();
+
+    /** Speed of pages write by the previous checkpoints, pages per second. */
+    private final ProgressSpeedCalculation writeSpeed = new ProgressSpeedCalculation();
+
+    /** Speed of copy-on-write of pages by the previous checkpoints, pages per second. */
+    private final ProgressSpeedCalculation cowSpeed = new ProgressSpeedCalculation();
+
+    /** WAL position at the last checkpoint begin in bytes, {@code -1} if unknown. */
+    private long cpWalPos = -1;
+
+    /** WAL segment index of the last checkpoint begin, {@code -1} if unknown. */
+    private long cpWalIdx = -1;
+
+    /** Time of the last checkpoint begin, {@code 0} if there was no checkpoint. */
+    private long cpBeginNanos;
+
+    /** Dirty pages speed used by the last check, pages per second. */
+    private long predictedDirtySpeed;
+
+    /** WAL speed used by the last check, bytes per second. */
+    private long predictedWalSpeed;
+
+    /**
+     * @param dataRegions Data regions.
+     * @param wal WAL manager, {@code null} if the WAL size is not tracked.
+     * @param metrics Data storage metrics.
+     */
+    AdaptiveCheckpointScheduler(
+        Supplier<Collection<DataRegion>> dataRegions,
+        @Nullable FileWriteAheadLogManager wal,
+        DataStorageMetricsImpl metrics
+    ) {
+        this.dataRegions = dataRegions;
+        this.wal = wal;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Checks the load and returns the reason to start a checkpoint now if it is needed.
+     *
+     * @param nowNanos Current time.
+     * @return Checkpoint reason or {@code null} if a checkpoint is not needed yet.
+     */
+    @Nullable String check(long nowNanos) {
+        long leadNanos = TimeUnit.MILLISECONDS.toNanos(2 * CHECK_INTERVAL_MS);
+
+        String reason = checkDirtyPages(nowNanos, leadNanos);
+
+        if (reason == null)
+            reason = checkWal(nowNanos, leadNanos);
+
+        if (reason != null)
+            metrics.onAdaptiveCheckpointScheduled();
+
+        return reason;
+    }
+
+    /**
+     * @param nowNanos Current time.
+     * @param leadNanos Time to look ahead.
+     * @return Checkpoint reason or {@code null}.
+     */
+    @Nullable private String checkDirtyPages(long nowNanos, long leadNanos) {
+        Collection<DataRegion> regions = dataRegions.get();
+
+        if (regions == null)
+            return null;
+
+        long pagesWriteSpeed = writeSpeed.getOpsPerSecondReadOnly();
+        long cowPagesSpeed = cowSpeed.getOpsPerSecondReadOnly();
+
+        long dirtyTotal = 0;
+        long dirtySpeedTotal = 0;
+        long cpBufPages = 0;
+
+        // Maximum duration of the next checkpoint pages write which keeps dirty pages ratio below throttling threshold.
+        double maxWriteSecs = Double.MAX_VALUE;
+
+        String reason = null;
+
+        for (DataRegion region : regions) {
+            if (!region.config().isPersistenceEnabled() || !(region.pageMemory() instanceof PageMemoryImpl))
+                continue;
+
+            PageMemoryImpl pageMem = (PageMemoryImpl)region.pageMemory();
+
+            long dirty = pageMem.dirtyPagesCount();
+
+            ProgressSpeedCalculation speed = dirtySpeeds.computeIfAbsent(region.config().getName(),
+                name -> new ProgressSpeedCalculation());
+
+            speed.setProgress(dirty, nowNanos);
+
+            long dirtySpeed = speed.getOpsPerSecond(nowNanos);
+
+            dirtyTotal += dirty;
+            dirtySpeedTotal += dirtySpeed;
+            cpBufPages += pageMem.checkpointBufferPagesSize();
+
+            if (reason == null && predict(dirty, dirtySpeed, leadNanos) >= pageMem.maxDirtyPagesCount() * SAFETY_FACTOR)
+                reason = "adaptive: too many dirty pages in " + region.config().getName();
+
+            PageMemoryImpl.ThrottlingPolicy plc = pageMem.throttlingPolicy();
+
+            if (dirtySpeed > 0 && (plc == TARGET_RATIO_BASED || plc == SPEED_BASED))
+                maxWriteSecs = Math.min(maxWriteSecs, DIRTY_RATIO_PER_CHECKPOINT * pageMem.totalPages() / dirtySpeed);
+        }
+
+        predictedDirtySpeed = dirtySpeedTotal;
+
+        if (reason != null || dirtyTotal == 0 || pagesWriteSpeed == 0)
+            return reason;
+
+        if (cowPagesSpeed > 0)
+            maxWriteSecs = Math.min(maxWriteSecs, PagesWriteThrottlePolicy.CP_BUF_DANGER_THRESHOLD * cpBufPages / cowPagesSpeed);
+
+        if (maxWriteSecs == Double.MAX_VALUE)
+            return null;
+
+        double maxCpPages = maxWriteSecs * pagesWriteSpeed * SAFETY_FACTOR;
+
+        if (predict(dirtyTotal, dirtySpeedTotal, leadNanos) >= maxCpPages)
+            return "adaptive: checkpoint write is predicted to be throttled";
+
+        return null;
+    }
+
+    /**
+     * @param nowNanos Current time.
+     * @param leadNanos Time to look ahead.
+     * @return Checkpoint reason or {@code null}.
+     */
+    @Nullable private String checkWal(long nowNanos, long leadNanos) {
+        if (wal == null || cpWalIdx < 0)
+            return null;
+
+        WALPointer ptr = wal.lastWritePointer();
+
+        if (ptr == null)
+            return null;
+
+        long segSize = wal.maxWalSegmentSize();
+        long maxSegs = wal.maxSegmentsWithoutCheckpoint();
+
+        long pos = walPosition(ptr);
+
+        walSpeed.setProgress(Math.max(pos - cpWalPos, 0), nowNanos);
+
+        predictedWalSpeed = walSpeed.getOpsPerSecond(nowNanos);
+
+        if (maxSegs <= 0 || maxSegs > Long.MAX_VALUE / segSize)
+            return null;
+
+        // WAL size is counted from the beginning of the checkpoint segment, as it is done by the WAL manager.
+        long walSize = (ptr.index() - cpWalIdx) * segSize + ptr.fileOffset();
+
+        if (predict(walSize, predictedWalSpeed, leadNanos) >= maxSegs * segSize * SAFETY_FACTOR)
+            return "adaptive: too big size of WAL without checkpoint";
+
+        return null;
+    }
+
+    /**
+     * Notifies the scheduler that dirty pages were collected by a checkpoint.
+     *
+     * @param pages Number of pages in the checkpoint.
+     * @param cpMark WAL pointer of the checkpoint or {@code null} if the checkpoint has no pages.
+     * @param nowNanos Current time.
+     */
+    void onCheckpointBegin(int pages, @Nullable WALPointer cpMark, long nowNanos) {
+        if (cpBeginNanos != 0) {
+            long nanos = nowNanos - cpBeginNanos;
+
+            if (nanos > 0) {
+                metrics.onCheckpointDirtyPagesFillRate(predictedDirtySpeed,
+                    pages * TimeUnit.SECONDS.toNanos(1) / nanos);
+
+                if (cpMark != null && cpWalPos >= 0) {
+                    metrics.onCheckpointWalFillRate(predictedWalSpeed,
+                        (walPosition(cpMark) - cpWalPos) * TimeUnit.SECONDS.toNanos(1) / nanos);
+                }
+            }
+        }
+
+        cpBeginNanos = nowNanos;
+
+        for (ProgressSpeedCalculation speed : dirtySpeeds.values()) {
+            speed.closeInterval();
+            speed.setProgress(0, nowNanos);
+        }
+
+        WALPointer ptr = cpMark != null ? cpMark : wal == null ? null : wal.lastWritePointer();
+
+        if (ptr != null) {
+            cpWalPos = walPosition(ptr);
+            cpWalIdx = ptr.index();
+
+            walSpeed.closeInterval();
+            walSpeed.setProgress(0, nowNanos);
+        }
+    }
+
+    /**
+     * Notifies the scheduler that checkpoint pages were written.
+     *
+     * @param tracker Checkpoint metrics tracker.
+     * @param pages Number of pages in the checkpoint.
+     * @param nowNanos Current time.
+     */
+    void onCheckpointEnd(CheckpointMetricsTracker tracker, int pages, long nowNanos) {
+        long writeNanos = TimeUnit.MILLISECONDS.toNanos(tracker.pagesWriteDuration());
+
+        if (pages == 0 || writeNanos <= 0)
+            return;
+
+        long predictedCowSpeed = cowSpeed.getOpsPerSecondReadOnly();
+
+        update(writeSpeed, pages, writeNanos, nowNanos);
+        update(cowSpeed, tracker.cowPagesWritten(), writeNanos, nowNanos);
+
+        metrics.onCheckpointBufferFillRate(predictedCowSpeed,
+            tracker.cowPagesWritten() * TimeUnit.SECONDS.toNanos(1) / writeNanos);
+    }
+
+    /**
+     * Adds a finished measurement to the speed history.
+     *
+     * @param speed Speed calculation.
+     * @param progress Progress reached.
+     * @param nanos Duration of the measurement.
+     * @param endNanos End time of the measurement.
+     */
+    private static void update(ProgressSpeedCalculation speed, long progress, long nanos, long endNanos) {
+        speed.setProgress(0, endNanos - nanos);
+        speed.setProgress(progress, endNanos);
+        speed.closeInterval();
+    }
+
+    /**
+     * @param val Current value.
+     * @param speed Speed of the value growth per second.
+     * @param leadNanos Time to look ahead.
+     * @return Predicted value.
+     */
+    private static double predict(long val, long speed, long leadNanos) {
+        return val + (double)speed * leadNanos / TimeUnit.SECONDS.toNanos(1);
+    }
+
+    /**
+     * @param ptr WAL pointer.
+     * @return Position in the WAL in bytes.
+     */
+    private long walPosition(WALPointer ptr) {
+        return wal == null ? 0 : ptr.index() * wal.maxWalSegmentSize() + ptr.fileOffset();
+    }
+}
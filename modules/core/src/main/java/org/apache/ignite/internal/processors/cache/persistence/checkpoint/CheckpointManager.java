@@ -31,6 +31,8 @@ import org.apache.ignite.IgniteSystemProperties;
 import org.apache.ignite.configuration.DataStorageConfiguration;
 import org.apache.ignite.internal.IgniteInternalFuture;
 import org.apache.ignite.internal.LongJVMPauseDetector;
+import org.apache.ignite.internal.pagemem.FullPageId;
+import org.apache.ignite.internal.pagemem.store.PageStore;
 import org.apache.ignite.internal.pagemem.wal.IgniteWriteAheadLogManager;
 import org.apache.ignite.internal.processors.cache.CacheGroupContext;
 import org.apache.ignite.internal.processors.cache.GridCacheProcessor;
@@ -42,6 +44,7 @@ import org.apache.ignite.internal.processors.cache.persistence.file.FilePageStor
 import org.apache.ignite.internal.processors.cache.persistence.filename.NodeFileTree;
 import org.apache.ignite.internal.processors.cache.persistence.pagemem.PageMemoryEx;
 import org.apache.ignite.internal.processors.cache.persistence.pagemem.PageMemoryImpl;
+import org.apache.ignite.internal.processors.cache.persistence.wal.FileWriteAheadLogManager;
 import org.apache.ignite.internal.processors.cache.persistence.wal.WALPointer;
 import org.apache.ignite.internal.processors.failure.FailureProcessor;
 import org.apache.ignite.internal.thread.pool.IgniteStripedExecutor;
@@ -52,6 +55,7 @@ import org.apache.ignite.lang.IgniteInClosure;
 import org.apache.ignite.marshaller.jdk.JdkMarshaller;
 import org.jetbrains.annotations.Nullable;
 
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_CHECKPOINT_ADAPTIVE_SCHEDULING;
 import static org.apache.ignite.IgniteSystemProperties.IGNITE_CHECKPOINT_READ_LOCK_TIMEOUT;
 
 /**
@@ -185,7 +189,36 @@ public class CheckpointManager {
         checkpointPagesWriterFactory = new CheckpointPagesWriterFactory(
             cacheProcessor.context().kernalContext(),
             logger,
-            (pageMemEx, fullPage, buf, tag) -> pageStoreManager.write(fullPage.groupId(), fullPage.pageId(), buf, tag, true),
+            new CheckpointPagesWriter.CheckpointPageWriter() {
+                /** {@inheritDoc} */
+                @Override public PageStore write(PageMemoryEx pageMemEx, FullPageId fullPage, ByteBuffer buf, int tag)
+                    throws IgniteCheckedException {
+                    return pageStoreManager.write(fullPage.groupId(), fullPage.pageId(), buf, tag, true);
+                }
+
+                /** {@inheritDoc} */
+                @Override public PageStore write(
+                    PageMemoryEx pageMemEx,
+                    int grpId,
+                    long[] pageIds,
+                    ByteBuffer[] bufs,
+                    int cnt,
+                    int tag
+                ) throws IgniteCheckedException {
+                    return pageStoreManager.write(grpId, pageIds, bufs, cnt, tag, true);
+                }
+
+                /** {@inheritDoc} */
+                @Override public PageStore writeDelta(
+                    PageMemoryEx pageMemEx,
+                    FullPageId fullPage,
+                    ByteBuffer buf,
+                    int changedChunks,
+                    int tag
+                ) throws IgniteCheckedException {
+                    return pageStoreManager.writeDelta(fullPage.groupId(), fullPage.pageId(), buf, changedChunks, tag);
+                }
+            },
             persStoreMetrics,
             throttlingPolicy, threadBuf,
             pageMemoryGroupResolver
@@ -208,7 +241,11 @@ public class CheckpointManager {
             checkpointRecoveryFileStorage,
             persistenceCfg.getCheckpointFrequency(),
             persistenceCfg.getCheckpointThreads(),
-            cpFreqDeviation
+            cpFreqDeviation,
+            IgniteSystemProperties.getBoolean(IGNITE_CHECKPOINT_ADAPTIVE_SCHEDULING)
+                ? new AdaptiveCheckpointScheduler(dataRegions,
+                    wal instanceof FileWriteAheadLogManager ? (FileWriteAheadLogManager)wal : null, persStoreMetrics)
+                : null
         );
 
         checkpointer = checkpointerProvider.get();
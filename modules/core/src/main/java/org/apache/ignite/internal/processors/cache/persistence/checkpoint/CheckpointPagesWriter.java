@@ -18,6 +18,7 @@
 package org.apache.ignite.internal.processors.cache.persistence.checkpoint;
 
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -27,6 +28,7 @@ import java.util.function.BooleanSupplier;
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.IgniteLogger;
 import org.apache.ignite.internal.pagemem.FullPageId;
+import org.apache.ignite.internal.pagemem.PageIdUtils;
 import org.apache.ignite.internal.pagemem.store.PageStore;
 import org.apache.ignite.internal.processors.cache.persistence.DataStorageMetricsImpl;
 import org.apache.ignite.internal.processors.cache.persistence.PageStoreWriter;
@@ -71,6 +73,12 @@ public class CheckpointPagesWriter implements Runnable {
     /** Thread local with buffers for the checkpoint threads. Each buffer represent one page for durable memory. */
     private final ThreadLocal<ByteBuffer> threadBuf;
 
+    /**
+     * Thread local with additional page buffers for the checkpoint threads. Array length is the maximum number of
+     * adjacent pages written by one IO operation, the first element is replaced by the buffer of {@link #threadBuf}.
+     */
+    private final ThreadLocal<ByteBuffer[]> threadRunBufs;
+
     /** Throttling policy according to the settings. */
     private final PageMemoryImpl.ThrottlingPolicy throttlingPolicy;
 
@@ -97,6 +105,7 @@ public class CheckpointPagesWriter implements Runnable {
      * @param log Logger.
      * @param dsMetrics Data storage metrics.
      * @param buf Thread local byte buffer.
+     * @param runBufs Thread local additional page buffers.
      * @param throttlingPolicy Throttling policy.
      * @param pageMemoryGroupResolver Resolver of page memory by group id.
      * @param progress Checkpoint progress.
@@ -112,6 +121,7 @@ public class CheckpointPagesWriter implements Runnable {
         IgniteLogger log,
         DataStorageMetricsImpl dsMetrics,
         ThreadLocal<ByteBuffer> buf,
+        ThreadLocal<ByteBuffer[]> runBufs,
         PageMemoryImpl.ThrottlingPolicy throttlingPolicy,
         IgniteThrowableFunction<Integer, PageMemoryEx> pageMemoryGroupResolver,
         CheckpointProgressImpl progress,
@@ -126,6 +136,7 @@ public class CheckpointPagesWriter implements Runnable {
         this.log = log;
         this.persStoreMetrics = dsMetrics;
         this.threadBuf = buf;
+        this.threadRunBufs = runBufs;
         this.throttlingPolicy = throttlingPolicy;
         this.pageMemoryGroupResolver = pageMemoryGroupResolver;
         this.curCpProgress = progress;
@@ -174,40 +185,47 @@ public class CheckpointPagesWriter implements Runnable {
 
         ByteBuffer tmpWriteBuf = threadBuf.get();
 
+        PageRun run = new PageRun(tmpWriteBuf, threadRunBufs.get());
+
         boolean throttlingEnabled = throttlingPolicy != PageMemoryImpl.ThrottlingPolicy.DISABLED;
 
         GridConcurrentMultiPairQueue.Result<PageMemoryEx, FullPageId> res =
             new GridConcurrentMultiPairQueue.Result<>();
 
-        while (writePageIds.next(res)) {
-            if (shutdownNow.getAsBoolean())
-                break;
+        while (run.poll(writePageIds, res)) {
+            while (run.hasNext()) {
+                if (shutdownNow.getAsBoolean())
+                    break;
 
-            beforePageWrite.run();
+                beforePageWrite.run();
 
-            FullPageId fullId = res.getValue();
+                PageMemoryEx pageMem = run.nextPageMemory();
 
-            PageMemoryEx pageMem = res.getKey();
+                FullPageId fullId = run.next();
 
-            tmpWriteBuf.rewind();
+                tmpWriteBuf.rewind();
 
-            PageStoreWriter pageStoreWriter =
-                pageStoreWriters.computeIfAbsent(pageMem, pageMemEx -> createPageStoreWriter(pageMemEx, pagesToRetry));
+                PageStoreWriter pageStoreWriter = pageStoreWriters.computeIfAbsent(pageMem,
+                    pageMemEx -> createPageStoreWriter(pageMemEx, pagesToRetry, run, tracker));
 
-            pageMem.checkpointWritePage(fullId, tmpWriteBuf, pageStoreWriter, tracker, false);
+                pageMem.checkpointWritePage(fullId, tmpWriteBuf, pageStoreWriter, tracker, false);
 
-            if (throttlingEnabled) {
-                while (pageMem.isCpBufferOverflowThresholdExceeded()) {
-                    FullPageId cpPageId = pageMem.pullPageFromCpBuffer();
+                if (throttlingEnabled) {
+                    while (pageMem.isCpBufferOverflowThresholdExceeded()) {
+                        FullPageId cpPageId = pageMem.pullPageFromCpBuffer();
 
-                    if (cpPageId.equals(FullPageId.NULL_PAGE))
-                        break;
+                        if (cpPageId.equals(FullPageId.NULL_PAGE))
+                            break;
 
-                    tmpWriteBuf.rewind();
+                        tmpWriteBuf.rewind();
 
-                    pageMem.checkpointWritePage(cpPageId, tmpWriteBuf, pageStoreWriter, tracker, false);
+                        pageMem.checkpointWritePage(cpPageId, tmpWriteBuf, pageStoreWriter, tracker, false);
+                    }
                 }
             }
+
+            if (shutdownNow.getAsBoolean())
+                break;
         }
 
         return pagesToRetry.isEmpty() ?
@@ -220,16 +238,26 @@ public class CheckpointPagesWriter implements Runnable {
      *
      * @param pageMemEx
      * @param pagesToRetry List pages for retry.
+     * @param run Run of adjacent pages to write.
+     * @param tracker Checkpoint metrics tracker, {@code null} if metrics are disabled.
      * @return Checkpoint page write context.
      */
     private PageStoreWriter createPageStoreWriter(
         PageMemoryEx pageMemEx,
-        Map<PageMemoryEx, List<FullPageId>> pagesToRetry
+        Map<PageMemoryEx, List<FullPageId>> pagesToRetry,
+        PageRun run,
+        CheckpointMetricsTracker tracker
     ) {
         return new PageStoreWriter() {
             /** {@inheritDoc} */
             @Override public void writePage(FullPageId fullPageId, ByteBuffer buf,
                 int tag) throws IgniteCheckedException {
+                writePage(fullPageId, buf, tag, -1);
+            }
+
+            /** {@inheritDoc} */
+            @Override public void writePage(FullPageId fullPageId, ByteBuffer buf, int tag,
+                int changedChunks) throws IgniteCheckedException {
                 if (tag == PageMemoryImpl.TRY_AGAIN_TAG) {
                     pagesToRetry.computeIfAbsent(pageMemEx, k -> new ArrayList<>()).add(fullPageId);
 
@@ -241,7 +269,7 @@ public class CheckpointPagesWriter implements Runnable {
                 assert getType(buf) != 0 : "Invalid state. Type is 0! pageId = " + hexLong(pageId);
                 assert getVersion(buf) != 0 : "Invalid state. Version is 0! pageId = " + hexLong(pageId);
 
-                if (persStoreMetrics.metricsEnabled()) {
+                if (tracker != null) {
                     int pageType = getType(buf);
 
                     if (PageIO.isDataPageType(pageType))
@@ -250,13 +278,291 @@ public class CheckpointPagesWriter implements Runnable {
 
                 curCpProgress.updateWrittenPages(1);
 
-                PageStore store = pageWriter.write(pageMemEx, fullPageId, buf, tag);
+                if (changedChunks >= 0 && writeDelta(pageMemEx, fullPageId, buf, tag, changedChunks, tracker))
+                    return;
+
+                // Partition was truncated, pages of the different partition generations can't be written together.
+                if (!run.isEmpty() && run.tag() != tag)
+                    flush(pageMemEx, run, tracker);
+
+                run.add(fullPageId, buf, tag);
+
+                // Page stays pinned until this method returns. Adjacent pages are copied in nested calls, so all pages
+                // of the run are pinned and can't be replaced and read from disk before they are written.
+                if (!shutdownNow.getAsBoolean() && run.hasNextAdjacent(pageMemEx, fullPageId)) {
+                    beforePageWrite.run();
+
+                    FullPageId nextId = run.next();
+
+                    ByteBuffer nextBuf = run.enter();
 
-                updStores.computeIfAbsent(store, k -> new LongAdder()).increment();
+                    try {
+                        pageMemEx.checkpointWritePage(nextId, nextBuf, this, tracker, false);
+                    }
+                    finally {
+                        run.exit();
+                    }
+                }
+
+                // Does nothing if the run was already written by the nested call.
+                flush(pageMemEx, run, tracker);
             }
         };
     }
 
+    /**
+     * Skips the write of the page which content wasn't changed or writes changed chunks of the page only.
+     *
+     * @param pageMemEx Page memory.
+     * @param fullId Page ID.
+     * @param buf Page buffer.
+     * @param tag Partition generation.
+     * @param changedChunks Bit mask of the changed page chunks.
+     * @param tracker Checkpoint metrics tracker, {@code null} if metrics are disabled.
+     * @return {@code False} if the page must be written entirely.
+     * @throws IgniteCheckedException If failed.
+     */
+    private boolean writeDelta(
+        PageMemoryEx pageMemEx,
+        FullPageId fullId,
+        ByteBuffer buf,
+        int tag,
+        int changedChunks,
+        CheckpointMetricsTracker tracker
+    ) throws IgniteCheckedException {
+        if (changedChunks == 0) {
+            // Page was marked dirty, but its content is the same as the content in the page store.
+            if (tracker != null)
+                tracker.onUnchangedPageSkipped();
+
+            return true;
+        }
+
+        PageStore store = pageWriter.writeDelta(pageMemEx, fullId, buf, changedChunks, tag);
+
+        if (store == null)
+            return false;
+
+        updStores.computeIfAbsent(store, k -> new LongAdder()).add(1);
+
+        if (tracker != null)
+            tracker.onDeltaPageWritten();
+
+        return true;
+    }
+
+    /**
+     * Writes collected run of adjacent pages.
+     *
+     * @param pageMemEx Page memory.
+     * @param run Run of adjacent pages.
+     * @param tracker Checkpoint metrics tracker, {@code null} if metrics are disabled.
+     * @throws IgniteCheckedException If failed.
+     */
+    private void flush(PageMemoryEx pageMemEx, PageRun run, CheckpointMetricsTracker tracker) throws IgniteCheckedException {
+        int cnt = run.size();
+
+        if (cnt == 0)
+            return;
+
+        PageStore store = cnt == 1 ?
+            pageWriter.write(pageMemEx, run.fullIds[0], run.bufs[0], run.tag()) :
+            pageWriter.write(pageMemEx, run.fullIds[0].groupId(), run.pageIds, run.bufs, cnt, run.tag());
+
+        run.clear();
+
+        updStores.computeIfAbsent(store, k -> new LongAdder()).add(cnt);
+
+        if (tracker != null)
+            tracker.onPagesWritten(cnt);
+    }
+
+    /**
+     * Pages taken from the queue by one thread and the run of adjacent pages which are copied for the single write.
+     * Used by one thread only.
+     */
+    private static class PageRun {
+        /** Page memories of pages taken from the queue. */
+        private final PageMemoryEx[] polledPageMems;
+
+        /** Pages taken from the queue. */
+        private final FullPageId[] polledIds;
+
+        /** Number of pages taken from the queue. */
+        private int polledCnt;
+
+        /** Position of the next page taken from the queue to write. */
+        private int pos;
+
+        /** Buffers to copy pages to, one per nesting level of the page copy. */
+        private final ByteBuffer[] levelBufs;
+
+        /** Current nesting level. */
+        private int level;
+
+        /** Full page IDs of the run. */
+        private final FullPageId[] fullIds;
+
+        /** Page IDs of the run. */
+        private final long[] pageIds;
+
+        /** Page buffers of the run. */
+        private final ByteBuffer[] bufs;
+
+        /** Number of pages in the run. */
+        private int cnt;
+
+        /** Partition generation of the run pages. */
+        private int tag;
+
+        /**
+         * @param tmpWriteBuf Buffer of the first nesting level.
+         * @param levelBufs Buffers of the other nesting levels, allocated on demand.
+         */
+        PageRun(ByteBuffer tmpWriteBuf, ByteBuffer[] levelBufs) {
+            int maxCnt = levelBufs.length;
+
+            this.levelBufs = levelBufs;
+
+            levelBufs[0] = tmpWriteBuf;
+
+            polledPageMems = new PageMemoryEx[maxCnt];
+            polledIds = new FullPageId[maxCnt];
+            fullIds = new FullPageId[maxCnt];
+            pageIds = new long[maxCnt];
+            bufs = new ByteBuffer[maxCnt];
+        }
+
+        /**
+         * Takes next pages from the queue.
+         *
+         * @param queue Queue.
+         * @param res Queue state holder.
+         * @return {@code False} if the queue is empty.
+         */
+        boolean poll(
+            GridConcurrentMultiPairQueue<PageMemoryEx, FullPageId> queue,
+            GridConcurrentMultiPairQueue.Result<PageMemoryEx, FullPageId> res
+        ) {
+            pos = 0;
+            polledCnt = queue.next(res, polledPageMems, polledIds);
+
+            return polledCnt > 0;
+        }
+
+        /**
+         * @return {@code True} if there are pages taken from the queue which are not written yet.
+         */
+        boolean hasNext() {
+            return pos < polledCnt;
+        }
+
+        /**
+         * @return Page memory of the next page taken from the queue.
+         */
+        PageMemoryEx nextPageMemory() {
+            return polledPageMems[pos];
+        }
+
+        /**
+         * @return Next page taken from the queue.
+         */
+        FullPageId next() {
+            return polledIds[pos++];
+        }
+
+        /**
+         * @param pageMemEx Page memory of the last page of the run.
+         * @param fullId Last page of the run.
+         * @return {@code True} if the next page taken from the queue directly follows the last page of the run in the
+         * same partition file and may be added to the run.
+         */
+        boolean hasNextAdjacent(PageMemoryEx pageMemEx, FullPageId fullId) {
+            if (!hasNext() || level + 1 >= levelBufs.length || polledPageMems[pos] != pageMemEx)
+                return false;
+
+            FullPageId next = polledIds[pos];
+
+            return next.groupId() == fullId.groupId() &&
+                PageIdUtils.partId(next.pageId()) == PageIdUtils.partId(fullId.pageId()) &&
+                PageIdUtils.pageIndex(next.pageId()) == PageIdUtils.pageIndex(fullId.pageId()) + 1;
+        }
+
+        /**
+         * Enters the next nesting level.
+         *
+         * @return Buffer to copy page of the level to.
+         */
+        ByteBuffer enter() {
+            level++;
+
+            ByteBuffer buf = levelBufs[level];
+
+            if (buf == null || buf.capacity() != levelBufs[0].capacity()) {
+                buf = ByteBuffer.allocateDirect(levelBufs[0].capacity()).order(ByteOrder.nativeOrder());
+
+                levelBufs[level] = buf;
+            }
+
+            buf.rewind();
+
+            return buf;
+        }
+
+        /** Exits the current nesting level. */
+        void exit() {
+            level--;
+        }
+
+        /**
+         * Adds copied page to the run.
+         *
+         * @param fullId Page ID.
+         * @param buf Page buffer.
+         * @param tag Partition generation.
+         */
+        void add(FullPageId fullId, ByteBuffer buf, int tag) {
+            fullIds[cnt] = fullId;
+            pageIds[cnt] = fullId.pageId();
+            bufs[cnt] = buf;
+
+            this.tag = tag;
+
+            cnt++;
+        }
+
+        /**
+         * @return {@code True} if there are no pages in the run.
+         */
+        boolean isEmpty() {
+            return cnt == 0;
+        }
+
+        /**
+         * @return Number of pages in the run.
+         */
+        int size() {
+            return cnt;
+        }
+
+        /**
+         * @return Partition generation of the run pages.
+         */
+        int tag() {
+            return tag;
+        }
+
+        /** Clears the run after its pages were written. */
+        void clear() {
+            for (int i = 0; i < cnt; i++) {
+                fullIds[i] = null;
+                bufs[i] = null;
+            }
+
+            cnt = 0;
+        }
+    }
+
     /** Interface which allows to write one page to page store. */
     public interface CheckpointPageWriter {
         /**
@@ -270,5 +576,43 @@ public class CheckpointPagesWriter implements Runnable {
          */
         PageStore write(PageMemoryEx pageMemEx, FullPageId fullPageId, ByteBuffer buf, int tag)
             throws IgniteCheckedException;
+
+        /**
+         * Writes pages with adjacent indexes of one partition.
+         *
+         * @param pageMemEx Page memory from which pages should be written.
+         * @param grpId Cache group ID.
+         * @param pageIds Page IDs, index of each page is greater by one than index of previous page.
+         * @param bufs Page buffers.
+         * @param cnt Number of pages.
+         * @param tag Page tag.
+         * @return {@link PageStore} which was used to write.
+         * @throws IgniteCheckedException if fail.
+         */
+        default PageStore write(PageMemoryEx pageMemEx, int grpId, long[] pageIds, ByteBuffer[] bufs, int cnt, int tag)
+            throws IgniteCheckedException {
+            PageStore store = null;
+
+            for (int i = 0; i < cnt; i++)
+                store = write(pageMemEx, new FullPageId(pageIds[i], grpId), bufs[i], tag);
+
+            return store;
+        }
+
+        /**
+         * Writes changed chunks of the page instead of the whole page.
+         *
+         * @param pageMemEx Page memory from which page should be written.
+         * @param fullPageId Full page id.
+         * @param buf Byte buffer with the whole page content.
+         * @param changedChunks Bit mask of the changed page chunks, see {@link PageStore#DELTA_CHUNKS}.
+         * @param tag Page tag.
+         * @return {@link PageStore} which was used to write or {@code null} if the page must be written entirely.
+         * @throws IgniteCheckedException if fail.
+         */
+        default PageStore writeDelta(PageMemoryEx pageMemEx, FullPageId fullPageId, ByteBuffer buf, int changedChunks,
+            int tag) throws IgniteCheckedException {
+            return null;
+        }
     }
 }
@@ -28,6 +28,7 @@ import java.util.concurrent.atomic.LongAdder;
 import java.util.function.BooleanSupplier;
 import java.util.function.Function;
 import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.IgniteSystemProperties;
 import org.apache.ignite.internal.GridKernalContext;
 import org.apache.ignite.internal.pagemem.FullPageId;
 import org.apache.ignite.internal.pagemem.store.PageStore;
@@ -49,6 +50,9 @@ import org.jsr166.ConcurrentLinkedHashMap;
  * It holds all dependency which is needed for creation of checkpoint writer and recovery checkpoint writer.
  */
 public class CheckpointPagesWriterFactory {
+    /** @see IgniteSystemProperties#IGNITE_CHECKPOINT_WRITE_COALESCE_PAGES */
+    public static final int DFLT_CHECKPOINT_WRITE_COALESCE_PAGES = 16;
+
     /** Context. */
     private final GridKernalContext ctx;
 
@@ -61,6 +65,16 @@ public class CheckpointPagesWriterFactory {
     /** Thread local with buffers for the checkpoint threads. Each buffer represent one page for durable memory. */
     private volatile ThreadLocal<ByteBuffer> threadBuf;
 
+    /**
+     * Thread local with additional buffers for the checkpoint threads, adjacent pages are copied to them and written
+     * by one IO operation.
+     */
+    private final ThreadLocal<ByteBuffer[]> threadRunBufs;
+
+    /** Maximum number of adjacent pages written by one IO operation. */
+    private final int maxCoalescedPages = Math.max(1, IgniteSystemProperties.getInteger(
+        IgniteSystemProperties.IGNITE_CHECKPOINT_WRITE_COALESCE_PAGES, DFLT_CHECKPOINT_WRITE_COALESCE_PAGES));
+
     /** Throttling policy according to the settings. */
     private final PageMemoryImpl.ThrottlingPolicy throttlingPolicy;
 
@@ -95,6 +109,8 @@ public class CheckpointPagesWriterFactory {
         this.throttlingPolicy = throttlingPolicy;
         this.pageMemoryGroupResolver = pageMemoryGroupResolver;
         this.checkpointPageWriter = checkpointPageWriter;
+
+        threadRunBufs = ThreadLocal.withInitial(() -> new ByteBuffer[maxCoalescedPages]);
     }
 
     /**
@@ -125,6 +141,7 @@ public class CheckpointPagesWriterFactory {
             log,
             persStoreMetrics,
             threadBuf,
+            threadRunBufs,
             throttlingPolicy,
             pageMemoryGroupResolver,
             curCpProgress,
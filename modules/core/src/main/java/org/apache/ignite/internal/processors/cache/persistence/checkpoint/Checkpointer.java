@@ -163,6 +163,9 @@ public class Checkpointer extends GridWorker {
     /** Checkpoint frequency deviation. */
     private final Supplier<Integer> cpFreqDeviation;
 
+    /** Adaptive checkpoint scheduler, {@code null} if checkpoints are started only by schedule and explicit triggers. */
+    @Nullable private final AdaptiveCheckpointScheduler adaptiveScheduler;
+
     /** Checkpoint runner thread pool. If null tasks are to be run in single thread */
     @Nullable private volatile IgniteThreadPoolExecutor checkpointWritePagesPool;
 
@@ -204,6 +207,7 @@ public class Checkpointer extends GridWorker {
      * @param checkpointFrequency Checkpoint frequency.
      * @param checkpointWritePageThreads The number of IO-bound threads which will write pages to disk.
      * @param cpFreqDeviation Deviation of checkpoint frequency.
+     * @param adaptiveScheduler Adaptive checkpoint scheduler or {@code null} if disabled.
      */
     Checkpointer(
         @Nullable String gridName,
@@ -219,7 +223,8 @@ public class Checkpointer extends GridWorker {
         @Nullable CheckpointRecoveryFileStorage checkpointRecoveryFileStorage,
         long checkpointFrequency,
         int checkpointWritePageThreads,
-        Supplier<Integer> cpFreqDeviation
+        Supplier<Integer> cpFreqDeviation,
+        @Nullable AdaptiveCheckpointScheduler adaptiveScheduler
     ) {
         super(gridName, name, logger.apply(Checkpointer.class), workersRegistry);
         this.pauseDetector = detector;
@@ -232,6 +237,7 @@ public class Checkpointer extends GridWorker {
         this.checkpointWritePageThreads = Math.max(checkpointWritePageThreads, 1);
         this.checkpointWritePagesPool = initializeCheckpointPool();
         this.cpFreqDeviation = cpFreqDeviation;
+        this.adaptiveScheduler = adaptiveScheduler;
         GridKernalContext ctx = cacheProcessor.context().kernalContext();
         this.psproc = ctx.performanceStatistics();
         this.writeRecoveryData = ctx.config().getDataStorageConfiguration().isWriteRecoveryDataOnCheckpoint();
@@ -405,6 +411,11 @@ public class Checkpointer extends GridWorker {
 
                 tracker.onMarkEnd();
 
+                if (adaptiveScheduler != null) {
+                    adaptiveScheduler.onCheckpointBegin(chp.pagesSize,
+                        chp.cpEntry == null ? null : chp.cpEntry.checkpointMark(), System.nanoTime());
+                }
+
                 currentProgress().initCounters(chp.pagesSize);
 
                 long recoveryDataSize = 0;
@@ -514,6 +525,9 @@ public class Checkpointer extends GridWorker {
 
             tracker.onEnd();
 
+            if (adaptiveScheduler != null)
+                adaptiveScheduler.onCheckpointEnd(tracker, chp.pagesSize, System.nanoTime());
+
             if (chp.hasDelta() || destroyedPartitionsCnt > 0) {
                 if (log.isInfoEnabled()) {
                     log.info(String.format("Checkpoint finished [cpId=%s, pages=%d, markPos=%s, " +
@@ -731,6 +745,10 @@ public class Checkpointer extends GridWorker {
                 chp.pagesSize,
                 tracker.dataPagesWritten(),
                 tracker.cowPagesWritten(),
+                tracker.pageWriteOperations(),
+                tracker.averagePagesPerWrite(),
+                tracker.deltaPagesWritten(),
+                tracker.unchangedPagesSkipped(),
                 tracker.recoveryDataSize(),
                 dbMgr.forAllPageStores(PageStore::size),
                 dbMgr.forAllPageStores(PageStore::getSparseSize)
@@ -909,13 +927,25 @@ public class Checkpointer extends GridWorker {
                     blockingSectionBegin();
 
                     try {
-                        wait(remaining);
+                        wait(adaptiveScheduler == null ? remaining
+                            : Math.min(remaining, AdaptiveCheckpointScheduler.CHECK_INTERVAL_MS));
 
                         remaining = U.nanosToMillis(scheduledCp.nextCpNanos() - System.nanoTime());
                     }
                     finally {
                         blockingSectionEnd();
                     }
+
+                    if (remaining > 0 && adaptiveScheduler != null && checkpointsEnabled) {
+                        String reason = adaptiveScheduler.check(System.nanoTime());
+
+                        if (reason != null) {
+                            scheduledCp.reason(reason);
+                            scheduledCp.nextCpNanos(System.nanoTime());
+
+                            remaining = 0;
+                        }
+                    }
                 }
             }
         }
@@ -30,6 +30,8 @@ import org.apache.ignite.IgniteSystemProperties;
 import org.apache.ignite.configuration.DataStorageConfiguration;
 import org.apache.ignite.internal.IgniteInternalFuture;
 import org.apache.ignite.internal.LongJVMPauseDetector;
+import org.apache.ignite.internal.pagemem.FullPageId;
+import org.apache.ignite.internal.pagemem.store.PageStore;
 import org.apache.ignite.internal.processors.cache.CacheGroupContext;
 import org.apache.ignite.internal.processors.cache.GridCacheProcessor;
 import org.apache.ignite.internal.processors.cache.persistence.DataRegion;
@@ -131,8 +133,25 @@ public class LightweightCheckpointManager {
         checkpointPagesWriterFactory = new CheckpointPagesWriterFactory(
             cacheProcessor.context().kernalContext(),
             logger,
-            (pageMemEx, fullPage, buf, tag) ->
-                pageMemEx.pageManager().write(fullPage.groupId(), fullPage.pageId(), buf, tag, true),
+            new CheckpointPagesWriter.CheckpointPageWriter() {
+                /** {@inheritDoc} */
+                @Override public PageStore write(PageMemoryEx pageMemEx, FullPageId fullPage, ByteBuffer buf, int tag)
+                    throws IgniteCheckedException {
+                    return pageMemEx.pageManager().write(fullPage.groupId(), fullPage.pageId(), buf, tag, true);
+                }
+
+                /** {@inheritDoc} */
+                @Override public PageStore write(
+                    PageMemoryEx pageMemEx,
+                    int grpId,
+                    long[] pageIds,
+                    ByteBuffer[] bufs,
+                    int cnt,
+                    int tag
+                ) throws IgniteCheckedException {
+                    return pageMemEx.pageManager().write(grpId, pageIds, bufs, cnt, tag, true);
+                }
+            },
             persStoreMetrics,
             throttlingPolicy,
             threadBuf,
@@ -153,7 +172,8 @@ public class LightweightCheckpointManager {
             null,
             persistenceCfg.getCheckpointFrequency(),
             persistenceCfg.getCheckpointThreads(),
-            () -> 0
+            () -> 0,
+            null
         );
 
         checkpointer = checkpointerProvider.get();
@@ -0,0 +1,369 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.file;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.internal.processors.compress.WalBlockCompressor;
+import org.apache.ignite.internal.processors.compress.WalSegmentCodec;
+import org.apache.ignite.internal.util.GridUnsafe;
+
+/**
+ * Read-only {@link FileIO} over a file written by {@link BlockCompressedFileWriter}.
+ * <p>
+ * Unlike {@link UnzipFileIO}, allows random access: only the block containing the requested position is
+ * decompressed. File format:
+ * <ul>
+ *     <li>header: magic, version, codec identifier, reserved short, block size;</li>
+ *     <li>blocks: compressed length, uncompressed length, compressed data;</li>
+ *     <li>index: file offset, first record offset and first record original offset per block;</li>
+ *     <li>trailer: blocks count, uncompressed size, index offset, magic.</li>
+ * </ul>
+ * All blocks except the last one have the same uncompressed size.
+ */
+public class BlockCompressedFileIO extends AbstractFileIO {
+    /** Magic number of the file format. */
+    static final long MAGIC = 0x4947574C42434D50L;
+
+    /** Version of the file format. */
+    static final byte VERSION = 1;
+
+    /** Size of the file header. */
+    static final int HEADER_SIZE = 8 + 1 + 1 + 2 + 4;
+
+    /** Size of the block header. */
+    static final int BLOCK_HEADER_SIZE = 4 + 4;
+
+    /** Size of the block index entry. */
+    static final int INDEX_ENTRY_SIZE = 8 + 8 + 8;
+
+    /** Size of the file trailer. */
+    static final int TRAILER_SIZE = 4 + 8 + 8 + 8;
+
+    /** File. */
+    private final FileIO io;
+
+    /** Decompressor. */
+    private final WalBlockCompressor compressor;
+
+    /** Size of uncompressed block. */
+    private final int blockSize;
+
+    /** Size of uncompressed data. */
+    private final long size;
+
+    /** File offsets of blocks. */
+    private final long[] blockOffs;
+
+    /** Offsets of the first records started in blocks or {@code -1}. */
+    private final long[] recOffs;
+
+    /** Original offsets of the first records started in blocks or {@code -1}. */
+    private final long[] recOrigOffs;
+
+    /** Uncompressed data of the current block. */
+    private final ByteBuffer rawBuf;
+
+    /** Compressed data of the current block. */
+    private ByteBuffer compressedBuf;
+
+    /** Index of the current block or {@code -1}. */
+    private int curBlock = -1;
+
+    /** Position. */
+    private long pos;
+
+    /** Closed flag. */
+    private boolean closed;
+
+    /**
+     * @param io File, closed by this instance.
+     * @throws IOException If failed.
+     */
+    public BlockCompressedFileIO(FileIO io) throws IOException {
+        this.io = io;
+
+        try {
+            ByteBuffer hdr = ByteBuffer.allocate(HEADER_SIZE);
+
+            io.readFully(hdr, 0);
+
+            hdr.flip();
+
+            if (hdr.getLong() != MAGIC)
+                throw new IOException("Not a block compressed file.");
+
+            byte ver = hdr.get();
+
+            if (ver != VERSION)
+                throw new IOException("Unsupported block compressed file version: " + ver);
+
+            byte codecId = hdr.get();
+
+            WalSegmentCodec codec = WalSegmentCodec.fromId(codecId);
+
+            if (codec == null)
+                throw new IOException("Unknown block compressed file codec: " + codecId);
+
+            hdr.getShort();
+
+            blockSize = hdr.getInt();
+
+            ByteBuffer trailer = ByteBuffer.allocate(TRAILER_SIZE);
+
+            io.readFully(trailer, io.size() - TRAILER_SIZE);
+
+            trailer.flip();
+
+            int blocks = trailer.getInt();
+
+            size = trailer.getLong();
+
+            long idxOff = trailer.getLong();
+
+            if (trailer.getLong() != MAGIC)
+                throw new IOException("Block compressed file is corrupted or not finished.");
+
+            ByteBuffer idx = ByteBuffer.allocate(blocks * INDEX_ENTRY_SIZE);
+
+            io.readFully(idx, idxOff);
+
+            idx.flip();
+
+            blockOffs = new long[blocks];
+            recOffs = new long[blocks];
+            recOrigOffs = new long[blocks];
+
+            for (int i = 0; i < blocks; i++) {
+                blockOffs[i] = idx.getLong();
+                recOffs[i] = idx.getLong();
+                recOrigOffs[i] = idx.getLong();
+            }
+
+            compressor = codec.createBlockCompressor(0);
+
+            rawBuf = GridUnsafe.allocateBuffer(blockSize);
+        }
+        catch (IOException e) {
+            io.close();
+
+            throw e;
+        }
+        catch (IgniteCheckedException e) {
+            io.close();
+
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * @param io File.
+     * @return {@code True} if the file was written by {@link BlockCompressedFileWriter}.
+     * @throws IOException If failed.
+     */
+    public static boolean isBlockCompressed(FileIO io) throws IOException {
+        if (io.size() < HEADER_SIZE + TRAILER_SIZE)
+            return false;
+
+        ByteBuffer buf = ByteBuffer.allocate(8);
+
+        io.readFully(buf, 0);
+
+        return buf.getLong(0) == MAGIC;
+    }
+
+    /**
+     * Finds the closest record which starts before the given original offset, so the reader can skip all blocks
+     * before it.
+     *
+     * @param origOff Original offset of a record.
+     * @return Offset of the closest indexed record which original offset is not greater than the given one
+     *      or {@code -1} if there's no such record.
+     */
+    public long recordOffset(long origOff) {
+        for (int i = recOrigOffs.length - 1; i >= 0; i--) {
+            if (recOrigOffs[i] != -1 && recOrigOffs[i] <= origOff)
+                return recOffs[i];
+        }
+
+        return -1;
+    }
+
+    /** {@inheritDoc} */
+    @Override public int getFileSystemBlockSize() {
+        return -1;
+    }
+
+    /** {@inheritDoc} */
+    @Override public long getSparseSize() {
+        return -1;
+    }
+
+    /** {@inheritDoc} */
+    @Override public int punchHole(long position, int len) {
+        throw new UnsupportedOperationException();
+    }
+
+    /** {@inheritDoc} */
+    @Override public long position() throws IOException {
+        return pos;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void position(long newPosition) throws IOException {
+        pos = newPosition;
+    }
+
+    /** {@inheritDoc} */
+    @Override public int read(ByteBuffer dstBuf) throws IOException {
+        int read = read(dstBuf, pos);
+
+        if (read > 0)
+            pos += read;
+
+        return read;
+    }
+
+    /** {@inheritDoc} */
+    @Override public int read(ByteBuffer dstBuf, long position) throws IOException {
+        if (position >= size)
+            return -1;
+
+        int block = (int)(position / blockSize);
+
+        loadBlock(block);
+
+        int off = (int)(position - (long)block * blockSize);
+        int len = Math.min(dstBuf.remaining(), rawBuf.limit() - off);
+
+        ByteBuffer src = rawBuf.duplicate();
+
+        src.position(off);
+        src.limit(off + len);
+
+        dstBuf.put(src);
+
+        return len;
+    }
+
+    /** {@inheritDoc} */
+    @Override public int read(byte[] buf, int off, int len) throws IOException {
+        return read(ByteBuffer.wrap(buf, off, len));
+    }
+
+    /**
+     * Reads and decompresses the block if it's not the current one.
+     *
+     * @param block Block index.
+     * @throws IOException If failed.
+     */
+    private void loadBlock(int block) throws IOException {
+        if (block == curBlock)
+            return;
+
+        curBlock = -1;
+
+        ByteBuffer hdr = ByteBuffer.allocate(BLOCK_HEADER_SIZE);
+
+        io.readFully(hdr, blockOffs[block]);
+
+        int compressedLen = hdr.getInt(0);
+        int rawLen = hdr.getInt(4);
+
+        if (compressedBuf == null || compressedBuf.capacity() < compressedLen) {
+            if (compressedBuf != null)
+                GridUnsafe.freeBuffer(compressedBuf);
+
+            compressedBuf = GridUnsafe.allocateBuffer(Math.max(compressedLen, blockSize));
+        }
+
+        compressedBuf.clear().limit(compressedLen);
+
+        io.readFully(compressedBuf, blockOffs[block] + BLOCK_HEADER_SIZE);
+
+        compressedBuf.flip();
+
+        rawBuf.clear().limit(rawLen);
+
+        compressor.decompress(compressedBuf, rawBuf);
+
+        rawBuf.flip();
+
+        if (rawBuf.limit() != rawLen)
+            throw new IOException("Failed to decompress block [idx=" + block + ", size=" + rawBuf.limit() + ']');
+
+        curBlock = block;
+    }
+
+    /** {@inheritDoc} */
+    @Override public int write(ByteBuffer srcBuf) throws IOException {
+        throw new UnsupportedOperationException();
+    }
+
+    /** {@inheritDoc} */
+    @Override public int write(ByteBuffer srcBuf, long position) throws IOException {
+        throw new UnsupportedOperationException();
+    }
+
+    /** {@inheritDoc} */
+    @Override public int write(byte[] buf, int off, int len) throws IOException {
+        throw new UnsupportedOperationException();
+    }
+
+    /** {@inheritDoc} */
+    @Override public void force() throws IOException {
+        force(false);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void force(boolean withMetadata) throws IOException {
+        throw new UnsupportedOperationException();
+    }
+
+    /** {@inheritDoc} */
+    @Override public long size() throws IOException {
+        return size;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void clear() throws IOException {
+        throw new UnsupportedOperationException();
+    }
+
+    /** {@inheritDoc} */
+    @Override public MappedByteBuffer map(int sizeBytes) throws IOException {
+        throw new UnsupportedOperationException();
+    }
+
+    /** {@inheritDoc} */
+    @Override public void close() throws IOException {
+        if (closed)
+            return;
+
+        closed = true;
+
+        GridUnsafe.freeBuffer(rawBuf);
+
+        if (compressedBuf != null)
+            GridUnsafe.freeBuffer(compressedBuf);
+
+        io.close();
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.file;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import org.apache.ignite.internal.processors.compress.WalBlockCompressor;
+import org.apache.ignite.internal.processors.compress.WalSegmentCodec;
+import org.apache.ignite.internal.util.GridLongList;
+import org.apache.ignite.internal.util.GridUnsafe;
+
+import static org.apache.ignite.internal.processors.cache.persistence.file.BlockCompressedFileIO.BLOCK_HEADER_SIZE;
+import static org.apache.ignite.internal.processors.cache.persistence.file.BlockCompressedFileIO.HEADER_SIZE;
+import static org.apache.ignite.internal.processors.cache.persistence.file.BlockCompressedFileIO.INDEX_ENTRY_SIZE;
+import static org.apache.ignite.internal.processors.cache.persistence.file.BlockCompressedFileIO.MAGIC;
+import static org.apache.ignite.internal.processors.cache.persistence.file.BlockCompressedFileIO.TRAILER_SIZE;
+import static org.apache.ignite.internal.processors.cache.persistence.file.BlockCompressedFileIO.VERSION;
+
+/**
+ * Writes data to a file in the format read by {@link BlockCompressedFileIO}: data is split into blocks of a fixed
+ * size, each block is compressed independently and the index of blocks is written at the end of the file.
+ * <p>
+ * Call {@link #onRecord(long)} before writing a record to make the reader able to seek to the record by its
+ * original offset.
+ */
+public class BlockCompressedFileWriter extends OutputStream {
+    /** Destination file. */
+    private final FileIO io;
+
+    /** Compressor. */
+    private final WalBlockCompressor compressor;
+
+    /** Buffer of the current block uncompressed data. */
+    private final ByteBuffer rawBuf;
+
+    /** Buffer of the compressed block with its header. */
+    private final ByteBuffer compressedBuf;
+
+    /** Index of the written blocks: file offset, offset of the first record and its original offset per block. */
+    private final GridLongList idx = new GridLongList();
+
+    /** Size of uncompressed data of the written blocks. */
+    private long rawSize;
+
+    /** Size of the written data. */
+    private long fileSize;
+
+    /** Offset of the first record started in the current block or {@code -1}. */
+    private long firstRecOff = -1;
+
+    /** Original offset of the first record started in the current block or {@code -1}. */
+    private long firstRecOrigOff = -1;
+
+    /** Closed flag. */
+    private boolean closed;
+
+    /**
+     * @param io Destination file.
+     * @param codec Codec.
+     * @param compressor Block compressor of the codec.
+     * @param blockSize Size of uncompressed block.
+     * @throws IOException If failed.
+     */
+    public BlockCompressedFileWriter(
+        FileIO io,
+        WalSegmentCodec codec,
+        WalBlockCompressor compressor,
+        int blockSize
+    ) throws IOException {
+        assert blockSize > 0 : blockSize;
+
+        this.io = io;
+        this.compressor = compressor;
+
+        rawBuf = GridUnsafe.allocateBuffer(blockSize);
+        compressedBuf = GridUnsafe.allocateBuffer(BLOCK_HEADER_SIZE + compressor.maxCompressedLength(blockSize))
+            .order(ByteOrder.BIG_ENDIAN);
+
+        ByteBuffer hdr = ByteBuffer.allocate(HEADER_SIZE);
+
+        hdr.putLong(MAGIC);
+        hdr.put(VERSION);
+        hdr.put(codec.id());
+        hdr.putShort((short)0);
+        hdr.putInt(blockSize);
+
+        hdr.flip();
+
+        fileSize += io.writeFully(hdr);
+    }
+
+    /**
+     * Notifies the writer that the next written byte starts a record.
+     *
+     * @param origOff Offset of the record in the original file.
+     * @throws IOException If failed.
+     */
+    public void onRecord(long origOff) throws IOException {
+        if (!rawBuf.hasRemaining())
+            writeBlock();
+
+        if (firstRecOff == -1) {
+            firstRecOff = rawSize + rawBuf.position();
+            firstRecOrigOff = origOff;
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public void write(int b) throws IOException {
+        if (!rawBuf.hasRemaining())
+            writeBlock();
+
+        rawBuf.put((byte)b);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void write(byte[] b, int off, int len) throws IOException {
+        while (len > 0) {
+            if (!rawBuf.hasRemaining())
+                writeBlock();
+
+            int cnt = Math.min(len, rawBuf.remaining());
+
+            rawBuf.put(b, off, cnt);
+
+            off += cnt;
+            len -= cnt;
+        }
+    }
+
+    /**
+     * Compresses and writes the current block.
+     *
+     * @throws IOException If failed.
+     */
+    private void writeBlock() throws IOException {
+        rawBuf.flip();
+
+        int rawLen = rawBuf.remaining();
+
+        compressedBuf.clear();
+        compressedBuf.position(BLOCK_HEADER_SIZE);
+
+        compressor.compress(rawBuf, compressedBuf);
+
+        compressedBuf.putInt(0, compressedBuf.position() - BLOCK_HEADER_SIZE);
+        compressedBuf.putInt(4, rawLen);
+
+        compressedBuf.flip();
+
+        idx.add(fileSize);
+        idx.add(firstRecOff);
+        idx.add(firstRecOrigOff);
+
+        fileSize += io.writeFully(compressedBuf);
+        rawSize += rawLen;
+
+        rawBuf.clear();
+
+        firstRecOff = -1;
+        firstRecOrigOff = -1;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void close() throws IOException {
+        if (closed)
+            return;
+
+        closed = true;
+
+        try {
+            if (rawBuf.position() > 0)
+                writeBlock();
+
+            int blocks = idx.size() / 3;
+
+            ByteBuffer tail = ByteBuffer.allocate(blocks * INDEX_ENTRY_SIZE + TRAILER_SIZE);
+
+            for (int i = 0; i < idx.size(); i++)
+                tail.putLong(idx.get(i));
+
+            tail.putInt(blocks);
+            tail.putLong(rawSize);
+            tail.putLong(fileSize);
+            tail.putLong(MAGIC);
+
+            tail.flip();
+
+            io.writeFully(tail);
+        }
+        finally {
+            GridUnsafe.freeBuffer(rawBuf);
+            GridUnsafe.freeBuffer(compressedBuf);
+
+            io.close();
+        }
+    }
+}
@@ -176,6 +176,29 @@ public interface FileIO extends AutoCloseable {
      */
     public int writeFully(ByteBuffer srcBuf, long position) throws IOException;
 
+    /**
+     * Writes a sequence of bytes to this file from the subsequence of the given buffers starting from specified
+     * file {@code position}. Contents of the buffers are written one after another, so implementations may pass
+     * them to the operating system with one gathering write.
+     *
+     * @param srcBufs Source buffers.
+     * @param off Offset within the buffer array of the first buffer to write.
+     * @param len Number of buffers to write.
+     * @param position Starting file position.
+     *
+     * @return Number of written bytes.
+     *
+     * @throws IOException If some I/O error occurs.
+     */
+    public default int writeFully(ByteBuffer[] srcBufs, int off, int len, long position) throws IOException {
+        int written = 0;
+
+        for (int i = off; i < off + len; i++)
+            written += writeFully(srcBufs[i], position + written);
+
+        return written;
+    }
+
     /**
      * Writes {@code length} bytes from the {@code buffer}
      * starting at offset {@code off} to this file.
@@ -25,8 +25,10 @@ import java.nio.channels.ClosedByInterruptException;
 import java.nio.channels.ClosedChannelException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.BitSet;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -42,6 +44,7 @@ import org.apache.ignite.internal.processors.cache.persistence.snapshot.IgniteSn
 import org.apache.ignite.internal.processors.cache.persistence.tree.io.PageIO;
 import org.apache.ignite.internal.processors.cache.persistence.wal.crc.FastCrc;
 import org.apache.ignite.internal.processors.cache.persistence.wal.crc.IgniteDataIntegrityViolationException;
+import org.apache.ignite.internal.util.lang.IgniteThrowableConsumer;
 import org.apache.ignite.internal.util.typedef.internal.U;
 import org.apache.ignite.lang.IgniteOutClosure;
 
@@ -75,6 +78,9 @@ public class FilePageStore implements PageStore {
     /** Allocated field offset. */
     public static final int HEADER_SIZE = 8/*SIGNATURE*/ + 4/*VERSION*/ + 1/*type*/ + 4/*page size*/;
 
+    /** Offset of the delta file identifier, the space is reserved only by headers of the stores of newer versions. */
+    private static final int DELTA_FILE_ID_OFFSET = HEADER_SIZE;
+
     /** */
     private final IgniteOutClosure<Path> pathProvider;
 
@@ -123,6 +129,18 @@ public class FilePageStore implements PageStore {
     /** */
     private final ReadWriteLock lock = new ReentrantReadWriteLock();
 
+    /** Side file with delta records of pages, {@code null} if there are no such records. */
+    private volatile PageDeltaFile deltaFile;
+
+    /** Mutex to create {@link #deltaFile}. */
+    private final Object deltaFileMux = new Object();
+
+    /** Indexes of pages which storage space was freed by {@link #punchPage(long)}, guarded by itself. */
+    private final BitSet punchedPages = new BitSet();
+
+    /** Number of pages in {@link #punchedPages}, writes don't lock them if there are none. */
+    private volatile int punchedPagesCnt;
+
     /**
      * @param type Type of stored pages.
      * @param pathProvider Store path.
@@ -189,6 +207,57 @@ public class FilePageStore implements PageStore {
         throw new UnsupportedOperationException();
     }
 
+    /** {@inheritDoc} */
+    @Override public boolean punchPage(long pageId) throws IgniteCheckedException {
+        // Encrypted pages are not read as zeroes.
+        if (ioFactory instanceof EncryptedFileIOFactory)
+            return false;
+
+        init();
+
+        // Pages of the first version are not aligned to file system blocks.
+        if (getBlockSize() <= 0)
+            return false;
+
+        int pageIdx = PageIdUtils.pageIndex(pageId);
+
+        lock.readLock().lock();
+
+        try {
+            long off = pageOffset(pageId);
+
+            if (off + pageSize > allocated.get())
+                return false;
+
+            synchronized (punchedPages) {
+                if (punchedPages.get(pageIdx))
+                    return false;
+            }
+
+            removeDeltaRecords(pageId);
+
+            if (fileIO.punchHole(off, pageSize) < pageSize)
+                return false;
+
+            synchronized (punchedPages) {
+                if (!punchedPages.get(pageIdx)) {
+                    punchedPages.set(pageIdx);
+
+                    punchedPagesCnt++;
+                }
+            }
+
+            return true;
+        }
+        catch (IOException e) {
+            throw new StorageException("Failed to punch page [file=" + getFileAbsolutePath()
+                + ", pageId=" + pageId + "]", e);
+        }
+        finally {
+            lock.readLock().unlock();
+        }
+    }
+
     /** {@inheritDoc} */
     @Override public boolean exists() {
         if (fileExists == null) {
@@ -347,6 +416,9 @@ public class FilePageStore implements PageStore {
                 if (delete && exists())
                     Files.delete(pathProvider.apply().toAbsolutePath());
 
+                if (delete)
+                    PageDeltaFile.delete(pathProvider.apply());
+
                 return;
             }
 
@@ -356,15 +428,21 @@ public class FilePageStore implements PageStore {
 
             fileIO = null;
 
+            closeDeltaFile(!delete);
+
             if (delete) {
                 Files.delete(pathProvider.apply());
 
+                PageDeltaFile.delete(pathProvider.apply());
+
                 fileExists = false;
             }
         }
         finally {
             allocatedTracker.accept(-1L * allocated.getAndSet(0) / pageSize);
 
+            clearPunchedPages();
+
             inited = false;
 
             lock.writeLock().unlock();
@@ -406,6 +484,10 @@ public class FilePageStore implements PageStore {
 
             Files.delete(filePath);
 
+            closeDeltaFile(false);
+
+            PageDeltaFile.delete(filePath);
+
             fileExists = false;
         }
         catch (IOException e) {
@@ -414,6 +496,8 @@ public class FilePageStore implements PageStore {
         finally {
             allocatedTracker.accept(-1L * allocated.getAndSet(0) / pageSize);
 
+            clearPunchedPages();
+
             inited = false;
 
             lock.writeLock().unlock();
@@ -518,6 +602,10 @@ public class FilePageStore implements PageStore {
                 return false;
             }
 
+            // The storage space of the page was freed, its delta records are obsolete.
+            if (isHole(pageBuf))
+                return false;
+
             int savedCrc32 = PageIO.getCrc(pageBuf);
 
             PageIO.setCrc(pageBuf, 0);
@@ -538,6 +626,29 @@ public class FilePageStore implements PageStore {
 
             assert PageIO.getCrc(pageBuf) == 0;
 
+            PageDeltaFile deltaFile = this.deltaFile;
+
+            Integer deltaCrc32 = deltaFile != null ? deltaFile.apply(PageIdUtils.pageIndex(pageId), pageBuf) : null;
+
+            if (deltaCrc32 != null) {
+                // The first chunk of a delta record keeps CRC of the page at the moment of the record write.
+                PageIO.setCrc(pageBuf, 0);
+
+                // Records must be applied to the same content of the store file page they were written for.
+                if (checkCrc) {
+                    int curCrc32 = calcCrc32(pageBuf, getCrcSize(pageId, pageBuf));
+
+                    if ((deltaCrc32 ^ curCrc32) != 0)
+                        throw new IgniteDataIntegrityViolationException("Failed to read page (CRC validation of " +
+                            "delta records failed) [id=" + U.hexLong(pageId) + ", off=" + (off - pageSize) +
+                            ", file=" + getFileAbsolutePath() + ", storeCrc=" + U.hexInt(savedCrc32) +
+                            ", deltaCrc=" + U.hexInt(deltaCrc32) + ", curCrc=" + U.hexInt(curCrc32) +
+                            ", page=" + U.toHexString(pageBuf) + "]");
+                }
+
+                savedCrc32 = deltaCrc32;
+            }
+
             if (keepCrc)
                 PageIO.setCrc(pageBuf, savedCrc32);
 
@@ -577,6 +688,8 @@ public class FilePageStore implements PageStore {
 
                     long newSize;
 
+                    boolean created;
+
                     try {
                         boolean interrupted = false;
 
@@ -588,7 +701,9 @@ public class FilePageStore implements PageStore {
 
                                 fileExists = true;
 
-                                newSize = (cfgFile.length() == 0 ? initFile(fileIO) : checkFile(fileIO, cfgFile)) - headerSize();
+                                created = cfgFile.length() == 0;
+
+                                newSize = (created ? initFile(fileIO) : checkFile(fileIO, cfgFile)) - headerSize();
 
                                 if (interrupted)
                                     Thread.currentThread().interrupt();
@@ -602,6 +717,8 @@ public class FilePageStore implements PageStore {
                             }
                         }
 
+                        initDeltaFile(fileIO, created);
+
                         assert allocated.get() == 0;
 
                         allocated.set(newSize);
@@ -721,33 +838,112 @@ public class FilePageStore implements PageStore {
                         "off=" + U.hexLong(off) + ", allocated=" + U.hexLong(allocated.get()) +
                             ", pageId=" + U.hexLong(pageId) + ", file=" + getFileAbsolutePath();
 
-                    assert pageBuf.position() == 0;
-                    assert pageBuf.order() == ByteOrder.nativeOrder() : "Page buffer order " + pageBuf.order()
-                        + " should be same with " + ByteOrder.nativeOrder();
-                    assert PageIO.getType(pageBuf) != 0 : "Invalid state. Type is 0! pageId = " + U.hexLong(pageId);
-                    assert PageIO.getVersion(pageBuf) != 0 : "Invalid state. Version is 0! pageId = " + U.hexLong(pageId);
+                    prepareWrite(pageId, pageBuf, calculateCrc);
 
-                    if (calculateCrc && !skipCrc) {
-                        assert PageIO.getCrc(pageBuf) == 0 : U.hexLong(pageId);
+                    if (removeDeltaRecords(pageId))
+                        forceDeltaFile();
+
+                    fileIO.writeFully(pageBuf, off);
 
-                        PageIO.setCrc(pageBuf, calcCrc32(pageBuf, getCrcSize(pageId, pageBuf)));
+                    PageIO.setCrc(pageBuf, 0);
+
+                    forgetPunchedPage(pageId);
+
+                    if (interrupted)
+                        Thread.currentThread().interrupt();
+
+                    return;
+                }
+                finally {
+                    lock.readLock().unlock();
+                }
+            }
+            catch (IOException e) {
+                if (e instanceof ClosedChannelException) {
+                    try {
+                        if (e instanceof ClosedByInterruptException) {
+                            interrupted = true;
+
+                            Thread.interrupted();
+                        }
+
+                        reinit(fileIO);
+
+                        pageBuf.position(0);
+
+                        PageIO.setCrc(pageBuf, 0);
+
+                        continue;
+                    }
+                    catch (IOException e0) {
+                        e0.addSuppressed(e);
+
+                        e = e0;
                     }
+                }
 
-                    // Check whether crc was calculated somewhere above the stack if it is forcibly skipped.
-                    assert skipCrc || PageIO.getCrc(pageBuf) != 0 || calcCrc32(pageBuf, getCrcSize(pageId, pageBuf)) == 0 :
-                        "CRC hasn't been calculated, crc=0";
+                throw new StorageException("Failed to write page [file=" + getFileAbsolutePath()
+                    + ", pageId=" + pageId + ", tag=" + tag + "]", e);
+            }
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public void write(
+        long[] pageIds,
+        ByteBuffer[] pageBufs,
+        int cnt,
+        int tag,
+        boolean calculateCrc
+    ) throws IgniteCheckedException {
+        if (cnt == 1) {
+            write(pageIds[0], pageBufs[0], tag, calculateCrc);
+
+            return;
+        }
 
-                    assert pageBuf.position() == 0 : pageBuf.position();
+        init();
 
-                    for (PageWriteListener lsnr : lsnrs) {
-                        lsnr.accept(pageId, pageBuf);
+        boolean interrupted = false;
 
-                        pageBuf.rewind();
+        while (true) {
+            FileIO fileIO = this.fileIO;
+
+            try {
+                lock.readLock().lock();
+
+                try {
+                    if (tag < this.tag)
+                        return;
+
+                    long off = pageOffset(pageIds[0]);
+
+                    assert (off >= 0 && off + (long)(cnt - 1) * pageSize <= allocated.get()) || recover :
+                        "off=" + U.hexLong(off) + ", cnt=" + cnt + ", allocated=" + U.hexLong(allocated.get()) +
+                            ", pageId=" + U.hexLong(pageIds[0]) + ", file=" + getFileAbsolutePath();
+
+                    for (int i = 0; i < cnt; i++) {
+                        assert i == 0 || PageIdUtils.pageIndex(pageIds[i]) == PageIdUtils.pageIndex(pageIds[i - 1]) + 1 :
+                            "Pages are not adjacent [prev=" + U.hexLong(pageIds[i - 1]) + ", pageId=" + U.hexLong(pageIds[i]) + ']';
+
+                        prepareWrite(pageIds[i], pageBufs[i], calculateCrc);
                     }
 
-                    fileIO.writeFully(pageBuf, off);
+                    boolean deltaRemoved = false;
 
-                    PageIO.setCrc(pageBuf, 0);
+                    for (int i = 0; i < cnt; i++)
+                        deltaRemoved |= removeDeltaRecords(pageIds[i]);
+
+                    if (deltaRemoved)
+                        forceDeltaFile();
+
+                    fileIO.writeFully(pageBufs, 0, cnt, off);
+
+                    for (int i = 0; i < cnt; i++) {
+                        PageIO.setCrc(pageBufs[i], 0);
+
+                        forgetPunchedPage(pageIds[i]);
+                    }
 
                     if (interrupted)
                         Thread.currentThread().interrupt();
@@ -769,9 +965,11 @@ public class FilePageStore implements PageStore {
 
                         reinit(fileIO);
 
-                        pageBuf.position(0);
+                        for (int i = 0; i < cnt; i++) {
+                            pageBufs[i].position(0);
 
-                        PageIO.setCrc(pageBuf, 0);
+                            PageIO.setCrc(pageBufs[i], 0);
+                        }
 
                         continue;
                     }
@@ -782,12 +980,288 @@ public class FilePageStore implements PageStore {
                     }
                 }
 
-                throw new StorageException("Failed to write page [file=" + getFileAbsolutePath()
-                    + ", pageId=" + pageId + ", tag=" + tag + "]", e);
+                throw new StorageException("Failed to write pages [file=" + getFileAbsolutePath()
+                    + ", pageId=" + pageIds[0] + ", cnt=" + cnt + ", tag=" + tag + "]", e);
             }
         }
     }
 
+    /** {@inheritDoc} */
+    @Override public boolean writeDelta(
+        long pageId,
+        ByteBuffer pageBuf,
+        int changedChunks,
+        int tag
+    ) throws IgniteCheckedException {
+        if (!deltaSupported() || Integer.bitCount(changedChunks) > PageDeltaFile.MAX_CHANGED_CHUNKS)
+            return false;
+
+        init();
+
+        lock.readLock().lock();
+
+        try {
+            if (tag < this.tag)
+                return true;
+
+            PageDeltaFile deltaFile = deltaFile();
+
+            int pageIdx = PageIdUtils.pageIndex(pageId);
+
+            if (!deltaFile.canAppend(pageIdx))
+                return false;
+
+            // Write listeners get the whole page content.
+            prepareWrite(pageId, pageBuf, true);
+
+            deltaFile.write(pageIdx, pageBuf, changedChunks, PageIO.getCrc(pageBuf));
+
+            PageIO.setCrc(pageBuf, 0);
+
+            return true;
+        }
+        catch (IOException e) {
+            throw new StorageException("Failed to write page delta [file=" + getFileAbsolutePath()
+                + ", pageId=" + pageId + ", tag=" + tag + "]", e);
+        }
+        finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public void forEachDeltaPage(IgniteThrowableConsumer<Integer> c) throws IgniteCheckedException {
+        init();
+
+        lock.writeLock().lock();
+
+        try {
+            PageDeltaFile deltaFile = this.deltaFile;
+
+            if (deltaFile == null)
+                return;
+
+            for (Integer pageIdx : deltaFile.pages())
+                c.accept(pageIdx);
+        }
+        finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return {@code True} if changed page chunks may be written to the delta file. The store file header must have
+     * space for the delta file identifier, encrypted pages are always written entirely.
+     */
+    private boolean deltaSupported() {
+        return headerSize() >= DELTA_FILE_ID_OFFSET + 8 && !(ioFactory instanceof EncryptedFileIOFactory);
+    }
+
+    /**
+     * Opens the delta file of the store file, the delta file left from the previous store file is deleted.
+     *
+     * @param fileIO Store file I/O.
+     * @param created {@code True} if the store file was just created.
+     * @throws IOException If failed.
+     */
+    private void initDeltaFile(FileIO fileIO, boolean created) throws IOException {
+        Path path = pathProvider.apply();
+
+        if (created)
+            PageDeltaFile.delete(path);
+        else if (deltaSupported()) {
+            ByteBuffer buf = ByteBuffer.allocate(8).order(ByteOrder.nativeOrder());
+
+            fileIO.readFully(buf, DELTA_FILE_ID_OFFSET);
+
+            deltaFile = PageDeltaFile.open(ioFactory, path, pageSize, buf.getLong(0));
+        }
+    }
+
+    /**
+     * @return Delta file, created if not exists.
+     * @throws IOException If failed.
+     */
+    private PageDeltaFile deltaFile() throws IOException {
+        PageDeltaFile deltaFile = this.deltaFile;
+
+        if (deltaFile != null)
+            return deltaFile;
+
+        synchronized (deltaFileMux) {
+            deltaFile = this.deltaFile;
+
+            if (deltaFile == null) {
+                long fileId;
+
+                do {
+                    fileId = ThreadLocalRandom.current().nextLong();
+                }
+                while (fileId == 0);
+
+                deltaFile = PageDeltaFile.create(ioFactory, pathProvider.apply(), pageSize, fileId);
+
+                // Binds the delta file to the store file, delta file of other store file at the same path is ignored.
+                ByteBuffer buf = ByteBuffer.allocate(8).order(ByteOrder.nativeOrder());
+
+                buf.putLong(0, fileId);
+
+                fileIO.writeFully(buf, DELTA_FILE_ID_OFFSET);
+
+                this.deltaFile = deltaFile;
+            }
+
+            return deltaFile;
+        }
+    }
+
+    /**
+     * Makes delta records of the page obsolete before the page is written entirely or punched.
+     *
+     * @param pageId Page ID.
+     * @return {@code True} if the page had delta records.
+     * @throws IOException If failed.
+     */
+    private boolean removeDeltaRecords(long pageId) throws IOException {
+        PageDeltaFile deltaFile = this.deltaFile;
+
+        return deltaFile != null && deltaFile.remove(PageIdUtils.pageIndex(pageId));
+    }
+
+    /**
+     * Forces removal of delta records to the disk before pages are written entirely, otherwise the records left after
+     * a crash would be applied to the newer content of the pages.
+     *
+     * @throws IOException If failed.
+     */
+    private void forceDeltaFile() throws IOException {
+        PageDeltaFile deltaFile = this.deltaFile;
+
+        if (deltaFile != null)
+            deltaFile.force();
+    }
+
+    /**
+     * @param pageBuf Page buffer with the page read from the store file.
+     * @return {@code True} if the page is read from a hole punched by {@link #punchPage(long)}. Every written page
+     *      has non-zero type.
+     */
+    private boolean isHole(ByteBuffer pageBuf) {
+        if (PageIO.getType(pageBuf) != 0 || PageIO.getCrc(pageBuf) != 0)
+            return false;
+
+        for (int i = 0; i < pageSize; i += 8) {
+            if (pageBuf.getLong(i) != 0L)
+                return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Forgets the hole punched in place of the page after the page was written entirely.
+     *
+     * @param pageId Page ID.
+     */
+    private void forgetPunchedPage(long pageId) {
+        if (punchedPagesCnt == 0)
+            return;
+
+        int pageIdx = PageIdUtils.pageIndex(pageId);
+
+        synchronized (punchedPages) {
+            if (punchedPages.get(pageIdx)) {
+                punchedPages.clear(pageIdx);
+
+                punchedPagesCnt--;
+            }
+        }
+    }
+
+    /**
+     * Forgets holes punched in place of pages after the store file was closed.
+     */
+    private void clearPunchedPages() {
+        synchronized (punchedPages) {
+            punchedPages.clear();
+
+            punchedPagesCnt = 0;
+        }
+    }
+
+    /**
+     * Forces delta records to the disk, the delta file is deleted if all pages were written entirely.
+     * Must be called after the store file is synced.
+     *
+     * @throws IOException If failed.
+     */
+    private void syncDeltaFile() throws IOException {
+        PageDeltaFile deltaFile = this.deltaFile;
+
+        if (deltaFile == null)
+            return;
+
+        if (deltaFile.isEmpty()) {
+            this.deltaFile = null;
+
+            deltaFile.delete();
+        }
+        else
+            deltaFile.sync();
+    }
+
+    /**
+     * @param sync {@code True} to force delta records to the disk before closing the file.
+     * @throws IOException If failed.
+     */
+    private void closeDeltaFile(boolean sync) throws IOException {
+        PageDeltaFile deltaFile = this.deltaFile;
+
+        if (deltaFile == null)
+            return;
+
+        this.deltaFile = null;
+
+        if (sync)
+            deltaFile.sync();
+
+        deltaFile.close();
+    }
+
+    /**
+     * Sets page CRC and notifies write listeners before the page is written to file.
+     *
+     * @param pageId Page ID.
+     * @param pageBuf Page buffer.
+     * @param calculateCrc If {@code false} crc calculation will be forcibly skipped.
+     * @throws IOException If failed.
+     */
+    private void prepareWrite(long pageId, ByteBuffer pageBuf, boolean calculateCrc) throws IOException {
+        assert pageBuf.position() == 0;
+        assert pageBuf.order() == ByteOrder.nativeOrder() : "Page buffer order " + pageBuf.order()
+            + " should be same with " + ByteOrder.nativeOrder();
+        assert PageIO.getType(pageBuf) != 0 : "Invalid state. Type is 0! pageId = " + U.hexLong(pageId);
+        assert PageIO.getVersion(pageBuf) != 0 : "Invalid state. Version is 0! pageId = " + U.hexLong(pageId);
+
+        if (calculateCrc && !skipCrc) {
+            assert PageIO.getCrc(pageBuf) == 0 : U.hexLong(pageId);
+
+            PageIO.setCrc(pageBuf, calcCrc32(pageBuf, getCrcSize(pageId, pageBuf)));
+        }
+
+        // Check whether crc was calculated somewhere above the stack if it is forcibly skipped.
+        assert skipCrc || PageIO.getCrc(pageBuf) != 0 || calcCrc32(pageBuf, getCrcSize(pageId, pageBuf)) == 0 :
+            "CRC hasn't been calculated, crc=0";
+
+        assert pageBuf.position() == 0 : pageBuf.position();
+
+        for (PageWriteListener lsnr : lsnrs) {
+            lsnr.accept(pageId, pageBuf);
+
+            pageBuf.rewind();
+        }
+    }
+
     /**
      * @param pageBuf Page buffer.
      * @param pageSize Page size.
@@ -819,6 +1293,8 @@ public class FilePageStore implements PageStore {
 
             if (fileIO != null)
                 fileIO.force();
+
+            syncDeltaFile();
         }
         catch (IOException e) {
             throw new StorageException("Failed to fsync partition file [file=" + getFileAbsolutePath() + ']', e);
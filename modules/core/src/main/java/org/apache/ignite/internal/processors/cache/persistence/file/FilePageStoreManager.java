@@ -412,6 +412,21 @@ public class FilePageStoreManager extends GridCacheSharedManagerAdapter implemen
             if (ex != null)
                 throw ex;
         }
+
+        // Files of large values are not page stores and are deleted separately.
+        if (destroy) {
+            for (File cacheWorkDir : ft.cacheStorages(grp.config())) {
+                File[] files = cacheWorkDir.listFiles(NodeFileTree::largeValuesFile);
+
+                if (files == null)
+                    continue;
+
+                for (File file : files) {
+                    if (!file.delete())
+                        throw new IgniteCheckedException("Failed to delete file of large values: " + file.getAbsolutePath());
+                }
+            }
+        }
     }
 
     /** {@inheritDoc} */
@@ -460,6 +475,34 @@ public class FilePageStoreManager extends GridCacheSharedManagerAdapter implemen
         return pmPageMgr.write(grpId, pageId, pageBuf, tag, calculateCrc);
     }
 
+    /** {@inheritDoc} */
+    @Override public PageStore write(
+        int grpId,
+        long[] pageIds,
+        ByteBuffer[] pageBufs,
+        int cnt,
+        int tag,
+        boolean calculateCrc
+    ) throws IgniteCheckedException {
+        return pmPageMgr.write(grpId, pageIds, pageBufs, cnt, tag, calculateCrc);
+    }
+
+    /** {@inheritDoc} */
+    @Override public PageStore writeDelta(
+        int grpId,
+        long pageId,
+        ByteBuffer pageBuf,
+        int changedChunks,
+        int tag
+    ) throws IgniteCheckedException {
+        return pmPageMgr.writeDelta(grpId, pageId, pageBuf, changedChunks, tag);
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean punchPage(int grpId, long pageId) throws IgniteCheckedException {
+        return pmPageMgr.punchPage(grpId, pageId);
+    }
+
     /** {@inheritDoc} */
     @Override public long pageOffset(int grpId, long pageId) throws IgniteCheckedException {
         PageStore store = getStore(grpId, PageIdUtils.partId(pageId));
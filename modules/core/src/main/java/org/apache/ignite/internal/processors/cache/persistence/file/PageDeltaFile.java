@@ -0,0 +1,770 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.file;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.apache.ignite.internal.pagemem.store.PageStore;
+import org.apache.ignite.internal.processors.cache.persistence.wal.crc.FastCrc;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.jetbrains.annotations.Nullable;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.apache.ignite.internal.processors.cache.persistence.filename.NodeFileTree.TMP_SUFFIX;
+
+/**
+ * Side file of a {@link FilePageStore} keeping delta records of pages which were not written to the store file
+ * entirely. A delta record contains changed chunks of a page, see {@link PageStore#DELTA_CHUNKS}. The logical content
+ * of a page is the content in the store file with the chunks of all delta records of the page applied in order.
+ * <p>
+ * File consists of the header (signature, version, page size and identifier of the store file the delta file belongs
+ * to) followed by records (CRC, page index, bit mask of the changed chunks, CRC of the whole page with the record
+ * applied, contents of the changed chunks). The page CRC ties records to the content of the page in the store file,
+ * a reader checks it after the records are applied. A record with empty mask is written when the page is written to
+ * the store file entirely, it makes previous records of the page obsolete and is forced to the disk before the page
+ * is written, so obsolete records are never applied to the newer page content after a crash. Obsolete records are
+ * removed by compaction which rewrites the file with a single merged record for each page.
+ */
+class PageDeltaFile implements Closeable {
+    /** Delta file name prefix, followed by the store file name. */
+    static final String DELTA_FILE_PREFIX = "delta-";
+
+    /** Delta file signature. */
+    private static final long SIGNATURE = 0xD31A7A5E1F0C4B2EL;
+
+    /** Delta file version. */
+    private static final int VERSION = 1;
+
+    /** Header size. */
+    private static final int HEADER_SIZE = 8/*signature*/ + 4/*version*/ + 4/*page size*/ + 8/*file ID*/;
+
+    /** Record header size. */
+    private static final int RECORD_HEADER_SIZE = 4/*CRC*/ + 4/*page index*/ + 4/*changed chunks*/ + 4/*page CRC*/;
+
+    /** Max number of changed chunks to write the page as a delta record. */
+    static final int MAX_CHANGED_CHUNKS = PageStore.DELTA_CHUNKS / 4;
+
+    /** Max number of delta records of a page, next write of the page merges them into the store file. */
+    static final int MAX_PAGE_RECORDS = 4;
+
+    /** Min size of obsolete records in pages to compact the file. */
+    private static final int COMPACTION_THRESHOLD_PAGES = 64;
+
+    /** Delta file path. */
+    private final Path path;
+
+    /** Factory to provide I/O interface. */
+    private final FileIOFactory ioFactory;
+
+    /** Page size. */
+    private final int pageSize;
+
+    /** Chunk size. */
+    private final int chunkSize;
+
+    /** Identifier of the store file the delta file belongs to. */
+    private final long fileId;
+
+    /** I/O interface for read/write operations with file. */
+    private volatile FileIO io;
+
+    /** Position of the next record. */
+    private final AtomicLong end = new AtomicLong(HEADER_SIZE);
+
+    /** Size of records which are not obsolete. */
+    private final AtomicLong liveBytes = new AtomicLong();
+
+    /**
+     * Records of pages. Each record is encoded as its position shifted by 16 bits combined with the bit mask of the
+     * record chunks.
+     */
+    private final ConcurrentMap<Integer, long[]> records = new ConcurrentHashMap<>();
+
+    /** Lock to exclude reads and writes while the file is compacted or closed. */
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * @param ioFactory Factory to provide I/O interface.
+     * @param path Delta file path.
+     * @param pageSize Page size.
+     * @param fileId Identifier of the store file the delta file belongs to.
+     */
+    private PageDeltaFile(FileIOFactory ioFactory, Path path, int pageSize, long fileId) {
+        assert PageStore.DELTA_CHUNKS <= 16 : "Mask of chunks is encoded in 16 bits";
+
+        this.ioFactory = ioFactory;
+        this.path = path;
+        this.pageSize = pageSize;
+        this.fileId = fileId;
+
+        chunkSize = pageSize / PageStore.DELTA_CHUNKS;
+    }
+
+    /**
+     * @param storePath Store file path.
+     * @return Delta file path.
+     */
+    static Path deltaFilePath(Path storePath) {
+        return storePath.resolveSibling(DELTA_FILE_PREFIX + storePath.getFileName());
+    }
+
+    /**
+     * Creates new empty delta file, existing file is overwritten.
+     *
+     * @param ioFactory Factory to provide I/O interface.
+     * @param storePath Store file path.
+     * @param pageSize Page size.
+     * @param fileId Identifier of the store file.
+     * @return Delta file.
+     * @throws IOException If failed.
+     */
+    static PageDeltaFile create(FileIOFactory ioFactory, Path storePath, int pageSize, long fileId) throws IOException {
+        PageDeltaFile file = new PageDeltaFile(ioFactory, deltaFilePath(storePath), pageSize, fileId);
+
+        file.io = ioFactory.create(file.path.toFile(), CREATE, TRUNCATE_EXISTING, READ, WRITE);
+
+        file.io.writeFully(file.header(), 0);
+
+        return file;
+    }
+
+    /**
+     * Opens existing delta file. The file is deleted if it doesn't belong to the store file.
+     *
+     * @param ioFactory Factory to provide I/O interface.
+     * @param storePath Store file path.
+     * @param pageSize Page size.
+     * @param fileId Identifier of the store file, {@code 0} if the store file doesn't have delta file.
+     * @return Delta file or {@code null} if there is no delta file of the store file.
+     * @throws IOException If failed.
+     */
+    @Nullable static PageDeltaFile open(
+        FileIOFactory ioFactory,
+        Path storePath,
+        int pageSize,
+        long fileId
+    ) throws IOException {
+        Path path = deltaFilePath(storePath);
+
+        Files.deleteIfExists(tmpFilePath(path));
+
+        if (!Files.exists(path))
+            return null;
+
+        if (fileId != 0) {
+            PageDeltaFile file = new PageDeltaFile(ioFactory, path, pageSize, fileId);
+
+            file.io = ioFactory.create(path.toFile(), READ, WRITE);
+
+            boolean loaded = false;
+
+            try {
+                loaded = file.load() && !file.isEmpty();
+            }
+            finally {
+                if (!loaded)
+                    file.io.close();
+            }
+
+            if (loaded)
+                return file;
+        }
+
+        // File is left from the previous store file or all its records are obsolete.
+        Files.delete(path);
+
+        return null;
+    }
+
+    /**
+     * Deletes delta file of the store file.
+     *
+     * @param storePath Store file path.
+     * @throws IOException If failed.
+     */
+    static void delete(Path storePath) throws IOException {
+        Path path = deltaFilePath(storePath);
+
+        Files.deleteIfExists(path);
+        Files.deleteIfExists(tmpFilePath(path));
+    }
+
+    /**
+     * @param path Delta file path.
+     * @return Path of the temporary file used for compaction.
+     */
+    private static Path tmpFilePath(Path path) {
+        return path.resolveSibling(path.getFileName() + TMP_SUFFIX);
+    }
+
+    /**
+     * @return Identifier of the store file the delta file belongs to.
+     */
+    long fileId() {
+        return fileId;
+    }
+
+    /**
+     * @return {@code True} if there are no pages with delta records.
+     */
+    boolean isEmpty() {
+        return records.isEmpty();
+    }
+
+    /**
+     * @return Indexes of pages with delta records.
+     */
+    Set<Integer> pages() {
+        return records.keySet();
+    }
+
+    /**
+     * @param pageIdx Page index.
+     * @return {@code True} if one more delta record of the page may be written.
+     */
+    boolean canAppend(int pageIdx) {
+        long[] recs = records.get(pageIdx);
+
+        return recs == null || recs.length < MAX_PAGE_RECORDS;
+    }
+
+    /**
+     * Appends delta record of the page.
+     *
+     * @param pageIdx Page index.
+     * @param pageBuf Page buffer with the whole page content.
+     * @param changedChunks Bit mask of the changed page chunks.
+     * @param pageCrc CRC of the whole page content.
+     * @throws IOException If failed.
+     */
+    void write(int pageIdx, ByteBuffer pageBuf, int changedChunks, int pageCrc) throws IOException {
+        assert changedChunks != 0 && changedChunks >>> PageStore.DELTA_CHUNKS == 0 : changedChunks;
+
+        ByteBuffer rec = record(pageIdx, pageBuf, changedChunks, pageCrc);
+
+        int len = rec.remaining();
+
+        lock.readLock().lock();
+
+        try {
+            long pos = end.getAndAdd(len);
+
+            writeFully(rec, pos);
+
+            records.compute(pageIdx, (idx, recs) -> append(recs, pos << 16 | changedChunks));
+
+            liveBytes.addAndGet(len);
+        }
+        finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Makes delta records of the page obsolete before the page is written to the store file entirely. The caller
+     * must {@link #force()} the file before the page is written.
+     *
+     * @param pageIdx Page index.
+     * @return {@code True} if the page had delta records.
+     * @throws IOException If failed.
+     */
+    boolean remove(int pageIdx) throws IOException {
+        if (!records.containsKey(pageIdx))
+            return false;
+
+        lock.readLock().lock();
+
+        try {
+            long[] recs = records.remove(pageIdx);
+
+            if (recs == null)
+                return false;
+
+            writeFully(record(pageIdx, null, 0, 0), end.getAndAdd(RECORD_HEADER_SIZE));
+
+            liveBytes.addAndGet(-recordsSize(recs));
+
+            return true;
+        }
+        finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Applies delta records of the page to the page content read from the store file.
+     *
+     * @param pageIdx Page index.
+     * @param pageBuf Page buffer.
+     * @return CRC of the whole page with the records applied or {@code null} if the page has no delta records.
+     * @throws IOException If failed.
+     */
+    @Nullable Integer apply(int pageIdx, ByteBuffer pageBuf) throws IOException {
+        if (!records.containsKey(pageIdx))
+            return null;
+
+        lock.readLock().lock();
+
+        try {
+            long[] recs = records.get(pageIdx);
+
+            if (recs == null)
+                return null;
+
+            return apply(recs, pageBuf);
+        }
+        finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Forces records to the disk.
+     *
+     * @throws IOException If failed.
+     */
+    void force() throws IOException {
+        lock.readLock().lock();
+
+        try {
+            FileIO io = this.io;
+
+            if (io == null)
+                throw new IOException("Delta file is closed: " + path);
+
+            io.force();
+        }
+        finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Forces delta records to the disk and compacts the file if most of its records are obsolete.
+     *
+     * @throws IOException If failed.
+     */
+    void sync() throws IOException {
+        io.force();
+
+        long garbage = end.get() - HEADER_SIZE - liveBytes.get();
+
+        if (garbage > liveBytes.get() && garbage >= (long)COMPACTION_THRESHOLD_PAGES * pageSize)
+            compact();
+    }
+
+    /**
+     * Closes and deletes the file.
+     *
+     * @throws IOException If failed.
+     */
+    void delete() throws IOException {
+        close();
+
+        Files.deleteIfExists(path);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void close() throws IOException {
+        lock.writeLock().lock();
+
+        try {
+            FileIO io = this.io;
+
+            if (io != null) {
+                this.io = null;
+
+                io.close();
+            }
+        }
+        finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Reads records of the file to build the index of page records. The file is compacted if it ends with
+     * an incomplete record.
+     *
+     * @return {@code False} if the file doesn't belong to the store file.
+     * @throws IOException If failed.
+     */
+    private boolean load() throws IOException {
+        long size = io.size();
+
+        if (size < HEADER_SIZE)
+            return false;
+
+        ByteBuffer hdr = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.nativeOrder());
+
+        io.readFully(hdr, 0);
+
+        hdr.flip();
+
+        if (hdr.getLong() != SIGNATURE || hdr.getInt() != VERSION || hdr.getInt() != pageSize || hdr.getLong() != fileId)
+            return false;
+
+        ByteBuffer rec = ByteBuffer.allocate(RECORD_HEADER_SIZE + pageSize).order(ByteOrder.nativeOrder());
+
+        long pos = HEADER_SIZE;
+
+        while (pos + RECORD_HEADER_SIZE <= size) {
+            rec.clear().limit(RECORD_HEADER_SIZE);
+
+            io.readFully(rec, pos);
+
+            int crc = rec.getInt(0);
+            int pageIdx = rec.getInt(4);
+            int mask = rec.getInt(8);
+
+            if (pageIdx < 0 || mask >>> PageStore.DELTA_CHUNKS != 0)
+                break;
+
+            int len = RECORD_HEADER_SIZE + Integer.bitCount(mask) * chunkSize;
+
+            if (pos + len > size)
+                break;
+
+            if (len > RECORD_HEADER_SIZE) {
+                rec.limit(len);
+
+                io.readFully(rec, pos + RECORD_HEADER_SIZE);
+            }
+
+            rec.position(4);
+
+            if (FastCrc.calcCrc(rec, len - 4) != crc)
+                break;
+
+            if (mask == 0) {
+                long[] recs = records.remove(pageIdx);
+
+                if (recs != null)
+                    liveBytes.addAndGet(-recordsSize(recs));
+            }
+            else {
+                records.put(pageIdx, append(records.get(pageIdx), pos << 16 | mask));
+
+                liveBytes.addAndGet(len);
+            }
+
+            pos += len;
+        }
+
+        end.set(pos);
+
+        // Records following an incomplete record must not be overwritten partially by new records.
+        if (pos < size && !records.isEmpty())
+            compact();
+
+        return true;
+    }
+
+    /**
+     * Rewrites the file with a single merged record for each page.
+     *
+     * @throws IOException If failed.
+     */
+    private void compact() throws IOException {
+        lock.writeLock().lock();
+
+        try {
+            Path tmpPath = tmpFilePath(path);
+
+            Map<Integer, long[]> newRecords = new HashMap<>();
+
+            long pos = HEADER_SIZE;
+
+            try (FileIO tmpIo = ioFactory.create(tmpPath.toFile(), CREATE, TRUNCATE_EXISTING, READ, WRITE)) {
+                tmpIo.writeFully(header(), 0);
+
+                ByteBuffer pageBuf = ByteBuffer.allocate(pageSize).order(ByteOrder.nativeOrder());
+
+                for (Map.Entry<Integer, long[]> e : records.entrySet()) {
+                    int pageCrc = apply(e.getValue(), pageBuf);
+
+                    int mask = 0;
+
+                    for (long rec : e.getValue())
+                        mask |= (int)(rec & 0xFFFF);
+
+                    ByteBuffer rec = record(e.getKey(), pageBuf, mask, pageCrc);
+
+                    int len = rec.remaining();
+
+                    tmpIo.writeFully(rec, pos);
+
+                    newRecords.put(e.getKey(), new long[] {pos << 16 | mask});
+
+                    pos += len;
+                }
+
+                tmpIo.force();
+            }
+
+            io.close();
+
+            Files.move(tmpPath, path, REPLACE_EXISTING, ATOMIC_MOVE);
+
+            io = ioFactory.create(path.toFile(), READ, WRITE);
+
+            records.clear();
+            records.putAll(newRecords);
+
+            end.set(pos);
+            liveBytes.set(pos - HEADER_SIZE);
+        }
+        finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Applies records to the page buffer.
+     *
+     * @param recs Records.
+     * @param pageBuf Page buffer.
+     * @return CRC of the whole page with the records applied, it is kept by the last record.
+     * @throws IOException If failed.
+     */
+    private int apply(long[] recs, ByteBuffer pageBuf) throws IOException {
+        int res = 0;
+
+        ByteBuffer chunks = ByteBuffer.allocate(RECORD_HEADER_SIZE + pageSize).order(ByteOrder.nativeOrder());
+
+        for (long rec : recs) {
+            long pos = rec >>> 16;
+            int mask = (int)(rec & 0xFFFF);
+
+            chunks.clear().limit(RECORD_HEADER_SIZE + Integer.bitCount(mask) * chunkSize);
+
+            readFully(chunks, pos);
+
+            chunks.flip();
+
+            res = chunks.getInt(12);
+
+            chunks.position(RECORD_HEADER_SIZE);
+
+            for (int i = 0; i < PageStore.DELTA_CHUNKS; i++) {
+                if ((mask & 1 << i) == 0)
+                    continue;
+
+                chunks.limit(chunks.position() + chunkSize);
+
+                ByteBuffer dst = pageBuf.duplicate();
+
+                dst.position(i * chunkSize);
+
+                dst.put(chunks);
+            }
+        }
+
+        return res;
+    }
+
+    /**
+     * @param pageIdx Page index.
+     * @param pageBuf Page buffer, {@code null} for the record with empty mask.
+     * @param mask Bit mask of the chunks to write.
+     * @param pageCrc CRC of the whole page, {@code 0} for the record with empty mask.
+     * @return Buffer with the record.
+     */
+    private ByteBuffer record(int pageIdx, @Nullable ByteBuffer pageBuf, int mask, int pageCrc) {
+        int len = RECORD_HEADER_SIZE + Integer.bitCount(mask) * chunkSize;
+
+        ByteBuffer rec = ByteBuffer.allocate(len).order(ByteOrder.nativeOrder());
+
+        rec.position(4);
+        rec.putInt(pageIdx);
+        rec.putInt(mask);
+        rec.putInt(pageCrc);
+
+        for (int i = 0; i < PageStore.DELTA_CHUNKS; i++) {
+            if ((mask & 1 << i) == 0)
+                continue;
+
+            ByteBuffer chunk = pageBuf.duplicate();
+
+            chunk.position(i * chunkSize).limit((i + 1) * chunkSize);
+
+            rec.put(chunk);
+        }
+
+        rec.position(4);
+
+        rec.putInt(0, FastCrc.calcCrc(rec, len - 4));
+
+        rec.rewind();
+
+        return rec;
+    }
+
+    /**
+     * @return Buffer with the file header.
+     */
+    private ByteBuffer header() {
+        ByteBuffer hdr = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.nativeOrder());
+
+        hdr.putLong(SIGNATURE);
+        hdr.putInt(VERSION);
+        hdr.putInt(pageSize);
+        hdr.putLong(fileId);
+
+        hdr.flip();
+
+        return hdr;
+    }
+
+    /**
+     * @param recs Records.
+     * @return Total size of the records.
+     */
+    private long recordsSize(long[] recs) {
+        long size = 0;
+
+        for (long rec : recs)
+            size += RECORD_HEADER_SIZE + Integer.bitCount((int)(rec & 0xFFFF)) * chunkSize;
+
+        return size;
+    }
+
+    /**
+     * @param recs Records, {@code null} if there are no records.
+     * @param rec Record to append.
+     * @return New records array.
+     */
+    private static long[] append(@Nullable long[] recs, long rec) {
+        if (recs == null)
+            return new long[] {rec};
+
+        long[] res = new long[recs.length + 1];
+
+        System.arraycopy(recs, 0, res, 0, recs.length);
+
+        res[recs.length] = rec;
+
+        return res;
+    }
+
+    /**
+     * @param buf Buffer to write.
+     * @param pos Position in the file.
+     * @throws IOException If failed.
+     */
+    private void writeFully(ByteBuffer buf, long pos) throws IOException {
+        boolean interrupted = false;
+
+        int bufPos = buf.position();
+
+        while (true) {
+            FileIO io = this.io;
+
+            try {
+                io.writeFully(buf, pos);
+
+                break;
+            }
+            catch (ClosedChannelException e) {
+                buf.position(bufPos);
+
+                if (e instanceof ClosedByInterruptException) {
+                    interrupted = true;
+
+                    Thread.interrupted();
+                }
+
+                reopen(io);
+            }
+        }
+
+        if (interrupted)
+            Thread.currentThread().interrupt();
+    }
+
+    /**
+     * @param buf Buffer to read into.
+     * @param pos Position in the file.
+     * @throws IOException If failed.
+     */
+    private void readFully(ByteBuffer buf, long pos) throws IOException {
+        boolean interrupted = false;
+
+        int bufPos = buf.position();
+
+        while (true) {
+            FileIO io = this.io;
+
+            try {
+                int len = buf.remaining();
+
+                if (io.readFully(buf, pos) != len)
+                    throw new IOException("Failed to read delta record [file=" + path + ", pos=" + U.hexLong(pos) + ']');
+
+                break;
+            }
+            catch (ClosedChannelException e) {
+                buf.position(bufPos);
+
+                if (e instanceof ClosedByInterruptException) {
+                    interrupted = true;
+
+                    Thread.interrupted();
+                }
+
+                reopen(io);
+            }
+        }
+
+        if (interrupted)
+            Thread.currentThread().interrupt();
+    }
+
+    /**
+     * Reopens the file after the file channel was closed by thread interruption.
+     *
+     * @param io Closed I/O interface.
+     * @throws IOException If failed.
+     */
+    private synchronized void reopen(FileIO io) throws IOException {
+        if (io == null)
+            throw new IOException("Delta file is closed: " + path);
+
+        if (this.io == io)
+            this.io = ioFactory.create(path.toFile(), READ, WRITE);
+    }
+}
@@ -115,6 +115,29 @@ public class RandomAccessFileIO extends AbstractFileIO {
         return ch.write(srcBuf, position);
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * Buffers are written by one gathering write of the channel. As there is no positional gathering write in
+     * {@link FileChannel}, the channel position is moved to {@code position}, so such writes are serialized and must
+     * not be mixed with relative writes of other threads.
+     */
+    @Override public synchronized int writeFully(ByteBuffer[] srcBufs, int off, int len, long position) throws IOException {
+        long size = 0;
+
+        for (int i = off; i < off + len; i++)
+            size += srcBufs[i].remaining();
+
+        ch.position(position);
+
+        long written = 0;
+
+        while (written < size)
+            written += ch.write(srcBufs, off, len);
+
+        return (int)written;
+    }
+
     /** {@inheritDoc} */
     @Override public int write(byte[] buf, int off, int len) throws IOException {
         return ch.write(ByteBuffer.wrap(buf, off, len));
@@ -244,6 +244,12 @@ public class NodeFileTree extends SharedFileTree {
     /** Partition file template. */
     protected static final String PART_FILE_TEMPLATE = PART_FILE_PREFIX + "%d" + FILE_SUFFIX;
 
+    /** Prefix of file of large values of partition. */
+    private static final String LARGE_VALUES_FILE_PREFIX = "large-values-";
+
+    /** Template of file of large values of partition. */
+    private static final String LARGE_VALUES_FILE_TEMPLATE = LARGE_VALUES_FILE_PREFIX + "%d" + FILE_SUFFIX;
+
     /** */
     private static final String CACHE_DATA_FILENAME = "cache_data.dat";
 
@@ -695,6 +701,17 @@ public class NodeFileTree extends SharedFileTree {
         return new File(resolveStorage(cacheStorages(ccfg, false), part), partitionFileName(part));
     }
 
+    /**
+     * @param ccfg Cache configuration.
+     * @param part Partition id.
+     * @return File of large values of the partition.
+     */
+    public File largeValuesFile(CacheConfiguration<?, ?> ccfg, int part) {
+        assert part != INDEX_PARTITION;
+
+        return new File(resolveStorage(cacheStorages(ccfg, false), part), format(LARGE_VALUES_FILE_TEMPLATE, part));
+    }
+
     /**
      * @param ccfg Cache configuration.
      * @return Store directory for given cache.
@@ -823,6 +840,14 @@ public class NodeFileTree extends SharedFileTree {
         return f.getName().startsWith(PART_FILE_PREFIX);
     }
 
+    /**
+     * @param f File.
+     * @return {@code True} if file conforms file of large values of partition name pattern.
+     */
+    public static boolean largeValuesFile(File f) {
+        return f.getName().startsWith(LARGE_VALUES_FILE_PREFIX);
+    }
+
     /**
      * @param f File.
      * @return {@code True} if file conforms cache(including cache group caches) config file name pattern.
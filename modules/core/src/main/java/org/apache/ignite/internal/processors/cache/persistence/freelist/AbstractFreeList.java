@@ -20,9 +20,11 @@ package org.apache.ignite.internal.processors.cache.persistence.freelist;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.concurrent.atomic.AtomicReferenceArray;
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.IgniteSystemProperties;
 import org.apache.ignite.internal.GridKernalContext;
 import org.apache.ignite.internal.metric.IoStatisticsHolder;
 import org.apache.ignite.internal.metric.IoStatisticsHolderNoOp;
@@ -48,9 +50,11 @@ import org.apache.ignite.internal.processors.cache.persistence.tree.reuse.ReuseL
 import org.apache.ignite.internal.processors.cache.persistence.tree.util.PageHandler;
 import org.apache.ignite.internal.util.GridCursorIteratorWrapper;
 import org.apache.ignite.internal.util.lang.GridCursor;
+import org.apache.ignite.internal.util.lang.IgniteThrowableFunction;
 import org.apache.ignite.internal.util.typedef.internal.U;
 import org.jetbrains.annotations.Nullable;
 
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_FREE_LIST_SIZE_CLASS_MAP;
 import static org.apache.ignite.internal.pagemem.PageIdAllocator.FLAG_DATA;
 
 /**
@@ -101,6 +105,14 @@ public abstract class AbstractFreeList<T extends Storable> extends PagesList imp
     /** Page list cache limit. */
     private final AtomicLong pageListCacheLimit;
 
+    /**
+     * Map of size classes of free space, a bit per bucket which is set if the bucket may contain pages, or
+     * {@code null} if disabled. A page with enough free space is taken from the smallest non-empty bucket without
+     * probing the empty ones.
+     */
+    @Nullable private final AtomicLongArray sizeClassMap = IgniteSystemProperties.getBoolean(
+        IGNITE_FREE_LIST_SIZE_CLASS_MAP) ? new AtomicLongArray(BUCKETS / Long.SIZE) : null;
+
     /**
      *
      */
@@ -489,6 +501,62 @@ public abstract class AbstractFreeList<T extends Storable> extends PagesList imp
         init(metaPageId, initNew);
     }
 
+    /** {@inheritDoc} */
+    @Override protected void onBucketNotEmpty(int bucket) {
+        if (sizeClassMap != null)
+            setSizeClass(bucket, true);
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void onBucketEmpty(int bucket) {
+        if (sizeClassMap == null)
+            return;
+
+        setSizeClass(bucket, false);
+
+        // A page could be put to the bucket before the bit was cleared.
+        if (bucketsSize.get(bucket) > 0)
+            setSizeClass(bucket, true);
+    }
+
+    /**
+     * @param bucket Bucket index.
+     * @param notEmpty Whether the bucket may contain pages.
+     */
+    private void setSizeClass(int bucket, boolean notEmpty) {
+        int idx = bucket >>> 6;
+        long mask = 1L << bucket;
+
+        while (true) {
+            long word = sizeClassMap.get(idx);
+
+            if (((word & mask) != 0) == notEmpty || sizeClassMap.compareAndSet(idx, word, word ^ mask))
+                return;
+        }
+    }
+
+    /**
+     * @param bucket Bucket index.
+     * @return Index of the first bucket starting from the given one which may contain pages, {@link #BUCKETS} if
+     *      there is no such bucket, or the given index if the map of size classes is disabled.
+     */
+    private int nextBucket(int bucket) {
+        if (sizeClassMap == null)
+            return bucket;
+
+        for (int idx = bucket >>> 6; idx < sizeClassMap.length(); idx++) {
+            long word = sizeClassMap.get(idx);
+
+            if (idx == bucket >>> 6)
+                word &= -1L << bucket;
+
+            if (word != 0)
+                return (idx << 6) + Long.numberOfTrailingZeros(word);
+        }
+
+        return BUCKETS;
+    }
+
     /** {@inheritDoc} */
     @Override public int getPageFreeSpace(int bucket) {
         return bucket << shift;
@@ -731,7 +799,7 @@ public abstract class AbstractFreeList<T extends Storable> extends PagesList imp
         long pageId = 0;
 
         if (size < MIN_SIZE_FOR_DATA_PAGE) {
-            for (int b = bucket(size, false) + 1; b < REUSE_BUCKET; b++) {
+            for (int b = nextBucket(bucket(size, false) + 1); b < REUSE_BUCKET; b = nextBucket(b + 1)) {
                 pageId = takeEmptyPage(b, row.ioVersions(), statHolder);
 
                 if (pageId != 0L)
@@ -851,6 +919,125 @@ public abstract class AbstractFreeList<T extends Storable> extends PagesList imp
         }
     }
 
+    /**
+     * @param minFreeSpace Minimum free space of a page.
+     * @return Number of data pages in the free list which have about the given free space or more.
+     */
+    public long sparsePages(int minFreeSpace) {
+        long pages = 0;
+
+        for (int b = bucket(minFreeSpace, false); b < REUSE_BUCKET; b++)
+            pages += bucketsSize.get(b);
+
+        return pages;
+    }
+
+    /**
+     * Takes a data page which has about the given free space or more out of the free list, the sparsest pages first,
+     * to move rows of the page to denser pages. Rows are not inserted to the page until it is returned to the free
+     * list by {@link #releaseSparsePage(long, IoStatisticsHolder)}, which must be called under the same checkpoint
+     * read lock.
+     *
+     * @param minFreeSpace Minimum free space of the page.
+     * @param statHolder Statistics holder to track IO operations.
+     * @return Page ID or {@code 0} if there is no such page in the free list.
+     * @throws IgniteCheckedException If failed.
+     */
+    public long takeSparsePage(int minFreeSpace, IoStatisticsHolder statHolder) throws IgniteCheckedException {
+        try {
+            for (int b = REUSE_BUCKET - 1; b >= bucket(minFreeSpace, false); b--) {
+                if (bucketsSize.get(b) == 0)
+                    continue;
+
+                long pageId = takeEmptyPage(b, null, statHolder);
+
+                if (pageId != 0L)
+                    return pageId;
+            }
+
+            return 0L;
+        }
+        catch (AssertionError e) {
+            throw corruptedFreeListException(e);
+        }
+        catch (IgniteCheckedException | Error e) {
+            throw e;
+        }
+        catch (Throwable t) {
+            throw new CorruptedFreeListException("Failed to take sparse page", t, grpId);
+        }
+    }
+
+    /**
+     * Returns a page taken by {@link #takeSparsePage(int, IoStatisticsHolder)} to the free list. The page is recycled
+     * if all its rows were moved or removed.
+     *
+     * @param pageId Page ID.
+     * @param statHolder Statistics holder to track IO operations.
+     * @return {@code True} if the page was empty and has been recycled.
+     * @throws IgniteCheckedException If failed.
+     */
+    public boolean releaseSparsePage(long pageId, IoStatisticsHolder statHolder) throws IgniteCheckedException {
+        try {
+            long recycleId = 0L;
+
+            long page = acquirePage(pageId, statHolder);
+
+            try {
+                long pageAddr = writeLock(pageId, page);
+
+                assert pageAddr != 0L : U.hexLong(pageId);
+
+                boolean dirty = false;
+
+                try {
+                    AbstractDataPageIO<T> io = PageIO.getPageIO(pageAddr);
+
+                    int freeSpace = io.getFreeSpace(pageAddr);
+
+                    if (io.isEmpty(pageAddr)) {
+                        evictionTracker.forgetPage(pageId);
+
+                        recycleId = recyclePage(pageId, page, pageAddr, null);
+
+                        dirty = true;
+                    }
+                    else if (freeSpace > MIN_PAGE_FREE_SPACE) {
+                        put(null, pageId, page, pageAddr, bucket(freeSpace, false), statHolder);
+
+                        dirty = true;
+                    }
+                }
+                finally {
+                    writeUnlock(pageId, page, pageAddr, dirty);
+                }
+            }
+            finally {
+                releasePage(pageId, page);
+            }
+
+            if (recycleId == 0L)
+                return false;
+
+            ReuseBag bag = new LongListReuseBag();
+
+            bag.addFreePage(recycleId);
+
+            reuseList.addForRecycle(bag);
+
+            return true;
+        }
+        catch (AssertionError e) {
+            throw corruptedFreeListException(e);
+        }
+        catch (IgniteCheckedException | Error e) {
+            throw e;
+        }
+        catch (Throwable t) {
+            throw new CorruptedFreeListException("Failed to release sparse page", t, grpId);
+        }
+    }
+
     /** {@inheritDoc} */
     @Override protected Stripe[] getBucket(int bucket) {
         return buckets.get(bucket);
@@ -950,6 +1137,25 @@ public abstract class AbstractFreeList<T extends Storable> extends PagesList imp
         }
     }
 
+    /** {@inheritDoc} */
+    @Override public boolean visitStaleRecycledPages(IgniteThrowableFunction<Long, Boolean> c)
+        throws IgniteCheckedException {
+        assert reuseList == this : "not allowed to be a reuse list";
+
+        try {
+            return visitStalePages(REUSE_BUCKET, c, IoStatisticsHolderNoOp.INSTANCE);
+        }
+        catch (AssertionError e) {
+            throw corruptedFreeListException(e);
+        }
+        catch (IgniteCheckedException | Error e) {
+            throw e;
+        }
+        catch (Throwable t) {
+            throw new CorruptedFreeListException("Failed to visit recycled pages", t, grpId);
+        }
+    }
+
     /** {@inheritDoc} */
     @Override public String toString() {
         return "FreeList [name=" + name() + ']';
@@ -57,6 +57,7 @@ import org.apache.ignite.internal.processors.cache.persistence.tree.reuse.ReuseB
 import org.apache.ignite.internal.processors.cache.persistence.tree.util.PageHandler;
 import org.apache.ignite.internal.util.GridArrays;
 import org.apache.ignite.internal.util.GridLongList;
+import org.apache.ignite.internal.util.lang.IgniteThrowableFunction;
 import org.apache.ignite.internal.util.typedef.F;
 import org.apache.ignite.internal.util.typedef.internal.S;
 import org.apache.ignite.internal.util.typedef.internal.U;
@@ -330,6 +331,9 @@ public abstract class PagesList extends DataStructure {
                     assert ok;
 
                     bucketsSize.set(bucket, bucketSize);
+
+                    if (bucketSize > 0)
+                        onBucketNotEmpty(bucket);
                 }
             }
         }
@@ -830,6 +834,92 @@ public abstract class PagesList extends DataStructure {
         return res;
     }
 
+    /**
+     * Visits pages of the bucket kept by list nodes behind the stripe tails, those pages were put to the bucket a while
+     * ago and are taken after pages of the tails. Nodes are read locked from the tail to the head, each one before the
+     * next one is unlocked, so a node can't be cut off and its pages can't be taken while they are visited.
+     *
+     * @param bucket Bucket index.
+     * @param c Visitor of page IDs, returns {@code false} to stop visiting.
+     * @param statHolder Statistics holder to track IO operations.
+     * @return {@code False} if visiting was stopped by the visitor.
+     * @throws IgniteCheckedException If failed.
+     */
+    protected final boolean visitStalePages(
+        int bucket,
+        IgniteThrowableFunction<Long, Boolean> c,
+        IoStatisticsHolder statHolder
+    ) throws IgniteCheckedException {
+        Stripe[] tails = getBucket(bucket);
+
+        if (tails == null)
+            return true;
+
+        for (Stripe stripe : tails) {
+            long tailId = stripe.tailId;
+
+            if (stripe.empty || tailId == 0L)
+                continue;
+
+            long pageId = tailId;
+            long page = acquirePage(pageId, statHolder);
+            long pageAddr = 0L;
+
+            try {
+                pageAddr = readLock(pageId, page);
+
+                // The tail was taken concurrently, the stripe is visited next time.
+                if (pageAddr == 0L || stripe.tailId != tailId)
+                    continue;
+
+                while (true) {
+                    PagesListNodeIO io = PagesListNodeIO.VERSIONS.forPage(pageAddr);
+
+                    if (pageId != tailId) {
+                        for (int i = 0, cnt = io.getCount(pageAddr); i < cnt; i++) {
+                            if (!c.apply(io.getAt(pageAddr, i)))
+                                return false;
+                        }
+                    }
+
+                    long prevId = io.getPreviousId(pageAddr);
+
+                    if (prevId == 0L)
+                        break;
+
+                    long prevPage = acquirePage(prevId, statHolder);
+                    long prevAddr;
+
+                    try {
+                        prevAddr = readLock(prevId, prevPage);
+                    }
+                    catch (Throwable e) {
+                        releasePage(prevId, prevPage);
+
+                        throw e;
+                    }
+
+                    assert prevAddr != 0L : U.hexLong(prevId);
+
+                    readUnlock(pageId, page, pageAddr);
+                    releasePage(pageId, page);
+
+                    pageId = prevId;
+                    page = prevPage;
+                    pageAddr = prevAddr;
+                }
+            }
+            finally {
+                if (pageAddr != 0L)
+                    readUnlock(pageId, page, pageAddr);
+
+                releasePage(pageId, page);
+            }
+        }
+
+        return true;
+    }
+
     /**
      * @param bag Reuse bag.
      * @param dataId Data page ID.
@@ -1568,6 +1658,15 @@ public abstract class PagesList extends DataStructure {
 
         boolean needWalDeltaRecord = needWalDeltaRecord(reusedPageId, reusedPage, null);
 
+        // A page punched out of the partition file is read as zeroes, it's kept valid until initialized by the caller.
+        // The page is clean, so the write unlock logs its full snapshot and recovery doesn't need the punched content.
+        if (PageIO.getType(reusedPageAddr) == 0) {
+            assert !pageMem.isDirty(grpId, reusedPageId, reusedPage) : U.hexLong(reusedPageId);
+
+            if (initIo == null)
+                initIo = PagesListNodeIO.VERSIONS.latest();
+        }
+
         if (initIo != null) {
             initIo.initNewPage(reusedPageAddr, newPageId, pageSize(), metrics);
 
@@ -1935,7 +2034,8 @@ public abstract class PagesList extends DataStructure {
      * @param bucket Bucket number.
      */
     private void incrementBucketSize(int bucket) {
-        bucketsSize.incrementAndGet(bucket);
+        if (bucketsSize.incrementAndGet(bucket) == 1)
+            onBucketNotEmpty(bucket);
     }
 
     /**
@@ -1944,7 +2044,28 @@ public abstract class PagesList extends DataStructure {
      * @param bucket Bucket number.
      */
     private void decrementBucketSize(int bucket) {
-        bucketsSize.decrementAndGet(bucket);
+        if (bucketsSize.decrementAndGet(bucket) == 0)
+            onBucketEmpty(bucket);
+    }
+
+    /**
+     * Callback on a page put to the empty bucket. May be called concurrently with {@link #onBucketEmpty(int)} for
+     * the same bucket in any order, so the actual bucket size must be checked.
+     *
+     * @param bucket Bucket index.
+     */
+    protected void onBucketNotEmpty(int bucket) {
+        // No-op.
+    }
+
+    /**
+     * Callback on the last page taken from the bucket. May be called concurrently with {@link #onBucketNotEmpty(int)}
+     * for the same bucket in any order, so the actual bucket size must be checked.
+     *
+     * @param bucket Bucket index.
+     */
+    protected void onBucketEmpty(int bucket) {
+        // No-op.
     }
 
     /**
@@ -0,0 +1,575 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.pagemem;
+
+import org.apache.ignite.configuration.PageReplacementMode;
+import org.apache.ignite.internal.pagemem.FullPageId;
+import org.apache.ignite.internal.util.GridUnsafe;
+
+/**
+ * Pages Adaptive Replacement Cache (ARC) lists implementation.
+ * <p>
+ * Resident pages are kept in two LRU lists: T1 holds pages accessed once since they were loaded, T2 holds pages
+ * accessed at least twice. Identifiers of the pages recently replaced from T1 and T2 are kept in ghost lists B1 and
+ * B2. A miss on a page from B1 (B2) means that T1 (T2) was too small, so the target size of T1 is adapted accordingly.
+ * <p>
+ * Resident lists are addressed by page index (like {@link SegmentedLruPageList}), ghost entries are stored in
+ * a fixed-size off-heap table with a chained hash index by (group ID, effective page ID).
+ *
+ * @see PageReplacementMode#ARC
+ */
+public class ArcPageList {
+    /** Null page or ghost entry index. */
+    static final int NULL_IDX = -1;
+
+    /** T1 list: resident pages accessed once. */
+    static final int T1 = 0;
+
+    /** T2 list: resident pages accessed at least twice. */
+    static final int T2 = 1;
+
+    /** B1 list: pages recently replaced from T1. */
+    static final int B1 = 2;
+
+    /** B2 list: pages recently replaced from T2. */
+    static final int B2 = 3;
+
+    /** Ghost entry size in bytes. */
+    private static final int GHOST_ENTRY_SIZE = 32;
+
+    /** Ghost entry page ID offset. */
+    private static final int GHOST_PAGE_ID_OFFSET = 0;
+
+    /** Ghost entry group ID offset. */
+    private static final int GHOST_GRP_ID_OFFSET = 8;
+
+    /** Ghost entry previous link offset. */
+    private static final int GHOST_PREV_OFFSET = 12;
+
+    /** Ghost entry next link offset. */
+    private static final int GHOST_NEXT_OFFSET = 16;
+
+    /** Ghost entry hash chain link offset. */
+    private static final int GHOST_HASH_NEXT_OFFSET = 20;
+
+    /** Ghost entry list offset. */
+    private static final int GHOST_LIST_OFFSET = 24;
+
+    /** Heads of the lists. */
+    private final int[] heads = {NULL_IDX, NULL_IDX, NULL_IDX, NULL_IDX};
+
+    /** Tails of the lists. */
+    private final int[] tails = {NULL_IDX, NULL_IDX, NULL_IDX, NULL_IDX};
+
+    /** Sizes of the lists. */
+    private final int[] sizes = new int[4];
+
+    /** Target size of T1 list. */
+    private int target;
+
+    /** Total pages count (cache capacity). */
+    private final int capacity;
+
+    /** Head of free ghost entries list. */
+    private int freeGhostIdx;
+
+    /** Hash index mask. */
+    private final int bucketsMask;
+
+    /** Pointer to memory region to store resident pages links. */
+    private final long linksPtr;
+
+    /** Pointer to memory region to store T2 flags. */
+    private final long flagsPtr;
+
+    /** Pointer to memory region to store ghost entries. */
+    private final long ghostsPtr;
+
+    /** Pointer to memory region to store ghost hash index buckets. */
+    private final long bucketsPtr;
+
+    /**
+     * @param totalPagesCnt Total pages count.
+     * @param memPtr Pointer to memory region.
+     */
+    public ArcPageList(int totalPagesCnt, long memPtr) {
+        capacity = totalPagesCnt;
+
+        int buckets = buckets(totalPagesCnt);
+
+        bucketsMask = buckets - 1;
+
+        linksPtr = memPtr;
+        flagsPtr = linksPtr + (((long)totalPagesCnt) << 3);
+        ghostsPtr = flagsPtr + flagsSize(totalPagesCnt);
+        bucketsPtr = ghostsPtr + (long)totalPagesCnt * GHOST_ENTRY_SIZE;
+
+        GridUnsafe.setMemory(linksPtr, ((long)totalPagesCnt) << 3, (byte)0xFF);
+        GridUnsafe.zeroMemory(flagsPtr, flagsSize(totalPagesCnt));
+        GridUnsafe.setMemory(bucketsPtr, ((long)buckets) << 2, (byte)0xFF);
+
+        // Link all ghost entries into the free list.
+        for (int i = 0; i < totalPagesCnt; i++)
+            ghostNext(i, i + 1 < totalPagesCnt ? i + 1 : NULL_IDX);
+
+        freeGhostIdx = totalPagesCnt > 0 ? 0 : NULL_IDX;
+    }
+
+    /**
+     * Adds a newly loaded page. If the page was recently replaced, it is added to T2 list and the target size of T1
+     * list is adapted, otherwise it is added to T1 list.
+     *
+     * @param pageIdx Page index.
+     * @param grpId Cache group ID.
+     * @param effectivePageId Effective page ID.
+     * @return {@code True} if the page was found in the ghost lists.
+     */
+    public synchronized boolean add(int pageIdx, int grpId, long effectivePageId) {
+        int ghostIdx = findGhost(grpId, effectivePageId);
+
+        if (ghostIdx == NULL_IDX) {
+            addToTail(pageIdx, T1);
+
+            // Keep |T1| + |B1| <= c.
+            while (sizes[T1] + sizes[B1] > capacity && sizes[B1] > 0)
+                removeGhost(heads[B1]);
+
+            return false;
+        }
+
+        if (ghostList(ghostIdx) == B1)
+            target = Math.min(capacity, target + Math.max(sizes[B2] / sizes[B1], 1));
+        else
+            target = Math.max(0, target - Math.max(sizes[B1] / sizes[B2], 1));
+
+        removeGhost(ghostIdx);
+
+        addToTail(pageIdx, T2);
+
+        return true;
+    }
+
+    /**
+     * Moves page to the tail of T2 list.
+     *
+     * @param pageIdx Page index.
+     */
+    public synchronized void moveToTail(int pageIdx) {
+        if (tails[T2] == pageIdx)
+            return;
+
+        remove0(pageIdx, list(pageIdx));
+
+        addToTail(pageIdx, T2);
+    }
+
+    /**
+     * Removes page from resident lists without keeping it in ghost lists.
+     *
+     * @param pageIdx Page index.
+     */
+    public synchronized void remove(int pageIdx) {
+        remove0(pageIdx, list(pageIdx));
+    }
+
+    /**
+     * Gets the page to replace: the head of T1 list if it exceeds the target size, the head of T2 list otherwise.
+     * The page is not removed from the lists.
+     *
+     * @return Page index or {@code -1} if lists are empty.
+     */
+    public synchronized int peek() {
+        if (sizes[T1] > 0 && (sizes[T1] > target || sizes[T2] == 0))
+            return heads[T1];
+
+        return heads[T2];
+    }
+
+    /**
+     * Removes replaced page from resident lists and remembers its ID in the corresponding ghost list.
+     *
+     * @param pageIdx Page index.
+     * @param grpId Cache group ID.
+     * @param effectivePageId Effective page ID.
+     */
+    public synchronized void evict(int pageIdx, int grpId, long effectivePageId) {
+        int list = list(pageIdx);
+
+        remove0(pageIdx, list);
+
+        int ghostList = list == T1 ? B1 : B2;
+
+        // Keep |T1| + |B1| <= c and |B1| + |B2| <= c.
+        if (ghostList == B1 && sizes[T1] + sizes[B1] >= capacity && sizes[B1] > 0)
+            removeGhost(heads[B1]);
+        else if (freeGhostIdx == NULL_IDX)
+            removeGhost(heads[sizes[B2] > 0 ? B2 : B1]);
+
+        if (freeGhostIdx == NULL_IDX)
+            return;
+
+        int ghostIdx = freeGhostIdx;
+
+        freeGhostIdx = ghostNext(ghostIdx);
+
+        long ptr = ghostPtr(ghostIdx);
+
+        GridUnsafe.putLong(ptr + GHOST_PAGE_ID_OFFSET, effectivePageId);
+        GridUnsafe.putInt(ptr + GHOST_GRP_ID_OFFSET, grpId);
+        GridUnsafe.putInt(ptr + GHOST_LIST_OFFSET, ghostList);
+
+        int bucket = bucket(grpId, effectivePageId);
+
+        ghostHashNext(ghostIdx, GridUnsafe.getInt(bucketPtr(bucket)));
+        GridUnsafe.putInt(bucketPtr(bucket), ghostIdx);
+
+        ghostPrev(ghostIdx, tails[ghostList]);
+        ghostNext(ghostIdx, NULL_IDX);
+
+        if (tails[ghostList] == NULL_IDX)
+            heads[ghostList] = ghostIdx;
+        else
+            ghostNext(tails[ghostList], ghostIdx);
+
+        tails[ghostList] = ghostIdx;
+
+        sizes[ghostList]++;
+    }
+
+    /**
+     * Adds page to the tail of resident list.
+     *
+     * @param pageIdx Page index.
+     * @param list List.
+     */
+    private void addToTail(int pageIdx, int list) {
+        assert prev(pageIdx) == NULL_IDX : prev(pageIdx);
+        assert next(pageIdx) == NULL_IDX : next(pageIdx);
+
+        int tailIdx = tails[list];
+
+        if (tailIdx == NULL_IDX)
+            heads[list] = pageIdx;
+        else {
+            prev(pageIdx, tailIdx);
+            next(tailIdx, pageIdx);
+        }
+
+        tails[list] = pageIdx;
+
+        sizes[list]++;
+
+        t2Page(pageIdx, list == T2);
+    }
+
+    /**
+     * @param pageIdx Page index.
+     * @param list Resident list the page belongs to.
+     */
+    private void remove0(int pageIdx, int list) {
+        assert pageIdx != NULL_IDX;
+
+        int prevIdx = prev(pageIdx);
+        int nextIdx = next(pageIdx);
+
+        if (prevIdx == NULL_IDX) {
+            assert heads[list] == pageIdx : "Unexpected ARC page index [headIdx=" + heads[list] +
+                ", pageIdx=" + pageIdx + ']';
+
+            heads[list] = nextIdx;
+        }
+        else
+            next(prevIdx, nextIdx);
+
+        if (nextIdx == NULL_IDX) {
+            assert tails[list] == pageIdx : "Unexpected ARC page index [tailIdx=" + tails[list] +
+                ", pageIdx=" + pageIdx + ']';
+
+            tails[list] = prevIdx;
+        }
+        else
+            prev(nextIdx, prevIdx);
+
+        GridUnsafe.putLong(linksPtr + (((long)pageIdx) << 3), -1L);
+
+        sizes[list]--;
+
+        t2Page(pageIdx, false);
+    }
+
+    /**
+     * @param grpId Cache group ID.
+     * @param effectivePageId Effective page ID.
+     * @return Ghost entry index or {@code -1} if there is no such page in ghost lists.
+     */
+    private int findGhost(int grpId, long effectivePageId) {
+        int ghostIdx = GridUnsafe.getInt(bucketPtr(bucket(grpId, effectivePageId)));
+
+        while (ghostIdx != NULL_IDX) {
+            long ptr = ghostPtr(ghostIdx);
+
+            if (GridUnsafe.getLong(ptr + GHOST_PAGE_ID_OFFSET) == effectivePageId &&
+                GridUnsafe.getInt(ptr + GHOST_GRP_ID_OFFSET) == grpId)
+                return ghostIdx;
+
+            ghostIdx = ghostHashNext(ghostIdx);
+        }
+
+        return NULL_IDX;
+    }
+
+    /**
+     * Removes ghost entry from its list and hash index and returns it to the free list.
+     *
+     * @param ghostIdx Ghost entry index.
+     */
+    private void removeGhost(int ghostIdx) {
+        long ptr = ghostPtr(ghostIdx);
+
+        int list = GridUnsafe.getInt(ptr + GHOST_LIST_OFFSET);
+
+        int prevIdx = GridUnsafe.getInt(ptr + GHOST_PREV_OFFSET);
+        int nextIdx = ghostNext(ghostIdx);
+
+        if (prevIdx == NULL_IDX)
+            heads[list] = nextIdx;
+        else
+            ghostNext(prevIdx, nextIdx);
+
+        if (nextIdx == NULL_IDX)
+            tails[list] = prevIdx;
+        else
+            ghostPrev(nextIdx, prevIdx);
+
+        sizes[list]--;
+
+        // Unlink from the hash chain.
+        long linkPtr = bucketPtr(bucket(GridUnsafe.getInt(ptr + GHOST_GRP_ID_OFFSET),
+            GridUnsafe.getLong(ptr + GHOST_PAGE_ID_OFFSET)));
+
+        for (int idx = GridUnsafe.getInt(linkPtr); idx != ghostIdx; idx = GridUnsafe.getInt(linkPtr)) {
+            assert idx != NULL_IDX : "Ghost entry not found in hash index: " + ghostIdx;
+
+            linkPtr = ghostPtr(idx) + GHOST_HASH_NEXT_OFFSET;
+        }
+
+        GridUnsafe.putInt(linkPtr, ghostHashNext(ghostIdx));
+
+        ghostNext(ghostIdx, freeGhostIdx);
+
+        freeGhostIdx = ghostIdx;
+    }
+
+    /**
+     * Gets resident list of the page.
+     *
+     * @param pageIdx Page index.
+     */
+    int list(int pageIdx) {
+        long flags = GridUnsafe.getLong(flagsPtr + ((pageIdx >> 3) & (~7)));
+
+        return (flags & (1L << pageIdx)) != 0L ? T2 : T1;
+    }
+
+    /**
+     * Sets T2 page flag.
+     *
+     * @param pageIdx Page index.
+     * @param t2 {@code True} if the page belongs to T2 list.
+     */
+    private void t2Page(int pageIdx, boolean t2) {
+        long ptr = flagsPtr + ((pageIdx >> 3) & (~7));
+
+        if (t2)
+            GridUnsafe.putLong(ptr, GridUnsafe.getLong(ptr) | (1L << pageIdx));
+        else
+            GridUnsafe.putLong(ptr, GridUnsafe.getLong(ptr) & ~(1L << pageIdx));
+    }
+
+    /**
+     * Gets link to the previous page in the list.
+     *
+     * @param pageIdx Page index.
+     */
+    int prev(int pageIdx) {
+        return GridUnsafe.getInt(linksPtr + (((long)pageIdx) << 3));
+    }
+
+    /**
+     * Gets link to the next page in the list.
+     *
+     * @param pageIdx Page index.
+     */
+    int next(int pageIdx) {
+        return GridUnsafe.getInt(linksPtr + (((long)pageIdx) << 3) + 4);
+    }
+
+    /**
+     * Sets link to the previous page in the list.
+     *
+     * @param pageIdx Page index.
+     * @param prevIdx Previous page index.
+     */
+    private void prev(int pageIdx, int prevIdx) {
+        GridUnsafe.putInt(linksPtr + (((long)pageIdx) << 3), prevIdx);
+    }
+
+    /**
+     * Sets link to the next page in the list.
+     *
+     * @param pageIdx Page index.
+     * @param nextIdx Next page index.
+     */
+    private void next(int pageIdx, int nextIdx) {
+        GridUnsafe.putInt(linksPtr + (((long)pageIdx) << 3) + 4, nextIdx);
+    }
+
+    /**
+     * @param ghostIdx Ghost entry index.
+     * @return Pointer to the ghost entry.
+     */
+    private long ghostPtr(int ghostIdx) {
+        return ghostsPtr + (long)ghostIdx * GHOST_ENTRY_SIZE;
+    }
+
+    /**
+     * @param ghostIdx Ghost entry index.
+     * @return Next ghost entry in the list.
+     */
+    int ghostNext(int ghostIdx) {
+        return GridUnsafe.getInt(ghostPtr(ghostIdx) + GHOST_NEXT_OFFSET);
+    }
+
+    /**
+     * @param ghostIdx Ghost entry index.
+     * @param nextIdx Next ghost entry in the list.
+     */
+    private void ghostNext(int ghostIdx, int nextIdx) {
+        GridUnsafe.putInt(ghostPtr(ghostIdx) + GHOST_NEXT_OFFSET, nextIdx);
+    }
+
+    /**
+     * @param ghostIdx Ghost entry index.
+     * @param prevIdx Previous ghost entry in the list.
+     */
+    private void ghostPrev(int ghostIdx, int prevIdx) {
+        GridUnsafe.putInt(ghostPtr(ghostIdx) + GHOST_PREV_OFFSET, prevIdx);
+    }
+
+    /**
+     * @param ghostIdx Ghost entry index.
+     * @return Next ghost entry in the hash chain.
+     */
+    private int ghostHashNext(int ghostIdx) {
+        return GridUnsafe.getInt(ghostPtr(ghostIdx) + GHOST_HASH_NEXT_OFFSET);
+    }
+
+    /**
+     * @param ghostIdx Ghost entry index.
+     * @param nextIdx Next ghost entry in the hash chain.
+     */
+    private void ghostHashNext(int ghostIdx, int nextIdx) {
+        GridUnsafe.putInt(ghostPtr(ghostIdx) + GHOST_HASH_NEXT_OFFSET, nextIdx);
+    }
+
+    /**
+     * @param ghostIdx Ghost entry index.
+     * @return Effective page ID of the entry.
+     */
+    long ghostPageId(int ghostIdx) {
+        return GridUnsafe.getLong(ghostPtr(ghostIdx) + GHOST_PAGE_ID_OFFSET);
+    }
+
+    /**
+     * @param ghostIdx Ghost entry index.
+     * @return Ghost list of the entry.
+     */
+    int ghostList(int ghostIdx) {
+        return GridUnsafe.getInt(ghostPtr(ghostIdx) + GHOST_LIST_OFFSET);
+    }
+
+    /**
+     * @param bucket Bucket.
+     * @return Pointer to the bucket.
+     */
+    private long bucketPtr(int bucket) {
+        return bucketsPtr + (((long)bucket) << 2);
+    }
+
+    /**
+     * @param grpId Cache group ID.
+     * @param effectivePageId Effective page ID.
+     * @return Hash index bucket.
+     */
+    private int bucket(int grpId, long effectivePageId) {
+        return FullPageId.hashCode(grpId, effectivePageId) & bucketsMask;
+    }
+
+    /**
+     * Gets size of the list.
+     *
+     * @param list List.
+     */
+    synchronized int size(int list) {
+        return sizes[list];
+    }
+
+    /**
+     * Gets the index of the head page or ghost entry of the list.
+     *
+     * @param list List.
+     */
+    synchronized int headIdx(int list) {
+        return heads[list];
+    }
+
+    /**
+     * Gets target size of T1 list.
+     */
+    synchronized int target() {
+        return target;
+    }
+
+    /**
+     * @param pagesCnt Pages count.
+     * @return Count of hash index buckets: the nearest power of two not less than pages count.
+     */
+    private static int buckets(int pagesCnt) {
+        return pagesCnt <= 1 ? 1 : Integer.highestOneBit(pagesCnt - 1) << 1;
+    }
+
+    /**
+     * @param pagesCnt Pages count.
+     * @return Size of T2 flags region: 1 bit per page + 8 byte align.
+     */
+    private static long flagsSize(int pagesCnt) {
+        return ((pagesCnt + 63L) / 8) & (~7L);
+    }
+
+    /**
+     * Memory required to service {@code pagesCnt} pages.
+     *
+     * @param pagesCnt Pages count.
+     */
+    public static long requiredMemory(int pagesCnt) {
+        return pagesCnt * 8L /* links = 2 ints per page */ +
+            flagsSize(pagesCnt) /* T2 flags */ +
+            (long)pagesCnt * GHOST_ENTRY_SIZE /* ghost entries, up to one per page */ +
+            ((long)buckets(pagesCnt) << 2) /* ghost hash index */;
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.pagemem;
+
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.configuration.PageReplacementMode;
+import org.apache.ignite.internal.pagemem.FullPageId;
+import org.apache.ignite.internal.pagemem.PageIdUtils;
+
+import static org.apache.ignite.internal.processors.cache.persistence.pagemem.ArcPageList.NULL_IDX;
+import static org.apache.ignite.internal.processors.cache.persistence.pagemem.PageMemoryImpl.INVALID_REL_PTR;
+import static org.apache.ignite.internal.processors.cache.persistence.pagemem.PageMemoryImpl.OUTDATED_REL_PTR;
+
+/**
+ * Adaptive Replacement Cache (ARC) page replacement policy implementation.
+ *
+ * @see PageReplacementMode#ARC
+ */
+public class ArcPageReplacementPolicy extends PageReplacementPolicy {
+    /** ARC lists. */
+    private final ArcPageList arcList;
+
+    /**
+     * @param seg Page memory segment.
+     * @param ptr Pointer to memory region.
+     * @param pagesCnt Pages count.
+     */
+    protected ArcPageReplacementPolicy(PageMemoryImpl.Segment seg, long ptr, int pagesCnt) {
+        super(seg);
+
+        arcList = new ArcPageList(pagesCnt, ptr);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onHit(long relPtr) {
+        int pageIdx = (int)seg.pageIndex(relPtr);
+
+        arcList.moveToTail(pageIdx);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onMiss(long relPtr) {
+        int pageIdx = (int)seg.pageIndex(relPtr);
+
+        FullPageId fullId = PageHeader.fullPageId(seg.absolute(relPtr));
+
+        arcList.add(pageIdx, fullId.groupId(), fullId.effectivePageId());
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onRemove(long relPtr) {
+        int pageIdx = (int)seg.pageIndex(relPtr);
+
+        arcList.remove(pageIdx);
+    }
+
+    /** {@inheritDoc} */
+    @Override public long replace() throws IgniteCheckedException {
+        LoadedPagesMap loadedPages = seg.loadedPages();
+
+        for (int i = 0; i < loadedPages.size(); i++) {
+            int pageIdx = arcList.peek();
+
+            if (pageIdx == NULL_IDX)
+                break;
+
+            long relPtr = seg.relative(pageIdx);
+            long absPtr = seg.absolute(relPtr);
+
+            FullPageId fullId = PageHeader.fullPageId(absPtr);
+
+            // Check loaded pages map for outdated page.
+            relPtr = loadedPages.get(
+                fullId.groupId(),
+                fullId.effectivePageId(),
+                seg.partGeneration(fullId.groupId(), PageIdUtils.partId(fullId.pageId())),
+                INVALID_REL_PTR,
+                OUTDATED_REL_PTR
+            );
+
+            assert relPtr != INVALID_REL_PTR;
+
+            if (relPtr == OUTDATED_REL_PTR) {
+                // Page of the destroyed partition, there is no sense to remember it.
+                arcList.remove(pageIdx);
+
+                return seg.refreshOutdatedPage(fullId.groupId(), fullId.pageId(), true);
+            }
+
+            if (seg.tryToRemovePage(fullId, absPtr)) {
+                arcList.evict(pageIdx, fullId.groupId(), fullId.effectivePageId());
+
+                return relPtr;
+            }
+
+            // Page can't be replaced now, move it to the tail of the frequently used list.
+            arcList.moveToTail(pageIdx);
+        }
+
+        throw seg.oomException("no pages to replace");
+    }
+}
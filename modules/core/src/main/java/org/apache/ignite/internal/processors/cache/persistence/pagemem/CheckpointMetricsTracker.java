@@ -47,12 +47,40 @@ public class CheckpointMetricsTracker {
     private static final AtomicIntegerFieldUpdater<CheckpointMetricsTracker> COW_PAGES_UPDATER =
         AtomicIntegerFieldUpdater.newUpdater(CheckpointMetricsTracker.class, "cowPages");
 
+    /** */
+    private static final AtomicIntegerFieldUpdater<CheckpointMetricsTracker> PAGE_WRITES_UPDATER =
+        AtomicIntegerFieldUpdater.newUpdater(CheckpointMetricsTracker.class, "pageWrites");
+
+    /** */
+    private static final AtomicIntegerFieldUpdater<CheckpointMetricsTracker> COALESCED_PAGES_UPDATER =
+        AtomicIntegerFieldUpdater.newUpdater(CheckpointMetricsTracker.class, "coalescedPages");
+
+    /** */
+    private static final AtomicIntegerFieldUpdater<CheckpointMetricsTracker> DELTA_PAGES_UPDATER =
+        AtomicIntegerFieldUpdater.newUpdater(CheckpointMetricsTracker.class, "deltaPages");
+
+    /** */
+    private static final AtomicIntegerFieldUpdater<CheckpointMetricsTracker> UNCHANGED_PAGES_UPDATER =
+        AtomicIntegerFieldUpdater.newUpdater(CheckpointMetricsTracker.class, "unchangedPages");
+
     /** */
     private volatile int dataPages;
 
     /** */
     private volatile int cowPages;
 
+    /** Number of IO operations used to write checkpoint pages. */
+    private volatile int pageWrites;
+
+    /** Number of checkpoint pages written by {@link #pageWrites} operations. */
+    private volatile int coalescedPages;
+
+    /** Number of checkpoint pages which changed chunks were written instead of the whole page. */
+    private volatile int deltaPages;
+
+    /** Number of checkpoint pages which were not written since their content wasn't changed. */
+    private volatile int unchangedPages;
+
     /** */
     private final long cpStart = System.currentTimeMillis();
 
@@ -110,6 +138,60 @@ public class CheckpointMetricsTracker {
         DATA_PAGES_UPDATER.incrementAndGet(this);
     }
 
+    /**
+     * Increments counters when adjacent pages were written by one IO operation.
+     *
+     * @param pages Number of pages.
+     */
+    public void onPagesWritten(int pages) {
+        PAGE_WRITES_UPDATER.incrementAndGet(this);
+        COALESCED_PAGES_UPDATER.addAndGet(this, pages);
+    }
+
+    /**
+     * Increments counter if changed chunks of a page were written instead of the whole page.
+     */
+    public void onDeltaPageWritten() {
+        DELTA_PAGES_UPDATER.incrementAndGet(this);
+    }
+
+    /**
+     * Increments counter if a page wasn't written since its content wasn't changed.
+     */
+    public void onUnchangedPageSkipped() {
+        UNCHANGED_PAGES_UPDATER.incrementAndGet(this);
+    }
+
+    /**
+     * @return Number of pages which changed chunks were written instead of the whole page.
+     */
+    public int deltaPagesWritten() {
+        return deltaPages;
+    }
+
+    /**
+     * @return Number of pages which were not written since their content wasn't changed.
+     */
+    public int unchangedPagesSkipped() {
+        return unchangedPages;
+    }
+
+    /**
+     * @return Number of IO operations used to write pages.
+     */
+    public int pageWriteOperations() {
+        return pageWrites;
+    }
+
+    /**
+     * @return Average number of adjacent pages written by one IO operation.
+     */
+    public double averagePagesPerWrite() {
+        int pageWrites = this.pageWrites;
+
+        return pageWrites == 0 ? 0 : (double)coalescedPages / pageWrites;
+    }
+
     /**
      * @return COW pages.
      */
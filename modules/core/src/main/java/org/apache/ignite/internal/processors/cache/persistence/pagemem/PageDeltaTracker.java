@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.pagemem;
+
+import org.apache.ignite.internal.pagemem.store.PageStore;
+import org.apache.ignite.internal.util.GridUnsafe;
+
+/**
+ * Tracks changed chunks of pages of a page memory segment for delta checkpoint writes. Keeps a hash of each of
+ * {@link PageStore#DELTA_CHUNKS} chunks of a page content which is known to be equal to the page content in the page
+ * store, i.e. the content the page was read with or the content of the last page write.
+ */
+class PageDeltaTracker {
+    /** Size of the chunk hashes of one page. */
+    private static final int PAGE_HASHES_SIZE = PageStore.DELTA_CHUNKS * 8;
+
+    /** Pointer to memory region to store chunk hashes. */
+    private final long hashesPtr;
+
+    /** Chunk size. */
+    private final int chunkSize;
+
+    /**
+     * @param pagesCnt Total pages count.
+     * @param memPtr Pointer to memory region.
+     * @param pageSize Page size.
+     */
+    PageDeltaTracker(int pagesCnt, long memPtr, int pageSize) {
+        assert pageSize % (PageStore.DELTA_CHUNKS * 8) == 0 : pageSize;
+
+        hashesPtr = memPtr;
+        chunkSize = pageSize / PageStore.DELTA_CHUNKS;
+
+        GridUnsafe.zeroMemory(hashesPtr, requiredMemory(pagesCnt));
+    }
+
+    /**
+     * Forgets chunk hashes of the page which content is not known to be equal to the content in the page store.
+     *
+     * @param pageIdx Page index in the pool.
+     */
+    void invalidate(long pageIdx) {
+        // Hash is never zero, so zero hash of the first chunk marks the page without valid hashes.
+        GridUnsafe.putLong(hashesPtr + pageIdx * PAGE_HASHES_SIZE, 0L);
+    }
+
+    /**
+     * Calculates chunk hashes of the page and compares them with the stored ones, stored hashes are replaced with
+     * the calculated ones.
+     *
+     * @param pageIdx Page index in the pool.
+     * @param pageAddr Address of the page content which is going to be equal to the content in the page store.
+     * @return Bit mask of the chunks changed since the last call or {@code -1} if the page didn't have valid hashes.
+     */
+    int update(long pageIdx, long pageAddr) {
+        long ptr = hashesPtr + pageIdx * PAGE_HASHES_SIZE;
+
+        boolean valid = GridUnsafe.getLong(ptr) != 0L;
+
+        int changed = 0;
+
+        for (int i = 0; i < PageStore.DELTA_CHUNKS; i++) {
+            long hash = hash(pageAddr + (long)i * chunkSize, chunkSize);
+
+            long hashPtr = ptr + i * 8L;
+
+            if (GridUnsafe.getLong(hashPtr) != hash) {
+                GridUnsafe.putLong(hashPtr, hash);
+
+                changed |= 1 << i;
+            }
+        }
+
+        return valid ? changed : -1;
+    }
+
+    /**
+     * @param addr Chunk address.
+     * @param len Chunk length, multiple of 8.
+     * @return Non-zero 64-bit hash of the chunk.
+     */
+    private static long hash(long addr, int len) {
+        long h = len;
+
+        for (int off = 0; off < len; off += 8) {
+            h ^= GridUnsafe.getLong(addr + off) * 0x9E3779B97F4A7C15L;
+            h = Long.rotateLeft(h, 31) * 0xC2B2AE3D27D4EB4FL;
+        }
+
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+
+        return h | 1L;
+    }
+
+    /**
+     * Memory required to service {@code pagesCnt} pages.
+     *
+     * @param pagesCnt Pages count.
+     */
+    static long requiredMemory(int pagesCnt) {
+        return (long)pagesCnt * PAGE_HASHES_SIZE;
+    }
+}
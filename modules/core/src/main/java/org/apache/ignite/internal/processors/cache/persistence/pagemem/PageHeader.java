@@ -33,6 +33,9 @@ class PageHeader {
     /** Dirty flag. */
     private static final long DIRTY_FLAG = 0x0100000000000000L;
 
+    /** Read-ahead flag, set for a page loaded by read-ahead until the page is accessed. */
+    private static final long READ_AHEAD_FLAG = 0x0200000000000000L;
+
     /** Page relative pointer. Does not change once a page is allocated. */
     private static final int RELATIVE_PTR_OFFSET = 8;
 
@@ -78,6 +81,34 @@ class PageHeader {
         return flag(absPtr, DIRTY_FLAG, dirty);
     }
 
+    /**
+     * @param absPtr Absolute pointer.
+     * @return Read-ahead flag.
+     */
+    public static boolean readAhead(long absPtr) {
+        return flag(absPtr, READ_AHEAD_FLAG);
+    }
+
+    /**
+     * Atomically sets read-ahead flag. Other flags are not affected even if they are changed concurrently.
+     *
+     * @param absPtr Absolute pointer.
+     * @param readAhead Read-ahead flag.
+     */
+    public static void readAhead(long absPtr, boolean readAhead) {
+        flag(absPtr, READ_AHEAD_FLAG, readAhead);
+    }
+
+    /**
+     * Atomically clears read-ahead flag. Other flags are not affected even if they are changed concurrently.
+     *
+     * @param absPtr Absolute pointer.
+     * @return {@code True} if the flag was cleared by this call.
+     */
+    public static boolean clearReadAhead(long absPtr) {
+        return flag(absPtr, READ_AHEAD_FLAG, false);
+    }
+
     /**
      * @param absPtr Absolute pointer.
      * @param flag Flag mask.
@@ -93,7 +124,8 @@ class PageHeader {
     }
 
     /**
-     * Sets flag.
+     * Atomically sets flag. Flags share the word with each other, so other flags are not affected even if they are
+     * changed concurrently.
      *
      * @param absPtr Absolute pointer.
      * @param flag Flag mask.
@@ -104,18 +136,19 @@ class PageHeader {
         assert (flag & 0xFFFFFFFFFFFFFFL) == 0;
         assert Long.bitCount(flag) == 1;
 
-        long relPtrWithFlags = GridUnsafe.getLong(absPtr + RELATIVE_PTR_OFFSET);
+        while (true) {
+            long relPtrWithFlags = GridUnsafe.getLongVolatile(null, absPtr + RELATIVE_PTR_OFFSET);
 
-        boolean was = (relPtrWithFlags & flag) != 0;
+            boolean was = (relPtrWithFlags & flag) != 0;
 
-        if (set)
-            relPtrWithFlags |= flag;
-        else
-            relPtrWithFlags &= ~flag;
+            if (was == set)
+                return was;
 
-        GridUnsafe.putLong(absPtr + RELATIVE_PTR_OFFSET, relPtrWithFlags);
+            long newVal = set ? relPtrWithFlags | flag : relPtrWithFlags & ~flag;
 
-        return was;
+            if (GridUnsafe.compareAndSwapLong(null, absPtr + RELATIVE_PTR_OFFSET, relPtrWithFlags, newVal))
+                return was;
+        }
     }
 
     /**
@@ -247,7 +280,7 @@ class PageHeader {
      * @param absPtr Absolute memory pointer to the page header.
      * @return Cache group ID written to the page.
      */
-    private static int readPageGroupId(final long absPtr) {
+    public static int readPageGroupId(final long absPtr) {
         return GridUnsafe.getInt(absPtr + PAGE_CACHE_ID_OFFSET);
     }
 
@@ -25,6 +25,7 @@ import org.apache.ignite.internal.IgniteInternalFuture;
 import org.apache.ignite.internal.metric.IoStatisticsHolder;
 import org.apache.ignite.internal.pagemem.FullPageId;
 import org.apache.ignite.internal.pagemem.PageMemory;
+import org.apache.ignite.internal.pagemem.store.PageStore;
 import org.apache.ignite.internal.processors.cache.persistence.PageStoreWriter;
 import org.apache.ignite.internal.processors.cache.persistence.StorageException;
 import org.apache.ignite.internal.util.GridMultiCollectionWrapper;
@@ -151,6 +152,18 @@ public interface PageMemoryEx extends PageMemory {
     /** */
     public PageReadWriteManager pageManager();
 
+    /**
+     * Frees the storage space of a free page, see {@link PageStore#punchPage(long)}. The page must be kept in a reuse
+     * list, so no one uses it but stale readers. The page is skipped if it is acquired or was changed since the last
+     * checkpoint, otherwise its loaded copy is unloaded, so the page is read as a never written page next time.
+     *
+     * @param grpId Cache group ID.
+     * @param pageId Page ID.
+     * @return {@code True} if the storage space was freed.
+     * @throws IgniteCheckedException If failed.
+     */
+    public boolean punchPage(int grpId, long pageId) throws IgniteCheckedException;
+
     /**
      * Marks partition as invalid / outdated.
      *
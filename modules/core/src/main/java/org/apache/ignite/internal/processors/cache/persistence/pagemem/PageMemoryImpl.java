@@ -53,6 +53,7 @@ import org.apache.ignite.internal.pagemem.FullPageId;
 import org.apache.ignite.internal.pagemem.PageIdAllocator;
 import org.apache.ignite.internal.pagemem.PageIdUtils;
 import org.apache.ignite.internal.pagemem.PageUtils;
+import org.apache.ignite.internal.pagemem.store.PageStoreCollection;
 import org.apache.ignite.internal.pagemem.wal.IgniteWriteAheadLogManager;
 import org.apache.ignite.internal.pagemem.wal.WALIterator;
 import org.apache.ignite.internal.pagemem.wal.record.CheckpointRecord;
@@ -95,9 +96,13 @@ import org.jetbrains.annotations.TestOnly;
 import static java.lang.Boolean.FALSE;
 import static java.lang.Boolean.TRUE;
 import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_BPLUS_TREE_OPTIMISTIC_READS;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_CHECKPOINT_DELTA_WRITES;
 import static org.apache.ignite.IgniteSystemProperties.IGNITE_DELAYED_REPLACED_PAGE_WRITE;
 import static org.apache.ignite.IgniteSystemProperties.IGNITE_LOADED_PAGES_BACKWARD_SHIFT_MAP;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_PAGE_READ_AHEAD_WINDOW;
 import static org.apache.ignite.IgniteSystemProperties.getBoolean;
+import static org.apache.ignite.IgniteSystemProperties.getInteger;
 import static org.apache.ignite.internal.pagemem.FullPageId.NULL_PAGE;
 import static org.apache.ignite.internal.processors.cache.persistence.pagemem.PagePool.SEGMENT_INDEX_MASK;
 import static org.apache.ignite.internal.util.GridUnsafe.wrapPointer;
@@ -125,6 +130,9 @@ import static org.apache.ignite.internal.util.GridUnsafe.wrapPointer;
  *
  * Note that first 8 bytes of page header are used either for page marker or for next relative pointer depending
  * on whether the page is in use or not.
+ * <p/>
+ * If {@link IgniteSystemProperties#IGNITE_BPLUS_TREE_OPTIMISTIC_READS} is enabled, the page data is followed by
+ * an 8 byte write version of the page lock, see {@link #tryCopyPage(int, long, long, long)}.
  */
 @SuppressWarnings({"LockAcquiredButNotSafelyReleased"})
 public class PageMemoryImpl implements PageMemoryEx {
@@ -160,6 +168,12 @@ public class PageMemoryImpl implements PageMemoryEx {
     /** @see IgniteSystemProperties#IGNITE_LOADED_PAGES_BACKWARD_SHIFT_MAP */
     public static final boolean DFLT_LOADED_PAGES_BACKWARD_SHIFT_MAP = true;
 
+    /** @see IgniteSystemProperties#IGNITE_PAGE_READ_AHEAD_WINDOW */
+    public static final int DFLT_PAGE_READ_AHEAD_WINDOW = 0;
+
+    /** Maximum number of threads loading pages ahead of sequential reads. */
+    private static final int MAX_READ_AHEAD_THREADS = 4;
+
     /** Tracking io. */
     private static final TrackingPageIO trackingIO = TrackingPageIO.VERSIONS.latest();
 
@@ -170,6 +184,9 @@ public class PageMemoryImpl implements PageMemoryEx {
     /** Page size. */
     private final int sysPageSize;
 
+    /** Page size without the page header and the write version. */
+    private final int pageSize;
+
     /** Encrypted page size. */
     private final int encPageSize;
 
@@ -183,12 +200,18 @@ public class PageMemoryImpl implements PageMemoryEx {
     private final boolean useBackwardShiftMap =
         IgniteSystemProperties.getBoolean(IGNITE_LOADED_PAGES_BACKWARD_SHIFT_MAP, DFLT_LOADED_PAGES_BACKWARD_SHIFT_MAP);
 
+    /** Tracking of changed page chunks for delta checkpoint writes. */
+    private final boolean trackPageDeltas = IgniteSystemProperties.getBoolean(IGNITE_CHECKPOINT_DELTA_WRITES);
+
     /** Page replacement policy factory. */
     private final PageReplacementPolicyFactory pageReplacementPolicyFactory;
 
     /** */
     private final ExecutorService asyncRunner;
 
+    /** Read-ahead of sequentially read partitions, {@code null} if disabled. */
+    @Nullable private final PageReadAheadTracker readAheadTracker;
+
     /** Page manager. */
     private final PageReadWriteManager pmPageMgr;
 
@@ -321,11 +344,18 @@ public class PageMemoryImpl implements PageMemoryEx {
         assert walMgr != null;
         assert encMgr != null;
 
-        sysPageSize = pageSize + PAGE_OVERHEAD;
+        this.pageSize = pageSize;
+
+        boolean optimisticReads = getBoolean(IGNITE_BPLUS_TREE_OPTIMISTIC_READS);
+
+        sysPageSize = pageSize + PAGE_OVERHEAD + (optimisticReads ? OffheapReadWriteLock.VERSION_SIZE : 0);
 
         encPageSize = CU.encryptedPageSize(pageSize, ctx.kernalContext().config().getEncryptionSpi());
 
-        rwLock = new OffheapReadWriteLock(128);
+        // The write version follows the page data.
+        rwLock = optimisticReads ?
+            new OffheapReadWriteLock(128, PAGE_OVERHEAD - PAGE_LOCK_OFFSET + pageSize) :
+            new OffheapReadWriteLock(128);
 
         this.dataRegionMetrics = dataRegionMetrics;
         
@@ -339,7 +369,19 @@ public class PageMemoryImpl implements PageMemoryEx {
             SECONDS.toMillis(30),
             new ArrayBlockingQueue<>(Runtime.getRuntime().availableProcessors())
         );
-        
+
+        int readAheadWnd = getInteger(IGNITE_PAGE_READ_AHEAD_WINDOW, DFLT_PAGE_READ_AHEAD_WINDOW);
+
+        readAheadTracker = readAheadWnd > 0 && pmPageMgr instanceof PageStoreCollection
+            ? new PageReadAheadTracker(
+                this,
+                (PageStoreCollection)pmPageMgr,
+                readAheadWnd,
+                Math.min(MAX_READ_AHEAD_THREADS, Runtime.getRuntime().availableProcessors()),
+                ctx.igniteInstanceName(),
+                log)
+            : null;
+
         switch (dataRegionCfg.getPageReplacementMode()) {
             case RANDOM_LRU:
                 pageReplacementPolicyFactory = new RandomLruPageReplacementPolicyFactory();
@@ -352,6 +394,10 @@ public class PageMemoryImpl implements PageMemoryEx {
             case CLOCK:
                 pageReplacementPolicyFactory = new ClockPageReplacementPolicyFactory();
 
+                break;
+            case ARC:
+                pageReplacementPolicyFactory = new ArcPageReplacementPolicyFactory();
+
                 break;
             default:
                 throw new IgniteException("Unexpected page replacement mode: " + dataRegionCfg.getPageReplacementMode());
@@ -393,6 +439,7 @@ public class PageMemoryImpl implements PageMemoryEx {
             int pages = 0;
             long totalTblSize = 0;
             long totalReplSize = 0;
+            long totalDeltaSize = 0;
 
             for (int i = 0; i < regs - 1; i++) {
                 assert i < segments.length;
@@ -406,6 +453,7 @@ public class PageMemoryImpl implements PageMemoryEx {
                 pages += segments[i].pages();
                 totalTblSize += segments[i].tableSize();
                 totalReplSize += segments[i].replacementSize();
+                totalDeltaSize += segments[i].deltaTrackingSize();
             }
 
             initWriteThrottle();
@@ -417,6 +465,7 @@ public class PageMemoryImpl implements PageMemoryEx {
                     ", pages=" + pages +
                     ", tableSize=" + U.readableSize(totalTblSize, false) +
                     ", replacementSize=" + U.readableSize(totalReplSize, false) +
+                    (trackPageDeltas ? ", deltaTrackingSize=" + U.readableSize(totalDeltaSize, false) : "") +
                     ", checkpointBuffer=" + U.readableSize(checkpointBuf, false) +
                     ']');
             }
@@ -461,6 +510,9 @@ public class PageMemoryImpl implements PageMemoryEx {
 
             U.shutdownNow(getClass(), asyncRunner, log);
 
+            if (readAheadTracker != null)
+                readAheadTracker.stop();
+
             if (segments != null) {
                 for (Segment seg : segments)
                     seg.close();
@@ -502,6 +554,27 @@ public class PageMemoryImpl implements PageMemoryEx {
         readUnlockPage(page);
     }
 
+    /** {@inheritDoc} */
+    @Override public boolean tryCopyPage(int grpId, long pageId, long page, long dstAddr) {
+        assert started;
+
+        int tag = PageIdUtils.tag(pageId);
+
+        long stamp = rwLock.tryOptimisticRead(page + PAGE_LOCK_OFFSET, tag);
+
+        if (stamp == 0)
+            return false;
+
+        GridUnsafe.copyMemory(page + PAGE_OVERHEAD, dstAddr, pageSize());
+
+        if (!rwLock.validate(page + PAGE_LOCK_OFFSET, tag, stamp))
+            return false;
+
+        touchPage(page, true);
+
+        return true;
+    }
+
     /** {@inheritDoc} */
     @Override public long writeLock(int grpId, long pageId, long page) {
         assert started;
@@ -611,6 +684,8 @@ public class PageMemoryImpl implements PageMemoryEx {
 
             PageHeader.fullPageId(absPtr, fullId);
 
+            seg.invalidatePageDelta(absPtr);
+
             touchPage(absPtr, pageReplaced);
 
             rwLock.init(absPtr + PAGE_LOCK_OFFSET, PageIdUtils.tag(pageId));
@@ -623,6 +698,8 @@ public class PageMemoryImpl implements PageMemoryEx {
 
             setDirty(fullId, absPtr, true, true);
 
+            PageHeader.readAhead(absPtr, false);
+
             if (isTrackingPage) {
                 long pageAddr = absPtr + PAGE_OVERHEAD;
 
@@ -717,13 +794,85 @@ public class PageMemoryImpl implements PageMemoryEx {
 
     /** {@inheritDoc} */
     @Override public long acquirePage(int grpId, long pageId, AtomicBoolean pageAllocated) throws IgniteCheckedException {
-        return acquirePage(grpId, pageId, IoStatisticsHolderNoOp.INSTANCE, false, pageAllocated);
+        return acquirePage(grpId, pageId, IoStatisticsHolderNoOp.INSTANCE, false, pageAllocated, null);
     }
 
     /** {@inheritDoc} */
     @Override public long acquirePage(int grpId, long pageId, IoStatisticsHolder statHolder,
         boolean restore) throws IgniteCheckedException {
-        return acquirePage(grpId, pageId, statHolder, restore, null);
+        return acquirePage(grpId, pageId, statHolder, restore, null, null);
+    }
+
+    /**
+     * Loads the page to the memory ahead of the page access, if the page is not loaded yet.
+     *
+     * @param grpId Group id.
+     * @param pageId Page id, the page index is only significant.
+     * @param buf Buffer to read the page.
+     * @return {@code False} if the page can't be loaded because of the page memory state.
+     * @throws IgniteCheckedException If failed.
+     */
+    boolean readAheadPage(int grpId, long pageId, ByteBuffer buf) throws IgniteCheckedException {
+        if (!started || !safeToUpdate())
+            return false;
+
+        int partId = PageIdUtils.partId(pageId);
+
+        Segment seg = segment(grpId, pageId);
+
+        long unloadCntr;
+
+        seg.readLock().lock();
+
+        try {
+            long relPtr = seg.loadedPages.get(
+                grpId,
+                PageIdUtils.effectivePageId(pageId),
+                seg.partGeneration(grpId, partId),
+                INVALID_REL_PTR,
+                INVALID_REL_PTR
+            );
+
+            if (relPtr != INVALID_REL_PTR)
+                return true;
+
+            unloadCntr = seg.unloadCntr;
+        }
+        finally {
+            seg.readLock().unlock();
+        }
+
+        // The page is read before it's loaded to get the actual page ID, which initializes the page lock with the
+        // right tag. Otherwise, concurrent readers of the page would fail to lock the page while it's being loaded.
+        // The read content is then copied to the loaded page, unless the page could be loaded, changed and unloaded
+        // in between.
+        if (delayedPageReplacementTracker != null)
+            delayedPageReplacementTracker.waitUnlock(new FullPageId(pageId, grpId));
+
+        buf.clear();
+
+        long startReadTs = System.nanoTime();
+
+        try {
+            pmPageMgr.read(grpId, pageId, buf, false);
+        }
+        catch (IgniteDataIntegrityViolationException ignored) {
+            // Broken page is restored by the page owner.
+            return true;
+        }
+
+        long actualPageId = PageIO.getPageId(buf);
+
+        if (actualPageId == 0 || PageIdUtils.effectivePageId(actualPageId) != PageIdUtils.effectivePageId(pageId))
+            return true;
+
+        ReadAheadPage readAhead = new ReadAheadPage(buf, unloadCntr, System.nanoTime() - startReadTs);
+
+        long absPtr = acquirePage(grpId, actualPageId, IoStatisticsHolderNoOp.INSTANCE, false, null, readAhead);
+
+        releasePage(grpId, actualPageId, absPtr);
+
+        return true;
     }
 
     /**
@@ -732,9 +881,11 @@ public class PageMemoryImpl implements PageMemoryEx {
      * @param statHolder Stat holder.
      * @param restore Restore.
      * @param pageAllocated Page allocated.
+     * @param readAhead Page read by read-ahead, {@code null} if the page isn't acquired by read-ahead.
      */
     private long acquirePage(int grpId, long pageId, IoStatisticsHolder statHolder,
-        boolean restore, @Nullable AtomicBoolean pageAllocated) throws IgniteCheckedException {
+        boolean restore, @Nullable AtomicBoolean pageAllocated, @Nullable ReadAheadPage readAhead)
+        throws IgniteCheckedException {
         assert started;
 
         int partId = PageIdUtils.partId(pageId);
@@ -758,7 +909,13 @@ public class PageMemoryImpl implements PageMemoryEx {
 
                 seg.acquirePage(absPtr);
 
-                seg.pageReplacementPolicy.onHit(relPtr);
+                if (readAhead == null) {
+                    seg.pageReplacementPolicy.onHit(relPtr);
+
+                    dataRegionMetrics.onPageHit(grpId);
+
+                    onPageHit(grpId, pageId, absPtr);
+                }
 
                 statHolder.trackLogicalRead(absPtr + PAGE_OVERHEAD);
 
@@ -775,6 +932,7 @@ public class PageMemoryImpl implements PageMemoryEx {
 
         long lockedPageAbsPtr = -1;
         boolean readPageFromStore = false;
+        boolean readAheadUpToDate = false;
 
         try {
             // Double-check.
@@ -806,6 +964,8 @@ public class PageMemoryImpl implements PageMemoryEx {
 
                 PageHeader.fullPageId(absPtr, fullId);
 
+                seg.invalidatePageDelta(absPtr);
+
                 touchPage(absPtr, pageReplaced);
 
                 assert !PageHeader.isAcquired(absPtr) :
@@ -815,6 +975,8 @@ public class PageMemoryImpl implements PageMemoryEx {
                 // We can clear dirty flag after the page has been allocated.
                 setDirty(fullId, absPtr, false, false);
 
+                PageHeader.readAhead(absPtr, readAhead != null);
+
                 seg.pageReplacementPolicy.onMiss(relPtr);
 
                 seg.loadedPages.put(
@@ -827,7 +989,10 @@ public class PageMemoryImpl implements PageMemoryEx {
                 long pageAddr = absPtr + PAGE_OVERHEAD;
 
                 if (!restore) {
-                    if (delayedPageReplacementTracker != null)
+                    // Page read ahead is outdated if it could be unloaded after changes since the read.
+                    readAheadUpToDate = readAhead != null && readAhead.unloadCntr == seg.unloadCntr;
+
+                    if (!readAheadUpToDate && delayedPageReplacementTracker != null)
                         delayedPageReplacementTracker.waitUnlock(fullId);
 
                     readPageFromStore = true;
@@ -862,8 +1027,12 @@ public class PageMemoryImpl implements PageMemoryEx {
 
                 PageHeader.fullPageId(absPtr, fullId);
 
+                seg.invalidatePageDelta(absPtr);
+
                 touchPage(absPtr, true);
 
+                PageHeader.readAhead(absPtr, false);
+
                 PageIO.setPageId(pageAddr, pageId);
 
                 assert !PageHeader.isAcquired(absPtr) :
@@ -878,7 +1047,13 @@ public class PageMemoryImpl implements PageMemoryEx {
             else {
                 absPtr = seg.absolute(relPtr);
 
-                seg.pageReplacementPolicy.onHit(relPtr);
+                if (readAhead == null) {
+                    seg.pageReplacementPolicy.onHit(relPtr);
+
+                    dataRegionMetrics.onPageHit(grpId);
+
+                    onPageHit(grpId, pageId, absPtr);
+                }
             }
 
             seg.acquirePage(absPtr);
@@ -889,7 +1064,9 @@ public class PageMemoryImpl implements PageMemoryEx {
             return absPtr;
         }
         catch (IgniteOutOfMemoryException oom) {
-            ctx.kernalContext().failure().process(new FailureContext(FailureType.CRITICAL_ERROR, oom));
+            // Read-ahead is skipped if there are no pages to replace, it's up to the page owner to fail.
+            if (readAhead == null)
+                ctx.kernalContext().failure().process(new FailureContext(FailureType.CRITICAL_ERROR, oom));
 
             throw oom;
         }
@@ -914,16 +1091,29 @@ public class PageMemoryImpl implements PageMemoryEx {
                 long startReadTs = System.nanoTime();
 
                 try {
-                    pmPageMgr.read(grpId, pageId, buf, false);
+                    if (readAheadUpToDate)
+                        GridUnsafe.copyMemory(GridUnsafe.bufferAddress(readAhead.buf), pageAddr, pageSize());
+                    else
+                        pmPageMgr.read(grpId, pageId, buf, false);
+
+                    // Page which was never written is read as zeroes, it is written entirely on the first write.
+                    if (PageIO.getType(buf) != 0)
+                        seg.updatePageDelta(lockedPageAbsPtr, pageAddr);
 
                     statHolder.trackPhysicalAndLogicalRead(pageAddr);
 
                     actualPageId = PageIO.getPageId(buf);
 
-                    dataRegionMetrics.onPageRead(System.nanoTime() - startReadTs);
+                    dataRegionMetrics.onPageRead(grpId,
+                        readAheadUpToDate ? readAhead.readTime : System.nanoTime() - startReadTs);
 
                     if (PageIO.isIndexPage(PageIO.getType(buf)))
                         dataRegionMetrics.cacheGrpPageMetrics(grpId).indexPages().increment();
+
+                    if (readAhead != null)
+                        dataRegionMetrics.onReadAheadPage();
+                    else if (readAheadTracker != null)
+                        readAheadTracker.onPageRead(grpId, pageId);
                 }
                 catch (IgniteDataIntegrityViolationException e) {
                     U.warn(log, "Failed to read page (data integrity violation encountered, will try to " +
@@ -941,7 +1131,7 @@ public class PageMemoryImpl implements PageMemoryEx {
 
                     statHolder.trackPhysicalAndLogicalRead(pageAddr);
 
-                    dataRegionMetrics.onPageRead(System.nanoTime() - startReadTs);
+                    dataRegionMetrics.onPageRead(grpId, System.nanoTime() - startReadTs);
                 }
                 finally {
                     rwLock.writeUnlock(lockedPageAbsPtr + PAGE_LOCK_OFFSET,
@@ -951,6 +1141,21 @@ public class PageMemoryImpl implements PageMemoryEx {
         }
     }
 
+    /**
+     * Handles the first access to a page loaded by read-ahead.
+     *
+     * @param grpId Group id.
+     * @param pageId Page id.
+     * @param absPtr Absolute page pointer.
+     */
+    private void onPageHit(int grpId, long pageId, long absPtr) {
+        if (readAheadTracker != null && PageHeader.clearReadAhead(absPtr)) {
+            dataRegionMetrics.onReadAheadPageHit();
+
+            readAheadTracker.onReadAheadPageHit(grpId, pageId);
+        }
+    }
+
     /** */
     private void releaseCheckpointBufferPage(long tmpBufPtr) {
         int resCntr = checkpointPool.releaseFreePage(tmpBufPtr);
@@ -1055,7 +1260,7 @@ public class PageMemoryImpl implements PageMemoryEx {
 
     /** {@inheritDoc} */
     @Override public int pageSize() {
-        return sysPageSize - PAGE_OVERHEAD;
+        return pageSize;
     }
 
     /** {@inheritDoc} */
@@ -1124,6 +1329,43 @@ public class PageMemoryImpl implements PageMemoryEx {
         return res;
     }
 
+    /**
+     * @return Number of dirty pages in all segments.
+     */
+    public long dirtyPagesCount() {
+        if (segments == null)
+            return 0;
+
+        long res = 0;
+
+        for (Segment segment : segments)
+            res += segment.dirtyPagesCntr.get();
+
+        return res;
+    }
+
+    /**
+     * @return Number of dirty pages in all segments since which a checkpoint is forced and updates are blocked.
+     */
+    public long maxDirtyPagesCount() {
+        if (segments == null)
+            return 0;
+
+        long res = 0;
+
+        for (Segment segment : segments)
+            res += segment.maxDirtyPages;
+
+        return res;
+    }
+
+    /**
+     * @return Write throttling policy.
+     */
+    public ThrottlingPolicy throttlingPolicy() {
+        return throttlingPlc;
+    }
+
     /** {@inheritDoc} */
     @Override public GridMultiCollectionWrapper<FullPageId> beginCheckpoint(
         ThrowableSupplier<Boolean, IgniteCheckedException> allowToReplace
@@ -1183,6 +1425,57 @@ public class PageMemoryImpl implements PageMemoryEx {
         return pmPageMgr;
     }
 
+    /** {@inheritDoc} */
+    @Override public boolean punchPage(int grpId, long pageId) throws IgniteCheckedException {
+        assert started;
+
+        Segment seg = segment(grpId, pageId);
+
+        // Page can't be loaded from the store or acquired while the hole is punched.
+        seg.writeLock().lock();
+
+        try {
+            long relPtr = seg.loadedPages.get(
+                grpId,
+                PageIdUtils.effectivePageId(pageId),
+                seg.partGeneration(grpId, PageIdUtils.partId(pageId)),
+                INVALID_REL_PTR,
+                OUTDATED_REL_PTR
+            );
+
+            if (relPtr == OUTDATED_REL_PTR)
+                return false;
+
+            if (relPtr != INVALID_REL_PTR) {
+                long absPtr = seg.absolute(relPtr);
+
+                if (isDirty(absPtr) || PageHeader.tempBufferPointer(absPtr) != INVALID_REL_PTR)
+                    return false;
+
+                // Clean copy of the page is unloaded, otherwise it would differ from the punched content of the store.
+                if (!seg.tryToRemovePage(new FullPageId(pageId, grpId), absPtr))
+                    return false;
+
+                seg.invalidatePageDelta(absPtr);
+
+                dataRegionMetrics.decrementPagesWithTimestamp(PageHeader.readTimestamp(absPtr));
+
+                seg.pageReplacementPolicy.onRemove(relPtr);
+
+                seg.pool.releaseFreePage(relPtr);
+            }
+            else {
+                // Pages read ahead before the hole is punched are outdated.
+                seg.unloadCntr++;
+            }
+
+            return pmPageMgr.punchPage(grpId, pageId);
+        }
+        finally {
+            seg.writeLock().unlock();
+        }
+    }
+
     /** {@inheritDoc} */
     @Override public void checkpointWritePage(
         FullPageId fullId,
@@ -1316,6 +1609,11 @@ public class PageMemoryImpl implements PageMemoryEx {
             return;
         }
 
+        // Pages copied with kept dirty flag are not written to the page store, so changed chunks are not tracked.
+        Segment deltaSeg = trackPageDeltas && !keepDirty ? segment(fullId.groupId(), fullId.pageId()) : null;
+
+        int changedChunks = -1;
+
         try {
             long tmpRelPtr = PageHeader.tempBufferPointer(absPtr);
 
@@ -1324,6 +1622,9 @@ public class PageMemoryImpl implements PageMemoryEx {
 
                 copyToBuffer(tmpAbsPtr, buf);
 
+                if (deltaSeg != null)
+                    changedChunks = deltaSeg.updatePageDelta(absPtr, tmpAbsPtr + PAGE_OVERHEAD);
+
                 if (!keepDirty) {
                     PageHeader.tempBufferPointer(absPtr, INVALID_REL_PTR);
 
@@ -1347,6 +1648,9 @@ public class PageMemoryImpl implements PageMemoryEx {
 
                 if (!keepDirty)
                     PageHeader.dirty(absPtr, false);
+
+                if (deltaSeg != null)
+                    changedChunks = deltaSeg.updatePageDelta(absPtr, absPtr + PAGE_OVERHEAD);
             }
 
             assert PageIO.getType(buf) != 0 : "Invalid state. Type is 0! pageId = " + U.hexLong(fullId.pageId());
@@ -1360,7 +1664,7 @@ public class PageMemoryImpl implements PageMemoryEx {
             if (canWrite) {
                 buf.rewind();
 
-                pageStoreWriter.writePage(fullId, buf, tag);
+                pageStoreWriter.writePage(fullId, buf, tag, changedChunks);
 
                 dataRegionMetrics.onPageWritten();
 
@@ -2009,6 +2313,12 @@ public class PageMemoryImpl implements PageMemoryEx {
         /** Bytes required to store {@link #pageReplacementPolicy} service data. */
         private long memPerRepl;
 
+        /** Tracker of changed page chunks, {@code null} if delta checkpoint writes are disabled. */
+        @Nullable private final PageDeltaTracker pageDeltaTracker;
+
+        /** Bytes required to store {@link #pageDeltaTracker} service data. */
+        private final long memPerDelta;
+
         /** Pages marked as dirty since the last checkpoint. */
         private volatile Collection<FullPageId> dirtyPages = new GridConcurrentHashSet<>();
 
@@ -2024,6 +2334,12 @@ public class PageMemoryImpl implements PageMemoryEx {
         /** Initial partition generation. */
         private static final int INIT_PART_GENERATION = 1;
 
+        /**
+         * Number of times pages of the segment were unloaded or partitions invalidated, changed under the segment
+         * write lock. A page read ahead is copied to the page memory only if the counter is the same as before the read.
+         */
+        private long unloadCntr;
+
         /** Maps partition (grpId, partId) to its generation. Generation is 1-based incrementing partition counter. */
         private final Map<GroupPartitionId, Integer> partGenerationMap = new HashMap<>();
 
@@ -2059,13 +2375,18 @@ public class PageMemoryImpl implements PageMemoryEx {
 
             memPerRepl = pageReplacementPolicyFactory.requiredMemory(pages);
 
-            DirectMemoryRegion poolRegion = region.slice(memPerTbl + memPerRepl + ldPagesMapOffInRegion);
+            memPerDelta = trackPageDeltas ? PageDeltaTracker.requiredMemory(pages) : 0;
+
+            DirectMemoryRegion poolRegion = region.slice(memPerTbl + memPerRepl + memPerDelta + ldPagesMapOffInRegion);
 
             pool = new PagePool(idx, poolRegion, sysPageSize, rwLock);
 
             pageReplacementPolicy = pageReplacementPolicyFactory.create(this,
                     region.address() + memPerTbl + ldPagesMapOffInRegion, pool.pages());
 
+            pageDeltaTracker = trackPageDeltas ? new PageDeltaTracker(pool.pages(),
+                region.address() + memPerTbl + memPerRepl + ldPagesMapOffInRegion, pageSize()) : null;
+
             maxDirtyPages = throttlingPlc != ThrottlingPolicy.DISABLED
                 ? pool.pages() * 3L / 4
                 : Math.min(pool.pages() * 2L / 3, cpPoolPages);
@@ -2120,6 +2441,33 @@ public class PageMemoryImpl implements PageMemoryEx {
             return memPerRepl;
         }
 
+        /**
+         * @return Memory allocated for changed page chunks tracking.
+         */
+        private long deltaTrackingSize() {
+            return memPerDelta;
+        }
+
+        /**
+         * Forgets changed chunks tracking data of the page which content is not known to be equal to the content
+         * in the page store.
+         *
+         * @param absPtr Page absolute address.
+         */
+        private void invalidatePageDelta(long absPtr) {
+            if (pageDeltaTracker != null)
+                pageDeltaTracker.invalidate(pool.absolutePageIndex(absPtr));
+        }
+
+        /**
+         * @param absPtr Page absolute address.
+         * @param pageAddr Address of the page content which is going to be equal to the content in the page store.
+         * @return Bit mask of the page chunks changed since the page was read or written, or {@code -1} if unknown.
+         */
+        private int updatePageDelta(long absPtr, long pageAddr) {
+            return pageDeltaTracker == null ? -1 : pageDeltaTracker.update(pool.absolutePageIndex(absPtr), pageAddr);
+        }
+
         /**
          * @param absPtr Page absolute address to acquire.
          */
@@ -2210,6 +2558,8 @@ public class PageMemoryImpl implements PageMemoryEx {
 
             loadedPages.remove(fullPageId.groupId(), fullPageId.effectivePageId());
 
+            unloadCntr++;
+
             if (PageIO.isIndexPage(PageIO.getType(absPtr + PAGE_OVERHEAD))) {
                 int grpId = fullPageId.groupId();
                 dataRegionMetrics.cacheGrpPageMetrics(grpId).indexPages().decrement();
@@ -2269,6 +2619,8 @@ public class PageMemoryImpl implements PageMemoryEx {
 
             long relPtr = loadedPages.refresh(grpId, PageIdUtils.effectivePageId(pageId), tag);
 
+            unloadCntr++;
+
             long absPtr = absolute(relPtr);
 
             GridUnsafe.zeroMemory(absPtr + PAGE_OVERHEAD, pageSize());
@@ -2343,8 +2695,14 @@ public class PageMemoryImpl implements PageMemoryEx {
 
             long page = pageReplacementPolicy.replace();
 
+            long pageAbsPtr = absolute(page);
+
+            if (PageHeader.readAhead(pageAbsPtr))
+                dataRegionMetrics.onReadAheadPageUnused();
+
             dataRegionMetrics.onPageReplaced(
-                U.currentTimeMillis() - PageHeader.readTimestamp(absolute(page)),
+                PageHeader.readPageGroupId(pageAbsPtr),
+                U.currentTimeMillis() - PageHeader.readTimestamp(pageAbsPtr),
                 System.nanoTime() - replaceStartTs
             );
 
@@ -2451,6 +2809,8 @@ public class PageMemoryImpl implements PageMemoryEx {
         private int incrementPartGeneration(int grpId, int partId) {
             assert getWriteHoldCount() > 0;
 
+            unloadCntr++;
+
             GroupPartitionId grpPart = new GroupPartitionId(grpId, partId);
 
             Integer gen = partGenerationMap.get(grpPart);
@@ -2521,6 +2881,10 @@ public class PageMemoryImpl implements PageMemoryEx {
     private void touchPage(long absPtr, boolean pageExists) {
         long newTs = U.currentTimeMillis();
 
+        // Avoid writing to the page header if the timestamp does not change, which is the case for hot pages.
+        if (pageExists && PageHeader.readTimestamp(absPtr) == (newTs & PageHeader.TIMESTAMP_MASK))
+            return;
+
         long oldTs = PageHeader.writeTimestamp(absPtr, newTs);
 
         if (pageExists)
@@ -2529,6 +2893,31 @@ public class PageMemoryImpl implements PageMemoryEx {
         dataRegionMetrics.incrementPagesWithTimestamp(newTs & PageHeader.TIMESTAMP_MASK);
     }
 
+    /**
+     * Page read by read-ahead before it's loaded to the page memory.
+     */
+    private static class ReadAheadPage {
+        /** Buffer with the page. */
+        private final ByteBuffer buf;
+
+        /** {@link Segment#unloadCntr} before the page was read. */
+        private final long unloadCntr;
+
+        /** Duration of the page read in nanoseconds. */
+        private final long readTime;
+
+        /**
+         * @param buf Buffer with the page.
+         * @param unloadCntr Segment unload counter before the page was read.
+         * @param readTime Duration of the page read in nanoseconds.
+         */
+        private ReadAheadPage(ByteBuffer buf, long unloadCntr, long readTime) {
+            this.buf = buf;
+            this.unloadCntr = unloadCntr;
+            this.readTime = readTime;
+        }
+    }
+
     /**
      *
      */
@@ -2588,6 +2977,9 @@ public class PageMemoryImpl implements PageMemoryEx {
                     try {
                         GridLongList list = seg.loadedPages.removeIf(base, boundary, clearPred);
 
+                        if (!list.isEmpty())
+                            seg.unloadCntr++;
+
                         ptrs.addAll(list);
 
                         base = boundary;
@@ -33,6 +33,21 @@ public interface PageMetrics {
      */
     public LongAdderMetric indexPages();
 
+    /**
+     * Number of page acquisitions served from memory.
+     */
+    public LongAdderMetric hitPages();
+
+    /**
+     * Number of pages read from the disk.
+     */
+    public LongAdderMetric readPages();
+
+    /**
+     * Number of pages replaced (evicted from memory to load other pages).
+     */
+    public LongAdderMetric replacedPages();
+
     /**
      * Resets all metric counters.
      */
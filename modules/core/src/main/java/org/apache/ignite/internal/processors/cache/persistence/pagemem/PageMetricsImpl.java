@@ -30,11 +30,23 @@ public class PageMetricsImpl implements PageMetrics {
     /** Index pages in memory. */
     private final LongAdderMetric idxPages;
 
+    /** Page acquisitions served from memory. */
+    private final LongAdderMetric hitPages;
+
+    /** Pages read from the disk. */
+    private final LongAdderMetric readPages;
+
+    /** Replaced pages. */
+    private final LongAdderMetric replacedPages;
+
     /** */
     private PageMetricsImpl(
         MetricRegistryImpl metricRegistry,
         @Nullable LongAdderWithDelegateMetric.Delegate totalPagesCb,
-        @Nullable LongAdderWithDelegateMetric.Delegate idxPagesCb
+        @Nullable LongAdderWithDelegateMetric.Delegate idxPagesCb,
+        @Nullable LongAdderWithDelegateMetric.Delegate hitPagesCb,
+        @Nullable LongAdderWithDelegateMetric.Delegate readPagesCb,
+        @Nullable LongAdderWithDelegateMetric.Delegate replacedPagesCb
     ) {
         totalPages = createMetricWithOptionalDelegate(
             metricRegistry, "TotalAllocatedPages", "Total allocated pages.", totalPagesCb
@@ -43,6 +55,22 @@ public class PageMetricsImpl implements PageMetrics {
         idxPages = createMetricWithOptionalDelegate(
             metricRegistry, "InMemoryIndexPages", "Amount of index pages loaded into memory.", idxPagesCb
         );
+
+        hitPages = createMetricWithOptionalDelegate(
+            metricRegistry,
+            "PagesHit",
+            "Number of page acquisitions served from memory (without reading the page from the disk) " +
+                "since last restart.",
+            hitPagesCb
+        );
+
+        readPages = createMetricWithOptionalDelegate(
+            metricRegistry, "PagesRead", "Number of pages read from last restart.", readPagesCb
+        );
+
+        replacedPages = createMetricWithOptionalDelegate(
+            metricRegistry, "PagesReplaced", "Number of pages replaced from last restart.", replacedPagesCb
+        );
     }
 
     /**
@@ -58,6 +86,15 @@ public class PageMetricsImpl implements PageMetrics {
         /** Index pages callback. */
         private LongAdderWithDelegateMetric.Delegate idxPagesCb;
 
+        /** Hit pages callback. */
+        private LongAdderWithDelegateMetric.Delegate hitPagesCb;
+
+        /** Read pages callback. */
+        private LongAdderWithDelegateMetric.Delegate readPagesCb;
+
+        /** Replaced pages callback. */
+        private LongAdderWithDelegateMetric.Delegate replacedPagesCb;
+
         /**
          * @param metricRegistry Metric registry.
          */
@@ -81,12 +118,39 @@ public class PageMetricsImpl implements PageMetrics {
             return this;
         }
 
+        /**
+         * @param cb Callback.
+         */
+        public Builder hitPagesCallback(LongAdderWithDelegateMetric.Delegate cb) {
+            hitPagesCb = cb;
+            return this;
+        }
+
+        /**
+         * @param cb Callback.
+         */
+        public Builder readPagesCallback(LongAdderWithDelegateMetric.Delegate cb) {
+            readPagesCb = cb;
+            return this;
+        }
+
+        /**
+         * @param cb Callback.
+         */
+        public Builder replacedPagesCallback(LongAdderWithDelegateMetric.Delegate cb) {
+            replacedPagesCb = cb;
+            return this;
+        }
+
         /** */
         public PageMetricsImpl build() {
             return new PageMetricsImpl(
                 metricRegistry,
                 totalPagesCb,
-                idxPagesCb
+                idxPagesCb,
+                hitPagesCb,
+                readPagesCb,
+                replacedPagesCb
             );
         }
     }
@@ -125,9 +189,27 @@ public class PageMetricsImpl implements PageMetrics {
         return idxPages;
     }
 
+    /** {@inheritDoc} */
+    @Override public LongAdderMetric hitPages() {
+        return hitPages;
+    }
+
+    /** {@inheritDoc} */
+    @Override public LongAdderMetric readPages() {
+        return readPages;
+    }
+
+    /** {@inheritDoc} */
+    @Override public LongAdderMetric replacedPages() {
+        return replacedPages;
+    }
+
     /** {@inheritDoc} */
     @Override public void reset() {
         totalPages.reset();
         idxPages.reset();
+        hitPages.reset();
+        readPages.reset();
+        replacedPages.reset();
     }
 }
@@ -239,6 +239,14 @@ public class PagePool {
         return relPtr & ~SEGMENT_INDEX_MASK;
     }
 
+    /**
+     * @param absPtr Absolute pointer.
+     * @return Page index in the pool.
+     */
+    long absolutePageIndex(long absPtr) {
+        return (absPtr - pagesBase) / sysPageSize;
+    }
+
     /**
      * @return Max number of pages in the pool.
      */
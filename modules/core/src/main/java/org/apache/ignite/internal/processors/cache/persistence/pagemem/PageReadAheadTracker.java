@@ -0,0 +1,299 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.pagemem;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.RejectedExecutionException;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteException;
+import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.internal.pagemem.PageIdAllocator;
+import org.apache.ignite.internal.pagemem.PageIdUtils;
+import org.apache.ignite.internal.pagemem.store.PageStore;
+import org.apache.ignite.internal.pagemem.store.PageStoreCollection;
+import org.apache.ignite.internal.thread.pool.IgniteThreadPoolExecutor;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * Detects sequential reads of partition pages from disk and asynchronously loads the next pages of the partition to
+ * the page memory before they are requested.
+ * <p>
+ * Reads of a partition are considered sequential if several consecutive page faults go forward by small steps. When a
+ * sequence is detected, a window of the next pages is loaded by a background thread and every loaded page is marked
+ * with a read-ahead flag. The first access to a marked page clears the flag and, if the access is close to the end of
+ * the loaded window, schedules the next window, so a scan which is fully served by read-ahead keeps the window moving
+ * without page faults.
+ * <p>
+ * Only pages already persisted to the partition file are loaded, pages which were allocated but never written are
+ * read by their owners.
+ */
+public class PageReadAheadTracker {
+    /** Number of consecutive sequential page faults which starts read-ahead of the partition. */
+    static final int SEQUENTIAL_READS_THRESHOLD = 2;
+
+    /** Maximum distance between indexes of consecutive page faults considered sequential. */
+    static final int SEQUENTIAL_MAX_GAP = 4;
+
+    /** Maximum number of tracked partitions, tracking state is reset when exceeded. */
+    private static final int MAX_STREAMS = 16 * 1024;
+
+    /** Maximum number of read-ahead tasks waiting for execution, new tasks are dropped when exceeded. */
+    private static final int MAX_QUEUED_TASKS = 256;
+
+    /** Page memory. */
+    private final PageMemoryImpl pageMem;
+
+    /** Page stores. */
+    private final PageStoreCollection stores;
+
+    /** Number of pages loaded by one read-ahead task. */
+    private final int window;
+
+    /** Logger. */
+    private final IgniteLogger log;
+
+    /** Read-ahead executor. */
+    private final IgniteThreadPoolExecutor executor;
+
+    /** Sequential access state per partition. */
+    private final ConcurrentMap<Long, Stream> streams = new ConcurrentHashMap<>();
+
+    /** Stop flag. */
+    private volatile boolean stopped;
+
+    /**
+     * @param pageMem Page memory.
+     * @param stores Page stores.
+     * @param window Number of pages loaded by one read-ahead task.
+     * @param threads Number of read-ahead threads.
+     * @param igniteInstanceName Ignite instance name.
+     * @param log Logger.
+     */
+    public PageReadAheadTracker(
+        PageMemoryImpl pageMem,
+        PageStoreCollection stores,
+        int window,
+        int threads,
+        String igniteInstanceName,
+        IgniteLogger log
+    ) {
+        assert window > 0 : window;
+
+        this.pageMem = pageMem;
+        this.stores = stores;
+        this.window = window;
+        this.log = log;
+
+        executor = new IgniteThreadPoolExecutor(
+            "page-read-ahead",
+            igniteInstanceName,
+            threads,
+            threads,
+            SECONDS.toMillis(30),
+            new ArrayBlockingQueue<>(MAX_QUEUED_TASKS)
+        );
+
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Callback for a page read from disk on request.
+     *
+     * @param grpId Cache group ID.
+     * @param pageId Page ID.
+     */
+    public void onPageRead(int grpId, long pageId) {
+        int partId = PageIdUtils.partId(pageId);
+        int pageIdx = PageIdUtils.pageIndex(pageId);
+
+        Stream stream = stream(grpId, partId);
+
+        int from;
+
+        synchronized (stream) {
+            int gap = pageIdx - stream.lastIdx;
+
+            if (gap > 0 && gap <= SEQUENTIAL_MAX_GAP)
+                stream.seqReads++;
+            else {
+                stream.seqReads = 0;
+                stream.readAheadEnd = 0;
+            }
+
+            stream.lastIdx = pageIdx;
+
+            if (stream.seqReads < SEQUENTIAL_READS_THRESHOLD || pageIdx + window / 2 < stream.readAheadEnd)
+                return;
+
+            from = Math.max(pageIdx + 1, stream.readAheadEnd);
+
+            stream.readAheadEnd = pageIdx + 1 + window;
+        }
+
+        submit(grpId, partId, from, pageIdx + 1 + window);
+    }
+
+    /**
+     * Callback for the first access to a page loaded by read-ahead.
+     *
+     * @param grpId Cache group ID.
+     * @param pageId Page ID.
+     */
+    public void onReadAheadPageHit(int grpId, long pageId) {
+        int partId = PageIdUtils.partId(pageId);
+        int pageIdx = PageIdUtils.pageIndex(pageId);
+
+        Stream stream = stream(grpId, partId);
+
+        int from;
+
+        synchronized (stream) {
+            if (pageIdx > stream.lastIdx)
+                stream.lastIdx = pageIdx;
+
+            stream.seqReads = Math.max(stream.seqReads, SEQUENTIAL_READS_THRESHOLD);
+
+            if (pageIdx + window / 2 < stream.readAheadEnd)
+                return;
+
+            from = Math.max(pageIdx + 1, stream.readAheadEnd);
+
+            stream.readAheadEnd = from + window;
+        }
+
+        submit(grpId, partId, from, from + window);
+    }
+
+    /**
+     * Stops read-ahead and waits for the running tasks.
+     */
+    public void stop() {
+        stopped = true;
+
+        executor.shutdown();
+
+        executor.getQueue().clear();
+
+        try {
+            executor.awaitTermination(Long.MAX_VALUE, MILLISECONDS);
+        }
+        catch (InterruptedException ignored) {
+            Thread.currentThread().interrupt();
+        }
+
+        streams.clear();
+    }
+
+    /**
+     * @param grpId Cache group ID.
+     * @param partId Partition ID.
+     * @return Sequential access state of the partition.
+     */
+    private Stream stream(int grpId, int partId) {
+        long key = ((long)grpId << 32) | (partId & 0xFFFFFFFFL);
+
+        Stream stream = streams.get(key);
+
+        if (stream == null) {
+            if (streams.size() >= MAX_STREAMS)
+                streams.clear();
+
+            stream = streams.computeIfAbsent(key, k -> new Stream());
+        }
+
+        return stream;
+    }
+
+    /**
+     * Schedules loading of partition pages.
+     *
+     * @param grpId Cache group ID.
+     * @param partId Partition ID.
+     * @param from First page index, inclusive.
+     * @param to Last page index, exclusive.
+     */
+    private void submit(int grpId, int partId, int from, int to) {
+        if (stopped || from >= to)
+            return;
+
+        try {
+            executor.execute(() -> readAhead(grpId, partId, from, to));
+        }
+        catch (RejectedExecutionException ignored) {
+            // Read-ahead is an optimization, it's fine to skip it if read-ahead threads don't keep up with readers.
+        }
+    }
+
+    /**
+     * Loads partition pages to the page memory.
+     *
+     * @param grpId Cache group ID.
+     * @param partId Partition ID.
+     * @param from First page index, inclusive.
+     * @param to Last page index, exclusive.
+     */
+    private void readAhead(int grpId, int partId, int from, int to) {
+        byte flag = partId == PageIdAllocator.INDEX_PARTITION ? PageIdAllocator.FLAG_IDX : PageIdAllocator.FLAG_DATA;
+
+        try {
+            PageStore store = stores.getStore(grpId, partId);
+
+            long storeSize = store.size();
+
+            ByteBuffer buf = ByteBuffer.allocateDirect(pageMem.pageSize()).order(ByteOrder.nativeOrder());
+
+            for (int pageIdx = from; pageIdx < to && !stopped; pageIdx++) {
+                long pageId = PageIdUtils.pageId(partId, flag, pageIdx);
+
+                // Page is not written to the file yet.
+                if (store.pageOffset(pageId) + store.getPageSize() > storeSize)
+                    break;
+
+                if (!pageMem.readAheadPage(grpId, pageId, buf))
+                    break;
+            }
+        }
+        catch (IgniteCheckedException | IgniteException e) {
+            // Partition can be concurrently evicted or destroyed, the failure must be handled by the page owner.
+            if (log.isDebugEnabled()) {
+                log.debug("Failed to read ahead partition pages [grpId=" + grpId + ", partId=" + partId +
+                    ", from=" + from + ", to=" + to + ", err=" + e + ']');
+            }
+        }
+    }
+
+    /**
+     * Sequential access state of a partition.
+     */
+    private static class Stream {
+        /** Index of the last page read from disk or accessed after read-ahead. */
+        int lastIdx = -1;
+
+        /** Number of consecutive sequential reads. */
+        int seqReads;
+
+        /** Index of the page after the last page scheduled for read-ahead. */
+        int readAheadEnd;
+    }
+}
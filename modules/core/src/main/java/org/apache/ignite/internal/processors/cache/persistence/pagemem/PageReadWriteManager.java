@@ -45,6 +45,58 @@ public interface PageReadWriteManager {
      */
     public PageStore write(int grpId, long pageId, ByteBuffer pageBuf, int tag, boolean calculateCrc) throws IgniteCheckedException;
 
+    /**
+     * Writes pages with adjacent indexes of one partition for the given cache ID.
+     *
+     * @param grpId Cache group ID.
+     * @param pageIds Page IDs, index of each page must be greater by one than index of previous page.
+     * @param pageBufs Page buffers to write.
+     * @param cnt Number of pages to write.
+     * @throws IgniteCheckedException If failed to write pages.
+     */
+    public default PageStore write(
+        int grpId,
+        long[] pageIds,
+        ByteBuffer[] pageBufs,
+        int cnt,
+        int tag,
+        boolean calculateCrc
+    ) throws IgniteCheckedException {
+        PageStore store = null;
+
+        for (int i = 0; i < cnt; i++)
+            store = write(grpId, pageIds[i], pageBufs[i], tag, calculateCrc);
+
+        return store;
+    }
+
+    /**
+     * Writes changed chunks of the page for the given cache ID.
+     *
+     * @param grpId Cache group ID.
+     * @param pageId Page ID.
+     * @param pageBuf Page buffer with the whole page content.
+     * @param changedChunks Bit mask of the changed page chunks, see {@link PageStore#DELTA_CHUNKS}.
+     * @return Store the chunks were written to or {@code null} if the page must be written entirely.
+     * @throws IgniteCheckedException If failed to write page.
+     */
+    public default PageStore writeDelta(int grpId, long pageId, ByteBuffer pageBuf, int changedChunks, int tag)
+        throws IgniteCheckedException {
+        return null;
+    }
+
+    /**
+     * Frees the storage space of a page which content is not needed anymore, see {@link PageStore#punchPage(long)}.
+     *
+     * @param grpId Cache group ID.
+     * @param pageId Page ID.
+     * @return {@code True} if the storage space was freed.
+     * @throws IgniteCheckedException If failed.
+     */
+    public default boolean punchPage(int grpId, long pageId) throws IgniteCheckedException {
+        return false;
+    }
+
     /**
      * Allocates a page for the given page space.
      *
@@ -126,6 +126,75 @@ public class PageReadWriteManagerImpl implements PageReadWriteManager {
         return store;
     }
 
+    /** {@inheritDoc} */
+    @Override public PageStore write(
+        int grpId,
+        long[] pageIds,
+        ByteBuffer[] pageBufs,
+        int cnt,
+        int tag,
+        boolean calculateCrc
+    ) throws IgniteCheckedException {
+        CacheGroupContext grpCtx = ctx.cache().cacheGroup(grpId);
+
+        // Compressed pages have different sizes on disk, so they can't be written as one run.
+        if (cnt == 1 || (grpCtx != null && grpCtx.compressionHandler().compressionEnabled()))
+            return PageReadWriteManager.super.write(grpId, pageIds, pageBufs, cnt, tag, calculateCrc);
+
+        PageStore store = pageStores.getStore(grpId, PageIdUtils.partId(pageIds[0]));
+
+        try {
+            store.write(pageIds, pageBufs, cnt, tag, calculateCrc);
+        }
+        catch (StorageException e) {
+            ctx.failure().process(new FailureContext(FailureType.CRITICAL_ERROR, e));
+
+            throw e;
+        }
+
+        return store;
+    }
+
+    /** {@inheritDoc} */
+    @Override public PageStore writeDelta(
+        int grpId,
+        long pageId,
+        ByteBuffer pageBuf,
+        int changedChunks,
+        int tag
+    ) throws IgniteCheckedException {
+        CacheGroupContext grpCtx = ctx.cache().cacheGroup(grpId);
+
+        // Compressed pages are written with the size which depends on the whole page content.
+        if (grpCtx != null && grpCtx.compressionHandler().compressionEnabled())
+            return null;
+
+        PageStore store = pageStores.getStore(grpId, PageIdUtils.partId(pageId));
+
+        try {
+            return store.writeDelta(pageId, pageBuf, changedChunks, tag) ? store : null;
+        }
+        catch (StorageException e) {
+            ctx.failure().process(new FailureContext(FailureType.CRITICAL_ERROR, e));
+
+            throw e;
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean punchPage(int grpId, long pageId) throws IgniteCheckedException {
+        PageStore store = pageStores.getStore(grpId, PageIdUtils.partId(pageId));
+
+        try {
+            return store.punchPage(pageId);
+        }
+        catch (StorageException e) {
+            ctx.failure().process(new FailureContext(FailureType.CRITICAL_ERROR, e));
+
+            throw e;
+        }
+    }
+
     /** {@inheritDoc} */
     @Override public long allocatePage(int grpId, int partId, byte flags) throws IgniteCheckedException {
         assert partId <= MAX_PARTITION_ID || partId == INDEX_PARTITION;
@@ -22,7 +22,7 @@ package org.apache.ignite.internal.processors.cache.persistence.pagemem;
  * This class not only takes into account current progress value, but also 3 previous values, each of them
  * is pushed to history when {@link #closeInterval()} is called.
  */
-class ProgressSpeedCalculation {
+public class ProgressSpeedCalculation {
     /**
      * Measurement used to calculate average speed. History recording is disabled.
      */
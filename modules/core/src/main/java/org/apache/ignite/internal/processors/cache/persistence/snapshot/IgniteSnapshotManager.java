@@ -122,6 +122,7 @@ import org.apache.ignite.internal.processors.cache.distributed.dht.preloader.Gri
 import org.apache.ignite.internal.processors.cache.distributed.dht.preloader.PartitionsExchangeAware;
 import org.apache.ignite.internal.processors.cache.persistence.CacheDataRow;
 import org.apache.ignite.internal.processors.cache.persistence.CacheDataRowAdapter;
+import org.apache.ignite.internal.processors.cache.persistence.GridCacheOffheapManager;
 import org.apache.ignite.internal.processors.cache.persistence.file.FileIO;
 import org.apache.ignite.internal.processors.cache.persistence.file.FileIOFactory;
 import org.apache.ignite.internal.processors.cache.persistence.file.FilePageStore;
@@ -828,6 +829,20 @@ public class IgniteSnapshotManager extends GridCacheSharedManagerAdapter
                 "on the local node [missed=" + leftGrps + ", nodeId=" + cctx.localNodeId() + ']'));
         }
 
+        if (!req.dump()) {
+            for (Integer grpId : grpIds) {
+                CacheGroupContext grpCtx = cctx.cache().cacheGroup(grpId);
+
+                // Extents of large values are kept out of partition files and are not copied to snapshots.
+                if (grpCtx != null && grpCtx.offheap() instanceof GridCacheOffheapManager &&
+                    ((GridCacheOffheapManager)grpCtx.offheap()).largeValueStore() != null) {
+                    return new GridFinishedFuture<>(new IgniteCheckedException("Snapshot operation has been " +
+                        "rejected. Snapshots of cache groups storing large values out of data pages are not " +
+                        "supported, create a dump instead [grp=" + grpCtx.cacheOrGroupName() + ']'));
+                }
+            }
+        }
+
         if (req.incremental()) {
             SnapshotMetadata meta;
 
@@ -76,6 +76,9 @@ import org.apache.ignite.internal.util.typedef.internal.S;
 import org.apache.ignite.internal.util.typedef.internal.U;
 import org.jetbrains.annotations.Nullable;
 
+import static org.apache.ignite.internal.pagemem.PageIdAllocator.FLAG_DATA;
+import static org.apache.ignite.internal.pagemem.PageIdAllocator.FLAG_IDX;
+import static org.apache.ignite.internal.pagemem.PageIdAllocator.INDEX_PARTITION;
 import static org.apache.ignite.internal.processors.cache.persistence.filename.SnapshotFileTree.partDeltaIndexFile;
 import static org.apache.ignite.internal.processors.cache.persistence.snapshot.IgniteSnapshotManager.copy;
 
@@ -396,6 +399,9 @@ class SnapshotFutureTask extends AbstractCreateSnapshotFutureTask implements Che
                     pair,
                     partLen);
 
+                // Content of pages with delta records is not in the partition file copy.
+                partDeltaWriters.get(pair).writeDeltaRecordPages(partId);
+
                 // Stop partition writer.
                 partDeltaWriters.get(pair).markPartitionProcessed();
 
@@ -754,6 +760,66 @@ class SnapshotFutureTask extends AbstractCreateSnapshotFutureTask implements Che
                 pageStore.encryptedFileIoFactory(ioFactory, encryptedGrpId)).create(deltaFile);
         }
 
+        /**
+         * Writes pages which have delta records in the page store, see {@link PageStore#writeDelta}. Page store writes
+         * are blocked meanwhile, so the pages are the same as at the snapshot checkpoint unless they were already
+         * written by the writer.
+         *
+         * @param partId Partition ID.
+         * @throws IgniteCheckedException If failed.
+         */
+        public void writeDeltaRecordPages(int partId) throws IgniteCheckedException {
+            byte flag = partId == INDEX_PARTITION ? FLAG_IDX : FLAG_DATA;
+
+            store.forEachDeltaPage(pageIdx -> {
+                if (deltaFileIo == null) {
+                    lock.writeLock().lock();
+
+                    try {
+                        if (stopped())
+                            return;
+
+                        if (deltaFileIo == null)
+                            init();
+                    }
+                    catch (IOException e) {
+                        throw new IgniteCheckedException(e);
+                    }
+                    finally {
+                        lock.writeLock().unlock();
+                    }
+                }
+
+                lock.readLock().lock();
+
+                try {
+                    // Pages allocated after the snapshot checkpoint are out of range.
+                    if (stopped() || !writtenPages.touch(pageIdx))
+                        return;
+
+                    long pageId = PageIdUtils.pageId(partId, flag, pageIdx);
+
+                    ByteBuffer locBuf = locBuff.get();
+
+                    locBuf.clear();
+
+                    if (!store.read(pageId, locBuf, true))
+                        return;
+
+                    locBuf.clear();
+
+                    writePage0(pageId, locBuf);
+                }
+                catch (IOException e) {
+                    throw new IgniteCheckedException("Error during writing pages to delta partition file " +
+                        "[pageIdx=" + pageIdx + ", writer=" + this + ']', e);
+                }
+                finally {
+                    lock.readLock().unlock();
+                }
+            });
+        }
+
         /** {@inheritDoc} */
         @Override public void accept(long pageId, ByteBuffer buf) {
             assert buf.position() == 0 : buf.position();
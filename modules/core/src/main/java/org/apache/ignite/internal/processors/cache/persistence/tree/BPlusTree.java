@@ -17,6 +17,7 @@
 
 package org.apache.ignite.internal.processors.cache.persistence.tree;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -69,10 +70,12 @@ import org.apache.ignite.internal.processors.cache.persistence.tree.util.PageHan
 import org.apache.ignite.internal.processors.failure.FailureProcessor;
 import org.apache.ignite.internal.util.GridArrays;
 import org.apache.ignite.internal.util.GridLongList;
+import org.apache.ignite.internal.util.GridUnsafe;
 import org.apache.ignite.internal.util.IgniteTree;
 import org.apache.ignite.internal.util.lang.GridCursor;
 import org.apache.ignite.internal.util.lang.GridTreePrinter;
 import org.apache.ignite.internal.util.lang.GridTuple3;
+import org.apache.ignite.internal.util.typedef.internal.A;
 import org.apache.ignite.internal.util.typedef.internal.S;
 import org.apache.ignite.internal.util.typedef.internal.SB;
 import org.apache.ignite.internal.util.typedef.internal.U;
@@ -80,6 +83,7 @@ import org.apache.ignite.lang.IgniteInClosure;
 import org.jetbrains.annotations.Nullable;
 
 import static org.apache.ignite.IgniteSystemProperties.IGNITE_BPLUS_TREE_LOCK_RETRIES;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_BPLUS_TREE_OPTIMISTIC_READS;
 import static org.apache.ignite.internal.processors.cache.persistence.tree.BPlusTree.Bool.DONE;
 import static org.apache.ignite.internal.processors.cache.persistence.tree.BPlusTree.Bool.FALSE;
 import static org.apache.ignite.internal.processors.cache.persistence.tree.BPlusTree.Bool.READY;
@@ -234,6 +238,15 @@ public abstract class BPlusTree<L, T extends L> extends DataStructure implements
     private static final int LOCK_RETRIES = IgniteSystemProperties.getInteger(
         IGNITE_BPLUS_TREE_LOCK_RETRIES, IGNITE_BPLUS_TREE_LOCK_RETRIES_DEFAULT);
 
+    /** Thread local buffers for copies of inner pages read without locks. */
+    private static final ThreadLocal<ByteBuffer> PAGE_COPY_BUF = new ThreadLocal<>();
+
+    /** Result of {@link #compareInPage} if the stored row must be read to compare it with the lookup row. */
+    protected static final int NEED_ROW = Integer.MIN_VALUE;
+
+    /** Whether lookups read inner pages without taking read locks. */
+    private final boolean optimisticReads = IgniteSystemProperties.getBoolean(IGNITE_BPLUS_TREE_OPTIMISTIC_READS);
+
     /** */
     private final AtomicBoolean destroyed = new AtomicBoolean(false);
 
@@ -417,6 +430,13 @@ public abstract class BPlusTree<L, T extends L> extends DataStructure implements
             if (g.findLast)
                 idx = io.isLeaf() ? cnt - 1 : -cnt - 1; // (-cnt - 1) mimics not_found result of findInsertionPoint
                 // in case of cnt = 0 we end up in 'not found' branch below with idx being 0 after fix() adjustment
+            else if (g.optimistic) {
+                idx = findInsertionPointInPage(io, pageAddr, cnt, g.row, g.shift);
+
+                // Links must not be followed from a copy of the page, the page must be read under the lock.
+                if (idx == NEED_ROW)
+                    return RETRY;
+            }
             else
                 idx = findInsertionPoint(lvl, io, pageAddr, 0, cnt, g.row, g.shift);
 
@@ -425,6 +445,10 @@ public abstract class BPlusTree<L, T extends L> extends DataStructure implements
             if (found) { // Found exact match.
                 assert g.getClass() != GetCursor.class;
 
+                // A row found on an inner page is passed to the operation, it must be read under the lock.
+                if (g.optimistic && lvl != 0 && canGetRowFromInner)
+                    return RETRY;
+
                 if (g.found(io, pageAddr, idx, lvl))
                     return FOUND;
 
@@ -1082,6 +1106,51 @@ public abstract class BPlusTree<L, T extends L> extends DataStructure implements
         sequentialWriteOptsEnabled = true;
     }
 
+    /**
+     * Creates a loader which builds this tree bottom-up from rows supplied in ascending order. Pages of every level
+     * are filled from left to right up to the given fill factor and are written once, so there are no root-to-leaf
+     * descents and no page splits. The tree must be empty and must not be modified concurrently until the loader
+     * is finished.
+     *
+     * @param fillFactor Fraction of page capacity filled by the loader, from {@code 0} exclusive to {@code 1} inclusive.
+     * @return Bulk loader or {@code null} if inner pages are too small to be filled by the loader.
+     * @throws IgniteCheckedException If failed.
+     */
+    public @Nullable BulkLoad bulkLoad(double fillFactor) throws IgniteCheckedException {
+        A.ensure(fillFactor > 0 && fillFactor <= 1, "fillFactor > 0 && fillFactor <= 1");
+
+        checkDestroyed();
+
+        TreeMetaData meta = treeMeta();
+
+        long rootPage = acquirePage(meta.rootId);
+
+        try {
+            long rootAddr = readLock(meta.rootId, rootPage);
+
+            assert rootAddr != 0L;
+
+            try {
+                if (meta.rootLvl != 0 || io(rootAddr).getCount(rootAddr) != 0)
+                    throw new IgniteCheckedException("Bulk load is supported only for an empty tree: " + name());
+
+                int maxInnerCnt = latestInnerIO().getMaxCount(rootAddr, pageSize());
+
+                // Every inner page must have at least two children.
+                if (maxInnerCnt < 2)
+                    return null;
+
+                return new BulkLoad(meta.rootId, latestLeafIO().getMaxCount(rootAddr, pageSize()), maxInnerCnt, fillFactor);
+            }
+            finally {
+                readUnlock(meta.rootId, rootPage, rootAddr);
+            }
+        }
+        finally {
+            releasePage(meta.rootId, rootPage);
+        }
+    }
+
     /**
      * Initialize new tree.
      *
@@ -1624,7 +1693,15 @@ public abstract class BPlusTree<L, T extends L> extends DataStructure implements
                 g.pageId = pageId;
                 g.fwdId = fwdId;
 
-                Result res = read(pageId, page, search, g, lvl, RETRY);
+                Result res = optimisticReads && lvl != 0 ? readOptimistic(pageId, page, g, lvl) : null;
+
+                // Read the page under the lock if it is being modified or the copy can not be searched.
+                if (res == null || res == RETRY) {
+                    g.pageId = pageId;
+                    g.fwdId = fwdId;
+
+                    res = read(pageId, page, search, g, lvl, RETRY);
+                }
 
                 switch (res) {
                     case GO_DOWN:
@@ -1663,6 +1740,38 @@ public abstract class BPlusTree<L, T extends L> extends DataStructure implements
         }
     }
 
+    /**
+     * Searches an inner page using its copy made without taking the read lock.
+     *
+     * @param pageId Page ID.
+     * @param page Page pointer.
+     * @param g Get.
+     * @param lvl Level.
+     * @return Result code or {@code null} if the page must be read under the lock.
+     * @throws IgniteCheckedException If failed.
+     */
+    private Result readOptimistic(long pageId, long page, Get g, int lvl) throws IgniteCheckedException {
+        ByteBuffer buf = PAGE_COPY_BUF.get();
+
+        // Take the buffer, so a nested lookup made by the handler does not overwrite the copy.
+        if (buf == null || buf.capacity() < pageMem.pageSize())
+            buf = ByteBuffer.allocateDirect(pageMem.pageSize());
+        else
+            PAGE_COPY_BUF.set(null);
+
+        g.optimistic = true;
+
+        try {
+            return PageHandler.readPageCopy(pageMem, grpId, pageId, page, GridUnsafe.bufferAddress(buf), search, g, lvl,
+                statisticsHolder(), pageIoRslvr);
+        }
+        finally {
+            g.optimistic = false;
+
+            PAGE_COPY_BUF.set(buf);
+        }
+    }
+
     /**
      * @param instance Instance name.
      * @param type Tree type.
@@ -3142,6 +3251,9 @@ public abstract class BPlusTree<L, T extends L> extends DataStructure implements
         /** Ignore row passed, find last row */
         boolean findLast;
 
+        /** Whether the current page is a copy made without taking the read lock. */
+        boolean optimistic;
+
         /** Number of repetitions to capture a lock in the B+Tree (countdown). */
         int lockRetriesCnt = getLockRetries();
 
@@ -5302,6 +5414,51 @@ public abstract class BPlusTree<L, T extends L> extends DataStructure implements
         return -(low + 1);  // Not found.
     }
 
+    /**
+     * Finds the insertion point using only the data stored in the page, see {@link #compareInPage}.
+     *
+     * @param io IO.
+     * @param buf Buffer.
+     * @param cnt Row count.
+     * @param row Lookup row.
+     * @param shift Shift if equal.
+     * @return Insertion point as in {@link #findInsertionPoint} or {@link #NEED_ROW} if a stored row must be read
+     *      to compare it with the lookup row.
+     * @throws IgniteCheckedException If failed.
+     */
+    private int findInsertionPointInPage(BPlusIO<L> io, long buf, int cnt, L row, int shift)
+        throws IgniteCheckedException {
+        assert row != null;
+
+        if (sequentialWriteOptsEnabled)
+            return -cnt - 1;
+
+        int low = 0;
+        int high = cnt - 1;
+
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+
+            int cmp = compareInPage(io, buf, mid, row);
+
+            if (cmp == NEED_ROW)
+                return NEED_ROW;
+
+            if (cmp == 0)
+                cmp = -shift; // We need to fix the case when search row matches multiple data rows.
+
+            //noinspection Duplicates
+            if (cmp < 0)
+                low = mid + 1;
+            else if (cmp > 0)
+                high = mid - 1;
+            else
+                return mid; // Found.
+        }
+
+        return -(low + 1);  // Not found.
+    }
+
     /**
      * @param pageAddr Page address.
      * @return IO.
@@ -5368,6 +5525,23 @@ public abstract class BPlusTree<L, T extends L> extends DataStructure implements
         return compare(io, pageAddr, idx, row);
     }
 
+    /**
+     * Compares the lookup row with a stored row using only the data stored in the page. Used by lookups reading
+     * a copy of the page made without taking the read lock, so the implementation must not follow links to
+     * the stored rows. Returns {@link #NEED_ROW} by default, so the page is always read under the lock.
+     *
+     * @param io IO.
+     * @param pageAddr Page address.
+     * @param idx Index of row in the given buffer.
+     * @param row Lookup row.
+     * @return Comparison result as in {@link Comparator#compare(Object, Object)} or {@link #NEED_ROW} if the stored
+     *      row must be read to compare it with the lookup row.
+     * @throws IgniteCheckedException If failed.
+     */
+    protected int compareInPage(BPlusIO<L> io, long pageAddr, int idx, L row) throws IgniteCheckedException {
+        return NEED_ROW;
+    }
+
     /**
      * Get a full detached data row.
      *
@@ -5855,6 +6029,422 @@ public abstract class BPlusTree<L, T extends L> extends DataStructure implements
         }
     }
 
+    /**
+     * Builds an empty tree bottom-up from rows supplied in ascending order.
+     * <p>
+     * Rows are accumulated for the rightmost page of the leaf level, the page is written when it is filled and the
+     * next row arrives, so the ID of its forward page is already known. The last row of every written page is passed
+     * to the parent level as a separator, the same way the last row of the back page moves up on a split. Inner levels
+     * keep one child more than a filled page has before writing it, so the last page of a level never ends up with
+     * a single child. On finish the rightmost pages are written and the leftmost pages of the inner levels are added
+     * to the meta page as new roots.
+     * <p>
+     * Leaf pages of key ranges may be filled in parallel by {@link LeafWriter}s, which are appended to the loader in
+     * the order of the ranges, so only the inner levels are built by a single thread.
+     * <p>
+     * No page locks are held between calls, so the checkpoint read lock may be released between them. Written pages
+     * are logged as full page records and become reachable only when the loader is finished.
+     */
+    public final class BulkLoad {
+        /** ID of the first leaf page, which is the root of the empty tree. */
+        private final long firstLeafId;
+
+        /** Number of rows in a filled leaf page. */
+        private final int leafCnt;
+
+        /** Number of rows in a filled inner page. */
+        private final int innerCnt;
+
+        /** Rows of the rightmost leaf page. */
+        private final List<L> leafRows;
+
+        /** ID of the rightmost leaf page. */
+        private long leafId;
+
+        /** Inner levels, starting from the first one. */
+        private final List<Level> levels = new ArrayList<>();
+
+        /** Finished flag. */
+        private boolean finished;
+
+        /**
+         * @param rootId Root page ID of the empty tree.
+         * @param maxLeafCnt Leaf page capacity.
+         * @param maxInnerCnt Inner page capacity.
+         * @param fillFactor Fill factor.
+         */
+        private BulkLoad(long rootId, int maxLeafCnt, int maxInnerCnt, double fillFactor) {
+            assert maxInnerCnt > 1 : maxInnerCnt;
+
+            firstLeafId = rootId;
+            leafId = rootId;
+
+            leafCnt = Math.max(1, (int)(maxLeafCnt * fillFactor));
+
+            // The last page of a level may get one row more.
+            innerCnt = Math.max(1, Math.min(maxInnerCnt - 1, (int)(maxInnerCnt * fillFactor)));
+
+            leafRows = new ArrayList<>(leafCnt);
+        }
+
+        /**
+         * Adds the next row. The row must be greater than all the previously added rows.
+         *
+         * @param row Row.
+         * @throws IgniteCheckedException If failed.
+         */
+        public void add(L row) throws IgniteCheckedException {
+            assert row != null;
+            assert !finished;
+
+            if (leafRows.size() == leafCnt) {
+                long fwdId = allocatePage(null);
+
+                writeLeaf(fwdId);
+
+                leafId = fwdId;
+            }
+
+            leafRows.add(row);
+        }
+
+        /**
+         * Creates a writer which fills leaf pages with rows of a key range. Writers of different ranges may be filled
+         * concurrently with each other and with this loader, the written pages become a part of the tree when the
+         * writer is appended to the loader.
+         *
+         * @return Leaf page writer.
+         */
+        public LeafWriter leafWriter() {
+            assert !finished;
+
+            return new LeafWriter();
+        }
+
+        /**
+         * Appends leaf pages filled by the writer to the leaf level and passes them to the parent level. Rows of the
+         * writer must be greater than all the previously added rows, and at least one row must be added to the loader
+         * before, so the first leaf page of the tree is never a page of a writer. Every call appends at most the given
+         * number of pages, so the checkpoint read lock may be released between calls.
+         *
+         * @param writer Writer which is not filled anymore.
+         * @param maxPages Max number of pages to append.
+         * @return {@code True} if all pages of the writer are appended.
+         * @throws IgniteCheckedException If failed.
+         */
+        public boolean append(LeafWriter writer, int maxPages) throws IgniteCheckedException {
+            assert !finished;
+            assert maxPages > 0 : maxPages;
+
+            if (writer.rows.isEmpty())
+                return true;
+
+            if (!writer.linked) {
+                assert !leafRows.isEmpty();
+
+                writeLeaf(writer.firstId);
+
+                writer.linked = true;
+            }
+
+            for (int i = 0; i < maxPages && writer.appended < writer.pageIds.size(); i++) {
+                long pageId = writer.pageIds.get(writer.appended++);
+
+                level(1).add(pageId, lastRow(pageId));
+            }
+
+            if (writer.appended < writer.pageIds.size())
+                return false;
+
+            // The last page of the writer becomes the rightmost leaf page of the loader.
+            leafId = writer.lastId;
+            leafRows.addAll(writer.rows);
+
+            writer.rows.clear();
+
+            return true;
+        }
+
+        /**
+         * Writes the rightmost pages of all levels and makes the loaded rows reachable from the meta page.
+         *
+         * @throws IgniteCheckedException If failed.
+         */
+        public void finish() throws IgniteCheckedException {
+            assert !finished;
+
+            finished = true;
+
+            checkDestroyed();
+
+            if (leafRows.isEmpty())
+                return;
+
+            writeLeaf(0L);
+
+            int rootLvl = 0;
+
+            // New levels may be added while the rightmost pages are written.
+            for (int i = 0; i < levels.size(); i++) {
+                Level lvl = levels.get(i);
+
+                // The only child of the level is the root.
+                if (lvl.firstId == 0L && lvl.cnt == 1)
+                    break;
+
+                lvl.writePage(lvl.cnt, 0L);
+
+                rootLvl = i + 1;
+            }
+
+            for (int lvl = 1; lvl <= rootLvl; lvl++) {
+                Bool res = write(metaPageId, addRoot, levels.get(lvl - 1).firstId, lvl, FALSE, statisticsHolder());
+
+                assert res == TRUE : res;
+            }
+        }
+
+        /**
+         * Writes the rightmost leaf page and passes it to the parent level.
+         *
+         * @param fwdId Forward page ID.
+         * @throws IgniteCheckedException If failed.
+         */
+        private void writeLeaf(long fwdId) throws IgniteCheckedException {
+            writeBulkPage(leafId, leafId != firstLeafId, latestLeafIO(), leafRows, null, fwdId);
+
+            level(1).add(leafId, leafRows.get(leafRows.size() - 1));
+
+            leafRows.clear();
+        }
+
+        /**
+         * Reads the last row of a leaf page written by a writer.
+         *
+         * @param pageId Page ID.
+         * @return Last row of the page.
+         * @throws IgniteCheckedException If failed.
+         */
+        private L lastRow(long pageId) throws IgniteCheckedException {
+            long page = acquirePage(pageId);
+
+            try {
+                long pageAddr = readLock(pageId, page);
+
+                assert pageAddr != 0L;
+
+                try {
+                    BPlusIO<L> io = io(pageAddr);
+
+                    return io.getLookupRow(BPlusTree.this, pageAddr, io.getCount(pageAddr) - 1);
+                }
+                finally {
+                    readUnlock(pageId, page, pageAddr);
+                }
+            }
+            finally {
+                releasePage(pageId, page);
+            }
+        }
+
+        /**
+         * @param lvl Level, starting from {@code 1}.
+         * @return Inner level.
+         */
+        private Level level(int lvl) {
+            if (levels.size() < lvl)
+                levels.add(new Level(lvl));
+
+            return levels.get(lvl - 1);
+        }
+
+        /**
+         * Rightmost page of an inner level.
+         */
+        private final class Level {
+            /** Level. */
+            private final int lvl;
+
+            /** Children of the rightmost page. */
+            private final long[] children = new long[innerCnt + 2];
+
+            /** Last rows of the children. */
+            private final List<L> rows = new ArrayList<>(innerCnt + 2);
+
+            /** Number of children. */
+            private int cnt;
+
+            /** ID of the rightmost page, {@code 0} if it's not allocated yet. */
+            private long pageId;
+
+            /** ID of the first page, {@code 0} if nothing is written yet. */
+            private long firstId;
+
+            /**
+             * @param lvl Level.
+             */
+            private Level(int lvl) {
+                this.lvl = lvl;
+            }
+
+            /**
+             * @param childId Child page ID.
+             * @param lastRow Last row of the child.
+             * @throws IgniteCheckedException If failed.
+             */
+            private void add(long childId, L lastRow) throws IgniteCheckedException {
+                if (cnt == children.length)
+                    writePage(innerCnt + 1, allocatePage(null));
+
+                children[cnt++] = childId;
+                rows.add(lastRow);
+            }
+
+            /**
+             * Writes the given number of first children to the rightmost page and passes it to the parent level.
+             *
+             * @param pageCnt Number of children.
+             * @param fwdId Forward page ID.
+             * @throws IgniteCheckedException If failed.
+             */
+            private void writePage(int pageCnt, long fwdId) throws IgniteCheckedException {
+                assert pageCnt > 1 && pageCnt <= cnt : pageCnt;
+
+                if (pageId == 0L)
+                    pageId = allocatePage(null);
+
+                // Last row of the last child is not stored, it moves up.
+                writeBulkPage(pageId, true, latestInnerIO(), rows.subList(0, pageCnt - 1), children, fwdId);
+
+                if (firstId == 0L)
+                    firstId = pageId;
+
+                level(lvl + 1).add(pageId, rows.get(pageCnt - 1));
+
+                rows.subList(0, pageCnt).clear();
+
+                System.arraycopy(children, pageCnt, children, 0, cnt - pageCnt);
+
+                cnt -= pageCnt;
+                pageId = fwdId;
+            }
+        }
+
+        /**
+         * Fills leaf pages with rows of a key range. The pages are linked to each other, the last page is kept
+         * in memory until the writer is appended to the loader. Only the IDs of written pages are kept, the separator
+         * rows are read back from the pages when they are appended.
+         */
+        public final class LeafWriter {
+            /** IDs of written pages. */
+            private final GridLongList pageIds = new GridLongList();
+
+            /** Rows of the last page. */
+            private final List<L> rows = new ArrayList<>(leafCnt);
+
+            /** ID of the first page, {@code 0} if there are no rows. */
+            private long firstId;
+
+            /** ID of the last page. */
+            private long lastId;
+
+            /** Whether the pages are linked to the pages of the loader. */
+            private boolean linked;
+
+            /** Number of pages appended to the loader. */
+            private int appended;
+
+            /** */
+            private LeafWriter() {
+                // No-op.
+            }
+
+            /**
+             * Adds the next row. The row must be greater than all the previously added rows.
+             *
+             * @param row Row.
+             * @throws IgniteCheckedException If failed.
+             */
+            public void add(L row) throws IgniteCheckedException {
+                assert row != null;
+                assert !linked;
+
+                if (firstId == 0L) {
+                    firstId = allocatePage(null);
+                    lastId = firstId;
+                }
+                else if (rows.size() == leafCnt) {
+                    long fwdId = allocatePage(null);
+
+                    writeBulkPage(lastId, true, latestLeafIO(), rows, null, fwdId);
+
+                    pageIds.add(lastId);
+
+                    rows.clear();
+
+                    lastId = fwdId;
+                }
+
+                rows.add(row);
+            }
+        }
+
+        /**
+         * Writes a page filled by the loader.
+         *
+         * @param pageId Page ID.
+         * @param init Whether the page must be initialized.
+         * @param io Page IO.
+         * @param rows Rows.
+         * @param children Children of an inner page, {@code null} for a leaf page.
+         * @param fwdId Forward page ID.
+         * @throws IgniteCheckedException If failed.
+         */
+        private void writeBulkPage(
+            long pageId,
+            boolean init,
+            BPlusIO<L> io,
+            List<L> rows,
+            @Nullable long[] children,
+            long fwdId
+        ) throws IgniteCheckedException {
+            long page = acquirePage(pageId);
+
+            try {
+                long pageAddr = writeLock(pageId, page); // Single writer, no need to check for concurrent modification.
+
+                assert pageAddr != 0L;
+
+                try {
+                    if (init)
+                        io.initNewPage(pageAddr, pageId, pageSize(), metrics);
+
+                    int cnt = rows.size();
+
+                    for (int i = 0; i < cnt; i++) {
+                        if (children != null)
+                            inner(io).setLeft(pageAddr, i, children[i]);
+
+                        io.store(pageAddr, i, rows.get(i), null, false);
+                    }
+
+                    if (children != null)
+                        inner(io).setLeft(pageAddr, cnt, children[cnt]);
+
+                    io.setCount(pageAddr, cnt);
+                    io.setForward(pageAddr, fwdId);
+                }
+                finally {
+                    // The whole page is written, log it as a full page record.
+                    writeUnlock(pageId, page, pageAddr, Boolean.TRUE, true);
+                }
+            }
+            finally {
+                releasePage(pageId, page);
+            }
+        }
+    }
+
     /**
      *
      */
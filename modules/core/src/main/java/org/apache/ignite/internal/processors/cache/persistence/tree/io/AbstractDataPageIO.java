@@ -626,6 +626,16 @@ public abstract class AbstractDataPageIO<T extends Storable> extends PageIO impl
         return (PageUtils.getShort(pageAddr, dataOff) & FRAGMENTED_FLAG) != 0;
     }
 
+    /**
+     * @param pageAddr Page address.
+     * @param itemId Item ID.
+     * @param pageSize Page size.
+     * @return {@code true} If the item is a fragment of a data row stored across multiple pages.
+     */
+    public boolean isFragmented(long pageAddr, int itemId, int pageSize) {
+        return isFragmented(pageAddr, getDataOffset(pageAddr, itemId, pageSize));
+    }
+
     /**
      * Sets position to start of actual fragment data and limit to it's end.
      *
@@ -49,7 +49,7 @@ public abstract class BPlusLeafIO<L> extends BPlusIO<L> {
     }
 
     /** {@inheritDoc} */
-    @Override public final int offset(int idx) {
+    @Override public int offset(int idx) {
         assert idx >= 0 : idx;
 
         return ITEMS_OFF + idx * getItemSize();
@@ -48,6 +48,24 @@ public final class IOVersions<V extends PageIO> {
         assert checkVersions();
     }
 
+    /**
+     * @param vers Versions.
+     * @param latest IO used for new pages.
+     */
+    private IOVersions(V[] vers, V latest) {
+        this.vers = vers;
+        this.type = vers[0].getType();
+        this.latest = latest;
+    }
+
+    /**
+     * @param ver Version.
+     * @return Versions which resolve the same IOs, but use the given version for new pages.
+     */
+    public IOVersions<V> withLatest(int ver) {
+        return ver == latest.getVersion() ? this : new IOVersions<>(vers, forVersion(ver));
+    }
+
     /**
      * @return Type.
      */
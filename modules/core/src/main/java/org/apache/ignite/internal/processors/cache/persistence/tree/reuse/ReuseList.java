@@ -21,6 +21,7 @@ import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.internal.pagemem.FullPageId;
 import org.apache.ignite.internal.pagemem.PageIdAllocator;
 import org.apache.ignite.internal.processors.cache.persistence.tree.io.PageIO;
+import org.apache.ignite.internal.util.lang.IgniteThrowableFunction;
 import org.jetbrains.annotations.Nullable;
 
 /**
@@ -45,6 +46,19 @@ public interface ReuseList {
      */
     public long recycledPagesCount() throws IgniteCheckedException;
 
+    /**
+     * Visits recycled pages which were put to the list a while ago and are taken after other pages. The visited pages
+     * can't be taken until the visitor returns.
+     *
+     * @param c Visitor of page IDs, returns {@code false} to stop visiting.
+     * @return {@code False} if visiting was stopped by the visitor.
+     * @throws IgniteCheckedException If failed.
+     */
+    public default boolean visitStaleRecycledPages(IgniteThrowableFunction<Long, Boolean> c)
+        throws IgniteCheckedException {
+        return true;
+    }
+
     /**
      * Converts recycled page id back to a usable id. Might modify page content as well if flag is changing.
      *
@@ -27,6 +27,7 @@ import org.apache.ignite.internal.pagemem.wal.IgniteWriteAheadLogManager;
 import org.apache.ignite.internal.processors.cache.persistence.diagnostic.pagelocktracker.PageLockTrackerManager;
 import org.apache.ignite.internal.processors.cache.persistence.freelist.PagesList;
 import org.apache.ignite.internal.processors.cache.persistence.tree.io.PageIO;
+import org.apache.ignite.internal.util.lang.IgniteThrowableFunction;
 import org.jetbrains.annotations.Nullable;
 
 /**
@@ -112,6 +113,12 @@ public class ReuseListImpl extends PagesList implements ReuseList {
         return storedPagesCount(0);
     }
 
+    /** {@inheritDoc} */
+    @Override public boolean visitStaleRecycledPages(IgniteThrowableFunction<Long, Boolean> c)
+        throws IgniteCheckedException {
+        return visitStalePages(0, c, IoStatisticsHolderNoOp.INSTANCE);
+    }
+
     /** {@inheritDoc} */
     @Override protected Stripe[] getBucket(int bucket) {
         return this.bucket;
@@ -179,6 +179,42 @@ public abstract class PageHandler<X, R> {
         }
     }
 
+    /**
+     * Runs the handler on a copy of the page made without taking the read lock. The copy is a consistent snapshot
+     * of the page, but it may be stale, so the handler must not modify the page and must not follow links stored
+     * in the copy.
+     *
+     * @param pageMem Page memory.
+     * @param cacheId Cache ID.
+     * @param pageId Page ID.
+     * @param page Page pointer.
+     * @param buf Address of a buffer of the page size to copy the page to.
+     * @param h Handler.
+     * @param arg Argument.
+     * @param intArg Argument of type {@code int}.
+     * @param statHolder Statistics holder to track IO operations.
+     * @param pageIoRslvr Page IO resolver.
+     * @return Handler result or {@code null} if the page is being modified and must be read under the lock.
+     * @throws IgniteCheckedException If failed.
+     */
+    public static <X, R> R readPageCopy(
+        PageMemory pageMem,
+        int cacheId,
+        long pageId,
+        long page,
+        long buf,
+        PageHandler<X, R> h,
+        X arg,
+        int intArg,
+        IoStatisticsHolder statHolder,
+        PageIoResolver pageIoRslvr
+    ) throws IgniteCheckedException {
+        if (!pageMem.tryCopyPage(cacheId, pageId, page, buf))
+            return null;
+
+        return h.run(cacheId, pageId, page, buf, pageIoRslvr.resolve(buf), null, arg, intArg, statHolder);
+    }
+
     /**
      * @param pageMem Page memory.
      * @param cacheId Cache ID.
@@ -363,8 +363,15 @@ public abstract class AbstractWalRecordsIterator
 
             if (start != null && desc.idx() == start.index()) {
                 if (isCompacted) {
-                    if (start.fileOffset() != 0)
+                    if (start.fileOffset() != 0) {
+                        // Skip blocks of the compacted segment before the closest indexed record, if supported.
+                        long recOff = fileIO.compactedRecordOffset(start.fileOffset());
+
+                        if (recOff > fileIO.position())
+                            in.seek(recOff);
+
                         serializerFactory.recordDeserializeFilter(new StartSeekingFilter(start));
+                    }
                 }
                 else {
                     // Make sure we skip header with serializer version.
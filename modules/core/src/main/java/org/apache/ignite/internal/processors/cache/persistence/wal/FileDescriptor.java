@@ -19,6 +19,7 @@ package org.apache.ignite.internal.processors.cache.persistence.wal;
 
 import java.io.File;
 import java.io.IOException;
+import org.apache.ignite.internal.processors.cache.persistence.file.BlockCompressedFileIO;
 import org.apache.ignite.internal.processors.cache.persistence.file.FileIO;
 import org.apache.ignite.internal.processors.cache.persistence.file.FileIOFactory;
 import org.apache.ignite.internal.processors.cache.persistence.file.UnzipFileIO;
@@ -123,7 +124,24 @@ public class FileDescriptor implements Comparable<FileDescriptor>, AbstractWalRe
 
     /** {@inheritDoc} */
     @Override public SegmentIO toReadOnlyIO(FileIOFactory fileIOFactory) throws IOException {
-        FileIO fileIO = isCompressed() ? new UnzipFileIO(file()) : fileIOFactory.create(file(), READ);
+        FileIO fileIO = fileIOFactory.create(file(), READ);
+
+        if (isCompressed()) {
+            try {
+                if (BlockCompressedFileIO.isBlockCompressed(fileIO))
+                    fileIO = new BlockCompressedFileIO(fileIO);
+                else {
+                    fileIO.close();
+
+                    fileIO = new UnzipFileIO(file());
+                }
+            }
+            catch (IOException e) {
+                U.closeQuiet(fileIO);
+
+                throw e;
+            }
+        }
 
         return new SegmentIO(idx, fileIO);
     }
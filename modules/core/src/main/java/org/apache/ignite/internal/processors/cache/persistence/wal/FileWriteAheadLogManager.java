@@ -17,16 +17,15 @@
 
 package org.apache.ignite.internal.processors.cache.persistence.wal;
 
-import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
 import java.io.DataInput;
 import java.io.EOFException;
 import java.io.File;
 import java.io.FileFilter;
-import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.channels.ClosedByInterruptException;
@@ -51,7 +50,6 @@ import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.regex.Pattern;
 import java.util.zip.ZipEntry;
-import java.util.zip.ZipInputStream;
 import java.util.zip.ZipOutputStream;
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.IgniteLogger;
@@ -86,6 +84,8 @@ import org.apache.ignite.internal.processors.cache.persistence.DataRegion;
 import org.apache.ignite.internal.processors.cache.persistence.DataStorageMetricsImpl;
 import org.apache.ignite.internal.processors.cache.persistence.IgniteCacheDatabaseSharedManager;
 import org.apache.ignite.internal.processors.cache.persistence.StorageException;
+import org.apache.ignite.internal.processors.cache.persistence.file.BlockCompressedFileIO;
+import org.apache.ignite.internal.processors.cache.persistence.file.BlockCompressedFileWriter;
 import org.apache.ignite.internal.processors.cache.persistence.file.FileIO;
 import org.apache.ignite.internal.processors.cache.persistence.file.FileIOFactory;
 import org.apache.ignite.internal.processors.cache.persistence.file.RandomAccessFileIOFactory;
@@ -107,6 +107,8 @@ import org.apache.ignite.internal.processors.cache.persistence.wal.serializer.Re
 import org.apache.ignite.internal.processors.cache.persistence.wal.serializer.RecordSerializerFactory;
 import org.apache.ignite.internal.processors.cache.persistence.wal.serializer.RecordSerializerFactoryImpl;
 import org.apache.ignite.internal.processors.cache.persistence.wal.serializer.RecordV1Serializer;
+import org.apache.ignite.internal.processors.compress.WalBlockCompressor;
+import org.apache.ignite.internal.processors.compress.WalSegmentCodec;
 import org.apache.ignite.internal.processors.configuration.distributed.DistributedBooleanProperty;
 import org.apache.ignite.internal.processors.failure.FailureProcessor;
 import org.apache.ignite.internal.processors.timeout.GridTimeoutObject;
@@ -140,6 +142,7 @@ import static java.util.stream.Collectors.toList;
 import static org.apache.ignite.IgniteSystemProperties.IGNITE_CHECKPOINT_TRIGGER_ARCHIVE_SIZE_PERCENTAGE;
 import static org.apache.ignite.IgniteSystemProperties.IGNITE_THRESHOLD_WAIT_TIME_NEXT_WAL_SEGMENT;
 import static org.apache.ignite.IgniteSystemProperties.IGNITE_THRESHOLD_WAL_ARCHIVE_SIZE_PERCENTAGE;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_WAL_COMPACTION_CODEC;
 import static org.apache.ignite.IgniteSystemProperties.IGNITE_WAL_COMPRESSOR_WORKER_THREAD_CNT;
 import static org.apache.ignite.IgniteSystemProperties.IGNITE_WAL_MMAP;
 import static org.apache.ignite.IgniteSystemProperties.IGNITE_WAL_SERIALIZER_VERSION;
@@ -190,6 +193,12 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
     /** @see IgniteSystemProperties#IGNITE_WAL_COMPRESSOR_WORKER_THREAD_CNT */
     public static final int DFLT_WAL_COMPRESSOR_WORKER_THREAD_CNT = 4;
 
+    /** @see IgniteSystemProperties#IGNITE_WAL_COMPACTION_CODEC */
+    public static final WalSegmentCodec DFLT_WAL_COMPACTION_CODEC = WalSegmentCodec.ZIP;
+
+    /** Size of uncompressed block of a segment compacted by a block codec. */
+    private static final int WAL_COMPACTION_BLOCK_SIZE = 128 * 1024;
+
     /** @see IgniteSystemProperties#IGNITE_CHECKPOINT_TRIGGER_ARCHIVE_SIZE_PERCENTAGE */
     public static final double DFLT_CHECKPOINT_TRIGGER_ARCHIVE_SIZE_PERCENTAGE = 0.25;
 
@@ -290,6 +299,13 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
     /** Decompressor. */
     @Nullable private FileDecompressor decompressor;
 
+    /** Codec of WAL archive segments compaction. */
+    private WalSegmentCodec walCompactionCodec =
+        IgniteSystemProperties.getEnum(IGNITE_WAL_COMPACTION_CODEC, DFLT_WAL_COMPACTION_CODEC);
+
+    /** Block compressor of {@link #walCompactionCodec}, {@code null} for ZIP. */
+    @Nullable private WalBlockCompressor walBlockCompressor;
+
     /**
      * Cleaner of segments from WAL archive when the maximum size is reached.
      * Will not work if WAL archive size is {@link DataStorageConfiguration#UNLIMITED_WAL_ARCHIVE}.
@@ -437,7 +453,7 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
     }
 
     /**
-     * For test purposes only.
+     * Overrides IO factory used for WAL segments, may be used by plugins providing native IO.
      *
      * @param ioFactory IO factory.
      */
@@ -519,6 +535,18 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
             // We have to initialize compressor before archiver in order to setup already compressed segments.
             // Otherwise, FileArchiver initialization will trigger redundant work for FileCompressor.
             if (dsCfg.isWalCompactionEnabled()) {
+                if (walCompactionCodec != WalSegmentCodec.ZIP) {
+                    try {
+                        walBlockCompressor = walCompactionCodec.createBlockCompressor(dsCfg.getWalCompactionLevel());
+                    }
+                    catch (IgniteCheckedException e) {
+                        U.warn(log, "Failed to initialize WAL compaction codec, ZIP will be used [codec=" +
+                            walCompactionCodec + ", err=" + e.getMessage() + ']');
+
+                        walCompactionCodec = WalSegmentCodec.ZIP;
+                    }
+                }
+
                 compressor = new FileCompressor(log);
 
                 decompressor = new FileDecompressor(log);
@@ -1007,13 +1035,50 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
         WALPointer start,
         @Nullable IgniteBiPredicate<WALRecord.RecordType, WALPointer> recordDeserializeFilter
     ) throws IgniteCheckedException, StorageException {
-        FileWriteHandle hnd = currentHandle();
+        return replay(start, endPointer(), recordDeserializeFilter);
+    }
 
-        WALPointer end = null;
+    /** {@inheritDoc} */
+    @Override public WALIterator replay(
+        WALPointer start,
+        @Nullable IgniteBiPredicate<WALRecord.RecordType, WALPointer> recordDeserializeFilter,
+        int decoders
+    ) throws IgniteCheckedException, StorageException {
+        if (decoders <= 0 || start == null)
+            return replay(start, recordDeserializeFilter);
 
-        if (hnd != null)
-            end = hnd.position();
+        // Records logged after the start of the iteration must not be read by decoders started later.
+        WALPointer end = endPointer();
 
+        return new ParallelWalRecordsIterator(
+            cctx.igniteInstanceName(),
+            start,
+            decoders,
+            ptr -> replay(ptr, end, recordDeserializeFilter)
+        );
+    }
+
+    /**
+     * @return Position of the current write handle or {@code null} if logging is not resumed yet.
+     */
+    @Nullable private WALPointer endPointer() {
+        FileWriteHandle hnd = currentHandle();
+
+        return hnd != null ? hnd.position() : null;
+    }
+
+    /**
+     * @param start Optional WAL pointer from which to start iteration.
+     * @param end Optional inclusive WAL pointer to stop iteration at.
+     * @param recordDeserializeFilter Specify a filter to skip WAL records.
+     * @return Records iterator.
+     * @throws IgniteCheckedException If failed to start iteration.
+     */
+    private WALIterator replay(
+        @Nullable WALPointer start,
+        @Nullable WALPointer end,
+        @Nullable IgniteBiPredicate<WALRecord.RecordType, WALPointer> recordDeserializeFilter
+    ) throws IgniteCheckedException {
         RecordsIterator iter = new RecordsIterator(
             cctx,
             ft,
@@ -1771,6 +1836,13 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
         return maxWalSegmentSize;
     }
 
+    /**
+     * @return Number of WAL segments written since the last checkpoint which forces a new checkpoint.
+     */
+    public long maxSegmentsWithoutCheckpoint() {
+        return maxSegCountWithoutCheckpoint;
+    }
+
     /**
      * File archiver operates on absolute segment indexes. For any given absolute segment index N we can calculate the
      * work WAL segment: S(N) = N % dsCfg.walSegments. When a work segment is finished, it is given to the archiver. If
@@ -2434,41 +2506,67 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
                     .getSerializerVersion();
             }
 
-            try (ZipOutputStream zos = new ZipOutputStream(new BufferedOutputStream(new FileOutputStream(zip)))) {
-                zos.setLevel(dsCfg.getWalCompactionLevel());
-                zos.putNextEntry(new ZipEntry(idx + WAL_SEGMENT_FILE_EXT));
+            if (walBlockCompressor != null) {
+                try (BlockCompressedFileWriter out = new BlockCompressedFileWriter(ioFactory.create(zip),
+                    walCompactionCodec, walBlockCompressor, WAL_COMPACTION_BLOCK_SIZE)) {
+                    writeCompactedSegment(idx, serializerVer, out);
+                }
+            }
+            else {
+                try (ZipOutputStream zos = new ZipOutputStream(new BufferedOutputStream(new FileOutputStream(zip)))) {
+                    zos.setLevel(dsCfg.getWalCompactionLevel());
+                    zos.putNextEntry(new ZipEntry(idx + WAL_SEGMENT_FILE_EXT));
+
+                    writeCompactedSegment(idx, serializerVer, zos);
+                }
+            }
+        }
+
+        /**
+         * Writes header, logical records and switch segment record of the segment to the compacted segment.
+         *
+         * @param idx Segment absolute index.
+         * @param serializerVer Serializer version.
+         * @param out Compacted segment output stream.
+         * @throws IOException If failed.
+         * @throws IgniteCheckedException If failed.
+         */
+        private void writeCompactedSegment(long idx, int serializerVer, OutputStream out)
+            throws IOException, IgniteCheckedException {
+            ByteBuffer buf = ByteBuffer.allocate(HEADER_RECORD_SIZE);
+            buf.order(ByteOrder.nativeOrder());
 
-                ByteBuffer buf = ByteBuffer.allocate(HEADER_RECORD_SIZE);
-                buf.order(ByteOrder.nativeOrder());
+            out.write(prepareSerializerVersionBuffer(idx, serializerVer, true, buf).array());
 
-                zos.write(prepareSerializerVersionBuffer(idx, serializerVer, true, buf).array());
+            final CIX1<WALRecord> appendToZipC = new CIX1<WALRecord>() {
+                @Override public void applyx(WALRecord record) throws IgniteCheckedException {
+                    final MarshalledRecord marshRec = (MarshalledRecord)record;
 
-                final CIX1<WALRecord> appendToZipC = new CIX1<WALRecord>() {
-                    @Override public void applyx(WALRecord record) throws IgniteCheckedException {
-                        final MarshalledRecord marshRec = (MarshalledRecord)record;
+                    try {
+                        // Index records by original offsets, so readers can seek in the compacted segment.
+                        if (out instanceof BlockCompressedFileWriter)
+                            ((BlockCompressedFileWriter)out).onRecord(marshRec.position().fileOffset());
 
-                        try {
-                            zos.write(marshRec.buffer().array(), 0, marshRec.buffer().remaining());
-                        }
-                        catch (IOException e) {
-                            throw new IgniteCheckedException(e);
-                        }
+                        out.write(marshRec.buffer().array(), 0, marshRec.buffer().remaining());
                     }
-                };
+                    catch (IOException e) {
+                        throw new IgniteCheckedException(e);
+                    }
+                }
+            };
 
-                try (SingleSegmentLogicalRecordsIterator iter = new SingleSegmentLogicalRecordsIterator(
-                    log, cctx, ioFactory, BUF_SIZE, idx, ft, appendToZipC)) {
+            try (SingleSegmentLogicalRecordsIterator iter = new SingleSegmentLogicalRecordsIterator(
+                log, cctx, ioFactory, BUF_SIZE, idx, ft, appendToZipC)) {
 
-                    while (iter.hasNextX())
-                        iter.nextX();
-                }
+                while (iter.hasNextX())
+                    iter.nextX();
+            }
 
-                RecordSerializer ser = new RecordSerializerFactoryImpl(cctx).createSerializer(serializerVer);
+            RecordSerializer ser = new RecordSerializerFactoryImpl(cctx).createSerializer(serializerVer);
 
-                ByteBuffer heapBuf = prepareSwitchSegmentRecordBuffer(idx, ser);
+            ByteBuffer heapBuf = prepareSwitchSegmentRecordBuffer(idx, ser);
 
-                zos.write(heapBuf.array());
-            }
+            out.write(heapBuf.array());
         }
 
         /**
@@ -2577,7 +2675,7 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
                     File unzip = ft.walArchiveSegment(segmentToDecompress);
 
                     long currSize = 0;
-                    long reservedSize = U.uncompressedSize(zip);
+                    long reservedSize = uncompressedSize(zip);
 
                     segmentAware.addSize(segmentToDecompress, reservedSize);
 
@@ -2587,12 +2685,17 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
                         if (unzip.exists())
                             throw new FileAlreadyExistsException(unzip.getAbsolutePath());
 
-                        try (ZipInputStream zis = new ZipInputStream(new BufferedInputStream(new FileInputStream(zip)));
+                        try (SegmentIO in = new FileDescriptor(zip).toReadOnlyIO(ioFactory);
                              FileIO io = ioFactory.create(unzipTmp)) {
-                            zis.getNextEntry();
+                            ByteBuffer buf = ByteBuffer.wrap(arr);
+
+                            while (in.read(buf) > 0) {
+                                io.writeFully(arr, 0, buf.position());
+
+                                buf.clear();
 
-                            while (io.writeFully(arr, 0, zis.read(arr)) > 0)
                                 updateHeartbeat();
+                            }
                         }
 
                         Files.move(unzipTmp.toPath(), unzip.toPath());
@@ -2642,6 +2745,23 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
             }
         }
 
+        /**
+         * @param zip Compacted segment.
+         * @return Size of the segment after decompression.
+         * @throws IOException If failed.
+         */
+        private long uncompressedSize(File zip) throws IOException {
+            try (FileIO io = ioFactory.create(zip, READ)) {
+                if (BlockCompressedFileIO.isBlockCompressed(io)) {
+                    try (FileIO blockIo = new BlockCompressedFileIO(io)) {
+                        return blockIo.size();
+                    }
+                }
+            }
+
+            return U.uncompressedSize(zip);
+        }
+
         /**
          * Asynchronously decompresses WAL segment which is present only in .zip file.
          *
@@ -0,0 +1,380 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.wal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.internal.IgniteInterruptedCheckedException;
+import org.apache.ignite.internal.pagemem.wal.WALIterator;
+import org.apache.ignite.internal.pagemem.wal.record.WALRecord;
+import org.apache.ignite.internal.util.GridCloseableIteratorAdapter;
+import org.apache.ignite.internal.util.lang.IgniteThrowableFunction;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.lang.IgniteBiTuple;
+import org.apache.ignite.thread.IgniteThread;
+
+/**
+ * WAL iterator which reads, checks and deserializes records in several decoder threads ahead of the consumer.
+ * <p>
+ * Segments are sharded between decoders: decoder {@code i} handles segments {@code i}, {@code i + decoders}, ...
+ * counting from the start segment, each segment is read by its own underlying iterator. Decoded records are passed
+ * to the consumer in batches through a bounded queue of the decoder, so records are returned in the log order.
+ * <p>
+ * A decoder reads its segment until the first record of the next segment is read, which proves the log continues.
+ * If the underlying iterator ends or fails earlier, iteration stops at the same record a sequential iteration does.
+ */
+public class ParallelWalRecordsIterator extends GridCloseableIteratorAdapter<IgniteBiTuple<WALPointer, WALRecord>>
+    implements WALIterator {
+    /** */
+    private static final long serialVersionUID = 0L;
+
+    /** Number of records passed from a decoder to the consumer at once. */
+    private static final int BATCH_SIZE = 64;
+
+    /** Maximum number of batches a decoder can read ahead of the consumer. */
+    private static final int MAX_BATCHES_AHEAD = 8;
+
+    /** Timeout of a decoder attempt to enqueue a batch, after which stop flag is checked. */
+    private static final long OFFER_TIMEOUT_MS = 100;
+
+    /** Underlying iterator factory, creates an iterator starting from the given pointer. */
+    private final IgniteThrowableFunction<WALPointer, WALIterator> iterFactory;
+
+    /** Index of the start segment. */
+    private final long startIdx;
+
+    /** Decoders. */
+    private final Decoder[] decoders;
+
+    /** Decoder threads. */
+    private final IgniteThread[] threads;
+
+    /** Relative index of the segment where the log ends, decoders don't read beyond it. */
+    private final AtomicLong lastSeg = new AtomicLong(Long.MAX_VALUE);
+
+    /** Total time spent by decoders to read and deserialize records, in nanoseconds. */
+    private final LongAdder decodeTime = new LongAdder();
+
+    /** Stop flag. */
+    private volatile boolean stop;
+
+    /** Relative index of the segment the consumer reads. */
+    private long curSeg;
+
+    /** Current batch. */
+    private Batch curBatch;
+
+    /** Position of the next record in the current batch. */
+    private int curPos;
+
+    /** Iteration end flag. */
+    private boolean end;
+
+    /** Error to rethrow on the next access. */
+    private Throwable err;
+
+    /** Pointer to the last read record. */
+    private WALPointer lastRead;
+
+    /** Time the consumer waited for decoded records, in nanoseconds. */
+    private long waitTime;
+
+    /**
+     * @param igniteInstanceName Ignite instance name.
+     * @param start Pointer to start iteration from.
+     * @param decodersCnt Number of decoder threads.
+     * @param iterFactory Underlying iterator factory, all iterators must share the same high bound.
+     * @throws IgniteCheckedException If failed to create the iterator of the start segment.
+     */
+    public ParallelWalRecordsIterator(
+        String igniteInstanceName,
+        WALPointer start,
+        int decodersCnt,
+        IgniteThrowableFunction<WALPointer, WALIterator> iterFactory
+    ) throws IgniteCheckedException {
+        assert decodersCnt > 0 : decodersCnt;
+
+        this.iterFactory = iterFactory;
+
+        startIdx = start.index();
+
+        // Create the first iterator in the caller thread, so start errors are thrown right away.
+        WALIterator startIter = iterFactory.apply(start);
+
+        decoders = new Decoder[decodersCnt];
+        threads = new IgniteThread[decodersCnt];
+
+        for (int i = 0; i < decodersCnt; i++) {
+            decoders[i] = new Decoder(i, i == 0 ? startIter : null);
+
+            threads[i] = new IgniteThread(igniteInstanceName, "wal-replay-decoder-" + i, decoders[i]);
+        }
+
+        for (IgniteThread t : threads)
+            t.start();
+    }
+
+    /**
+     * @return Number of decoder threads.
+     */
+    public int decoders() {
+        return decoders.length;
+    }
+
+    /**
+     * @return Total time spent by decoder threads to read and deserialize records, in nanoseconds.
+     */
+    public long decodeTime() {
+        return decodeTime.sum();
+    }
+
+    /**
+     * @return Time the consumer waited for decoded records, in nanoseconds.
+     */
+    public long waitTime() {
+        return waitTime;
+    }
+
+    /** {@inheritDoc} */
+    @Override public Optional<WALPointer> lastRead() {
+        return Optional.ofNullable(lastRead);
+    }
+
+    /** {@inheritDoc} */
+    @Override protected IgniteBiTuple<WALPointer, WALRecord> onNext() throws IgniteCheckedException {
+        IgniteBiTuple<WALPointer, WALRecord> rec = curBatch.recs.get(curPos);
+
+        // Let the record be collected as soon as it is applied.
+        curBatch.recs.set(curPos++, null);
+
+        lastRead = rec.get1();
+
+        return rec;
+    }
+
+    /** {@inheritDoc} */
+    @Override protected boolean onHasNext() throws IgniteCheckedException {
+        while (err == null && !end && (curBatch == null || curPos == curBatch.recs.size())) {
+            if (curBatch != null && curBatch.last) {
+                if (curBatch.continued)
+                    curSeg++;
+                else {
+                    // Records skipped by the deserialization filter after the last returned one are read as well.
+                    if (curBatch.lastRead != null && (lastRead == null || curBatch.lastRead.compareTo(lastRead) > 0))
+                        lastRead = curBatch.lastRead;
+
+                    if (curBatch.err != null)
+                        err = curBatch.err;
+                    else
+                        end = true;
+                }
+
+                curBatch = null;
+
+                continue;
+            }
+
+            long startTime = System.nanoTime();
+
+            try {
+                curBatch = decoders[(int)(curSeg % decoders.length)].queue.take();
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+
+                throw new IgniteInterruptedCheckedException(e);
+            }
+
+            waitTime += System.nanoTime() - startTime;
+
+            curPos = 0;
+        }
+
+        if (err != null) {
+            if (err instanceof IgniteCheckedException)
+                throw (IgniteCheckedException)err;
+
+            if (err instanceof RuntimeException)
+                throw (RuntimeException)err;
+
+            if (err instanceof Error)
+                throw (Error)err;
+
+            throw new IgniteCheckedException(err);
+        }
+
+        return !end;
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void onClose() throws IgniteCheckedException {
+        stop = true;
+
+        for (Decoder decoder : decoders)
+            decoder.queue.clear();
+
+        for (IgniteThread t : threads)
+            U.join(t);
+    }
+
+    /**
+     * Batch of decoded records.
+     */
+    private static class Batch {
+        /** Records. */
+        private final List<IgniteBiTuple<WALPointer, WALRecord>> recs = new ArrayList<>(BATCH_SIZE);
+
+        /** Last batch of a segment flag. */
+        private boolean last;
+
+        /** Log continues in the next segment flag, set for the last batch of a segment. */
+        private boolean continued;
+
+        /** Underlying iterator error, set for the last batch of a segment. */
+        private Throwable err;
+
+        /** Last read pointer of the underlying iterator, set for the last batch of a segment. */
+        private WALPointer lastRead;
+    }
+
+    /**
+     * Reads segments of a shard.
+     */
+    private class Decoder implements Runnable {
+        /** Index of the decoder. */
+        private final int idx;
+
+        /** Decoded batches. */
+        private final BlockingQueue<Batch> queue = new ArrayBlockingQueue<>(MAX_BATCHES_AHEAD);
+
+        /** Iterator of the start segment. */
+        private WALIterator startIter;
+
+        /**
+         * @param idx Index of the decoder.
+         * @param startIter Iterator of the start segment, if the decoder reads it.
+         */
+        private Decoder(int idx, WALIterator startIter) {
+            this.idx = idx;
+            this.startIter = startIter;
+        }
+
+        /** {@inheritDoc} */
+        @Override public void run() {
+            try {
+                for (long seg = idx; seg <= lastSeg.get() && !stop; seg += decoders.length) {
+                    WALIterator it = startIter;
+
+                    startIter = null;
+
+                    if (!decode(seg, it))
+                        break;
+                }
+            }
+            catch (InterruptedException ignore) {
+                // No-op.
+            }
+            finally {
+                if (startIter != null)
+                    U.closeQuiet(startIter);
+            }
+        }
+
+        /**
+         * @param seg Relative index of the segment.
+         * @param it Iterator, if already created.
+         * @return {@code False} if iteration was stopped.
+         * @throws InterruptedException If interrupted.
+         */
+        private boolean decode(long seg, WALIterator it) throws InterruptedException {
+            long nextIdx = startIdx + seg + 1;
+
+            Batch batch = new Batch();
+
+            long startTime = System.nanoTime();
+
+            try {
+                if (it == null)
+                    it = iterFactory.apply(new WALPointer(startIdx + seg, 0, 0));
+
+                while (!stop && it.hasNextX()) {
+                    IgniteBiTuple<WALPointer, WALRecord> rec = it.nextX();
+
+                    if (rec.get1().index() >= nextIdx) {
+                        batch.continued = true;
+
+                        break;
+                    }
+
+                    batch.recs.add(rec);
+
+                    if (batch.recs.size() == BATCH_SIZE) {
+                        decodeTime.add(System.nanoTime() - startTime);
+
+                        if (!offer(batch))
+                            return false;
+
+                        batch = new Batch();
+
+                        startTime = System.nanoTime();
+                    }
+                }
+            }
+            catch (Throwable e) {
+                batch.err = e;
+            }
+            finally {
+                decodeTime.add(System.nanoTime() - startTime);
+
+                if (it != null) {
+                    batch.lastRead = it.lastRead().orElse(null);
+
+                    U.closeQuiet(it);
+                }
+            }
+
+            if (!batch.continued)
+                lastSeg.accumulateAndGet(seg, Math::min);
+
+            batch.last = true;
+
+            return offer(batch);
+        }
+
+        /**
+         * @param batch Batch.
+         * @return {@code False} if iteration was stopped.
+         * @throws InterruptedException If interrupted.
+         */
+        private boolean offer(Batch batch) throws InterruptedException {
+            while (!stop) {
+                if (queue.offer(batch, OFFER_TIMEOUT_MS, TimeUnit.MILLISECONDS))
+                    return true;
+            }
+
+            return false;
+        }
+    }
+}
@@ -17,6 +17,7 @@
 
 package org.apache.ignite.internal.processors.cache.persistence.wal.io;
 
+import org.apache.ignite.internal.processors.cache.persistence.file.BlockCompressedFileIO;
 import org.apache.ignite.internal.processors.cache.persistence.file.FileIO;
 import org.apache.ignite.internal.processors.cache.persistence.file.FileIODecorator;
 
@@ -42,4 +43,13 @@ public class SegmentIO extends FileIODecorator {
     public long getSegmentId() {
         return segmentId;
     }
+
+    /**
+     * @param origOff Offset of a record in the segment before compaction.
+     * @return Offset of the closest record before the given one in the compacted segment or {@code -1} if the segment
+     *      is not compacted or the compacted segment doesn't support seeking.
+     */
+    public long compactedRecordOffset(long origOff) {
+        return delegate instanceof BlockCompressedFileIO ? ((BlockCompressedFileIO)delegate).recordOffset(origOff) : -1;
+    }
 }
@@ -176,6 +176,20 @@ public class RecordDataV1Serializer implements RecordDataSerializer {
     /** */
     private static final byte PLAIN = 0;
 
+    /** Initial capacity of the thread-local buffers used to stage plain data before encryption. */
+    private static final int ENCRYPTION_STAGING_BUF_SIZE = 4096;
+
+    /** Thread-local buffer to stage plain data of an encrypted record. */
+    private final ThreadLocal<ByteBuffer> recStagingBuf =
+        ThreadLocal.withInitial(() -> ByteBuffer.allocate(ENCRYPTION_STAGING_BUF_SIZE));
+
+    /**
+     * Thread-local buffer to stage plain data of an encrypted data entry. Separate from {@link #recStagingBuf},
+     * because an entry may be written while the record buffer is in use.
+     */
+    private final ThreadLocal<ByteBuffer> entryStagingBuf =
+        ThreadLocal.withInitial(() -> ByteBuffer.allocate(ENCRYPTION_STAGING_BUF_SIZE));
+
     /**
      * @param cctx Cache shared context.
      */
@@ -231,7 +245,7 @@ public class RecordDataV1Serializer implements RecordDataSerializer {
         if (needEncryption(rec)) {
             int clSz = plainSize(rec);
 
-            ByteBuffer clData = ByteBuffer.allocate(clSz);
+            ByteBuffer clData = stagingBuffer(recStagingBuf, clSz);
 
             writePlainRecord(rec, clData);
 
@@ -245,6 +259,26 @@ public class RecordDataV1Serializer implements RecordDataSerializer {
         writePlainRecord(rec, buf);
     }
 
+    /**
+     * Gets a cleared thread-local buffer with at least {@code size} bytes remaining, the buffer is grown if needed.
+     *
+     * @param tlb Thread-local buffer.
+     * @param size Required size.
+     * @return Buffer to write plain data to.
+     */
+    private static ByteBuffer stagingBuffer(ThreadLocal<ByteBuffer> tlb, int size) {
+        ByteBuffer buf = tlb.get();
+
+        if (buf.capacity() < size)
+            tlb.set(buf = ByteBuffer.allocate(Math.max(size, buf.capacity() * 2)));
+        else
+            buf.clear();
+
+        buf.limit(size);
+
+        return buf;
+    }
+
     /**
      * @param rec Record to check.
      * @return {@code True} if this record should be encrypted.
@@ -328,11 +362,11 @@ public class RecordDataV1Serializer implements RecordDataSerializer {
      *
      * @param grpId Group id;
      * @param plainRecType Plain record type
-     * @param clData Plain data.
+     * @param clData Plain data, all remaining bytes are encrypted.
      * @param dst Destination buffer.
      */
     private void writeEncryptedData(int grpId, @Nullable RecordType plainRecType, ByteBuffer clData, ByteBuffer dst) {
-        int dtSz = encSpi.encryptedSize(clData.capacity());
+        int dtSz = encSpi.encryptedSize(clData.remaining());
 
         dst.putInt(grpId);
         dst.putInt(dtSz);
@@ -1978,7 +2012,7 @@ public class RecordDataV1Serializer implements RecordDataSerializer {
         if (desc != null && needEncryption(desc.groupId())) {
             int clSz = entrySize(entry);
 
-            ByteBuffer clData = ByteBuffer.allocate(clSz);
+            ByteBuffer clData = stagingBuffer(entryStagingBuf, clSz);
 
             putPlainDataEntry(clData, entry);
 
@@ -2195,9 +2229,9 @@ public class RecordDataV1Serializer implements RecordDataSerializer {
         int entryCnt = rec.entryCount();
 
         for (int i = 0; i < entryCnt; i++) {
-            DataEntry e = rec.get(i);
+            GridCacheContext<?, ?> cacheCtx = cctx.cacheContext(rec.get(i).cacheId());
 
-            if (cctx.cacheContext(e.cacheId()) != null && needEncryption(cctx.cacheContext(e.cacheId()).groupId()))
+            if (cacheCtx != null && needEncryption(cacheCtx.groupId()))
                 return true;
         }
 
@@ -2294,9 +2328,12 @@ public class RecordDataV1Serializer implements RecordDataSerializer {
         for (int i = 0; i < entryCnt; i++) {
             DataEntry entry = dataRec.get(i);
 
-            int clSz = entrySize(entry);
+            GridCacheContext<?, ?> cacheCtx = cctx.cacheContext(entry.cacheId());
+
+            int clSz = entrySize(entry, cacheCtx.cacheObjectContext());
 
-            if (!encryptionDisabled && needEncryption(cctx.cacheContext(entry.cacheId()).groupId()))
+            // No entry of a plain record needs encryption, so the encryption keys lookup is skipped.
+            if (encrypted && needEncryption(cacheCtx.groupId()))
                 sz += encSpi.encryptedSize(clSz) + 1 /*encrypted flag*/ + 4 /*groupId*/ + 4 /*data size*/ + 1 /*key ID*/;
             else {
                 sz += clSz;
@@ -2315,9 +2352,16 @@ public class RecordDataV1Serializer implements RecordDataSerializer {
      * @throws IgniteCheckedException If failed to get key or value bytes length.
      */
     protected int entrySize(DataEntry entry) throws IgniteCheckedException {
-        GridCacheContext cctx = this.cctx.cacheContext(entry.cacheId());
-        CacheObjectContext coCtx = cctx.cacheObjectContext();
+        return entrySize(entry, cctx.cacheContext(entry.cacheId()).cacheObjectContext());
+    }
 
+    /**
+     * @param entry Entry to get size for.
+     * @param coCtx Cache object context of the entry cache.
+     * @return Entry size.
+     * @throws IgniteCheckedException If failed to get key or value bytes length.
+     */
+    private int entrySize(DataEntry entry, CacheObjectContext coCtx) throws IgniteCheckedException {
         return
             /*cache ID*/4 +
             /*key*/entry.key().valueBytesLength(coCtx) +
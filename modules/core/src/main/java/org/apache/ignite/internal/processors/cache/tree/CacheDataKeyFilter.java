@@ -0,0 +1,348 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.tree;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.Lock;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteSystemProperties;
+import org.apache.ignite.internal.processors.cache.persistence.CacheDataRow;
+import org.apache.ignite.internal.util.StripedCompositeReadWriteLock;
+import org.apache.ignite.internal.util.lang.GridCursor;
+import org.apache.ignite.internal.util.typedef.internal.CU;
+import org.apache.ignite.internal.util.typedef.internal.S;
+
+/**
+ * Bloom filter of keys of a partition data tree. Lets lookups of absent keys skip the tree descent.
+ * <p>
+ * Keys are identified by the cache ID and the key hash code, as they are ordered in the tree, so the filter
+ * may be filled by a scan of leaf pages of the tree without reading data pages. The filter never has false
+ * negatives: a key is added before it is inserted to the tree and bits are never cleared.
+ * <p>
+ * The filter is sized for the number of keys of the tree at the moment it is built. When more keys are inserted
+ * than the filter was sized for, or too many keys are removed, the rate of false positives grows and the filter
+ * becomes stale. A stale filter is still used for lookups, while a new one is built in background by a scan of
+ * the tree. Keys inserted concurrently with the scan are added to both filters. To make sure the scan does not miss
+ * keys inserted by updates which have not seen the new filter, updates add keys and modify the tree under a read
+ * lock of the filter, and the new filter is published under the write lock.
+ */
+public class CacheDataKeyFilter {
+    /** @see IgniteSystemProperties#IGNITE_CACHE_KEY_FILTER_BITS_PER_KEY */
+    public static final int DFLT_CACHE_KEY_FILTER_BITS_PER_KEY = 0;
+
+    /** Minimum number of keys a filter is sized for. */
+    private static final int MIN_CAPACITY = 1024;
+
+    /** Maximum number of hash functions. */
+    private static final int MAX_HASHES = 16;
+
+    /** Bits per key. */
+    private final int bitsPerKey;
+
+    /** Number of hash functions. */
+    private final int hashes;
+
+    /** Lock which orders updates of the tree and publishing of a filter being built. */
+    private final StripedCompositeReadWriteLock lock;
+
+    /** Current filter, {@code null} if the filter has not been built yet. */
+    private volatile Bits bits;
+
+    /** Filter being built, {@code null} if there is no build in progress. */
+    private volatile Bits next;
+
+    /** Build in progress flag. */
+    private final AtomicBoolean building = new AtomicBoolean();
+
+    /**
+     * @param bitsPerKey Bits per key.
+     */
+    public CacheDataKeyFilter(int bitsPerKey) {
+        assert bitsPerKey > 0 : bitsPerKey;
+
+        this.bitsPerKey = bitsPerKey;
+
+        hashes = Math.min(MAX_HASHES, Math.max(1, (int)Math.round(bitsPerKey * Math.log(2))));
+
+        lock = new StripedCompositeReadWriteLock(Math.min(16, Runtime.getRuntime().availableProcessors()));
+    }
+
+    /**
+     * Adds a key before an update of the tree. Must be followed by {@link #afterUpdate()} after the tree is updated.
+     *
+     * @param cacheId Cache ID.
+     * @param hash Key hash code.
+     */
+    public void beforeUpdate(int cacheId, int hash) {
+        lock.readLock().lock();
+
+        add(cacheId, hash);
+    }
+
+    /**
+     * Finishes an update of the tree.
+     */
+    public void afterUpdate() {
+        lock.readLock().unlock();
+    }
+
+    /**
+     * @param cacheId Cache ID.
+     * @param hash Key hash code.
+     */
+    private void add(int cacheId, int hash) {
+        long h = hash(cacheId, hash);
+
+        Bits bits0 = bits;
+
+        if (bits0 != null)
+            bits0.add(h);
+
+        Bits next0 = next;
+
+        if (next0 != null && next0 != bits0)
+            next0.add(h);
+    }
+
+    /**
+     * @param cacheId Cache ID.
+     * @param hash Key hash code.
+     * @return {@code False} if the key is definitely absent in the tree, {@code true} if it may be present or
+     *      the filter has not been built yet.
+     */
+    public boolean mightContain(int cacheId, int hash) {
+        Bits bits0 = bits;
+
+        return bits0 == null || bits0.mightContain(hash(cacheId, hash));
+    }
+
+    /**
+     * @return {@code True} if the filter has been built.
+     */
+    public boolean ready() {
+        return bits != null;
+    }
+
+    /**
+     * Starts a build of the filter if the filter has not been built yet, for example, when the tree was restored
+     * from disk, or if it has become stale.
+     *
+     * @return {@code True} if the caller must build the filter with {@link #build(CacheDataTree, boolean, long)}.
+     */
+    public boolean startBuild() {
+        Bits bits0 = bits;
+
+        return (bits0 == null || bits0.stale) && building.compareAndSet(false, true);
+    }
+
+    /**
+     * Cancels a build started by {@link #startBuild()}.
+     */
+    public void cancelBuild() {
+        building.set(false);
+    }
+
+    /**
+     * Callback on insertion of a new key to the tree.
+     */
+    public void onInsert() {
+        Bits bits0 = bits;
+
+        if (bits0 != null && bits0.free.decrementAndGet() == -1)
+            bits0.stale = true;
+
+        Bits next0 = next;
+
+        // The key may be counted twice if the scan reaches it, so the new filter is rather built stale than overfilled.
+        if (next0 != null && next0 != bits0)
+            next0.free.decrementAndGet();
+    }
+
+    /**
+     * Callback on removal of a key from the tree.
+     */
+    public void onRemove() {
+        Bits bits0 = bits;
+
+        if (bits0 != null && bits0.removed.incrementAndGet() == bits0.capacity / 2 + 1)
+            bits0.stale = true;
+    }
+
+    /**
+     * Builds the filter by a scan of the tree, the current filter is used for lookups meanwhile.
+     * Must be called only if {@link #startBuild()} returned {@code true}.
+     *
+     * @param tree Data tree.
+     * @param sharedGrp {@code True} if the tree belongs to a shared cache group.
+     * @param keys Number of keys in the tree.
+     * @throws IgniteCheckedException If failed.
+     */
+    public void build(CacheDataTree tree, boolean sharedGrp, long keys) throws IgniteCheckedException {
+        assert building.get();
+
+        try {
+            // Size the filter for twice as many keys as the tree has, so it does not become stale too fast.
+            Bits next0 = new Bits(Math.max(MIN_CAPACITY, 2 * keys));
+
+            Lock wLock = lock.writeLock();
+
+            wLock.lock();
+
+            try {
+                next = next0;
+            }
+            finally {
+                wLock.unlock();
+            }
+
+            long[] cnt = new long[1];
+
+            try {
+                GridCursor<CacheDataRow> cur = tree.find(null, null, (t, io, pageAddr, idx) -> {
+                    RowLinkIO rowIo = (RowLinkIO)io;
+
+                    int cacheId = sharedGrp ? rowIo.getCacheId(pageAddr, idx) : CU.UNDEFINED_CACHE_ID;
+
+                    next0.add(hash(cacheId, rowIo.getHash(pageAddr, idx)));
+
+                    cnt[0]++;
+
+                    return false;
+                }, null);
+
+                while (cur.next()) {
+                    // No-op, keys are added by the closure.
+                }
+
+                if (next0.free.addAndGet(-cnt[0]) < 0)
+                    next0.stale = true;
+
+                bits = next0;
+            }
+            finally {
+                next = null;
+            }
+        }
+        finally {
+            building.set(false);
+        }
+    }
+
+    /**
+     * @param cacheId Cache ID.
+     * @param hash Key hash code.
+     * @return 64-bit hash of the key.
+     */
+    private static long hash(int cacheId, int hash) {
+        long h = ((long)cacheId << 32) | (hash & 0xFFFFFFFFL);
+
+        // Finalization mix of MurmurHash3.
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+
+        return h;
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(CacheDataKeyFilter.class, this);
+    }
+
+    /**
+     * Bit array of a filter sized for a number of keys.
+     */
+    private class Bits {
+        /** Number of keys the filter is sized for. */
+        private final long capacity;
+
+        /** Number of bits. */
+        private final long size;
+
+        /** Words of bits. */
+        private final AtomicLongArray words;
+
+        /** Number of keys which can be inserted before the filter becomes stale. */
+        private final AtomicLong free;
+
+        /** Number of keys removed since the filter was built. */
+        private final AtomicLong removed = new AtomicLong();
+
+        /** Stale flag, set when the filter has more keys than it was sized for or too many keys were removed. */
+        private volatile boolean stale;
+
+        /**
+         * @param capacity Number of keys the filter is sized for.
+         */
+        private Bits(long capacity) {
+            long wordsCnt = Math.min(Integer.MAX_VALUE - 8, (capacity * bitsPerKey + 63) >>> 6);
+
+            this.capacity = capacity;
+
+            size = wordsCnt << 6;
+            words = new AtomicLongArray((int)wordsCnt);
+            free = new AtomicLong(capacity);
+        }
+
+        /**
+         * @param h 64-bit key hash.
+         */
+        private void add(long h) {
+            int h1 = (int)h;
+            int h2 = (int)(h >>> 32);
+
+            for (int i = 0; i < hashes; i++) {
+                long bit = ((h1 + (long)i * h2) & Long.MAX_VALUE) % size;
+
+                int idx = (int)(bit >>> 6);
+                long mask = 1L << bit;
+
+                long word = words.get(idx);
+
+                while ((word & mask) == 0) {
+                    if (words.compareAndSet(idx, word, word | mask))
+                        break;
+
+                    word = words.get(idx);
+                }
+            }
+        }
+
+        /**
+         * @param h 64-bit key hash.
+         * @return {@code False} if the key is definitely absent.
+         */
+        private boolean mightContain(long h) {
+            int h1 = (int)h;
+            int h2 = (int)(h >>> 32);
+
+            for (int i = 0; i < hashes; i++) {
+                long bit = ((h1 + (long)i * h2) & Long.MAX_VALUE) % size;
+
+                if ((words.get((int)(bit >>> 6)) & (1L << bit)) == 0)
+                    return false;
+            }
+
+            return true;
+        }
+    }
+}
@@ -332,6 +332,20 @@ public class CacheDataTree extends BPlusTree<CacheSearchRow, CacheDataRow> {
     /** {@inheritDoc} */
     @Override protected int compare(BPlusIO<CacheSearchRow> iox, long pageAddr, int idx, CacheSearchRow row)
         throws IgniteCheckedException {
+        int cmp = compareInPage(iox, pageAddr, idx, row);
+
+        if (cmp != NEED_ROW)
+            return cmp;
+
+        long link = ((RowLinkIO)iox).getLink(pageAddr, idx);
+
+        assert row.key() != null : row;
+
+        return compareKeys(row.key(), link);
+    }
+
+    /** {@inheritDoc} */
+    @Override protected int compareInPage(BPlusIO<CacheSearchRow> iox, long pageAddr, int idx, CacheSearchRow row) {
         RowLinkIO io = (RowLinkIO)iox;
 
         int cmp;
@@ -360,14 +374,8 @@ public class CacheDataTree extends BPlusTree<CacheSearchRow, CacheDataRow> {
 
         cmp = Integer.compare(io.getHash(pageAddr, idx), row.hash());
 
-        if (cmp != 0)
-            return cmp;
-
-        long link = io.getLink(pageAddr, idx);
-
-        assert row.key() != null : row;
-
-        return compareKeys(row.key(), link);
+        // Keys with equal hashes are compared by the stored key.
+        return cmp != 0 ? cmp : NEED_ROW;
     }
 
     /** {@inheritDoc} */
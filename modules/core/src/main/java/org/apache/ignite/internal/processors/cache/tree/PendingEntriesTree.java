@@ -120,6 +120,12 @@ public class PendingEntriesTree extends BPlusTree<PendingRow, PendingRow> {
         return Long.compare(link, row.link);
     }
 
+    /** {@inheritDoc} */
+    @Override protected int compareInPage(BPlusIO<PendingRow> io, long pageAddr, int idx, PendingRow row) {
+        // Links are compared as numbers, rows are not read.
+        return compare(io, pageAddr, idx, row);
+    }
+
     /**
      * @param lower Lower bound (inclusive).
      * @param upper Upper bound (inclusive).
@@ -0,0 +1,49 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.compress;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Compressor of WAL archive segment blocks.
+ * <p>
+ * Buffers passed to the compressor are direct. Both methods consume all remaining bytes of the source buffer and
+ * advance positions of both buffers. Implementations must be thread-safe, a single instance is shared by all WAL
+ * compressor workers.
+ *
+ * @see WalSegmentCodec
+ */
+public interface WalBlockCompressor {
+    /**
+     * @param len Length of uncompressed data.
+     * @return Maximum length of the compressed data.
+     */
+    public int maxCompressedLength(int len);
+
+    /**
+     * @param src Uncompressed data.
+     * @param dst Destination buffer, must have at least {@link #maxCompressedLength} bytes remaining.
+     */
+    public void compress(ByteBuffer src, ByteBuffer dst);
+
+    /**
+     * @param src Compressed data.
+     * @param dst Destination buffer, remaining bytes must be exactly the length of uncompressed data.
+     */
+    public void decompress(ByteBuffer src, ByteBuffer dst);
+}
@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.compress;
+
+import java.lang.reflect.Constructor;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteSystemProperties;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Codec of WAL archive segments compaction.
+ *
+ * @see IgniteSystemProperties#IGNITE_WAL_COMPACTION_CODEC
+ */
+public enum WalSegmentCodec {
+    /** ZIP archive with a single entry, can be read only sequentially from the beginning. */
+    ZIP(0, null),
+
+    /** Independently compressed LZ4 blocks, supports seeking. Requires ignite-compress module. */
+    LZ4(1, "org.apache.ignite.internal.processors.compress.Lz4WalBlockCompressor"),
+
+    /** Independently compressed ZSTD blocks, supports seeking. Requires ignite-compress module. */
+    ZSTD(2, "org.apache.ignite.internal.processors.compress.ZstdWalBlockCompressor");
+
+    /** Enumerated values. */
+    private static final WalSegmentCodec[] VALS = values();
+
+    /** Identifier written to the compacted segment. */
+    private final byte id;
+
+    /** Block compressor class name. */
+    private final String clsName;
+
+    /**
+     * @param id Identifier written to the compacted segment.
+     * @param clsName Block compressor class name.
+     */
+    WalSegmentCodec(int id, String clsName) {
+        this.id = (byte)id;
+        this.clsName = clsName;
+    }
+
+    /**
+     * @return Identifier written to the compacted segment.
+     */
+    public byte id() {
+        return id;
+    }
+
+    /**
+     * @param id Identifier written to the compacted segment.
+     * @return Codec or {@code null} if identifier is unknown.
+     */
+    @Nullable public static WalSegmentCodec fromId(byte id) {
+        for (WalSegmentCodec codec : VALS) {
+            if (codec.id == id)
+                return codec;
+        }
+
+        return null;
+    }
+
+    /**
+     * Creates block compressor.
+     *
+     * @param level Compression level, ignored by codecs which don't support levels.
+     * @return Block compressor.
+     * @throws IgniteCheckedException If the codec is not block based or the compressor can't be created.
+     */
+    public WalBlockCompressor createBlockCompressor(int level) throws IgniteCheckedException {
+        if (clsName == null)
+            throw new IgniteCheckedException("WAL segment codec is not block based: " + this);
+
+        try {
+            Class<?> cls = Class.forName(clsName);
+
+            Constructor<?> ctor = cls.getConstructor(int.class);
+
+            return (WalBlockCompressor)ctor.newInstance(level);
+        }
+        catch (ClassNotFoundException e) {
+            throw new IgniteCheckedException("Failed to create " + this + " WAL segment compressor. " +
+                "Make sure that ignite-compress module is in classpath.", e);
+        }
+        catch (Exception | LinkageError e) {
+            throw new IgniteCheckedException("Failed to create " + this + " WAL segment compressor.", e);
+        }
+    }
+}
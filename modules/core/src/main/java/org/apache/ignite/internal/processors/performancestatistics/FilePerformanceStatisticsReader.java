@@ -60,6 +60,7 @@ import static org.apache.ignite.internal.processors.performancestatistics.Operat
 import static org.apache.ignite.internal.processors.performancestatistics.OperationType.QUERY_PROPERTY;
 import static org.apache.ignite.internal.processors.performancestatistics.OperationType.QUERY_READS;
 import static org.apache.ignite.internal.processors.performancestatistics.OperationType.QUERY_ROWS;
+import static org.apache.ignite.internal.processors.performancestatistics.OperationType.QUERY_SPILL;
 import static org.apache.ignite.internal.processors.performancestatistics.OperationType.SYSTEM_VIEW_ROW;
 import static org.apache.ignite.internal.processors.performancestatistics.OperationType.SYSTEM_VIEW_SCHEMA;
 import static org.apache.ignite.internal.processors.performancestatistics.OperationType.TASK;
@@ -71,6 +72,7 @@ import static org.apache.ignite.internal.processors.performancestatistics.Operat
 import static org.apache.ignite.internal.processors.performancestatistics.OperationType.jobRecordSize;
 import static org.apache.ignite.internal.processors.performancestatistics.OperationType.pagesWriteThrottleRecordSize;
 import static org.apache.ignite.internal.processors.performancestatistics.OperationType.queryReadsRecordSize;
+import static org.apache.ignite.internal.processors.performancestatistics.OperationType.querySpillRecordSize;
 import static org.apache.ignite.internal.processors.performancestatistics.OperationType.readCacheStartRecordSize;
 import static org.apache.ignite.internal.processors.performancestatistics.OperationType.readQueryPropertyRecordSize;
 import static org.apache.ignite.internal.processors.performancestatistics.OperationType.readQueryRecordSize;
@@ -360,6 +362,21 @@ public class FilePerformanceStatisticsReader {
 
             return true;
         }
+        else if (opType == QUERY_SPILL) {
+            if (buf.remaining() < querySpillRecordSize())
+                return false;
+
+            GridCacheQueryType qryType = GridCacheQueryType.fromOrdinal(buf.get());
+            UUID uuid = readUuid(buf);
+            long id = buf.getLong();
+            long spilledBytes = buf.getLong();
+            long spillFiles = buf.getLong();
+
+            for (PerformanceStatisticsHandler hnd : curHnd)
+                hnd.querySpill(nodeId, qryType, uuid, id, spilledBytes, spillFiles);
+
+            return true;
+        }
         else if (opType == QUERY_ROWS) {
             ForwardableString action = readString(buf);
 
@@ -55,6 +55,7 @@ import static org.apache.ignite.internal.processors.performancestatistics.Operat
 import static org.apache.ignite.internal.processors.performancestatistics.OperationType.QUERY_PROPERTY;
 import static org.apache.ignite.internal.processors.performancestatistics.OperationType.QUERY_READS;
 import static org.apache.ignite.internal.processors.performancestatistics.OperationType.QUERY_ROWS;
+import static org.apache.ignite.internal.processors.performancestatistics.OperationType.QUERY_SPILL;
 import static org.apache.ignite.internal.processors.performancestatistics.OperationType.TASK;
 import static org.apache.ignite.internal.processors.performancestatistics.OperationType.TX_COMMIT;
 import static org.apache.ignite.internal.processors.performancestatistics.OperationType.TX_ROLLBACK;
@@ -67,6 +68,7 @@ import static org.apache.ignite.internal.processors.performancestatistics.Operat
 import static org.apache.ignite.internal.processors.performancestatistics.OperationType.queryReadsRecordSize;
 import static org.apache.ignite.internal.processors.performancestatistics.OperationType.queryRecordSize;
 import static org.apache.ignite.internal.processors.performancestatistics.OperationType.queryRowsRecordSize;
+import static org.apache.ignite.internal.processors.performancestatistics.OperationType.querySpillRecordSize;
 import static org.apache.ignite.internal.processors.performancestatistics.OperationType.taskRecordSize;
 import static org.apache.ignite.internal.processors.performancestatistics.OperationType.transactionRecordSize;
 
@@ -285,6 +287,23 @@ public class FilePerformanceStatisticsWriter {
         });
     }
 
+    /**
+     * @param type Cache query type.
+     * @param qryNodeId Originating node id.
+     * @param id Query id.
+     * @param spilledBytes Number of bytes spilled to disk.
+     * @param spillFiles Number of files rows were spilled to.
+     */
+    public void querySpill(GridCacheQueryType type, UUID qryNodeId, long id, long spilledBytes, long spillFiles) {
+        doWrite(QUERY_SPILL, querySpillRecordSize(), buf -> {
+            buf.put((byte)type.ordinal());
+            writeUuid(buf, qryNodeId);
+            buf.putLong(id);
+            buf.putLong(spilledBytes);
+            buf.putLong(spillFiles);
+        });
+    }
+
     /**
      * @param type Cache query type.
      * @param qryNodeId Originating node id.
@@ -128,6 +128,9 @@ public enum OperationType {
     /** Cache delete all from cache store. */
     CACHE_DELETE_ALL(32),
 
+    /** Rows spilled to disk by query. */
+    QUERY_SPILL(33),
+
     /** Version. */
     VERSION(255);
 
@@ -234,6 +237,11 @@ public enum OperationType {
         return 1 + 16 + 8 + 8 + 8;
     }
 
+    /** @return Query spill record size. */
+    public static int querySpillRecordSize() {
+        return 1 + 16 + 8 + 8 + 8;
+    }
+
     /**
      * @param actionLen Rows action length.
      * @param cached {@code True} if action is cached.
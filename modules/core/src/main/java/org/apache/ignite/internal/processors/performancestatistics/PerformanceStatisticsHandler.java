@@ -76,6 +76,18 @@ public interface PerformanceStatisticsHandler {
     void queryReads(UUID nodeId, GridCacheQueryType type, UUID queryNodeId, long id, long logicalReads,
         long physicalReads);
 
+    /**
+     * Rows spilled to disk by query.
+     *
+     * @param nodeId Node id.
+     * @param type Cache query type.
+     * @param qryNodeId Originating node id.
+     * @param id Query id.
+     * @param spilledBytes Number of bytes spilled to disk.
+     * @param spillFiles Number of files rows were spilled to.
+     */
+    void querySpill(UUID nodeId, GridCacheQueryType type, UUID qryNodeId, long id, long spilledBytes, long spillFiles);
+
     /**
      * Count of rows processed by query.
      *
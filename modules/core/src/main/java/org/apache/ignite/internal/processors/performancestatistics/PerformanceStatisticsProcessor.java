@@ -190,6 +190,17 @@ public class PerformanceStatisticsProcessor extends GridProcessorAdapter {
         write(writer -> writer.queryReads(type, queryNodeId, id, logicalReads, physicalReads));
     }
 
+    /**
+     * @param type Cache query type.
+     * @param qryNodeId Originating node id.
+     * @param id Query id.
+     * @param spilledBytes Number of bytes spilled to disk.
+     * @param spillFiles Number of files rows were spilled to.
+     */
+    public void querySpill(GridCacheQueryType type, UUID qryNodeId, long id, long spilledBytes, long spillFiles) {
+        write(writer -> writer.querySpill(type, qryNodeId, id, spilledBytes, spillFiles));
+    }
+
     /**
      * @param type Cache query type.
      * @param qryNodeId Originating node id.
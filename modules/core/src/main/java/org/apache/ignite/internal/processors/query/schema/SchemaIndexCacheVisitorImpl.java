@@ -21,6 +21,7 @@ import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
 import java.util.TreeSet;
+import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.ignite.IgniteCheckedException;
@@ -126,7 +127,7 @@ public class SchemaIndexCacheVisitorImpl implements SchemaIndexCacheVisitor {
             workerFut.setWorker(worker);
             buildIdxCompoundFut.add(workerFut);
 
-            cctx.kernalContext().pools().buildIndexExecutorService().execute(worker);
+            executor().execute(worker);
         }
 
         buildIdxCompoundFut.listen(() -> {
@@ -155,6 +156,13 @@ public class SchemaIndexCacheVisitorImpl implements SchemaIndexCacheVisitor {
         buildIdxCompoundFut.markInitialized();
     }
 
+    /**
+     * @return Executor of partition workers.
+     */
+    protected Executor executor() {
+        return cctx.kernalContext().pools().buildIndexExecutorService();
+    }
+
     /**
      * Prints index cache stats to log.
      *
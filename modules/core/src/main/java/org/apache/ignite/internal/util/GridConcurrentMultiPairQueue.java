@@ -146,6 +146,48 @@ public class GridConcurrentMultiPairQueue<K, V> {
         return true;
     }
 
+    /**
+     * Retrieves and removes up to {@code vals.length} sequential elements from the head of this queue at once,
+     * so elements adjacent in the input arrays are handled by the same consumer.
+     *
+     * @param res State holder, keeps current segment between calls.
+     * @param keys Keys of retrieved elements.
+     * @param vals Retrieved elements.
+     * @return Number of retrieved elements or {@code 0} if this queue is empty.
+     */
+    public int next(Result<K, V> res, K[] keys, V[] vals) {
+        assert keys.length >= vals.length;
+
+        if (pos.get() >= maxPos)
+            return 0;
+
+        int absPos = pos.getAndAdd(vals.length);
+
+        if (absPos >= maxPos)
+            return 0;
+
+        int cnt = Math.min(vals.length, maxPos - absPos);
+
+        int segment = res.getSegment();
+
+        for (int i = 0; i < cnt; i++, absPos++) {
+            if (absPos > lenSeq[segment]) {
+                segment = Arrays.binarySearch(lenSeq, segment, lenSeq.length - 1, absPos);
+
+                segment = segment < 0 ? -segment - 1 : segment;
+            }
+
+            int relPos = segment == 0 ? absPos : (absPos - lenSeq[segment - 1] - 1);
+
+            keys[i] = keysArr[segment];
+            vals[i] = this.vals[segment][relPos];
+        }
+
+        res.set(keys[cnt - 1], vals[cnt - 1], segment);
+
+        return cnt;
+    }
+
     /**
      * Rewind the queue to start iterating from the beginning.
      */
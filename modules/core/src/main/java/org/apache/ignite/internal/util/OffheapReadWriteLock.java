@@ -33,6 +33,9 @@ import org.apache.ignite.internal.util.typedef.internal.U;
  *     |     2 bytes    |     2 bytes   | 2 bytes |  2 bytes |
  *     +----------------+---------------+---------+----------+
  * </pre>
+ * If the lock is created with a write version offset, an 8 byte write version is kept at that offset from the state.
+ * The version is incremented on each write unlock and allows optimistic readers to access the protected data without
+ * acquiring the lock, see {@link #tryOptimisticRead(long, int)} and {@link #validate(long, int, long)}.
  */
 public class OffheapReadWriteLock {
     /** @see #IGNITE_OFFHEAP_RWLOCK_SPIN_COUNT */
@@ -63,6 +66,9 @@ public class OffheapReadWriteLock {
     /** Lock size. */
     public static final int LOCK_SIZE = 8;
 
+    /** Write version size. */
+    public static final int VERSION_SIZE = 8;
+
     /** Maximum number of waiting threads, read or write. */
     public static final int MAX_WAITERS = 0xFFFF;
 
@@ -81,10 +87,23 @@ public class OffheapReadWriteLock {
     /** */
     private int monitorsMask;
 
+    /** Offset of the write version from the lock state, {@code 0} if optimistic reads are disabled. */
+    private final int verOff;
+
     /**
      * @param concLvl Concurrency level, must be a power of two.
      */
     public OffheapReadWriteLock(int concLvl) {
+        this(concLvl, 0);
+    }
+
+    /**
+     * @param concLvl Concurrency level, must be a power of two.
+     * @param verOff Offset of the write version from the lock state, {@code 0} if optimistic reads are disabled.
+     */
+    public OffheapReadWriteLock(int concLvl, int verOff) {
+        this.verOff = verOff;
+
         if ((concLvl & concLvl - 1) != 0)
             throw new IllegalArgumentException("Concurrency level must be a power of 2: " + concLvl);
 
@@ -114,6 +133,58 @@ public class OffheapReadWriteLock {
         assert tag != 0;
 
         GridUnsafe.putLong(lock, (long)tag << 16);
+
+        // Do not reset the version, the lock may be reinitialized while optimistic readers still hold a stamp.
+        if (verOff != 0)
+            incrementVersion(lock);
+    }
+
+    /**
+     * @return {@code True} if optimistic reads are enabled.
+     */
+    public boolean optimisticReads() {
+        return verOff != 0;
+    }
+
+    /**
+     * Starts an optimistic read. The data read after this call may be inconsistent and must not be used
+     * until {@link #validate(long, int, long)} confirms that there were no writes in between.
+     *
+     * @param lock Lock address.
+     * @param tag Tag.
+     * @return Stamp to validate the read with or {@code 0} if the lock is write locked, the tag does not match or
+     *      optimistic reads are disabled.
+     */
+    public long tryOptimisticRead(long lock, int tag) {
+        if (verOff == 0)
+            return 0;
+
+        long state = GridUnsafe.getLongVolatile(null, lock);
+
+        if (!checkTag(state, tag) || !canReadLock(state))
+            return 0;
+
+        return GridUnsafe.getLongVolatile(null, lock + verOff);
+    }
+
+    /**
+     * @param lock Lock address.
+     * @param tag Tag.
+     * @param stamp Stamp returned by {@link #tryOptimisticRead(long, int)}.
+     * @return {@code True} if the lock was not write locked since the stamp was obtained, so the data read
+     *      in between is consistent.
+     */
+    public boolean validate(long lock, int tag, long stamp) {
+        if (stamp == 0)
+            return false;
+
+        // Data reads must not be reordered with the state read below.
+        GridUnsafe.loadFence();
+
+        long state = GridUnsafe.getLongVolatile(null, lock);
+
+        return checkTag(state, tag) && canReadLock(state) &&
+            GridUnsafe.getLongVolatile(null, lock + verOff) == stamp;
     }
 
     /**
@@ -272,6 +343,10 @@ public class OffheapReadWriteLock {
 
         assert tag != 0;
 
+        // Invalidate optimistic reads before the lock is released.
+        if (verOff != 0)
+            incrementVersion(lock);
+
         while (true) {
             long state = GridUnsafe.getLongVolatile(null, lock);
 
@@ -683,6 +758,15 @@ public class OffheapReadWriteLock {
         }
     }
 
+    /**
+     * Increments the write version, called on lock init or by the write lock owner.
+     *
+     * @param lock Lock address.
+     */
+    private void incrementVersion(long lock) {
+        GridUnsafe.putLongVolatile(null, lock + verOff, GridUnsafe.getLong(lock + verOff) + 1);
+    }
+
     /**
      * Information about lock state.
      *
@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.spi.systemview.view;
+
+import org.apache.ignite.internal.cache.query.index.IndexName;
+import org.apache.ignite.internal.cache.query.index.sorted.inline.InlineIndexBulkLoader;
+import org.apache.ignite.internal.systemview.Order;
+import org.apache.ignite.internal.systemview.SystemViewDescriptor;
+
+/**
+ * Progress of an index built in bulk representation for a {@link SystemView}.
+ */
+@SystemViewDescriptor
+public class IndexBulkLoadView {
+    /** Index bulk load system view name. */
+    public static final String INDEX_BULK_LOAD_VIEW = "indexBulkLoad";
+
+    /** Index bulk load system view description. */
+    public static final String INDEX_BULK_LOAD_VIEW_DESC = "Progress of indexes built in bulk";
+
+    /** Bulk loader. */
+    private final InlineIndexBulkLoader ldr;
+
+    /**
+     * @param ldr Bulk loader.
+     */
+    public IndexBulkLoadView(InlineIndexBulkLoader ldr) {
+        this.ldr = ldr;
+    }
+
+    /** @return Cache name. */
+    @Order
+    public String cacheName() {
+        return idxName().cacheName();
+    }
+
+    /** @return Schema name. */
+    @Order(1)
+    public String schemaName() {
+        return idxName().schemaName();
+    }
+
+    /** @return Table name. */
+    @Order(2)
+    public String tableName() {
+        return idxName().tableName();
+    }
+
+    /** @return Index name. */
+    @Order(3)
+    public String indexName() {
+        return idxName().idxName();
+    }
+
+    /** @return Stage of the bulk load. */
+    @Order(4)
+    public String stage() {
+        return ldr.stage().name();
+    }
+
+    /** @return Number of rows collected from the cache partitions. */
+    @Order(5)
+    public long rowsCollected() {
+        return ldr.rowsCollected();
+    }
+
+    /** @return Number of sorted runs of rows spilled to disk. */
+    @Order(6)
+    public int spilledRuns() {
+        return ldr.spilledRuns();
+    }
+
+    /** @return Number of key ranges loaded in parallel. */
+    @Order(7)
+    public int ranges() {
+        return ldr.ranges();
+    }
+
+    /** @return Number of loaded key ranges. */
+    @Order(8)
+    public int rangesLoaded() {
+        return ldr.rangesLoaded();
+    }
+
+    /** @return Number of rows loaded to the index. */
+    @Order(9)
+    public long rowsLoaded() {
+        return ldr.rowsLoaded();
+    }
+
+    /** @return Index name. */
+    private IndexName idxName() {
+        return ldr.index().indexDefinition().idxName();
+    }
+}
@@ -60,6 +60,7 @@ import org.apache.ignite.internal.util.typedef.PAX;
 import org.apache.ignite.internal.util.typedef.internal.S;
 import org.apache.ignite.internal.util.typedef.internal.U;
 import org.apache.ignite.metric.MetricRegistry;
+import org.apache.ignite.spi.metric.DoubleMetric;
 import org.apache.ignite.spi.metric.HistogramMetric;
 import org.apache.ignite.spi.metric.LongMetric;
 import org.apache.ignite.testframework.ListeningTestLogger;
@@ -255,10 +256,17 @@ public class IgniteDataStorageMetricsSelfTest extends GridCommonAbstractTest {
                     assertNotNull(pMetrics);
 
                     return pMetrics.<LongMetric>findMetric("LastCheckpointTotalPagesNumber").value() != 0 &&
-                        pMetrics.<LongMetric>findMetric("LastCheckpointDataPagesNumber").value() != 0;
+                        pMetrics.<LongMetric>findMetric("LastCheckpointDataPagesNumber").value() != 0 &&
+                        pMetrics.<LongMetric>findMetric("LastCheckpointPageWriteOperations").value() != 0;
                 }
             }, 10_000));
 
+            long cpPageWrites = dsMetricRegistry(ig).<LongMetric>findMetric("LastCheckpointPageWriteOperations").value();
+            double cpAvgPagesPerWrite = dsMetricRegistry(ig).<DoubleMetric>findMetric("LastCheckpointAveragePagesPerWrite").value();
+
+            assertTrue(cpPageWrites <= dsMetricRegistry(ig).<LongMetric>findMetric("LastCheckpointTotalPagesNumber").value());
+            assertTrue("Unexpected average pages per write: " + cpAvgPagesPerWrite, cpAvgPagesPerWrite >= 1);
+
             Collection<MetricRegistry> grpRegs = F.viewReadOnly(ig.context().cache().cacheGroups(),
                 ctx -> ig.context().metric().registry(metricName(CACHE_GROUP_METRICS_PREFIX, ctx.cacheOrGroupName())));
 
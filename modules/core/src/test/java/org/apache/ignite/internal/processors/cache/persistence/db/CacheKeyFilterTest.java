@@ -0,0 +1,229 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.db;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cache.affinity.rendezvous.RendezvousAffinityFunction;
+import org.apache.ignite.cluster.ClusterState;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.DataRegionConfiguration;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.IgniteInternalFuture;
+import org.apache.ignite.spi.metric.DoubleMetric;
+import org.apache.ignite.spi.metric.LongMetric;
+import org.apache.ignite.spi.metric.ReadOnlyMetricRegistry;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.WithSystemProperty;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_CACHE_KEY_FILTER_BITS_PER_KEY;
+import static org.apache.ignite.internal.processors.cache.CacheGroupMetricsImpl.CACHE_GROUP_METRICS_PREFIX;
+import static org.apache.ignite.internal.processors.metric.impl.MetricUtils.metricName;
+
+/**
+ * Checks filters of keys of partitions of persistent caches.
+ */
+@WithSystemProperty(key = IGNITE_CACHE_KEY_FILTER_BITS_PER_KEY, value = "10")
+public class CacheKeyFilterTest extends GridCommonAbstractTest {
+    /** Number of keys. */
+    private static final int KEYS = 20_000;
+
+    /** Offset of absent keys. */
+    private static final int ABSENT = 1_000_000;
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        return super.getConfiguration(igniteInstanceName)
+            .setDataStorageConfiguration(new DataStorageConfiguration()
+                .setDefaultDataRegionConfiguration(new DataRegionConfiguration()
+                    .setPersistenceEnabled(true)))
+            .setCacheConfiguration(new CacheConfiguration<>(DEFAULT_CACHE_NAME)
+                .setAffinity(new RendezvousAffinityFunction(false, 8)));
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        stopAllGrids();
+
+        cleanPersistenceDir();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        cleanPersistenceDir();
+
+        super.afterTest();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testLookupsOfAbsentKeys() throws Exception {
+        IgniteEx ig = startGrid(0);
+
+        ig.cluster().state(ClusterState.ACTIVE);
+
+        IgniteCache<Integer, Integer> cache = ig.cache(DEFAULT_CACHE_NAME);
+
+        for (int i = 0; i < KEYS; i++)
+            cache.put(i, i);
+
+        checkLookups(ig, cache);
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testLookupsOfAbsentKeysAfterRestart() throws Exception {
+        IgniteEx ig = startGrid(0);
+
+        ig.cluster().state(ClusterState.ACTIVE);
+
+        IgniteCache<Integer, Integer> cache = ig.cache(DEFAULT_CACHE_NAME);
+
+        for (int i = 0; i < KEYS; i++)
+            cache.put(i, i);
+
+        // Removed keys stay in the filter, but must not be found.
+        for (int i = 0; i < KEYS; i += 10)
+            cache.remove(i);
+
+        forceCheckpoint();
+
+        stopGrid(0);
+
+        ig = startGrid(0);
+
+        ig.cluster().state(ClusterState.ACTIVE);
+
+        cache = ig.cache(DEFAULT_CACHE_NAME);
+
+        for (int i = 0; i < KEYS; i++)
+            assertEquals(i % 10 == 0 ? null : (Integer)i, cache.get(i));
+
+        for (int i = 0; i < KEYS; i += 10)
+            cache.put(i, i);
+
+        checkLookups(ig, cache);
+    }
+
+    /**
+     * Checks that keys inserted concurrently with builds of filters are found.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testConcurrentInserts() throws Exception {
+        IgniteEx ig = startGrid(0);
+
+        ig.cluster().state(ClusterState.ACTIVE);
+
+        IgniteCache<Integer, Integer> cache = ig.cache(DEFAULT_CACHE_NAME);
+
+        AtomicInteger keys = new AtomicInteger();
+        AtomicBoolean stop = new AtomicBoolean();
+
+        // Filters are built on lookups and become stale as keys are inserted, so the lookups keep them rebuilt.
+        IgniteInternalFuture<?> fut = GridTestUtils.runMultiThreadedAsync(() -> {
+            while (!stop.get()) {
+                int key = ABSENT + keys.get();
+
+                assertNull(cache.get(key));
+            }
+        }, 2, "get");
+
+        try {
+            GridTestUtils.runMultiThreaded(() -> {
+                int key;
+
+                while ((key = keys.getAndIncrement()) < KEYS * 2) {
+                    cache.put(key, key);
+
+                    assertEquals((Integer)key, cache.get(key));
+                }
+            }, 4, "put");
+        }
+        finally {
+            stop.set(true);
+        }
+
+        fut.get(getTestTimeout());
+
+        for (int i = 0; i < KEYS * 2; i++)
+            assertEquals((Integer)i, cache.get(i));
+    }
+
+    /**
+     * @param ig Ignite.
+     * @param cache Cache.
+     * @throws Exception If failed.
+     */
+    private void checkLookups(IgniteEx ig, IgniteCache<Integer, Integer> cache) throws Exception {
+        ReadOnlyMetricRegistry mreg = ig.context().metric().registry(
+            metricName(CACHE_GROUP_METRICS_PREFIX, DEFAULT_CACHE_NAME));
+
+        LongMetric negatives = mreg.findMetric("KeyFilterNegatives");
+        LongMetric falsePositives = mreg.findMetric("KeyFilterFalsePositives");
+
+        // Filters are built in background on lookups, and rebuilt when they become stale after inserts.
+        assertTrue(GridTestUtils.waitForCondition(() -> {
+            long negatives0 = negatives.value();
+            long falsePositives0 = falsePositives.value();
+
+            for (int i = 2 * ABSENT; i < 2 * ABSENT + 1000; i++)
+                assertNull(cache.get(i));
+
+            long falsePositives1 = falsePositives.value() - falsePositives0;
+
+            return negatives.value() - negatives0 + falsePositives1 == 1000 && falsePositives1 < 10;
+        }, getTestTimeout()));
+
+        long negatives0 = negatives.value();
+        long falsePositives0 = falsePositives.value();
+
+        for (int i = 0; i < KEYS; i++)
+            assertEquals((Integer)i, cache.get(i));
+
+        for (int i = ABSENT; i < ABSENT + KEYS; i++)
+            assertNull(cache.get(i));
+
+        long negatives1 = negatives.value() - negatives0;
+        long falsePositives1 = falsePositives.value() - falsePositives0;
+
+        assertEquals(KEYS, negatives1 + falsePositives1);
+
+        // Filters are sized for twice as many keys as they have, so the rate is well below 1%.
+        assertTrue("Too many false positives: " + falsePositives1, falsePositives1 < KEYS / 100);
+
+        // The rate also counts lookups made before the filters were rebuilt.
+        double rate = mreg.<DoubleMetric>findMetric("KeyFilterFalsePositiveRate").value();
+
+        assertTrue("Unexpected rate: " + rate, rate >= 0 && rate < 0.5);
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.db;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cache.affinity.rendezvous.RendezvousAffinityFunction;
+import org.apache.ignite.cluster.ClusterState;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.DataRegionConfiguration;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.IgniteInternalFuture;
+import org.apache.ignite.spi.metric.LongMetric;
+import org.apache.ignite.spi.metric.ReadOnlyMetricRegistry;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.WithSystemProperty;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_FREE_LIST_COMPACTION_RATE;
+import static org.apache.ignite.internal.processors.cache.persistence.DataRegionMetricsImpl.DATAREGION_METRICS_PREFIX;
+import static org.apache.ignite.internal.processors.metric.impl.MetricUtils.metricName;
+
+/**
+ * Checks online compaction of free lists of partitions of persistent caches.
+ */
+@WithSystemProperty(key = IGNITE_FREE_LIST_COMPACTION_RATE, value = "10485760")
+public class FreeListCompactionTest extends GridCommonAbstractTest {
+    /** Number of keys. */
+    private static final int KEYS = 20_000;
+
+    /** Group cache name. */
+    private static final String GRP_CACHE_NAME = "grp-cache";
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        return super.getConfiguration(igniteInstanceName)
+            .setDataStorageConfiguration(new DataStorageConfiguration()
+                .setDefaultDataRegionConfiguration(new DataRegionConfiguration()
+                    .setPersistenceEnabled(true)
+                    .setMetricsEnabled(true)))
+            .setCacheConfiguration(
+                new CacheConfiguration<>(DEFAULT_CACHE_NAME)
+                    .setAffinity(new RendezvousAffinityFunction(false, 8)),
+                new CacheConfiguration<>(GRP_CACHE_NAME)
+                    .setGroupName("grp")
+                    .setAffinity(new RendezvousAffinityFunction(false, 8)));
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        stopAllGrids();
+
+        cleanPersistenceDir();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        cleanPersistenceDir();
+
+        super.afterTest();
+    }
+
+    /**
+     * Checks that rows are moved out of sparse pages under concurrent updates and the data survives a restart.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testCompaction() throws Exception {
+        IgniteEx ig = startGrid(0);
+
+        ig.cluster().state(ClusterState.ACTIVE);
+
+        IgniteCache<Integer, byte[]> cache = ig.cache(DEFAULT_CACHE_NAME);
+        IgniteCache<Integer, byte[]> grpCache = ig.cache(GRP_CACHE_NAME);
+
+        Map<Integer, Integer> vals = new ConcurrentHashMap<>();
+
+        for (int i = 0; i < KEYS; i++) {
+            cache.put(i, value(i, 0));
+            grpCache.put(i, value(i, 0));
+
+            vals.put(i, 0);
+        }
+
+        // Leave a few rows in each data page.
+        for (int i = 0; i < KEYS; i++) {
+            if (i % 5 != 0) {
+                cache.remove(i);
+                grpCache.remove(i);
+
+                vals.remove(i);
+            }
+        }
+
+        ReadOnlyMetricRegistry mreg = ig.context().metric().registry(
+            metricName(DATAREGION_METRICS_PREFIX, "default"));
+
+        LongMetric reclaimed = mreg.findMetric("FreeListCompactionReclaimedPages");
+        LongMetric moved = mreg.findMetric("FreeListCompactionMovedRows");
+
+        AtomicBoolean stop = new AtomicBoolean();
+
+        // Updates of the remaining keys race with moves of their rows.
+        IgniteInternalFuture<?> fut = GridTestUtils.runMultiThreadedAsync(() -> {
+            ThreadLocalRandom rnd = ThreadLocalRandom.current();
+
+            while (!stop.get()) {
+                int key = rnd.nextInt(KEYS / 5) * 5;
+
+                synchronized (vals) {
+                    int val = rnd.nextInt(100);
+
+                    cache.put(key, value(key, val));
+
+                    vals.put(key, val);
+                }
+            }
+        }, 2, "update");
+
+        try {
+            assertTrue(GridTestUtils.waitForCondition(() -> reclaimed.value() > 100, getTestTimeout()));
+        }
+        finally {
+            stop.set(true);
+        }
+
+        fut.get(getTestTimeout());
+
+        assertTrue(moved.value() > 0);
+
+        checkData(cache, vals);
+        checkData(grpCache, null);
+
+        forceCheckpoint();
+
+        stopGrid(0);
+
+        ig = startGrid(0);
+
+        ig.cluster().state(ClusterState.ACTIVE);
+
+        checkData(ig.cache(DEFAULT_CACHE_NAME), vals);
+        checkData(ig.cache(GRP_CACHE_NAME), null);
+    }
+
+    /**
+     * @param cache Cache.
+     * @param vals Values of keys or {@code null} if keys keep initial values.
+     */
+    private void checkData(IgniteCache<Integer, byte[]> cache, Map<Integer, Integer> vals) {
+        assertEquals(KEYS / 5, cache.size());
+
+        for (int i = 0; i < KEYS; i++) {
+            byte[] val = cache.get(i);
+
+            if (i % 5 != 0)
+                assertNull(val);
+            else
+                assertTrue("Unexpected value of key " + i, Arrays.equals(value(i, vals == null ? 0 : vals.get(i)), val));
+        }
+    }
+
+    /**
+     * @param key Key.
+     * @param val Value seed.
+     * @return Value of variable size.
+     */
+    private static byte[] value(int key, int val) {
+        byte[] res = new byte[100 + key % 200];
+
+        Arrays.fill(res, (byte)val);
+
+        return res;
+    }
+}
@@ -60,6 +60,7 @@ import static org.apache.ignite.internal.processors.cache.persistence.DataRegion
 import static org.apache.ignite.internal.processors.cache.persistence.filename.NodeFileTree.partId;
 import static org.apache.ignite.internal.processors.cache.persistence.metastorage.MetaStorage.METASTORAGE_CACHE_ID;
 import static org.apache.ignite.internal.processors.cache.persistence.metastorage.MetaStorage.METASTORAGE_CACHE_NAME;
+import static org.apache.ignite.internal.processors.metric.impl.MetricUtils.cacheGroupMetricsRegistryName;
 import static org.apache.ignite.internal.processors.metric.impl.MetricUtils.metricName;
 
 /**
@@ -363,6 +364,65 @@ public class IgnitePdsDataRegionMetricsTest extends GridCommonAbstractTest {
         assertTrue(replPagesTime.value() > 0);
     }
 
+    /**
+     * Checks that page reads, hits and replacements are attributed to the cache group owning the page.
+     */
+    @Test
+    public void testCacheGroupPageMetrics() throws Exception {
+        int cnt = 100;
+
+        IgniteEx ignite = startGrid();
+
+        ignite.cluster().state(ClusterState.ACTIVE);
+
+        IgniteCache<Object, Object> cache1 = ignite.getOrCreateCache(new CacheConfiguration<>("smallRegionCache1")
+            .setGroupName("grp1")
+            .setDataRegionName(SMALL_REGION));
+
+        IgniteCache<Object, Object> cache2 = ignite.getOrCreateCache(new CacheConfiguration<>("smallRegionCache2")
+            .setGroupName("grp2")
+            .setDataRegionName(SMALL_REGION));
+
+        for (int i = 0; i < cnt; i++) {
+            cache1.put(i, i);
+            cache2.put(i, i);
+        }
+
+        ignite.cluster().state(ClusterState.INACTIVE);
+
+        ignite.cluster().state(ClusterState.ACTIVE);
+
+        cache1 = ignite.cache("smallRegionCache1");
+
+        ReadOnlyMetricRegistry regMreg = ignite.context().metric().registry(metricName(DATAREGION_METRICS_PREFIX,
+            SMALL_REGION));
+        ReadOnlyMetricRegistry grp1Mreg = ignite.context().metric().registry(cacheGroupMetricsRegistryName("grp1"));
+        ReadOnlyMetricRegistry grp2Mreg = ignite.context().metric().registry(cacheGroupMetricsRegistryName("grp2"));
+
+        long grp1Read = grp1Mreg.<LongMetric>findMetric("PagesRead").value();
+        long grp1Hit = grp1Mreg.<LongMetric>findMetric("PagesHit").value();
+        long grp2Read = grp2Mreg.<LongMetric>findMetric("PagesRead").value();
+        long grp2Hit = grp2Mreg.<LongMetric>findMetric("PagesHit").value();
+
+        for (int i = 0; i < cnt; i++)
+            assertEquals(i, cache1.get(i));
+
+        assertTrue(grp1Mreg.<LongMetric>findMetric("PagesRead").value() > grp1Read);
+        assertTrue(grp1Mreg.<LongMetric>findMetric("PagesHit").value() > grp1Hit);
+        assertEquals(grp2Read, grp2Mreg.<LongMetric>findMetric("PagesRead").value());
+        assertEquals(grp2Hit, grp2Mreg.<LongMetric>findMetric("PagesHit").value());
+
+        // Group counters are included into the region-wide counters.
+        assertTrue(regMreg.<LongMetric>findMetric("PagesRead").value() >=
+            grp1Mreg.<LongMetric>findMetric("PagesRead").value() + grp2Mreg.<LongMetric>findMetric("PagesRead").value());
+
+        for (int i = cnt; regMreg.<LongMetric>findMetric("PagesReplaced").value() == 0; i++)
+            cache1.put(i, new byte[1000]);
+
+        assertTrue(grp1Mreg.<LongMetric>findMetric("PagesReplaced").value() +
+            grp2Mreg.<LongMetric>findMetric("PagesReplaced").value() > 0);
+    }
+
     /**
      * @param ig Ignite.
      */
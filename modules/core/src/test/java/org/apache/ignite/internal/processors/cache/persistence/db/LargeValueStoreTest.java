@@ -0,0 +1,325 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.db;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.cache.affinity.rendezvous.RendezvousAffinityFunction;
+import org.apache.ignite.cluster.ClusterState;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.DataRegionConfiguration;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.processors.cache.persistence.filename.NodeFileTree;
+import org.apache.ignite.internal.util.typedef.F;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.WithSystemProperty;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_LARGE_VALUE_THRESHOLD;
+
+/**
+ * Checks the store of large values of persistent caches.
+ */
+@WithSystemProperty(key = IGNITE_LARGE_VALUE_THRESHOLD, value = "16384")
+public class LargeValueStoreTest extends GridCommonAbstractTest {
+    /** Number of keys. */
+    private static final int KEYS = 200;
+
+    /** Group cache name. */
+    private static final String GRP_CACHE_NAME = "grp-cache";
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        return super.getConfiguration(igniteInstanceName)
+            .setDataStorageConfiguration(new DataStorageConfiguration()
+                .setDefaultDataRegionConfiguration(new DataRegionConfiguration()
+                    .setPersistenceEnabled(true)))
+            .setCacheConfiguration(
+                new CacheConfiguration<>(DEFAULT_CACHE_NAME)
+                    .setAffinity(new RendezvousAffinityFunction(false, 4)),
+                new CacheConfiguration<>(GRP_CACHE_NAME)
+                    .setGroupName("grp")
+                    .setAffinity(new RendezvousAffinityFunction(false, 4)));
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        stopAllGrids();
+
+        cleanPersistenceDir();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        cleanPersistenceDir();
+
+        super.afterTest();
+    }
+
+    /**
+     * Checks that large and small values are read after updates, removes and restarts with and without a checkpoint.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testLargeValues() throws Exception {
+        IgniteEx ig = startGrid(0);
+
+        ig.cluster().state(ClusterState.ACTIVE);
+
+        IgniteCache<Integer, byte[]> cache = ig.cache(DEFAULT_CACHE_NAME);
+        IgniteCache<Integer, byte[]> grpCache = ig.cache(GRP_CACHE_NAME);
+
+        Map<Integer, Integer> vals = new HashMap<>();
+
+        for (int i = 0; i < KEYS; i++) {
+            cache.put(i, value(i, 0));
+            grpCache.put(i, value(i, 0));
+
+            vals.put(i, 0);
+        }
+
+        checkData(cache, vals);
+
+        forceCheckpoint();
+
+        assertFalse(F.isEmpty(largeValuesFiles(ig, DEFAULT_CACHE_NAME)));
+
+        for (int i = 0; i < KEYS; i++) {
+            if (i % 4 == 0) {
+                cache.remove(i);
+
+                vals.remove(i);
+            }
+            else if (i % 2 == 0) {
+                cache.put(i, value(i, 1));
+
+                vals.put(i, 1);
+            }
+        }
+
+        checkData(cache, vals);
+
+        forceCheckpoint();
+
+        stopGrid(0);
+
+        ig = startGrid(0);
+
+        ig.cluster().state(ClusterState.ACTIVE);
+
+        checkData(ig.cache(DEFAULT_CACHE_NAME), vals);
+        checkData(ig.cache(GRP_CACHE_NAME), null);
+
+        // Updates after the last checkpoint are restored from WAL.
+        for (int i = 0; i < KEYS; i += 3) {
+            ig.cache(DEFAULT_CACHE_NAME).put(i, value(i, 2));
+
+            vals.put(i, 2);
+        }
+
+        stopGrid(0, true);
+
+        ig = startGrid(0);
+
+        ig.cluster().state(ClusterState.ACTIVE);
+
+        checkData(ig.cache(DEFAULT_CACHE_NAME), vals);
+        checkData(ig.cache(GRP_CACHE_NAME), null);
+
+        ig.destroyCache(DEFAULT_CACHE_NAME);
+
+        IgniteEx ig0 = ig;
+
+        assertTrue(GridTestUtils.waitForCondition(() -> F.isEmpty(largeValuesFiles(ig0, DEFAULT_CACHE_NAME)),
+            getTestTimeout()));
+    }
+
+    /**
+     * Checks that space of removed and updated values is reused after checkpoints, also after a restart.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testSpaceOfRemovedValuesReused() throws Exception {
+        IgniteEx ig = startGrid(0);
+
+        ig.cluster().state(ClusterState.ACTIVE);
+
+        Map<Integer, Integer> vals = new HashMap<>();
+
+        for (int i = 0; i < KEYS; i++) {
+            ig.cache(DEFAULT_CACHE_NAME).put(i, value(i, 0));
+
+            vals.put(i, 0);
+        }
+
+        forceCheckpoint();
+
+        long size = largeValuesSize(ig, DEFAULT_CACHE_NAME);
+
+        assertTrue(size > 0);
+
+        int seed = 1;
+
+        for (; seed <= 5; seed++)
+            updateLargeValues(ig, vals, seed);
+
+        // Each update releases extents of a half of values, they are reused after the checkpoint of the update,
+        // so the files keep live values, values released by the last update and gaps between extents.
+        long maxSize = size * 5 / 2;
+
+        assertTrue("Space of removed values is not reused [initial=" + size + ", size=" +
+            largeValuesSize(ig, DEFAULT_CACHE_NAME) + ']', largeValuesSize(ig, DEFAULT_CACHE_NAME) <= maxSize);
+
+        stopGrid(0, true);
+
+        ig = startGrid(0);
+
+        ig.cluster().state(ClusterState.ACTIVE);
+
+        checkData(ig.cache(DEFAULT_CACHE_NAME), vals);
+
+        for (; seed <= 10; seed++)
+            updateLargeValues(ig, vals, seed);
+
+        assertTrue("Space of values removed before a restart is not reused [initial=" + size + ", size=" +
+            largeValuesSize(ig, DEFAULT_CACHE_NAME) + ']', largeValuesSize(ig, DEFAULT_CACHE_NAME) <= maxSize);
+
+        stopGrid(0);
+
+        ig = startGrid(0);
+
+        ig.cluster().state(ClusterState.ACTIVE);
+
+        checkData(ig.cache(DEFAULT_CACHE_NAME), vals);
+    }
+
+    /**
+     * Checks that a dump of a cache storing large values is created and a snapshot is rejected.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testSnapshotRejected() throws Exception {
+        IgniteEx ig = startGrid(0);
+
+        ig.cluster().state(ClusterState.ACTIVE);
+
+        for (int i = 0; i < KEYS; i += 10)
+            ig.cache(DEFAULT_CACHE_NAME).put(i, value(i, 0));
+
+        ig.snapshot().createDump("dump", null).get();
+
+        GridTestUtils.assertThrowsAnyCause(log, () -> ig.snapshot().createSnapshot("snp").get(),
+            IgniteCheckedException.class, "Snapshots of cache groups storing large values out of data pages are not " +
+                "supported");
+    }
+
+    /**
+     * Updates every other key, the half of them is removed and put back.
+     *
+     * @param ig Ignite.
+     * @param vals Values of keys.
+     * @param seed Value seed.
+     * @throws Exception If failed.
+     */
+    private void updateLargeValues(IgniteEx ig, Map<Integer, Integer> vals, int seed) throws Exception {
+        IgniteCache<Integer, byte[]> cache = ig.cache(DEFAULT_CACHE_NAME);
+
+        for (int i = seed % 2; i < KEYS; i += 2) {
+            if (i % 4 < 2)
+                cache.remove(i);
+
+            cache.put(i, value(i, seed));
+
+            vals.put(i, seed);
+        }
+
+        forceCheckpoint();
+    }
+
+    /**
+     * @param ig Ignite.
+     * @param cacheName Cache name.
+     * @return Total size of files of large values of the cache.
+     */
+    private long largeValuesSize(IgniteEx ig, String cacheName) {
+        long size = 0;
+
+        for (File f : largeValuesFiles(ig, cacheName))
+            size += f.length();
+
+        return size;
+    }
+
+    /**
+     * @param cache Cache.
+     * @param vals Values of keys or {@code null} if keys keep initial values.
+     */
+    private void checkData(IgniteCache<Integer, byte[]> cache, Map<Integer, Integer> vals) {
+        assertEquals(vals == null ? KEYS : vals.size(), cache.size());
+
+        for (int i = 0; i < KEYS; i++) {
+            byte[] val = cache.get(i);
+
+            if (vals != null && !vals.containsKey(i))
+                assertNull(val);
+            else
+                assertTrue("Unexpected value of key " + i, Arrays.equals(value(i, vals == null ? 0 : vals.get(i)), val));
+        }
+    }
+
+    /**
+     * @param ig Ignite.
+     * @param cacheName Cache name.
+     * @return Files of large values of the cache.
+     */
+    private File[] largeValuesFiles(IgniteEx ig, String cacheName) {
+        NodeFileTree ft = ig.context().pdsFolderResolver().fileTree();
+
+        return ft.defaultCacheStorage(new CacheConfiguration<>(cacheName)).listFiles(NodeFileTree::largeValuesFile);
+    }
+
+    /**
+     * @param key Key.
+     * @param val Value seed.
+     * @return Value, every third value is smaller than the threshold of large values.
+     */
+    private static byte[] value(int key, int val) {
+        Random rnd = new Random(key * 31L + val);
+
+        byte[] res = new byte[key % 3 == 0 ? 100 + key : 16384 + rnd.nextInt(2 * 1024 * 1024)];
+
+        rnd.nextBytes(res);
+
+        return res;
+    }
+}
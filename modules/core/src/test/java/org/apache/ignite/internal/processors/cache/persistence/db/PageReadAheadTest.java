@@ -0,0 +1,289 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.db;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.OpenOption;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.cache.Cache;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.IgniteDataStreamer;
+import org.apache.ignite.cache.affinity.rendezvous.RendezvousAffinityFunction;
+import org.apache.ignite.cache.query.ScanQuery;
+import org.apache.ignite.cluster.ClusterState;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.DataRegionConfiguration;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.IgniteInternalFuture;
+import org.apache.ignite.internal.processors.cache.persistence.file.FileIO;
+import org.apache.ignite.internal.processors.cache.persistence.file.FileIODecorator;
+import org.apache.ignite.internal.processors.cache.persistence.file.FileIOFactory;
+import org.apache.ignite.internal.processors.cache.persistence.file.RandomAccessFileIOFactory;
+import org.apache.ignite.spi.metric.LongMetric;
+import org.apache.ignite.spi.metric.ReadOnlyMetricRegistry;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.WithSystemProperty;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_PAGE_READ_AHEAD_WINDOW;
+import static org.apache.ignite.configuration.DataStorageConfiguration.DFLT_DATA_REG_DEFAULT_NAME;
+import static org.apache.ignite.internal.processors.cache.persistence.DataRegionMetricsImpl.DATAREGION_METRICS_PREFIX;
+import static org.apache.ignite.internal.processors.metric.impl.MetricUtils.metricName;
+
+/**
+ * Checks read-ahead of sequentially read partitions.
+ */
+public class PageReadAheadTest extends GridCommonAbstractTest {
+    /** Number of keys. */
+    private static final int KEYS = 50_000;
+
+    /** Value size. */
+    private static final int VAL_SIZE = 500;
+
+    /** Number of bytes read from partition files. */
+    private static final AtomicLong partBytesRead = new AtomicLong();
+
+    /** Data region size. */
+    private long regionSize = 256L * 1024 * 1024;
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        return super.getConfiguration(igniteInstanceName)
+            .setDataStorageConfiguration(new DataStorageConfiguration()
+                .setFileIOFactory(new CountingFileIOFactory())
+                .setDefaultDataRegionConfiguration(new DataRegionConfiguration()
+                    .setMaxSize(regionSize)
+                    .setMetricsEnabled(true)
+                    .setPersistenceEnabled(true)))
+            .setCacheConfiguration(new CacheConfiguration<>(DEFAULT_CACHE_NAME)
+                .setAffinity(new RendezvousAffinityFunction(false, 8)));
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        stopAllGrids();
+
+        cleanPersistenceDir();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        cleanPersistenceDir();
+
+        super.afterTest();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    @WithSystemProperty(key = IGNITE_PAGE_READ_AHEAD_WINDOW, value = "32")
+    public void testScanReadAhead() throws Exception {
+        IgniteEx ig = startLoadAndRestart();
+
+        checkData(ig.cache(DEFAULT_CACHE_NAME));
+
+        ReadOnlyMetricRegistry mreg = regionMetrics(ig);
+
+        long readAhead = mreg.<LongMetric>findMetric("ReadAheadPages").value();
+        long readAheadHit = mreg.<LongMetric>findMetric("ReadAheadPagesHit").value();
+
+        assertTrue("Pages are not loaded ahead", readAhead > 0);
+        assertTrue("Loaded ahead pages are not accessed", readAheadHit > 0);
+        assertTrue(readAheadHit <= readAhead);
+    }
+
+    /**
+     * Checks that a page loaded ahead is read from disk once.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    @WithSystemProperty(key = IGNITE_PAGE_READ_AHEAD_WINDOW, value = "32")
+    public void testReadAheadReadsPageOnce() throws Exception {
+        IgniteEx ig = startLoadAndRestart();
+
+        ReadOnlyMetricRegistry mreg = regionMetrics(ig);
+
+        long pagesRead0 = mreg.<LongMetric>findMetric("PagesRead").value();
+        long bytesRead0 = partBytesRead.get();
+
+        checkData(ig.cache(DEFAULT_CACHE_NAME));
+
+        long pagesRead = mreg.<LongMetric>findMetric("PagesRead").value() - pagesRead0;
+        long diskPagesRead = (partBytesRead.get() - bytesRead0) / ig.dataRegionMetrics(DFLT_DATA_REG_DEFAULT_NAME)
+            .getPageSize();
+        long readAhead = mreg.<LongMetric>findMetric("ReadAheadPages").value();
+
+        assertTrue(readAhead > 0);
+
+        // Pages read ahead but not loaded, because they were loaded concurrently, are read from disk twice.
+        assertTrue("Pages are read from disk twice [pagesRead=" + pagesRead + ", diskPagesRead=" + diskPagesRead +
+            ", readAhead=" + readAhead + ']', diskPagesRead - pagesRead < readAhead / 10);
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testReadAheadDisabledByDefault() throws Exception {
+        IgniteEx ig = startLoadAndRestart();
+
+        checkData(ig.cache(DEFAULT_CACHE_NAME));
+
+        assertEquals(0, regionMetrics(ig).<LongMetric>findMetric("ReadAheadPages").value());
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    @WithSystemProperty(key = IGNITE_PAGE_READ_AHEAD_WINDOW, value = "32")
+    public void testReadAheadWithPageReplacement() throws Exception {
+        regionSize = 20L * 1024 * 1024;
+
+        IgniteEx ig = startLoadAndRestart();
+
+        IgniteCache<Integer, byte[]> cache = ig.cache(DEFAULT_CACHE_NAME);
+
+        AtomicBoolean stop = new AtomicBoolean();
+
+        IgniteInternalFuture<?> updateFut = GridTestUtils.runMultiThreadedAsync(() -> {
+            while (!stop.get()) {
+                int key = ThreadLocalRandom.current().nextInt(KEYS);
+
+                cache.put(key, value(key));
+            }
+        }, 2, "updater");
+
+        try {
+            for (int i = 0; i < 3; i++)
+                checkData(cache);
+        }
+        finally {
+            stop.set(true);
+        }
+
+        updateFut.get();
+
+        ReadOnlyMetricRegistry mreg = regionMetrics(ig);
+
+        assertTrue(mreg.<LongMetric>findMetric("PagesReplaced").value() > 0);
+        assertTrue(mreg.<LongMetric>findMetric("ReadAheadPages").value() > 0);
+    }
+
+    /**
+     * Starts a node, loads data and restarts the node, so data pages are read from disk.
+     *
+     * @return Restarted node.
+     * @throws Exception If failed.
+     */
+    private IgniteEx startLoadAndRestart() throws Exception {
+        IgniteEx ig = startGrid(0);
+
+        ig.cluster().state(ClusterState.ACTIVE);
+
+        try (IgniteDataStreamer<Integer, byte[]> streamer = ig.dataStreamer(DEFAULT_CACHE_NAME)) {
+            for (int i = 0; i < KEYS; i++)
+                streamer.addData(i, value(i));
+        }
+
+        stopGrid(0);
+
+        return startGrid(0);
+    }
+
+    /**
+     * Checks all entries by a scan query.
+     *
+     * @param cache Cache.
+     */
+    private void checkData(IgniteCache<Integer, byte[]> cache) {
+        int cnt = 0;
+
+        for (Cache.Entry<Integer, byte[]> e : cache.query(new ScanQuery<Integer, byte[]>())) {
+            assertEquals(VAL_SIZE, e.getValue().length);
+            assertEquals((byte)(int)e.getKey(), e.getValue()[0]);
+
+            cnt++;
+        }
+
+        assertEquals(KEYS, cnt);
+    }
+
+    /**
+     * @param key Key.
+     * @return Value.
+     */
+    private static byte[] value(int key) {
+        byte[] val = new byte[VAL_SIZE];
+
+        val[0] = (byte)key;
+
+        return val;
+    }
+
+    /**
+     * Factory of file IO counting bytes read from partition files.
+     */
+    private static class CountingFileIOFactory implements FileIOFactory {
+        /** */
+        private static final long serialVersionUID = 0L;
+
+        /** */
+        private final FileIOFactory delegate = new RandomAccessFileIOFactory();
+
+        /** {@inheritDoc} */
+        @Override public FileIO create(File file, OpenOption... modes) throws IOException {
+            FileIO fileIO = delegate.create(file, modes);
+
+            if (!file.getName().startsWith("part-"))
+                return fileIO;
+
+            return new FileIODecorator(fileIO) {
+                @Override public int read(ByteBuffer destBuf, long position) throws IOException {
+                    int read = super.read(destBuf, position);
+
+                    if (read > 0)
+                        partBytesRead.addAndGet(read);
+
+                    return read;
+                }
+            };
+        }
+    }
+
+    /**
+     * @param ig Node.
+     * @return Default data region metrics.
+     */
+    private static ReadOnlyMetricRegistry regionMetrics(IgniteEx ig) {
+        return ig.context().metric().registry(metricName(DATAREGION_METRICS_PREFIX, DFLT_DATA_REG_DEFAULT_NAME));
+    }
+}
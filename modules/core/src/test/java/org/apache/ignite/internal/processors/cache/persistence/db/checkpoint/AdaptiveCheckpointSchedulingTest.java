@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.db.checkpoint;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cluster.ClusterState;
+import org.apache.ignite.configuration.DataRegionConfiguration;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.IgniteInternalFuture;
+import org.apache.ignite.metric.MetricRegistry;
+import org.apache.ignite.spi.metric.LongMetric;
+import org.apache.ignite.testframework.junits.WithSystemProperty;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_CHECKPOINT_ADAPTIVE_SCHEDULING;
+import static org.apache.ignite.internal.processors.cache.persistence.DataStorageMetricsImpl.DATASTORAGE_METRIC_PREFIX;
+import static org.apache.ignite.testframework.GridTestUtils.runAsync;
+import static org.apache.ignite.testframework.GridTestUtils.waitForCondition;
+
+/**
+ * Checks that checkpoints are started before the checkpoint frequency timeout under load
+ * if adaptive checkpoint scheduling is enabled.
+ */
+public class AdaptiveCheckpointSchedulingTest extends GridCommonAbstractTest {
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        return super.getConfiguration(igniteInstanceName)
+            .setDataStorageConfiguration(new DataStorageConfiguration()
+                .setCheckpointFrequency(getTestTimeout())
+                .setWalSegmentSize(4 * 1024 * 1024)
+                .setMaxWalArchiveSize(64L * 1024 * 1024)
+                .setDefaultDataRegionConfiguration(new DataRegionConfiguration()
+                    .setMaxSize(64L * 1024 * 1024)
+                    .setPersistenceEnabled(true)));
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        stopAllGrids();
+
+        cleanPersistenceDir();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        cleanPersistenceDir();
+
+        super.afterTest();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    @WithSystemProperty(key = IGNITE_CHECKPOINT_ADAPTIVE_SCHEDULING, value = "true")
+    public void testCheckpointStartedByLoad() throws Exception {
+        IgniteEx ig = startGrid(0);
+
+        ig.cluster().state(ClusterState.ACTIVE);
+
+        MetricRegistry mreg = ig.context().metric().registry(DATASTORAGE_METRIC_PREFIX);
+
+        AtomicBoolean stop = new AtomicBoolean();
+
+        IgniteInternalFuture<?> loadFut = runAsync(() -> load(ig.getOrCreateCache(DEFAULT_CACHE_NAME), stop));
+
+        try {
+            assertTrue(waitForCondition(
+                () -> mreg.<LongMetric>findMetric("CheckpointAdaptiveStartsNumber").value() > 0, 60_000));
+        }
+        finally {
+            stop.set(true);
+        }
+
+        loadFut.get();
+
+        assertTrue(mreg.<LongMetric>findMetric("CheckpointDirtyPagesActualFillRate").value() > 0);
+        assertTrue(mreg.<LongMetric>findMetric("CheckpointWalActualFillRate").value() > 0);
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testDisabledByDefault() throws Exception {
+        IgniteEx ig = startGrid(0);
+
+        ig.cluster().state(ClusterState.ACTIVE);
+
+        AtomicBoolean stop = new AtomicBoolean();
+
+        IgniteInternalFuture<?> loadFut = runAsync(() -> load(ig.getOrCreateCache(DEFAULT_CACHE_NAME), stop));
+
+        doSleep(5_000);
+
+        stop.set(true);
+
+        loadFut.get();
+
+        MetricRegistry mreg = ig.context().metric().registry(DATASTORAGE_METRIC_PREFIX);
+
+        assertEquals(0, mreg.<LongMetric>findMetric("CheckpointAdaptiveStartsNumber").value());
+    }
+
+    /**
+     * Updates the cache until stopped.
+     *
+     * @param cache Cache.
+     * @param stop Stop flag.
+     */
+    private static void load(IgniteCache<Integer, byte[]> cache, AtomicBoolean stop) {
+        for (int i = 0; !stop.get(); i++)
+            cache.put(i % 100_000, new byte[512]);
+    }
+}
@@ -0,0 +1,430 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.db.checkpoint;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cache.affinity.rendezvous.RendezvousAffinityFunction;
+import org.apache.ignite.cluster.ClusterState;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.DataRegionConfiguration;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.pagemem.PageIdAllocator;
+import org.apache.ignite.internal.pagemem.PageIdUtils;
+import org.apache.ignite.internal.pagemem.store.PageStore;
+import org.apache.ignite.internal.processors.cache.persistence.file.FileIO;
+import org.apache.ignite.internal.processors.cache.persistence.file.FileIODecorator;
+import org.apache.ignite.internal.processors.cache.persistence.file.FileIOFactory;
+import org.apache.ignite.internal.processors.cache.persistence.file.FilePageStore;
+import org.apache.ignite.internal.processors.cache.persistence.file.FilePageStoreV2;
+import org.apache.ignite.internal.processors.cache.persistence.file.RandomAccessFileIOFactory;
+import org.apache.ignite.internal.processors.cache.persistence.tree.io.DataPageIO;
+import org.apache.ignite.internal.processors.cache.persistence.tree.io.PageIO;
+import org.apache.ignite.internal.processors.cache.persistence.wal.crc.FastCrc;
+import org.apache.ignite.internal.processors.cache.persistence.wal.crc.IgniteDataIntegrityViolationException;
+import org.apache.ignite.internal.util.GridUnsafe;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.metric.MetricRegistry;
+import org.apache.ignite.spi.metric.LongMetric;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.WithSystemProperty;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_CHECKPOINT_DELTA_WRITES;
+import static org.apache.ignite.internal.processors.cache.persistence.DataStorageMetricsImpl.DATASTORAGE_METRIC_PREFIX;
+
+/**
+ * Checks that sparse page updates are written by checkpoint as delta records and the delta records are applied
+ * when pages are read.
+ */
+public class CheckpointDeltaWritesTest extends GridCommonAbstractTest {
+    /** Number of keys. */
+    private static final int KEYS = 20_000;
+
+    /** Page size of stores created by tests. */
+    private static final int PAGE_SIZE = 4096;
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        return super.getConfiguration(igniteInstanceName)
+            .setDataStorageConfiguration(new DataStorageConfiguration()
+                .setMetricsEnabled(true)
+                .setCheckpointFrequency(getTestTimeout())
+                .setDefaultDataRegionConfiguration(new DataRegionConfiguration()
+                    .setMaxSize(64L * 1024 * 1024)
+                    .setPersistenceEnabled(true)))
+            .setCacheConfiguration(new CacheConfiguration<>(DEFAULT_CACHE_NAME)
+                .setAffinity(new RendezvousAffinityFunction(false, 8)));
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        stopAllGrids();
+
+        cleanPersistenceDir();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        cleanPersistenceDir();
+
+        super.afterTest();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    @WithSystemProperty(key = IGNITE_CHECKPOINT_DELTA_WRITES, value = "true")
+    public void testDeltaRecordsAppliedAfterRestart() throws Exception {
+        IgniteEx ig = startGrid(0);
+
+        ig.cluster().state(ClusterState.ACTIVE);
+
+        Map<Integer, Long> expected = load(ig);
+
+        assertTrue(deltaFilesCount() > 0);
+
+        stopGrid(0);
+
+        ig = startGrid(0);
+
+        checkData(ig.cache(DEFAULT_CACHE_NAME), expected);
+
+        // Values are changed entirely, so delta records are merged into partition files.
+        for (int i = 0; i < KEYS; i++) {
+            ig.cache(DEFAULT_CACHE_NAME).put(i, (long)-i);
+
+            expected.put(i, (long)-i);
+        }
+
+        forceCheckpoint();
+
+        stopGrid(0);
+
+        ig = startGrid(0);
+
+        checkData(ig.cache(DEFAULT_CACHE_NAME), expected);
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    @WithSystemProperty(key = IGNITE_CHECKPOINT_DELTA_WRITES, value = "true")
+    public void testSnapshot() throws Exception {
+        IgniteEx ig = startGrid(0);
+
+        ig.cluster().state(ClusterState.ACTIVE);
+
+        Map<Integer, Long> expected = load(ig);
+
+        ig.snapshot().createSnapshot("snp").get(getTestTimeout());
+
+        for (int i = 0; i < KEYS; i += 10)
+            ig.cache(DEFAULT_CACHE_NAME).put(i, 0L);
+
+        forceCheckpoint();
+
+        ig.destroyCache(DEFAULT_CACHE_NAME);
+
+        awaitPartitionMapExchange();
+
+        ig.snapshot().restoreSnapshot("snp", null).get(getTestTimeout());
+
+        checkData(ig.cache(DEFAULT_CACHE_NAME), expected);
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testDisabledByDefault() throws Exception {
+        IgniteEx ig = startGrid(0);
+
+        ig.cluster().state(ClusterState.ACTIVE);
+
+        load(ig);
+
+        assertEquals(0, deltaFilesCount());
+    }
+
+    /**
+     * Checks that delta records of a page are not applied after a crash to the page written entirely after them.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testCrashAfterFullPageWrite() throws Exception {
+        CrashingFileIOFactory factory = new CrashingFileIOFactory();
+
+        Path path = storePath();
+
+        FilePageStore store = new FilePageStoreV2(PageStore.TYPE_DATA, () -> path, factory, PAGE_SIZE, val -> {});
+
+        long pageId = PageIdUtils.pageId(0, PageIdAllocator.FLAG_DATA, (int)store.allocatePage());
+
+        ByteBuffer page = page(pageId, 0);
+
+        store.write(pageId, page, 0, true);
+
+        // Delta record of a page chunk is forced to the disk.
+        page.rewind().put(PAGE_SIZE - 1, (byte)(page.get(PAGE_SIZE - 1) + 1));
+
+        assertTrue(store.writeDelta(pageId, page, 1 << PageStore.DELTA_CHUNKS - 1, 0));
+
+        store.sync();
+
+        // Page is written entirely, the crash happens before the next sync.
+        ByteBuffer newPage = page(pageId, 1);
+
+        store.write(pageId, newPage, 0, true);
+
+        factory.crash();
+
+        store.stop(false);
+
+        factory.restore();
+
+        store = new FilePageStoreV2(PageStore.TYPE_DATA, () -> path, factory, PAGE_SIZE, val -> {});
+
+        ByteBuffer buf = ByteBuffer.allocateDirect(PAGE_SIZE).order(ByteOrder.nativeOrder());
+
+        assertTrue(store.read(pageId, buf, false));
+
+        assertEquals(newPage.rewind(), buf.rewind());
+
+        store.stop(true);
+    }
+
+    /**
+     * Checks that delta records of a page are not applied to other content of the page than they were written for.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testDeltaRecordsOfOtherPageContent() throws Exception {
+        Path path = storePath();
+
+        FilePageStore store = new FilePageStoreV2(PageStore.TYPE_DATA, () -> path, new RandomAccessFileIOFactory(),
+            PAGE_SIZE, val -> {});
+
+        long pageId = PageIdUtils.pageId(0, PageIdAllocator.FLAG_DATA, (int)store.allocatePage());
+
+        ByteBuffer page = page(pageId, 0);
+
+        store.write(pageId, page, 0, true);
+
+        page.rewind().put(PAGE_SIZE - 1, (byte)(page.get(PAGE_SIZE - 1) + 1));
+
+        assertTrue(store.writeDelta(pageId, page, 1 << PageStore.DELTA_CHUNKS - 1, 0));
+
+        long off = store.pageOffset(pageId);
+
+        store.stop(false);
+
+        // Page content with valid CRC is replaced bypassing the store, like a page written by other store file.
+        ByteBuffer otherPage = page(pageId, 1);
+
+        PageIO.setCrc(otherPage, FastCrc.calcCrc(otherPage, PAGE_SIZE));
+
+        otherPage.rewind();
+
+        try (FileIO io = new RandomAccessFileIOFactory().create(path.toFile())) {
+            io.writeFully(otherPage, off);
+        }
+
+        FilePageStore store0 = new FilePageStoreV2(PageStore.TYPE_DATA, () -> path, new RandomAccessFileIOFactory(),
+            PAGE_SIZE, val -> {});
+
+        ByteBuffer buf = ByteBuffer.allocateDirect(PAGE_SIZE).order(ByteOrder.nativeOrder());
+
+        GridTestUtils.assertThrows(log, () -> store0.read(pageId, buf, false), IgniteDataIntegrityViolationException.class,
+            "CRC validation of delta records failed");
+
+        store0.stop(true);
+    }
+
+    /**
+     * @return Path of a store file created by a test.
+     * @throws Exception If failed.
+     */
+    private Path storePath() throws Exception {
+        File dir = U.resolveWorkDirectory(U.defaultWorkDirectory(), "delta-writes", true);
+
+        return new File(dir, "part-0.bin").toPath();
+    }
+
+    /**
+     * @param pageId Page ID.
+     * @param seed Seed of the page content.
+     * @return Buffer with a data page filled with random bytes.
+     */
+    private static ByteBuffer page(long pageId, int seed) {
+        ByteBuffer buf = ByteBuffer.allocateDirect(PAGE_SIZE).order(ByteOrder.nativeOrder());
+
+        Random rnd = new Random(seed);
+
+        for (int i = PageIO.COMMON_HEADER_END; i < PAGE_SIZE; i++)
+            buf.put(i, (byte)rnd.nextInt());
+
+        DataPageIO.VERSIONS.latest().initNewPage(GridUnsafe.bufferAddress(buf), pageId, PAGE_SIZE, null);
+
+        return buf;
+    }
+
+    /**
+     * Loads data and updates a few keys after checkpoints.
+     *
+     * @param ig Node.
+     * @return Expected cache content.
+     * @throws Exception If failed.
+     */
+    private Map<Integer, Long> load(IgniteEx ig) throws Exception {
+        IgniteCache<Integer, Long> cache = ig.cache(DEFAULT_CACHE_NAME);
+
+        Map<Integer, Long> expected = new HashMap<>();
+
+        for (int i = 0; i < KEYS; i++) {
+            cache.put(i, (long)i);
+
+            expected.put(i, (long)i);
+        }
+
+        forceCheckpoint();
+
+        MetricRegistry mreg = ig.context().metric().registry(DATASTORAGE_METRIC_PREFIX);
+
+        Random rnd = new Random();
+
+        long deltaPages = 0;
+
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 100; i++) {
+                int key = rnd.nextInt(KEYS);
+                long val = rnd.nextLong();
+
+                cache.put(key, val);
+
+                expected.put(key, val);
+            }
+
+            forceCheckpoint();
+
+            deltaPages += mreg.<LongMetric>findMetric("LastCheckpointDeltaPagesNumber").value();
+        }
+
+        assertEquals(deltaFilesCount() > 0, deltaPages > 0);
+
+        return expected;
+    }
+
+    /**
+     * @param cache Cache.
+     * @param expected Expected cache content.
+     */
+    private void checkData(IgniteCache<Integer, Long> cache, Map<Integer, Long> expected) {
+        assertEquals(expected.size(), cache.size());
+
+        for (Map.Entry<Integer, Long> e : expected.entrySet())
+            assertEquals(e.getValue(), cache.get(e.getKey()));
+    }
+
+    /**
+     * Factory of file I/O which can restore the content of files forced to the disk last time, like after a crash.
+     */
+    private static class CrashingFileIOFactory implements FileIOFactory {
+        /** */
+        private static final long serialVersionUID = 0L;
+
+        /** Delegate. */
+        private final FileIOFactory delegate = new RandomAccessFileIOFactory();
+
+        /** Contents of files forced to the disk last time. */
+        private final Map<Path, byte[]> forced = new ConcurrentHashMap<>();
+
+        /** Contents of files to restore. */
+        private Map<Path, byte[]> crashed;
+
+        /** {@inheritDoc} */
+        @Override public FileIO create(File file, OpenOption... modes) throws IOException {
+            return new FileIODecorator(delegate.create(file, modes)) {
+                /** {@inheritDoc} */
+                @Override public void force(boolean withMetadata) throws IOException {
+                    super.force(withMetadata);
+
+                    forced.put(file.toPath(), Files.readAllBytes(file.toPath()));
+                }
+
+                /** {@inheritDoc} */
+                @Override public void force() throws IOException {
+                    force(false);
+                }
+            };
+        }
+
+        /**
+         * Remembers contents of delta files forced to the disk, the store file keeps all writes.
+         */
+        void crash() {
+            crashed = new HashMap<>(forced);
+
+            crashed.keySet().removeIf(p -> !p.getFileName().toString().startsWith("delta-"));
+        }
+
+        /**
+         * Restores contents of delta files remembered on the crash.
+         *
+         * @throws IOException If failed.
+         */
+        void restore() throws IOException {
+            for (Map.Entry<Path, byte[]> e : crashed.entrySet())
+                Files.write(e.getKey(), e.getValue());
+        }
+    }
+
+    /**
+     * @return Number of partition delta files.
+     * @throws Exception If failed.
+     */
+    private long deltaFilesCount() throws Exception {
+        Path workDir = new File(U.defaultWorkDirectory()).toPath();
+
+        try (Stream<Path> files = Files.walk(workDir)) {
+            return files.filter(p -> p.getFileName().toString().startsWith("delta-part-")).count();
+        }
+    }
+}
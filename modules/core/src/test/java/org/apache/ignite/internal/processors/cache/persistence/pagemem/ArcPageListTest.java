@@ -0,0 +1,304 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.pagemem;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.ignite.internal.mem.DirectMemoryProvider;
+import org.apache.ignite.internal.mem.DirectMemoryRegion;
+import org.apache.ignite.internal.mem.unsafe.UnsafeMemoryProvider;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import static org.apache.ignite.internal.processors.cache.persistence.pagemem.ArcPageList.B1;
+import static org.apache.ignite.internal.processors.cache.persistence.pagemem.ArcPageList.B2;
+import static org.apache.ignite.internal.processors.cache.persistence.pagemem.ArcPageList.NULL_IDX;
+import static org.apache.ignite.internal.processors.cache.persistence.pagemem.ArcPageList.T1;
+import static org.apache.ignite.internal.processors.cache.persistence.pagemem.ArcPageList.T2;
+
+/**
+ * Test ARC lists implementation.
+ */
+public class ArcPageListTest extends GridCommonAbstractTest {
+    /** Max pages count. */
+    private static final int MAX_PAGES_CNT = 20;
+
+    /** Cache group ID. */
+    private static final int GRP_ID = 1;
+
+    /** Memory provider. */
+    private static DirectMemoryProvider provider;
+
+    /** Memory region. */
+    private static DirectMemoryRegion region;
+
+    /** ARC lists. */
+    private ArcPageList arc;
+
+    /** Cache capacity. */
+    private int cap;
+
+    /** Resident page ID -> page index. */
+    private final Map<Long, Integer> resident = new HashMap<>();
+
+    /** Page index -> resident page ID. */
+    private final Map<Integer, Long> slots = new HashMap<>();
+
+    /** */
+    @BeforeClass
+    public static void setUp() {
+        provider = new UnsafeMemoryProvider(log);
+        provider.initialize(new long[] {ArcPageList.requiredMemory(MAX_PAGES_CNT)});
+
+        region = provider.nextRegion();
+    }
+
+    /** */
+    @AfterClass
+    public static void tearDown() {
+        provider.shutdown(true);
+    }
+
+    /** */
+    @Test
+    public void testAddAndHit() {
+        init(MAX_PAGES_CNT);
+
+        assertEquals(NULL_IDX, arc.peek());
+
+        for (int i = 0; i < 4; i++)
+            assertFalse(arc.add(i, GRP_ID, 100 + i));
+
+        assertList(T1, 0, 1, 2, 3);
+        assertList(T2);
+
+        arc.moveToTail(1);
+        assertList(T1, 0, 2, 3);
+        assertList(T2, 1);
+
+        arc.moveToTail(0);
+        arc.moveToTail(1);
+        assertList(T1, 2, 3);
+        assertList(T2, 0, 1);
+
+        arc.remove(2);
+        arc.remove(1);
+        assertList(T1, 3);
+        assertList(T2, 0);
+
+        checkInvariants();
+    }
+
+    /** */
+    @Test
+    public void testGhostHitAdaptsTarget() {
+        init(4);
+
+        for (int i = 0; i < 4; i++)
+            access(i);
+
+        // Recently used page is promoted, the least recently used page of T1 is replaced.
+        access(0);
+
+        access(4);
+
+        assertFalse(resident.containsKey(1L));
+        assertList(B1, 1);
+        assertEquals(0, arc.target());
+
+        // Miss on a page from B1 grows target size of T1 and loads the page to T2.
+        access(1);
+
+        assertEquals(1, arc.target());
+        assertEquals(T2, arc.list(resident.get(1L)));
+        assertEquals(0, countGhost(B1, 1));
+        assertList(B1, 2);
+
+        checkInvariants();
+    }
+
+    /** */
+    @Test
+    public void testScanResistance() {
+        init(MAX_PAGES_CNT);
+
+        // Hot pages accessed twice.
+        for (int round = 0; round < 2; round++) {
+            for (long pageId = 0; pageId < 8; pageId++)
+                access(pageId);
+        }
+
+        // One-time scan of a range larger than the cache.
+        for (long pageId = 1000; pageId < 1000 + 10 * MAX_PAGES_CNT; pageId++) {
+            access(pageId);
+
+            checkInvariants();
+        }
+
+        for (long pageId = 0; pageId < 8; pageId++)
+            assertTrue("Hot page replaced by scan: " + pageId, resident.containsKey(pageId));
+    }
+
+    /** */
+    @Test
+    public void testGhostListsLimits() {
+        init(MAX_PAGES_CNT);
+
+        for (int i = 0; i < 50 * MAX_PAGES_CNT; i++) {
+            // Point accesses to a small hot set mixed with repeated scans of a range larger than the cache.
+            long pageId = (i % 2 == 0) ? (i / 2) % 5 : 100 + (i / 2) % (2 * MAX_PAGES_CNT);
+
+            access(pageId);
+
+            checkInvariants();
+        }
+
+        assertTrue(arc.size(B1) + arc.size(B2) > 0);
+
+        for (long pageId = 0; pageId < 5; pageId++)
+            assertTrue("Hot page replaced by scan: " + pageId, resident.containsKey(pageId));
+    }
+
+    /**
+     * Accesses page: moves it to the tail of T2 list if it's resident, loads it otherwise (replacing another page
+     * if there are no free page slots).
+     *
+     * @param pageId Page ID.
+     */
+    private void access(long pageId) {
+        Integer pageIdx = resident.get(pageId);
+
+        if (pageIdx != null) {
+            arc.moveToTail(pageIdx);
+
+            return;
+        }
+
+        if (slots.size() < cap)
+            pageIdx = slots.size();
+        else {
+            pageIdx = arc.peek();
+
+            long victimId = slots.remove(pageIdx);
+
+            resident.remove(victimId);
+
+            arc.evict(pageIdx, GRP_ID, victimId);
+        }
+
+        arc.add(pageIdx, GRP_ID, pageId);
+
+        resident.put(pageId, pageIdx);
+        slots.put(pageIdx, pageId);
+    }
+
+    /**
+     * Creates ARC lists.
+     *
+     * @param cap Cache capacity.
+     */
+    private void init(int cap) {
+        this.cap = cap;
+
+        arc = new ArcPageList(cap, region.address());
+
+        resident.clear();
+        slots.clear();
+    }
+
+    /**
+     * @param list Ghost list.
+     * @param pageId Page ID.
+     * @return Count of ghost entries with the given page ID in the list.
+     */
+    private int countGhost(int list, long pageId) {
+        int cnt = 0;
+
+        for (int idx = arc.headIdx(list); idx != NULL_IDX; idx = arc.ghostNext(idx)) {
+            if (arc.ghostPageId(idx) == pageId)
+                cnt++;
+        }
+
+        return cnt;
+    }
+
+    /**
+     * @param list List.
+     * @param idxs Expected page indexes for resident lists or page IDs for ghost lists, from head to tail.
+     */
+    private void assertList(int list, long... idxs) {
+        boolean ghost = list == B1 || list == B2;
+
+        int curIdx = arc.headIdx(list);
+
+        for (long idx : idxs) {
+            assertTrue(curIdx != NULL_IDX);
+
+            assertEquals(idx, ghost ? arc.ghostPageId(curIdx) : curIdx);
+
+            curIdx = ghost ? arc.ghostNext(curIdx) : arc.next(curIdx);
+        }
+
+        assertEquals(NULL_IDX, curIdx);
+        assertEquals(idxs.length, arc.size(list));
+    }
+
+    /**
+     * Check ARC lists invariants.
+     */
+    private void checkInvariants() {
+        for (int list : new int[] {T1, T2}) {
+            int cnt = 0;
+
+            for (int curIdx = arc.headIdx(list); curIdx != NULL_IDX; curIdx = arc.next(curIdx)) {
+                int prev = arc.prev(curIdx);
+
+                if (prev == NULL_IDX)
+                    assertEquals(arc.headIdx(list), curIdx);
+                else
+                    assertEquals(curIdx, arc.next(prev));
+
+                assertEquals(list, arc.list(curIdx));
+
+                assertTrue(cnt++ <= MAX_PAGES_CNT);
+            }
+
+            assertEquals(cnt, arc.size(list));
+        }
+
+        for (int list : new int[] {B1, B2}) {
+            int cnt = 0;
+
+            for (int curIdx = arc.headIdx(list); curIdx != NULL_IDX; curIdx = arc.ghostNext(curIdx)) {
+                assertEquals(list, arc.ghostList(curIdx));
+
+                assertFalse(resident.containsKey(arc.ghostPageId(curIdx)));
+
+                assertTrue(cnt++ <= MAX_PAGES_CNT);
+            }
+
+            assertEquals(cnt, arc.size(list));
+        }
+
+        assertTrue(arc.size(T1) + arc.size(B1) <= cap);
+        assertTrue(arc.size(B1) + arc.size(B2) <= cap);
+        assertTrue(arc.target() >= 0 && arc.target() <= cap);
+    }
+}
@@ -71,6 +71,15 @@ public class PageIOFreeSizeTest extends GridCommonAbstractTest {
         /** */
         final LongAdderMetric idxPages = new LongAdderMetric("b", null);
 
+        /** */
+        final LongAdderMetric hitPages = new LongAdderMetric("c", null);
+
+        /** */
+        final LongAdderMetric readPages = new LongAdderMetric("d", null);
+
+        /** */
+        final LongAdderMetric replacedPages = new LongAdderMetric("e", null);
+
         @Override public LongAdderMetric totalPages() {
             return totalPages;
         }
@@ -79,6 +88,18 @@ public class PageIOFreeSizeTest extends GridCommonAbstractTest {
             return idxPages;
         }
 
+        @Override public LongAdderMetric hitPages() {
+            return hitPages;
+        }
+
+        @Override public LongAdderMetric readPages() {
+            return readPages;
+        }
+
+        @Override public LongAdderMetric replacedPages() {
+            return replacedPages;
+        }
+
         @Override public void reset() {
             // No-op.
         }
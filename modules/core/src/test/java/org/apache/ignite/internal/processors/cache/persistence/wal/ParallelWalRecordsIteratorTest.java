@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.wal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.internal.pagemem.wal.WALIterator;
+import org.apache.ignite.internal.pagemem.wal.record.MetastoreDataRecord;
+import org.apache.ignite.internal.pagemem.wal.record.WALRecord;
+import org.apache.ignite.internal.util.GridCloseableIteratorAdapter;
+import org.apache.ignite.lang.IgniteBiTuple;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+/**
+ * Tests {@link ParallelWalRecordsIterator}.
+ */
+public class ParallelWalRecordsIteratorTest extends GridCommonAbstractTest {
+    /** Segments count. */
+    private static final int SEGMENTS = 20;
+
+    /** Records count in a segment. */
+    private static final int RECORDS_PER_SEGMENT = 150;
+
+    /** Log records. */
+    private final List<IgniteBiTuple<WALPointer, WALRecord>> recs = new ArrayList<>();
+
+    /** Pointer of the record failed to be read. */
+    private WALPointer failPtr;
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        for (int seg = 0; seg < SEGMENTS; seg++) {
+            for (int i = 0; i < RECORDS_PER_SEGMENT; i++) {
+                WALPointer ptr = new WALPointer(seg, i * 10, 10);
+
+                recs.add(new IgniteBiTuple<>(ptr, new MetastoreDataRecord("key-" + seg + '-' + i, new byte[0])));
+            }
+        }
+    }
+
+    /**
+     * Checks all records are returned in the log order.
+     */
+    @Test
+    public void testRecordsOrder() throws Exception {
+        for (int decoders = 1; decoders <= 4; decoders++) {
+            WALPointer start = recs.get(RECORDS_PER_SEGMENT + 5).get1();
+
+            checkRecords(decoders, start, RECORDS_PER_SEGMENT + 5, recs.size());
+        }
+    }
+
+    /**
+     * Checks iteration stops at the record failed to be read and the error is thrown.
+     */
+    @Test
+    public void testReadError() throws Exception {
+        int failIdx = RECORDS_PER_SEGMENT * 7 + 3;
+
+        failPtr = recs.get(failIdx).get1();
+
+        GridTestUtils.assertThrows(log, () -> {
+            checkRecords(3, recs.get(0).get1(), 0, failIdx);
+
+            return null;
+        }, IgniteCheckedException.class, "Failed to read record");
+    }
+
+    /**
+     * Checks iteration stops at the end of the log without reading further segments.
+     */
+    @Test
+    public void testEndOfLog() throws Exception {
+        int endIdx = RECORDS_PER_SEGMENT * 11;
+
+        recs.subList(endIdx, recs.size()).clear();
+
+        checkRecords(4, recs.get(0).get1(), 0, endIdx);
+    }
+
+    /**
+     * @param decoders Decoders count.
+     * @param start Start pointer.
+     * @param from Index of the first expected record.
+     * @param to Index of the record after the last expected one.
+     * @throws IgniteCheckedException If failed.
+     */
+    private void checkRecords(int decoders, WALPointer start, int from, int to) throws IgniteCheckedException {
+        try (ParallelWalRecordsIterator it = new ParallelWalRecordsIterator(
+            getTestIgniteInstanceName(), start, decoders, TestWalIterator::new)) {
+            for (int i = from; i < to; i++) {
+                assertTrue(it.hasNextX());
+
+                IgniteBiTuple<WALPointer, WALRecord> rec = it.nextX();
+
+                assertEquals(recs.get(i).get1(), rec.get1());
+                assertSame(recs.get(i).get2(), rec.get2());
+                assertEquals(rec.get1(), it.lastRead().orElse(null));
+            }
+
+            assertFalse(it.hasNextX());
+        }
+    }
+
+    /**
+     * Iterates over {@link #recs} from the given pointer.
+     */
+    private class TestWalIterator extends GridCloseableIteratorAdapter<IgniteBiTuple<WALPointer, WALRecord>>
+        implements WALIterator {
+        /** */
+        private static final long serialVersionUID = 0L;
+
+        /** Index of the next record. */
+        private int idx;
+
+        /** Pointer to the last returned record. */
+        private WALPointer lastRead;
+
+        /**
+         * @param start Start pointer.
+         */
+        private TestWalIterator(WALPointer start) {
+            while (idx < recs.size() && recs.get(idx).get1().compareTo(start) < 0)
+                idx++;
+        }
+
+        /** {@inheritDoc} */
+        @Override protected IgniteBiTuple<WALPointer, WALRecord> onNext() {
+            IgniteBiTuple<WALPointer, WALRecord> rec = recs.get(idx++);
+
+            lastRead = rec.get1();
+
+            return rec;
+        }
+
+        /** {@inheritDoc} */
+        @Override protected boolean onHasNext() throws IgniteCheckedException {
+            if (idx < recs.size() && recs.get(idx).get1().equals(failPtr))
+                throw new IgniteCheckedException("Failed to read record: " + failPtr);
+
+            return idx < recs.size();
+        }
+
+        /** {@inheritDoc} */
+        @Override public Optional<WALPointer> lastRead() {
+            return Optional.ofNullable(lastRead);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.database;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.apache.ignite.internal.IgniteInternalFuture;
+import org.apache.ignite.testframework.junits.WithSystemProperty;
+import org.junit.Test;
+
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_BPLUS_TREE_OPTIMISTIC_READS;
+
+/**
+ * Runs B+Tree tests with lookups reading inner pages without taking read locks.
+ */
+@WithSystemProperty(key = IGNITE_BPLUS_TREE_OPTIMISTIC_READS, value = "true")
+public class BPlusTreeOptimisticReadsSelfTest extends BPlusTreeSelfTest {
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testConcurrentLookupsWithSplitsAndMerges() throws Exception {
+        doTestConcurrentLookupsWithSplitsAndMerges(false);
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testConcurrentLookupsWithSplitsAndMergesCanGetRow() throws Exception {
+        doTestConcurrentLookupsWithSplitsAndMerges(true);
+    }
+
+    /**
+     * Races lookups against puts and removes splitting and merging inner pages. Even keys are never removed, so
+     * they must always be found, odd keys are added and removed concurrently.
+     *
+     * @param canGetRow Can get row from inner page.
+     * @throws Exception If failed.
+     */
+    private void doTestConcurrentLookupsWithSplitsAndMerges(boolean canGetRow) throws Exception {
+        MAX_PER_PAGE = 4;
+
+        final TestTree tree = createTestTree(canGetRow);
+
+        final int keys = 20_000;
+
+        for (long k = 0; k < keys; k += 2)
+            tree.put(k);
+
+        final AtomicBoolean done = new AtomicBoolean();
+
+        IgniteInternalFuture<?> writeFut = multithreadedAsync(() -> {
+            ThreadLocalRandom rnd = ThreadLocalRandom.current();
+
+            while (!done.get()) {
+                long k = rnd.nextInt(keys / 2) * 2L + 1;
+
+                if (rnd.nextBoolean())
+                    tree.put(k);
+                else
+                    tree.remove(k);
+            }
+
+            return null;
+        }, 4, "writer");
+
+        IgniteInternalFuture<?> readFut = multithreadedAsync(() -> {
+            ThreadLocalRandom rnd = ThreadLocalRandom.current();
+
+            while (!done.get()) {
+                long k = rnd.nextInt(keys);
+
+                Long res = tree.findOne(k);
+
+                if (k % 2 == 0)
+                    assertEquals(Long.valueOf(k), res);
+                else if (res != null)
+                    assertEquals(k, res.longValue());
+            }
+
+            return null;
+        }, 4, "reader");
+
+        try {
+            doSleep(5_000);
+        }
+        finally {
+            done.set(true);
+        }
+
+        writeFut.get();
+        readFut.get();
+
+        tree.validateTree();
+    }
+}
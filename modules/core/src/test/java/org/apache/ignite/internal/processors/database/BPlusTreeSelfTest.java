@@ -2494,6 +2494,140 @@ public class BPlusTreeSelfTest extends GridCommonAbstractTest {
         assertNoLocks();
     }
 
+    /**
+     * @throws IgniteCheckedException If failed.
+     */
+    @Test
+    public void testBulkLoad() throws IgniteCheckedException {
+        for (int maxPerPage : new int[] {2, 3, 5, 0}) {
+            for (int cnt : new int[] {0, 1, 2, 3, 10, 1000 + rnd.nextInt(1000)}) {
+                MAX_PER_PAGE = maxPerPage;
+
+                TestTree tree = createTestTree(true);
+
+                BPlusTree<Long, Long>.BulkLoad ldr = tree.bulkLoad(0.5 + rnd.nextInt(6) / 10.0);
+
+                assertNotNull(ldr);
+
+                for (long i = 0; i < cnt; i++)
+                    ldr.add(i * 2);
+
+                ldr.finish();
+
+                checkBulkLoaded(tree, cnt);
+            }
+        }
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testBulkLoadParallel() throws Exception {
+        for (int maxPerPage : new int[] {2, 3, 5, 0}) {
+            MAX_PER_PAGE = maxPerPage;
+
+            int cnt = 1000 + rnd.nextInt(1000);
+            int ranges = 2 + rnd.nextInt(7);
+
+            TestTree tree = createTestTree(true);
+
+            BPlusTree<Long, Long>.BulkLoad ldr = tree.bulkLoad(0.5 + rnd.nextInt(6) / 10.0);
+
+            assertNotNull(ldr);
+
+            List<BPlusTree<Long, Long>.BulkLoad.LeafWriter> writers = new ArrayList<>();
+
+            for (int i = 1; i < ranges; i++)
+                writers.add(ldr.leafWriter());
+
+            AtomicInteger rangeIdx = new AtomicInteger();
+
+            // The first range is added to the loader, the others are filled by writers concurrently.
+            GridTestUtils.runMultiThreaded(() -> {
+                int range = rangeIdx.getAndIncrement();
+
+                for (long i = (long)cnt * range / ranges; i < (long)cnt * (range + 1) / ranges; i++) {
+                    if (range == 0)
+                        ldr.add(i * 2);
+                    else
+                        writers.get(range - 1).add(i * 2);
+                }
+
+                return null;
+            }, ranges, "bulk-load");
+
+            for (BPlusTree<Long, Long>.BulkLoad.LeafWriter writer : writers) {
+                while (!ldr.append(writer, 1 + rnd.nextInt(3)))
+                    assertNoLocks();
+            }
+
+            ldr.finish();
+
+            checkBulkLoaded(tree, cnt);
+        }
+    }
+
+    /**
+     * Checks the tree loaded with even numbers and its regular operations.
+     *
+     * @param tree Tree.
+     * @param cnt Number of loaded rows.
+     * @throws IgniteCheckedException If failed.
+     */
+    private void checkBulkLoaded(TestTree tree, int cnt) throws IgniteCheckedException {
+        assertNoLocks();
+
+        tree.validateTree();
+
+        assertEquals(cnt, tree.size());
+
+        GridCursor<Long> cursor = tree.find(null, null);
+
+        for (long i = 0; i < cnt; i++) {
+            assertTrue(cursor.next());
+            assertEquals(i * 2, cursor.get().longValue());
+        }
+
+        assertFalse(cursor.next());
+
+        for (long i = 0; i < cnt; i++) {
+            assertEquals(i * 2, tree.findOne(i * 2).longValue());
+            assertNull(tree.findOne(i * 2 + 1));
+        }
+
+        // Loaded tree must be usable by regular operations.
+        for (long i = 0; i < cnt; i++) {
+            assertNull(tree.put(i * 2 + 1));
+            assertEquals(i * 2, tree.remove(i * 2).longValue());
+        }
+
+        assertNoLocks();
+
+        tree.validateTree();
+
+        assertEquals(cnt, tree.size());
+    }
+
+    /**
+     * @throws IgniteCheckedException If failed.
+     */
+    @Test
+    public void testBulkLoadUnsupported() throws IgniteCheckedException {
+        MAX_PER_PAGE = 1;
+
+        assertNull(createTestTree(true).bulkLoad(1));
+
+        MAX_PER_PAGE = 0;
+
+        TestTree tree = createTestTree(true);
+
+        tree.put(1L);
+
+        GridTestUtils.assertThrows(log, () -> tree.bulkLoad(1), IgniteCheckedException.class,
+            "Bulk load is supported only for an empty tree");
+    }
+
     /**
      * @throws Exception If failed.
      */
@@ -3129,6 +3263,12 @@ public class BPlusTreeSelfTest extends GridCommonAbstractTest {
             return Long.compare(n1, n2);
         }
 
+        /** {@inheritDoc} */
+        @Override protected int compareInPage(BPlusIO<Long> io, long pageAddr, int idx, Long n2)
+            throws IgniteCheckedException {
+            return compare(io, pageAddr, idx, n2);
+        }
+
         /** {@inheritDoc} */
         @Override public Long getRow(BPlusIO<Long> io, long pageAddr, int idx, Object ignore)
             throws IgniteCheckedException {
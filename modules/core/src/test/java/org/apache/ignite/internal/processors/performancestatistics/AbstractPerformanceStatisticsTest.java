@@ -193,6 +193,12 @@ public abstract class AbstractPerformanceStatisticsTest extends GridCommonAbstra
             // No-op.
         }
 
+        /** {@inheritDoc} */
+        @Override public void querySpill(UUID nodeId, GridCacheQueryType type, UUID qryNodeId, long id,
+            long spilledBytes, long spillFiles) {
+            // No-op.
+        }
+
         /** {@inheritDoc} */
         @Override public void queryRows(UUID nodeId, GridCacheQueryType type, UUID qryNodeId, long id, String action,
             long rows) {
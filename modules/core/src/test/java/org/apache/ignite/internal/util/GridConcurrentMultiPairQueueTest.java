@@ -151,4 +151,33 @@ public class GridConcurrentMultiPairQueueTest extends GridCommonAbstractTest {
 
         assertTrue(queue2.initialSize() == arr1.length + arr2.length + arr3.length + arr4.length);
     }
+
+    /** */
+    @Test
+    public void testBatchNextCorrectness() throws Exception {
+        GridTestUtils.runMultiThreaded(() -> {
+            GridConcurrentMultiPairQueue.Result<Integer, Integer> res =
+                new GridConcurrentMultiPairQueue.Result<>();
+
+            Integer[] keys = new Integer[3];
+            Integer[] vals = new Integer[3];
+
+            for (int cnt; (cnt = queue.next(res, keys, vals)) > 0; ) {
+                for (int i = 0; i < cnt; i++) {
+                    assertTrue(mapForCheck.containsKey(keys[i]));
+
+                    assertTrue(mapForCheck.get(keys[i]).remove(vals[i]));
+
+                    Collection<Integer> coll = mapForCheck.get(keys[i]);
+
+                    if (coll != null && coll.isEmpty())
+                        mapForCheck.remove(keys[i], coll);
+                }
+            }
+        }, ThreadLocalRandom.current().nextInt(1, 20), "GridConcurrentMultiPairQueue batch test");
+
+        assertTrue(mapForCheck.isEmpty());
+
+        assertTrue(queue.isEmpty());
+    }
 }
@@ -472,6 +472,160 @@ public class IgniteOffheapReadWriteLockSelfTest extends GridCommonAbstractTest {
         validate(data);
     }
 
+    /**
+     * @throws Exception if failed.
+     */
+    @Test
+    public void testOptimisticRead() throws Exception {
+        OffheapReadWriteLock lock = new OffheapReadWriteLock(16, OffheapReadWriteLock.LOCK_SIZE);
+
+        long ptr = GridUnsafe.allocateMemory(OffheapReadWriteLock.LOCK_SIZE + OffheapReadWriteLock.VERSION_SIZE);
+
+        try {
+            // A lock without the write version does not support optimistic reads.
+            OffheapReadWriteLock noVerLock = new OffheapReadWriteLock(16);
+
+            noVerLock.init(ptr, TAG_0);
+
+            assertFalse(noVerLock.optimisticReads());
+            assertEquals(0, noVerLock.tryOptimisticRead(ptr, TAG_0));
+
+            assertTrue(lock.optimisticReads());
+
+            lock.init(ptr, TAG_0);
+
+            long stamp = lock.tryOptimisticRead(ptr, TAG_0);
+
+            assertTrue(stamp != 0);
+            assertEquals(0, lock.tryOptimisticRead(ptr, TAG_0 + 1));
+            assertTrue(lock.validate(ptr, TAG_0, stamp));
+
+            // Readers do not invalidate optimistic reads.
+            assertTrue(lock.readLock(ptr, TAG_0));
+            assertEquals(stamp, lock.tryOptimisticRead(ptr, TAG_0));
+
+            lock.readUnlock(ptr);
+
+            assertTrue(lock.validate(ptr, TAG_0, stamp));
+
+            assertTrue(lock.writeLock(ptr, TAG_0));
+            assertEquals(0, lock.tryOptimisticRead(ptr, TAG_0));
+            assertFalse(lock.validate(ptr, TAG_0, stamp));
+
+            lock.writeUnlock(ptr, TAG_0);
+
+            assertFalse(lock.validate(ptr, TAG_0, stamp));
+
+            stamp = lock.tryOptimisticRead(ptr, TAG_0);
+
+            assertTrue(lock.validate(ptr, TAG_0, stamp));
+
+            // Tag change.
+            assertTrue(lock.writeLock(ptr, TAG_0));
+
+            lock.writeUnlock(ptr, TAG_0 + 1);
+
+            assertFalse(lock.validate(ptr, TAG_0, stamp));
+            assertFalse(lock.validate(ptr, TAG_0 + 1, stamp));
+
+            // Reinitialization.
+            stamp = lock.tryOptimisticRead(ptr, TAG_0 + 1);
+
+            lock.init(ptr, TAG_0 + 1);
+
+            assertFalse(lock.validate(ptr, TAG_0 + 1, stamp));
+        }
+        finally {
+            GridUnsafe.freeMemory(ptr);
+        }
+    }
+
+    /**
+     * @throws Exception if failed.
+     */
+    @Test
+    public void testConcurrentOptimisticReads() throws Exception {
+        final int numPairs = 100;
+
+        // Lock followed by pairs of longs, sum of each pair is always zero, and by the write version.
+        final OffheapReadWriteLock lock = new OffheapReadWriteLock(16, OffheapReadWriteLock.LOCK_SIZE + numPairs * 16);
+
+        final long ptr = GridUnsafe.allocateMemory(
+            OffheapReadWriteLock.LOCK_SIZE + numPairs * 16 + OffheapReadWriteLock.VERSION_SIZE);
+
+        final long data = ptr + OffheapReadWriteLock.LOCK_SIZE;
+
+        GridUnsafe.zeroMemory(data, numPairs * 16);
+
+        lock.init(ptr, TAG_0);
+
+        final AtomicInteger reads = new AtomicInteger();
+        final AtomicInteger failedReads = new AtomicInteger();
+        final AtomicInteger writes = new AtomicInteger();
+        final AtomicBoolean done = new AtomicBoolean(false);
+
+        try {
+            IgniteInternalFuture<Long> fut = GridTestUtils.runMultiThreadedAsync(new Callable<Object>() {
+                /** {@inheritDoc} */
+                @Override public Object call() {
+                    ThreadLocalRandom rnd = ThreadLocalRandom.current();
+
+                    while (!done.get()) {
+                        if (rnd.nextInt(10) < 2) {
+                            assertTrue(lock.writeLock(ptr, TAG_0));
+
+                            try {
+                                long pair = data + rnd.nextInt(numPairs) * 16L;
+                                long delta = rnd.nextInt(100_000);
+
+                                GridUnsafe.putLong(pair, GridUnsafe.getLong(pair) + delta);
+                                GridUnsafe.putLong(pair + 8, GridUnsafe.getLong(pair + 8) - delta);
+                            }
+                            finally {
+                                lock.writeUnlock(ptr, TAG_0);
+                            }
+
+                            writes.incrementAndGet();
+                        }
+                        else {
+                            long stamp = lock.tryOptimisticRead(ptr, TAG_0);
+
+                            long[] sums = new long[numPairs];
+
+                            for (int i = 0; i < numPairs; i++)
+                                sums[i] = GridUnsafe.getLong(data + i * 16L) + GridUnsafe.getLong(data + i * 16L + 8);
+
+                            if (stamp != 0 && lock.validate(ptr, TAG_0, stamp)) {
+                                for (int i = 0; i < numPairs; i++)
+                                    assertEquals("Failed check for index: " + i, 0, sums[i]);
+
+                                reads.incrementAndGet();
+                            }
+                            else
+                                failedReads.incrementAndGet();
+                        }
+                    }
+
+                    return null;
+                }
+            }, 16, "tester");
+
+            for (int i = 0; i < ROUNDS_PER_TEST; i++) {
+                Thread.sleep(1_000);
+
+                info("Reads: " + reads.getAndSet(0) + ", failed reads: " + failedReads.getAndSet(0) +
+                    ", writes=" + writes.getAndSet(0));
+            }
+
+            done.set(true);
+
+            fut.get();
+        }
+        finally {
+            GridUnsafe.freeMemory(ptr);
+        }
+    }
+
     /**
      * Validates data integrity.
      *
@@ -56,6 +56,7 @@ import org.apache.ignite.internal.processors.cache.MdcCacheReadRequestsRoutingTe
 import org.apache.ignite.internal.processors.cache.RebalanceWithDifferentThreadPoolSizeTest;
 import org.apache.ignite.internal.processors.cache.distributed.IgniteRejectConnectOnNodeStopTest;
 import org.apache.ignite.internal.processors.cache.persistence.defragmentation.LinkMapTest;
+import org.apache.ignite.internal.processors.cache.persistence.pagemem.ArcPageListTest;
 import org.apache.ignite.internal.processors.cache.persistence.pagemem.ClockPageReplacementFlagsTest;
 import org.apache.ignite.internal.processors.cache.persistence.pagemem.ExponentialBackoffTest;
 import org.apache.ignite.internal.processors.cache.persistence.pagemem.PagePoolTest;
@@ -67,10 +68,12 @@ import org.apache.ignite.internal.processors.cache.transactions.TransactionInteg
 import org.apache.ignite.internal.processors.cluster.BaselineAutoAdjustMXBeanTest;
 import org.apache.ignite.internal.processors.configuration.distributed.DistributedConfigurationInMemoryTest;
 import org.apache.ignite.internal.processors.database.BPlusTreeFakeReuseSelfTest;
+import org.apache.ignite.internal.processors.database.BPlusTreeOptimisticReadsSelfTest;
 import org.apache.ignite.internal.processors.database.BPlusTreeReplaceRemoveRaceTest;
 import org.apache.ignite.internal.processors.database.BPlusTreeReuseSelfTest;
 import org.apache.ignite.internal.processors.database.BPlusTreeSelfTest;
 import org.apache.ignite.internal.processors.database.CacheFreeListSelfTest;
+import org.apache.ignite.internal.processors.database.CacheFreeListSizeClassMapSelfTest;
 import org.apache.ignite.internal.processors.database.DataRegionMetricsSelfTest;
 import org.apache.ignite.internal.processors.database.FreeListCutTailDifferentGcTest;
 import org.apache.ignite.internal.processors.database.IndexStorageSelfTest;
@@ -128,12 +131,15 @@ import org.junit.runners.Suite;
     PagePoolTest.class,
     SegmentedLruPageListTest.class,
     ClockPageReplacementFlagsTest.class,
+    ArcPageListTest.class,
     BPlusTreeSelfTest.class,
     BPlusTreeFakeReuseSelfTest.class,
     BPlusTreeReuseSelfTest.class,
+    BPlusTreeOptimisticReadsSelfTest.class,
     BPlusTreeReplaceRemoveRaceTest.class,
     IndexStorageSelfTest.class,
     CacheFreeListSelfTest.class,
+    CacheFreeListSizeClassMapSelfTest.class,
     DataRegionMetricsSelfTest.class,
     MetricsClusterActivationTest.class,
     MetricConfigurationTest.class,
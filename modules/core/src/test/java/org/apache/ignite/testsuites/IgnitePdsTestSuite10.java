@@ -30,11 +30,17 @@ import org.apache.ignite.internal.processors.cache.persistence.IgnitePdsPageSize
 import org.apache.ignite.internal.processors.cache.persistence.IgnitePdsPartitionsStateRecoveryTest;
 import org.apache.ignite.internal.processors.cache.persistence.IgnitePersistentStoreDataStructuresTest;
 import org.apache.ignite.internal.processors.cache.persistence.IgniteRebalanceScheduleResendPartitionsTest;
+import org.apache.ignite.internal.processors.cache.persistence.db.CacheKeyFilterTest;
+import org.apache.ignite.internal.processors.cache.persistence.db.FreeListCompactionTest;
 import org.apache.ignite.internal.processors.cache.persistence.db.FullHistRebalanceOnClientStopTest;
 import org.apache.ignite.internal.processors.cache.persistence.db.IgnitePdsRebalancingOnNotStableTopologyTest;
 import org.apache.ignite.internal.processors.cache.persistence.db.IgnitePdsReserveWalSegmentsTest;
 import org.apache.ignite.internal.processors.cache.persistence.db.IgnitePdsWholeClusterRestartTest;
 import org.apache.ignite.internal.processors.cache.persistence.db.IgniteShutdownOnSupplyMessageFailureTest;
+import org.apache.ignite.internal.processors.cache.persistence.db.LargeValueStoreTest;
+import org.apache.ignite.internal.processors.cache.persistence.db.PageReadAheadTest;
+import org.apache.ignite.internal.processors.cache.persistence.db.checkpoint.AdaptiveCheckpointSchedulingTest;
+import org.apache.ignite.internal.processors.cache.persistence.db.checkpoint.CheckpointDeltaWritesTest;
 import org.apache.ignite.internal.processors.cache.persistence.db.checkpoint.CheckpointFailBeforeWriteMarkTest;
 import org.apache.ignite.internal.processors.cache.persistence.db.checkpoint.CheckpointFreeListTest;
 import org.apache.ignite.internal.processors.cache.persistence.db.checkpoint.CheckpointStartLoggingTest;
@@ -90,12 +96,16 @@ public class IgnitePdsTestSuite10 {
      * @param ignoredTests Ignored tests.
      */
     public static void addRealPageStoreTests(List<Class<?>> suite, Collection<Class> ignoredTests) {
+        GridTestUtils.addTestIfNeeded(suite, AdaptiveCheckpointSchedulingTest.class, ignoredTests);
+        GridTestUtils.addTestIfNeeded(suite, CacheKeyFilterTest.class, ignoredTests);
         GridTestUtils.addTestIfNeeded(suite, CdcCacheVersionTest.class, ignoredTests);
         GridTestUtils.addTestIfNeeded(suite, CdcManagerTest.class, ignoredTests);
+        GridTestUtils.addTestIfNeeded(suite, CheckpointDeltaWritesTest.class, ignoredTests);
         GridTestUtils.addTestIfNeeded(suite, CheckpointFailBeforeWriteMarkTest.class, ignoredTests);
         GridTestUtils.addTestIfNeeded(suite, CheckpointFreeListTest.class, ignoredTests);
         GridTestUtils.addTestIfNeeded(suite, CheckpointStartLoggingTest.class, ignoredTests);
         GridTestUtils.addTestIfNeeded(suite, CheckpointTimeoutLockTest.class, ignoredTests);
+        GridTestUtils.addTestIfNeeded(suite, FreeListCompactionTest.class, ignoredTests);
         GridTestUtils.addTestIfNeeded(suite, FullHistRebalanceOnClientStopTest.class, ignoredTests);
         GridTestUtils.addTestIfNeeded(suite, HistoricalRebalanceCheckpointTest.class, ignoredTests);
         GridTestUtils.addTestIfNeeded(suite, IgniteDataStorageMetricsSelfTest.class, ignoredTests);
@@ -119,6 +129,8 @@ public class IgnitePdsTestSuite10 {
         GridTestUtils.addTestIfNeeded(suite, IgniteWalRecoverySeveralRestartsTest.class, ignoredTests);
         GridTestUtils.addTestIfNeeded(suite, IgniteWalReplayingAfterRestartTest.class, ignoredTests);
         GridTestUtils.addTestIfNeeded(suite, IgniteWalSerializerVersionTest.class, ignoredTests);
+        GridTestUtils.addTestIfNeeded(suite, LargeValueStoreTest.class, ignoredTests);
+        GridTestUtils.addTestIfNeeded(suite, PageReadAheadTest.class, ignoredTests);
         GridTestUtils.addTestIfNeeded(suite, StandaloneWalRecordsIteratorTest.class, ignoredTests);
         GridTestUtils.addTestIfNeeded(suite, WalDeletionArchiveFsyncTest.class, ignoredTests);
         GridTestUtils.addTestIfNeeded(suite, WalForCdcTest.class, ignoredTests);
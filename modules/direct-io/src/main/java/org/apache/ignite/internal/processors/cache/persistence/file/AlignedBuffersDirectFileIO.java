@@ -151,7 +151,7 @@ public class AlignedBuffersDirectFileIO extends AbstractFileIO {
      * @param enableDirect flag for enabling option {@link IgniteNativeIoLib#O_DIRECT} .
      * @return native flags for open method.
      */
-    private static int setupOpenFlags(OpenOption[] modes, IgniteLogger log, boolean enableDirect) {
+    static int setupOpenFlags(OpenOption[] modes, IgniteLogger log, boolean enableDirect) {
         int flags = enableDirect ? IgniteNativeIoLib.O_DIRECT : 0;
         List<OpenOption> openOptionList = Arrays.asList(modes);
 
@@ -0,0 +1,746 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.file;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import com.sun.jna.Library;
+import com.sun.jna.Memory;
+import com.sun.jna.Native;
+import com.sun.jna.NativeLong;
+import com.sun.jna.Platform;
+import com.sun.jna.Pointer;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.internal.util.GridUnsafe;
+import org.apache.ignite.internal.util.future.GridFutureAdapter;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.thread.IgniteThread;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Linux io_uring (kernel version >= 5.1) submission/completion ring. <br>
+ * <br>
+ * Uses raw {@code io_uring_setup}/{@code io_uring_enter} system calls through JNA, so no liburing is required. <br>
+ * The ring is owned by a single submitter thread. User threads put read/write requests to a bounded queue and
+ * wait for their completion; the submitter drains all queued requests into the submission ring and passes the whole
+ * batch to the kernel with a single {@code io_uring_enter} call. <br>
+ */
+public class IoUring implements AutoCloseable {
+    /** System call number of {@code io_uring_setup}, it is the same for all architectures. */
+    private static final int SYS_IO_URING_SETUP = 425;
+
+    /** System call number of {@code io_uring_enter}, it is the same for all architectures. */
+    private static final int SYS_IO_URING_ENTER = 426;
+
+    /** Wait for {@code min_complete} events on {@code io_uring_enter}. */
+    private static final int IORING_ENTER_GETEVENTS = 1;
+
+    /** Vectored read operation code. */
+    static final byte IORING_OP_READV = 1;
+
+    /** Vectored write operation code. */
+    static final byte IORING_OP_WRITEV = 2;
+
+    /** Magic offset to mmap submission ring. */
+    private static final long IORING_OFF_SQ_RING = 0L;
+
+    /** Magic offset to mmap completion ring. */
+    private static final long IORING_OFF_CQ_RING = 0x8000000L;
+
+    /** Magic offset to mmap submission queue entries array. */
+    private static final long IORING_OFF_SQES = 0x10000000L;
+
+    /** Pages may be read. */
+    private static final int PROT_READ = 0x1;
+
+    /** Pages may be written. */
+    private static final int PROT_WRITE = 0x2;
+
+    /** Share this mapping. */
+    private static final int MAP_SHARED = 0x01;
+
+    /** Populate (prefault) page tables for a mapping. */
+    private static final int MAP_POPULATE = 0x8000;
+
+    /** Interrupted system call. */
+    private static final int E_INTR = 4;
+
+    /** Resource temporarily unavailable. */
+    private static final int E_AGAIN = 11;
+
+    /** Device or resource busy. */
+    private static final int E_BUSY = 16;
+
+    /** Size of {@code struct io_uring_params}. */
+    private static final int PARAMS_SIZE = 120;
+
+    /** Size of {@code struct io_uring_sqe}. */
+    private static final int SQE_SIZE = 64;
+
+    /** Size of {@code struct io_uring_cqe}. */
+    private static final int CQE_SIZE = 16;
+
+    /** Size of {@code struct iovec}. */
+    private static final int IOVEC_SIZE = 16;
+
+    /** Maximum number of buffers in one vectored request. */
+    public static final int MAX_IOV = 64;
+
+    /** Timeout of the submitter waiting for new requests, used to check the ring is closed. */
+    private static final long POLL_TIMEOUT_MS = 100;
+
+    /** C library, {@code null} if failed to load. */
+    @Nullable private static final LibC libc;
+
+    /** C library initialization exception. To be logged to Ignite logger later. */
+    @Nullable private static final Throwable initErr;
+
+    static {
+        LibC lib = null;
+        Throwable err = null;
+
+        if (Platform.isLinux()) {
+            try {
+                lib = (LibC)Native.loadLibrary(Platform.C_LIBRARY_NAME, LibC.class);
+            }
+            catch (Throwable e) {
+                err = e;
+            }
+        }
+
+        libc = lib;
+        initErr = err;
+    }
+
+    /** Ring file descriptor. */
+    private final int ringFd;
+
+    /** Number of submission queue entries. */
+    private final int sqEntries;
+
+    /** Submission ring mapping address. */
+    private final long sqRingAddr;
+
+    /** Submission ring mapping size. */
+    private final long sqRingSize;
+
+    /** Completion ring mapping address. */
+    private final long cqRingAddr;
+
+    /** Completion ring mapping size. */
+    private final long cqRingSize;
+
+    /** Submission queue entries mapping address. */
+    private final long sqesAddr;
+
+    /** Submission queue entries mapping size. */
+    private final long sqesSize;
+
+    /** Address of submission ring tail. */
+    private final long sqTailAddr;
+
+    /** Address of submission ring indexes array. */
+    private final long sqArrayAddr;
+
+    /** Submission ring mask. */
+    private final int sqMask;
+
+    /** Address of completion ring head. */
+    private final long cqHeadAddr;
+
+    /** Address of completion ring tail. */
+    private final long cqTailAddr;
+
+    /** Address of completion queue entries array. */
+    private final long cqesAddr;
+
+    /** Completion ring mask. */
+    private final int cqMask;
+
+    /** Off-heap {@code struct iovec} arrays, {@link #MAX_IOV} per in-flight request slot. */
+    private final long iovecsAddr;
+
+    /** In-flight requests by slot, slot is used as the {@code user_data} of the submission entry. */
+    private final Request[] inflight;
+
+    /** Stack of free slots. */
+    private final int[] freeSlots;
+
+    /** Number of free slots. */
+    private int freeCnt;
+
+    /** Local copy of the submission ring tail. */
+    private int sqTail;
+
+    /** Number of prepared, but not yet consumed by the kernel submission entries. */
+    private int unsubmitted;
+
+    /** Bounded queue of requests waiting for submission. */
+    private final BlockingQueue<Request> queue;
+
+    /** Submitter thread. */
+    private final Thread submitter;
+
+    /** Logger. */
+    private final IgniteLogger log;
+
+    /** Closed flag. */
+    private volatile boolean closed;
+
+    /** Number of {@code io_uring_enter} calls which submitted requests. */
+    private volatile long batches;
+
+    /** Number of submitted requests. */
+    private volatile long submitted;
+
+    /**
+     * Creates ring and starts its submitter thread.
+     *
+     * @param igniteInstanceName Ignite instance name.
+     * @param entries Submission queue depth, rounded up to power of two by kernel.
+     * @param log Logger.
+     * @throws IOException If ring setup failed.
+     */
+    public IoUring(String igniteInstanceName, int entries, IgniteLogger log) throws IOException {
+        if (libc == null)
+            throw new IOException("io_uring is not available on current operating system", initErr);
+
+        this.log = log;
+
+        Memory params = new Memory(PARAMS_SIZE);
+
+        params.clear();
+
+        int fd = libc.syscall(new NativeLong(SYS_IO_URING_SETUP), new NativeLong(entries), params).intValue();
+
+        if (fd < 0)
+            throw new IOException("Failed to setup io_uring [entries=" + entries + "]: " + lastError());
+
+        ringFd = fd;
+
+        long sqRing = 0;
+        long cqRing = 0;
+        long sqes = 0;
+
+        try {
+            sqEntries = params.getInt(0);
+
+            int cqEntries = params.getInt(4);
+
+            // struct io_sqring_offsets starts at 40, struct io_cqring_offsets starts at 80.
+            int sqTailOff = params.getInt(44);
+            int sqMaskOff = params.getInt(48);
+            int sqArrayOff = params.getInt(64);
+            int cqHeadOff = params.getInt(80);
+            int cqTailOff = params.getInt(84);
+            int cqMaskOff = params.getInt(88);
+            int cqesOff = params.getInt(100);
+
+            sqRingSize = sqArrayOff + sqEntries * 4L;
+            cqRingSize = cqesOff + (long)cqEntries * CQE_SIZE;
+            sqesSize = (long)sqEntries * SQE_SIZE;
+
+            sqRing = mmap(sqRingSize, IORING_OFF_SQ_RING);
+            cqRing = mmap(cqRingSize, IORING_OFF_CQ_RING);
+            sqes = mmap(sqesSize, IORING_OFF_SQES);
+
+            sqRingAddr = sqRing;
+            cqRingAddr = cqRing;
+            sqesAddr = sqes;
+
+            sqTailAddr = sqRingAddr + sqTailOff;
+            sqArrayAddr = sqRingAddr + sqArrayOff;
+            sqMask = GridUnsafe.getInt(sqRingAddr + sqMaskOff);
+            sqTail = GridUnsafe.getInt(sqTailAddr);
+
+            cqHeadAddr = cqRingAddr + cqHeadOff;
+            cqTailAddr = cqRingAddr + cqTailOff;
+            cqMask = GridUnsafe.getInt(cqRingAddr + cqMaskOff);
+            cqesAddr = cqRingAddr + cqesOff;
+        }
+        catch (IOException | RuntimeException e) {
+            munmap(sqes, (long)params.getInt(0) * SQE_SIZE);
+            munmap(cqRing, params.getInt(100) + (long)params.getInt(4) * CQE_SIZE);
+            munmap(sqRing, params.getInt(64) + params.getInt(0) * 4L);
+
+            libc.close(fd);
+
+            throw e;
+        }
+
+        iovecsAddr = GridUnsafe.allocateMemory((long)sqEntries * MAX_IOV * IOVEC_SIZE);
+
+        inflight = new Request[sqEntries];
+        freeSlots = new int[sqEntries];
+
+        for (int i = 0; i < sqEntries; i++)
+            freeSlots[freeCnt++] = i;
+
+        queue = new ArrayBlockingQueue<>(sqEntries * 2);
+
+        submitter = new IgniteThread(igniteInstanceName, "io-uring-submitter", this::body);
+
+        submitter.setDaemon(true);
+        submitter.start();
+
+        if (log.isInfoEnabled())
+            log.info("io_uring is initialized [entries=" + sqEntries + ']');
+    }
+
+    /**
+     * Checks if io_uring can be used on current operating system: kernel supports it and it is not disabled
+     * by {@code kernel.io_uring_disabled} or seccomp.
+     *
+     * @param log Logger.
+     * @return {@code true} if ring can be created.
+     */
+    public static boolean isAvailable(IgniteLogger log) {
+        if (initErr != null) {
+            U.warn(log, "Failed to initialize io_uring support at current OS: " + initErr.getMessage(), initErr);
+
+            return false;
+        }
+
+        if (libc == null)
+            return false;
+
+        Memory params = new Memory(PARAMS_SIZE);
+
+        params.clear();
+
+        int fd = libc.syscall(new NativeLong(SYS_IO_URING_SETUP), new NativeLong(2), params).intValue();
+
+        if (fd < 0) {
+            if (log.isInfoEnabled())
+                log.info("io_uring is not supported by current operating system: " + lastError());
+
+            return false;
+        }
+
+        libc.close(fd);
+
+        return true;
+    }
+
+    /**
+     * Reads from file into native memory.
+     *
+     * @param fd File descriptor.
+     * @param addr Buffer address.
+     * @param len Number of bytes to read.
+     * @param off File offset.
+     * @return Number of bytes read, zero on EOF.
+     * @throws IOException If failed.
+     */
+    public int read(int fd, long addr, int len, long off) throws IOException {
+        return submit(new Request(IORING_OP_READV, fd, off, new long[] {addr}, new int[] {len}));
+    }
+
+    /**
+     * Writes native memory to file.
+     *
+     * @param fd File descriptor.
+     * @param addr Buffer address.
+     * @param len Number of bytes to write.
+     * @param off File offset.
+     * @return Number of bytes written.
+     * @throws IOException If failed.
+     */
+    public int write(int fd, long addr, int len, long off) throws IOException {
+        return submit(new Request(IORING_OP_WRITEV, fd, off, new long[] {addr}, new int[] {len}));
+    }
+
+    /**
+     * Writes several native memory buffers to file with one request.
+     *
+     * @param fd File descriptor.
+     * @param addrs Buffer addresses.
+     * @param lens Buffer lengths.
+     * @param off File offset.
+     * @return Number of bytes written.
+     * @throws IOException If failed.
+     */
+    public int writev(int fd, long[] addrs, int[] lens, long off) throws IOException {
+        assert addrs.length == lens.length && addrs.length <= MAX_IOV : addrs.length;
+
+        return submit(new Request(IORING_OP_WRITEV, fd, off, addrs, lens));
+    }
+
+    /**
+     * @return Average number of requests passed to kernel by one {@code io_uring_enter} call.
+     */
+    public double averageBatchSize() {
+        long batches = this.batches;
+
+        return batches == 0 ? 0 : (double)submitted / batches;
+    }
+
+    /**
+     * Enqueues request and waits for its completion.
+     *
+     * @param req Request.
+     * @return Operation result.
+     * @throws IOException If failed.
+     */
+    private int submit(Request req) throws IOException {
+        if (closed)
+            throw new IOException("io_uring is closed");
+
+        try {
+            queue.put(req);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+
+            throw new InterruptedIOException("Interrupted while waiting for io_uring submission queue");
+        }
+
+        if (closed && queue.remove(req))
+            throw new IOException("io_uring is closed");
+
+        try {
+            // Buffer must not be released until the kernel completes the request, so ignore interrupts.
+            return req.getUninterruptibly();
+        }
+        catch (IgniteCheckedException e) {
+            if (e.getCause() instanceof IOException)
+                throw (IOException)e.getCause();
+
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * Submitter thread body.
+     */
+    private void body() {
+        Throwable err = null;
+
+        try {
+            while (!closed || freeCnt < sqEntries) {
+                if (freeCnt == sqEntries && unsubmitted == 0) {
+                    Request req = queue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+
+                    if (req == null)
+                        continue;
+
+                    prepare(req);
+                }
+
+                Request req;
+
+                while (freeCnt > 0 && (req = queue.poll()) != null)
+                    prepare(req);
+
+                // Publish prepared entries to the kernel.
+                GridUnsafe.putIntVolatile(null, sqTailAddr, sqTail);
+
+                int inflightCnt = sqEntries - freeCnt - unsubmitted;
+
+                // Block for a completion only if there is nothing else to do.
+                boolean wait = (inflightCnt > 0 || unsubmitted > 0) && (freeCnt == 0 || queue.isEmpty());
+
+                int res = enter(unsubmitted, wait ? 1 : 0);
+
+                if (res > 0) {
+                    batches++;
+                    submitted += res;
+
+                    unsubmitted -= res;
+                }
+
+                reap();
+            }
+        }
+        catch (InterruptedException ignore) {
+            // No-op.
+        }
+        catch (Throwable e) {
+            err = e;
+
+            U.error(log, "io_uring submitter failed", e);
+        }
+        finally {
+            closed = true;
+
+            IOException ex = new IOException("io_uring is closed", err);
+
+            for (int i = 0; i < inflight.length; i++) {
+                if (inflight[i] != null)
+                    inflight[i].onDone(ex);
+            }
+
+            for (Request req; (req = queue.poll()) != null; )
+                req.onDone(ex);
+        }
+    }
+
+    /**
+     * Prepares submission entry for request.
+     *
+     * @param req Request.
+     */
+    private void prepare(Request req) {
+        int slot = freeSlots[--freeCnt];
+
+        inflight[slot] = req;
+
+        long iov = iovecsAddr + (long)slot * MAX_IOV * IOVEC_SIZE;
+
+        for (int i = 0; i < req.addrs.length; i++) {
+            GridUnsafe.putLong(iov + (long)i * IOVEC_SIZE, req.addrs[i]);
+            GridUnsafe.putLong(iov + (long)i * IOVEC_SIZE + 8, req.lens[i]);
+        }
+
+        int idx = sqTail & sqMask;
+
+        long sqe = sqesAddr + (long)idx * SQE_SIZE;
+
+        GridUnsafe.setMemory(sqe, SQE_SIZE, (byte)0);
+
+        GridUnsafe.putByte(sqe, req.opcode);
+        GridUnsafe.putInt(sqe + 4, req.fd);
+        GridUnsafe.putLong(sqe + 8, req.off);
+        GridUnsafe.putLong(sqe + 16, iov);
+        GridUnsafe.putInt(sqe + 24, req.addrs.length);
+        GridUnsafe.putLong(sqe + 32, slot);
+
+        GridUnsafe.putInt(sqArrayAddr + idx * 4L, idx);
+
+        sqTail++;
+        unsubmitted++;
+    }
+
+    /**
+     * Completes requests from the completion ring.
+     */
+    private void reap() {
+        int head = GridUnsafe.getInt(cqHeadAddr);
+        int tail = GridUnsafe.getIntVolatile(null, cqTailAddr);
+
+        if (head == tail)
+            return;
+
+        for (; head != tail; head++) {
+            long cqe = cqesAddr + (long)(head & cqMask) * CQE_SIZE;
+
+            int slot = (int)GridUnsafe.getLong(cqe);
+            int res = GridUnsafe.getInt(cqe + 8);
+
+            Request req = inflight[slot];
+
+            inflight[slot] = null;
+            freeSlots[freeCnt++] = slot;
+
+            if (res < 0)
+                req.onDone(new IOException("io_uring request failed [op=" + req.opcode + ", off=" + req.off +
+                    "]: " + libc.strerror(-res)));
+            else
+                req.onDone(res);
+        }
+
+        GridUnsafe.putIntVolatile(null, cqHeadAddr, head);
+    }
+
+    /**
+     * Submits prepared entries and optionally waits for completions.
+     *
+     * @param toSubmit Number of entries to submit.
+     * @param minComplete Number of completions to wait for.
+     * @return Number of consumed submission entries.
+     * @throws IOException If failed.
+     */
+    private int enter(int toSubmit, int minComplete) throws IOException {
+        while (true) {
+            int res = libc.syscall(new NativeLong(SYS_IO_URING_ENTER), new NativeLong(ringFd),
+                new NativeLong(toSubmit), new NativeLong(minComplete), new NativeLong(IORING_ENTER_GETEVENTS),
+                Pointer.NULL, new NativeLong(0)).intValue();
+
+            if (res >= 0)
+                return res;
+
+            int errno = Native.getLastError();
+
+            if (errno == E_INTR)
+                continue;
+
+            // Completion ring is full or kernel is out of resources, reap completions and retry later.
+            if (errno == E_AGAIN || errno == E_BUSY)
+                return 0;
+
+            throw new IOException("io_uring_enter failed: " + libc.strerror(errno));
+        }
+    }
+
+    /**
+     * @param size Mapping size.
+     * @param off Magic offset of the ring region.
+     * @return Mapping address.
+     * @throws IOException If failed.
+     */
+    private long mmap(long size, long off) throws IOException {
+        Pointer ptr = libc.mmap(Pointer.NULL, new NativeLong(size), PROT_READ | PROT_WRITE, MAP_SHARED | MAP_POPULATE,
+            ringFd, new NativeLong(off));
+
+        long addr = Pointer.nativeValue(ptr);
+
+        if (addr == -1L || addr == 0L)
+            throw new IOException("Failed to map io_uring region [off=0x" + Long.toHexString(off) + "]: " + lastError());
+
+        return addr;
+    }
+
+    /**
+     * @param addr Mapping address, ignored if zero.
+     * @param size Mapping size.
+     */
+    private static void munmap(long addr, long size) {
+        if (addr != 0L)
+            libc.munmap(new Pointer(addr), new NativeLong(size));
+    }
+
+    /**
+     * @return Displayable string with last OS error.
+     */
+    private static String lastError() {
+        return libc.strerror(Native.getLastError());
+    }
+
+    /** {@inheritDoc} */
+    @Override public void close() {
+        if (closed && !submitter.isAlive())
+            return;
+
+        closed = true;
+
+        try {
+            // Submitter completes in-flight requests before exit, kernel must not access rings after unmap.
+            U.join(submitter);
+        }
+        catch (IgniteCheckedException e) {
+            U.warn(log, "Interrupted while waiting for io_uring submitter to stop.", e);
+
+            return;
+        }
+
+        munmap(sqesAddr, sqesSize);
+        munmap(cqRingAddr, cqRingSize);
+        munmap(sqRingAddr, sqRingSize);
+
+        libc.close(ringFd);
+
+        GridUnsafe.freeMemory(iovecsAddr);
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(IoUring.class, this, "avgBatchSize", averageBatchSize());
+    }
+
+    /**
+     * Read or write request.
+     */
+    private static class Request extends GridFutureAdapter<Integer> {
+        /** Operation code. */
+        private final byte opcode;
+
+        /** File descriptor. */
+        private final int fd;
+
+        /** File offset. */
+        private final long off;
+
+        /** Buffer addresses. */
+        private final long[] addrs;
+
+        /** Buffer lengths. */
+        private final int[] lens;
+
+        /**
+         * @param opcode Operation code.
+         * @param fd File descriptor.
+         * @param off File offset.
+         * @param addrs Buffer addresses.
+         * @param lens Buffer lengths.
+         */
+        private Request(byte opcode, int fd, long off, long[] addrs, int[] lens) {
+            this.opcode = opcode;
+            this.fd = fd;
+            this.off = off;
+            this.addrs = addrs;
+            this.lens = lens;
+        }
+    }
+
+    /**
+     * C library functions used to setup the ring. Interface mapping is used since {@code syscall} is variadic.
+     */
+    private interface LibC extends Library {
+        /**
+         * Invokes system call. See "man 2 syscall".
+         *
+         * @param num System call number.
+         * @param args Arguments.
+         * @return System call result, -1 on error and errno is set appropriately.
+         */
+        NativeLong syscall(NativeLong num, Object... args);
+
+        /**
+         * Creates a new mapping in the virtual address space. See "man 2 mmap".
+         *
+         * @param addr Hint address.
+         * @param len Mapping length.
+         * @param prot Memory protection.
+         * @param flags Mapping flags.
+         * @param fd File descriptor.
+         * @param off Offset.
+         * @return Mapping address or {@code MAP_FAILED}.
+         */
+        Pointer mmap(Pointer addr, NativeLong len, int prot, int flags, int fd, NativeLong off);
+
+        /**
+         * Deletes mapping. See "man 2 munmap".
+         *
+         * @param addr Mapping address.
+         * @param len Mapping length.
+         * @return 0 on success, -1 on error.
+         */
+        int munmap(Pointer addr, NativeLong len);
+
+        /**
+         * See "man 2 close".
+         *
+         * @param fd File descriptor.
+         * @return 0 on success, -1 on error.
+         */
+        int close(int fd);
+
+        /**
+         * See "man 3 strerror".
+         *
+         * @param errnum Error code.
+         * @return Displayable error information.
+         */
+        String strerror(int errnum);
+    }
+}
@@ -0,0 +1,398 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.file;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.OpenOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import com.sun.jna.Native;
+import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.internal.processors.compress.FileSystemUtils;
+import org.apache.ignite.internal.util.GridUnsafe;
+
+/**
+ * File I/O which performs reads and writes through the shared {@link IoUring}, so concurrent page store and WAL
+ * operations of different threads are submitted to the kernel in batches.
+ *
+ * Works only for Linux.
+ */
+public class IoUringFileIO extends AbstractFileIO {
+    /** Ring. */
+    private final IoUring ring;
+
+    /** File. */
+    private final File file;
+
+    /** Open options. */
+    private final OpenOption[] modes;
+
+    /** Thread local direct buffers to copy heap buffers data. */
+    private final ThreadLocal<ByteBuffer> tlbTmp;
+
+    /** File system block size. */
+    private final int fsBlockSize;
+
+    /** File descriptor. */
+    private volatile int fd;
+
+    /** Position for relative read and write operations. */
+    private volatile long position;
+
+    /** Channel for memory mapping and transfers, lazily opened. */
+    private volatile FileChannel ch;
+
+    /**
+     * Creates io_uring file IO.
+     *
+     * @param ring Ring.
+     * @param file File to open.
+     * @param modes Open options.
+     * @param tlbTmp Thread local direct buffers to copy heap buffers data.
+     * @param log Logger.
+     * @throws IOException If file open failed.
+     */
+    IoUringFileIO(
+        IoUring ring,
+        File file,
+        OpenOption[] modes,
+        ThreadLocal<ByteBuffer> tlbTmp,
+        IgniteLogger log
+    ) throws IOException {
+        this.ring = ring;
+        this.file = file;
+        this.modes = modes;
+        this.tlbTmp = tlbTmp;
+
+        String pathname = file.getAbsolutePath();
+
+        int openFlags = AlignedBuffersDirectFileIO.setupOpenFlags(modes, log, false);
+        int fd = IgniteNativeIoLib.open(pathname, openFlags, IgniteNativeIoLib.DEFAULT_OPEN_MODE);
+
+        if (fd < 0) {
+            throw new IOException("Error opening file [" + pathname + "] with flags [0x" +
+                String.format("%2X", openFlags) + ": " + Arrays.asList(modes) + "], got error [" +
+                Native.getLastError() + ": " + getLastError() + "]");
+        }
+
+        this.fd = fd;
+        fsBlockSize = FileSystemUtils.getFileSystemBlockSize(fd);
+    }
+
+    /** {@inheritDoc} */
+    @Override public int getFileSystemBlockSize() {
+        return fsBlockSize;
+    }
+
+    /** {@inheritDoc} */
+    @Override public long getSparseSize() {
+        return FileSystemUtils.getSparseFileSize(fd);
+    }
+
+    /** {@inheritDoc} */
+    @Override public int punchHole(long position, int len) {
+        return (int)FileSystemUtils.punchHole(fd, position, len, fsBlockSize);
+    }
+
+    /** {@inheritDoc} */
+    @Override public long position() throws IOException {
+        return position;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void position(long newPosition) throws IOException {
+        position = newPosition;
+    }
+
+    /** {@inheritDoc} */
+    @Override public int read(ByteBuffer destBuf) throws IOException {
+        int rd = read(destBuf, position);
+
+        if (rd > 0)
+            position += rd;
+
+        return rd;
+    }
+
+    /** {@inheritDoc} */
+    @Override public int read(ByteBuffer destBuf, long filePosition) throws IOException {
+        int len = destBuf.remaining();
+
+        if (len == 0)
+            return 0;
+
+        int rd;
+
+        if (destBuf.isDirect()) {
+            rd = ring.read(fdCheckOpened(), GridUnsafe.bufferAddress(destBuf) + destBuf.position(), len, filePosition);
+
+            if (rd > 0)
+                destBuf.position(destBuf.position() + rd);
+        }
+        else {
+            ByteBuffer tmp = tmpBuffer(len);
+
+            rd = ring.read(fdCheckOpened(), GridUnsafe.bufferAddress(tmp), len, filePosition);
+
+            if (rd > 0) {
+                tmp.limit(rd);
+
+                destBuf.put(tmp);
+            }
+        }
+
+        // Tried to read past EOF.
+        return rd == 0 ? -1 : rd;
+    }
+
+    /** {@inheritDoc} */
+    @Override public int read(byte[] buf, int off, int len) throws IOException {
+        return read(ByteBuffer.wrap(buf, off, len));
+    }
+
+    /** {@inheritDoc} */
+    @Override public int write(ByteBuffer srcBuf) throws IOException {
+        int wr = write(srcBuf, position);
+
+        if (wr > 0)
+            position += wr;
+
+        return wr;
+    }
+
+    /** {@inheritDoc} */
+    @Override public int write(ByteBuffer srcBuf, long filePosition) throws IOException {
+        int len = srcBuf.remaining();
+
+        if (len == 0)
+            return 0;
+
+        int wr;
+
+        if (srcBuf.isDirect())
+            wr = ring.write(fdCheckOpened(), GridUnsafe.bufferAddress(srcBuf) + srcBuf.position(), len, filePosition);
+        else {
+            ByteBuffer tmp = tmpBuffer(len);
+
+            tmp.put(srcBuf.duplicate());
+
+            wr = ring.write(fdCheckOpened(), GridUnsafe.bufferAddress(tmp), len, filePosition);
+        }
+
+        srcBuf.position(srcBuf.position() + wr);
+
+        return wr;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Direct buffers are written by one {@code IORING_OP_WRITEV} request per {@link IoUring#MAX_IOV} buffers.
+     */
+    @Override public int writeFully(ByteBuffer[] srcBufs, int off, int len, long position) throws IOException {
+        int end = off + len;
+
+        for (int i = off; i < end; i++) {
+            if (!srcBufs[i].isDirect())
+                return super.writeFully(srcBufs, off, len, position);
+        }
+
+        int first = off;
+        int written = 0;
+
+        while (first < end) {
+            if (!srcBufs[first].hasRemaining()) {
+                first++;
+
+                continue;
+            }
+
+            int cnt = Math.min(end - first, IoUring.MAX_IOV);
+
+            long[] addrs = new long[cnt];
+            int[] lens = new int[cnt];
+
+            for (int i = 0; i < cnt; i++) {
+                ByteBuffer buf = srcBufs[first + i];
+
+                addrs[i] = GridUnsafe.bufferAddress(buf) + buf.position();
+                lens[i] = buf.remaining();
+            }
+
+            int wr = ring.writev(fdCheckOpened(), addrs, lens, position + written);
+
+            if (wr == 0)
+                throw new IOException(String.format("Error writing %s at position %d, no bytes written", file, position + written));
+
+            written += wr;
+
+            for (int i = first; i < end && wr > 0; i++) {
+                ByteBuffer buf = srcBufs[i];
+
+                int n = Math.min(wr, buf.remaining());
+
+                buf.position(buf.position() + n);
+
+                wr -= n;
+            }
+        }
+
+        return written;
+    }
+
+    /** {@inheritDoc} */
+    @Override public int write(byte[] buf, int off, int len) throws IOException {
+        return write(ByteBuffer.wrap(buf, off, len));
+    }
+
+    /**
+     * @param len Required length.
+     * @return Thread local direct buffer with position 0 and limit {@code len}.
+     */
+    private ByteBuffer tmpBuffer(int len) {
+        ByteBuffer buf = tlbTmp.get();
+
+        if (buf.capacity() < len) {
+            buf = ByteBuffer.allocateDirect(Math.max(len, buf.capacity() * 2));
+
+            tlbTmp.set(buf);
+        }
+
+        buf.clear().limit(len);
+
+        return buf;
+    }
+
+    /** {@inheritDoc} */
+    @Override public MappedByteBuffer map(int sizeBytes) throws IOException {
+        return channel().map(FileChannel.MapMode.READ_WRITE, 0, sizeBytes);
+    }
+
+    /** {@inheritDoc} */
+    @Override public long transferTo(long position, long count, WritableByteChannel target) throws IOException {
+        return channel().transferTo(position, count, target);
+    }
+
+    /** {@inheritDoc} */
+    @Override public long transferFrom(ReadableByteChannel src, long position, long count) throws IOException {
+        long written = channel().transferFrom(src, position, count);
+
+        if (written > 0)
+            position(position + written);
+
+        return written;
+    }
+
+    /**
+     * @return File channel sharing the file with this IO, used for operations which can't be done through the ring.
+     * @throws IOException If failed.
+     */
+    private FileChannel channel() throws IOException {
+        FileChannel ch = this.ch;
+
+        if (ch == null) {
+            synchronized (this) {
+                fdCheckOpened();
+
+                ch = this.ch;
+
+                if (ch == null) {
+                    ch = Arrays.asList(modes).contains(StandardOpenOption.WRITE) ?
+                        FileChannel.open(file.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE) :
+                        FileChannel.open(file.toPath(), StandardOpenOption.READ);
+
+                    this.ch = ch;
+                }
+            }
+        }
+
+        return ch;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void force() throws IOException {
+        force(false);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void force(boolean withMetadata) throws IOException {
+        int fd = fdCheckOpened();
+
+        int res = withMetadata ? IgniteNativeIoLib.fsync(fd) : IgniteNativeIoLib.fdatasync(fd);
+
+        if (res < 0)
+            throw new IOException(String.format("Error fsync()'ing %s, got %s", file, getLastError()));
+    }
+
+    /** {@inheritDoc} */
+    @Override public long size() throws IOException {
+        return file.length();
+    }
+
+    /** {@inheritDoc} */
+    @Override public void clear() throws IOException {
+        if (IgniteNativeIoLib.ftruncate(fdCheckOpened(), 0) < 0)
+            throw new IOException(String.format("Error truncating file %s, got %s", file, getLastError()));
+
+        position = 0;
+    }
+
+    /** {@inheritDoc} */
+    @Override public synchronized void close() throws IOException {
+        FileChannel ch = this.ch;
+
+        if (ch != null) {
+            this.ch = null;
+
+            ch.close();
+        }
+
+        if (IgniteNativeIoLib.close(fdCheckOpened()) < 0)
+            throw new IOException(String.format("Error closing %s, got %s", file, getLastError()));
+
+        fd = -1;
+    }
+
+    /**
+     * Checks if file is opened and returns descriptor.
+     *
+     * @return File descriptor.
+     * @throws IOException If file is not opened.
+     */
+    private int fdCheckOpened() throws IOException {
+        int fd = this.fd;
+
+        if (fd < 0)
+            throw new IOException(String.format("Error %s not opened", file));
+
+        return fd;
+    }
+
+    /**
+     * @return Displayable string with last OS error.
+     */
+    private static String getLastError() {
+        return IgniteNativeIoLib.strerror(Native.getLastError());
+    }
+}
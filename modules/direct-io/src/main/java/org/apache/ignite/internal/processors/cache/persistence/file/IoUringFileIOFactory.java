@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.file;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.OpenOption;
+import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Linux io_uring based file IO factory.<br>
+ * All files created by this factory share one bounded submission queue, so page writes of checkpoint threads and
+ * WAL writes in {@code FSYNC} mode are passed to the kernel in batches instead of one {@code pwrite} system call per buffer.<br>
+ * Falls back to the backup factory if io_uring is not supported by the kernel or disabled.
+ */
+public class IoUringFileIOFactory implements FileIOFactory, AutoCloseable {
+    /** */
+    private static final long serialVersionUID = 0L;
+
+    /** Default submission queue depth. */
+    public static final int DFLT_QUEUE_DEPTH = 256;
+
+    /** Initial size of thread local buffers used to copy data of heap buffers. */
+    private static final int TMP_BUF_SIZE = 4096;
+
+    /** Backup factory for files in case io_uring is not available. */
+    private final FileIOFactory backupFactory;
+
+    /** Logger. */
+    private final IgniteLogger log;
+
+    /** Ring, {@code null} if io_uring setup failed. */
+    @Nullable private final IoUring ring;
+
+    /** Thread local direct buffers to copy data of heap buffers. */
+    private final ThreadLocal<ByteBuffer> tlbTmp = ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(TMP_BUF_SIZE));
+
+    /**
+     * Creates io_uring file IO factory.
+     *
+     * @param igniteInstanceName Ignite instance name.
+     * @param log Logger.
+     * @param queueDepth Submission queue depth.
+     * @param backupFactory Fallback factory if io_uring is not available.
+     */
+    public IoUringFileIOFactory(
+        String igniteInstanceName,
+        IgniteLogger log,
+        int queueDepth,
+        FileIOFactory backupFactory
+    ) {
+        this.log = log;
+        this.backupFactory = backupFactory;
+
+        IoUring ring = null;
+
+        if (IgniteNativeIoLib.isJnaAvailable() && IoUring.isAvailable(log)) {
+            try {
+                ring = new IoUring(igniteInstanceName, queueDepth, log);
+            }
+            catch (IOException e) {
+                U.warn(log, "Failed to setup io_uring, it will not be used for file IO: " + e.getMessage(), e);
+            }
+        }
+        else if (log.isInfoEnabled()) {
+            log.info(String.format("io_uring is not available on current operating system [%s]." +
+                " io_uring file IO is not enabled.", System.getProperty("os.version")));
+        }
+
+        this.ring = ring;
+    }
+
+    /** {@inheritDoc} */
+    @Override public FileIO create(File file, OpenOption... modes) throws IOException {
+        if (ring == null)
+            return backupFactory.create(file, modes);
+
+        return new IoUringFileIO(ring, file, modes, tlbTmp, log);
+    }
+
+    /**
+     * @return {@code true} if io_uring is used for file IO.
+     */
+    public boolean isIoUringAvailable() {
+        return ring != null;
+    }
+
+    /**
+     * @return Ring, {@code null} if io_uring is not available.
+     */
+    @Nullable IoUring ring() {
+        return ring;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void close() {
+        if (ring != null)
+            ring.close();
+    }
+}
@@ -26,7 +26,9 @@ import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import org.apache.ignite.Ignite;
 import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.IgniteSystemProperties;
 import org.apache.ignite.cluster.ClusterNode;
+import org.apache.ignite.configuration.WALMode;
 import org.apache.ignite.internal.IgniteEx;
 import org.apache.ignite.internal.pagemem.store.IgnitePageStoreManager;
 import org.apache.ignite.internal.pagemem.wal.IgniteWriteAheadLogManager;
@@ -51,6 +53,9 @@ public class LinuxNativeIoPluginProvider implements PluginProvider {
     /** Managed buffers map from address to thread requested buffer. */
     @Nullable private ConcurrentHashMap<Long, Thread> managedBuffers;
 
+    /** io_uring file IO factory, {@code null} if io_uring is not used. */
+    @Nullable private IoUringFileIOFactory ioUringFactory;
+
     /** Logger. */
     private IgniteLogger log;
 
@@ -90,6 +95,12 @@ public class LinuxNativeIoPluginProvider implements PluginProvider {
     /** {@inheritDoc} */
     @Override public void stop(boolean cancel) {
         freeDirectBuffers();
+
+        if (ioUringFactory != null) {
+            ioUringFactory.close();
+
+            ioUringFactory = null;
+        }
     }
 
     /**
@@ -173,12 +184,6 @@ public class LinuxNativeIoPluginProvider implements PluginProvider {
         final FilePageStoreManager pageStore = (FilePageStoreManager)ignitePageStoreMgr;
         FileIOFactory backupIoFactory = pageStore.getPageStoreFileIoFactory();
 
-        final AlignedBuffersDirectFileIOFactory factory = new AlignedBuffersDirectFileIOFactory(
-            ignite.log(),
-            ignite.context().pdsFolderResolver().fileTree().nodeStorage(),
-            pageStore.pageSize(),
-            backupIoFactory);
-
         final IgniteWriteAheadLogManager walMgr = cacheCtx.wal();
 
         if (walMgr != null && walMgr instanceof FileWriteAheadLogManager && IgniteNativeIoLib.isJnaAvailable()) {
@@ -189,6 +194,34 @@ public class LinuxNativeIoPluginProvider implements PluginProvider {
             });
         }
 
+        if (IgniteSystemProperties.getBoolean(IgniteSystemProperties.IGNITE_IO_URING_ENABLED, false)) {
+            IoUringFileIOFactory ioUringFactory = new IoUringFileIOFactory(
+                ignite.name(),
+                ignite.log(),
+                IgniteSystemProperties.getInteger(IgniteSystemProperties.IGNITE_IO_URING_QUEUE_DEPTH,
+                    IoUringFileIOFactory.DFLT_QUEUE_DEPTH),
+                backupIoFactory);
+
+            if (ioUringFactory.isIoUringAvailable()) {
+                this.ioUringFactory = ioUringFactory;
+
+                pageStore.setPageStoreFileIOFactories(ioUringFactory, backupIoFactory);
+
+                // Segments of other WAL modes are memory mapped by RandomAccessFileIOFactory.
+                if (walMgr instanceof FileWriteAheadLogManager
+                    && ignite.configuration().getDataStorageConfiguration().getWalMode() == WALMode.FSYNC)
+                    ((FileWriteAheadLogManager)walMgr).setFileIOFactory(ioUringFactory);
+
+                return null;
+            }
+        }
+
+        final AlignedBuffersDirectFileIOFactory factory = new AlignedBuffersDirectFileIOFactory(
+            ignite.log(),
+            ignite.context().pdsFolderResolver().fileTree().nodeStorage(),
+            pageStore.pageSize(),
+            backupIoFactory);
+
         if (!factory.isDirectIoAvailable())
             return null;
 
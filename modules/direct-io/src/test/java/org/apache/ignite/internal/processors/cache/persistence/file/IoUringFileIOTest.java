@@ -0,0 +1,202 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.file;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Tests {@link IoUringFileIO}.
+ */
+public class IoUringFileIOTest extends GridCommonAbstractTest {
+    /** Page size. */
+    private static final int PAGE_SIZE = 4096;
+
+    /** Pages count. */
+    private static final int PAGES = 1024;
+
+    /** Factory. */
+    private IoUringFileIOFactory factory;
+
+    /** Test file. */
+    private File file;
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        factory = new IoUringFileIOFactory(getTestIgniteInstanceName(), log, 32, new RandomAccessFileIOFactory());
+
+        file = File.createTempFile("io-uring", ".bin");
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        factory.close();
+
+        file.delete();
+
+        super.afterTest();
+    }
+
+    /**
+     * Checks factory falls back to backup factory if io_uring is not supported.
+     */
+    @Test
+    public void testFallback() throws Exception {
+        try (FileIO io = factory.create(file)) {
+            assertEquals(factory.isIoUringAvailable(), io instanceof IoUringFileIO);
+        }
+    }
+
+    /**
+     * Checks absolute and relative reads and writes of direct and heap buffers.
+     */
+    @Test
+    public void testReadWrite() throws Exception {
+        assumeTrue("io_uring is not available", factory.isIoUringAvailable());
+
+        byte[] data = new byte[PAGE_SIZE * 4];
+
+        ThreadLocalRandom.current().nextBytes(data);
+
+        try (FileIO io = factory.create(file)) {
+            ByteBuffer direct = ByteBuffer.allocateDirect(PAGE_SIZE * 2);
+
+            direct.put(data, 0, PAGE_SIZE * 2).flip();
+
+            assertEquals(PAGE_SIZE * 2, io.writeFully(direct, 0));
+            assertEquals(PAGE_SIZE * 2, io.writeFully(ByteBuffer.wrap(data, PAGE_SIZE * 2, PAGE_SIZE * 2), PAGE_SIZE * 2));
+
+            assertEquals(data.length, io.size());
+
+            ByteBuffer heapRead = ByteBuffer.allocate(data.length);
+
+            assertEquals(data.length, io.readFully(heapRead, 0));
+            assertEqualsArraysAware(data, heapRead.array());
+
+            ByteBuffer directRead = ByteBuffer.allocateDirect(PAGE_SIZE);
+
+            io.position(PAGE_SIZE * 3);
+
+            assertEquals(PAGE_SIZE, io.readFully(directRead));
+            assertEquals(PAGE_SIZE * 4, io.position());
+            assertEquals(-1, io.read(ByteBuffer.allocate(PAGE_SIZE)));
+
+            directRead.flip();
+
+            for (int i = 0; i < PAGE_SIZE; i++)
+                assertEquals(data[PAGE_SIZE * 3 + i], directRead.get(i));
+
+            MappedByteBuffer mapped = io.map(data.length);
+
+            assertEquals(data[100], mapped.get(100));
+
+            io.clear();
+
+            assertEquals(0, io.size());
+            assertEquals(0, io.position());
+        }
+    }
+
+    /**
+     * Checks adjacent pages are written by gathering write.
+     */
+    @Test
+    public void testGatheringWrite() throws Exception {
+        assumeTrue("io_uring is not available", factory.isIoUringAvailable());
+
+        ByteBuffer[] pages = new ByteBuffer[IoUring.MAX_IOV + 2];
+
+        for (int i = 0; i < pages.length; i++) {
+            pages[i] = ByteBuffer.allocateDirect(PAGE_SIZE);
+
+            while (pages[i].hasRemaining())
+                pages[i].putInt(i);
+
+            pages[i].flip();
+        }
+
+        try (FileIO io = factory.create(file)) {
+            assertEquals((pages.length - 1) * PAGE_SIZE, io.writeFully(pages, 1, pages.length - 1, PAGE_SIZE));
+
+            assertEquals((long)pages.length * PAGE_SIZE, io.size());
+
+            ByteBuffer buf = ByteBuffer.allocateDirect(PAGE_SIZE);
+
+            for (int i = 1; i < pages.length; i++) {
+                buf.clear();
+
+                assertEquals(PAGE_SIZE, io.readFully(buf, (long)i * PAGE_SIZE));
+
+                assertEquals(i, buf.getInt(0));
+                assertEquals(i, buf.getInt(PAGE_SIZE - 4));
+            }
+        }
+    }
+
+    /**
+     * Checks concurrent page writes of many threads are batched.
+     */
+    @Test
+    public void testConcurrentPageWrites() throws Exception {
+        assumeTrue("io_uring is not available", factory.isIoUringAvailable());
+
+        AtomicInteger idx = new AtomicInteger();
+
+        try (FileIO io = factory.create(file)) {
+            GridTestUtils.runMultiThreaded(() -> {
+                ByteBuffer buf = ByteBuffer.allocateDirect(PAGE_SIZE);
+
+                for (int pageIdx; (pageIdx = idx.getAndIncrement()) < PAGES; ) {
+                    buf.clear();
+
+                    while (buf.hasRemaining())
+                        buf.putInt(pageIdx);
+
+                    buf.flip();
+
+                    io.writeFully(buf, (long)pageIdx * PAGE_SIZE);
+                }
+
+                return null;
+            }, 16, "page-writer");
+
+            ByteBuffer buf = ByteBuffer.allocateDirect(PAGE_SIZE);
+
+            for (int pageIdx = 0; pageIdx < PAGES; pageIdx++) {
+                buf.clear();
+
+                assertEquals(PAGE_SIZE, io.readFully(buf, (long)pageIdx * PAGE_SIZE));
+
+                assertEquals(pageIdx, buf.getInt(0));
+                assertEquals(pageIdx, buf.getInt(PAGE_SIZE - 4));
+            }
+        }
+
+        assertTrue(factory.ring().averageBatchSize() >= 1);
+    }
+}
@@ -17,6 +17,7 @@
 package org.apache.ignite.internal.processors.cache.index;
 
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -25,6 +26,7 @@ import java.util.stream.Stream;
 import javax.cache.CacheException;
 import org.apache.ignite.IgniteCache;
 import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteSystemProperties;
 import org.apache.ignite.cache.query.SqlFieldsQuery;
 import org.apache.ignite.cluster.ClusterState;
 import org.apache.ignite.configuration.CacheConfiguration;
@@ -36,6 +38,7 @@ import org.apache.ignite.internal.IgniteInternalFuture;
 import org.apache.ignite.internal.cache.query.index.IndexProcessor;
 import org.apache.ignite.internal.cache.query.index.sorted.DurableBackgroundCleanupIndexTreeTaskV2;
 import org.apache.ignite.internal.cache.query.index.sorted.IndexRowImpl;
+import org.apache.ignite.internal.cache.query.index.sorted.inline.InlineIndexBulkLoader;
 import org.apache.ignite.internal.cache.query.index.sorted.inline.InlineIndexImpl;
 import org.apache.ignite.internal.cache.query.index.sorted.inline.InlineIndexTree;
 import org.apache.ignite.internal.cache.query.index.sorted.inline.io.LeafIO;
@@ -57,6 +60,9 @@ import org.apache.ignite.internal.processors.query.schema.management.SchemaManag
 import org.apache.ignite.internal.util.typedef.internal.CU;
 import org.apache.ignite.maintenance.MaintenanceRegistry;
 import org.apache.ignite.maintenance.MaintenanceTask;
+import org.apache.ignite.spi.systemview.view.IndexBulkLoadView;
+import org.apache.ignite.spi.systemview.view.SystemView;
+import org.apache.ignite.testframework.junits.WithSystemProperty;
 import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
 import org.jetbrains.annotations.Nullable;
 import org.junit.Test;
@@ -65,8 +71,12 @@ import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
 import static java.util.stream.Collectors.toList;
 import static java.util.stream.Collectors.toSet;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_INDEX_BULK_LOAD_PARALLELISM;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_INDEX_BULK_LOAD_SORT_BUFFER_SIZE;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_INDEX_REBUILD_BULK_LOAD;
 import static org.apache.ignite.internal.cache.query.index.sorted.maintenance.MaintenanceRebuildIndexUtils.INDEX_REBUILD_MNTC_TASK_NAME;
 import static org.apache.ignite.internal.cache.query.index.sorted.maintenance.MaintenanceRebuildIndexUtils.parseMaintenanceTaskParameters;
+import static org.apache.ignite.spi.systemview.view.IndexBulkLoadView.INDEX_BULK_LOAD_VIEW;
 import static org.apache.ignite.testframework.GridTestUtils.getFieldValue;
 
 /**
@@ -140,6 +150,33 @@ public class IndexCorruptionRebuildTest extends GridCommonAbstractTest {
     /** */
     @Test
     public void testCorruptedTree() throws Exception {
+        checkCorruptedTreeRebuild(100);
+    }
+
+    /** */
+    @Test
+    @WithSystemProperty(key = IGNITE_INDEX_REBUILD_BULK_LOAD, value = "true")
+    @WithSystemProperty(key = IGNITE_INDEX_BULK_LOAD_SORT_BUFFER_SIZE, value = "10")
+    public void testCorruptedTreeBulkLoad() throws Exception {
+        checkCorruptedTreeRebuild(100);
+    }
+
+    /** */
+    @Test
+    @WithSystemProperty(key = IGNITE_INDEX_REBUILD_BULK_LOAD, value = "true")
+    @WithSystemProperty(key = IGNITE_INDEX_BULK_LOAD_SORT_BUFFER_SIZE, value = "500")
+    @WithSystemProperty(key = IGNITE_INDEX_BULK_LOAD_PARALLELISM, value = "4")
+    public void testCorruptedTreeParallelBulkLoad() throws Exception {
+        checkCorruptedTreeRebuild(5_000);
+    }
+
+    /**
+     * Corrupts indexes, restarts the node in the maintenance mode and checks that indexes are rebuilt.
+     *
+     * @param keys Number of keys.
+     * @throws Exception If failed.
+     */
+    private void checkCorruptedTreeRebuild(int keys) throws Exception {
         IgniteEx srv = startGrid(0);
         IgniteEx normalNode = startGrid(1);
 
@@ -160,7 +197,7 @@ public class IndexCorruptionRebuildTest extends GridCommonAbstractTest {
         cache.query(new SqlFieldsQuery("create index " + FAIL_IDX_2 + " on test1(col4) INLINE_SIZE 0"));
         cache.query(new SqlFieldsQuery("create index " + FAIL_IDX_3 + " on test2(col2) INLINE_SIZE 0"));
 
-        for (int i = 0; i < 100; i++) {
+        for (int i = 0; i < keys; i++) {
             int counter = i;
 
             String val = "test" + i;
@@ -206,6 +243,9 @@ public class IndexCorruptionRebuildTest extends GridCommonAbstractTest {
 
         assertTrue(srv.context().maintenanceRegistry().isMaintenanceMode());
 
+        if (IgniteSystemProperties.getBoolean(IGNITE_INDEX_REBUILD_BULK_LOAD))
+            checkBulkLoadView(srv, keys);
+
         Collection<DurableBackgroundTaskState<?>> durableTasks = tasks(srv.context().durableBackgroundTask()).values();
 
         Map<Integer, Set<String>> idxTasksByCache = durableTasks.stream().collect(Collectors.groupingBy(
@@ -234,6 +274,30 @@ public class IndexCorruptionRebuildTest extends GridCommonAbstractTest {
         validateIndexes(srv);
     }
 
+    /**
+     * Checks that all rebuilt indexes are reported as built in bulk.
+     *
+     * @param srv Node.
+     * @param keys Number of keys.
+     */
+    private void checkBulkLoadView(IgniteEx srv, int keys) {
+        SystemView<IndexBulkLoadView> view = srv.context().systemView().view(INDEX_BULK_LOAD_VIEW);
+
+        Set<String> idxs = new HashSet<>();
+
+        for (IndexBulkLoadView row : view) {
+            assertEquals(InlineIndexBulkLoader.Stage.FINISHED.name(), row.stage());
+            assertEquals(keys, row.rowsCollected());
+            assertEquals(keys, row.rowsLoaded());
+            assertEquals(row.ranges(), row.rangesLoaded());
+            assertTrue(row.ranges() > 0);
+
+            idxs.add(row.indexName());
+        }
+
+        assertEquals(new HashSet<>(asList(FAIL_IDX_1, FAIL_IDX_2, FAIL_IDX_3)), idxs);
+    }
+
     /**
      * Checks that caches have certain corrupted indexes.
      *
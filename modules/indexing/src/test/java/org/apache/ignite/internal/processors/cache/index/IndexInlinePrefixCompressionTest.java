@@ -0,0 +1,278 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.index;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+import org.apache.ignite.cache.query.SqlFieldsQuery;
+import org.apache.ignite.cluster.ClusterState;
+import org.apache.ignite.configuration.DataRegionConfiguration;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.cache.query.index.sorted.inline.InlineIndex;
+import org.apache.ignite.internal.cache.query.index.sorted.inline.io.PrefixInlineLeafIO;
+import org.apache.ignite.internal.management.cache.ValidateIndexesClosure;
+import org.apache.ignite.internal.management.cache.ValidateIndexesJobResult;
+import org.apache.ignite.testframework.junits.WithSystemProperty;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_INDEX_INLINE_PREFIX_COMPRESSION;
+
+/**
+ * Tests indexes with prefix compression of inlined keys in leaf pages.
+ */
+public class IndexInlinePrefixCompressionTest extends GridCommonAbstractTest {
+    /** */
+    private static final String CACHE_NAME = "SQL_PUBLIC_TEST";
+
+    /** */
+    private static final int TENANTS = 5;
+
+    /** */
+    private static final int KEYS = 20_000;
+
+    /** Expected rows: code to id per tenant. */
+    private final TreeMap<String, Integer>[] data = new TreeMap[TENANTS];
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        return super.getConfiguration(igniteInstanceName)
+            .setDataStorageConfiguration(new DataStorageConfiguration().setDefaultDataRegionConfiguration(
+                new DataRegionConfiguration().setPersistenceEnabled(true)));
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        stopAllGrids();
+
+        cleanPersistenceDir();
+
+        for (int i = 0; i < TENANTS; i++)
+            data[i] = new TreeMap<>();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        cleanPersistenceDir();
+
+        super.afterTest();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    @WithSystemProperty(key = IGNITE_INDEX_INLINE_PREFIX_COMPRESSION, value = "true")
+    public void testPutRemoveAndRestart() throws Exception {
+        IgniteEx srv = startCluster();
+
+        sql(srv, "CREATE TABLE TEST (ID INT PRIMARY KEY, TENANT INT, CODE VARCHAR)");
+        sql(srv, "CREATE INDEX TEST_TENANT_CODE ON TEST (TENANT, CODE) INLINE_SIZE 18");
+
+        assertTrue(index(srv).segment(0).latestLeafIO() instanceof PrefixInlineLeafIO);
+
+        load(srv, 0, KEYS);
+        remove(srv, KEYS / 3);
+
+        checkQueries(srv);
+        validateIndexes(srv);
+
+        stopAllGrids();
+
+        srv = startCluster();
+
+        checkQueries(srv);
+        validateIndexes(srv);
+
+        load(srv, KEYS, 2 * KEYS);
+
+        checkQueries(srv);
+        validateIndexes(srv);
+    }
+
+    /**
+     * Checks that an index created without prefix compression keeps working when it is enabled.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testEnableOnExistingIndex() throws Exception {
+        IgniteEx srv = startCluster();
+
+        sql(srv, "CREATE TABLE TEST (ID INT PRIMARY KEY, TENANT INT, CODE VARCHAR)");
+        sql(srv, "CREATE INDEX TEST_TENANT_CODE ON TEST (TENANT, CODE) INLINE_SIZE 18");
+
+        assertFalse(index(srv).segment(0).latestLeafIO() instanceof PrefixInlineLeafIO);
+
+        load(srv, 0, KEYS);
+
+        stopAllGrids();
+
+        System.setProperty(IGNITE_INDEX_INLINE_PREFIX_COMPRESSION, "true");
+
+        try {
+            srv = startCluster();
+
+            assertTrue(index(srv).segment(0).latestLeafIO() instanceof PrefixInlineLeafIO);
+
+            load(srv, KEYS, 2 * KEYS);
+            remove(srv, KEYS / 2);
+
+            checkQueries(srv);
+            validateIndexes(srv);
+        }
+        finally {
+            System.clearProperty(IGNITE_INDEX_INLINE_PREFIX_COMPRESSION);
+        }
+    }
+
+    /** */
+    private IgniteEx startCluster() throws Exception {
+        IgniteEx srv = startGrid(0);
+
+        srv.cluster().state(ClusterState.ACTIVE);
+
+        return srv;
+    }
+
+    /**
+     * Inserts rows with random codes, some of them too long to be inlined.
+     *
+     * @param srv Node.
+     * @param from First ID.
+     * @param to Last ID, exclusive.
+     */
+    private void load(IgniteEx srv, int from, int to) {
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+
+        for (int id = from; id < to; id++) {
+            int tenant = rnd.nextInt(TENANTS);
+
+            String code = "code" + rnd.nextInt(KEYS) + (rnd.nextInt(10) == 0 ? "-long-code-suffix-" + id : "");
+
+            sql(srv, "INSERT INTO TEST (ID, TENANT, CODE) VALUES (?, ?, ?)", id, tenant, code);
+
+            Integer prev = data[tenant].put(code, id);
+
+            // Keep codes unique per tenant to simplify checks.
+            if (prev != null)
+                sql(srv, "DELETE FROM TEST WHERE ID = ?", prev);
+        }
+    }
+
+    /**
+     * @param srv Node.
+     * @param cnt Number of rows to remove.
+     */
+    private void remove(IgniteEx srv, int cnt) {
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+
+        for (int i = 0; i < cnt; i++) {
+            TreeMap<String, Integer> rows = data[rnd.nextInt(TENANTS)];
+
+            if (rows.isEmpty())
+                continue;
+
+            String code = rows.ceilingKey("code" + rnd.nextInt(KEYS));
+
+            if (code == null)
+                code = rows.firstKey();
+
+            sql(srv, "DELETE FROM TEST WHERE ID = ?", rows.remove(code));
+        }
+    }
+
+    /**
+     * @param srv Node.
+     */
+    private void checkQueries(IgniteEx srv) {
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+
+        for (int tenant = 0; tenant < TENANTS; tenant++) {
+            TreeMap<String, Integer> rows = data[tenant];
+
+            assertEquals((long)rows.size(),
+                sql(srv, "SELECT COUNT(*) FROM TEST WHERE TENANT = ?", tenant).get(0).get(0));
+
+            for (int i = 0; i < 20; i++) {
+                String from = "code" + rnd.nextInt(KEYS);
+                String to = "code" + rnd.nextInt(KEYS);
+
+                if (from.compareTo(to) > 0) {
+                    String tmp = from;
+
+                    from = to;
+                    to = tmp;
+                }
+
+                List<List<?>> res = sql(srv, "SELECT CODE, ID FROM TEST USE INDEX(TEST_TENANT_CODE) " +
+                    "WHERE TENANT = ? AND CODE >= ? AND CODE < ? ORDER BY CODE", tenant, from, to);
+
+                List<String> exp = new ArrayList<>(rows.subMap(from, to).keySet());
+
+                assertEquals(exp.size(), res.size());
+
+                for (int j = 0; j < exp.size(); j++) {
+                    assertEquals(exp.get(j), res.get(j).get(0));
+                    assertEquals(rows.get(exp.get(j)), res.get(j).get(1));
+                }
+            }
+        }
+    }
+
+    /** */
+    private static InlineIndex index(IgniteEx srv) {
+        for (InlineIndex idx : srv.context().indexProcessor().treeIndexes(CACHE_NAME, false)) {
+            if (idx.name().contains("TEST_TENANT_CODE"))
+                return idx;
+        }
+
+        throw new AssertionError("Index not found");
+    }
+
+    /** */
+    private static List<List<?>> sql(IgniteEx srv, String sql, Object... args) {
+        return srv.context().query().querySqlFields(new SqlFieldsQuery(sql).setArgs(args), false).getAll();
+    }
+
+    /** */
+    private static void validateIndexes(IgniteEx node) throws Exception {
+        ValidateIndexesClosure clo = new ValidateIndexesClosure(
+            () -> false,
+            null,
+            0,
+            0,
+            false,
+            true
+        );
+
+        node.context().resource().injectGeneric(clo);
+
+        ValidateIndexesJobResult res = clo.call();
+
+        assertFalse(res.hasIssues());
+    }
+}
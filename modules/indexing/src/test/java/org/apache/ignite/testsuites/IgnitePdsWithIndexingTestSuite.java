@@ -23,6 +23,7 @@ import org.apache.ignite.internal.processors.cache.IgnitePdsSingleNodeWithIndexi
 import org.apache.ignite.internal.processors.cache.index.ClientReconnectWithSqlTableConfiguredTest;
 import org.apache.ignite.internal.processors.cache.index.DropIndexTest;
 import org.apache.ignite.internal.processors.cache.index.ForceRebuildIndexTest;
+import org.apache.ignite.internal.processors.cache.index.IndexInlinePrefixCompressionTest;
 import org.apache.ignite.internal.processors.cache.index.RenameIndexTreeTest;
 import org.apache.ignite.internal.processors.cache.index.ResumeCreateIndexTest;
 import org.apache.ignite.internal.processors.cache.index.ResumeRebuildIndexTest;
@@ -76,7 +77,8 @@ import org.junit.runners.Suite;
     DropIndexTest.class,
     MaintenanceRebuildIndexUtilsSelfTest.class,
     IndexWithSameNameH2Test.class,
-    LoadAllWarmUpStrategySelfTest.class
+    LoadAllWarmUpStrategySelfTest.class,
+    IndexInlinePrefixCompressionTest.class
 })
 public class IgnitePdsWithIndexingTestSuite {
 }